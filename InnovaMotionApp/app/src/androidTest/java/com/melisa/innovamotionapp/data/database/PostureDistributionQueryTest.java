@@ -0,0 +1,264 @@
+package com.melisa.innovamotionapp.data.database;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.os.Bundle;
+import android.util.Log;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.melisa.innovamotionapp.data.analytics.AnalyticsQuery;
+import com.melisa.innovamotionapp.data.analytics.PostureDistribution;
+import com.melisa.innovamotionapp.data.analytics.PostureDurationEngine;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Instrumented tests for the posture bucket queries and the streamed PostureDurationEngine path
+ * behind the Statistics and Energy screens.
+ *
+ * The timing test is small by default so it can run with the other instrumented tests. For the
+ * full-size run pass instrumentation args, e.g.:
+ * <pre>
+ * -e distributionRows 5000000 -e distributionMaxMs 3000
+ * </pre>
+ * Timings are printed to logcat under "PostureDistributionTest".
+ */
+@RunWith(AndroidJUnit4.class)
+public class PostureDistributionQueryTest {
+
+    private static final String TAG = "PostureDistributionTest";
+    private static final String DB_NAME = "posture_distribution_test.db";
+    private static final String DEVICE = "AA:BB:CC:DD:EE:FF";
+    private static final String OWNER_1 = "owner1";
+    private static final String OWNER_2 = "owner2";
+    private static final long MAX_GAP_MS = 60_000L;
+
+    private static final String STANDING = "0xAB3311";
+    private static final String SITTING = "0xAC4312";
+    private static final String FALLING = "0xEF0112";
+    private static final String[] CODES = {"0x793248", STANDING, SITTING, "0xBA3311", FALLING};
+
+    private Context context;
+    private InnovaDatabase database;
+    private ReceivedBtDataDao dao;
+
+    @Before
+    public void setUp() {
+        context = ApplicationProvider.getApplicationContext();
+        context.deleteDatabase(DB_NAME);
+        // File-backed: the full-size run does not fit in an in-memory database
+        database = Room.databaseBuilder(context, InnovaDatabase.class, DB_NAME)
+                .allowMainThreadQueries() // For testing only
+                .build();
+        dao = database.receivedBtDataDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+        context.deleteDatabase(DB_NAME);
+    }
+
+    private static ReceivedBtDataEntity reading(String owner, String sensorId, long ts, String code) {
+        return new ReceivedBtDataEntity(DEVICE, ts, code, owner, sensorId);
+    }
+
+    private static Map<String, ReceivedBtDataDao.PostureBucket> byCode(List<ReceivedBtDataDao.PostureBucket> buckets) {
+        Map<String, ReceivedBtDataDao.PostureBucket> map = new HashMap<>();
+        for (ReceivedBtDataDao.PostureBucket bucket : buckets) {
+            map.put(bucket.code.toLowerCase(), bucket);
+        }
+        return map;
+    }
+
+    // ========== Correctness Tests ==========
+
+    @Test
+    public void sensorBuckets_durationUntilNextReading() {
+        dao.insertAll(Arrays.asList(
+                reading(OWNER_1, "s1", 1_000, STANDING),
+                reading(OWNER_1, "s1", 11_000, SITTING),
+                reading(OWNER_1, "s1", 41_000, STANDING),
+                reading(OWNER_1, "s1", 43_000, FALLING)));
+
+        Map<String, ReceivedBtDataDao.PostureBucket> buckets =
+                byCode(dao.getPostureBucketsForSensorSync("s1", 0, Long.MAX_VALUE, MAX_GAP_MS));
+
+        assertEquals(3, buckets.size());
+        assertEquals(2, buckets.get(STANDING.toLowerCase()).count);
+        assertEquals(10_000 + 2_000, buckets.get(STANDING.toLowerCase()).durationMs);
+        assertEquals(30_000, buckets.get(SITTING.toLowerCase()).durationMs);
+        assertEquals(0, buckets.get(FALLING.toLowerCase()).durationMs); // last reading in range
+        assertEquals(1_000, buckets.get(STANDING.toLowerCase()).firstTimestamp);
+        assertEquals(43_000, buckets.get(FALLING.toLowerCase()).lastTimestamp);
+    }
+
+    @Test
+    public void sensorBuckets_gapsCappedAtMaxGap() {
+        dao.insertAll(Arrays.asList(
+                reading(OWNER_1, "s1", 0, STANDING),
+                reading(OWNER_1, "s1", 10 * MAX_GAP_MS, SITTING)));
+
+        Map<String, ReceivedBtDataDao.PostureBucket> buckets =
+                byCode(dao.getPostureBucketsForSensorSync("s1", 0, Long.MAX_VALUE, MAX_GAP_MS));
+
+        assertEquals(MAX_GAP_MS, buckets.get(STANDING.toLowerCase()).durationMs);
+    }
+
+    @Test
+    public void sensorBuckets_rangeEndsSegments() {
+        dao.insertAll(Arrays.asList(
+                reading(OWNER_1, "s1", 1_000, STANDING),
+                reading(OWNER_1, "s1", 5_000, SITTING),
+                reading(OWNER_1, "s1", 9_000, FALLING)));
+
+        Map<String, ReceivedBtDataDao.PostureBucket> buckets =
+                byCode(dao.getPostureBucketsForSensorSync("s1", 0, 6_000, MAX_GAP_MS));
+
+        assertEquals(2, buckets.size());
+        assertEquals(4_000, buckets.get(STANDING.toLowerCase()).durationMs);
+        assertEquals(0, buckets.get(SITTING.toLowerCase()).durationMs); // next reading is out of range
+    }
+
+    @Test
+    public void sensorBuckets_otherSensorsIgnored() {
+        dao.insertAll(Arrays.asList(
+                reading(OWNER_1, "s1", 1_000, STANDING),
+                reading(OWNER_1, "s2", 2_000, FALLING),
+                reading(OWNER_1, "s1", 4_000, STANDING)));
+
+        Map<String, ReceivedBtDataDao.PostureBucket> buckets =
+                byCode(dao.getPostureBucketsForSensorSync("s1", 0, Long.MAX_VALUE, MAX_GAP_MS));
+
+        assertEquals(1, buckets.size());
+        assertEquals(3_000, buckets.get(STANDING.toLowerCase()).durationMs);
+    }
+
+    @Test
+    public void userStream_segmentsFollowEachSensor() {
+        dao.insertAll(Arrays.asList(
+                reading(OWNER_1, "s1", 1_000, STANDING),
+                reading(OWNER_1, "s2", 2_000, SITTING),
+                reading(OWNER_1, "s1", 3_000, STANDING),
+                reading(OWNER_1, "s2", 7_000, SITTING),
+                reading(OWNER_2, "s3", 1_500, FALLING)));
+
+        PostureDurationEngine engine = new PostureDurationEngine(MAX_GAP_MS);
+        try (Cursor cursor = dao.streamReadingsForUserSync(OWNER_1, 0, Long.MAX_VALUE)) {
+            engine.acceptAll(cursor);
+        }
+        Map<String, ReceivedBtDataDao.PostureBucket> buckets = byCode(engine.getBuckets());
+
+        assertEquals(2, buckets.size());
+        assertEquals(2_000, buckets.get(STANDING.toLowerCase()).durationMs);
+        assertEquals(5_000, buckets.get(SITTING.toLowerCase()).durationMs);
+    }
+
+    @Test
+    public void engineMatchesSensorQuery() {
+        Random random = new Random(7);
+        List<ReceivedBtDataEntity> rows = new ArrayList<>();
+        long ts = 0;
+        for (int i = 0; i < 2_000; i++) {
+            ts += 1 + random.nextInt((int) (2 * MAX_GAP_MS)); // some gaps above the cap
+            rows.add(reading(OWNER_1, "s1", ts, CODES[random.nextInt(CODES.length)]));
+        }
+        dao.insertAll(rows);
+        long end = ts / 2;
+
+        Map<String, ReceivedBtDataDao.PostureBucket> sql =
+                byCode(dao.getPostureBucketsForSensorSync("s1", 0, end, MAX_GAP_MS));
+        PostureDurationEngine engine = new PostureDurationEngine(MAX_GAP_MS);
+        try (Cursor cursor = dao.streamReadingsForUserSync(OWNER_1, 0, end)) {
+            engine.acceptAll(cursor);
+        }
+        Map<String, ReceivedBtDataDao.PostureBucket> streamed = byCode(engine.getBuckets());
+
+        assertEquals(sql.keySet(), streamed.keySet());
+        for (String code : sql.keySet()) {
+            assertEquals(code, sql.get(code).count, streamed.get(code).count);
+            assertEquals(code, sql.get(code).durationMs, streamed.get(code).durationMs);
+        }
+    }
+
+    @Test
+    public void distribution_mergesCaseVariants() {
+        dao.insertAll(Arrays.asList(
+                reading(OWNER_1, "s1", 1_000, "0xab3311"),
+                reading(OWNER_1, "s1", 2_000, "0xAB3311"),
+                reading(OWNER_1, "s1", 3_000, SITTING)));
+
+        PostureDistribution distribution = PostureDistribution.fromBuckets(AnalyticsQuery.forSensor("s1"),
+                dao.getPostureBucketsForSensorSync("s1", Long.MIN_VALUE, Long.MAX_VALUE, MAX_GAP_MS));
+
+        assertEquals(2, distribution.getShares().size());
+        assertEquals(3, distribution.getTotalCount());
+        assertEquals(2_000, distribution.getTotalDurationMs());
+    }
+
+    // ========== Timing Test ==========
+
+    @Test
+    public void sensorDistribution_boundedTimeOnLargeTable() {
+        Bundle args = InstrumentationRegistry.getArguments();
+        int rows = Integer.parseInt(args.getString("distributionRows", "200000"));
+        int sensors = Integer.parseInt(args.getString("distributionSensors", "50"));
+        long maxMs = Long.parseLong(args.getString("distributionMaxMs", "3000"));
+
+        Random random = new Random(42);
+        long startTs = 1_700_000_000_000L;
+        long[] nextTs = new long[sensors];
+        Arrays.fill(nextTs, startTs);
+        List<ReceivedBtDataEntity> batch = new ArrayList<>(10_000);
+        long insertStart = System.nanoTime();
+        for (int i = 0; i < rows; i++) {
+            int sensor = i % sensors;
+            nextTs[sensor] += 500 + random.nextInt(3000);
+            batch.add(reading("owner" + (sensor % 5), "sensor" + sensor, nextTs[sensor],
+                    CODES[random.nextInt(CODES.length)]));
+            if (batch.size() == 10_000) {
+                dao.insertAll(batch);
+                batch.clear();
+            }
+        }
+        dao.insertAll(batch);
+        Log.i(TAG, "Inserted " + rows + " rows in " + (System.nanoTime() - insertStart) / 1_000_000 + "ms");
+
+        // Whole history of one person (what the chart shows first)
+        long queryStart = System.nanoTime();
+        PostureDistribution distribution = PostureDistribution.fromBuckets(AnalyticsQuery.forSensor("sensor7"),
+                dao.getPostureBucketsForSensorSync("sensor7", Long.MIN_VALUE, Long.MAX_VALUE, MAX_GAP_MS));
+        long allTimeMs = (System.nanoTime() - queryStart) / 1_000_000;
+
+        // One day of that person (date picker)
+        queryStart = System.nanoTime();
+        PostureDistribution day = PostureDistribution.fromBuckets(AnalyticsQuery.forSensor("sensor7"),
+                dao.getPostureBucketsForSensorSync("sensor7", startTs, startTs + 24 * 60 * 60 * 1000L, MAX_GAP_MS));
+        long dayMs = (System.nanoTime() - queryStart) / 1_000_000;
+
+        Log.i(TAG, "rows=" + rows + " sensorRows=" + distribution.getTotalCount()
+                + " allTime=" + allTimeMs + "ms (" + distribution.getShares().size() + " shares)"
+                + " day=" + dayMs + "ms (" + day.getTotalCount() + " readings)");
+
+        assertEquals(rows / sensors + (7 < rows % sensors ? 1 : 0), distribution.getTotalCount());
+        assertTrue(distribution.getShares().size() <= CODES.length);
+        assertTrue("all-time distribution took " + allTimeMs + "ms", allTimeMs <= maxMs);
+        assertTrue("one-day distribution took " + dayMs + "ms", dayMs <= maxMs);
+    }
+}
@@ -32,6 +32,7 @@ import java.util.concurrent.atomic.AtomicReference;
  * - getLatestForEachSensor
  * - getLatestForOwnerAndSensor
  * - getDistinctSensorIdsForOwner
+ * - Message log keyset paging
  * - Multiple sensors differentiation
  */
 @RunWith(AndroidJUnit4.class)
@@ -417,6 +418,87 @@ public class ReceivedBtDataDaoTest {
         assertEquals(3, s3Count);
     }
 
+    // ========== Message Log Keyset Paging Tests ==========
+
+    @Test
+    public void testMessagesPageBefore_walksAllRowsWithoutGaps() {
+        // Two rows share each timestamp so the id tie-breaker is exercised
+        for (int i = 0; i < 25; i++) {
+            dao.insert(createEntity("sensor001", 1000L + i / 2, "0xAB3311"));
+            dao.insert(createEntity("sensor002", 1000L + i / 2, "0xAC4312"));
+        }
+
+        List<ReceivedBtDataEntity> page = dao.getMessagesPageLatest(7);
+        int total = 0;
+        ReceivedBtDataEntity previous = null;
+        while (!page.isEmpty()) {
+            for (ReceivedBtDataEntity entity : page) {
+                if (previous != null) {
+                    assertTrue("Rows must be strictly descending by (timestamp, id)",
+                            entity.getTimestamp() < previous.getTimestamp()
+                                    || (entity.getTimestamp() == previous.getTimestamp()
+                                    && entity.getId() < previous.getId()));
+                }
+                previous = entity;
+                total++;
+            }
+            page = dao.getMessagesPageBefore(previous.getTimestamp(), previous.getId(), 7);
+        }
+
+        assertEquals(50, total);
+    }
+
+    @Test
+    public void testMessagesPageAfter_returnsNewerRowsOldestFirst() {
+        for (int i = 0; i < 10; i++) {
+            dao.insert(createEntity("sensor001", 1000L + i, "0xAB3311"));
+        }
+        ReceivedBtDataEntity cursor = dao.getMessagesPageLatest(10).get(5); // timestamp 1004
+
+        List<ReceivedBtDataEntity> newer = dao.getMessagesPageAfter(cursor.getTimestamp(), cursor.getId(), 3);
+
+        assertEquals(3, newer.size());
+        assertEquals(1005L, newer.get(0).getTimestamp());
+        assertEquals(1007L, newer.get(2).getTimestamp());
+    }
+
+    @Test
+    public void testMessagesInsertedAfter_returnsOnlyNewIds() {
+        long lastId = 0;
+        for (int i = 0; i < 5; i++) {
+            lastId = dao.insert(createEntity("sensor001", 1000L + i, "0xAB3311"));
+        }
+        dao.insert(createEntity("sensor001", 2000L, "0xAB3311"));
+        dao.insert(createEntity("sensor002", 500L, "0xAC4312")); // late arrival, older timestamp
+
+        List<ReceivedBtDataEntity> inserted = dao.getMessagesInsertedAfter(lastId, 100);
+
+        assertEquals(2, inserted.size());
+        assertEquals(2000L, inserted.get(0).getTimestamp());
+        assertEquals(500L, inserted.get(1).getTimestamp());
+    }
+
+    @Test
+    public void testSensorMessagesPages_filterBySensor() {
+        for (int i = 0; i < 10; i++) {
+            dao.insert(createEntity("sensor001", 1000L + i, "0xAB3311"));
+            dao.insert(createEntity("sensor002", 1000L + i, "0xAC4312"));
+        }
+
+        List<ReceivedBtDataEntity> first = dao.getSensorMessagesPageLatest("sensor002", 4);
+        ReceivedBtDataEntity last = first.get(first.size() - 1);
+        List<ReceivedBtDataEntity> second = dao.getSensorMessagesPageBefore("sensor002",
+                last.getTimestamp(), last.getId(), 100);
+
+        assertEquals(4, first.size());
+        assertEquals(6, second.size());
+        assertEquals(1009L, first.get(0).getTimestamp());
+        for (ReceivedBtDataEntity entity : second) {
+            assertEquals("sensor002", entity.getSensorId());
+        }
+        assertEquals(1005L, second.get(0).getTimestamp());
+    }
+
     // ========== UUID SensorId Format Tests ==========
 
     @Test
@@ -0,0 +1,201 @@
+package com.melisa.innovamotionapp.data.database.profiling;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.melisa.innovamotionapp.data.database.AlertDao;
+import com.melisa.innovamotionapp.data.database.AlertEntity;
+import com.melisa.innovamotionapp.data.database.CachedAssignment;
+import com.melisa.innovamotionapp.data.database.CachedAssignmentDao;
+import com.melisa.innovamotionapp.data.database.InnovaDatabase;
+import com.melisa.innovamotionapp.data.database.MonitoredPersonDao;
+import com.melisa.innovamotionapp.data.database.PostureRollupDao;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Instrumented plan check: runs the DAO queries used by the ingest, sync, dashboard, paging,
+ * export, retention and assignment cache paths through the query profiler with every plan
+ * captured, and fails if any of them scans a table without an index.
+ *
+ * monitored_persons is a small per-person lookup table; scanning it is fine.
+ */
+@RunWith(AndroidJUnit4.class)
+public class DaoQueryPlanTest {
+
+    private static final Set<String> SMALL_TABLES = Collections.singleton("monitored_persons");
+    private static final String OWNER = "owner1";
+    private static final String SENSOR = "sensor001";
+
+    private InnovaDatabase database;
+    private QueryProfiler profiler;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        profiler = new QueryProfiler(Long.MAX_VALUE / 1_000_000L);
+        profiler.setCaptureAllPlans(true);
+        database = Room.inMemoryDatabaseBuilder(context, InnovaDatabase.class)
+                .openHelperFactory(new ProfilingOpenHelperFactory(new FrameworkSQLiteOpenHelperFactory(), profiler))
+                .allowMainThreadQueries() // For testing only
+                .build();
+
+        List<ReceivedBtDataEntity> readings = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            readings.add(new ReceivedBtDataEntity("AA:BB:CC:DD:EE:FF", 1_000L + i, "0xAB3311", OWNER, SENSOR));
+        }
+        database.receivedBtDataDao().insertAll(readings);
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    // ========== Helper Methods ==========
+
+    private void assertNoFullScans() {
+        StringBuilder failures = new StringBuilder();
+        for (QueryStats stats : profiler.getFullScans(SMALL_TABLES)) {
+            failures.append(stats.getSql()).append("\n  ").append(stats.getPlan()).append('\n');
+        }
+        assertEquals("Full table scans:\n" + failures, 0, failures.length());
+    }
+
+    // ========== Plan Tests ==========
+
+    @Test
+    public void ingestAndSyncQueries_useIndexes() {
+        ReceivedBtDataDao dao = database.receivedBtDataDao();
+        dao.messageExistsOwned(OWNER, "AA:BB:CC:DD:EE:FF", 1_000L, "0xAB3311");
+        dao.getMaxTimestampForOwner(OWNER);
+        dao.getLatestForSensorSync(SENSOR);
+        dao.getNextTimestampForSensor(OWNER, SENSOR, 1_000L);
+        dao.deleteWhereOwnerNotIn(Arrays.asList("owner2", "owner3"));
+
+        assertFalse(profiler.getStats().isEmpty());
+        assertNoFullScans();
+    }
+
+    @Test
+    public void dashboardAndStatisticsQueries_useIndexes() {
+        ReceivedBtDataDao dao = database.receivedBtDataDao();
+        dao.getAllForSensorSync(SENSOR);
+        dao.getRangeForSensorSync(SENSOR, 0L, 2_000L);
+        dao.getRangeForUserSync(OWNER, 0L, 2_000L);
+        dao.getPostureBucketsForSensorSync(SENSOR, 0L, 2_000L, 60_000L);
+        dao.countBySensor();
+        dao.countByOwner();
+
+        assertNoFullScans();
+    }
+
+    @Test
+    public void pagingQueries_useIndexes() {
+        ReceivedBtDataDao dao = database.receivedBtDataDao();
+        dao.getMessagesPageLatest(20);
+        dao.getMessagesPageBefore(1_020L, 20L, 20);
+        dao.getMessagesPageAfter(1_000L, 1L, 20);
+        dao.getMessagesInsertedAfter(10L, 20);
+        dao.getSensorMessagesPageLatest(SENSOR, 20);
+        dao.getSensorMessagesPageBefore(SENSOR, 1_020L, 20L, 20);
+        dao.getUserMessagesPageAfter(OWNER, 1_000L, 1L, 20);
+        dao.getUserSensorMessagesPageAfter(OWNER, SENSOR, 1_000L, 1L, 20);
+
+        assertNoFullScans();
+    }
+
+    @Test
+    public void exportAndMaintenanceQueries_useIndexes() {
+        ReceivedBtDataDao dao = database.receivedBtDataDao();
+        try (Cursor cursor = dao.streamReadingsForUserSync(OWNER, 0L, 2_000L)) {
+            assertEquals(50, cursor.getCount());
+        }
+        dao.getChunkBefore(2_000L, 0L, 0L, 100);
+        Long minId = dao.getMinId();
+        Long maxId = dao.getMaxId();
+        dao.deleteIdRangeWhereOwnerNotIn(minId, maxId + 1, Collections.singletonList(OWNER));
+
+        PostureRollupDao rollups = database.postureRollupDao();
+        rollups.getByKey(OWNER, SENSOR, 0L, "0xAB3311");
+        rollups.getBucketsForSensorSync(SENSOR, 0L, 2_000L);
+        rollups.getBucketsForUserSync(OWNER, 0L, 2_000L);
+
+        assertNoFullScans();
+    }
+
+    @Test
+    public void personLookups_useIndexes() {
+        MonitoredPersonDao persons = database.monitoredPersonDao();
+        persons.getDisplayNameForSensor(SENSOR);
+        persons.getPersonBySensorId(SENSOR);
+        persons.getAllMonitoredPersonsSync();
+
+        assertNoFullScans();
+    }
+
+    @Test
+    public void assignmentCacheQueries_useIndexes() {
+        CachedAssignmentDao assignments = database.cachedAssignmentDao();
+        assignments.upsertAll(Collections.singletonList(
+                new CachedAssignment("sup1_" + SENSOR, "sup1", SENSOR, OWNER, 1_000L)));
+        assignments.getForSupervisorSync("sup1");
+        assignments.getForAggregatorSync(OWNER);
+        assignments.deleteByDocIds(Collections.singletonList("sup2_" + SENSOR));
+        assignments.deleteForSensor("sensor002");
+        database.directoryUserDao().getByUidsSync(Collections.singletonList("sup1"));
+        database.directoryUserDao().getSupervisorsSync();
+        database.directoryUserDao().clearSupervisorFlagExcept(Collections.singletonList("sup1"));
+
+        assertNoFullScans();
+    }
+
+    @Test
+    public void alertQueries_useIndexes() {
+        AlertDao alerts = database.alertDao();
+        alerts.insertIfAbsent(new AlertEntity(SENSOR + "_1000", SENSOR, OWNER, "AA:BB", "fall", "0xFALL",
+                1_000L, false, null, 0L));
+        alerts.getExistingIds(Collections.singletonList(SENSOR + "_1000"));
+        alerts.getUnacknowledgedSync();
+        alerts.markAcknowledged(SENSOR + "_1000", "sup1", 2_000L);
+        alerts.deleteOlderThan(500L);
+
+        assertNoFullScans();
+    }
+
+    @Test
+    public void profiler_recordsRowsAndCounts() {
+        ReceivedBtDataDao dao = database.receivedBtDataDao();
+        dao.getAllForSensorSync(SENSOR);
+        dao.getAllForSensorSync(SENSOR);
+
+        QueryStats sensorQuery = null;
+        for (QueryStats stats : profiler.getStats()) {
+            if (stats.getSql().contains("sensor_id") && stats.getMaxRows() == 50) {
+                sensorQuery = stats;
+            }
+        }
+        assertNotNull(sensorQuery);
+        assertEquals(2, sensorQuery.getCount());
+        assertEquals(100, sensorQuery.getRows());
+        assertNotNull(sensorQuery.getPlan());
+    }
+}
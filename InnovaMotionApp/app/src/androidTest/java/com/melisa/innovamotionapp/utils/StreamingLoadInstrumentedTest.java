@@ -0,0 +1,111 @@
+package com.melisa.innovamotionapp.utils;
+
+import static org.junit.Assert.*;
+
+import android.content.Context;
+import android.os.Bundle;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+import androidx.test.platform.app.InstrumentationRegistry;
+
+import com.melisa.innovamotionapp.bluetooth.PacketIngestor;
+import com.melisa.innovamotionapp.bluetooth.ReadingBatchWriter;
+import com.melisa.innovamotionapp.data.database.InnovaDatabase;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
+import com.melisa.innovamotionapp.data.posture.Posture;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Headless streaming load against a real (in-memory) Room database.
+ *
+ * Short by default so it can run with the other instrumented tests. For a soak run, pass
+ * instrumentation args, e.g.:
+ * <pre>
+ * -e loadSensors 200 -e loadHz 2 -e loadMinutes 60
+ * </pre>
+ * The report is printed to logcat under "StreamingLoadTest".
+ */
+@RunWith(AndroidJUnit4.class)
+public class StreamingLoadInstrumentedTest {
+
+    private static final String TAG = "StreamingLoadTest";
+    private static final String OWNER = "load_owner";
+    private static final String DEVICE = "00:00:00:00:00:00";
+
+    private InnovaDatabase database;
+    private ReceivedBtDataDao dao;
+
+    @Before
+    public void setUp() {
+        Context context = ApplicationProvider.getApplicationContext();
+        database = Room.inMemoryDatabaseBuilder(context, InnovaDatabase.class).build();
+        dao = database.receivedBtDataDao();
+    }
+
+    @After
+    public void tearDown() {
+        database.close();
+    }
+
+    @Test
+    public void streamingLoad_commitsEveryReadingToRoom() throws InterruptedException {
+        Bundle args = InstrumentationRegistry.getArguments();
+        StreamingLoadConfig config = new StreamingLoadConfig.Builder()
+                .sensorCount(Integer.parseInt(args.getString("loadSensors", "50")))
+                .readingsPerSecond(Double.parseDouble(args.getString("loadHz", "2")))
+                .durationMs((long) (Double.parseDouble(args.getString("loadMinutes", "0.1")) * 60 * 1000))
+                .build();
+
+        ReadingBatchWriter writer = new ReadingBatchWriter(dao::insertAll,
+                Constants.COUNTDOWN_TIMER_IN_MILLISECONDS_FOR_MESSAGE_SAVE);
+        // Only persistence is measured; the app singletons would write to the real database
+        PacketIngestor ingestor = new PacketIngestor(writer, new PacketIngestor.ReadingEffects() {
+            @Override
+            public void ensureSensorExists(@NonNull String sensorId) {
+            }
+
+            @Override
+            public void publishPosture(@NonNull String sensorId, @NonNull Posture posture, long timestamp, long packetAt) {
+            }
+
+            @Override
+            public void offerAlert(@NonNull String sensorId, @NonNull String deviceAddress, @NonNull String ownerUid,
+                                   @NonNull String hexCode, long timestamp, boolean fall) {
+            }
+
+            @Override
+            public void notifyFall(@NonNull String sensorId) {
+            }
+        });
+        StreamingLoadRunner runner = new StreamingLoadRunner(config, writer,
+                readings -> ingestor.ingest(DEVICE, OWNER, readings), new StreamingLoadRunner.DatabaseProbe() {
+            @Override
+            public long rowCount() {
+                return dao.dbgCountAll();
+            }
+
+            @Override
+            public long sizeBytes() {
+                return 0; // in-memory database has no file
+            }
+        });
+
+        writer.start();
+        StreamingLoadReport report = runner.run();
+        writer.stopAndAwait(5000);
+
+        Log.i(TAG, "\n" + report.toSummary());
+
+        assertTrue(report.getReadingsSent() > 0);
+        assertEquals(report.getReadingsSent(), report.getReadingsCommitted());
+        assertEquals(report.getReadingsCommitted(), report.getDbRowsAdded());
+    }
+}
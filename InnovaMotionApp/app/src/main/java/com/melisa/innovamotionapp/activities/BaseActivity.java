@@ -157,9 +157,9 @@ public abstract class BaseActivity extends AppCompatActivity {
             }
             
             // Disconnect Bluetooth device and stop the service
-            if (globalData != null && globalData.deviceCommunicationManager != null) {
-                globalData.deviceCommunicationManager.disconnectDevice();
-                globalData.deviceCommunicationManager.stopService();
+            if (globalData != null) {
+                globalData.getDeviceCommunicationManager().disconnectDevice();
+                globalData.getDeviceCommunicationManager().stopService();
                 Logger.d(TAG, "Bluetooth service stopped");
             }
             
@@ -168,6 +168,7 @@ public abstract class BaseActivity extends AppCompatActivity {
             try {
                 FirestoreSyncService syncService = FirestoreSyncService.getInstance(this);
                 syncService.stopAllMirrors();
+                syncService.cancelPurge();
                 syncService.clearLocalData();
                 Logger.d(TAG, "Stopped mirrors and cleared local Room data");
             } catch (Exception e) {
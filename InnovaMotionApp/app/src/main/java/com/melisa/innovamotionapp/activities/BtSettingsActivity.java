@@ -96,7 +96,7 @@ public class BtSettingsActivity extends BaseActivity {
         // Observe connection state changes
         globalData.getIsConnectedDevice().observe(this, isConnected -> {
             if (isConnected) {
-                String deviceConnected = globalData.deviceCommunicationManager.getDeviceToConnect().getAddress();
+                String deviceConnected = globalData.getDeviceCommunicationManager().getDeviceToConnect().getAddress();
                 globalData.userDeviceSettingsStorage.saveLatestDeviceAddress(deviceConnected);
                 
                 Logger.bluetooth(TAG, deviceConnected, "Device connected successfully");
@@ -189,7 +189,7 @@ public class BtSettingsActivity extends BaseActivity {
                     deviceName = viewModel.getConnectedDeviceName();
                 } else {
                     // Permission denied - use device address as fallback
-                    BluetoothDevice device = globalData.deviceCommunicationManager.getDeviceToConnect();
+                    BluetoothDevice device = globalData.getDeviceCommunicationManager().getDeviceToConnect();
                     if (device != null) {
                         deviceName = device.getAddress();
                     }
@@ -10,10 +10,8 @@ import androidx.lifecycle.ViewModelProvider;
 
 import com.github.mikephil.charting.data.PieEntry;
 import com.melisa.innovamotionapp.R;
+import com.melisa.innovamotionapp.data.analytics.PostureDistribution;
 import com.melisa.innovamotionapp.data.database.InnovaDatabase;
-import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
-import com.melisa.innovamotionapp.data.posture.Posture;
-import com.melisa.innovamotionapp.data.posture.PostureFactory;
 import com.melisa.innovamotionapp.databinding.EnergyConsumptionActivityBinding;
 import com.melisa.innovamotionapp.ui.viewmodels.EnergyConsumptionViewModel;
 import com.melisa.innovamotionapp.utils.GlobalData;
@@ -22,12 +20,9 @@ import com.melisa.innovamotionapp.utils.TargetUserResolver;
 import com.melisa.innovamotionapp.sync.UserSession;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.Date;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 /**
  * Activity for displaying energy consumption breakdown.
@@ -106,22 +101,22 @@ public class EnergyConsumptionActivity extends AppCompatActivity {
             }
         }
 
-        // Fetch all data for target user or sensor
-        viewModel.getAllForUser().observe(this, list -> {
+        // Time per posture for target user or sensor (no rows are loaded)
+        viewModel.getDistribution().observe(this, distribution -> {
 //            if (displayedOnce) {
 //                return;
 //            }
-            int size = (list != null ? list.size() : 0);
-            Logger.i(TAG, "Received data: listSize=" + size);
-            if (list != null && !list.isEmpty()) {
+            int size = (distribution != null ? distribution.getTotalCount() : 0);
+            Logger.i(TAG, "Received data: readings=" + size);
+            if (distribution != null && !distribution.isEmpty()) {
 
                 binding.parentLayout.removeAllViews();
                 // Boolean set to display data only once
                 displayedOnce = true;
 
                 // Display the savedData's dates interval
-                long startDate = list.get(0).getTimestamp(); // Set startDate as the timestamp of the first entry
-                long endDate = list.get(list.size() - 1).getTimestamp(); // Set endDate as the timestamp of the last entry
+                long startDate = distribution.getFirstTimestamp(); // Timestamp of the first entry
+                long endDate = distribution.getLastTimestamp(); // Timestamp of the last entry
                 // Format both date and time (dd/MM/yyyy HH:mm:ss)
                 SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss", Locale.getDefault());
                 String startDateString = sdf.format(new Date(startDate));
@@ -131,35 +126,21 @@ public class EnergyConsumptionActivity extends AppCompatActivity {
                 binding.selectedDateRange.setText(selectedDateRange);
 
 
-                // Convert entities to postures
-                List<Posture> postureListInDateRange = new ArrayList<>();
-                for (ReceivedBtDataEntity entity : list) {
-                    postureListInDateRange.add(PostureFactory.createPosture(entity.getReceivedMsg()));
-                }
-                // TODO: change here
                 // Calculate
-                func(postureListInDateRange);
+                func(distribution);
             }
         });
     }
 
-    private void func(List<Posture> postureListInDateRange) {
-        int sum = 0;
-        // Count occurrences of each posture type
-        Map<String, Integer> postureResourceMap = new HashMap<>(); // To store resource codes for each posture type
-        Map<String, Integer> postureCaloriesMap = new HashMap<>(); // To store sum calories for each posture type
-        for (Posture posture : postureListInDateRange) {
-            sum += posture.getCalories();
-            String postureType = posture.getClass().getSimpleName(); // Assuming each posture has a distinct class
-            postureCaloriesMap.compute(postureType, (key, currentValue) -> (currentValue == null ? 0 : currentValue) + posture.getCalories());
-            postureResourceMap.put(postureType, posture.getPictureCode()); // Save resource code
-        }
-
+    private void func(PostureDistribution distribution) {
+        // Calories follow the time spent in each posture, not the number of readings
+        long sum = Math.round(distribution.getTotalCalories());
+        List<PostureDistribution.Share> shares = distribution.getShares();
 
         // Add rows dynamically
-        for (Map.Entry<String, Integer> entry : postureResourceMap.entrySet()) {
-            String postureName = entry.getKey();
-            int resourceId = entry.getValue();
+        for (PostureDistribution.Share share : shares) {
+            String postureName = share.getLabel();
+            int resourceId = share.getPosture().getPictureCode();
 
             // Create a horizontal LinearLayout for each row
             LinearLayout rowLayout = new LinearLayout(this);
@@ -167,7 +148,7 @@ public class EnergyConsumptionActivity extends AppCompatActivity {
             rowLayout.setPadding(8, 8, 8, 8);
 
             // Set background color for alternating rows (optional)
-            int backgroundColor = postureResourceMap.size() % 2 == 0 ? 0xFFEEEEEE : 0xFFFFFFFF;
+            int backgroundColor = shares.size() % 2 == 0 ? 0xFFEEEEEE : 0xFFFFFFFF;
             rowLayout.setBackgroundColor(backgroundColor);
 
             // Add ImageView for the posture image
@@ -182,7 +163,7 @@ public class EnergyConsumptionActivity extends AppCompatActivity {
                     LinearLayout.LayoutParams.WRAP_CONTENT,
                     LinearLayout.LayoutParams.WRAP_CONTENT
             ));
-            textView.setText(postureName + " - " + postureCaloriesMap.get(postureName) + " cal");
+            textView.setText(postureName + " - " + Math.round(share.getCalories()) + " cal");
             textView.setPadding(16, 0, 0, 0);
             rowLayout.addView(textView);
 
@@ -9,16 +9,21 @@ import androidx.lifecycle.ViewModelProvider;
 
 import com.melisa.innovamotionapp.data.database.InnovaDatabase;
 import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
 import com.melisa.innovamotionapp.data.posture.Posture;
-import com.melisa.innovamotionapp.data.posture.PostureFactory;
 import com.melisa.innovamotionapp.data.posture.types.UnknownPosture;
 import com.melisa.innovamotionapp.data.posture.types.UnusedFootwearPosture;
 import com.melisa.innovamotionapp.databinding.ActivityPersonDetailBinding;
 import com.melisa.innovamotionapp.ui.viewmodels.SupervisorFeedViewModel;
 import com.melisa.innovamotionapp.utils.GlobalData;
+import com.melisa.innovamotionapp.utils.LiveSensorStateStore;
 import com.melisa.innovamotionapp.utils.Logger;
 import com.melisa.innovamotionapp.utils.RoleProvider;
 
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
 
 /**
  * Activity for displaying posture data for a single person.
@@ -30,7 +35,7 @@ import com.melisa.innovamotionapp.utils.RoleProvider;
  * 
  * Supports two modes:
  * 1. Sensor-specific mode: Shows data for a specific sensorId (primary mode for both roles)
- * 2. Legacy mode: Shows data from GlobalData (Bluetooth connection, fallback for aggregator)
+ * 2. Legacy mode: Shows the most recent sensor from LiveSensorStateStore (Bluetooth connection, fallback for aggregator)
  */
 public class PersonDetailActivity extends AppCompatActivity {
     
@@ -43,6 +48,7 @@ public class PersonDetailActivity extends AppCompatActivity {
     private ActivityPersonDetailBinding binding;
     private final GlobalData globalData = GlobalData.getInstance();
     private SupervisorFeedViewModel supervisorFeedViewModel;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
     private boolean isFirstPosture = true;
     private Posture currentPosture = null;
     
@@ -101,29 +107,40 @@ public class PersonDetailActivity extends AppCompatActivity {
     }
 
     /**
-     * Observe sensor-specific data from Room database.
-     * Used when viewing a specific person from the dashboard (both roles).
+     * Observe this sensor's entry in LiveSensorStateStore (fed by Bluetooth ingest and the
+     * Firestore mirrors). Used when viewing a specific person from the dashboard (both roles).
+     * Only this sensor's updates wake the activity; a fall is shown immediately.
      */
     private void observeSensorSpecificData() {
-        ReceivedBtDataDao dao = InnovaDatabase.getInstance(this).receivedBtDataDao();
-        dao.getLatestForSensor(sensorId).observe(this, entity -> {
-            if (entity != null) {
-                Posture posture = PostureFactory.createPosture(entity.getReceivedMsg());
+        LiveSensorStateStore store = LiveSensorStateStore.getInstance();
+        store.observe(sensorId).observe(this, state -> {
+            if (state != null) {
                 Logger.d(TAG, "Sensor-specific: received posture for " + sensorId);
-                displayPostureData(posture);
+                displayPostureData(state.getPosture());
             }
         });
+
+        // Seed from Room in case nothing was received for this sensor since startup
+        if (store.get(sensorId) == null) {
+            ReceivedBtDataDao dao = InnovaDatabase.getInstance(this).receivedBtDataDao();
+            final String seedSensorId = sensorId;
+            executor.execute(() -> {
+                ReceivedBtDataEntity latest = dao.getLatestForSensorSync(seedSensorId);
+                if (latest != null) {
+                    store.updateFromEntities(Collections.singletonList(latest));
+                }
+            });
+        }
     }
 
     /**
-     * Observe global data from GlobalData and SupervisorFeedViewModel.
+     * Observe the most recent sensor from LiveSensorStateStore and SupervisorFeedViewModel.
      * Legacy behavior for Bluetooth connection mode.
      */
     private void observeGlobalData() {
-        // Existing observer stays: observe LiveData for device data
-        globalData.getReceivedPosture().observe(this, posture -> {
-            if (posture == null) return; // wait for real data
-            displayPostureData(posture);
+        LiveSensorStateStore.getInstance().observeAny().observe(this, state -> {
+            if (state == null) return; // wait for real data
+            displayPostureData(state.getPosture());
         });
 
         // New: if supervisor, observe latest message from Room so we always show the freshest posture
@@ -139,6 +156,14 @@ public class PersonDetailActivity extends AppCompatActivity {
         }
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (!executor.isShutdown()) {
+            executor.shutdown();
+        }
+    }
+
     @Override
     protected void onResume() {
         super.onResume();
@@ -9,6 +9,7 @@ import android.graphics.drawable.Drawable;
 import android.os.Bundle;
 import android.widget.Toast;
 
+import androidx.annotation.Nullable;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.core.util.Pair;
 import androidx.lifecycle.ViewModelProvider;
@@ -23,15 +24,14 @@ import com.github.mikephil.charting.utils.ColorTemplate;
 import com.github.mikephil.charting.utils.MPPointF;
 import com.github.mikephil.charting.utils.ViewPortHandler;
 import com.google.android.material.datepicker.MaterialDatePicker;
+import com.melisa.innovamotionapp.data.analytics.PostureDistribution;
 import com.melisa.innovamotionapp.data.database.InnovaDatabase;
-import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
 import com.melisa.innovamotionapp.R;
-import com.melisa.innovamotionapp.data.posture.Posture;
-import com.melisa.innovamotionapp.data.posture.PostureFactory;
 import com.melisa.innovamotionapp.databinding.StatisticsActivityBinding;
 import com.melisa.innovamotionapp.ui.viewmodels.StatisticsViewModel;
 import com.melisa.innovamotionapp.utils.GlobalData;
 import com.melisa.innovamotionapp.utils.Logger;
+import com.melisa.innovamotionapp.utils.PostureBitmapCache;
 import com.melisa.innovamotionapp.utils.TargetUserResolver;
 import com.melisa.innovamotionapp.sync.UserSession;
 
@@ -39,10 +39,7 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.List;
 import java.util.Locale;
-import java.util.Map;
 
 
 /**
@@ -122,34 +119,35 @@ public class StatisticsActivity extends AppCompatActivity {
             }
         }
 
-        viewModel.getAllForUser().observe(this, list -> {
+        // Time per posture is aggregated off the UI thread; the chart never loads the individual readings
+        viewModel.getDistribution().observe(this, distribution -> {
             if (showDefaultData) {
-                Logger.i(TAG, "Received data: listSize=" + (list != null ? list.size() : 0));
-                if (list != null && !list.isEmpty()) {
-                    startDate = list.get(0).getTimestamp();
-                    endDate = list.get(list.size() - 1).getTimestamp();
-                    ReceivedBtDataEntity last = list.get(list.size() - 1);
-                    Logger.d(TAG, "Last entry: ts=" + last.getTimestamp() + " msg=" + last.getReceivedMsg());
+                Logger.i(TAG, "Received data: readings=" + (distribution != null ? distribution.getTotalCount() : 0));
+                if (distribution != null && !distribution.isEmpty()) {
+                    startDate = distribution.getFirstTimestamp();
+                    endDate = distribution.getLastTimestamp();
+                    Logger.d(TAG, "Last entry: ts=" + endDate);
                     updateWithDateRange(startDate, endDate);
-                    onSavedDataChange(list);
+                    onSavedDataChange(distribution);
                 }
             }
         });
 
+        // RANGE (emits once a date range is picked)
+        viewModel.getRangeDistribution().observe(this, distribution -> {
+            if (!showDefaultData && distribution != null) {
+                Logger.i(TAG, "Range data: readings=" + distribution.getTotalCount());
+                onSavedDataChange(distribution);
+            }
+        });
+
     }
 
-    // Method to load, rescale and apply transparency
+    // Method to load and rescale (decoded once per size by the shared PostureBitmapCache)
     public Drawable createRescaledDrawable(int resourceId, int newSizeX, int newSizeY) {
-        // Load the image from resources as a Bitmap
-        Bitmap bitmap = BitmapFactory.decodeResource(getResources(), resourceId);
+        Bitmap scaledBitmap = PostureBitmapCache.getInstance(this).getScaled(resourceId, newSizeX, newSizeY);
 
-        // Rescale the Bitmap based on the rescale factor
-        Bitmap scaledBitmap = Bitmap.createScaledBitmap(bitmap, newSizeX, newSizeY, false);
-
-        // Release memory from the original bitmap as it is no longer needed
-        bitmap.recycle();
-
-        // Convert the rescaled Bitmap to Drawable
+        // Wrap the shared Bitmap in a Drawable (the bitmap must not be recycled)
         BitmapDrawable drawable = new BitmapDrawable(getResources(), scaledBitmap);
 
         return drawable;
@@ -157,17 +155,15 @@ public class StatisticsActivity extends AppCompatActivity {
 
     // Method to load, rescale and apply transparency
     public Drawable createRescaledDrawable(int resourceId, float rescaleFactor, int alphaValue) {
-        // Load the image from resources as a Bitmap
-        Bitmap bitmap = BitmapFactory.decodeResource(getResources(), resourceId);
-
-        // Rescale the Bitmap based on the rescale factor
-        Bitmap scaledBitmap = Bitmap.createScaledBitmap(bitmap,
-                (int) (bitmap.getWidth() * rescaleFactor),
-                (int) (bitmap.getHeight() * rescaleFactor),
-                false);
+        // Read the picture size without decoding it
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(getResources(), resourceId, bounds);
 
-        // Release memory from the original bitmap as it is no longer needed
-        bitmap.recycle();
+        // Rescale based on the rescale factor
+        Bitmap scaledBitmap = PostureBitmapCache.getInstance(this).getScaled(resourceId,
+                Math.max(1, (int) (bounds.outWidth * rescaleFactor)),
+                Math.max(1, (int) (bounds.outHeight * rescaleFactor)));
 
         // Convert the rescaled Bitmap to Drawable
         BitmapDrawable drawable = new BitmapDrawable(getResources(), scaledBitmap);
@@ -178,7 +174,7 @@ public class StatisticsActivity extends AppCompatActivity {
         return drawable;
     }
 
-    private void createPieChart(List<Posture> postureListInDateRange) {
+    private void createPieChart(@Nullable PostureDistribution distribution) {
 
         PieChart pieChart = binding.pieChart;
 
@@ -191,7 +187,7 @@ public class StatisticsActivity extends AppCompatActivity {
         legend.setXEntrySpace(5f); // space between the legend entries on the x-axis
         legend.setYEntrySpace(5f); // space between the legend entries on the y-axis
 
-        ArrayList<PieEntry> entries = addDataToPieChart(postureListInDateRange);
+        ArrayList<PieEntry> entries = addDataToPieChart(distribution);
         if (!entries.isEmpty()) {
             PieDataSet dataSet = new PieDataSet(entries, "");
             dataSet.setColors(ColorTemplate.VORDIPLOM_COLORS);
@@ -215,7 +211,7 @@ public class StatisticsActivity extends AppCompatActivity {
                     break;
             }
         } else {
-            // Remove previous dataSet if postureListInDateRange is empty
+            // Remove previous dataSet if the distribution is empty
             pieChart.clear();
         }
 
@@ -233,34 +229,20 @@ public class StatisticsActivity extends AppCompatActivity {
         pieChart.invalidate(); // Refresh chart
     }
 
-    /**
-     * @noinspection DataFlowIssue
-     */
-    private ArrayList<PieEntry> addDataToPieChart(List<Posture> postureListInDateRange) {
-        // Count occurrences of each posture type
-        Map<String, Integer> postureCountMap = new HashMap<>();
-        Map<String, Integer> postureResourceMap = new HashMap<>(); // To store resource codes for each posture type
-        for (Posture posture : postureListInDateRange) {
-            String postureType = posture.getClass().getSimpleName(); // Assuming each posture has a distinct class
-            postureCountMap.compute(postureType, (key, currentValue) -> (currentValue == null ? 0 : currentValue) + 1);
-            postureResourceMap.put(postureType, posture.getPictureCode()); // Save resource code
-        }
-
-        int totalPostures = postureListInDateRange.size();
+    private ArrayList<PieEntry> addDataToPieChart(@Nullable PostureDistribution distribution) {
         ArrayList<PieEntry> pieEntries = new ArrayList<>();
+        if (distribution == null) {
+            return pieEntries;
+        }
         float sizeMultiplier = 2;
         int newSizeX = (int) (75 * sizeMultiplier);
         int newSizeY = (int) (94 * sizeMultiplier);
 
-        for (Map.Entry<String, Integer> entry : postureCountMap.entrySet()) {
-            String postureType = entry.getKey();
-            int count = entry.getValue();
-            // Calculate percentages
-            float percentage = ((float) count / totalPostures) * 100;
-            // Fetch the resource code for this posture type
-            int resourceCode = postureResourceMap.get(postureType);
-            // Add a PieEntry with the percentage and corresponding label
-            pieEntries.add(new PieEntry(percentage, postureType, createRescaledDrawable(resourceCode, newSizeX, newSizeY)));
+        // One share per posture type, weighted by time spent in it
+        for (PostureDistribution.Share share : distribution.getShares()) {
+            float percentage = (float) (share.getFraction() * 100);
+            int resourceCode = share.getPosture().getPictureCode();
+            pieEntries.add(new PieEntry(percentage, share.getLabel(), createRescaledDrawable(resourceCode, newSizeX, newSizeY)));
         }
 
         return pieEntries;
@@ -284,19 +266,8 @@ public class StatisticsActivity extends AppCompatActivity {
             // Disable default behaviour
             showDefaultData = false;
 
-            // Remove any existing observer before adding a new one
-            viewModel.getRangeForUser(startDate, endDate).removeObservers(this);
-            // RANGE
-            viewModel.getRangeForUser(startDate, endDate).observe(this, list -> {
-                if (!showDefaultData) {
-                    Logger.i(TAG, "Range data: listSize=" + (list != null ? list.size() : 0));
-                    if (list != null && !list.isEmpty()) {
-                        ReceivedBtDataEntity last = list.get(list.size() - 1);
-                        Logger.d(TAG, "Range last entry: ts=" + last.getTimestamp() + " msg=" + last.getReceivedMsg());
-                    }
-                    onSavedDataChange(list);
-                }
-            });
+            // Cached per range in AnalyticsRepository; re-picking a range does not query again
+            viewModel.setRange(startDate, endDate);
 
         });
 
@@ -340,7 +311,7 @@ public class StatisticsActivity extends AppCompatActivity {
 
         // Displaying the selected date range in the TextView
         binding.selectedDateRange.setText(selectedDateRange);
-        createPieChart(new ArrayList<>());
+        createPieChart(null);
     }
 
     public void log(String msg) {
@@ -361,13 +332,7 @@ public class StatisticsActivity extends AppCompatActivity {
         }
     }
 
-    private void onSavedDataChange(List<ReceivedBtDataEntity> receivedBtDataEntities) {
-        // Convert entities to postures
-        List<Posture> postureListInDateRange = new ArrayList<>();
-        for (ReceivedBtDataEntity entity : receivedBtDataEntities) {
-            postureListInDateRange.add(PostureFactory.createPosture(entity.getReceivedMsg()));
-        }
-        // Update the pie chart
-        createPieChart(postureListInDateRange);
+    private void onSavedDataChange(PostureDistribution distribution) {
+        createPieChart(distribution);
     }
 }
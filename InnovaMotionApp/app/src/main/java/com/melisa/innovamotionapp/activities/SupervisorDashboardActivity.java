@@ -21,6 +21,8 @@ import com.melisa.innovamotionapp.ui.models.PersonStatus;
 import com.melisa.innovamotionapp.ui.viewmodels.SupervisorDashboardViewModel;
 import com.melisa.innovamotionapp.utils.Logger;
 
+import java.util.List;
+
 /**
  * Dashboard showing all monitored persons in a grid.
  * 
@@ -97,8 +99,9 @@ public class SupervisorDashboardActivity extends BaseActivity {
     }
 
     private void observeData() {
-        viewModel.getPersonStatuses().observe(this, statuses -> {
-            adapter.submitList(statuses);
+        viewModel.getPersonStatusUpdates().observe(this, update -> {
+            List<PersonStatus> statuses = update.getItems();
+            adapter.submitUpdate(update);
             binding.swipeRefresh.setRefreshing(false);
 
             // Show empty state
@@ -1,28 +1,33 @@
 package com.melisa.innovamotionapp.activities;
 
-import android.graphics.BitmapFactory;
+import android.graphics.Bitmap;
 import android.os.Bundle;
 import android.os.Handler;
 import android.widget.SeekBar;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.view.OneShotPreDrawListener;
 import androidx.lifecycle.ViewModelProvider;
 
 import com.melisa.innovamotionapp.R;
 import com.melisa.innovamotionapp.data.database.InnovaDatabase;
-import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
-import com.melisa.innovamotionapp.data.posture.Posture;
-import com.melisa.innovamotionapp.data.posture.PostureFactory;
+import com.melisa.innovamotionapp.data.posture.types.FallingPosture;
+import com.melisa.innovamotionapp.data.posture.types.SittingPosture;
+import com.melisa.innovamotionapp.data.posture.types.StandingPosture;
+import com.melisa.innovamotionapp.data.posture.types.UnknownPosture;
+import com.melisa.innovamotionapp.data.posture.types.UnusedFootwearPosture;
+import com.melisa.innovamotionapp.data.posture.types.WalkingPosture;
 import com.melisa.innovamotionapp.databinding.TimelapsActivityBinding;
 import com.melisa.innovamotionapp.ui.viewmodels.TimeLapseViewModel;
 import com.melisa.innovamotionapp.utils.GlobalData;
 import com.melisa.innovamotionapp.utils.Logger;
+import com.melisa.innovamotionapp.utils.PostureBitmapCache;
 import com.melisa.innovamotionapp.utils.TargetUserResolver;
 import com.melisa.innovamotionapp.sync.UserSession;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 import java.util.Locale;
@@ -46,9 +51,10 @@ public class TimeLapseActivity extends AppCompatActivity {
     private final GlobalData globalData = GlobalData.getInstance();
 
 
-    private List<Integer> imageIds; // List of image file paths or resource ids
-    private List<String> imageTimestamps; // List of timestamps for the images
-    private int currentIndex = 0; // Track the current image
+    private static final int SEEK_BAR_STEPS = 1000; // Time resolution of the timeline SeekBar
+
+    private TimeLapseViewModel.Frame currentFrame; // Frame currently displayed
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss", Locale.getDefault());
     private Handler handler = new Handler(); // To post delayed tasks
     private Runnable showImageRunnable;
     private boolean isRunning = false; // Control the playback state
@@ -57,6 +63,9 @@ public class TimeLapseActivity extends AppCompatActivity {
     private int speed = 5; // Default speed (1 to 10)
     private InnovaDatabase database;
     private TimeLapseViewModel viewModel;
+    private PostureBitmapCache bitmapCache;
+    private int displayedImageId = 0; // Picture currently in the ImageView (0 = none)
+    private boolean imageUpdatePending = false; // Waiting for the ImageView's first layout
 
     private boolean displayedOnce = false;
     
@@ -76,12 +85,9 @@ public class TimeLapseActivity extends AppCompatActivity {
 
         // Initialize ViewModel
         viewModel = new ViewModelProvider(this).get(TimeLapseViewModel.class);
+        bitmapCache = PostureBitmapCache.getInstance(this);
 
 
-        // Initialize image paths and timestamps (example)
-        imageIds = new ArrayList<>();
-        imageTimestamps = new ArrayList<>();
-
         // Boolean init to display data only once
         displayedOnce = false;
 
@@ -121,66 +127,53 @@ public class TimeLapseActivity extends AppCompatActivity {
             }
         }
 
-        // Observe target user's or sensor's saved postures
-        viewModel.getAllForUser().observe(this, list -> {
-            if (displayedOnce) {
+        // Observe the current frame, paged from Room around the playback position
+        viewModel.getFrame().observe(this, frame -> {
+            if (frame == null) {
+                Logger.i(TAG, "No data to play");
                 return;
             }
-            int size = (list != null ? list.size() : 0);
-            Logger.i(TAG, "Received data: listSize=" + size);
-            if (list != null && !list.isEmpty()) {
-                // Boolean set to display data only once
+            if (!displayedOnce) {
+                // Boolean set to set up the timeline only once
                 displayedOnce = true;
-
+                Logger.i(TAG, "Timeline " + frame.getFirstTimestamp() + " - " + frame.getLastTimestamp());
 
                 // Display the savedData's dates interval
-                long startDate = list.get(0).getTimestamp(); // Set startDate as the timestamp of the first entry
-                long endDate = list.get(list.size() - 1).getTimestamp(); // Set endDate as the timestamp of the last entry
-                // Format both date and time (dd/MM/yyyy HH:mm:ss)
-                SimpleDateFormat sdf = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss", Locale.getDefault());
-                String startDateString = sdf.format(new Date(startDate));
-                String endDateString = sdf.format(new Date(endDate));
-                // Creating the date range string
-                String selectedDateRange = startDateString + " - " + endDateString;
+                String selectedDateRange = dateFormat.format(new Date(frame.getFirstTimestamp()))
+                        + " - " + dateFormat.format(new Date(frame.getLastTimestamp()));
                 binding.selectedDateRange.setText(selectedDateRange);
 
-                // Add images and corresponding timestamps (this should come from your data)
-                for (ReceivedBtDataEntity receivedBtDataEntity : list) {
-                    // Add posture's picture
-                    Posture posture = PostureFactory.createPosture(receivedBtDataEntity.getReceivedMsg());
-
-                    // Save posture's picture
-                    imageIds.add(posture.getPictureCode());
+                setupUi();
 
-                    // Format posture's timestamp
-                    // Format both date and time (dd/MM/yyyy HH:mm:ss)
-                    String postureFormatedDate = sdf.format(new Date(receivedBtDataEntity.getTimestamp()));
+                // Decode the few distinct pictures in the background at the view's size
+                whenImageViewSized(() -> bitmapCache.prefetchSampled(postureImageIds(),
+                        binding.imageView.getWidth(), binding.imageView.getHeight()));
+            }
+            currentFrame = frame;
+            updateImageDisplay();
+            binding.seekBar.setProgress(toProgress(frame));
 
-                    // Add posture's formated timestamp
-                    imageTimestamps.add(postureFormatedDate);
+            if (isRunning) {
+                if (frame.isAtEnd()) {
+                    stopTimeLapse(); // Stop at the end of the history
+                } else {
+                    handler.removeCallbacks(showImageRunnable); // A seek while playing must not fork the chain
+                    handler.postDelayed(showImageRunnable, interval); // Post next step
                 }
-                setupUi();
-
-                // Initialize with the first image
-                updateImageDisplay();
             }
         });
-
-        // Initialize with the first image
-        updateImageDisplay();
     }
 
     private void setupUi() {
-        // Set max value of SeekBar to the number of images
-        binding.seekBar.setMax(imageIds.size() - 1);
+        // SeekBar is a fixed-resolution time axis; the history may have millions of readings
+        binding.seekBar.setMax(SEEK_BAR_STEPS);
 
-        // Listener for SeekBar drag to navigate images
+        // Listener for SeekBar drag to seek in time
         binding.seekBar.setOnSeekBarChangeListener(new SeekBar.OnSeekBarChangeListener() {
             @Override
             public void onProgressChanged(SeekBar seekBar, int progress, boolean fromUser) {
-                if (fromUser) {
-                    currentIndex = progress;
-                    updateImageDisplay(); // Update the image display when dragged
+                if (fromUser && currentFrame != null) {
+                    viewModel.seekTo(toTimestamp(currentFrame, progress));
                 }
             }
 
@@ -220,31 +213,80 @@ public class TimeLapseActivity extends AppCompatActivity {
         // Stop button click listener
         binding.stopButton.setOnClickListener(v -> stopTimeLapse());
 
-        // Runnable for showing images at intervals
-        showImageRunnable = new Runnable() {
-            @Override
-            public void run() {
-                if (currentIndex < imageIds.size()) {
-                    updateImageDisplay(); // Display the current image
-                    currentIndex++;
-                    binding.seekBar.setProgress(currentIndex); // Update SeekBar
-                    handler.postDelayed(this, interval); // Post next task
+        // Runnable for stepping through the history; the next step is posted when its frame arrives
+        showImageRunnable = () -> viewModel.step(binding.changesOnlyCheckBox.isChecked());
+    }
+
+    private void updateImageDisplay() {
+        if (currentFrame == null) {
+            return;
+        }
+        int imageId = currentFrame.getPictureCode();
+
+        // Set the image (only when the posture changes; pictures come from the shared cache)
+        if (imageId != displayedImageId) {
+            if (isImageViewSized()) {
+                Bitmap bitmap = bitmapCache.getSampled(imageId,
+                        binding.imageView.getWidth(), binding.imageView.getHeight());
+                if (bitmap != null) {
+                    binding.imageView.setImageBitmap(bitmap);
                 } else {
-                    stopTimeLapse(); // Stop at the end of the list
+                    binding.imageView.setImageResource(imageId);
                 }
+                displayedImageId = imageId;
+            } else if (!imageUpdatePending) {
+                // Before layout a 0x0 request would miss the prefetched key and decode at full size
+                imageUpdatePending = true;
+                whenImageViewSized(() -> {
+                    imageUpdatePending = false;
+                    updateImageDisplay();
+                });
             }
-        };
+        }
+        // Format only the displayed frame's timestamp
+        binding.photoTime.setText("Time: " + dateFormat.format(new Date(currentFrame.getTimestamp())));
     }
 
-    private void updateImageDisplay() {
-        if (currentIndex >= 0 && currentIndex < imageIds.size()) {
-            int imageId = imageIds.get(currentIndex);
-            String timestamp = imageTimestamps.get(currentIndex);
+    private boolean isImageViewSized() {
+        return binding.imageView.getWidth() > 0 && binding.imageView.getHeight() > 0;
+    }
+
+    /**
+     * Run now if the ImageView has its size, otherwise just before its first draw (after layout),
+     * so prefetch and display decode with the same cache key.
+     */
+    private void whenImageViewSized(Runnable action) {
+        if (isImageViewSized()) {
+            action.run();
+        } else {
+            OneShotPreDrawListener.add(binding.imageView, action);
+        }
+    }
 
-            // Set the image and timestamp
-            binding.imageView.setImageBitmap(BitmapFactory.decodeResource(getResources(), imageId));
-            binding.photoTime.setText("Time: " + timestamp);
+    private static int toProgress(TimeLapseViewModel.Frame frame) {
+        long span = frame.getLastTimestamp() - frame.getFirstTimestamp();
+        if (span <= 0) {
+            return 0;
         }
+        return (int) ((frame.getTimestamp() - frame.getFirstTimestamp()) * SEEK_BAR_STEPS / span);
+    }
+
+    private static long toTimestamp(TimeLapseViewModel.Frame frame, int progress) {
+        long span = frame.getLastTimestamp() - frame.getFirstTimestamp();
+        return frame.getFirstTimestamp() + span * progress / SEEK_BAR_STEPS;
+    }
+
+    /**
+     * Pictures of every known posture, for prefetching.
+     */
+    private static List<Integer> postureImageIds() {
+        return Arrays.asList(
+                new StandingPosture().getPictureCode(),
+                new SittingPosture().getPictureCode(),
+                new WalkingPosture().getPictureCode(),
+                new FallingPosture().getPictureCode(),
+                new UnusedFootwearPosture().getPictureCode(),
+                new UnknownPosture().getPictureCode());
     }
 
     private void startTimeLapse() {
@@ -252,6 +294,9 @@ public class TimeLapseActivity extends AppCompatActivity {
             Toast.makeText(this, "Time-lapse already running", Toast.LENGTH_SHORT).show();
             return;
         }
+        if (showImageRunnable == null) {
+            return; // Nothing loaded yet
+        }
 
         isRunning = true;
         binding.startButton.setEnabled(false); // Disable start button when running
@@ -268,7 +313,15 @@ public class TimeLapseActivity extends AppCompatActivity {
 
         // Stop the time-lapse
         handler.removeCallbacks(showImageRunnable);
-        currentIndex = 0; // Reset to the first image
+        if (currentFrame != null) {
+            viewModel.seekTo(currentFrame.getFirstTimestamp()); // Reset to the first frame
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        handler.removeCallbacks(showImageRunnable);
+        super.onDestroy();
     }
 
     /**
@@ -22,31 +22,25 @@ import androidx.core.app.ServiceCompat;
 import com.melisa.innovamotionapp.R;
 import com.melisa.innovamotionapp.activities.AggregatorMenuActivity;
 import com.melisa.innovamotionapp.data.database.InnovaDatabase;
-import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
-import com.melisa.innovamotionapp.data.posture.Posture;
-import com.melisa.innovamotionapp.data.posture.PostureFactory;
+import com.melisa.innovamotionapp.metrics.LatencyTracer;
+import com.melisa.innovamotionapp.metrics.Metrics;
 import com.melisa.innovamotionapp.sync.FirestoreSyncService;
 import com.melisa.innovamotionapp.sync.UserSession;
-import com.melisa.innovamotionapp.utils.AlertNotifications;
 import com.melisa.innovamotionapp.utils.Constants;
 import com.melisa.innovamotionapp.utils.GlobalData;
+import com.melisa.innovamotionapp.utils.Logger;
 import com.melisa.innovamotionapp.utils.NotificationConfig;
-import com.melisa.innovamotionapp.utils.PersonNameManager;
 
 import java.io.File;
 import java.util.List;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 
 public class DeviceCommunicationService extends Service {
     private FileOutputStream fileOutputStream;
 
 
-    /**
-     * @noinspection BusyWait
-     */
     @Override
     public void onCreate() {
         super.onCreate();
@@ -57,52 +51,36 @@ public class DeviceCommunicationService extends Service {
         // Initialize Firestore sync service and user session
         firestoreSyncService = FirestoreSyncService.getInstance(this);
         userSession = UserSession.getInstance(this);
-        personNameManager = PersonNameManager.getInstance(this);
-
-        // Start thread that will save receivedData on each second
-        // Start the batch-saving thread
-        new Thread(() -> {
-            while (isBatchSavingRunning) {
-                try {
-                    // Wait for 5 seconds
-                    Thread.sleep(Constants.COUNTDOWN_TIMER_IN_MILLISECONDS_FOR_MESSAGE_SAVE);
-
-                    // Copy and clear the list in a thread-safe manner
-                    List<ReceivedBtDataEntity> currentBatch;
-                    synchronized (lock) {
-                        currentBatch = new ArrayList<>(temporaryReceivedBtDataListToSave);
-                        temporaryReceivedBtDataListToSave.clear();
-                    }
 
-                    // Save the batch to the database
-                    if (!currentBatch.isEmpty()) {
-                        database.receivedBtDataDao().insertAll(currentBatch);
-                        
-                        // Sync entire batch to Firestore in a single network call (if aggregator and online)
-                        // This is more efficient than individual writes - single round-trip per batch
-                        firestoreSyncService.syncPacketBatch(currentBatch, new FirestoreSyncService.SyncCallback() {
-                            @Override
-                            public void onSuccess(String message) {
-                                Log.d(TAG, "Batch synced: " + message);
-                            }
-
-                            @Override
-                            public void onError(String error) {
-                                Log.w(TAG, "Batch sync error: " + error);
-                            }
-
-                            @Override
-                            public void onProgress(int current, int total) {
-                                Log.d(TAG, "Batch sync progress: " + current + "/" + total);
-                            }
-                        });
-                    }
-                } catch (InterruptedException e) {
-                    Thread.currentThread().interrupt(); // Restore interrupted status
-                    break;
+        // Batch writer: saves received readings every COUNTDOWN_TIMER_IN_MILLISECONDS_FOR_MESSAGE_SAVE
+        batchWriter = new ReadingBatchWriter(batch -> {
+            long insertStart = System.nanoTime();
+            database.receivedBtDataDao().insertAll(batch);
+            Metrics.ROOM_INSERT_LATENCY.recordSince(insertStart);
+            LatencyTracer.onRoomCommitted(batch, System.currentTimeMillis());
+
+            // Sync entire batch to Firestore in a single network call (if aggregator and online)
+            // This is more efficient than individual writes - single round-trip per batch
+            firestoreSyncService.syncPacketBatch(batch, new FirestoreSyncService.SyncCallback() {
+                @Override
+                public void onSuccess(String message) {
+                    Log.d(TAG, "Batch synced: " + message);
+                }
+
+                @Override
+                public void onError(String error) {
+                    Log.w(TAG, "Batch sync error: " + error);
+                }
+
+                @Override
+                public void onProgress(int current, int total) {
+                    Log.d(TAG, "Batch sync progress: " + current + "/" + total);
                 }
-            }
-        }).start();
+            });
+        }, Constants.COUNTDOWN_TIMER_IN_MILLISECONDS_FOR_MESSAGE_SAVE);
+        batchWriter.start();
+
+        packetIngestor = new PacketIngestor(this, batchWriter);
     }
 
     @Override
@@ -119,17 +97,13 @@ public class DeviceCommunicationService extends Service {
 
     // Database operations
     private InnovaDatabase database;
-    private final List<ReceivedBtDataEntity> temporaryReceivedBtDataListToSave = new ArrayList<>();
-    private final Object lock = new Object(); // For thread-safe access to the list
-    private volatile boolean isBatchSavingRunning = true; // Flag to stop the batch-saving thread
+    private ReadingBatchWriter batchWriter;
+    private PacketIngestor packetIngestor;
     
     // Firestore sync service and user session
     private FirestoreSyncService firestoreSyncService;
     private UserSession userSession;
     
-    // Person name manager (sensor ID to display name mapping)
-    private PersonNameManager personNameManager;
-    
     // Multi-user protocol parser
     private final PacketParser packetParser = new PacketParser();
 
@@ -212,7 +186,7 @@ public class DeviceCommunicationService extends Service {
 
                 @Override
                 public void onDataReceived(BluetoothDevice device, String receivedData) {
-                    Log.d(TAG, "[Service] MSG: " + receivedData);
+                    Logger.d(Logger.Subsystem.BLUETOOTH, TAG, "[Service] MSG: {}", receivedData);
 
                     try {
                         fileOutputStream.write((receivedData + "\n").getBytes());
@@ -246,43 +220,8 @@ public class DeviceCommunicationService extends Service {
                         return;
                     }
 
-                    // Process each reading from the packet
-                    for (ParsedReading reading : readings) {
-                        final ReceivedBtDataEntity entity = new ReceivedBtDataEntity(
-                                device.getAddress(),
-                                reading.getReceivedTimestamp(),
-                                reading.getHexCode(),
-                                ownerUid,
-                                reading.getSensorId()
-                        );
-
-                        // Register sensor if new (async, creates with sensorId as default name)
-                        personNameManager.ensureSensorExists(reading.getSensorId());
-
-                        // Enqueue for local persistence (batch thread will insertAll with IGNORE)
-                        synchronized (lock) {
-                            temporaryReceivedBtDataListToSave.add(entity);
-                        }
-
-                        // Keep existing LiveData/UI updates (use the last reading's posture)
-                        Posture posture = PostureFactory.createPosture(reading.getHexCode());
-                        GlobalData.getInstance().setReceivedPosture(posture);
-
-                        // Notify fall locally (aggregator device)
-                        if (posture instanceof com.melisa.innovamotionapp.data.posture.types.FallingPosture) {
-                            // Get display name asynchronously and show notification
-                            final String sensorId = reading.getSensorId();
-                            personNameManager.getDisplayNameAsync(sensorId, personName -> {
-                                AlertNotifications.notifyFall(
-                                        DeviceCommunicationService.this,
-                                        personName,
-                                        getString(R.string.notif_fall_text_generic)
-                                );
-                            });
-                        }
-                    }
-                    
-                    Log.d(TAG, "[Service] Processed packet with " + readings.size() + " readings");
+                    // Process each reading from the packet (persist, register sensor, live UI, fall alert)
+                    packetIngestor.ingest(device.getAddress(), ownerUid, readings);
                 }
 
                 @Override
@@ -313,13 +252,13 @@ public class DeviceCommunicationService extends Service {
                     if (attemptToReconnectCounter >= MAX_NUM_CONNECTING_CONSECUTIVE_ATTEMPTS) {
                         // Max reconnection attempts reached - stop current service
                         Log.w(TAG, "Max reconnection attempts reached, stopping service");
-                        GlobalData.getInstance().deviceCommunicationManager.stopService();
+                        GlobalData.getInstance().getDeviceCommunicationManager().stopService();
                         ServiceCompat.stopForeground(DeviceCommunicationService.this, ServiceCompat.STOP_FOREGROUND_REMOVE);
                         stopSelf();
                     } else {
                         attemptToReconnectCounter += 1;
                         Log.i(TAG, "Attempting to reconnect, attempt " + attemptToReconnectCounter);
-                        BluetoothDevice deviceToConnect = GlobalData.getInstance().deviceCommunicationManager.getDeviceToConnect();
+                        BluetoothDevice deviceToConnect = GlobalData.getInstance().getDeviceCommunicationManager().getDeviceToConnect();
                         connectToDevice(deviceToConnect);
                     }
 
@@ -381,7 +320,7 @@ public class DeviceCommunicationService extends Service {
     public void onDestroy() {
         super.onDestroy();
 
-        isBatchSavingRunning = false; // Signal the batch-saving thread to stop
+        batchWriter.stop(); // Final flush, then stop the batch-saving thread
         
         // Note: Do NOT cleanup firestoreSyncService or userSession here - they are shared
         // singletons that should outlive this service. Cleanup happens during app termination
@@ -5,6 +5,9 @@ import android.bluetooth.BluetoothDevice;
 import android.bluetooth.BluetoothSocket;
 import android.util.Log;
 
+import com.melisa.innovamotionapp.metrics.Metrics;
+import com.melisa.innovamotionapp.utils.Logger;
+
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.BufferedReader;
@@ -110,16 +113,20 @@ public class DeviceCommunicationThread extends Thread {
                 receivedLine = bufferedReader.readLine();
 
                 if (receivedLine != null) {
+                    long handleStart = System.nanoTime();
+                    Metrics.BT_LINES.increment();
                     // Implement the character limit check here
                     if (receivedLine.length() > MAX_CHARS_PER_LINE) {
+                        Metrics.BT_LINES_TRUNCATED.increment();
                         Log.w(TAG, "Received line exceeded max length (" + MAX_CHARS_PER_LINE + " chars). Original length: " + receivedLine.length() + ". Truncating data.");
                         // Truncate the string to the maximum allowed length.
                         // The truncated part is lost, but prevents oversized strings.
                         receivedLine = receivedLine.substring(0, MAX_CHARS_PER_LINE);
                     }
 
-                    Log.d(TAG, "[Thread] Received MSG: \"" + receivedLine + "\"");
+                    Logger.d(Logger.Subsystem.BLUETOOTH, TAG, "[Thread] Received MSG: \"{}\"", receivedLine);
                     callback.onDataReceived(device, receivedLine);
+                    Metrics.BT_LINE_HANDLING.recordSince(handleStart);
                 } else {
                     // readLine() returns null if the stream is closed gracefully
                     Log.i(TAG, "Input stream closed gracefully by remote device or system.");
@@ -0,0 +1,171 @@
+package com.melisa.innovamotionapp.bluetooth;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.melisa.innovamotionapp.R;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.data.posture.Posture;
+import com.melisa.innovamotionapp.data.posture.PostureFactory;
+import com.melisa.innovamotionapp.data.posture.types.FallingPosture;
+import com.melisa.innovamotionapp.metrics.LatencyTracer;
+import com.melisa.innovamotionapp.sync.FallAlertService;
+import com.melisa.innovamotionapp.utils.AlertNotifications;
+import com.melisa.innovamotionapp.utils.LiveSensorStateStore;
+import com.melisa.innovamotionapp.utils.Logger;
+import com.melisa.innovamotionapp.utils.PersonNameManager;
+
+import java.util.List;
+
+/**
+ * Per-packet ingest step shared by DeviceCommunicationService and the streaming load scenario.
+ *
+ * For every reading of a completed packet:
+ * 1. Build the Room entity (owner + device + sensor)
+ * 2. Register the sensor if it is new
+ * 3. Enqueue it on the {@link ReadingBatchWriter}
+ * 4. Publish the posture for live UI and raise a local fall notification
+ * 5. Offer it to the {@link FallAlertService} (one alerts document per fall episode)
+ *
+ * Steps 2, 4 and 5 go through {@link ReadingEffects}; the app singletons by default, a fake in
+ * headless load runs and unit tests so they exercise this exact path without Android services.
+ */
+public class PacketIngestor {
+
+    private static final String TAG = "PacketIngestor";
+
+    /**
+     * Per-reading side effects besides persistence.
+     */
+    public interface ReadingEffects {
+        /** Register the sensor if it is new */
+        void ensureSensorExists(@NonNull String sensorId);
+
+        /** Publish the posture for live UI */
+        void publishPosture(@NonNull String sensorId, @NonNull Posture posture, long timestamp, long packetAt);
+
+        /** Offer the reading to the fall alerts channel */
+        void offerAlert(@NonNull String sensorId, @NonNull String deviceAddress, @NonNull String ownerUid,
+                        @NonNull String hexCode, long timestamp, boolean fall);
+
+        /** Show the local fall notification */
+        void notifyFall(@NonNull String sensorId);
+    }
+
+    private final ReadingBatchWriter batchWriter;
+    private final ReadingEffects effects;
+
+    // Load tests inject hundreds of falls; they can turn notifications and alerts off
+    private volatile boolean fallNotificationsEnabled = true;
+    private volatile boolean fallAlertsEnabled = true;
+
+    public PacketIngestor(@NonNull Context context, @NonNull ReadingBatchWriter batchWriter) {
+        this(batchWriter, new AppReadingEffects(context.getApplicationContext()));
+    }
+
+    /**
+     * Headless load runs and tests: persistence through the writer, side effects to {@code effects}.
+     */
+    public PacketIngestor(@NonNull ReadingBatchWriter batchWriter, @NonNull ReadingEffects effects) {
+        this.batchWriter = batchWriter;
+        this.effects = effects;
+    }
+
+    public void setFallNotificationsEnabled(boolean enabled) {
+        this.fallNotificationsEnabled = enabled;
+    }
+
+    public void setFallAlertsEnabled(boolean enabled) {
+        this.fallAlertsEnabled = enabled;
+    }
+
+    /**
+     * Ingest all readings of a completed packet.
+     *
+     * @param deviceAddress Address of the aggregator hardware the packet came from
+     * @param ownerUid      UID of the signed-in aggregator
+     * @param readings      Readings returned by {@link PacketParser#feedLine}
+     */
+    public void ingest(@NonNull String deviceAddress, @NonNull String ownerUid, @NonNull List<ParsedReading> readings) {
+        long packetAt = System.currentTimeMillis();
+        for (ParsedReading reading : readings) {
+            final ReceivedBtDataEntity entity = new ReceivedBtDataEntity(
+                    deviceAddress,
+                    reading.getReceivedTimestamp(),
+                    reading.getHexCode(),
+                    ownerUid,
+                    reading.getSensorId()
+            );
+            entity.setTrace(LatencyTracer.onPacketComplete(reading.getReceivedTimestamp(), packetAt));
+
+            // Register sensor if new
+            effects.ensureSensorExists(reading.getSensorId());
+
+            // Enqueue for local persistence (batch thread will insertAll with IGNORE)
+            batchWriter.enqueue(entity);
+
+            // Per-sensor live state (UI notifications coalesced to UI_UPDATE_MAX_FPS, falls immediate)
+            Posture posture = PostureFactory.createPosture(reading.getHexCode());
+            effects.publishPosture(reading.getSensorId(), posture, reading.getReceivedTimestamp(), packetAt);
+
+            // Fall alert for supervisors, once per episode
+            if (fallAlertsEnabled) {
+                effects.offerAlert(reading.getSensorId(), deviceAddress, ownerUid, reading.getHexCode(),
+                        reading.getReceivedTimestamp(), posture instanceof FallingPosture);
+            }
+
+            // Notify fall locally (aggregator device)
+            if (posture instanceof FallingPosture && fallNotificationsEnabled) {
+                effects.notifyFall(reading.getSensorId());
+            }
+        }
+
+        Logger.d(Logger.Subsystem.BLUETOOTH, TAG, "Processed packet with {} readings", readings.size());
+    }
+
+    /**
+     * Production effects: sensor registry, live state store, alerts channel and notifications.
+     */
+    private static final class AppReadingEffects implements ReadingEffects {
+        private final Context context;
+        private final PersonNameManager personNameManager;
+        private final FallAlertService fallAlertService;
+
+        AppReadingEffects(@NonNull Context context) {
+            this.context = context;
+            this.personNameManager = PersonNameManager.getInstance(context);
+            this.fallAlertService = FallAlertService.getInstance(context);
+        }
+
+        @Override
+        public void ensureSensorExists(@NonNull String sensorId) {
+            // Async, creates with sensorId as default name
+            personNameManager.ensureSensorExists(sensorId);
+        }
+
+        @Override
+        public void publishPosture(@NonNull String sensorId, @NonNull Posture posture, long timestamp, long packetAt) {
+            LiveSensorStateStore.getInstance().update(sensorId, posture, timestamp, packetAt);
+        }
+
+        @Override
+        public void offerAlert(@NonNull String sensorId, @NonNull String deviceAddress, @NonNull String ownerUid,
+                               @NonNull String hexCode, long timestamp, boolean fall) {
+            fallAlertService.onReading(sensorId, deviceAddress, ownerUid, hexCode, timestamp, fall);
+        }
+
+        @Override
+        public void notifyFall(@NonNull String sensorId) {
+            // Get display name asynchronously and show notification
+            personNameManager.getDisplayNameAsync(sensorId, personName -> {
+                AlertNotifications.notifyFall(
+                        context,
+                        personName,
+                        context.getString(R.string.notif_fall_text_generic)
+                );
+            });
+        }
+    }
+}
@@ -5,7 +5,9 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.melisa.innovamotionapp.metrics.Metrics;
 import com.melisa.innovamotionapp.utils.Constants;
+import com.melisa.innovamotionapp.utils.Logger;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -86,13 +88,15 @@ public class PacketParser {
         if (Constants.PACKET_TERMINATOR.equals(trimmedLine)) {
             List<ParsedReading> result = new ArrayList<>(buffer);
             buffer.clear();
-            Log.d(TAG, "Packet complete with " + result.size() + " readings");
+            Metrics.PARSER_PACKETS.increment();
+            Metrics.PARSER_PACKET_SIZE.record(result.size());
+            Logger.d(Logger.Subsystem.PARSER, TAG, "Packet complete with {} readings", result.size());
             return result;
         }
         
         // Skip empty lines
         if (trimmedLine.isEmpty()) {
-            Log.v(TAG, "Skipping empty line");
+            Logger.v(Logger.Subsystem.PARSER, TAG, "Skipping empty line");
             return null;
         }
         
@@ -100,6 +104,7 @@ public class PacketParser {
         if (buffer.size() >= maxBufferSize) {
             Log.w(TAG, "Buffer overflow protection: clearing " + buffer.size() + 
                     " readings (max: " + maxBufferSize + "). Possible missing END_PACKET.");
+            Metrics.PARSER_OVERFLOWS.increment();
             buffer.clear();
         }
         
@@ -107,7 +112,9 @@ public class PacketParser {
         ParsedReading reading = parseLine(trimmedLine);
         if (reading != null) {
             buffer.add(reading);
-            Log.v(TAG, "Buffered reading: " + reading.getSensorId() + " -> " + reading.getHexCode());
+            Logger.v(Logger.Subsystem.PARSER, TAG, "Buffered reading: {} -> {}", reading.getSensorId(), reading.getHexCode());
+        } else {
+            Metrics.PARSER_MALFORMED.increment();
         }
         
         return null;
@@ -0,0 +1,225 @@
+package com.melisa.innovamotionapp.bluetooth;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.metrics.Metrics;
+import com.melisa.innovamotionapp.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffers parsed readings and writes them in batches on a dedicated thread.
+ *
+ * Extracted from DeviceCommunicationService so the same batching path can be driven by the
+ * Bluetooth service and by the streaming load scenario (MockDataGenerator / tests).
+ *
+ * Every flush interval the pending readings are swapped out under the lock and handed to the
+ * {@link BatchSink} (Room insertAll + Firestore batch sync in production). Stopping the writer
+ * performs a final flush so readings received just before shutdown are not lost.
+ *
+ * A batch whose write throws goes back to the front of the queue and is retried with the next
+ * flush (the Room insert uses IGNORE, so a partially applied batch is safe to write again). While
+ * writes keep failing the queue is capped at maxPendingReadings; the oldest readings beyond it
+ * are dropped and counted in {@link Metrics#BATCH_READINGS_DROPPED}.
+ */
+public class ReadingBatchWriter {
+
+    private static final String TAG = "ReadingBatchWriter";
+
+    /**
+     * Destination for a flushed batch. Called on the writer thread (or the caller of {@link #flush()}).
+     */
+    public interface BatchSink {
+        void write(@NonNull List<ReceivedBtDataEntity> batch);
+    }
+
+    /**
+     * Observes completed flushes (used for load-test statistics).
+     */
+    public interface FlushListener {
+        /**
+         * @param batchSize            Number of readings written
+         * @param writeDurationNanos   Time spent inside {@link BatchSink#write}
+         * @param oldestReadingTimestamp Timestamp of the oldest reading in the batch (epoch ms)
+         * @param committedAt          Wall clock time after the write finished (epoch ms)
+         */
+        void onBatchFlushed(int batchSize, long writeDurationNanos, long oldestReadingTimestamp, long committedAt);
+    }
+
+    private final BatchSink sink;
+    private final long flushIntervalMs;
+    private final int maxPendingReadings;
+
+    private final List<ReceivedBtDataEntity> pending = new ArrayList<>();
+    private final Object lock = new Object();
+    private final Object flushLock = new Object();
+
+    @Nullable
+    private volatile FlushListener flushListener;
+    private volatile boolean running = false;
+    @Nullable
+    private Thread thread;
+
+    /**
+     * @param sink            Where batches are written
+     * @param flushIntervalMs Delay between flushes (Constants.COUNTDOWN_TIMER_IN_MILLISECONDS_FOR_MESSAGE_SAVE in production)
+     */
+    public ReadingBatchWriter(@NonNull BatchSink sink, long flushIntervalMs) {
+        this(sink, flushIntervalMs, Constants.BATCH_WRITER_MAX_PENDING_READINGS);
+    }
+
+    /**
+     * @param maxPendingReadings Readings kept for retry while writes fail
+     */
+    public ReadingBatchWriter(@NonNull BatchSink sink, long flushIntervalMs, int maxPendingReadings) {
+        if (maxPendingReadings <= 0) {
+            throw new IllegalArgumentException("maxPendingReadings must be > 0");
+        }
+        this.sink = sink;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxPendingReadings = maxPendingReadings;
+    }
+
+    public void setFlushListener(@Nullable FlushListener listener) {
+        this.flushListener = listener;
+    }
+
+    /**
+     * Start the background flush thread. No-op if already running.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(() -> {
+            while (running) {
+                try {
+                    Thread.sleep(flushIntervalMs);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt(); // Restore interrupted status
+                    break;
+                }
+                flush();
+            }
+            // Drain whatever arrived after the last tick
+            flush();
+        }, TAG);
+        thread.start();
+    }
+
+    /**
+     * Stop the flush thread after a final flush. Safe to call more than once.
+     */
+    public synchronized void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    /**
+     * Stop and wait for the final flush to complete.
+     *
+     * @param timeoutMs Maximum time to wait for the writer thread
+     */
+    public void stopAndAwait(long timeoutMs) throws InterruptedException {
+        Thread current;
+        synchronized (this) {
+            current = thread;
+        }
+        stop();
+        if (current != null) {
+            current.join(timeoutMs);
+        }
+    }
+
+    /**
+     * Queue a reading for the next batch. Thread-safe.
+     */
+    public void enqueue(@NonNull ReceivedBtDataEntity entity) {
+        synchronized (lock) {
+            pending.add(entity);
+        }
+    }
+
+    /**
+     * @return Number of readings waiting for the next flush
+     */
+    public int getQueueDepth() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    /**
+     * Write all pending readings now. Flushes are serialized so batches are committed in order.
+     * If the write throws, the batch is re-queued ahead of newer readings and 0 is returned.
+     *
+     * @return Number of readings written
+     */
+    public int flush() {
+        synchronized (flushLock) {
+            // Copy and clear the list in a thread-safe manner
+            List<ReceivedBtDataEntity> batch;
+            synchronized (lock) {
+                Metrics.BATCH_QUEUE_DEPTH.set(pending.size());
+                if (pending.isEmpty()) {
+                    return 0;
+                }
+                batch = new ArrayList<>(pending);
+                pending.clear();
+            }
+
+            long oldest = Long.MAX_VALUE;
+            for (ReceivedBtDataEntity entity : batch) {
+                oldest = Math.min(oldest, entity.getTimestamp());
+            }
+
+            long start = System.nanoTime();
+            try {
+                sink.write(batch);
+            } catch (RuntimeException e) {
+                Metrics.BATCH_FLUSH_FAILURES.increment();
+                int dropped = requeue(batch);
+                Log.e(TAG, "Batch write failed (" + batch.size() + " readings), re-queued"
+                        + (dropped > 0 ? ", dropped " + dropped + " oldest" : ""), e);
+                return 0;
+            }
+            long duration = System.nanoTime() - start;
+            Metrics.BATCH_FLUSH_SIZE.record(batch.size());
+            Metrics.BATCH_FLUSH_LATENCY.record(duration);
+
+            FlushListener listener = flushListener;
+            if (listener != null) {
+                listener.onBatchFlushed(batch.size(), duration, oldest, System.currentTimeMillis());
+            }
+            return batch.size();
+        }
+    }
+
+    /**
+     * Put a failed batch back in front of the readings queued meanwhile, then trim the oldest
+     * readings beyond maxPendingReadings.
+     *
+     * @return Number of readings dropped
+     */
+    private int requeue(@NonNull List<ReceivedBtDataEntity> batch) {
+        synchronized (lock) {
+            pending.addAll(0, batch);
+            int overflow = pending.size() - maxPendingReadings;
+            if (overflow <= 0) {
+                return 0;
+            }
+            pending.subList(0, overflow).clear();
+            Metrics.BATCH_READINGS_DROPPED.add(overflow);
+            return overflow;
+        }
+    }
+}
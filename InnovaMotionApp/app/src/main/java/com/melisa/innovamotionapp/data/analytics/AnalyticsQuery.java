@@ -0,0 +1,103 @@
+package com.melisa.innovamotionapp.data.analytics;
+
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+
+/**
+ * Cache key of {@link AnalyticsRepository}: whose history (a sensor or an owner user) and which
+ * time range. The whole history uses the open range [Long.MIN_VALUE, Long.MAX_VALUE].
+ */
+public final class AnalyticsQuery {
+
+    private final boolean sensorScope;
+    private final String id;
+    private final long start;
+    private final long end;
+
+    private AnalyticsQuery(boolean sensorScope, @NonNull String id, long start, long end) {
+        this.sensorScope = sensorScope;
+        this.id = id;
+        this.start = start;
+        this.end = end;
+    }
+
+    /**
+     * Whole history of one sensor (monitored person).
+     */
+    @NonNull
+    public static AnalyticsQuery forSensor(@NonNull String sensorId) {
+        return new AnalyticsQuery(true, sensorId, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * History of one sensor within [start, end] (inclusive, epoch ms).
+     */
+    @NonNull
+    public static AnalyticsQuery forSensor(@NonNull String sensorId, long start, long end) {
+        return new AnalyticsQuery(true, sensorId, start, end);
+    }
+
+    /**
+     * Whole history uploaded by one owner user.
+     */
+    @NonNull
+    public static AnalyticsQuery forUser(@NonNull String userId) {
+        return new AnalyticsQuery(false, userId, Long.MIN_VALUE, Long.MAX_VALUE);
+    }
+
+    /**
+     * History of one owner user within [start, end] (inclusive, epoch ms).
+     */
+    @NonNull
+    public static AnalyticsQuery forUser(@NonNull String userId, long start, long end) {
+        return new AnalyticsQuery(false, userId, start, end);
+    }
+
+    public boolean isSensorScope() {
+        return sensorScope;
+    }
+
+    /**
+     * @return Sensor ID or owner user ID, depending on {@link #isSensorScope()}
+     */
+    @NonNull
+    public String getId() {
+        return id;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    /**
+     * @return true if this is the whole history rather than a date range
+     */
+    public boolean isAllTime() {
+        return start == Long.MIN_VALUE && end == Long.MAX_VALUE;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AnalyticsQuery)) return false;
+        AnalyticsQuery that = (AnalyticsQuery) o;
+        return sensorScope == that.sensorScope && start == that.start && end == that.end && id.equals(that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(sensorScope, id, start, end);
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return (sensorScope ? "sensor=" : "user=") + id
+                + (isAllTime() ? "" : " range=[" + start + "," + end + "]");
+    }
+}
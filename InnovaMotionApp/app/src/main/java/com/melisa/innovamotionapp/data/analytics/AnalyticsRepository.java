@@ -0,0 +1,280 @@
+package com.melisa.innovamotionapp.data.analytics;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+import androidx.lifecycle.LiveData;
+import androidx.room.InvalidationTracker;
+
+import com.melisa.innovamotionapp.data.database.InnovaDatabase;
+import com.melisa.innovamotionapp.data.database.PostureRollupDao;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.utils.BoundedLruMap;
+import com.melisa.innovamotionapp.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Shared source of posture history for the Statistics, Energy and TimeLapse screens.
+ *
+ * Each {@link AnalyticsQuery} (sensor or owner, whole history or date range) maps to one cached
+ * LiveData of a decoded {@link AnalyticsSnapshot}, so moving between the three screens for the
+ * same person, or re-picking the same date range, reuses the loaded rows instead of querying
+ * and decoding the whole history again. At most {@link Constants#ANALYTICS_CACHE_MAX_ENTRIES}
+ * results are kept (least recently used evicted first).
+ *
+ * The Statistics and Energy screens only need time per posture, so {@link #getDistribution}
+ * caches the aggregated {@link PostureDistribution} separately from the row snapshots.
+ *
+ * Invalidation: a Room InvalidationTracker observer on received_bt_data bumps a data version.
+ * Results that are currently observed reload right away; the others reload when next observed.
+ * Loads run on a single background executor and are coalesced per query.
+ */
+public class AnalyticsRepository {
+    private static final String TAG = "AnalyticsRepository";
+
+    private static volatile AnalyticsRepository instance;
+
+    private final ReceivedBtDataDao dao;
+    private final PostureRollupDao rollupDao;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final BoundedLruMap<AnalyticsQuery, CachedQuery<AnalyticsSnapshot>> cache =
+            new BoundedLruMap<>(Constants.ANALYTICS_CACHE_MAX_ENTRIES);
+    private final BoundedLruMap<AnalyticsQuery, CachedQuery<PostureDistribution>> distributionCache =
+            new BoundedLruMap<>(Constants.ANALYTICS_CACHE_MAX_ENTRIES);
+    private final Set<CachedQuery<?>> activeQueries = ConcurrentHashMap.newKeySet();
+    private final AtomicLong dataVersion = new AtomicLong(0);
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private final AtomicLong loadCount = new AtomicLong(0);
+
+    private AnalyticsRepository(Context context) {
+        InnovaDatabase database = InnovaDatabase.getInstance(context.getApplicationContext());
+        this.dao = database.receivedBtDataDao();
+        this.rollupDao = database.postureRollupDao();
+
+        database.getInvalidationTracker().addObserver(new InvalidationTracker.Observer("received_bt_data", "posture_rollups") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidate();
+            }
+        });
+    }
+
+    /**
+     * Get the singleton instance.
+     */
+    public static AnalyticsRepository getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AnalyticsRepository.class) {
+                if (instance == null) {
+                    instance = new AnalyticsRepository(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    @WorkerThread
+    private List<ReceivedBtDataEntity> loadRows(AnalyticsQuery query) {
+        List<ReceivedBtDataEntity> rows;
+        if (query.isSensorScope()) {
+            rows = query.isAllTime()
+                    ? dao.getAllForSensorSync(query.getId())
+                    : dao.getRangeForSensorSync(query.getId(), query.getStart(), query.getEnd());
+        } else {
+            rows = query.isAllTime()
+                    ? dao.getAllForUserSync(query.getId())
+                    : dao.getRangeForUserSync(query.getId(), query.getStart(), query.getEnd());
+        }
+        return rows != null ? rows : new ArrayList<>();
+    }
+
+    /**
+     * Time per posture: aggregated in SQL for one sensor, streamed through
+     * {@link PostureDurationEngine} for an owner's interleaved sensors. Readings already rolled
+     * up by the retention job are added from posture_rollups (at bucket granularity).
+     */
+    @WorkerThread
+    private PostureDistribution loadDistribution(AnalyticsQuery query) {
+        List<ReceivedBtDataDao.PostureBucket> buckets = new ArrayList<>();
+        List<ReceivedBtDataDao.PostureBucket> rolledUp;
+        if (query.isSensorScope()) {
+            List<ReceivedBtDataDao.PostureBucket> raw = dao.getPostureBucketsForSensorSync(
+                    query.getId(), query.getStart(), query.getEnd(), Constants.POSTURE_SEGMENT_MAX_GAP_MS);
+            if (raw != null) {
+                buckets.addAll(raw);
+            }
+            rolledUp = rollupDao.getBucketsForSensorSync(query.getId(), query.getStart(), query.getEnd());
+        } else {
+            PostureDurationEngine engine = new PostureDurationEngine(Constants.POSTURE_SEGMENT_MAX_GAP_MS);
+            try (Cursor cursor = dao.streamReadingsForUserSync(query.getId(), query.getStart(), query.getEnd())) {
+                engine.acceptAll(cursor);
+            }
+            buckets.addAll(engine.getBuckets());
+            rolledUp = rollupDao.getBucketsForUserSync(query.getId(), query.getStart(), query.getEnd());
+        }
+        if (rolledUp != null) {
+            buckets.addAll(rolledUp);
+        }
+        return PostureDistribution.fromBuckets(query, buckets);
+    }
+
+    /**
+     * Decoded history for a query. Repeated calls with an equal query return the same LiveData
+     * while it is cached, so observers can be removed and re-added reliably.
+     */
+    @NonNull
+    public LiveData<AnalyticsSnapshot> get(@NonNull AnalyticsQuery query) {
+        synchronized (cache) {
+            CachedQuery<AnalyticsSnapshot> cached = cache.get(query);
+            if (cached != null) {
+                hitCount++;
+                return cached;
+            }
+            missCount++;
+            cached = new CachedQuery<AnalyticsSnapshot>(query) {
+                @Override
+                AnalyticsSnapshot compute() {
+                    return AnalyticsSnapshot.decode(query, loadRows(query));
+                }
+
+                @Override
+                int rowCount(AnalyticsSnapshot snapshot) {
+                    return snapshot.size();
+                }
+            };
+            cache.put(query, cached);
+            return cached;
+        }
+    }
+
+    /**
+     * Posture totals for a query, aggregated in SQL. Repeated calls with an equal query return
+     * the same LiveData while it is cached.
+     */
+    @NonNull
+    public LiveData<PostureDistribution> getDistribution(@NonNull AnalyticsQuery query) {
+        synchronized (cache) {
+            CachedQuery<PostureDistribution> cached = distributionCache.get(query);
+            if (cached != null) {
+                hitCount++;
+                return cached;
+            }
+            missCount++;
+            cached = new CachedQuery<PostureDistribution>(query) {
+                @Override
+                PostureDistribution compute() {
+                    return loadDistribution(query);
+                }
+
+                @Override
+                int rowCount(PostureDistribution distribution) {
+                    return distribution.getTotalCount();
+                }
+            };
+            distributionCache.put(query, cached);
+            return cached;
+        }
+    }
+
+    /**
+     * Mark every result out of date (new rows, deletes, account switch).
+     */
+    public void invalidate() {
+        dataVersion.incrementAndGet();
+        for (CachedQuery<?> query : activeQueries) {
+            query.load();
+        }
+    }
+
+    /**
+     * Drop all cached results (observers keep their current LiveData).
+     */
+    public void clear() {
+        synchronized (cache) {
+            cache.clear();
+            distributionCache.clear();
+        }
+        invalidate();
+    }
+
+    /**
+     * Hit / miss / eviction / load counters for logs and the developer panel.
+     */
+    @NonNull
+    public String getStatsSummary() {
+        synchronized (cache) {
+            return String.format(Locale.US,
+                    "cached %d/%d, distributions %d/%d, hits %d, misses %d, evictions %d, loads %d",
+                    cache.size(), cache.getMaxEntries(), distributionCache.size(),
+                    distributionCache.getMaxEntries(), hitCount, missCount,
+                    cache.getEvictionCount() + distributionCache.getEvictionCount(), loadCount.get());
+        }
+    }
+
+    /**
+     * LiveData of one query; loads on first observation and reloads when the data version moved.
+     */
+    private abstract class CachedQuery<T> extends LiveData<T> {
+        final AnalyticsQuery query;
+        private final AtomicBoolean loadScheduled = new AtomicBoolean(false);
+        private volatile long loadedVersion = -1;
+
+        CachedQuery(AnalyticsQuery query) {
+            this.query = query;
+        }
+
+        @Override
+        protected void onActive() {
+            activeQueries.add(this);
+            if (loadedVersion != dataVersion.get()) {
+                load();
+            }
+        }
+
+        @Override
+        protected void onInactive() {
+            activeQueries.remove(this);
+        }
+
+        @WorkerThread
+        abstract T compute();
+
+        abstract int rowCount(T result);
+
+        void load() {
+            if (!loadScheduled.compareAndSet(false, true)) {
+                return; // the queued load will see the latest version
+            }
+            executor.execute(() -> {
+                loadScheduled.set(false);
+                long version = dataVersion.get();
+                if (version == loadedVersion) {
+                    return;
+                }
+                long startNanos = System.nanoTime();
+                T result = compute();
+                loadedVersion = version;
+                loadCount.incrementAndGet();
+                postValue(result);
+                Log.d(TAG, "Loaded " + result.getClass().getSimpleName() + " " + query + ": "
+                        + rowCount(result) + " rows in "
+                        + (System.nanoTime() - startNanos) / 1_000_000 + "ms");
+            });
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.melisa.innovamotionapp.data.analytics;
+
+import androidx.annotation.NonNull;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.data.posture.Posture;
+import com.melisa.innovamotionapp.data.posture.PostureFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One loaded history: the rows (timestamp ascending) and their decoded postures, index-aligned.
+ *
+ * Decoding happens once on the repository's executor, so Statistics, Energy and TimeLapse no
+ * longer each run PostureFactory over the same rows on the main thread. Immutable and shared
+ * between screens.
+ */
+public final class AnalyticsSnapshot {
+
+    private final AnalyticsQuery query;
+    private final List<ReceivedBtDataEntity> entities;
+    private final List<Posture> postures;
+
+    AnalyticsSnapshot(@NonNull AnalyticsQuery query, @NonNull List<ReceivedBtDataEntity> entities,
+                      @NonNull List<Posture> postures) {
+        this.query = query;
+        this.entities = Collections.unmodifiableList(entities);
+        this.postures = Collections.unmodifiableList(postures);
+    }
+
+    /**
+     * Decode rows into a snapshot.
+     */
+    @NonNull
+    public static AnalyticsSnapshot decode(@NonNull AnalyticsQuery query, @NonNull List<ReceivedBtDataEntity> rows) {
+        List<Posture> postures = new ArrayList<>(rows.size());
+        for (ReceivedBtDataEntity row : rows) {
+            postures.add(PostureFactory.createPosture(row.getReceivedMsg()));
+        }
+        return new AnalyticsSnapshot(query, new ArrayList<>(rows), postures);
+    }
+
+    @NonNull
+    public AnalyticsQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * @return Rows ordered by timestamp ascending
+     */
+    @NonNull
+    public List<ReceivedBtDataEntity> getEntities() {
+        return entities;
+    }
+
+    /**
+     * @return Decoded posture of each row (same index as {@link #getEntities()})
+     */
+    @NonNull
+    public List<Posture> getPostures() {
+        return postures;
+    }
+
+    public boolean isEmpty() {
+        return entities.isEmpty();
+    }
+
+    public int size() {
+        return entities.size();
+    }
+
+    /**
+     * @return Timestamp of the first row (caller checks {@link #isEmpty()})
+     */
+    public long getFirstTimestamp() {
+        return entities.get(0).getTimestamp();
+    }
+
+    /**
+     * @return Timestamp of the last row (caller checks {@link #isEmpty()})
+     */
+    public long getLastTimestamp() {
+        return entities.get(entities.size() - 1).getTimestamp();
+    }
+}
@@ -0,0 +1,188 @@
+package com.melisa.innovamotionapp.data.analytics;
+
+import androidx.annotation.NonNull;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
+import com.melisa.innovamotionapp.data.posture.Posture;
+import com.melisa.innovamotionapp.data.posture.PostureFactory;
+import com.melisa.innovamotionapp.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * How a history splits across posture types, built from the handful of rows returned by the
+ * posture bucket queries or {@link PostureDurationEngine} rather than from every reading.
+ *
+ * Codes that decode to the same posture (case variants, unrecognised codes all becoming
+ * UnknownPosture) are merged into one {@link Share}. Immutable and shared between observers.
+ */
+public final class PostureDistribution {
+
+    private final AnalyticsQuery query;
+    private final List<Share> shares;
+    private final int totalCount;
+    private final long totalDurationMs;
+    private final long firstTimestamp;
+    private final long lastTimestamp;
+
+    private PostureDistribution(@NonNull AnalyticsQuery query, @NonNull List<Share> shares,
+                                int totalCount, long totalDurationMs, long firstTimestamp, long lastTimestamp) {
+        this.query = query;
+        this.shares = Collections.unmodifiableList(shares);
+        this.totalCount = totalCount;
+        this.totalDurationMs = totalDurationMs;
+        this.firstTimestamp = firstTimestamp;
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    /**
+     * Merge posture buckets into one share per posture type (in order of first appearance).
+     */
+    @NonNull
+    public static PostureDistribution fromBuckets(@NonNull AnalyticsQuery query,
+                                                  @NonNull List<ReceivedBtDataDao.PostureBucket> buckets) {
+        Map<Class<?>, Share> byType = new LinkedHashMap<>();
+        int totalCount = 0;
+        long totalDurationMs = 0;
+        long first = Long.MAX_VALUE;
+        long last = Long.MIN_VALUE;
+
+        for (ReceivedBtDataDao.PostureBucket bucket : buckets) {
+            if (bucket.count <= 0) {
+                continue;
+            }
+            Posture posture = PostureFactory.createPosture(bucket.code);
+            Share share = byType.get(posture.getClass());
+            if (share == null) {
+                share = new Share(posture);
+                byType.put(posture.getClass(), share);
+            }
+            share.count += bucket.count;
+            share.durationMs += bucket.durationMs;
+
+            totalCount += bucket.count;
+            totalDurationMs += bucket.durationMs;
+            first = Math.min(first, bucket.firstTimestamp);
+            last = Math.max(last, bucket.lastTimestamp);
+        }
+
+        List<Share> shares = new ArrayList<>(byType.values());
+        for (Share share : shares) {
+            share.fraction = totalDurationMs > 0
+                    ? (double) share.durationMs / totalDurationMs
+                    : (double) share.count / totalCount;
+        }
+        return new PostureDistribution(query, shares, totalCount, totalDurationMs,
+                totalCount > 0 ? first : 0, totalCount > 0 ? last : 0);
+    }
+
+    @NonNull
+    public AnalyticsQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * @return One entry per posture type present in the history
+     */
+    @NonNull
+    public List<Share> getShares() {
+        return shares;
+    }
+
+    public boolean isEmpty() {
+        return totalCount == 0;
+    }
+
+    /**
+     * @return Number of readings in the history
+     */
+    public int getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return Time covered by the readings, excluding gaps longer than the cap used by the query
+     */
+    public long getTotalDurationMs() {
+        return totalDurationMs;
+    }
+
+    /**
+     * @return Calories over the history, from the time spent in each posture
+     */
+    public double getTotalCalories() {
+        double total = 0;
+        for (Share share : shares) {
+            total += share.getCalories();
+        }
+        return total;
+    }
+
+    /**
+     * @return Timestamp of the first reading (0 if empty)
+     */
+    public long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    /**
+     * @return Timestamp of the last reading (0 if empty)
+     */
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * One posture type's part of the history.
+     */
+    public static final class Share {
+        private final Posture posture;
+        private int count;
+        private long durationMs;
+        private double fraction;
+
+        Share(@NonNull Posture posture) {
+            this.posture = posture;
+        }
+
+        /**
+         * @return A posture of this type (for its label, picture and text)
+         */
+        @NonNull
+        public Posture getPosture() {
+            return posture;
+        }
+
+        @NonNull
+        public String getLabel() {
+            return posture.getClass().getSimpleName();
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public long getDurationMs() {
+            return durationMs;
+        }
+
+        /**
+         * @return Calories spent in this posture: its per-minute rate times the time spent in it
+         */
+        public double getCalories() {
+            return (double) durationMs * posture.getCalories() / Constants.CALORIE_RATE_PERIOD_MS;
+        }
+
+        /**
+         * @return Share of the total time in [0, 1]; share of the reading count when no
+         *         durations are known (e.g. a single reading)
+         */
+        public double getFraction() {
+            return fraction;
+        }
+    }
+}
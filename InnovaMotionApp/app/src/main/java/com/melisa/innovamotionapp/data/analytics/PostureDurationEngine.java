@@ -0,0 +1,132 @@
+package com.melisa.innovamotionapp.data.analytics;
+
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming time-per-posture computation over readings ordered by timestamp.
+ *
+ * Each reading counts as the time until the same sensor's next reading, cut to {@code maxGapMs}
+ * so a sensor that was off or reconnecting does not stretch its last posture over the gap. The
+ * last reading of each sensor counts 0. Readings of several sensors may be interleaved (an owner's
+ * history ordered by timestamp); only the previous reading per sensor is kept, so memory does not
+ * grow with the number of rows. Same rules as the posture bucket queries in ReceivedBtDataDao.
+ *
+ * Not thread-safe; feed it from one worker thread.
+ */
+public final class PostureDurationEngine {
+
+    private final long maxGapMs;
+    private final Map<String, Previous> previousBySensor = new HashMap<>();
+    private final Map<String, ReceivedBtDataDao.PostureBucket> bucketsByCode = new LinkedHashMap<>();
+    private long readingCount = 0;
+
+    /**
+     * @param maxGapMs Longest gap counted between two readings of a sensor
+     *                 (Constants.POSTURE_SEGMENT_MAX_GAP_MS in production)
+     */
+    public PostureDurationEngine(long maxGapMs) {
+        if (maxGapMs < 0) {
+            throw new IllegalArgumentException("maxGapMs must be >= 0");
+        }
+        this.maxGapMs = maxGapMs;
+    }
+
+    /**
+     * Add one reading. Readings must arrive in timestamp order per sensor; an out-of-order
+     * reading adds no time to the previous one.
+     */
+    public void accept(@Nullable String sensorId, long timestamp, @Nullable String code) {
+        ReceivedBtDataDao.PostureBucket bucket = bucketFor(code);
+        if (bucket.count == 0) {
+            bucket.firstTimestamp = timestamp;
+            bucket.lastTimestamp = timestamp;
+        } else {
+            bucket.firstTimestamp = Math.min(bucket.firstTimestamp, timestamp);
+            bucket.lastTimestamp = Math.max(bucket.lastTimestamp, timestamp);
+        }
+        bucket.count++;
+        readingCount++;
+
+        String key = sensorId != null ? sensorId : "";
+        Previous previous = previousBySensor.get(key);
+        if (previous == null) {
+            previousBySensor.put(key, new Previous(timestamp, bucket));
+            return;
+        }
+        long gap = timestamp - previous.timestamp;
+        if (gap > 0) {
+            previous.bucket.durationMs += Math.min(gap, maxGapMs);
+        }
+        previous.timestamp = timestamp;
+        previous.bucket = bucket;
+    }
+
+    /**
+     * Feed every row of a cursor with sensor_id, timestamp and received_msg columns, ordered by
+     * timestamp. The cursor is not closed.
+     */
+    public void acceptAll(@NonNull Cursor cursor) {
+        int sensorColumn = cursor.getColumnIndexOrThrow("sensor_id");
+        int timestampColumn = cursor.getColumnIndexOrThrow("timestamp");
+        int codeColumn = cursor.getColumnIndexOrThrow("received_msg");
+        while (cursor.moveToNext()) {
+            accept(cursor.getString(sensorColumn), cursor.getLong(timestampColumn), cursor.getString(codeColumn));
+        }
+    }
+
+    /**
+     * @return Totals per posture code seen so far (codes differing only in case share a bucket)
+     */
+    @NonNull
+    public List<ReceivedBtDataDao.PostureBucket> getBuckets() {
+        return new ArrayList<>(bucketsByCode.values());
+    }
+
+    /**
+     * @return Totals seen so far merged per posture type
+     */
+    @NonNull
+    public PostureDistribution toDistribution(@NonNull AnalyticsQuery query) {
+        return PostureDistribution.fromBuckets(query, getBuckets());
+    }
+
+    public long getReadingCount() {
+        return readingCount;
+    }
+
+    private ReceivedBtDataDao.PostureBucket bucketFor(@Nullable String code) {
+        String key = code != null ? code.toLowerCase(Locale.ROOT) : "";
+        ReceivedBtDataDao.PostureBucket bucket = bucketsByCode.get(key);
+        if (bucket == null) {
+            bucket = new ReceivedBtDataDao.PostureBucket();
+            bucket.code = code;
+            bucketsByCode.put(key, bucket);
+        }
+        return bucket;
+    }
+
+    /**
+     * Last reading of one sensor, still waiting for its duration.
+     */
+    private static final class Previous {
+        long timestamp;
+        ReceivedBtDataDao.PostureBucket bucket;
+
+        Previous(long timestamp, ReceivedBtDataDao.PostureBucket bucket) {
+            this.timestamp = timestamp;
+            this.bucket = bucket;
+        }
+    }
+}
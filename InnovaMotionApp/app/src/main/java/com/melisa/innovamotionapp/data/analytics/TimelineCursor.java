@@ -0,0 +1,175 @@
+package com.melisa.innovamotionapp.data.analytics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Position in a time-lapse history that pages readings lazily instead of loading them all.
+ *
+ * Only one page of readings (oldest first) is held at a time. Pages are fetched with the same
+ * (timestamp, id) keyset as the message log, so {@link #seek} to any time is an index lookup
+ * (O(log n)) and stepping forward fetches the next page when the current one runs out. With
+ * {@code changesOnly}, {@link #next} skips readings whose posture code equals the one shown.
+ *
+ * Not thread-safe and does Room I/O: use it from one worker thread.
+ */
+public final class TimelineCursor {
+
+    /**
+     * Where readings come from (one sensor or one owner user).
+     */
+    public interface FrameSource {
+        /**
+         * Up to {@code limit} readings strictly after the (timestamp, id) cursor, oldest first.
+         */
+        @NonNull
+        List<ReceivedBtDataEntity> pageAfter(long timestamp, long id, int limit);
+
+        /**
+         * @return The newest reading, or null if there is none
+         */
+        @Nullable
+        ReceivedBtDataEntity latest();
+    }
+
+    private final FrameSource source;
+    private final int pageSize;
+
+    private List<ReceivedBtDataEntity> page = new ArrayList<>();
+    private int index = -1;
+    private boolean exhausted = false;
+    private long firstTimestamp = 0;
+    private long lastTimestamp = 0;
+    private boolean empty = true;
+    private long pageLoads = 0;
+
+    public TimelineCursor(@NonNull FrameSource source, int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be >= 1");
+        }
+        this.source = source;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * Read the time bounds and position on the first reading.
+     *
+     * @return The first reading, or null if the history is empty
+     */
+    @Nullable
+    public ReceivedBtDataEntity open() {
+        ReceivedBtDataEntity latest = source.latest();
+        if (latest == null) {
+            empty = true;
+            page = new ArrayList<>();
+            index = -1;
+            return null;
+        }
+        empty = false;
+        lastTimestamp = latest.getTimestamp();
+        ReceivedBtDataEntity first = seek(Long.MIN_VALUE);
+        firstTimestamp = first != null ? first.getTimestamp() : lastTimestamp;
+        return first;
+    }
+
+    /**
+     * Position on the first reading at or after {@code timestamp}; past the end, on the newest one.
+     *
+     * @return The reading now current, or null if the history is empty
+     */
+    @Nullable
+    public ReceivedBtDataEntity seek(long timestamp) {
+        loadPage(timestamp, Long.MIN_VALUE);
+        if (page.isEmpty() && !empty) {
+            loadPage(lastTimestamp, Long.MIN_VALUE);
+        }
+        index = page.isEmpty() ? -1 : 0;
+        return current();
+    }
+
+    /**
+     * Advance to the next reading, or with {@code changesOnly} to the next reading whose posture
+     * code differs from the current one.
+     *
+     * @return The new current reading, or null at the end (the position stays on the last reading)
+     */
+    @Nullable
+    public ReceivedBtDataEntity next(boolean changesOnly) {
+        ReceivedBtDataEntity from = current();
+        if (from == null) {
+            return null;
+        }
+        while (true) {
+            if (index + 1 >= page.size()) {
+                if (exhausted) {
+                    return null;
+                }
+                ReceivedBtDataEntity last = page.get(page.size() - 1);
+                List<ReceivedBtDataEntity> previousPage = page;
+                loadPage(last.getTimestamp(), last.getId());
+                if (page.isEmpty()) {
+                    // Keep the last reading current
+                    page = previousPage;
+                    index = previousPage.size() - 1;
+                    exhausted = true;
+                    return null;
+                }
+                index = 0;
+            } else {
+                index++;
+            }
+            ReceivedBtDataEntity candidate = page.get(index);
+            if (!changesOnly || !sameCode(from, candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    @Nullable
+    public ReceivedBtDataEntity current() {
+        return index >= 0 && index < page.size() ? page.get(index) : null;
+    }
+
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /**
+     * @return Timestamp of the first reading (0 if empty)
+     */
+    public long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    /**
+     * @return Timestamp of the newest reading when opened (0 if empty)
+     */
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    /**
+     * @return Number of pages fetched so far (for logs and tests)
+     */
+    public long getPageLoads() {
+        return pageLoads;
+    }
+
+    private void loadPage(long timestamp, long id) {
+        List<ReceivedBtDataEntity> rows = source.pageAfter(timestamp, id, pageSize);
+        pageLoads++;
+        page = rows;
+        exhausted = rows.size() < pageSize;
+    }
+
+    private static boolean sameCode(ReceivedBtDataEntity a, ReceivedBtDataEntity b) {
+        String codeA = a.getReceivedMsg();
+        String codeB = b.getReceivedMsg();
+        return codeA == null ? codeB == null : codeA.equalsIgnoreCase(codeB);
+    }
+}
@@ -0,0 +1,61 @@
+package com.melisa.innovamotionapp.data.database;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * DAO for local fall alerts (see {@link AlertEntity}).
+ */
+@Dao
+public interface AlertDao {
+
+    /**
+     * Insert an alert raised on this device; an existing row (and its ack state) is kept.
+     *
+     * @return Row ID, or -1 if the alert already existed
+     */
+    @Insert(onConflict = OnConflictStrategy.IGNORE)
+    long insertIfAbsent(AlertEntity alert);
+
+    /**
+     * Insert or replace alerts by ID (Firestore is the source of truth for ack state).
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertAll(List<AlertEntity> alerts);
+
+    @Query("SELECT alert_id FROM alerts WHERE alert_id IN (:alertIds)")
+    List<String> getExistingIds(List<String> alertIds);
+
+    // ======== Reads ========
+
+    /**
+     * Alerts since a time, newest first (LiveData for the alerts list).
+     */
+    @Query("SELECT * FROM alerts WHERE timestamp >= :since ORDER BY timestamp DESC")
+    LiveData<List<AlertEntity>> getSinceLive(long since);
+
+    @Query("SELECT COUNT(*) FROM alerts WHERE acknowledged = 0")
+    LiveData<Integer> getUnacknowledgedCountLive();
+
+    @Query("SELECT * FROM alerts WHERE acknowledged = 0 ORDER BY timestamp DESC")
+    List<AlertEntity> getUnacknowledgedSync();
+
+    // ======== Acknowledgement ========
+
+    @Query("UPDATE alerts SET acknowledged = 1, acknowledged_by = :acknowledgedBy, acknowledged_at = :acknowledgedAt " +
+           "WHERE alert_id = :alertId AND acknowledged = 0")
+    int markAcknowledged(String alertId, String acknowledgedBy, long acknowledgedAt);
+
+    // ======== Maintenance ========
+
+    @Query("DELETE FROM alerts WHERE timestamp < :cutoff")
+    int deleteOlderThan(long cutoff);
+
+    @Query("DELETE FROM alerts")
+    int clearAll();
+}
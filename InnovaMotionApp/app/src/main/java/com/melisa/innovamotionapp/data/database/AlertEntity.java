@@ -0,0 +1,152 @@
+package com.melisa.innovamotionapp.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Local copy of a document of the Firestore 'alerts' collection (one fall episode), keyed by the
+ * same document ID ({sensorId}_{timestamp}).
+ *
+ * The aggregator inserts its own alerts as it raises them; a supervisor's FallAlertService
+ * listener upserts the alerts of its assigned sensors, including acknowledgements made on other
+ * devices.
+ */
+@Entity(
+    tableName = "alerts",
+    indices = {
+        // Recent alerts, newest first
+        @Index(value = {"timestamp"}),
+        // Unacknowledged badge and list
+        @Index(value = {"acknowledged", "timestamp"}),
+        @Index(value = {"sensor_id", "timestamp"})
+    }
+)
+public class AlertEntity {
+
+    /**
+     * Firestore document ID: {sensorId}_{timestamp}.
+     */
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "alert_id")
+    private String alertId;
+
+    @NonNull
+    @ColumnInfo(name = "sensor_id")
+    private String sensorId;
+
+    /**
+     * UID of the aggregator that raised the alert.
+     */
+    @NonNull
+    @ColumnInfo(name = "owner_user_id")
+    private String ownerUserId;
+
+    @Nullable
+    @ColumnInfo(name = "device_address")
+    private String deviceAddress;
+
+    @NonNull
+    @ColumnInfo(name = "type")
+    private String type;
+
+    @Nullable
+    @ColumnInfo(name = "received_msg")
+    private String receivedMsg;
+
+    /**
+     * Timestamp of the reading that started the episode.
+     */
+    @ColumnInfo(name = "timestamp")
+    private long timestamp;
+
+    @ColumnInfo(name = "acknowledged")
+    private boolean acknowledged;
+
+    @Nullable
+    @ColumnInfo(name = "acknowledged_by")
+    private String acknowledgedBy;
+
+    @ColumnInfo(name = "acknowledged_at")
+    private long acknowledgedAt;
+
+    /**
+     * Primary constructor for Room.
+     */
+    public AlertEntity(@NonNull String alertId, @NonNull String sensorId, @NonNull String ownerUserId,
+                       @Nullable String deviceAddress, @NonNull String type, @Nullable String receivedMsg,
+                       long timestamp, boolean acknowledged, @Nullable String acknowledgedBy, long acknowledgedAt) {
+        this.alertId = alertId;
+        this.sensorId = sensorId;
+        this.ownerUserId = ownerUserId;
+        this.deviceAddress = deviceAddress;
+        this.type = type;
+        this.receivedMsg = receivedMsg;
+        this.timestamp = timestamp;
+        this.acknowledged = acknowledged;
+        this.acknowledgedBy = acknowledgedBy;
+        this.acknowledgedAt = acknowledgedAt;
+    }
+
+    // ========== Getters ==========
+
+    @NonNull
+    public String getAlertId() {
+        return alertId;
+    }
+
+    @NonNull
+    public String getSensorId() {
+        return sensorId;
+    }
+
+    @NonNull
+    public String getOwnerUserId() {
+        return ownerUserId;
+    }
+
+    @Nullable
+    public String getDeviceAddress() {
+        return deviceAddress;
+    }
+
+    @NonNull
+    public String getType() {
+        return type;
+    }
+
+    @Nullable
+    public String getReceivedMsg() {
+        return receivedMsg;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isAcknowledged() {
+        return acknowledged;
+    }
+
+    @Nullable
+    public String getAcknowledgedBy() {
+        return acknowledgedBy;
+    }
+
+    public long getAcknowledgedAt() {
+        return acknowledgedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "AlertEntity{" +
+                "sensorId='" + sensorId + '\'' +
+                ", timestamp=" + timestamp +
+                ", acknowledged=" + acknowledged +
+                '}';
+    }
+}
@@ -0,0 +1,102 @@
+package com.melisa.innovamotionapp.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Local copy of a document of the Firestore 'assignments' collection (supervisor-sensor link),
+ * keyed by the same document ID ({supervisorUid}_{sensorId}).
+ *
+ * Kept fresh by AssignmentCache: a snapshot listener applies added, modified and removed
+ * documents as they change, and a one-shot query refills a stale scope. Screens and session
+ * loads read assignments from here instead of querying Firestore each time.
+ */
+@Entity(
+    tableName = "cached_assignments",
+    indices = {
+        // Supervisor scope: sensors assigned to one supervisor (session load)
+        @Index(value = {"supervisor_uid"}),
+        // Aggregator scope: assignments an aggregator created (sensor settings screen)
+        @Index(value = {"assigned_by"}),
+        @Index(value = {"sensor_id"})
+    }
+)
+public class CachedAssignment {
+
+    /**
+     * Firestore document ID: {supervisorUid}_{sensorId}.
+     */
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "doc_id")
+    private String docId;
+
+    @NonNull
+    @ColumnInfo(name = "supervisor_uid")
+    private String supervisorUid;
+
+    @NonNull
+    @ColumnInfo(name = "sensor_id")
+    private String sensorId;
+
+    /**
+     * UID of the aggregator who created the assignment (null on legacy documents).
+     */
+    @Nullable
+    @ColumnInfo(name = "assigned_by")
+    private String assignedBy;
+
+    @ColumnInfo(name = "assigned_at")
+    private long assignedAt;
+
+    /**
+     * Primary constructor for Room.
+     */
+    public CachedAssignment(@NonNull String docId, @NonNull String supervisorUid, @NonNull String sensorId,
+                            @Nullable String assignedBy, long assignedAt) {
+        this.docId = docId;
+        this.supervisorUid = supervisorUid;
+        this.sensorId = sensorId;
+        this.assignedBy = assignedBy;
+        this.assignedAt = assignedAt;
+    }
+
+    // ========== Getters ==========
+
+    @NonNull
+    public String getDocId() {
+        return docId;
+    }
+
+    @NonNull
+    public String getSupervisorUid() {
+        return supervisorUid;
+    }
+
+    @NonNull
+    public String getSensorId() {
+        return sensorId;
+    }
+
+    @Nullable
+    public String getAssignedBy() {
+        return assignedBy;
+    }
+
+    public long getAssignedAt() {
+        return assignedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "CachedAssignment{" +
+                "supervisorUid='" + supervisorUid + '\'' +
+                ", sensorId='" + sensorId + '\'' +
+                ", assignedBy='" + assignedBy + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,55 @@
+package com.melisa.innovamotionapp.data.database;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * DAO for the local assignment cache (see {@link CachedAssignment}).
+ */
+@Dao
+public interface CachedAssignmentDao {
+
+    /**
+     * Insert or replace assignments by document ID.
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertAll(List<CachedAssignment> assignments);
+
+    @Query("DELETE FROM cached_assignments WHERE doc_id IN (:docIds)")
+    int deleteByDocIds(List<String> docIds);
+
+    // ======== Supervisor scope ========
+
+    @Query("SELECT * FROM cached_assignments WHERE supervisor_uid = :supervisorUid ORDER BY sensor_id")
+    List<CachedAssignment> getForSupervisorSync(String supervisorUid);
+
+    @Query("DELETE FROM cached_assignments WHERE supervisor_uid = :supervisorUid")
+    int deleteForSupervisor(String supervisorUid);
+
+    // ======== Aggregator scope ========
+
+    @Query("SELECT * FROM cached_assignments WHERE assigned_by = :aggregatorUid ORDER BY sensor_id")
+    List<CachedAssignment> getForAggregatorSync(String aggregatorUid);
+
+    /**
+     * Assignments created by an aggregator (LiveData for the sensor settings screen).
+     */
+    @Query("SELECT * FROM cached_assignments WHERE assigned_by = :aggregatorUid ORDER BY sensor_id")
+    LiveData<List<CachedAssignment>> getForAggregatorLive(String aggregatorUid);
+
+    @Query("DELETE FROM cached_assignments WHERE assigned_by = :aggregatorUid")
+    int deleteForAggregator(String aggregatorUid);
+
+    // ======== Maintenance ========
+
+    @Query("DELETE FROM cached_assignments WHERE sensor_id = :sensorId")
+    int deleteForSensor(String sensorId);
+
+    @Query("DELETE FROM cached_assignments")
+    int clearAll();
+}
@@ -0,0 +1,99 @@
+package com.melisa.innovamotionapp.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Cached uid -> email / display name of another user (supervisors shown on the sensor settings
+ * screen), so assignment lists render without one 'users/{uid}' read per supervisor.
+ *
+ * Filled from user documents fetched by uid, from supervisor searches and from the supervisor
+ * listener; entries older than the directory TTL are fetched again when needed. Supervisors
+ * also feed the email autocomplete.
+ */
+@Entity(
+    tableName = "user_directory",
+    indices = {
+        @Index(value = {"email"}),
+        @Index(value = {"is_supervisor"})
+    }
+)
+public class DirectoryUser {
+
+    @PrimaryKey
+    @NonNull
+    @ColumnInfo(name = "uid")
+    private String uid;
+
+    /**
+     * Email as stored on the user profile (null if the profile has none).
+     */
+    @Nullable
+    @ColumnInfo(name = "email")
+    private String email;
+
+    @Nullable
+    @ColumnInfo(name = "display_name")
+    private String displayName;
+
+    /**
+     * When this entry was read from Firestore (epoch millis).
+     */
+    @ColumnInfo(name = "fetched_at")
+    private long fetchedAt;
+
+    /**
+     * Whether the user has the supervisor role (offered by the email autocomplete).
+     */
+    @ColumnInfo(name = "is_supervisor", defaultValue = "0")
+    private boolean supervisor;
+
+    /**
+     * Primary constructor for Room.
+     */
+    public DirectoryUser(@NonNull String uid, @Nullable String email, @Nullable String displayName, long fetchedAt,
+                         boolean supervisor) {
+        this.uid = uid;
+        this.email = email;
+        this.displayName = displayName;
+        this.fetchedAt = fetchedAt;
+        this.supervisor = supervisor;
+    }
+
+    // ========== Getters ==========
+
+    @NonNull
+    public String getUid() {
+        return uid;
+    }
+
+    @Nullable
+    public String getEmail() {
+        return email;
+    }
+
+    @Nullable
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    public long getFetchedAt() {
+        return fetchedAt;
+    }
+
+    public boolean isSupervisor() {
+        return supervisor;
+    }
+
+    @Override
+    public String toString() {
+        return "DirectoryUser{" +
+                "uid='" + uid + '\'' +
+                ", email='" + email + '\'' +
+                '}';
+    }
+}
@@ -0,0 +1,45 @@
+package com.melisa.innovamotionapp.data.database;
+
+import androidx.lifecycle.LiveData;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+/**
+ * DAO for the cached user directory (see {@link DirectoryUser}).
+ */
+@Dao
+public interface DirectoryUserDao {
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void upsertAll(List<DirectoryUser> users);
+
+    @Query("SELECT * FROM user_directory WHERE uid IN (:uids)")
+    List<DirectoryUser> getByUidsSync(List<String> uids);
+
+    /**
+     * Entries for the given users (LiveData, so resolved emails show up as they arrive).
+     */
+    @Query("SELECT * FROM user_directory WHERE uid IN (:uids)")
+    LiveData<List<DirectoryUser>> getByUidsLive(List<String> uids);
+
+    // ======== Supervisors ========
+
+    /**
+     * Supervisors with an email, for the autocomplete index.
+     */
+    @Query("SELECT * FROM user_directory WHERE is_supervisor = 1 AND email IS NOT NULL")
+    List<DirectoryUser> getSupervisorsSync();
+
+    /**
+     * Drop the supervisor flag from users that are no longer supervisors (full refresh).
+     */
+    @Query("UPDATE user_directory SET is_supervisor = 0 WHERE is_supervisor = 1 AND uid NOT IN (:supervisorUids)")
+    int clearSupervisorFlagExcept(List<String> supervisorUids);
+
+    @Query("DELETE FROM user_directory")
+    int clearAll();
+}
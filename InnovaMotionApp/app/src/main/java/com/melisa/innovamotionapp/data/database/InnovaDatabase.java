@@ -1,17 +1,27 @@
 package com.melisa.innovamotionapp.data.database;
 
 import android.content.Context;
+import android.content.pm.ApplicationInfo;
 
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.migration.Migration;
 import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.framework.FrameworkSQLiteOpenHelperFactory;
 
-@Database(entities = {ReceivedBtDataEntity.class, MonitoredPerson.class}, version = 4)
+import com.melisa.innovamotionapp.data.database.profiling.ProfilingOpenHelperFactory;
+import com.melisa.innovamotionapp.data.database.profiling.QueryProfiler;
+import com.melisa.innovamotionapp.metrics.StartupTracer;
+
+@Database(entities = {ReceivedBtDataEntity.class, MonitoredPerson.class, PostureRollup.class,
+        CachedAssignment.class, DirectoryUser.class, AlertEntity.class}, version = 9)
 public abstract class InnovaDatabase extends RoomDatabase {
     private static InnovaDatabase instance;
     
+    /** File name of the Room database (also used to measure its size on disk) */
+    public static final String DATABASE_NAME = "my_database";
+    
     // Migration from version 1 to 2 - adds unique index
     static final Migration MIGRATION_1_2 = new Migration(1, 2) {
         @Override
@@ -22,20 +32,115 @@ public abstract class InnovaDatabase extends RoomDatabase {
         }
     };
 
+    // Migration from version 4 to 5 - keyset paging indexes for the message log
+    static final Migration MIGRATION_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            // (sensor_id, timestamp) serves filtered pages and replaces the (sensor_id) index
+            database.execSQL("DROP INDEX IF EXISTS index_received_bt_data_sensor_id");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_received_bt_data_sensor_id_timestamp " +
+                    "ON received_bt_data (sensor_id, timestamp)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS index_received_bt_data_timestamp " +
+                    "ON received_bt_data (timestamp)");
+        }
+    };
+
+    // Migration from version 5 to 6 - downsampled history written by the retention job
+    static final Migration MIGRATION_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `posture_rollups` (" +
+                    "`id` INTEGER PRIMARY KEY AUTOINCREMENT NOT NULL, `owner_user_id` TEXT NOT NULL, " +
+                    "`sensor_id` TEXT NOT NULL, `bucket_start` INTEGER NOT NULL, `received_msg` TEXT NOT NULL, " +
+                    "`reading_count` INTEGER NOT NULL, `duration_ms` INTEGER NOT NULL, " +
+                    "`first_timestamp` INTEGER NOT NULL, `last_timestamp` INTEGER NOT NULL)");
+            database.execSQL("CREATE UNIQUE INDEX IF NOT EXISTS " +
+                    "`index_posture_rollups_owner_user_id_sensor_id_bucket_start_received_msg` " +
+                    "ON `posture_rollups` (`owner_user_id`, `sensor_id`, `bucket_start`, `received_msg`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_posture_rollups_sensor_id_bucket_start` " +
+                    "ON `posture_rollups` (`sensor_id`, `bucket_start`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_posture_rollups_owner_user_id_bucket_start` " +
+                    "ON `posture_rollups` (`owner_user_id`, `bucket_start`)");
+        }
+    };
+
+    // Migration from version 6 to 7 - local assignment cache and user directory
+    static final Migration MIGRATION_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `cached_assignments` (" +
+                    "`doc_id` TEXT NOT NULL, `supervisor_uid` TEXT NOT NULL, `sensor_id` TEXT NOT NULL, " +
+                    "`assigned_by` TEXT, `assigned_at` INTEGER NOT NULL, PRIMARY KEY(`doc_id`))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_cached_assignments_supervisor_uid` " +
+                    "ON `cached_assignments` (`supervisor_uid`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_cached_assignments_assigned_by` " +
+                    "ON `cached_assignments` (`assigned_by`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_cached_assignments_sensor_id` " +
+                    "ON `cached_assignments` (`sensor_id`)");
+            database.execSQL("CREATE TABLE IF NOT EXISTS `user_directory` (" +
+                    "`uid` TEXT NOT NULL, `email` TEXT, `display_name` TEXT, `fetched_at` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`uid`))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_user_directory_email` ON `user_directory` (`email`)");
+        }
+    };
+
+    // Migration from version 7 to 8 - supervisor flag on the user directory (email autocomplete)
+    static final Migration MIGRATION_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `user_directory` ADD COLUMN `is_supervisor` INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_user_directory_is_supervisor` " +
+                    "ON `user_directory` (`is_supervisor`)");
+        }
+    };
+
+    // Migration from version 8 to 9 - local fall alerts with acknowledgement state
+    static final Migration MIGRATION_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `alerts` (" +
+                    "`alert_id` TEXT NOT NULL, `sensor_id` TEXT NOT NULL, `owner_user_id` TEXT NOT NULL, " +
+                    "`device_address` TEXT, `type` TEXT NOT NULL, `received_msg` TEXT, `timestamp` INTEGER NOT NULL, " +
+                    "`acknowledged` INTEGER NOT NULL, `acknowledged_by` TEXT, `acknowledged_at` INTEGER NOT NULL, " +
+                    "PRIMARY KEY(`alert_id`))");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_alerts_timestamp` ON `alerts` (`timestamp`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_alerts_acknowledged_timestamp` " +
+                    "ON `alerts` (`acknowledged`, `timestamp`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_alerts_sensor_id_timestamp` " +
+                    "ON `alerts` (`sensor_id`, `timestamp`)");
+        }
+    };
+
     public abstract ReceivedBtDataDao receivedBtDataDao();
     
     public abstract MonitoredPersonDao monitoredPersonDao();
+    
+    public abstract PostureRollupDao postureRollupDao();
+    
+    public abstract CachedAssignmentDao cachedAssignmentDao();
+    
+    public abstract DirectoryUserDao directoryUserDao();
+    
+    public abstract AlertDao alertDao();
 
     public static synchronized InnovaDatabase getInstance(Context context) {
         if (instance == null) {
-            instance = Room.databaseBuilder(context.getApplicationContext(),
-                    InnovaDatabase.class, "my_database")
-                    .addMigrations(MIGRATION_1_2)
-                    .fallbackToDestructiveMigration() // Fallback for development
-                    .build();
+            long start = StartupTracer.getInstance().begin();
+            RoomDatabase.Builder<InnovaDatabase> builder = Room.databaseBuilder(context.getApplicationContext(),
+                    InnovaDatabase.class, DATABASE_NAME)
+                    .addMigrations(MIGRATION_1_2, MIGRATION_4_5, MIGRATION_5_6, MIGRATION_6_7, MIGRATION_7_8, MIGRATION_8_9)
+                    .fallbackToDestructiveMigration(); // Fallback for development
+            
+            // Per-statement query profile for the developer panel (debuggable builds only)
+            if ((context.getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0) {
+                builder.openHelperFactory(new ProfilingOpenHelperFactory(
+                        new FrameworkSQLiteOpenHelperFactory(), QueryProfiler.getInstance()));
+            }
+            instance = builder.build();
+            StartupTracer.getInstance().endInit("InnovaDatabase", start);
             
             // One-liner DB path log (once)
-            android.util.Log.i("DB", "Path=" + context.getDatabasePath("my_database").getAbsolutePath());
+            android.util.Log.i("DB", "Path=" + context.getDatabasePath(DATABASE_NAME).getAbsolutePath());
         }
         return instance;
     }
@@ -0,0 +1,185 @@
+package com.melisa.innovamotionapp.data.database;
+
+import androidx.annotation.NonNull;
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Entity holding downsampled posture history: per owner, sensor, time bucket and posture code,
+ * how many readings there were and how long the sensor spent in that posture.
+ *
+ * Written by the retention job for readings older than the raw retention window, which are then
+ * deleted from received_bt_data. The statistics screens add these rows to the raw totals.
+ * Durations follow the same rules as PostureDurationEngine (until the sensor's next reading,
+ * capped) and are credited to the bucket of the reading that starts the segment.
+ */
+@Entity(
+    tableName = "posture_rollups",
+    indices = {
+        // One row per owner, sensor, bucket and code; the retention job merges into it
+        @Index(value = {"owner_user_id", "sensor_id", "bucket_start", "received_msg"}, unique = true),
+        // Query optimization indexes
+        @Index(value = {"sensor_id", "bucket_start"}),
+        @Index(value = {"owner_user_id", "bucket_start"})
+    }
+)
+public class PostureRollup {
+
+    @PrimaryKey(autoGenerate = true)
+    @ColumnInfo(name = "id")
+    public long id;
+
+    @NonNull
+    @ColumnInfo(name = "owner_user_id")
+    private String ownerUserId;
+
+    @NonNull
+    @ColumnInfo(name = "sensor_id")
+    private String sensorId;
+
+    /**
+     * Start of the time bucket (epoch millis, a multiple of the bucket size).
+     */
+    @ColumnInfo(name = "bucket_start")
+    private long bucketStart;
+
+    /**
+     * Posture hex code, lower case (e.g., "0xab3311").
+     */
+    @NonNull
+    @ColumnInfo(name = "received_msg")
+    private String receivedMsg;
+
+    @ColumnInfo(name = "reading_count")
+    private int readingCount;
+
+    @ColumnInfo(name = "duration_ms")
+    private long durationMs;
+
+    @ColumnInfo(name = "first_timestamp")
+    private long firstTimestamp;
+
+    @ColumnInfo(name = "last_timestamp")
+    private long lastTimestamp;
+
+    /**
+     * Primary constructor for Room; totals start empty.
+     */
+    public PostureRollup(@NonNull String ownerUserId, @NonNull String sensorId, long bucketStart,
+                         @NonNull String receivedMsg) {
+        this.ownerUserId = ownerUserId;
+        this.sensorId = sensorId;
+        this.bucketStart = bucketStart;
+        this.receivedMsg = receivedMsg;
+    }
+
+    /**
+     * Add another rollup's totals for the same key (its first/last only count if it has readings).
+     */
+    public void merge(@NonNull PostureRollup other) {
+        if (other.readingCount > 0) {
+            if (readingCount == 0 || other.firstTimestamp < firstTimestamp) {
+                firstTimestamp = other.firstTimestamp;
+            }
+            if (readingCount == 0 || other.lastTimestamp > lastTimestamp) {
+                lastTimestamp = other.lastTimestamp;
+            }
+        }
+        readingCount += other.readingCount;
+        durationMs += other.durationMs;
+    }
+
+    // ========== Getters ==========
+
+    public long getId() {
+        return id;
+    }
+
+    @NonNull
+    public String getOwnerUserId() {
+        return ownerUserId;
+    }
+
+    @NonNull
+    public String getSensorId() {
+        return sensorId;
+    }
+
+    public long getBucketStart() {
+        return bucketStart;
+    }
+
+    @NonNull
+    public String getReceivedMsg() {
+        return receivedMsg;
+    }
+
+    public int getReadingCount() {
+        return readingCount;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    // ========== Setters ==========
+
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public void setOwnerUserId(@NonNull String ownerUserId) {
+        this.ownerUserId = ownerUserId;
+    }
+
+    public void setSensorId(@NonNull String sensorId) {
+        this.sensorId = sensorId;
+    }
+
+    public void setBucketStart(long bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public void setReceivedMsg(@NonNull String receivedMsg) {
+        this.receivedMsg = receivedMsg;
+    }
+
+    public void setReadingCount(int readingCount) {
+        this.readingCount = readingCount;
+    }
+
+    public void setDurationMs(long durationMs) {
+        this.durationMs = durationMs;
+    }
+
+    public void setFirstTimestamp(long firstTimestamp) {
+        this.firstTimestamp = firstTimestamp;
+    }
+
+    public void setLastTimestamp(long lastTimestamp) {
+        this.lastTimestamp = lastTimestamp;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "PostureRollup{" +
+                "owner='" + ownerUserId + '\'' +
+                ", sensor='" + sensorId + '\'' +
+                ", bucket=" + bucketStart +
+                ", code='" + receivedMsg + '\'' +
+                ", count=" + readingCount +
+                ", durationMs=" + durationMs +
+                '}';
+    }
+}
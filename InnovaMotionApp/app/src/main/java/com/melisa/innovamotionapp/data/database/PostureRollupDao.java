@@ -0,0 +1,71 @@
+package com.melisa.innovamotionapp.data.database;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Update;
+
+import java.util.List;
+
+/**
+ * DAO for downsampled posture history (see {@link PostureRollup}).
+ */
+@Dao
+public interface PostureRollupDao {
+
+    @Insert(onConflict = OnConflictStrategy.ABORT)
+    long insert(PostureRollup rollup);
+
+    @Update
+    void update(PostureRollup rollup);
+
+    /**
+     * The rollup for one key, or null (the retention job merges new totals into it).
+     */
+    @Query("SELECT * FROM posture_rollups WHERE owner_user_id = :ownerUserId AND sensor_id = :sensorId " +
+           "AND bucket_start = :bucketStart AND received_msg = :receivedMsg LIMIT 1")
+    PostureRollup getByKey(String ownerUserId, String sensorId, long bucketStart, String receivedMsg);
+
+    /**
+     * One sensor's rolled-up totals per posture code for buckets starting in [start, end]
+     * (same shape as the raw bucket queries, so the two lists can be merged).
+     */
+    @Query("SELECT received_msg AS code, SUM(reading_count) AS c, SUM(duration_ms) AS duration_ms, " +
+           "MIN(first_timestamp) AS first_ts, MAX(last_timestamp) AS last_ts FROM posture_rollups " +
+           "WHERE sensor_id = :sensorId AND bucket_start BETWEEN :start AND :end GROUP BY received_msg")
+    List<ReceivedBtDataDao.PostureBucket> getBucketsForSensorSync(String sensorId, long start, long end);
+
+    /**
+     * One owner user's rolled-up totals per posture code for buckets starting in [start, end].
+     */
+    @Query("SELECT received_msg AS code, SUM(reading_count) AS c, SUM(duration_ms) AS duration_ms, " +
+           "MIN(first_timestamp) AS first_ts, MAX(last_timestamp) AS last_ts FROM posture_rollups " +
+           "WHERE owner_user_id = :ownerUserId AND bucket_start BETWEEN :start AND :end GROUP BY received_msg")
+    List<ReceivedBtDataDao.PostureBucket> getBucketsForUserSync(String ownerUserId, long start, long end);
+
+    /**
+     * Timestamp of the newest reading counted in any rollup, or 0. Readings up to it were deleted
+     * by retention, so a backfill must not download them again.
+     */
+    @Query("SELECT COALESCE(MAX(last_timestamp), 0) FROM posture_rollups")
+    long getMaxRolledUpTimestampSync();
+
+    /**
+     * Same as {@link #getMaxRolledUpTimestampSync()} for one owner user.
+     */
+    @Query("SELECT COALESCE(MAX(last_timestamp), 0) FROM posture_rollups WHERE owner_user_id = :ownerUserId")
+    long getMaxRolledUpTimestampForOwner(String ownerUserId);
+
+    @Query("SELECT COUNT(*) FROM posture_rollups")
+    int countAll();
+
+    @Query("DELETE FROM posture_rollups")
+    int clearAll();
+
+    /**
+     * Delete rollups of owners not in {@code uids} (small table, one statement is fine).
+     */
+    @Query("DELETE FROM posture_rollups WHERE owner_user_id NOT IN (:uids)")
+    int deleteWhereOwnerNotIn(List<String> uids);
+}
@@ -1,5 +1,7 @@
 package com.melisa.innovamotionapp.data.database;
 
+import android.database.Cursor;
+
 import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
@@ -135,6 +137,13 @@ public interface ReceivedBtDataDao {
     @Query("SELECT * FROM received_bt_data WHERE owner_user_id = :userId AND timestamp BETWEEN :start AND :end ORDER BY timestamp ASC")
     LiveData<List<ReceivedBtDataEntity>> getRangeForUserLive(String userId, long start, long end);
 
+    // Synchronous versions for AnalyticsRepository (loads on its own executor)
+    @Query("SELECT * FROM received_bt_data WHERE owner_user_id = :userId ORDER BY timestamp ASC")
+    List<ReceivedBtDataEntity> getAllForUserSync(String userId);
+
+    @Query("SELECT * FROM received_bt_data WHERE owner_user_id = :userId AND timestamp BETWEEN :start AND :end ORDER BY timestamp ASC")
+    List<ReceivedBtDataEntity> getRangeForUserSync(String userId, long start, long end);
+
     // ======== SENSOR-SPECIFIC QUERIES (Multi-User Protocol) ========
     
     /**
@@ -144,6 +153,13 @@ public interface ReceivedBtDataDao {
     @Query("SELECT * FROM received_bt_data WHERE sensor_id = :sensorId ORDER BY timestamp DESC LIMIT 1")
     LiveData<ReceivedBtDataEntity> getLatestForSensor(String sensorId);
 
+    /**
+     * Synchronous version of {@link #getLatestForSensor(String)}.
+     * Used to seed LiveSensorStateStore when a detail screen opens.
+     */
+    @Query("SELECT * FROM received_bt_data WHERE sensor_id = :sensorId ORDER BY timestamp DESC LIMIT 1")
+    ReceivedBtDataEntity getLatestForSensorSync(String sensorId);
+
     /**
      * Get all readings for a specific sensor/person, ordered by timestamp.
      * Used for history/timeline view of a single person.
@@ -158,6 +174,18 @@ public interface ReceivedBtDataDao {
     @Query("SELECT * FROM received_bt_data WHERE sensor_id = :sensorId AND timestamp BETWEEN :startTime AND :endTime ORDER BY timestamp ASC")
     LiveData<List<ReceivedBtDataEntity>> getRangeForSensor(String sensorId, long startTime, long endTime);
 
+    /**
+     * Synchronous version of {@link #getAllForSensor(String)} for AnalyticsRepository.
+     */
+    @Query("SELECT * FROM received_bt_data WHERE sensor_id = :sensorId ORDER BY timestamp ASC")
+    List<ReceivedBtDataEntity> getAllForSensorSync(String sensorId);
+
+    /**
+     * Synchronous version of {@link #getRangeForSensor(String, long, long)} for AnalyticsRepository.
+     */
+    @Query("SELECT * FROM received_bt_data WHERE sensor_id = :sensorId AND timestamp BETWEEN :startTime AND :endTime ORDER BY timestamp ASC")
+    List<ReceivedBtDataEntity> getRangeForSensorSync(String sensorId, long startTime, long endTime);
+
     /**
      * Get all distinct sensor IDs in the database.
      * Used to populate dropdown lists of monitored persons.
@@ -242,21 +270,183 @@ public interface ReceivedBtDataDao {
         public int count;
     }
 
+    // ======== POSTURE DISTRIBUTION (Statistics chart) ========
+    // One row per posture code instead of every reading in range. Each reading is weighted by the
+    // time until the same sensor's next reading in range, capped at :maxGapMs so gaps in the data
+    // (sensor off, app closed) do not count; the last reading in range weighs 0. The next
+    // timestamp comes from a correlated MIN() on the (sensor_id, timestamp) index, since window
+    // functions (LEAD) need SQLite 3.25 / API 30 and minSdk is 26.
+    // PostureDurationEngine applies the same rules to streamed readings.
+
+    /**
+     * Posture buckets for one sensor within [start, end] (inclusive, epoch ms).
+     */
+    @Query("SELECT r.received_msg AS code, COUNT(*) AS c, " +
+           "SUM(MIN(COALESCE((SELECT MIN(n.timestamp) FROM received_bt_data n " +
+           "WHERE n.sensor_id = r.sensor_id AND n.timestamp > r.timestamp AND n.timestamp <= :end), " +
+           "r.timestamp) - r.timestamp, :maxGapMs)) AS duration_ms, " +
+           "MIN(r.timestamp) AS first_ts, MAX(r.timestamp) AS last_ts " +
+           "FROM received_bt_data r " +
+           "WHERE r.sensor_id = :sensorId AND r.timestamp BETWEEN :start AND :end " +
+           "GROUP BY r.received_msg COLLATE NOCASE")
+    List<PostureBucket> getPostureBucketsForSensorSync(String sensorId, long start, long end, long maxGapMs);
+
+    /**
+     * Readings of one owner user within [start, end], only the columns PostureDurationEngine
+     * needs, ordered by timestamp (the owner's sensors interleaved). An owner's history spans
+     * many sensors, where one ordered pass through the engine is cheaper than a correlated
+     * next-reading lookup per row. The caller closes the cursor.
+     */
+    @Query("SELECT sensor_id, timestamp, received_msg FROM received_bt_data " +
+           "WHERE owner_user_id = :userId AND timestamp BETWEEN :start AND :end ORDER BY timestamp ASC")
+    Cursor streamReadingsForUserSync(String userId, long start, long end);
+
+    /**
+     * Helper class for the posture bucket queries: one posture code and its totals.
+     */
+    class PostureBucket {
+        @androidx.room.ColumnInfo(name = "code")
+        public String code;
+        @androidx.room.ColumnInfo(name = "c")
+        public int count;
+        @androidx.room.ColumnInfo(name = "duration_ms")
+        public long durationMs;
+        @androidx.room.ColumnInfo(name = "first_ts")
+        public long firstTimestamp;
+        @androidx.room.ColumnInfo(name = "last_ts")
+        public long lastTimestamp;
+    }
+
     // ======== MESSAGE LOG UI QUERIES ========
-    
+    // Keyset pagination on (timestamp, id), newest first. The cursor is the (timestamp, id) of the
+    // last row of the previous page, so each page is an index range scan whatever the history size
+    // (no OFFSET). Filtered variants use the (sensor_id, timestamp) index.
+
+    /**
+     * First (newest) page of the message log.
+     */
+    @Query("SELECT * FROM received_bt_data ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    List<ReceivedBtDataEntity> getMessagesPageLatest(int limit);
+
+    /**
+     * Page of messages strictly older than the (timestamp, id) cursor, newest first.
+     */
+    @Query("SELECT * FROM received_bt_data " +
+           "WHERE timestamp <= :timestamp AND (timestamp < :timestamp OR id < :id) " +
+           "ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    List<ReceivedBtDataEntity> getMessagesPageBefore(long timestamp, long id, int limit);
+
+    /**
+     * Page of messages strictly newer than the (timestamp, id) cursor, oldest first
+     * (used to scroll back up after the head of the window was dropped).
+     */
+    @Query("SELECT * FROM received_bt_data " +
+           "WHERE timestamp >= :timestamp AND (timestamp > :timestamp OR id > :id) " +
+           "ORDER BY timestamp ASC, id ASC LIMIT :limit")
+    List<ReceivedBtDataEntity> getMessagesPageAfter(long timestamp, long id, int limit);
+
+    /**
+     * Rows inserted since the given id (primary key range), newest first.
+     */
+    @Query("SELECT * FROM received_bt_data WHERE id > :id ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    List<ReceivedBtDataEntity> getMessagesInsertedAfter(long id, int limit);
+
+    /**
+     * First (newest) page of the message log for one sensor.
+     */
+    @Query("SELECT * FROM received_bt_data WHERE sensor_id = :sensorId " +
+           "ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    List<ReceivedBtDataEntity> getSensorMessagesPageLatest(String sensorId, int limit);
+
+    /**
+     * Page of one sensor's messages strictly older than the (timestamp, id) cursor, newest first.
+     */
+    @Query("SELECT * FROM received_bt_data " +
+           "WHERE sensor_id = :sensorId AND timestamp <= :timestamp AND (timestamp < :timestamp OR id < :id) " +
+           "ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    List<ReceivedBtDataEntity> getSensorMessagesPageBefore(String sensorId, long timestamp, long id, int limit);
+
+    /**
+     * Page of one sensor's messages strictly newer than the (timestamp, id) cursor, oldest first.
+     */
+    @Query("SELECT * FROM received_bt_data " +
+           "WHERE sensor_id = :sensorId AND timestamp >= :timestamp AND (timestamp > :timestamp OR id > :id) " +
+           "ORDER BY timestamp ASC, id ASC LIMIT :limit")
+    List<ReceivedBtDataEntity> getSensorMessagesPageAfter(String sensorId, long timestamp, long id, int limit);
+
+    /**
+     * Page of one owner user's messages strictly newer than the (timestamp, id) cursor, oldest first
+     * (time-lapse paging; uses the (owner_user_id, timestamp) index).
+     */
+    @Query("SELECT * FROM received_bt_data " +
+           "WHERE owner_user_id = :userId AND timestamp >= :timestamp AND (timestamp > :timestamp OR id > :id) " +
+           "ORDER BY timestamp ASC, id ASC LIMIT :limit")
+    List<ReceivedBtDataEntity> getUserMessagesPageAfter(String userId, long timestamp, long id, int limit);
+
+    /**
+     * Page of one owner user's messages from one sensor strictly newer than the (timestamp, id)
+     * cursor, oldest first (exports; uses the (sensor_id, timestamp) index).
+     */
+    @Query("SELECT * FROM received_bt_data " +
+           "WHERE sensor_id = :sensorId AND owner_user_id = :userId " +
+           "AND timestamp >= :timestamp AND (timestamp > :timestamp OR id > :id) " +
+           "ORDER BY timestamp ASC, id ASC LIMIT :limit")
+    List<ReceivedBtDataEntity> getUserSensorMessagesPageAfter(String userId, String sensorId, long timestamp, long id, int limit);
+
+    /**
+     * One sensor's rows inserted since the given id, newest first.
+     */
+    @Query("SELECT * FROM received_bt_data WHERE sensor_id = :sensorId AND id > :id " +
+           "ORDER BY timestamp DESC, id DESC LIMIT :limit")
+    List<ReceivedBtDataEntity> getSensorMessagesInsertedAfter(String sensorId, long id, int limit);
+
+    // ======== RETENTION (maintenance job) ========
+    // Readings older than the raw window are rolled up and deleted in small keyset chunks, one
+    // short transaction each, so the ingest writer never waits long for the lock.
+
+    /**
+     * Page of readings older than {@code cutoff} strictly after the (timestamp, id) cursor,
+     * oldest first (uses the (timestamp) index).
+     */
+    @Query("SELECT * FROM received_bt_data " +
+           "WHERE timestamp < :cutoff AND timestamp >= :timestamp AND (timestamp > :timestamp OR id > :id) " +
+           "ORDER BY timestamp ASC, id ASC LIMIT :limit")
+    List<ReceivedBtDataEntity> getChunkBefore(long cutoff, long timestamp, long id, int limit);
+
+    /**
+     * Delete readings by id (at most a chunk at a time; SQLite limits bound parameters).
+     */
+    @Query("DELETE FROM received_bt_data WHERE id IN (:ids)")
+    int deleteByIds(List<Long> ids);
+
+    /**
+     * Timestamp of one sensor's first reading after {@code after}, or null if there is none.
+     */
+    @Query("SELECT MIN(timestamp) FROM received_bt_data " +
+           "WHERE sensor_id = :sensorId AND owner_user_id = :ownerUserId AND timestamp > :after")
+    Long getNextTimestampForSensor(String ownerUserId, String sensorId, long after);
+
+    // ======== CHUNKED PURGE (sign-out, account switch) ========
+    // Purges walk the id (rowid) range in fixed-width slices, one short DELETE each, instead of
+    // one statement that holds the write lock and fires observers for the whole table at once.
+
+    @Query("SELECT MIN(id) FROM received_bt_data")
+    Long getMinId();
+
+    @Query("SELECT MAX(id) FROM received_bt_data")
+    Long getMaxId();
+
     /**
-     * Get recent messages across all sensors, ordered by timestamp descending.
-     * Used for the message log UI.
+     * Delete readings with id in [fromId, toId).
      */
-    @Query("SELECT * FROM received_bt_data ORDER BY timestamp DESC LIMIT :limit")
-    LiveData<List<ReceivedBtDataEntity>> getRecentMessages(int limit);
+    @Query("DELETE FROM received_bt_data WHERE id >= :fromId AND id < :toId")
+    int deleteIdRange(long fromId, long toId);
 
     /**
-     * Get recent messages for a specific sensor, ordered by timestamp descending.
-     * Used for filtered message log UI.
+     * Delete readings with id in [fromId, toId) that don't belong to any of {@code uids}.
      */
-    @Query("SELECT * FROM received_bt_data WHERE sensor_id = :sensorId ORDER BY timestamp DESC LIMIT :limit")
-    LiveData<List<ReceivedBtDataEntity>> getMessagesForSensor(String sensorId, int limit);
+    @Query("DELETE FROM received_bt_data WHERE id >= :fromId AND id < :toId AND owner_user_id NOT IN (:uids)")
+    int deleteIdRangeWhereOwnerNotIn(long fromId, long toId, List<String> uids);
 
     // TEMPORARY DEBUG HELPERS (remove later)
     @Query("SELECT COUNT(*) FROM received_bt_data")
@@ -1,11 +1,15 @@
 package com.melisa.innovamotionapp.data.database;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Ignore;
 import androidx.room.Index;
 import androidx.room.PrimaryKey;
 
+import com.melisa.innovamotionapp.metrics.ReadingTrace;
+
 /**
  * Entity representing a received Bluetooth message from the multi-user protocol.
  * 
@@ -21,7 +25,8 @@ import androidx.room.PrimaryKey;
         @Index(value = {"owner_user_id", "device_address", "sensor_id", "timestamp", "received_msg"}, unique = true),
         // Query optimization indexes
         @Index(value = {"owner_user_id", "timestamp"}),
-        @Index(value = {"sensor_id"}),
+        @Index(value = {"timestamp"}),
+        @Index(value = {"sensor_id", "timestamp"}),
         @Index(value = {"owner_user_id", "sensor_id"})
     }
 )
@@ -53,6 +58,13 @@ public class ReceivedBtDataEntity {
     @ColumnInfo(name = "sensor_id")
     private String sensorId;
 
+    /**
+     * Pipeline latency stamps while the reading is in flight (not stored in Room).
+     */
+    @Ignore
+    @Nullable
+    private ReadingTrace trace;
+
     /**
      * Primary constructor for multi-user protocol data.
      *
@@ -108,6 +120,15 @@ public class ReceivedBtDataEntity {
     public String getSensorId() {
         return sensorId;
     }
+
+    @Nullable
+    public ReadingTrace getTrace() {
+        return trace;
+    }
+
+    public void setTrace(@Nullable ReadingTrace trace) {
+        this.trace = trace;
+    }
 }
 
 
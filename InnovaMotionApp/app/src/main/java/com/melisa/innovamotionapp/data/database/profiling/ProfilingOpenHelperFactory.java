@@ -0,0 +1,175 @@
+package com.melisa.innovamotionapp.data.database.profiling;
+
+import android.database.Cursor;
+import android.database.CursorWrapper;
+
+import androidx.annotation.NonNull;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteOpenHelper;
+import androidx.sqlite.db.SupportSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Open helper factory that times every query and statement Room runs and reports it to a
+ * {@link QueryProfiler}. Install with RoomDatabase.Builder.openHelperFactory() around the
+ * framework factory (debuggable builds only: every call goes through a reflective proxy).
+ *
+ * The database, open helper and statements are wrapped with dynamic proxies that pass every
+ * call through to the real object, so the wrapper keeps up with androidx.sqlite interface
+ * changes; only the calls that run SQL are intercepted:
+ * - query(...): timed from the call until its cursor is closed (Room reads and maps all rows
+ *   in between), rows = cursor row count;
+ * - compileStatement(sql): each execute/executeInsert/executeUpdateDelete/simpleQueryFor* call;
+ * - execSQL(...).
+ * EXPLAIN QUERY PLAN runs on the unwrapped database, so it is not profiled itself.
+ */
+public final class ProfilingOpenHelperFactory implements SupportSQLiteOpenHelper.Factory {
+
+    private final SupportSQLiteOpenHelper.Factory delegate;
+    private final QueryProfiler profiler;
+
+    public ProfilingOpenHelperFactory(@NonNull SupportSQLiteOpenHelper.Factory delegate, @NonNull QueryProfiler profiler) {
+        this.delegate = delegate;
+        this.profiler = profiler;
+    }
+
+    @NonNull
+    @Override
+    public SupportSQLiteOpenHelper create(@NonNull SupportSQLiteOpenHelper.Configuration configuration) {
+        SupportSQLiteOpenHelper helper = delegate.create(configuration);
+        // The framework helper hands out one database object; wrap it once, not per call
+        SupportSQLiteDatabase[] wrapped = new SupportSQLiteDatabase[2];
+        return proxy(SupportSQLiteOpenHelper.class, helper, (method, args) -> {
+            Object result = invoke(helper, method, args);
+            if (result instanceof SupportSQLiteDatabase) {
+                synchronized (wrapped) {
+                    if (wrapped[0] != result) {
+                        wrapped[0] = (SupportSQLiteDatabase) result;
+                        wrapped[1] = wrapDatabase(wrapped[0]);
+                    }
+                    return wrapped[1];
+                }
+            }
+            return result;
+        });
+    }
+
+    @NonNull
+    private SupportSQLiteDatabase wrapDatabase(@NonNull SupportSQLiteDatabase db) {
+        QueryProfiler.PlanSource planSource = sql -> explain(db, sql);
+        return proxy(SupportSQLiteDatabase.class, db, (method, args) -> {
+            switch (method.getName()) {
+                case "query": {
+                    String sql = args[0] instanceof SupportSQLiteQuery
+                            ? ((SupportSQLiteQuery) args[0]).getSql() : String.valueOf(args[0]);
+                    long start = System.nanoTime();
+                    Cursor cursor = (Cursor) invoke(db, method, args);
+                    return new ProfilingCursor(cursor, sql, start, planSource);
+                }
+                case "compileStatement": {
+                    SupportSQLiteStatement statement = (SupportSQLiteStatement) invoke(db, method, args);
+                    return wrapStatement(statement, (String) args[0], planSource);
+                }
+                case "execSQL": {
+                    long start = System.nanoTime();
+                    Object result = invoke(db, method, args);
+                    profiler.record((String) args[0], System.nanoTime() - start, -1, planSource);
+                    return result;
+                }
+                default:
+                    return invoke(db, method, args);
+            }
+        });
+    }
+
+    @NonNull
+    private SupportSQLiteStatement wrapStatement(@NonNull SupportSQLiteStatement statement, @NonNull String sql,
+                                                 @NonNull QueryProfiler.PlanSource planSource) {
+        return proxy(SupportSQLiteStatement.class, statement, (method, args) -> {
+            String name = method.getName();
+            if (!name.startsWith("execute") && !name.startsWith("simpleQueryFor")) {
+                return invoke(statement, method, args);
+            }
+            long start = System.nanoTime();
+            Object result = invoke(statement, method, args);
+            long duration = System.nanoTime() - start;
+            long rows = -1;
+            if ("executeUpdateDelete".equals(name)) {
+                rows = ((Number) result).longValue();
+            } else if ("executeInsert".equals(name)) {
+                rows = ((Number) result).longValue() != -1 ? 1 : 0;
+            }
+            profiler.record(sql, duration, rows, planSource);
+            return result;
+        });
+    }
+
+    /**
+     * Plan of a statement, bind parameters left unbound (NULL): the plan rarely depends on them.
+     */
+    @NonNull
+    static List<String> explain(@NonNull SupportSQLiteDatabase db, @NonNull String sql) {
+        List<String> details = new ArrayList<>();
+        try (Cursor cursor = db.query("EXPLAIN QUERY PLAN " + sql)) {
+            int detail = cursor.getColumnIndex("detail");
+            while (cursor.moveToNext()) {
+                details.add(detail >= 0 ? cursor.getString(detail) : cursor.getString(cursor.getColumnCount() - 1));
+            }
+        }
+        return details;
+    }
+
+    /**
+     * Cursor that reports its query when closed.
+     */
+    private final class ProfilingCursor extends CursorWrapper {
+        private final String sql;
+        private final long startNanos;
+        private final QueryProfiler.PlanSource planSource;
+
+        ProfilingCursor(Cursor cursor, String sql, long startNanos, QueryProfiler.PlanSource planSource) {
+            super(cursor);
+            this.sql = sql;
+            this.startNanos = startNanos;
+            this.planSource = planSource;
+        }
+
+        @Override
+        public void close() {
+            if (isClosed()) {
+                super.close();
+                return;
+            }
+            long duration = System.nanoTime() - startNanos;
+            long rows = getCount();
+            super.close();
+            profiler.record(sql, duration, rows, planSource);
+        }
+    }
+
+    private interface Call {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    @NonNull
+    private static <T> T proxy(@NonNull Class<T> type, @NonNull T target, @NonNull Call call) {
+        InvocationHandler handler = (proxy, method, args) -> call.handle(method, args);
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(@NonNull Object target, @NonNull Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.melisa.innovamotionapp.data.database.profiling;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Reads EXPLAIN QUERY PLAN details for full table scans: a "SCAN table" step that does not use
+ * an index, as opposed to "SEARCH ... USING INDEX" or an index scan ("SCAN ... USING [COVERING]
+ * INDEX", which reads rows in index order). Scans of materialized CTEs and subqueries
+ * ("MATERIALIZE x" ... "SCAN x") are not table scans. Both plan formats are understood:
+ * "SCAN TABLE t" (SQLite before 3.36) and "SCAN t" (3.36+).
+ */
+public final class QueryPlanChecker {
+
+    private static final Pattern SCAN = Pattern.compile(
+            "^SCAN (?:TABLE )?([A-Za-z_][A-Za-z0-9_]*)(?: AS [A-Za-z0-9_]+)?(.*)$");
+    private static final Pattern MATERIALIZED = Pattern.compile("^(?:MATERIALIZE|CO-ROUTINE) (\\S+)");
+
+    private QueryPlanChecker() {
+    }
+
+    /**
+     * @return The table scanned without an index by this plan step, or null if the step is not
+     *         a full table scan (index search or scan, subquery, constant row)
+     */
+    @Nullable
+    public static String fullScanTable(@NonNull String detail) {
+        Matcher matcher = SCAN.matcher(detail.trim());
+        if (!matcher.matches()) {
+            return null;
+        }
+        String table = matcher.group(1);
+        String rest = matcher.group(2).toUpperCase(Locale.US);
+        if (rest.contains("USING") || "SUBQUERY".equalsIgnoreCase(table) || "CONSTANT".equalsIgnoreCase(table)) {
+            return null;
+        }
+        return table;
+    }
+
+    /**
+     * @param allowedTables Tables that may be scanned (small lookup tables), compared ignoring case
+     * @return Tables scanned without an index by the plan, excluding allowed ones
+     */
+    @NonNull
+    public static List<String> findFullScans(@Nullable List<String> plan, @NonNull Set<String> allowedTables) {
+        List<String> scanned = new ArrayList<>();
+        if (plan == null) {
+            return scanned;
+        }
+        Set<String> materialized = new HashSet<>();
+        for (String detail : plan) {
+            Matcher matcher = MATERIALIZED.matcher(detail.trim());
+            if (matcher.find()) {
+                materialized.add(matcher.group(1));
+            }
+        }
+        for (String detail : plan) {
+            String table = fullScanTable(detail);
+            if (table != null && !containsIgnoreCase(allowedTables, table)
+                    && !containsIgnoreCase(materialized, table) && !scanned.contains(table)) {
+                scanned.add(table);
+            }
+        }
+        return scanned;
+    }
+
+    private static boolean containsIgnoreCase(@NonNull Set<String> tables, @NonNull String table) {
+        for (String allowed : tables) {
+            if (allowed.equalsIgnoreCase(table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,193 @@
+package com.melisa.innovamotionapp.data.database.profiling;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.melisa.innovamotionapp.metrics.Metrics;
+import com.melisa.innovamotionapp.utils.Constants;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement execution statistics of the Room database: count, total and p99 time, rows,
+ * and the EXPLAIN QUERY PLAN of statements that ran slower than the threshold.
+ *
+ * Fed by {@link ProfilingOpenHelperFactory} (debuggable builds) with the SQL of every query and
+ * statement Room runs. Statements are keyed by their normalized text, so "IN (?,?,?)" lists of
+ * different lengths share one entry.
+ */
+public final class QueryProfiler {
+
+    /**
+     * Runs EXPLAIN QUERY PLAN for a statement.
+     */
+    public interface PlanSource {
+        /**
+         * @return The "detail" column of each plan row
+         */
+        @NonNull
+        List<String> explain(@NonNull String sql);
+    }
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+
+    private static volatile QueryProfiler instance;
+
+    // Raw SQL -> stats, so the normalizing regexes run once per distinct string
+    private final ConcurrentHashMap<String, QueryStats> byRawSql = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, QueryStats> byNormalizedSql = new ConcurrentHashMap<>();
+    private final long slowThresholdNanos;
+    private volatile boolean captureAllPlans;
+
+    QueryProfiler(long slowThresholdMs) {
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMs);
+    }
+
+    public static QueryProfiler getInstance() {
+        if (instance == null) {
+            synchronized (QueryProfiler.class) {
+                if (instance == null) {
+                    instance = new QueryProfiler(Constants.SLOW_QUERY_THRESHOLD_MS);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Capture the plan of every statement on its first execution, not only slow ones
+     * (for plan checks in tests; see {@link #getFullScans}).
+     */
+    public void setCaptureAllPlans(boolean captureAllPlans) {
+        this.captureAllPlans = captureAllPlans;
+    }
+
+    /**
+     * Record one execution.
+     *
+     * @param rows       Rows returned or changed, -1 if unknown
+     * @param planSource Used at most once per statement, when its plan is first needed
+     */
+    public void record(@NonNull String sql, long durationNanos, long rows, @NonNull PlanSource planSource) {
+        QueryStats stats = statsFor(sql);
+        boolean slow = durationNanos >= slowThresholdNanos;
+        stats.record(durationNanos, rows, slow);
+        if (slow) {
+            Metrics.ROOM_SLOW_QUERIES.increment();
+        }
+        if ((slow || captureAllPlans) && stats.getPlan() == null && isExplainable(stats.getSql())) {
+            List<String> plan;
+            try {
+                plan = planSource.explain(sql);
+            } catch (RuntimeException e) {
+                plan = Collections.singletonList("EXPLAIN failed: " + e.getMessage());
+            }
+            stats.setPlan(plan);
+        }
+    }
+
+    /**
+     * @return All statements, most total time first
+     */
+    @NonNull
+    public List<QueryStats> getStats() {
+        List<QueryStats> stats = new ArrayList<>(byNormalizedSql.values());
+        Collections.sort(stats, (a, b) -> Long.compare(b.getTotalNanos(), a.getTotalNanos()));
+        return stats;
+    }
+
+    /**
+     * @param allowedTables Tables that may be scanned (see {@link QueryPlanChecker#findFullScans})
+     * @return Statements whose captured plan scans a table without an index
+     */
+    @NonNull
+    public List<QueryStats> getFullScans(@NonNull Set<String> allowedTables) {
+        List<QueryStats> scans = new ArrayList<>();
+        for (QueryStats stats : getStats()) {
+            if (!QueryPlanChecker.findFullScans(stats.getPlan(), allowedTables).isEmpty()) {
+                scans.add(stats);
+            }
+        }
+        return scans;
+    }
+
+    public void reset() {
+        byRawSql.clear();
+        byNormalizedSql.clear();
+    }
+
+    /**
+     * Write the {@code limit} statements with the most total time, slow ones with their plan.
+     */
+    public void writeTo(@NonNull Appendable out, int limit) throws IOException {
+        List<QueryStats> stats = getStats();
+        for (int i = 0; i < stats.size() && i < limit; i++) {
+            QueryStats s = stats.get(i);
+            out.append(String.format(Locale.US, "n=%d total=%.1f p99=%.2f max=%.2f ms rows=%d (max %d)%s%n",
+                    s.getCount(), s.getTotalNanos() / 1e6, s.getP99Nanos() / 1e6, s.getMaxNanos() / 1e6,
+                    s.getRows(), s.getMaxRows(), s.getSlowCount() > 0 ? " SLOW x" + s.getSlowCount() : ""));
+            out.append("  ").append(s.getSql()).append('\n');
+            List<String> plan = s.getPlan();
+            if (plan != null && s.getSlowCount() > 0) {
+                for (String detail : plan) {
+                    out.append("    plan: ").append(detail).append('\n');
+                }
+            }
+        }
+        if (stats.size() > limit) {
+            out.append("(").append(String.valueOf(stats.size() - limit)).append(" more statements)\n");
+        }
+    }
+
+    @NonNull
+    public String toText(int limit) {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb, limit);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+        }
+        return sb.toString();
+    }
+
+    @NonNull
+    private QueryStats statsFor(@NonNull String sql) {
+        QueryStats stats = byRawSql.get(sql);
+        if (stats == null) {
+            String normalized = normalize(sql);
+            stats = byNormalizedSql.computeIfAbsent(normalized, QueryStats::new);
+            byRawSql.put(sql, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Collapse whitespace and bind-parameter lists: "IN (?, ?,?)" becomes "IN (?...)".
+     */
+    @NonNull
+    static String normalize(@NonNull String sql) {
+        String collapsed = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return PARAMETER_LIST.matcher(collapsed).replaceAll("(?...)");
+    }
+
+    /**
+     * @return true for statements EXPLAIN QUERY PLAN says something useful about
+     */
+    static boolean isExplainable(@Nullable String sql) {
+        if (sql == null) {
+            return false;
+        }
+        String head = sql.length() > 7 ? sql.substring(0, 7).toUpperCase(Locale.US) : sql.toUpperCase(Locale.US);
+        return head.startsWith("SELECT") || head.startsWith("WITH") || head.startsWith("UPDATE")
+                || head.startsWith("DELETE") || head.startsWith("INSERT");
+    }
+}
@@ -0,0 +1,96 @@
+package com.melisa.innovamotionapp.data.database.profiling;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.melisa.innovamotionapp.metrics.Histogram;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Execution statistics of one SQL statement (normalized text, see {@link QueryProfiler#normalize}).
+ * Thread-safe; recording is a few atomic updates.
+ */
+public final class QueryStats {
+
+    private final String sql;
+    private final Histogram latency;
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong maxRows = new AtomicLong();
+    private final AtomicLong slowCount = new AtomicLong();
+    private volatile List<String> plan;
+
+    QueryStats(@NonNull String sql) {
+        this.sql = sql;
+        this.latency = new Histogram(sql, true);
+    }
+
+    void record(long durationNanos, long rowCount, boolean slow) {
+        latency.record(durationNanos);
+        totalNanos.addAndGet(Math.max(0, durationNanos));
+        if (rowCount > 0) {
+            rows.addAndGet(rowCount);
+            long seen = maxRows.get();
+            while (rowCount > seen && !maxRows.compareAndSet(seen, rowCount)) {
+                seen = maxRows.get();
+            }
+        }
+        if (slow) {
+            slowCount.incrementAndGet();
+        }
+    }
+
+    void setPlan(@NonNull List<String> plan) {
+        this.plan = Collections.unmodifiableList(plan);
+    }
+
+    @NonNull
+    public String getSql() {
+        return sql;
+    }
+
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.get();
+    }
+
+    public long getP99Nanos() {
+        return latency.getPercentile(99);
+    }
+
+    public long getMaxNanos() {
+        return latency.getMax();
+    }
+
+    /**
+     * @return Rows returned (queries) or changed (updates/deletes), summed over executions
+     */
+    public long getRows() {
+        return rows.get();
+    }
+
+    public long getMaxRows() {
+        return maxRows.get();
+    }
+
+    /**
+     * @return Executions at or above the profiler's slow threshold
+     */
+    public long getSlowCount() {
+        return slowCount.get();
+    }
+
+    /**
+     * @return EXPLAIN QUERY PLAN details, or null if not captured (never slow, not explainable)
+     */
+    @Nullable
+    public List<String> getPlan() {
+        return plan;
+    }
+}
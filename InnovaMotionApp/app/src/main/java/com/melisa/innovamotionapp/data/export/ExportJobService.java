@@ -0,0 +1,114 @@
+package com.melisa.innovamotionapp.data.export;
+
+import android.app.job.JobInfo;
+import android.app.job.JobParameters;
+import android.app.job.JobScheduler;
+import android.app.job.JobService;
+import android.content.ComponentName;
+import android.content.Context;
+import android.os.PersistableBundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.melisa.innovamotionapp.utils.Logger;
+
+import java.io.File;
+
+/**
+ * Background job that runs an export through {@link ExportManager}, so a long export (e.g. a
+ * ward's month) survives leaving the app. Runs when storage is not low; if the system stops the
+ * job, the export is cancelled and the job rescheduled.
+ */
+public class ExportJobService extends JobService {
+
+    private static final String TAG = "ExportJobService";
+
+    private static final int JOB_ID = 38001;
+
+    private static final String EXTRA_OWNER_USER_ID = "owner_user_id";
+    private static final String EXTRA_SENSOR_ID = "sensor_id";
+    private static final String EXTRA_START = "start";
+    private static final String EXTRA_END = "end";
+    private static final String EXTRA_FORMAT = "format";
+    private static final String EXTRA_GZIP = "gzip";
+    private static final String EXTRA_STATISTICS = "statistics";
+
+    /**
+     * Schedule an export job; replaces a pending one.
+     *
+     * @return true if the job was scheduled
+     */
+    public static boolean schedule(@NonNull Context context, @NonNull ExportRequest request) {
+        PersistableBundle extras = new PersistableBundle();
+        extras.putString(EXTRA_OWNER_USER_ID, request.getOwnerUserId());
+        extras.putString(EXTRA_SENSOR_ID, request.getSensorId());
+        extras.putLong(EXTRA_START, request.getStart());
+        extras.putLong(EXTRA_END, request.getEnd());
+        extras.putString(EXTRA_FORMAT, request.getFormat().name());
+        extras.putInt(EXTRA_GZIP, request.isGzip() ? 1 : 0);
+        extras.putInt(EXTRA_STATISTICS, request.isIncludeStatistics() ? 1 : 0);
+
+        JobInfo job = new JobInfo.Builder(JOB_ID, new ComponentName(context, ExportJobService.class))
+                .setExtras(extras)
+                .setRequiresStorageNotLow(true)
+                .build();
+        JobScheduler scheduler = context.getSystemService(JobScheduler.class);
+        boolean scheduled = scheduler != null && scheduler.schedule(job) == JobScheduler.RESULT_SUCCESS;
+        Logger.i(TAG, "Schedule export " + request + ": " + scheduled);
+        return scheduled;
+    }
+
+    @Override
+    public boolean onStartJob(JobParameters params) {
+        ExportRequest request;
+        try {
+            request = fromExtras(params.getExtras());
+        } catch (IllegalArgumentException e) {
+            Logger.e(TAG, "Invalid export job: " + e.getMessage(), e);
+            return false;
+        }
+
+        boolean started = ExportManager.getInstance(this).start(request, new ExportManager.ExportCallback() {
+            @Override
+            public void onProgress(long rowsWritten, long lastTimestamp) {
+                Logger.v(TAG, "Export progress: " + rowsWritten + " rows");
+            }
+
+            @Override
+            public void onComplete(@NonNull ExportResult result, @Nullable File readingsFile, @Nullable File statisticsFile) {
+                Logger.i(TAG, "Export job done: " + result.toSummary() + " -> " + readingsFile);
+                jobFinished(params, result.isCancelled());
+            }
+
+            @Override
+            public void onError(@NonNull Exception e) {
+                jobFinished(params, false);
+            }
+        });
+        if (!started) {
+            // Another export is running; try again later
+            Logger.w(TAG, "Export already running, rescheduling");
+            jobFinished(params, true);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        Logger.w(TAG, "Export job stopped by the system");
+        ExportManager.getInstance(this).cancel();
+        return true;
+    }
+
+    private static ExportRequest fromExtras(PersistableBundle extras) {
+        return new ExportRequest.Builder()
+                .ownerUserId(extras.getString(EXTRA_OWNER_USER_ID))
+                .sensorId(extras.getString(EXTRA_SENSOR_ID))
+                .range(extras.getLong(EXTRA_START), extras.getLong(EXTRA_END, Long.MAX_VALUE))
+                .format(ExportRequest.Format.valueOf(extras.getString(EXTRA_FORMAT, ExportRequest.Format.CSV.name())))
+                .gzip(extras.getInt(EXTRA_GZIP, 1) == 1)
+                .includeStatistics(extras.getInt(EXTRA_STATISTICS, 1) == 1)
+                .build();
+    }
+}
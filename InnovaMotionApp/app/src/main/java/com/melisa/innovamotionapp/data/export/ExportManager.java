@@ -0,0 +1,209 @@
+package com.melisa.innovamotionapp.data.export;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.melisa.innovamotionapp.data.database.InnovaDatabase;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
+import com.melisa.innovamotionapp.utils.Constants;
+import com.melisa.innovamotionapp.utils.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs one {@link ReadingsExporter} at a time on a background thread and writes its files to
+ * the app's {@link Constants#EXPORT_DIRECTORY} directory.
+ *
+ * Files are written under a ".part" name and renamed when complete, so a cancelled or failed
+ * export never leaves a truncated file that looks finished. Started from the developer panel or
+ * from {@link ExportJobService}.
+ */
+public final class ExportManager {
+
+    private static final String TAG = "ExportManager";
+
+    private static final String PART_SUFFIX = ".part";
+
+    private static volatile ExportManager instance;
+
+    /**
+     * Export progress and outcome. Called on the export thread.
+     */
+    public interface ExportCallback {
+        void onProgress(long rowsWritten, long lastTimestamp);
+
+        /**
+         * @param readingsFile   The readings file (null if the export was cancelled)
+         * @param statisticsFile The statistics file (null if not requested or cancelled)
+         */
+        void onComplete(@NonNull ExportResult result, @Nullable File readingsFile, @Nullable File statisticsFile);
+
+        void onError(@NonNull Exception e);
+    }
+
+    private final Context context;
+    private final ReceivedBtDataDao dao;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private volatile ReadingsExporter activeExporter;
+
+    private ExportManager(Context context) {
+        this.context = context.getApplicationContext();
+        this.dao = InnovaDatabase.getInstance(this.context).receivedBtDataDao();
+    }
+
+    /**
+     * Get the singleton instance.
+     */
+    public static ExportManager getInstance(Context context) {
+        if (instance == null) {
+            synchronized (ExportManager.class) {
+                if (instance == null) {
+                    instance = new ExportManager(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Start an export in the background.
+     *
+     * @return false if an export is already running
+     */
+    public boolean start(@NonNull ExportRequest request, @Nullable ExportCallback callback) {
+        ReadingsExporter exporter = new ReadingsExporter(sourceFor(request), request);
+        if (callback != null) {
+            exporter.setProgressListener(callback::onProgress);
+        }
+        synchronized (this) {
+            if (activeExporter != null) {
+                Logger.w(TAG, "Export already running");
+                return false;
+            }
+            activeExporter = exporter;
+        }
+
+        executor.execute(() -> {
+            try {
+                run(exporter, request, callback);
+            } finally {
+                activeExporter = null;
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Stop the running export after its current chunk; its partial files are deleted.
+     */
+    public void cancel() {
+        ReadingsExporter exporter = activeExporter;
+        if (exporter != null) {
+            exporter.cancel();
+        }
+    }
+
+    public boolean isRunning() {
+        return activeExporter != null;
+    }
+
+    /**
+     * Directory exports are written to (created if missing).
+     */
+    @NonNull
+    public File getExportDirectory() {
+        File dir = context.getExternalFilesDir(Constants.EXPORT_DIRECTORY);
+        if (dir == null) {
+            // External storage unavailable
+            dir = new File(context.getFilesDir(), Constants.EXPORT_DIRECTORY);
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            Logger.w(TAG, "Cannot create export directory " + dir);
+        }
+        return dir;
+    }
+
+    private void run(ReadingsExporter exporter, ExportRequest request, @Nullable ExportCallback callback) {
+        String baseName = baseName(request);
+        File dir = getExportDirectory();
+        File readingsFile = new File(dir, "readings_" + baseName + "." + request.getFileExtension());
+        File statisticsFile = new File(dir, "statistics_" + baseName + "." + request.getFileExtension());
+        File readingsPart = new File(readingsFile.getPath() + PART_SUFFIX);
+        File statisticsPart = new File(statisticsFile.getPath() + PART_SUFFIX);
+
+        try {
+            ExportResult result = exporter.exportReadings(new BufferedOutputStream(new FileOutputStream(readingsPart)));
+            if (result.isCancelled()) {
+                deleteQuietly(readingsPart);
+                if (callback != null) {
+                    callback.onComplete(result, null, null);
+                }
+                return;
+            }
+            if (request.isIncludeStatistics()) {
+                exporter.writeStatistics(new BufferedOutputStream(new FileOutputStream(statisticsPart)));
+                rename(statisticsPart, statisticsFile);
+            }
+            rename(readingsPart, readingsFile);
+            Logger.i(TAG, "Exported " + readingsFile.getName() + " (" + readingsFile.length() + " bytes)");
+            if (callback != null) {
+                callback.onComplete(result, readingsFile, request.isIncludeStatistics() ? statisticsFile : null);
+            }
+        } catch (Exception e) {
+            Logger.e(TAG, "Export failed: " + e.getMessage(), e);
+            deleteQuietly(readingsPart);
+            deleteQuietly(statisticsPart);
+            if (callback != null) {
+                callback.onError(e);
+            }
+        }
+    }
+
+    /**
+     * Chunk query matching the request's filters; each one is served by an index.
+     */
+    private ReadingsExporter.ChunkSource sourceFor(ExportRequest request) {
+        String owner = request.getOwnerUserId();
+        String sensor = request.getSensorId();
+        if (owner != null && sensor != null) {
+            return (timestamp, id, limit) -> dao.getUserSensorMessagesPageAfter(owner, sensor, timestamp, id, limit);
+        } else if (sensor != null) {
+            return (timestamp, id, limit) -> dao.getSensorMessagesPageAfter(sensor, timestamp, id, limit);
+        } else if (owner != null) {
+            return (timestamp, id, limit) -> dao.getUserMessagesPageAfter(owner, timestamp, id, limit);
+        }
+        return dao::getMessagesPageAfter;
+    }
+
+    /**
+     * e.g. "sensor001_20250101-120000"; the scope is the sensor, else the owner, else "all".
+     */
+    private static String baseName(ExportRequest request) {
+        String scope = request.getSensorId() != null ? request.getSensorId()
+                : request.getOwnerUserId() != null ? request.getOwnerUserId() : "all";
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        return scope.replaceAll("[^A-Za-z0-9_-]", "_") + "_" + stamp;
+    }
+
+    private static void rename(File from, File to) throws IOException {
+        if (!from.renameTo(to)) {
+            throw new IOException("Cannot rename " + from + " to " + to);
+        }
+    }
+
+    private static void deleteQuietly(File file) {
+        if (file.exists() && !file.delete()) {
+            Logger.w(TAG, "Cannot delete " + file);
+        }
+    }
+}
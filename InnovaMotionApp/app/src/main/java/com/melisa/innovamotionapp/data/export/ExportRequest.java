@@ -0,0 +1,195 @@
+package com.melisa.innovamotionapp.data.export;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.melisa.innovamotionapp.utils.Constants;
+
+import java.util.Locale;
+
+/**
+ * What to export: which readings (owner, sensor, time range) and how (format, compression).
+ *
+ * Example: one ward's readings for a month, as gzip-compressed CSV:
+ * <pre>
+ * ExportRequest request = new ExportRequest.Builder()
+ *         .ownerUserId(aggregatorUid)
+ *         .range(monthStart, monthEnd)
+ *         .build();
+ * </pre>
+ */
+public final class ExportRequest {
+
+    /**
+     * File format of an export.
+     */
+    public enum Format {
+        /** Comma-separated values with a header row */
+        CSV("csv"),
+        /** Newline-delimited JSON, one object per line */
+        NDJSON("ndjson");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        @NonNull
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    @Nullable
+    private final String ownerUserId;
+    @Nullable
+    private final String sensorId;
+    private final long start;
+    private final long end;
+    private final Format format;
+    private final boolean gzip;
+    private final boolean includeStatistics;
+    private final int chunkSize;
+
+    private ExportRequest(Builder builder) {
+        this.ownerUserId = builder.ownerUserId;
+        this.sensorId = builder.sensorId;
+        this.start = builder.start;
+        this.end = builder.end;
+        this.format = builder.format;
+        this.gzip = builder.gzip;
+        this.includeStatistics = builder.includeStatistics;
+        this.chunkSize = builder.chunkSize;
+    }
+
+    /**
+     * @return Owner (aggregator) user filter, or null for every owner
+     */
+    @Nullable
+    public String getOwnerUserId() {
+        return ownerUserId;
+    }
+
+    /**
+     * @return Sensor filter, or null for every sensor
+     */
+    @Nullable
+    public String getSensorId() {
+        return sensorId;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    @NonNull
+    public Format getFormat() {
+        return format;
+    }
+
+    public boolean isGzip() {
+        return gzip;
+    }
+
+    /**
+     * @return true to also write per-sensor posture statistics of the exported readings
+     */
+    public boolean isIncludeStatistics() {
+        return includeStatistics;
+    }
+
+    /**
+     * @return Readings read from Room per query
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * File extension for this format and compression, e.g. "csv.gz".
+     */
+    @NonNull
+    public String getFileExtension() {
+        return format.getExtension() + (gzip ? ".gz" : "");
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "ExportRequest{owner=%s, sensor=%s, range=[%d, %d], %s, chunk=%d%s}",
+                ownerUserId, sensorId, start, end, getFileExtension(), chunkSize,
+                includeStatistics ? ", statistics" : "");
+    }
+
+    public static final class Builder {
+        private String ownerUserId;
+        private String sensorId;
+        private long start = 0;
+        private long end = Long.MAX_VALUE;
+        private Format format = Format.CSV;
+        private boolean gzip = true;
+        private boolean includeStatistics = true;
+        private int chunkSize = Constants.EXPORT_CHUNK_SIZE;
+
+        public Builder ownerUserId(@Nullable String ownerUserId) {
+            this.ownerUserId = ownerUserId;
+            return this;
+        }
+
+        public Builder sensorId(@Nullable String sensorId) {
+            this.sensorId = sensorId;
+            return this;
+        }
+
+        /**
+         * Inclusive time range (epoch millis). Default: all time.
+         */
+        public Builder range(long start, long end) {
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        public Builder format(@NonNull Format format) {
+            this.format = format;
+            return this;
+        }
+
+        public Builder gzip(boolean gzip) {
+            this.gzip = gzip;
+            return this;
+        }
+
+        public Builder includeStatistics(boolean includeStatistics) {
+            this.includeStatistics = includeStatistics;
+            return this;
+        }
+
+        public Builder chunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if the range is empty or the chunk size is not positive
+         */
+        @NonNull
+        public ExportRequest build() {
+            if (end < start) {
+                throw new IllegalArgumentException("end must be >= start");
+            }
+            if (chunkSize < 1) {
+                throw new IllegalArgumentException("chunkSize must be >= 1");
+            }
+            if (format == null) {
+                throw new IllegalArgumentException("format is required");
+            }
+            return new ExportRequest(this);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.melisa.innovamotionapp.data.export;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+
+/**
+ * Result of a {@link ReadingsExporter} run. {@link #toSummary()} is shown in the developer panel
+ * and logged.
+ */
+public final class ExportResult {
+
+    private final ExportRequest request;
+    private final boolean cancelled;
+    private final long rowsWritten;
+    private final int sensorCount;
+    private final long chunksRead;
+    private final long firstTimestamp;
+    private final long lastTimestamp;
+    private final long elapsedMs;
+
+    ExportResult(ExportRequest request, boolean cancelled, long rowsWritten, int sensorCount, long chunksRead,
+                 long firstTimestamp, long lastTimestamp, long elapsedMs) {
+        this.request = request;
+        this.cancelled = cancelled;
+        this.rowsWritten = rowsWritten;
+        this.sensorCount = sensorCount;
+        this.chunksRead = chunksRead;
+        this.firstTimestamp = firstTimestamp;
+        this.lastTimestamp = lastTimestamp;
+        this.elapsedMs = elapsedMs;
+    }
+
+    @NonNull
+    public ExportRequest getRequest() {
+        return request;
+    }
+
+    /**
+     * @return true if the export was stopped early (the written part is incomplete)
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    /**
+     * @return Distinct sensors among the written readings
+     */
+    public int getSensorCount() {
+        return sensorCount;
+    }
+
+    /**
+     * @return Room queries made (one per chunk)
+     */
+    public long getChunksRead() {
+        return chunksRead;
+    }
+
+    /**
+     * @return Timestamp of the first written reading (0 if none)
+     */
+    public long getFirstTimestamp() {
+        return firstTimestamp;
+    }
+
+    /**
+     * @return Timestamp of the last written reading (0 if none)
+     */
+    public long getLastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    /**
+     * @return Rows written per second
+     */
+    public double getRowsPerSecond() {
+        return elapsedMs > 0 ? rowsWritten * 1000.0 / elapsedMs : 0;
+    }
+
+    @NonNull
+    public String toSummary() {
+        return String.format(Locale.US, "%s%d readings, %d sensors, %d chunks in %d ms (%.0f rows/s)",
+                cancelled ? "CANCELLED " : "", rowsWritten, sensorCount, chunksRead, elapsedMs, getRowsPerSecond());
+    }
+}
@@ -0,0 +1,326 @@
+package com.melisa.innovamotionapp.data.export;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.melisa.innovamotionapp.data.analytics.AnalyticsQuery;
+import com.melisa.innovamotionapp.data.analytics.PostureDistribution;
+import com.melisa.innovamotionapp.data.analytics.PostureDurationEngine;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.data.posture.PostureFactory;
+import com.melisa.innovamotionapp.utils.BoundedLruMap;
+import com.melisa.innovamotionapp.utils.Constants;
+import com.melisa.innovamotionapp.utils.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams readings matching an {@link ExportRequest} to CSV or NDJSON, optionally gzip-compressed.
+ *
+ * Readings are read in chunks of {@link ExportRequest#getChunkSize()} with the (timestamp, id)
+ * keyset used by the message log, and each chunk is written and dropped before the next is read,
+ * so memory does not grow with the export size and no read transaction stays open for the whole
+ * export. The same pass feeds a {@link PostureDurationEngine} per sensor, so
+ * {@link #writeStatistics} needs no second read.
+ *
+ * Rows come through a {@link ChunkSource}: Room when {@link ExportManager} runs it on device, an
+ * in-memory list in the unit tests.
+ */
+public final class ReadingsExporter {
+
+    private static final String TAG = "ReadingsExporter";
+
+    private static final String[] READING_COLUMNS = {
+            "id", "timestamp", "time_utc", "owner_user_id", "sensor_id", "device_address", "received_msg", "posture"
+    };
+    private static final boolean[] READING_NUMERIC = {true, true, false, false, false, false, false, false};
+    private static final String[] STATISTICS_COLUMNS = {
+            "sensor_id", "posture", "readings", "duration_ms", "share", "calories", "first_timestamp", "last_timestamp"
+    };
+    private static final boolean[] STATISTICS_NUMERIC = {false, false, true, true, true, true, true, true};
+
+    /** Distinct posture codes whose labels are remembered (real data has a handful) */
+    private static final int LABEL_CACHE_MAX_ENTRIES = 64;
+
+    /**
+     * Where readings come from; see ExportManager for the Room queries.
+     */
+    public interface ChunkSource {
+        /**
+         * Up to {@code limit} matching readings strictly after the (timestamp, id) cursor, oldest first.
+         */
+        @NonNull
+        List<ReceivedBtDataEntity> chunkAfter(long timestamp, long id, int limit);
+    }
+
+    /**
+     * Progress after each chunk. Called on the exporting thread.
+     */
+    public interface ProgressListener {
+        void onProgress(long rowsWritten, long lastTimestamp);
+    }
+
+    private final ChunkSource source;
+    private final ExportRequest request;
+    private final Map<String, PostureDurationEngine> engines = new TreeMap<>();
+    private final BoundedLruMap<String, String> labels = new BoundedLruMap<>(LABEL_CACHE_MAX_ENTRIES);
+    private final SimpleDateFormat timeFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US);
+    private final Date date = new Date();
+
+    @Nullable
+    private volatile ProgressListener progressListener;
+    private volatile boolean cancelled = false;
+
+    public ReadingsExporter(@NonNull ChunkSource source, @NonNull ExportRequest request) {
+        this.source = source;
+        this.request = request;
+        timeFormat.setTimeZone(TimeZone.getTimeZone("UTC"));
+    }
+
+    public void setProgressListener(@Nullable ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    /**
+     * Stop after the current chunk; {@link #exportReadings} returns a result marked as cancelled.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Write every matching reading to {@code out}, blocking the calling thread. Closes {@code out}.
+     */
+    @WorkerThread
+    @NonNull
+    public ExportResult exportReadings(@NonNull OutputStream out) throws IOException {
+        Logger.i(TAG, "Starting export: " + request);
+        long startNanos = System.nanoTime();
+        long rows = 0;
+        long chunks = 0;
+        long firstTimestamp = 0;
+        long lastTimestamp = 0;
+        int chunkSize = request.getChunkSize();
+
+        try (Writer writer = openWriter(out)) {
+            if (request.getFormat() == ExportRequest.Format.CSV) {
+                writeCsvRow(writer, READING_COLUMNS);
+            }
+            long cursorTimestamp = request.getStart();
+            long cursorId = Long.MIN_VALUE;
+            boolean done = false;
+            while (!done && !cancelled) {
+                List<ReceivedBtDataEntity> chunk = source.chunkAfter(cursorTimestamp, cursorId, chunkSize);
+                chunks++;
+                for (ReceivedBtDataEntity reading : chunk) {
+                    if (reading.getTimestamp() > request.getEnd()) {
+                        done = true;
+                        break;
+                    }
+                    writeReading(writer, reading);
+                    engineFor(reading.getSensorId()).accept(reading.getSensorId(),
+                            reading.getTimestamp(), reading.getReceivedMsg());
+                    if (rows == 0) {
+                        firstTimestamp = reading.getTimestamp();
+                    }
+                    lastTimestamp = reading.getTimestamp();
+                    rows++;
+                }
+                if (chunk.size() < chunkSize) {
+                    done = true;
+                } else {
+                    ReceivedBtDataEntity last = chunk.get(chunk.size() - 1);
+                    cursorTimestamp = last.getTimestamp();
+                    cursorId = last.getId();
+                }
+                ProgressListener listener = progressListener;
+                if (listener != null) {
+                    listener.onProgress(rows, lastTimestamp);
+                }
+            }
+        }
+
+        ExportResult result = new ExportResult(request, cancelled, rows, engines.size(), chunks,
+                firstTimestamp, lastTimestamp, (System.nanoTime() - startNanos) / 1_000_000);
+        Logger.i(TAG, "Export finished: " + result.toSummary());
+        return result;
+    }
+
+    /**
+     * Write per-sensor posture statistics (readings, time-weighted duration, share, calories) of
+     * the readings written by {@link #exportReadings}. Closes {@code out}.
+     */
+    @WorkerThread
+    public void writeStatistics(@NonNull OutputStream out) throws IOException {
+        try (Writer writer = openWriter(out)) {
+            boolean csv = request.getFormat() == ExportRequest.Format.CSV;
+            if (csv) {
+                writeCsvRow(writer, STATISTICS_COLUMNS);
+            }
+            for (Map.Entry<String, PostureDurationEngine> entry : engines.entrySet()) {
+                String sensorId = entry.getKey();
+                PostureDistribution distribution = entry.getValue().toDistribution(
+                        AnalyticsQuery.forSensor(sensorId, request.getStart(), request.getEnd()));
+                for (PostureDistribution.Share share : distribution.getShares()) {
+                    String[] values = {
+                            sensorId,
+                            share.getLabel(),
+                            Integer.toString(share.getCount()),
+                            Long.toString(share.getDurationMs()),
+                            String.format(Locale.US, "%.4f", share.getFraction()),
+                            String.format(Locale.US, "%.2f", share.getCalories()),
+                            Long.toString(distribution.getFirstTimestamp()),
+                            Long.toString(distribution.getLastTimestamp())
+                    };
+                    if (csv) {
+                        writeCsvRow(writer, values);
+                    } else {
+                        writeJsonRow(writer, STATISTICS_COLUMNS, values, STATISTICS_NUMERIC);
+                    }
+                }
+            }
+        }
+    }
+
+    private Writer openWriter(OutputStream out) throws IOException {
+        OutputStream target = request.isGzip() ? new GZIPOutputStream(out, 64 * 1024) : out;
+        return new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), 64 * 1024);
+    }
+
+    private PostureDurationEngine engineFor(String sensorId) {
+        PostureDurationEngine engine = engines.get(sensorId);
+        if (engine == null) {
+            engine = new PostureDurationEngine(Constants.POSTURE_SEGMENT_MAX_GAP_MS);
+            engines.put(sensorId, engine);
+        }
+        return engine;
+    }
+
+    private void writeReading(Writer writer, ReceivedBtDataEntity reading) throws IOException {
+        date.setTime(reading.getTimestamp());
+        String[] values = {
+                Long.toString(reading.getId()),
+                Long.toString(reading.getTimestamp()),
+                timeFormat.format(date),
+                reading.getOwnerUserId(),
+                reading.getSensorId(),
+                reading.getDeviceAddress(),
+                reading.getReceivedMsg(),
+                labelOf(reading.getReceivedMsg())
+        };
+        if (request.getFormat() == ExportRequest.Format.CSV) {
+            writeCsvRow(writer, values);
+        } else {
+            writeJsonRow(writer, READING_COLUMNS, values, READING_NUMERIC);
+        }
+    }
+
+    private String labelOf(String code) {
+        String key = code == null ? "" : code.toLowerCase(Locale.ROOT);
+        String label = labels.get(key);
+        if (label == null) {
+            label = PostureFactory.createPosture(code).getClass().getSimpleName();
+            labels.put(key, label);
+        }
+        return label;
+    }
+
+    private static void writeCsvRow(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeCsvField(writer, values[i]);
+        }
+        writer.write('\n');
+    }
+
+    /**
+     * RFC 4180: quote fields containing a delimiter, quote or line break; double embedded quotes.
+     */
+    static void writeCsvField(Writer writer, @Nullable String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static void writeJsonRow(Writer writer, String[] names, String[] values, boolean[] numeric) throws IOException {
+        writer.write('{');
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writeJsonString(writer, names[i]);
+            writer.write(':');
+            if (values[i] == null) {
+                writer.write("null");
+            } else if (numeric[i]) {
+                writer.write(values[i]);
+            } else {
+                writeJsonString(writer, values[i]);
+            }
+        }
+        writer.write("}\n");
+    }
+
+    static void writeJsonString(Writer writer, String value) throws IOException {
+        writer.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    writer.write("\\\"");
+                    break;
+                case '\\':
+                    writer.write("\\\\");
+                    break;
+                case '\n':
+                    writer.write("\\n");
+                    break;
+                case '\r':
+                    writer.write("\\r");
+                    break;
+                case '\t':
+                    writer.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        writer.write(String.format(Locale.US, "\\u%04x", (int) c));
+                    } else {
+                        writer.write(c);
+                    }
+            }
+        }
+        writer.write('"');
+    }
+}
@@ -0,0 +1,54 @@
+package com.melisa.innovamotionapp.data.maintenance;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+
+/**
+ * Result of a {@link PurgeRunner} pass.
+ */
+public final class PurgeReport {
+
+    private final boolean cancelled;
+    private final long rowsDeleted;
+    private final long chunks;
+    private final long maxChunkMs;
+    private final long elapsedMs;
+
+    PurgeReport(boolean cancelled, long rowsDeleted, long chunks, long maxChunkMs, long elapsedMs) {
+        this.cancelled = cancelled;
+        this.rowsDeleted = rowsDeleted;
+        this.chunks = chunks;
+        this.maxChunkMs = maxChunkMs;
+        this.elapsedMs = elapsedMs;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getRowsDeleted() {
+        return rowsDeleted;
+    }
+
+    public long getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return Longest single DELETE (how long ingest could have waited)
+     */
+    public long getMaxChunkMs() {
+        return maxChunkMs;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    @NonNull
+    public String toSummary() {
+        return String.format(Locale.US, "%sdeleted %d rows in %d chunks (max %d ms) in %d ms",
+                cancelled ? "CANCELLED " : "", rowsDeleted, chunks, maxChunkMs, elapsedMs);
+    }
+}
@@ -0,0 +1,134 @@
+package com.melisa.innovamotionapp.data.maintenance;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.melisa.innovamotionapp.utils.Constants;
+import com.melisa.innovamotionapp.utils.Logger;
+
+/**
+ * Bulk delete from received_bt_data in bounded batches. The id (rowid) range present when the
+ * purge starts is walked in slices of {@code chunkSize} ids; each slice is one short DELETE, with
+ * a pause before the next so the ingest writer and Room observers are never blocked for long.
+ * Rows inserted after the purge started (ids above the initial maximum) are left alone.
+ *
+ * The database is only reached through a {@link Store}; {@link RoomPurgeStores} supplies the Room
+ * implementations.
+ */
+public final class PurgeRunner {
+
+    private static final String TAG = "PurgeRunner";
+
+    /**
+     * Id bounds and range delete of the rows being purged.
+     */
+    public interface Store {
+        /**
+         * @return Smallest id in the table, or null if it is empty
+         */
+        @Nullable
+        Long minId();
+
+        /**
+         * @return Largest id in the table, or null if it is empty
+         */
+        @Nullable
+        Long maxId();
+
+        /**
+         * Delete the matching rows with id in [fromId, toId).
+         *
+         * @return Number of rows deleted
+         */
+        int deleteRange(long fromId, long toId);
+    }
+
+    /**
+     * Progress of a purge, reported at most once per percent.
+     */
+    public interface ProgressListener {
+        void onProgress(long rowsDeleted, int percent);
+    }
+
+    private final Store store;
+    private final int chunkSize;
+    private final long pauseMs;
+    private volatile boolean cancelled = false;
+
+    public PurgeRunner(@NonNull Store store) {
+        this(store, Constants.PURGE_CHUNK_SIZE, Constants.PURGE_CHUNK_PAUSE_MS);
+    }
+
+    public PurgeRunner(@NonNull Store store, int chunkSize, long pauseMs) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.store = store;
+        this.chunkSize = chunkSize;
+        this.pauseMs = pauseMs;
+    }
+
+    /**
+     * Stop after the current chunk.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Purge the current id range. Blocks the calling thread.
+     */
+    @WorkerThread
+    @NonNull
+    public PurgeReport run(@Nullable ProgressListener listener) {
+        long startNanos = System.nanoTime();
+        Long min = store.minId();
+        Long max = store.maxId();
+        long rowsDeleted = 0;
+        long chunks = 0;
+        long maxChunkNanos = 0;
+
+        if (min != null && max != null) {
+            long span = max - min + 1;
+            int lastPercent = -1;
+            for (long from = min; from <= max && !cancelled; from += chunkSize) {
+                long to = Math.min(from + chunkSize, max + 1);
+                long chunkStart = System.nanoTime();
+                rowsDeleted += store.deleteRange(from, to);
+                maxChunkNanos = Math.max(maxChunkNanos, System.nanoTime() - chunkStart);
+                chunks++;
+
+                int percent = (int) ((to - min) * 100 / span);
+                if (listener != null && percent != lastPercent) {
+                    listener.onProgress(rowsDeleted, percent);
+                    lastPercent = percent;
+                }
+                if (to <= max) {
+                    pause();
+                }
+            }
+        }
+
+        PurgeReport report = new PurgeReport(cancelled, rowsDeleted, chunks, maxChunkNanos / 1_000_000,
+                (System.nanoTime() - startNanos) / 1_000_000);
+        Logger.i(TAG, "Purge finished: " + report.toSummary());
+        return report;
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.melisa.innovamotionapp.data.maintenance;
+
+import android.app.job.JobInfo;
+import android.app.job.JobParameters;
+import android.app.job.JobScheduler;
+import android.app.job.JobService;
+import android.content.ComponentName;
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import com.melisa.innovamotionapp.utils.Constants;
+import com.melisa.innovamotionapp.utils.Logger;
+
+/**
+ * Daily retention job: rolls up and deletes readings older than the raw window and reclaims
+ * space (see {@link RetentionRunner}). Runs only while the device is idle and charging; if the
+ * system stops it, the pass is cancelled after its current chunk and retried.
+ */
+public class RetentionJobService extends JobService {
+
+    private static final String TAG = "RetentionJobService";
+
+    private static final int JOB_ID = 39001;
+
+    /**
+     * Schedule the periodic job unless it is already scheduled (rescheduling would restart its period).
+     */
+    public static void scheduleIfNeeded(@NonNull Context context) {
+        JobScheduler scheduler = context.getSystemService(JobScheduler.class);
+        if (scheduler == null || scheduler.getPendingJob(JOB_ID) != null) {
+            return;
+        }
+        JobInfo job = new JobInfo.Builder(JOB_ID, new ComponentName(context, RetentionJobService.class))
+                .setPeriodic(Constants.RETENTION_JOB_INTERVAL_MS)
+                .setRequiresDeviceIdle(true)
+                .setRequiresCharging(true)
+                .build();
+        int result = scheduler.schedule(job);
+        Logger.i(TAG, "Scheduled retention job: " + (result == JobScheduler.RESULT_SUCCESS));
+    }
+
+    @Override
+    public boolean onStartJob(JobParameters params) {
+        // Idle and charging: the one-time full VACUUM may run here, on a small enough database
+        RetentionPolicy policy = new RetentionPolicy.Builder()
+                .fullVacuumMaxBytes(Constants.RETENTION_FULL_VACUUM_MAX_BYTES)
+                .build();
+        boolean started = RetentionManager.getInstance(this).start(policy,
+                new RetentionManager.RetentionCallback() {
+                    @Override
+                    public void onComplete(@NonNull RetentionReport report) {
+                        jobFinished(params, report.isCancelled());
+                    }
+
+                    @Override
+                    public void onError(@NonNull Exception e) {
+                        jobFinished(params, false);
+                    }
+                });
+        // A pass started from the developer panel is already doing the work
+        return started;
+    }
+
+    @Override
+    public boolean onStopJob(JobParameters params) {
+        Logger.w(TAG, "Retention job stopped by the system");
+        RetentionManager.getInstance(this).cancel();
+        return true;
+    }
+}
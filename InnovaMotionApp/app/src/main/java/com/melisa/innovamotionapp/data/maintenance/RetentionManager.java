@@ -0,0 +1,202 @@
+package com.melisa.innovamotionapp.data.maintenance;
+
+import android.content.Context;
+import android.database.Cursor;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+
+import com.melisa.innovamotionapp.data.database.InnovaDatabase;
+import com.melisa.innovamotionapp.data.database.PostureRollup;
+import com.melisa.innovamotionapp.data.database.PostureRollupDao;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.utils.Logger;
+
+import java.io.File;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs one {@link RetentionRunner} pass at a time on a background thread against Room.
+ * Started by {@link RetentionJobService} (daily, idle and charging) or from the developer panel.
+ *
+ * Space is reclaimed with bounded incremental vacuum steps. Databases created before retention
+ * existed have auto_vacuum off, and switching it to INCREMENTAL needs one full VACUUM: it rewrites
+ * the whole file and holds an exclusive lock meanwhile, so ingest and the UI wait for it. Only the
+ * idle job may run it, and only up to {@link RetentionPolicy#getFullVacuumMaxBytes()}. A larger
+ * database keeps auto_vacuum off: deleted pages are not given back to the file system, but later
+ * inserts reuse them, so the file stops growing instead of shrinking.
+ */
+public final class RetentionManager {
+
+    private static final String TAG = "RetentionManager";
+
+    /** PRAGMA auto_vacuum value for INCREMENTAL */
+    private static final int AUTO_VACUUM_INCREMENTAL = 2;
+
+    private static volatile RetentionManager instance;
+
+    /**
+     * Outcome of a pass. Called on the retention thread.
+     */
+    public interface RetentionCallback {
+        void onComplete(@NonNull RetentionReport report);
+
+        void onError(@NonNull Exception e);
+    }
+
+    private final Context context;
+    private final InnovaDatabase database;
+    private final ReceivedBtDataDao dao;
+    private final PostureRollupDao rollupDao;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private volatile RetentionRunner activeRunner;
+
+    private RetentionManager(Context context) {
+        this.context = context.getApplicationContext();
+        this.database = InnovaDatabase.getInstance(this.context);
+        this.dao = database.receivedBtDataDao();
+        this.rollupDao = database.postureRollupDao();
+    }
+
+    /**
+     * Get the singleton instance.
+     */
+    public static RetentionManager getInstance(Context context) {
+        if (instance == null) {
+            synchronized (RetentionManager.class) {
+                if (instance == null) {
+                    instance = new RetentionManager(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Start a retention pass in the background.
+     *
+     * @return false if a pass is already running
+     */
+    public boolean start(@NonNull RetentionPolicy policy, @Nullable RetentionCallback callback) {
+        RetentionRunner runner = new RetentionRunner(new RoomStore(), policy);
+        synchronized (this) {
+            if (activeRunner != null) {
+                Logger.w(TAG, "Retention already running");
+                return false;
+            }
+            activeRunner = runner;
+        }
+
+        executor.execute(() -> {
+            RetentionReport report = null;
+            Exception error = null;
+            try {
+                report = runner.run(System.currentTimeMillis());
+            } catch (Exception e) {
+                Logger.e(TAG, "Retention failed: " + e.getMessage(), e);
+                error = e;
+            } finally {
+                activeRunner = null;
+            }
+            if (callback != null) {
+                if (report != null) {
+                    callback.onComplete(report);
+                } else {
+                    callback.onError(error);
+                }
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Stop the running pass after its current chunk.
+     */
+    public void cancel() {
+        RetentionRunner runner = activeRunner;
+        if (runner != null) {
+            runner.cancel();
+        }
+    }
+
+    public boolean isRunning() {
+        return activeRunner != null;
+    }
+
+    /**
+     * {@link RetentionRunner.Store} over the Room database.
+     */
+    private final class RoomStore implements RetentionRunner.Store {
+
+        @NonNull
+        @Override
+        public List<ReceivedBtDataEntity> chunkBefore(long cutoff, long timestamp, long id, int limit) {
+            return dao.getChunkBefore(cutoff, timestamp, id, limit);
+        }
+
+        @Override
+        public int applyChunk(@NonNull List<PostureRollup> deltas, @NonNull List<Long> readingIds) {
+            return database.runInTransaction(() -> {
+                for (PostureRollup delta : deltas) {
+                    PostureRollup existing = rollupDao.getByKey(delta.getOwnerUserId(), delta.getSensorId(),
+                            delta.getBucketStart(), delta.getReceivedMsg());
+                    if (existing == null) {
+                        rollupDao.insert(delta);
+                    } else {
+                        existing.merge(delta);
+                        rollupDao.update(existing);
+                    }
+                }
+                return readingIds.isEmpty() ? 0 : dao.deleteByIds(readingIds);
+            });
+        }
+
+        @Nullable
+        @Override
+        public Long nextReadingTimestamp(@NonNull String ownerUserId, @NonNull String sensorId, long after) {
+            return dao.getNextTimestampForSensor(ownerUserId, sensorId, after);
+        }
+
+        @Override
+        public boolean isIncrementalVacuumEnabled() {
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            return pragmaLong(db, "PRAGMA auto_vacuum") == AUTO_VACUUM_INCREMENTAL;
+        }
+
+        @Override
+        public void enableIncrementalVacuum() {
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            db.execSQL("PRAGMA auto_vacuum = INCREMENTAL");
+            db.execSQL("VACUUM");
+        }
+
+        @Override
+        public long reclaimSpace(int maxPages) {
+            SupportSQLiteDatabase db = database.getOpenHelper().getWritableDatabase();
+            // incremental_vacuum frees pages as its statement is stepped
+            try (Cursor cursor = db.query("PRAGMA incremental_vacuum(" + maxPages + ")")) {
+                while (cursor.moveToNext()) {
+                    // Step until done
+                }
+            }
+            return pragmaLong(db, "PRAGMA freelist_count");
+        }
+
+        @Override
+        public long sizeBytes() {
+            File dbFile = context.getDatabasePath(InnovaDatabase.DATABASE_NAME);
+            File walFile = new File(dbFile.getPath() + "-wal");
+            return dbFile.length() + walFile.length();
+        }
+
+        private long pragmaLong(SupportSQLiteDatabase db, String pragma) {
+            try (Cursor cursor = db.query(pragma)) {
+                return cursor.moveToFirst() ? cursor.getLong(0) : 0;
+            }
+        }
+    }
+}
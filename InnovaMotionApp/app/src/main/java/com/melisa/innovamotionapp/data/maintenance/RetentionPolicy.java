@@ -0,0 +1,171 @@
+package com.melisa.innovamotionapp.data.maintenance;
+
+import androidx.annotation.NonNull;
+
+import com.melisa.innovamotionapp.utils.Constants;
+
+import java.util.Locale;
+
+/**
+ * How long raw readings are kept and how older ones are rolled up and deleted
+ * (see {@link RetentionRunner}). Defaults come from {@link Constants}.
+ */
+public final class RetentionPolicy {
+
+    private final long rawWindowMs;
+    private final long bucketMs;
+    private final long maxGapMs;
+    private final int chunkSize;
+    private final long chunkPauseMs;
+    private final int vacuumPagesPerStep;
+    private final long fullVacuumMaxBytes;
+
+    private RetentionPolicy(Builder builder) {
+        this.rawWindowMs = builder.rawWindowMs;
+        this.bucketMs = builder.bucketMs;
+        this.maxGapMs = builder.maxGapMs;
+        this.chunkSize = builder.chunkSize;
+        this.chunkPauseMs = builder.chunkPauseMs;
+        this.vacuumPagesPerStep = builder.vacuumPagesPerStep;
+        this.fullVacuumMaxBytes = builder.fullVacuumMaxBytes;
+    }
+
+    /**
+     * @return How long raw readings are kept (older ones are rolled up)
+     */
+    public long getRawWindowMs() {
+        return rawWindowMs;
+    }
+
+    /**
+     * @return Size of a rollup time bucket
+     */
+    public long getBucketMs() {
+        return bucketMs;
+    }
+
+    /**
+     * @return Longest gap still counted as time in the earlier posture
+     */
+    public long getMaxGapMs() {
+        return maxGapMs;
+    }
+
+    /**
+     * @return Readings rolled up and deleted per transaction
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return Pause between chunks, leaving the database to the ingest writer
+     */
+    public long getChunkPauseMs() {
+        return chunkPauseMs;
+    }
+
+    /**
+     * @return Free pages returned to the file system per incremental vacuum step
+     */
+    public int getVacuumPagesPerStep() {
+        return vacuumPagesPerStep;
+    }
+
+    /**
+     * Largest database the pass may run the one-time full VACUUM on (needed to switch an older
+     * database to incremental vacuum). The VACUUM locks the database for its whole duration, so
+     * only passes that run while the device is idle get a limit; 0 never runs it.
+     *
+     * @return Size limit in bytes
+     */
+    public long getFullVacuumMaxBytes() {
+        return fullVacuumMaxBytes;
+    }
+
+    /**
+     * Readings strictly before this time are rolled up: now minus the raw window, rounded down
+     * to a bucket boundary so rolled-up buckets are complete.
+     */
+    public long cutoffFor(long nowMs) {
+        return Math.floorDiv(nowMs - rawWindowMs, bucketMs) * bucketMs;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "RetentionPolicy{raw=%dh, bucket=%dmin, chunk=%d, pause=%dms}",
+                rawWindowMs / 3_600_000L, bucketMs / 60_000L, chunkSize, chunkPauseMs);
+    }
+
+    public static final class Builder {
+        private long rawWindowMs = Constants.RETENTION_RAW_WINDOW_MS;
+        private long bucketMs = Constants.RETENTION_ROLLUP_BUCKET_MS;
+        private long maxGapMs = Constants.POSTURE_SEGMENT_MAX_GAP_MS;
+        private int chunkSize = Constants.RETENTION_CHUNK_SIZE;
+        private long chunkPauseMs = Constants.RETENTION_CHUNK_PAUSE_MS;
+        private int vacuumPagesPerStep = Constants.RETENTION_VACUUM_PAGES_PER_STEP;
+        private long fullVacuumMaxBytes = 0;
+
+        public Builder rawWindowMs(long rawWindowMs) {
+            this.rawWindowMs = rawWindowMs;
+            return this;
+        }
+
+        public Builder bucketMs(long bucketMs) {
+            this.bucketMs = bucketMs;
+            return this;
+        }
+
+        public Builder maxGapMs(long maxGapMs) {
+            this.maxGapMs = maxGapMs;
+            return this;
+        }
+
+        public Builder chunkSize(int chunkSize) {
+            this.chunkSize = chunkSize;
+            return this;
+        }
+
+        public Builder chunkPauseMs(long chunkPauseMs) {
+            this.chunkPauseMs = chunkPauseMs;
+            return this;
+        }
+
+        public Builder vacuumPagesPerStep(int vacuumPagesPerStep) {
+            this.vacuumPagesPerStep = vacuumPagesPerStep;
+            return this;
+        }
+
+        public Builder fullVacuumMaxBytes(long fullVacuumMaxBytes) {
+            this.fullVacuumMaxBytes = fullVacuumMaxBytes;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if a value is out of range
+         */
+        @NonNull
+        public RetentionPolicy build() {
+            if (rawWindowMs < 0) {
+                throw new IllegalArgumentException("rawWindowMs must be >= 0");
+            }
+            if (bucketMs < 1) {
+                throw new IllegalArgumentException("bucketMs must be >= 1");
+            }
+            if (chunkSize < 1 || chunkSize > Constants.RETENTION_CHUNK_SIZE_MAX) {
+                throw new IllegalArgumentException("chunkSize must be in [1, " + Constants.RETENTION_CHUNK_SIZE_MAX + "]");
+            }
+            if (chunkPauseMs < 0) {
+                throw new IllegalArgumentException("chunkPauseMs must be >= 0");
+            }
+            if (vacuumPagesPerStep < 1) {
+                throw new IllegalArgumentException("vacuumPagesPerStep must be >= 1");
+            }
+            if (fullVacuumMaxBytes < 0) {
+                throw new IllegalArgumentException("fullVacuumMaxBytes must be >= 0");
+            }
+            return new RetentionPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.melisa.innovamotionapp.data.maintenance;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+
+/**
+ * Result of a {@link RetentionRunner} pass: rows removed, rollups written, longest chunk
+ * transaction and bytes reclaimed. {@link #toSummary()} is shown in the developer panel and logged.
+ */
+public final class RetentionReport {
+
+    private final boolean cancelled;
+    private final long cutoff;
+    private final long rowsDeleted;
+    private final long rollupDeltas;
+    private final long chunks;
+    private final long maxChunkMs;
+    private final long vacuumSteps;
+    private final long bytesBefore;
+    private final long bytesAfter;
+    private final long elapsedMs;
+
+    RetentionReport(boolean cancelled, long cutoff, long rowsDeleted, long rollupDeltas, long chunks,
+                    long maxChunkMs, long vacuumSteps, long bytesBefore, long bytesAfter, long elapsedMs) {
+        this.cancelled = cancelled;
+        this.cutoff = cutoff;
+        this.rowsDeleted = rowsDeleted;
+        this.rollupDeltas = rollupDeltas;
+        this.chunks = chunks;
+        this.maxChunkMs = maxChunkMs;
+        this.vacuumSteps = vacuumSteps;
+        this.bytesBefore = bytesBefore;
+        this.bytesAfter = bytesAfter;
+        this.elapsedMs = elapsedMs;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return Readings before this time were rolled up
+     */
+    public long getCutoff() {
+        return cutoff;
+    }
+
+    public long getRowsDeleted() {
+        return rowsDeleted;
+    }
+
+    /**
+     * @return Rollup rows inserted or merged into
+     */
+    public long getRollupDeltas() {
+        return rollupDeltas;
+    }
+
+    public long getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return Longest single chunk transaction (how long ingest could have waited)
+     */
+    public long getMaxChunkMs() {
+        return maxChunkMs;
+    }
+
+    public long getVacuumSteps() {
+        return vacuumSteps;
+    }
+
+    public long getBytesBefore() {
+        return bytesBefore;
+    }
+
+    public long getBytesAfter() {
+        return bytesAfter;
+    }
+
+    /**
+     * @return Bytes the database file shrank by (0 if it grew)
+     */
+    public long getBytesReclaimed() {
+        return Math.max(0, bytesBefore - bytesAfter);
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    @NonNull
+    public String toSummary() {
+        return String.format(Locale.US,
+                "%sdeleted %d readings in %d chunks (max %d ms), %d rollup updates, "
+                        + "reclaimed %d KB (%d -> %d KB, %d vacuum steps) in %d ms",
+                cancelled ? "CANCELLED " : "", rowsDeleted, chunks, maxChunkMs, rollupDeltas,
+                getBytesReclaimed() / 1024, bytesBefore / 1024, bytesAfter / 1024, vacuumSteps, elapsedMs);
+    }
+}
@@ -0,0 +1,223 @@
+package com.melisa.innovamotionapp.data.maintenance;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.melisa.innovamotionapp.data.database.PostureRollup;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.utils.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Retention pass over received_bt_data: readings older than the raw window are rolled up into
+ * posture_rollups and deleted, then free pages are returned to the file system.
+ *
+ * Work is split into chunks of {@link RetentionPolicy#getChunkSize()} readings (keyset on
+ * (timestamp, id)); each chunk merges its rollup deltas and deletes its readings in one short
+ * transaction, with a pause before the next so the ingest writer is never blocked for long.
+ * An interrupted run loses at most the duration of one pending reading per sensor and resumes
+ * where it stopped next time.
+ *
+ * Deleted readings are still on the server, so a backfill must resume after
+ * {@link #backfillStartAfter} rather than after the newest local reading, or it would download
+ * them again and the next pass would count them twice.
+ *
+ * The database is only reached through a {@link Store}; {@link RetentionManager} supplies Room.
+ */
+public final class RetentionRunner {
+
+    private static final String TAG = "RetentionRunner";
+
+    /**
+     * Database operations of a retention pass.
+     */
+    public interface Store {
+        /**
+         * Up to {@code limit} readings older than {@code cutoff}, strictly after the (timestamp, id)
+         * cursor, oldest first.
+         */
+        @NonNull
+        List<ReceivedBtDataEntity> chunkBefore(long cutoff, long timestamp, long id, int limit);
+
+        /**
+         * In one transaction: add the deltas to their rollups and delete the readings.
+         *
+         * @return Number of readings deleted
+         */
+        int applyChunk(@NonNull List<PostureRollup> deltas, @NonNull List<Long> readingIds);
+
+        /**
+         * @return Timestamp of the sensor's first reading after {@code after}, or null
+         */
+        @Nullable
+        Long nextReadingTimestamp(@NonNull String ownerUserId, @NonNull String sensorId, long after);
+
+        /**
+         * @return Whether free pages can be returned with bounded incremental vacuum steps
+         */
+        boolean isIncrementalVacuumEnabled();
+
+        /**
+         * Switch the database to incremental auto-vacuum. Rewrites the whole file with one full
+         * VACUUM, which blocks every other reader and writer until it finishes.
+         */
+        void enableIncrementalVacuum();
+
+        /**
+         * Return up to {@code maxPages} free pages to the file system (incremental vacuum only).
+         *
+         * @return Pages still free afterwards (0 when done)
+         */
+        long reclaimSpace(int maxPages);
+
+        /**
+         * @return Size of the database on disk (bytes)
+         */
+        long sizeBytes();
+    }
+
+    private final Store store;
+    private final RetentionPolicy policy;
+    private volatile boolean cancelled = false;
+
+    public RetentionRunner(@NonNull Store store, @NonNull RetentionPolicy policy) {
+        this.store = store;
+        this.policy = policy;
+    }
+
+    /**
+     * Timestamp after which a backfill should download readings: the newest local reading, or the
+     * newest rolled-up one if retention has deleted everything after it.
+     *
+     * @param localMaxTimestamp Newest reading still in received_bt_data (0 if none)
+     * @param rolledUpThrough Newest reading counted in posture_rollups (0 if none)
+     */
+    public static long backfillStartAfter(long localMaxTimestamp, long rolledUpThrough) {
+        return Math.max(localMaxTimestamp, rolledUpThrough);
+    }
+
+    /**
+     * Stop after the current chunk; {@link #run} still settles pending durations and reports.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Roll up and delete readings older than the raw window relative to {@code nowMs}, then
+     * reclaim space. Blocks the calling thread.
+     */
+    @WorkerThread
+    @NonNull
+    public RetentionReport run(long nowMs) {
+        long startNanos = System.nanoTime();
+        long cutoff = policy.cutoffFor(nowMs);
+        long bytesBefore = store.sizeBytes();
+        Logger.i(TAG, "Starting retention: " + policy + ", cutoff=" + cutoff);
+
+        RollupAccumulator accumulator = new RollupAccumulator(policy.getBucketMs(), policy.getMaxGapMs());
+        long rowsDeleted = 0;
+        long rollupDeltas = 0;
+        long chunks = 0;
+        long maxChunkNanos = 0;
+
+        long cursorTimestamp = Long.MIN_VALUE;
+        long cursorId = Long.MIN_VALUE;
+        while (!cancelled) {
+            List<ReceivedBtDataEntity> chunk = store.chunkBefore(cutoff, cursorTimestamp, cursorId, policy.getChunkSize());
+            if (chunk.isEmpty()) {
+                break;
+            }
+            List<Long> ids = new ArrayList<>(chunk.size());
+            for (ReceivedBtDataEntity reading : chunk) {
+                accumulator.accept(reading.getOwnerUserId(), reading.getSensorId(),
+                        reading.getTimestamp(), reading.getReceivedMsg());
+                ids.add(reading.getId());
+            }
+            List<PostureRollup> deltas = accumulator.drain();
+
+            long chunkStart = System.nanoTime();
+            rowsDeleted += store.applyChunk(deltas, ids);
+            maxChunkNanos = Math.max(maxChunkNanos, System.nanoTime() - chunkStart);
+            rollupDeltas += deltas.size();
+            chunks++;
+
+            ReceivedBtDataEntity last = chunk.get(chunk.size() - 1);
+            cursorTimestamp = last.getTimestamp();
+            cursorId = last.getId();
+            if (chunk.size() < policy.getChunkSize()) {
+                break;
+            }
+            pause();
+        }
+
+        // The last rolled-up reading of each sensor lasts until its first kept reading
+        for (RollupAccumulator.Pending pending : accumulator.getPending()) {
+            Long next = store.nextReadingTimestamp(pending.ownerUserId, pending.sensorId, pending.timestamp);
+            if (next != null) {
+                accumulator.resolvePending(pending.ownerUserId, pending.sensorId, next);
+            }
+        }
+        List<PostureRollup> settled = accumulator.drain();
+        if (!settled.isEmpty()) {
+            store.applyChunk(settled, new ArrayList<>());
+            rollupDeltas += settled.size();
+        }
+
+        long vacuumSteps = 0;
+        if (rowsDeleted > 0 && !cancelled && canReclaimIncrementally()) {
+            while (!cancelled) {
+                vacuumSteps++;
+                if (store.reclaimSpace(policy.getVacuumPagesPerStep()) <= 0) {
+                    break;
+                }
+                pause();
+            }
+        }
+
+        RetentionReport report = new RetentionReport(cancelled, cutoff, rowsDeleted, rollupDeltas, chunks,
+                maxChunkNanos / 1_000_000, vacuumSteps, bytesBefore, store.sizeBytes(),
+                (System.nanoTime() - startNanos) / 1_000_000);
+        Logger.i(TAG, "Retention finished: " + report.toSummary());
+        return report;
+    }
+
+    /**
+     * Whether space can be reclaimed in bounded steps, switching to incremental auto-vacuum first
+     * if the policy allows the full VACUUM this takes at the current database size. Otherwise the
+     * freed pages stay in the file and are reused by later inserts.
+     */
+    private boolean canReclaimIncrementally() {
+        if (store.isIncrementalVacuumEnabled()) {
+            return true;
+        }
+        long size = store.sizeBytes();
+        if (size > policy.getFullVacuumMaxBytes()) {
+            Logger.i(TAG, "Incremental vacuum off and full VACUUM not allowed at " + size
+                    + " bytes; freed pages are left for reuse");
+            return false;
+        }
+        Logger.i(TAG, "Switching to incremental vacuum (one full VACUUM at " + size + " bytes)");
+        store.enableIncrementalVacuum();
+        return true;
+    }
+
+    private void pause() {
+        if (policy.getChunkPauseMs() <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(policy.getChunkPauseMs());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelled = true;
+        }
+    }
+}
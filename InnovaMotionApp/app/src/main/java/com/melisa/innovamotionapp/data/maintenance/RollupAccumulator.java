@@ -0,0 +1,130 @@
+package com.melisa.innovamotionapp.data.maintenance;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.melisa.innovamotionapp.data.database.PostureRollup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Turns readings (in timestamp order) into {@link PostureRollup} deltas per owner, sensor, time
+ * bucket and posture code.
+ *
+ * Like PostureDurationEngine, a reading lasts until the same sensor's next reading, capped at
+ * {@code maxGapMs}; the duration is credited to the bucket of the earlier reading. The last
+ * reading of each sensor stays pending until its next reading is seen or
+ * {@link #resolvePending} is called, so deltas can be drained chunk by chunk without losing
+ * durations across chunk boundaries.
+ */
+final class RollupAccumulator {
+
+    private final long bucketMs;
+    private final long maxGapMs;
+
+    private final Map<String, PostureRollup> deltas = new LinkedHashMap<>();
+    private final Map<String, Pending> pending = new HashMap<>();
+
+    RollupAccumulator(long bucketMs, long maxGapMs) {
+        if (bucketMs < 1) {
+            throw new IllegalArgumentException("bucketMs must be >= 1");
+        }
+        this.bucketMs = bucketMs;
+        this.maxGapMs = maxGapMs;
+    }
+
+    /**
+     * Add one reading; readings of a sensor must arrive in timestamp order.
+     */
+    void accept(@NonNull String ownerUserId, @NonNull String sensorId, long timestamp, @Nullable String code) {
+        String sensorKey = ownerUserId + '\u0000' + sensorId;
+        resolve(pending.get(sensorKey), timestamp);
+
+        String normalizedCode = code != null ? code.toLowerCase(Locale.ROOT) : "";
+        long bucketStart = bucketStart(timestamp);
+        PostureRollup delta = deltaFor(ownerUserId, sensorId, bucketStart, normalizedCode);
+        PostureRollup reading = new PostureRollup(ownerUserId, sensorId, bucketStart, normalizedCode);
+        reading.setReadingCount(1);
+        reading.setFirstTimestamp(timestamp);
+        reading.setLastTimestamp(timestamp);
+        delta.merge(reading);
+
+        pending.put(sensorKey, new Pending(ownerUserId, sensorId, timestamp, bucketStart, normalizedCode));
+    }
+
+    /**
+     * Give the pending reading of a sensor its duration, now that its next reading is known.
+     */
+    void resolvePending(@NonNull String ownerUserId, @NonNull String sensorId, long nextTimestamp) {
+        String sensorKey = ownerUserId + '\u0000' + sensorId;
+        resolve(pending.remove(sensorKey), nextTimestamp);
+    }
+
+    /**
+     * @return Sensors whose last reading still waits for its duration
+     */
+    @NonNull
+    List<Pending> getPending() {
+        return new ArrayList<>(pending.values());
+    }
+
+    /**
+     * @return Deltas collected since the last drain (counts, durations, first/last), then cleared
+     */
+    @NonNull
+    List<PostureRollup> drain() {
+        List<PostureRollup> drained = new ArrayList<>(deltas.values());
+        deltas.clear();
+        return drained;
+    }
+
+    long bucketStart(long timestamp) {
+        return Math.floorDiv(timestamp, bucketMs) * bucketMs;
+    }
+
+    private void resolve(@Nullable Pending previous, long nextTimestamp) {
+        if (previous == null) {
+            return;
+        }
+        long gap = nextTimestamp - previous.timestamp;
+        if (gap <= 0) {
+            return;
+        }
+        PostureRollup delta = deltaFor(previous.ownerUserId, previous.sensorId, previous.bucketStart, previous.code);
+        delta.setDurationMs(delta.getDurationMs() + Math.min(gap, maxGapMs));
+    }
+
+    private PostureRollup deltaFor(String ownerUserId, String sensorId, long bucketStart, String code) {
+        String key = ownerUserId + '\u0000' + sensorId + '\u0000' + bucketStart + '\u0000' + code;
+        PostureRollup delta = deltas.get(key);
+        if (delta == null) {
+            delta = new PostureRollup(ownerUserId, sensorId, bucketStart, code);
+            deltas.put(key, delta);
+        }
+        return delta;
+    }
+
+    /**
+     * Last reading of one sensor, still waiting for its duration.
+     */
+    static final class Pending {
+        final String ownerUserId;
+        final String sensorId;
+        final long timestamp;
+        final long bucketStart;
+        final String code;
+
+        Pending(String ownerUserId, String sensorId, long timestamp, long bucketStart, String code) {
+            this.ownerUserId = ownerUserId;
+            this.sensorId = sensorId;
+            this.timestamp = timestamp;
+            this.bucketStart = bucketStart;
+            this.code = code;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.melisa.innovamotionapp.data.maintenance;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link PurgeRunner.Store}s over received_bt_data.
+ */
+public final class RoomPurgeStores {
+
+    private RoomPurgeStores() {
+    }
+
+    /**
+     * Every reading (sign-out, account switch, developer panel clear).
+     */
+    @NonNull
+    public static PurgeRunner.Store all(@NonNull ReceivedBtDataDao dao) {
+        return new Base(dao) {
+            @Override
+            public int deleteRange(long fromId, long toId) {
+                return dao.deleteIdRange(fromId, toId);
+            }
+        };
+    }
+
+    /**
+     * Readings of owners other than {@code keepOwnerIds} (supervisor re-scope).
+     */
+    @NonNull
+    public static PurgeRunner.Store ownersNotIn(@NonNull ReceivedBtDataDao dao, @NonNull List<String> keepOwnerIds) {
+        List<String> keep = new ArrayList<>(keepOwnerIds);
+        return new Base(dao) {
+            @Override
+            public int deleteRange(long fromId, long toId) {
+                return dao.deleteIdRangeWhereOwnerNotIn(fromId, toId, keep);
+            }
+        };
+    }
+
+    private abstract static class Base implements PurgeRunner.Store {
+        private final ReceivedBtDataDao dao;
+
+        Base(ReceivedBtDataDao dao) {
+            this.dao = dao;
+        }
+
+        @Nullable
+        @Override
+        public Long minId() {
+            return dao.getMinId();
+        }
+
+        @Nullable
+        @Override
+        public Long maxId() {
+            return dao.getMaxId();
+        }
+    }
+}
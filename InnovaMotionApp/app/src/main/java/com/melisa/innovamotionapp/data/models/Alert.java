@@ -0,0 +1,165 @@
+package com.melisa.innovamotionapp.data.models;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.melisa.innovamotionapp.data.database.AlertEntity;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Firestore POJO for a fall alert.
+ *
+ * Collection: alerts
+ * Document ID: {sensorId}_{timestamp}
+ *
+ * Written by the aggregator once per fall episode (see FallEpisodeDetector), so supervisors learn
+ * about falls from this small collection instead of decoding every mirrored reading. The ID is
+ * derived from the fall reading, so a retried write lands on the same document.
+ */
+public class Alert {
+    public static final String TYPE_FALL = "fall";
+
+    private String sensorId;
+    private String ownerUserId;
+    private String deviceAddress;
+    private String type;
+    private String receivedMsg;
+    private long timestamp;
+    private long createdAt;
+    private boolean acknowledged;
+    private String acknowledgedBy;
+    private long acknowledgedAt;
+
+    // Default constructor required for Firestore
+    public Alert() {}
+
+    public Alert(String sensorId, String ownerUserId, String deviceAddress, String receivedMsg, long timestamp) {
+        this.sensorId = sensorId;
+        this.ownerUserId = ownerUserId;
+        this.deviceAddress = deviceAddress;
+        this.type = TYPE_FALL;
+        this.receivedMsg = receivedMsg;
+        this.timestamp = timestamp;
+        this.createdAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Generate the document ID for an alert.
+     * Format: {sensorId}_{timestamp}
+     */
+    public static String generateDocumentId(String sensorId, long timestamp) {
+        return sensorId + "_" + timestamp;
+    }
+
+    /**
+     * Get the document ID for this alert.
+     */
+    public String getDocumentId() {
+        return generateDocumentId(sensorId, timestamp);
+    }
+
+    /**
+     * Create from Firestore document.
+     */
+    public static Alert fromDocument(DocumentSnapshot doc) {
+        if (doc == null || !doc.exists()) {
+            return null;
+        }
+        Alert alert = new Alert();
+        alert.sensorId = doc.getString("sensorId");
+        alert.ownerUserId = doc.getString("ownerUserId");
+        alert.deviceAddress = doc.getString("deviceAddress");
+        alert.type = doc.getString("type");
+        alert.receivedMsg = doc.getString("receivedMsg");
+
+        Long timestampVal = doc.getLong("timestamp");
+        alert.timestamp = timestampVal != null ? timestampVal : 0L;
+        Long createdVal = doc.getLong("createdAt");
+        alert.createdAt = createdVal != null ? createdVal : 0L;
+        Boolean ackVal = doc.getBoolean("acknowledged");
+        alert.acknowledged = ackVal != null && ackVal;
+        alert.acknowledgedBy = doc.getString("acknowledgedBy");
+        Long ackAtVal = doc.getLong("acknowledgedAt");
+        alert.acknowledgedAt = ackAtVal != null ? ackAtVal : 0L;
+
+        return alert;
+    }
+
+    /**
+     * Convert to Firestore document format (written with merge).
+     * Acknowledgement fields are left out, so a retried write never clears them.
+     */
+    public Map<String, Object> toFirestoreDocument() {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("sensorId", sensorId);
+        doc.put("ownerUserId", ownerUserId);
+        doc.put("deviceAddress", deviceAddress);
+        doc.put("type", type);
+        doc.put("receivedMsg", receivedMsg);
+        doc.put("timestamp", timestamp);
+        doc.put("createdAt", createdAt);
+        return doc;
+    }
+
+    /**
+     * Fields to update when a supervisor acknowledges an alert.
+     */
+    public static Map<String, Object> toAcknowledgement(String acknowledgedBy, long acknowledgedAt) {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("acknowledged", true);
+        doc.put("acknowledgedBy", acknowledgedBy);
+        doc.put("acknowledgedAt", acknowledgedAt);
+        return doc;
+    }
+
+    /**
+     * Convert to the local Room row.
+     */
+    public AlertEntity toEntity() {
+        return new AlertEntity(getDocumentId(), sensorId, ownerUserId != null ? ownerUserId : "unknown",
+                deviceAddress, type != null ? type : TYPE_FALL, receivedMsg, timestamp,
+                acknowledged, acknowledgedBy, acknowledgedAt);
+    }
+
+    // ========== Getters ==========
+
+    public String getSensorId() {
+        return sensorId;
+    }
+
+    public String getOwnerUserId() {
+        return ownerUserId;
+    }
+
+    public String getDeviceAddress() {
+        return deviceAddress;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getReceivedMsg() {
+        return receivedMsg;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public boolean isAcknowledged() {
+        return acknowledged;
+    }
+
+    public String getAcknowledgedBy() {
+        return acknowledgedBy;
+    }
+
+    public long getAcknowledgedAt() {
+        return acknowledgedAt;
+    }
+}
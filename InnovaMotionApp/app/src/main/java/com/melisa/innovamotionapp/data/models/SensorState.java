@@ -0,0 +1,120 @@
+package com.melisa.innovamotionapp.data.models;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Firestore POJO for the latest state of a sensor.
+ *
+ * Collection: sensor_state
+ * Document ID: {sensorId}
+ *
+ * Written by the aggregator together with each uploaded packet (throttled, see
+ * SensorStateThrottle), so a supervisor dashboard can listen to one small document per sensor
+ * instead of the raw reading stream.
+ */
+public class SensorState {
+    private String sensorId;
+    private String deviceAddress;
+    private String ownerUserId;
+    private String receivedMsg;
+    private long timestamp;
+    private boolean alert;
+    private long lastFallAt;
+    private long updatedAt;
+
+    // Default constructor required for Firestore
+    public SensorState() {}
+
+    public SensorState(String sensorId, String deviceAddress, String ownerUserId, String receivedMsg,
+                       long timestamp, boolean alert, long lastFallAt) {
+        this.sensorId = sensorId;
+        this.deviceAddress = deviceAddress;
+        this.ownerUserId = ownerUserId;
+        this.receivedMsg = receivedMsg;
+        this.timestamp = timestamp;
+        this.alert = alert;
+        this.lastFallAt = lastFallAt;
+        this.updatedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * Create from Firestore document.
+     */
+    public static SensorState fromDocument(DocumentSnapshot doc) {
+        if (doc == null || !doc.exists()) {
+            return null;
+        }
+        SensorState state = new SensorState();
+        state.sensorId = doc.getId();
+        state.deviceAddress = doc.getString("deviceAddress");
+        state.ownerUserId = doc.getString("ownerUserId");
+        state.receivedMsg = doc.getString("receivedMsg");
+
+        Long timestampVal = doc.getLong("timestamp");
+        state.timestamp = timestampVal != null ? timestampVal : 0L;
+        Boolean alertVal = doc.getBoolean("alert");
+        state.alert = alertVal != null && alertVal;
+        Long lastFallVal = doc.getLong("lastFallAt");
+        state.lastFallAt = lastFallVal != null ? lastFallVal : 0L;
+        Long updatedVal = doc.getLong("updatedAt");
+        state.updatedAt = updatedVal != null ? updatedVal : 0L;
+
+        return state;
+    }
+
+    /**
+     * Convert to Firestore document format (written with merge).
+     * lastFallAt is only included once a fall was seen, so it is never reset.
+     */
+    public Map<String, Object> toFirestoreDocument() {
+        Map<String, Object> doc = new HashMap<>();
+        doc.put("sensorId", sensorId);
+        doc.put("deviceAddress", deviceAddress);
+        doc.put("ownerUserId", ownerUserId);
+        doc.put("receivedMsg", receivedMsg);
+        doc.put("timestamp", timestamp);
+        doc.put("alert", alert);
+        if (lastFallAt > 0) {
+            doc.put("lastFallAt", lastFallAt);
+        }
+        doc.put("updatedAt", updatedAt);
+        return doc;
+    }
+
+    // ========== Getters ==========
+
+    public String getSensorId() {
+        return sensorId;
+    }
+
+    public String getDeviceAddress() {
+        return deviceAddress;
+    }
+
+    public String getOwnerUserId() {
+        return ownerUserId;
+    }
+
+    public String getReceivedMsg() {
+        return receivedMsg;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isAlert() {
+        return alert;
+    }
+
+    public long getLastFallAt() {
+        return lastFallAt;
+    }
+
+    public long getUpdatedAt() {
+        return updatedAt;
+    }
+}
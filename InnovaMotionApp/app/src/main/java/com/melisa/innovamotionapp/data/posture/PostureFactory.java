@@ -1,13 +1,12 @@
 package com.melisa.innovamotionapp.data.posture;
 
-import android.util.Log;
-
 import com.melisa.innovamotionapp.data.posture.types.FallingPosture;
 import com.melisa.innovamotionapp.data.posture.types.SittingPosture;
 import com.melisa.innovamotionapp.data.posture.types.StandingPosture;
 import com.melisa.innovamotionapp.data.posture.types.UnknownPosture;
 import com.melisa.innovamotionapp.data.posture.types.UnusedFootwearPosture;
 import com.melisa.innovamotionapp.data.posture.types.WalkingPosture;
+import com.melisa.innovamotionapp.utils.Logger;
 
 public class PostureFactory {
 
@@ -25,7 +24,7 @@ public class PostureFactory {
     public static Posture createPosture(String receivedData) {
         // Basic input validation: Check for null or empty string
         if (receivedData == null || receivedData.isEmpty()) {
-            Log.w(TAG, "Received data is null or empty. Returning UnknownPosture.");
+            Logger.w(Logger.Subsystem.POSTURE, TAG, "Received data is null or empty. Returning UnknownPosture.");
             return new UnknownPosture();
         }
 
@@ -36,23 +35,23 @@ public class PostureFactory {
         // Use a switch statement for string comparison.
         switch (normalizedData) {
             case "0x793248":
-                Log.d(TAG, "Matched " + normalizedData + ": Returning UnusedFootwearPosture.");
+                Logger.d(Logger.Subsystem.POSTURE, TAG, "Matched {}: Returning UnusedFootwearPosture.", normalizedData);
                 return new UnusedFootwearPosture();
             case "0xab3311": // Note: case is lowercase due to normalization
-                Log.d(TAG, "Matched " + normalizedData + ": Returning StandingPosture.");
+                Logger.d(Logger.Subsystem.POSTURE, TAG, "Matched {}: Returning StandingPosture.", normalizedData);
                 return new StandingPosture();
             case "0xac4312": // Note: case is lowercase due to normalization
-                Log.d(TAG, "Matched " + normalizedData + ": Returning SittingPosture.");
+                Logger.d(Logger.Subsystem.POSTURE, TAG, "Matched {}: Returning SittingPosture.", normalizedData);
                 return new SittingPosture();
             case "0xba3311": // Note: case is lowercase due to normalization
-                Log.d(TAG, "Matched " + normalizedData + ": Returning WalkingPosture.");
+                Logger.d(Logger.Subsystem.POSTURE, TAG, "Matched {}: Returning WalkingPosture.", normalizedData);
                 return new WalkingPosture();
             case "0xef0112": // Note: case is lowercase due to normalization
-                Log.d(TAG, "Matched " + normalizedData + ": Returning FallingPosture.");
+                Logger.d(Logger.Subsystem.POSTURE, TAG, "Matched {}: Returning FallingPosture.", normalizedData);
                 return new FallingPosture();
             default:
                 // Log when no match is found
-                Log.i(TAG, "No matching posture found for received data: \"" + receivedData + "\". Returning UnknownPosture.");
+                Logger.i(Logger.Subsystem.POSTURE, TAG, "No matching posture found for received data: \"{}\". Returning UnknownPosture.", receivedData);
                 return new UnknownPosture();
         }
     }
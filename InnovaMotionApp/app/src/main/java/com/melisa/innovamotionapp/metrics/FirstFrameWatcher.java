@@ -0,0 +1,87 @@
+package com.melisa.innovamotionapp.metrics;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * Reports the first frame drawn by the first started activity to {@link StartupTracer}, then
+ * unregisters itself. Register in Application.onCreate.
+ *
+ * The frame counts as drawn when the message posted from the decor view's first onDraw runs,
+ * i.e. after the draw pass that produced it.
+ */
+public final class FirstFrameWatcher implements Application.ActivityLifecycleCallbacks {
+
+    private final Application application;
+    private final StartupTracer tracer;
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private boolean watching;
+
+    public FirstFrameWatcher(@NonNull Application application, @NonNull StartupTracer tracer) {
+        this.application = application;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public void onActivityStarted(@NonNull Activity activity) {
+        if (watching || tracer.isFirstFrameDrawn()) {
+            return;
+        }
+        watching = true;
+        String name = activity.getClass().getSimpleName();
+        View decorView = activity.getWindow().getDecorView();
+        ViewTreeObserver.OnDrawListener listener = new ViewTreeObserver.OnDrawListener() {
+            private boolean drawn;
+
+            @Override
+            public void onDraw() {
+                if (drawn) {
+                    return;
+                }
+                drawn = true;
+                ViewTreeObserver.OnDrawListener self = this;
+                mainHandler.postAtFrontOfQueue(() -> {
+                    tracer.onFirstFrame(name);
+                    // Listeners cannot be removed from inside onDraw
+                    if (decorView.getViewTreeObserver().isAlive()) {
+                        decorView.getViewTreeObserver().removeOnDrawListener(self);
+                    }
+                    application.unregisterActivityLifecycleCallbacks(FirstFrameWatcher.this);
+                });
+            }
+        };
+        decorView.getViewTreeObserver().addOnDrawListener(listener);
+    }
+
+    @Override
+    public void onActivityCreated(@NonNull Activity activity, @Nullable Bundle savedInstanceState) {
+    }
+
+    @Override
+    public void onActivityResumed(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivityPaused(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivityStopped(@NonNull Activity activity) {
+    }
+
+    @Override
+    public void onActivitySaveInstanceState(@NonNull Activity activity, @NonNull Bundle outState) {
+    }
+
+    @Override
+    public void onActivityDestroyed(@NonNull Activity activity) {
+    }
+}
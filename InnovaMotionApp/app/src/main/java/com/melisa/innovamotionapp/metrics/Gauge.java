@@ -0,0 +1,45 @@
+package com.melisa.innovamotionapp.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Current value of a level (queue depth, buffered readings) and the highest value seen since the
+ * last reset. Thread-safe, allocation-free.
+ */
+public final class Gauge {
+
+    private final String name;
+    private final AtomicLong value = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    Gauge(@NonNull String name) {
+        this.name = name;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public void set(long newValue) {
+        value.set(newValue);
+        long seen = max.get();
+        while (newValue > seen && !max.compareAndSet(seen, newValue)) {
+            seen = max.get();
+        }
+    }
+
+    public long get() {
+        return value.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    void reset() {
+        max.set(value.get());
+    }
+}
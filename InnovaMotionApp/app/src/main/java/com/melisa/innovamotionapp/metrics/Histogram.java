@@ -0,0 +1,134 @@
+package com.melisa.innovamotionapp.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribution of non-negative values (latencies in nanoseconds, batch sizes) in HDR-style
+ * log-linear buckets: every power of two is split into {@value #SUB_BUCKETS} equal buckets, so any
+ * recorded value is reported within 1/16 (6.25%) of itself across the whole long range.
+ *
+ * {@link #record(long)} is a few atomic increments on a fixed array: thread-safe and allocation-free,
+ * cheap enough for per-line and per-batch hot paths. Percentiles are read from a live (not
+ * atomic) view of the buckets, which is fine for monitoring.
+ */
+public final class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    /** Values below SUB_BUCKETS get exact buckets; each higher power of two gets SUB_BUCKETS */
+    static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final String name;
+    private final boolean nanos;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Usually obtained from {@link MetricsRegistry}; standalone for per-key stats kept elsewhere.
+     *
+     * @param nanos True if values are durations in nanoseconds (shown in ms)
+     */
+    public Histogram(@NonNull String name, boolean nanos) {
+        this.name = name;
+        this.nanos = nanos;
+    }
+
+    @NonNull
+    public String getName() {
+        return name;
+    }
+
+    public boolean isNanos() {
+        return nanos;
+    }
+
+    /**
+     * Record one value; negative values count as 0.
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        buckets.incrementAndGet(bucketIndex(v));
+        count.incrementAndGet();
+        sum.addAndGet(v);
+        long seen = max.get();
+        while (v > seen && !max.compareAndSet(seen, v)) {
+            seen = max.get();
+        }
+    }
+
+    /**
+     * Record the time elapsed since {@code startNanos} (a {@link System#nanoTime()} value).
+     */
+    public void recordSince(long startNanos) {
+        record(System.nanoTime() - startNanos);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        long n = count.get();
+        return n > 0 ? (double) sum.get() / n : 0;
+    }
+
+    /**
+     * @param percentile 0..100
+     * @return Upper bound of the bucket holding the percentile (never above the max), 0 if empty
+     */
+    public long getPercentile(double percentile) {
+        long n = count.get();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        sum.set(0);
+        max.set(0);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKETS;
+        return (SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    static long bucketUpperBound(int index) {
+        return index + 1 < BUCKET_COUNT ? bucketLowerBound(index + 1) - 1 : Long.MAX_VALUE;
+    }
+}
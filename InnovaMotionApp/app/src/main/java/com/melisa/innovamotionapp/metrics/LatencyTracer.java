@@ -0,0 +1,96 @@
+package com.melisa.innovamotionapp.metrics;
+
+import androidx.annotation.NonNull;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.utils.Constants;
+import com.melisa.innovamotionapp.utils.SensorLiveState;
+
+import java.util.List;
+
+/**
+ * Records the stage latencies of {@link ReadingTrace}s into the trace.* histograms of
+ * {@link Metrics}, so both aggregator and supervisor get per-stage percentiles in the developer
+ * panel and metrics dumps.
+ *
+ * Aggregator: read -> packet -> Room commit -> Firestore ack, and arrival -> UI.
+ * Supervisor: Firestore server commit -> snapshot, aggregator read -> snapshot, snapshot -> UI,
+ * and aggregator read -> UI (the "how long until the supervisor sees the fall" number).
+ *
+ * A stage longer than {@link Constants#TRACE_MAX_STAGE_MS} is catch-up (backfill, offline queue
+ * drained later), not live latency; it is counted in {@link Metrics#TRACE_SKIPPED} instead.
+ */
+public final class LatencyTracer {
+
+    private LatencyTracer() {
+    }
+
+    /**
+     * A packet completed: start the trace of one of its readings.
+     */
+    @NonNull
+    public static ReadingTrace onPacketComplete(long readAt, long packetAt) {
+        ReadingTrace trace = new ReadingTrace(readAt);
+        trace.setPacketAt(packetAt);
+        stage(Metrics.TRACE_READ_TO_PACKET, readAt, packetAt);
+        return trace;
+    }
+
+    /**
+     * A batch was inserted into Room on the aggregator.
+     */
+    public static void onRoomCommitted(@NonNull List<ReceivedBtDataEntity> batch, long nowMs) {
+        for (ReceivedBtDataEntity entity : batch) {
+            ReadingTrace trace = entity.getTrace();
+            if (trace != null) {
+                trace.setRoomAt(nowMs);
+                stage(Metrics.TRACE_PACKET_TO_ROOM, trace.getPacketAt(), nowMs);
+            }
+        }
+    }
+
+    /**
+     * Firestore acknowledged the commit of a batch.
+     */
+    public static void onFirestoreCommitted(@NonNull List<ReceivedBtDataEntity> batch, long nowMs) {
+        for (ReceivedBtDataEntity entity : batch) {
+            ReadingTrace trace = entity.getTrace();
+            if (trace != null) {
+                stage(Metrics.TRACE_ROOM_TO_FIRESTORE, trace.getRoomAt(), nowMs);
+            }
+        }
+    }
+
+    /**
+     * A supervisor mirror delivered the reading's document.
+     */
+    public static void onSnapshotReceived(@NonNull ReadingTrace trace, long nowMs) {
+        trace.setSnapshotAt(nowMs);
+        stage(Metrics.TRACE_SERVER_TO_SNAPSHOT, trace.getServerAt(), nowMs);
+        stage(Metrics.TRACE_READ_TO_SNAPSHOT, trace.getReadAt(), nowMs);
+    }
+
+    /**
+     * A sensor state was handed to the UI's observers.
+     */
+    public static void onUiBound(@NonNull SensorLiveState state, long nowMs) {
+        stage(Metrics.TRACE_ARRIVAL_TO_UI, state.getArrivedAt(), nowMs);
+        stage(Metrics.TRACE_READ_TO_UI, state.getTimestamp(), nowMs);
+    }
+
+    /**
+     * Record {@code toMs - fromMs} if both are stamped and the gap is live latency.
+     * Negative gaps (clock offset between devices) are recorded as 0.
+     */
+    static void stage(@NonNull Histogram histogram, long fromMs, long toMs) {
+        if (fromMs <= 0 || toMs <= 0) {
+            return;
+        }
+        long deltaMs = toMs - fromMs;
+        if (deltaMs > Constants.TRACE_MAX_STAGE_MS) {
+            Metrics.TRACE_SKIPPED.increment();
+            return;
+        }
+        histogram.record(Math.max(0, deltaMs) * 1_000_000L);
+    }
+}
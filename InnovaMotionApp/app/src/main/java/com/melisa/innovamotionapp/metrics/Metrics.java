@@ -0,0 +1,148 @@
+package com.melisa.innovamotionapp.metrics;
+
+/**
+ * The app's metrics, created once in the shared {@link MetricsRegistry}.
+ *
+ * Names are "stage.what": bt (Bluetooth reader thread), parser (PacketParser), batch
+ * (ReadingBatchWriter), room (local inserts), firestore (upload batches and offline queue),
+ * trace (per-reading stage latencies, see {@link LatencyTracer}), startup (see {@link StartupTracer};
+ * its per-singleton "startup.init.&lt;name&gt;" histograms are created as singletons initialize),
+ * cache (AssignmentCache and the supervisor autocomplete; hit rate = local / (local + remote)),
+ * alerts (FallAlertService: fall episodes raised by aggregators and delivered to supervisors).
+ */
+public final class Metrics {
+
+    private static final MetricsRegistry REGISTRY = MetricsRegistry.getInstance();
+
+    // ========== Bluetooth ==========
+
+    /** Lines read from the RFCOMM socket */
+    public static final Counter BT_LINES = REGISTRY.counter("bt.lines");
+
+    /** Lines cut to the maximum line length */
+    public static final Counter BT_LINES_TRUNCATED = REGISTRY.counter("bt.lines_truncated");
+
+    /** Time the reader thread spends handling one line (parse, ingest) before reading the next */
+    public static final Histogram BT_LINE_HANDLING = REGISTRY.latency("bt.line_handling");
+
+    // ========== Parser ==========
+
+    /** Completed packets (END_PACKET received) */
+    public static final Counter PARSER_PACKETS = REGISTRY.counter("parser.packets");
+
+    /** Readings per completed packet */
+    public static final Histogram PARSER_PACKET_SIZE = REGISTRY.histogram("parser.packet_size");
+
+    /** Lines that could not be parsed */
+    public static final Counter PARSER_MALFORMED = REGISTRY.counter("parser.malformed");
+
+    /** Buffers discarded because END_PACKET never came */
+    public static final Counter PARSER_OVERFLOWS = REGISTRY.counter("parser.overflows");
+
+    // ========== Batch writer ==========
+
+    /** Readings per flushed batch */
+    public static final Histogram BATCH_FLUSH_SIZE = REGISTRY.histogram("batch.flush_size");
+
+    /** Time spent writing one batch (Room insert plus sync hand-off) */
+    public static final Histogram BATCH_FLUSH_LATENCY = REGISTRY.latency("batch.flush_latency");
+
+    /** Readings waiting for the next flush, sampled at each flush */
+    public static final Gauge BATCH_QUEUE_DEPTH = REGISTRY.gauge("batch.queue_depth");
+
+    /** Batches whose write threw (the readings are re-queued for the next flush) */
+    public static final Counter BATCH_FLUSH_FAILURES = REGISTRY.counter("batch.flush_failures");
+
+    /** Readings dropped because failed writes pushed the queue past its limit */
+    public static final Counter BATCH_READINGS_DROPPED = REGISTRY.counter("batch.readings_dropped");
+
+    // ========== Room ==========
+
+    /** Room insertAll time for one batch */
+    public static final Histogram ROOM_INSERT_LATENCY = REGISTRY.latency("room.insert_latency");
+
+    /** Statements over the slow-query threshold (debuggable builds, see QueryProfiler) */
+    public static final Counter ROOM_SLOW_QUERIES = REGISTRY.counter("room.slow_queries");
+
+    // ========== Firestore ==========
+
+    /** Time from WriteBatch.commit() to its success callback */
+    public static final Histogram FIRESTORE_COMMIT_LATENCY = REGISTRY.latency("firestore.commit_latency");
+
+    /** Documents in successfully committed batches */
+    public static final Counter FIRESTORE_DOCS_COMMITTED = REGISTRY.counter("firestore.docs_committed");
+
+    /** Failed commits */
+    public static final Counter FIRESTORE_COMMIT_FAILURES = REGISTRY.counter("firestore.commit_failures");
+
+    /** Packets queued while offline */
+    public static final Gauge FIRESTORE_OFFLINE_QUEUE = REGISTRY.gauge("firestore.offline_queue");
+
+    /** Packets dropped because the offline queue was full or retries ran out */
+    public static final Counter FIRESTORE_QUEUE_DROPS = REGISTRY.counter("firestore.queue_drops");
+
+    // ========== Reading trace ==========
+
+    /** Socket read to END_PACKET (aggregator) */
+    public static final Histogram TRACE_READ_TO_PACKET = REGISTRY.latency("trace.1_read_to_packet");
+
+    /** END_PACKET to Room commit, including the batch writer's flush interval (aggregator) */
+    public static final Histogram TRACE_PACKET_TO_ROOM = REGISTRY.latency("trace.2_packet_to_room");
+
+    /** Room commit to Firestore commit acknowledged (aggregator) */
+    public static final Histogram TRACE_ROOM_TO_FIRESTORE = REGISTRY.latency("trace.3_room_to_firestore");
+
+    /** Firestore server commit to snapshot received (supervisor; includes its clock offset) */
+    public static final Histogram TRACE_SERVER_TO_SNAPSHOT = REGISTRY.latency("trace.4_server_to_snapshot");
+
+    /** Aggregator socket read to snapshot received (supervisor; includes the clock offset) */
+    public static final Histogram TRACE_READ_TO_SNAPSHOT = REGISTRY.latency("trace.5_read_to_snapshot");
+
+    /** Arrival on this device (packet or snapshot) to UI observers notified */
+    public static final Histogram TRACE_ARRIVAL_TO_UI = REGISTRY.latency("trace.6_arrival_to_ui");
+
+    /** Socket read to UI observers notified: end to end on a supervisor */
+    public static final Histogram TRACE_READ_TO_UI = REGISTRY.latency("trace.7_read_to_ui");
+
+    /** Stages too long to be live latency (catch-up after offline or backfill), not recorded */
+    public static final Counter TRACE_SKIPPED = REGISTRY.counter("trace.skipped_catch_up");
+
+    // ========== Startup ==========
+
+    /** Process start to the first frame of the first activity */
+    public static final Histogram STARTUP_TIME_TO_FIRST_FRAME = REGISTRY.latency("startup.time_to_first_frame");
+
+    // ========== Caches ==========
+
+    /** Assignment lookups answered from Room without a Firestore read */
+    public static final Counter CACHE_ASSIGNMENT_HITS = REGISTRY.counter("cache.assignment_hits");
+
+    /** Full assignment queries sent to Firestore (cold or expired scope) */
+    public static final Counter CACHE_ASSIGNMENT_FETCHES = REGISTRY.counter("cache.assignment_fetches");
+
+    /** Assignment document changes applied from the snapshot listener */
+    public static final Counter CACHE_ASSIGNMENT_DELTAS = REGISTRY.counter("cache.assignment_deltas");
+
+    /** 'users/{uid}' reads issued to resolve directory entries */
+    public static final Counter CACHE_DIRECTORY_FETCHES = REGISTRY.counter("cache.directory_fetches");
+
+    /** Email autocomplete queries answered from the local supervisor index */
+    public static final Counter CACHE_AUTOCOMPLETE_LOCAL = REGISTRY.counter("cache.autocomplete_local");
+
+    /** Email autocomplete queries sent to Firestore because the local index was cold */
+    public static final Counter CACHE_AUTOCOMPLETE_REMOTE = REGISTRY.counter("cache.autocomplete_remote");
+
+    // ========== Alerts ==========
+
+    /** Fall episodes written to the alerts collection (aggregator) */
+    public static final Counter ALERTS_RAISED = REGISTRY.counter("alerts.raised");
+
+    /** New alerts received by the alerts listener (supervisor) */
+    public static final Counter ALERTS_RECEIVED = REGISTRY.counter("alerts.received");
+
+    /** Alert created on the aggregator to snapshot received (supervisor; includes the clock offset) */
+    public static final Histogram ALERTS_DELIVERY_LATENCY = REGISTRY.latency("alerts.delivery_latency");
+
+    private Metrics() {
+    }
+}
@@ -0,0 +1,61 @@
+package com.melisa.innovamotionapp.metrics;
+
+import android.content.Context;
+import android.os.Build;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.melisa.innovamotionapp.utils.Constants;
+import com.melisa.innovamotionapp.utils.Logger;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Writes {@link MetricsRegistry} snapshots to text files under the app's
+ * {@link Constants#METRICS_DIRECTORY} directory for offline analysis (adb pull).
+ */
+public final class MetricsDumper {
+
+    private static final String TAG = "MetricsDumper";
+
+    private MetricsDumper() {
+    }
+
+    /**
+     * Dump the current snapshot to a new timestamped file.
+     *
+     * @return The file written
+     */
+    @WorkerThread
+    @NonNull
+    public static File dump(@NonNull Context context) throws IOException {
+        File dir = context.getExternalFilesDir(Constants.METRICS_DIRECTORY);
+        if (dir == null) {
+            // External storage unavailable
+            dir = new File(context.getFilesDir(), Constants.METRICS_DIRECTORY);
+        }
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Cannot create metrics directory " + dir);
+        }
+
+        long now = System.currentTimeMillis();
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date(now));
+        File file = new File(dir, "metrics_" + stamp + ".txt");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write("# " + Build.MANUFACTURER + " " + Build.MODEL + ", API " + Build.VERSION.SDK_INT
+                    + ", " + new Date(now) + "\n");
+            MetricsRegistry.getInstance().writeTo(writer, now);
+        }
+        Logger.i(TAG, "Metrics written to " + file);
+        return file;
+    }
+}
@@ -0,0 +1,135 @@
+package com.melisa.innovamotionapp.metrics;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process registry of named counters, gauges and histograms.
+ *
+ * Metrics are created once (see {@link Metrics}) and held by the code that updates them, so the
+ * hot path never looks anything up or allocates. {@link #writeTo} renders a plain-text snapshot
+ * for the developer panel and for dump files.
+ *
+ * Tests create their own registry instead of sharing {@link #getInstance()}.
+ */
+public final class MetricsRegistry {
+
+    private static volatile MetricsRegistry instance;
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Gauge> gauges = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private volatile long resetAtMs = System.currentTimeMillis();
+
+    MetricsRegistry() {
+    }
+
+    /**
+     * Get the singleton instance.
+     */
+    public static MetricsRegistry getInstance() {
+        if (instance == null) {
+            synchronized (MetricsRegistry.class) {
+                if (instance == null) {
+                    instance = new MetricsRegistry();
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Get or create a counter.
+     */
+    @NonNull
+    public Counter counter(@NonNull String name) {
+        return counters.computeIfAbsent(name, Counter::new);
+    }
+
+    /**
+     * Get or create a gauge.
+     */
+    @NonNull
+    public Gauge gauge(@NonNull String name) {
+        return gauges.computeIfAbsent(name, Gauge::new);
+    }
+
+    /**
+     * Get or create a histogram of plain values (sizes, depths).
+     */
+    @NonNull
+    public Histogram histogram(@NonNull String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram(n, false));
+    }
+
+    /**
+     * Get or create a histogram of durations recorded in nanoseconds.
+     */
+    @NonNull
+    public Histogram latency(@NonNull String name) {
+        return histograms.computeIfAbsent(name, n -> new Histogram(n, true));
+    }
+
+    /**
+     * Zero counters and histograms and restart gauge maxima (gauges keep their current value).
+     */
+    public void reset() {
+        for (Counter counter : counters.values()) {
+            counter.reset();
+        }
+        for (Gauge gauge : gauges.values()) {
+            gauge.reset();
+        }
+        for (Histogram histogram : histograms.values()) {
+            histogram.reset();
+        }
+        resetAtMs = System.currentTimeMillis();
+    }
+
+    /**
+     * Write a snapshot, one metric per line sorted by name.
+     *
+     * @param nowMs Wall clock time of the snapshot (epoch ms)
+     */
+    public void writeTo(@NonNull Appendable out, long nowMs) throws IOException {
+        out.append(String.format(Locale.US, "# window %d s%n", Math.max(0, nowMs - resetAtMs) / 1000));
+        for (Counter counter : new TreeMap<>(counters).values()) {
+            out.append(String.format(Locale.US, "%s %d%n", counter.getName(), counter.get()));
+        }
+        for (Gauge gauge : new TreeMap<>(gauges).values()) {
+            out.append(String.format(Locale.US, "%s %d (max %d)%n", gauge.getName(), gauge.get(), gauge.getMax()));
+        }
+        for (Histogram histogram : new TreeMap<>(histograms).values()) {
+            if (histogram.isNanos()) {
+                out.append(String.format(Locale.US, "%s n=%d mean=%.2f p50=%.2f p95=%.2f p99=%.2f max=%.2f ms%n",
+                        histogram.getName(), histogram.getCount(), histogram.getMean() / 1e6,
+                        histogram.getPercentile(50) / 1e6, histogram.getPercentile(95) / 1e6,
+                        histogram.getPercentile(99) / 1e6, histogram.getMax() / 1e6));
+            } else {
+                out.append(String.format(Locale.US, "%s n=%d mean=%.1f p50=%d p95=%d p99=%d max=%d%n",
+                        histogram.getName(), histogram.getCount(), histogram.getMean(),
+                        histogram.getPercentile(50), histogram.getPercentile(95),
+                        histogram.getPercentile(99), histogram.getMax()));
+            }
+        }
+    }
+
+    /**
+     * Snapshot as a string (see {@link #writeTo}).
+     */
+    @NonNull
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb, System.currentTimeMillis());
+        } catch (IOException e) {
+            // StringBuilder does not throw
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,131 @@
+package com.melisa.innovamotionapp.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Wall-clock stamps (epoch ms) of one reading as it moves through the pipeline:
+ * read from the socket and completed as a packet on the aggregator, committed to its Room
+ * database, committed to Firestore (server time), received in a supervisor's snapshot.
+ *
+ * The aggregator-side stamps travel in the reading's Firestore document (see
+ * {@link #toFirestoreMap()}), so a supervisor can measure the whole path. Stamps taken on
+ * different devices include their clock offset. 0 means "not stamped".
+ *
+ * Written by one pipeline stage at a time (each hands the reading to the next), not shared.
+ */
+public final class ReadingTrace {
+
+    /** Firestore field holding {@link #toFirestoreMap()} */
+    public static final String FIELD_TRACE = "trace";
+    /** Firestore field holding the server commit time (FieldValue.serverTimestamp()) */
+    public static final String FIELD_TRACE_SERVER = "traceServer";
+
+    private static final String KEY_READ = "read";
+    private static final String KEY_PACKET = "packet";
+    private static final String KEY_ROOM = "room";
+
+    private final long readAt;
+    private long packetAt;
+    private long roomAt;
+    private long serverAt;
+    private long snapshotAt;
+
+    /**
+     * @param readAt When the reading was read from the socket (its timestamp)
+     */
+    public ReadingTrace(long readAt) {
+        this.readAt = readAt;
+    }
+
+    public long getReadAt() {
+        return readAt;
+    }
+
+    public long getPacketAt() {
+        return packetAt;
+    }
+
+    public void setPacketAt(long packetAt) {
+        this.packetAt = packetAt;
+    }
+
+    public long getRoomAt() {
+        return roomAt;
+    }
+
+    public void setRoomAt(long roomAt) {
+        this.roomAt = roomAt;
+    }
+
+    /**
+     * @return Firestore server commit time, as read back by a supervisor
+     */
+    public long getServerAt() {
+        return serverAt;
+    }
+
+    public void setServerAt(long serverAt) {
+        this.serverAt = serverAt;
+    }
+
+    public long getSnapshotAt() {
+        return snapshotAt;
+    }
+
+    public void setSnapshotAt(long snapshotAt) {
+        this.snapshotAt = snapshotAt;
+    }
+
+    /**
+     * @return When the reading reached this device: snapshot on a supervisor, packet on the aggregator
+     */
+    public long getArrivedAt() {
+        return snapshotAt > 0 ? snapshotAt : packetAt;
+    }
+
+    /**
+     * Aggregator-side stamps for the Firestore document.
+     */
+    @NonNull
+    public Map<String, Object> toFirestoreMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put(KEY_READ, readAt);
+        map.put(KEY_PACKET, packetAt);
+        map.put(KEY_ROOM, roomAt);
+        return map;
+    }
+
+    /**
+     * @return Trace rebuilt from a document's {@link #FIELD_TRACE} value, or null if absent/invalid
+     */
+    @Nullable
+    public static ReadingTrace fromFirestoreMap(@Nullable Object value) {
+        if (!(value instanceof Map)) {
+            return null;
+        }
+        Map<?, ?> map = (Map<?, ?>) value;
+        long read = asLong(map.get(KEY_READ));
+        if (read <= 0) {
+            return null;
+        }
+        ReadingTrace trace = new ReadingTrace(read);
+        trace.packetAt = asLong(map.get(KEY_PACKET));
+        trace.roomAt = asLong(map.get(KEY_ROOM));
+        return trace;
+    }
+
+    private static long asLong(@Nullable Object value) {
+        return value instanceof Number ? ((Number) value).longValue() : 0L;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "ReadingTrace{read=" + readAt + ", packet=" + packetAt + ", room=" + roomAt
+                + ", server=" + serverAt + ", snapshot=" + snapshotAt + "}";
+    }
+}
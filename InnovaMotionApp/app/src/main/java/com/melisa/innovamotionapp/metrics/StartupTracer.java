@@ -0,0 +1,254 @@
+package com.melisa.innovamotionapp.metrics;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Startup path of the process: time to the first drawn frame and the time each singleton spends
+ * in its construction, plus a queue of work deferred until after the first frame.
+ *
+ * Singletons wrap their construction in {@link #begin()} / {@link #endInit}; each init goes to a
+ * "startup.init.&lt;name&gt;" histogram of the shared registry and to the timeline (offset from
+ * process start, duration, thread). Durations are inclusive: SessionGate's includes the
+ * FirestoreSyncService it creates, which the timeline shows as a nested entry.
+ *
+ * GlobalData reports process start and the first frame; non-essential initialization is queued
+ * with {@link #runAfterFirstFrame} so it does not compete with the first screen. Processes that
+ * never draw (a job or service start) release the queue with {@link #releaseDeferred()}.
+ *
+ * The {@link Clock} is injected, so tests step time by hand.
+ */
+public final class StartupTracer {
+
+    /**
+     * Monotonic clock in nanoseconds (System.nanoTime outside tests).
+     */
+    interface Clock {
+        long nanoTime();
+    }
+
+    /**
+     * One singleton initialization.
+     */
+    public static final class InitEvent {
+        private final String name;
+        private final long offsetNanos;
+        private final long durationNanos;
+        private final String thread;
+        private final boolean beforeFirstFrame;
+
+        InitEvent(String name, long offsetNanos, long durationNanos, String thread, boolean beforeFirstFrame) {
+            this.name = name;
+            this.offsetNanos = offsetNanos;
+            this.durationNanos = durationNanos;
+            this.thread = thread;
+            this.beforeFirstFrame = beforeFirstFrame;
+        }
+
+        @NonNull
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * @return Start of the init, from process start
+         */
+        public long getOffsetNanos() {
+            return offsetNanos;
+        }
+
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        @NonNull
+        public String getThread() {
+            return thread;
+        }
+
+        public boolean isBeforeFirstFrame() {
+            return beforeFirstFrame;
+        }
+    }
+
+    private static volatile StartupTracer instance;
+
+    private final Clock clock;
+    private final MetricsRegistry registry;
+    private final List<InitEvent> events = new ArrayList<>();
+    private final List<Runnable> deferred = new ArrayList<>();
+    private long originNanos;
+    private long firstFrameNanos = -1;
+    private String firstActivity;
+    private boolean released;
+
+    StartupTracer(@NonNull Clock clock, @NonNull MetricsRegistry registry) {
+        this.clock = clock;
+        this.registry = registry;
+        this.originNanos = clock.nanoTime();
+    }
+
+    /**
+     * Get the singleton instance.
+     */
+    public static StartupTracer getInstance() {
+        if (instance == null) {
+            synchronized (StartupTracer.class) {
+                if (instance == null) {
+                    instance = new StartupTracer(System::nanoTime, MetricsRegistry.getInstance());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Set the timeline origin to process start (Application.onCreate).
+     *
+     * @param sinceProcessStartMs Time the process has been running so far
+     */
+    public synchronized void onProcessStart(long sinceProcessStartMs) {
+        originNanos = clock.nanoTime() - Math.max(0, sinceProcessStartMs) * 1_000_000L;
+    }
+
+    /**
+     * @return Start time to pass to {@link #endInit}
+     */
+    public long begin() {
+        return clock.nanoTime();
+    }
+
+    /**
+     * A singleton finished its construction on the current thread.
+     *
+     * @param beginNanos Value of {@link #begin()} taken before construction
+     */
+    public void endInit(@NonNull String name, long beginNanos) {
+        long duration = clock.nanoTime() - beginNanos;
+        registry.latency("startup.init." + name).record(duration);
+        synchronized (this) {
+            events.add(new InitEvent(name, beginNanos - originNanos, duration,
+                    Thread.currentThread().getName(), firstFrameNanos < 0));
+        }
+    }
+
+    /**
+     * The first activity drew its first frame: record time to first frame and run deferred work.
+     * Later calls are ignored.
+     */
+    public void onFirstFrame(@NonNull String activity) {
+        synchronized (this) {
+            if (firstFrameNanos >= 0) {
+                return;
+            }
+            firstFrameNanos = clock.nanoTime();
+            firstActivity = activity;
+        }
+        Metrics.STARTUP_TIME_TO_FIRST_FRAME.record(getTimeToFirstFrameNanos());
+        releaseDeferred();
+    }
+
+    /**
+     * Run deferred work now without a first frame (the process started for a job or service and
+     * shows no activity). Idempotent.
+     */
+    public void releaseDeferred() {
+        List<Runnable> tasks;
+        synchronized (this) {
+            if (released) {
+                return;
+            }
+            released = true;
+            tasks = new ArrayList<>(deferred);
+            deferred.clear();
+        }
+        for (Runnable task : tasks) {
+            task.run();
+        }
+    }
+
+    /**
+     * Run a task once the first frame is drawn (or the deferred queue was released), on the
+     * thread that reports it; runs it immediately if that already happened. Tasks that take more
+     * than a few milliseconds should hand their work to a background thread.
+     */
+    public void runAfterFirstFrame(@NonNull Runnable task) {
+        synchronized (this) {
+            if (!released) {
+                deferred.add(task);
+                return;
+            }
+        }
+        task.run();
+    }
+
+    public synchronized boolean isFirstFrameDrawn() {
+        return firstFrameNanos >= 0;
+    }
+
+    /**
+     * @return Process start to first frame, or -1 before the first frame
+     */
+    public synchronized long getTimeToFirstFrameNanos() {
+        return firstFrameNanos >= 0 ? firstFrameNanos - originNanos : -1;
+    }
+
+    /**
+     * @return Activity that drew the first frame, or null before it
+     */
+    @Nullable
+    public synchronized String getFirstActivity() {
+        return firstActivity;
+    }
+
+    /**
+     * @return Initializations in the order they finished
+     */
+    @NonNull
+    public synchronized List<InitEvent> getEvents() {
+        return new ArrayList<>(events);
+    }
+
+    /**
+     * Write the timeline: time to first frame, then one line per init with its offset from process
+     * start, duration and thread; inits that blocked the main thread before the first frame are
+     * marked.
+     */
+    public void writeTo(@NonNull Appendable out) throws IOException {
+        List<InitEvent> snapshot;
+        long ttff;
+        String activity;
+        synchronized (this) {
+            snapshot = new ArrayList<>(events);
+            ttff = getTimeToFirstFrameNanos();
+            activity = firstActivity;
+        }
+        if (ttff >= 0) {
+            out.append(String.format(Locale.US, "first frame %.1f ms (%s)%n", ttff / 1e6, activity));
+        } else {
+            out.append("first frame: not drawn\n");
+        }
+        for (InitEvent event : snapshot) {
+            boolean blocking = event.isBeforeFirstFrame() && "main".equals(event.getThread());
+            out.append(String.format(Locale.US, "+%.1f ms %s %.2f ms [%s]%s%n",
+                    event.getOffsetNanos() / 1e6, event.getName(), event.getDurationNanos() / 1e6,
+                    event.getThread(), blocking ? " BLOCKED FIRST FRAME" : ""));
+        }
+    }
+
+    @NonNull
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+        }
+        return sb.toString();
+    }
+}
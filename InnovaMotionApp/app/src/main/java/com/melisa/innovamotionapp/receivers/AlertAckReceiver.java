@@ -0,0 +1,29 @@
+package com.melisa.innovamotionapp.receivers;
+
+import android.app.NotificationManager;
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+
+import com.melisa.innovamotionapp.sync.FallAlertService;
+import com.melisa.innovamotionapp.utils.NotificationConfig;
+
+/**
+ * Handles the "Acknowledge" action of a fall notification: acknowledges the alert and
+ * dismisses the notification.
+ */
+public class AlertAckReceiver extends BroadcastReceiver {
+
+    @Override
+    public void onReceive(Context context, Intent intent) {
+        if (!NotificationConfig.ACTION_ACK_FALL.equals(intent.getAction())) {
+            return;
+        }
+        String alertId = intent.getStringExtra(NotificationConfig.EXTRA_ALERT_ID);
+        if (alertId != null) {
+            FallAlertService.getInstance(context).acknowledge(alertId);
+        }
+        NotificationManager nm = (NotificationManager) context.getSystemService(Context.NOTIFICATION_SERVICE);
+        nm.cancel(intent.getIntExtra(NotificationConfig.EXTRA_NOTIFICATION_ID, 0));
+    }
+}
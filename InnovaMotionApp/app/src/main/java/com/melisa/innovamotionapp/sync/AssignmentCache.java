@@ -0,0 +1,427 @@
+package com.melisa.innovamotionapp.sync;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.melisa.innovamotionapp.data.database.CachedAssignment;
+import com.melisa.innovamotionapp.data.database.CachedAssignmentDao;
+import com.melisa.innovamotionapp.data.database.DirectoryUser;
+import com.melisa.innovamotionapp.data.database.DirectoryUserDao;
+import com.melisa.innovamotionapp.data.database.InnovaDatabase;
+import com.melisa.innovamotionapp.data.models.Assignment;
+import com.melisa.innovamotionapp.metrics.Metrics;
+import com.melisa.innovamotionapp.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local cache of the 'assignments' collection and of the supervisor directory.
+ *
+ * Assignment lookups (sensors of a supervisor, supervisors of an aggregator's sensors) are
+ * answered from Room while the scope is fresh: kept live by the session's snapshot listener, or
+ * within {@link Constants#ASSIGNMENT_CACHE_TTL_MS} of the last full query. After the listener's
+ * first server snapshot only changed documents are read. Supervisor emails come from the
+ * directory table; only users missing from it, or older than
+ * {@link Constants#DIRECTORY_CACHE_TTL_MS}, are fetched from 'users/{uid}'.
+ *
+ * Thread-safe singleton - database work runs on a background executor, callbacks on the main thread.
+ */
+public class AssignmentCache {
+    private static final String TAG = "AssignmentCache";
+    private static final String PREFS_NAME = "assignment_cache";
+
+    /**
+     * Which side of the assignment a cached query is keyed by.
+     */
+    public enum Scope {
+        /** Sensors a supervisor may monitor */
+        SUPERVISOR("supervisorUid"),
+        /** Assignments an aggregator created */
+        AGGREGATOR("assignedBy");
+
+        final String field;
+
+        Scope(String field) {
+            this.field = field;
+        }
+    }
+
+    /**
+     * Callback for assignment lookups.
+     */
+    public interface AssignmentsCallback {
+        void onResult(@NonNull List<CachedAssignment> assignments);
+        void onError(String error);
+    }
+
+    /**
+     * Callback for sensor ID -> supervisor emails lookups.
+     */
+    public interface EmailMapCallback {
+        void onResult(@NonNull Map<String, List<String>> sensorToSupervisorEmails);
+        void onError(String error);
+    }
+
+    private static volatile AssignmentCache instance;
+
+    private final InnovaDatabase database;
+    private final CachedAssignmentDao assignmentDao;
+    private final DirectoryUserDao directoryDao;
+    private final FirebaseFirestore firestore;
+    private final ExecutorService executor;
+    private final Handler mainHandler;
+    private final CacheFreshness freshness;
+    private final Set<String> directoryInFlight = ConcurrentHashMap.newKeySet();
+
+    private ListenerRegistration listener;
+    private volatile String listenerKey;
+
+    private AssignmentCache(Context context) {
+        this.database = InnovaDatabase.getInstance(context);
+        this.assignmentDao = database.cachedAssignmentDao();
+        this.directoryDao = database.directoryUserDao();
+        this.firestore = FirebaseFirestore.getInstance();
+        this.executor = Executors.newSingleThreadExecutor();
+        this.mainHandler = new Handler(Looper.getMainLooper());
+        this.freshness = new CacheFreshness(new PrefsFreshnessStore(context, PREFS_NAME), Constants.ASSIGNMENT_CACHE_TTL_MS);
+    }
+
+    public static AssignmentCache getInstance(Context context) {
+        if (instance == null) {
+            synchronized (AssignmentCache.class) {
+                if (instance == null) {
+                    instance = new AssignmentCache(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    private static String key(Scope scope, String uid) {
+        return scope.name() + ":" + uid;
+    }
+
+    // ========== Assignments ==========
+
+    /**
+     * Assignments of a scope: from Room if fresh, otherwise from one Firestore query that
+     * refills the scope. If Firestore fails, the (possibly stale) cached rows are returned.
+     *
+     * @param forceRefresh Query Firestore even if the cached scope is fresh (manual sync)
+     */
+    public void getAssignments(@NonNull Scope scope, @NonNull String uid, boolean forceRefresh,
+                               @NonNull AssignmentsCallback callback) {
+        String key = key(scope, uid);
+        executor.execute(() -> {
+            if (!forceRefresh && freshness.isFresh(key, System.currentTimeMillis())) {
+                Metrics.CACHE_ASSIGNMENT_HITS.increment();
+                List<CachedAssignment> rows = load(scope, uid);
+                mainHandler.post(() -> callback.onResult(rows));
+                return;
+            }
+
+            Metrics.CACHE_ASSIGNMENT_FETCHES.increment();
+            firestore.collection(Constants.FIRESTORE_COLLECTION_ASSIGNMENTS)
+                    .whereEqualTo(scope.field, uid)
+                    .get()
+                    .addOnSuccessListener(snapshot -> executor.execute(() -> {
+                        List<CachedAssignment> rows = toCached(snapshot.getDocuments());
+                        replaceScope(scope, uid, rows);
+                        freshness.markSynced(key, System.currentTimeMillis());
+                        Log.d(TAG, "Refilled " + key + " with " + rows.size() + " assignments");
+                        mainHandler.post(() -> callback.onResult(rows));
+                    }))
+                    .addOnFailureListener(e -> executor.execute(() -> {
+                        List<CachedAssignment> rows = load(scope, uid);
+                        if (rows.isEmpty()) {
+                            Log.e(TAG, "Failed to fetch assignments for " + key, e);
+                            mainHandler.post(() -> callback.onError("Failed to load assignments: " + e.getMessage()));
+                        } else {
+                            Log.w(TAG, "Failed to refresh " + key + ", serving " + rows.size() + " cached assignments", e);
+                            mainHandler.post(() -> callback.onResult(rows));
+                        }
+                    }));
+        });
+    }
+
+    /**
+     * Keep a scope current with a single snapshot listener (replaces any previous one).
+     * The first server snapshot refills the scope; later snapshots apply only the changed documents.
+     * Metadata changes are included so an unchanged server result still confirms the cached one.
+     */
+    public synchronized void listen(@NonNull Scope scope, @NonNull String uid) {
+        String key = key(scope, uid);
+        if (listener != null && key.equals(listenerKey)) {
+            return;
+        }
+        stopListening();
+
+        listenerKey = key;
+        listener = firestore.collection(Constants.FIRESTORE_COLLECTION_ASSIGNMENTS)
+                .whereEqualTo(scope.field, uid)
+                .addSnapshotListener(MetadataChanges.INCLUDE, (snapshot, e) -> {
+                    if (e != null) {
+                        Log.w(TAG, "Assignment listener failed for " + key + ", falling back to TTL", e);
+                        freshness.setLive(key, false);
+                        return;
+                    }
+                    if (snapshot != null) {
+                        executor.execute(() -> applySnapshot(scope, uid, key, snapshot));
+                    }
+                });
+        Log.d(TAG, "Listening to assignments of " + key);
+    }
+
+    /**
+     * Stop the assignment listener; cached scopes fall back to the TTL.
+     */
+    public synchronized void stopListening() {
+        if (listener != null) {
+            listener.remove();
+            listener = null;
+        }
+        if (listenerKey != null) {
+            freshness.setLive(listenerKey, false);
+            listenerKey = null;
+        }
+    }
+
+    private void applySnapshot(Scope scope, String uid, String key, QuerySnapshot snapshot) {
+        if (!key.equals(listenerKey)) {
+            return; // Listener was replaced or stopped
+        }
+        CacheFreshness.SnapshotAction action = freshness.onSnapshot(key, snapshot.getMetadata().isFromCache());
+        if (action == CacheFreshness.SnapshotAction.WAIT) {
+            return; // Room already holds the last known state; wait for the server
+        }
+        if (action == CacheFreshness.SnapshotAction.REFILL) {
+            List<CachedAssignment> rows = toCached(snapshot.getDocuments());
+            replaceScope(scope, uid, rows);
+            freshness.markSynced(key, System.currentTimeMillis());
+            freshness.setLive(key, true);
+            Log.d(TAG, "Listener synced " + key + ": " + rows.size() + " assignments");
+            return;
+        }
+
+        List<CachedAssignment> upserts = new ArrayList<>();
+        List<String> removals = new ArrayList<>();
+        for (DocumentChange change : snapshot.getDocumentChanges()) {
+            if (change.getType() == DocumentChange.Type.REMOVED) {
+                removals.add(change.getDocument().getId());
+            } else {
+                CachedAssignment row = toCached(change.getDocument());
+                if (row != null) {
+                    upserts.add(row);
+                }
+            }
+        }
+        if (upserts.isEmpty() && removals.isEmpty()) {
+            return;
+        }
+        database.runInTransaction(() -> {
+            if (!removals.isEmpty()) {
+                assignmentDao.deleteByDocIds(removals);
+            }
+            if (!upserts.isEmpty()) {
+                assignmentDao.upsertAll(upserts);
+            }
+        });
+        Metrics.CACHE_ASSIGNMENT_DELTAS.add(upserts.size() + removals.size());
+        Log.d(TAG, "Applied " + upserts.size() + " upserts, " + removals.size() + " removals to " + key);
+    }
+
+    private List<CachedAssignment> load(Scope scope, String uid) {
+        return scope == Scope.SUPERVISOR
+                ? assignmentDao.getForSupervisorSync(uid)
+                : assignmentDao.getForAggregatorSync(uid);
+    }
+
+    private void replaceScope(Scope scope, String uid, List<CachedAssignment> rows) {
+        database.runInTransaction(() -> {
+            if (scope == Scope.SUPERVISOR) {
+                assignmentDao.deleteForSupervisor(uid);
+            } else {
+                assignmentDao.deleteForAggregator(uid);
+            }
+            assignmentDao.upsertAll(rows);
+        });
+    }
+
+    // ========== Write-through ==========
+
+    /**
+     * An assignment was written by this device (the listener confirms it later).
+     */
+    public void onAssigned(@NonNull Assignment assignment) {
+        CachedAssignment row = new CachedAssignment(assignment.getDocumentId(), assignment.getSupervisorUid(),
+                assignment.getSensorId(), assignment.getAssignedBy(), assignment.getAssignedAt());
+        executor.execute(() -> assignmentDao.upsertAll(Collections.singletonList(row)));
+    }
+
+    public void onUnassigned(@NonNull String supervisorUid, @NonNull String sensorId) {
+        String docId = Assignment.generateDocumentId(supervisorUid, sensorId);
+        executor.execute(() -> assignmentDao.deleteByDocIds(Collections.singletonList(docId)));
+    }
+
+    public void onUnassignedAllFromSensor(@NonNull String sensorId) {
+        executor.execute(() -> assignmentDao.deleteForSensor(sensorId));
+    }
+
+    // ========== Directory ==========
+
+    /**
+     * Sensor ID -> supervisor emails for an aggregator's assignments, updated as assignments
+     * change and as directory entries are resolved (UIDs are shown until then).
+     */
+    @NonNull
+    public LiveData<Map<String, List<String>>> getSupervisorEmailsBySensorLive(@NonNull String aggregatorUid) {
+        MediatorLiveData<Map<String, List<String>>> result = new MediatorLiveData<>();
+        LiveData<List<CachedAssignment>> assignments = assignmentDao.getForAggregatorLive(aggregatorUid);
+        List<LiveData<List<DirectoryUser>>> directorySource = new ArrayList<>(1);
+
+        result.addSource(assignments, rows -> {
+            List<String> uids = AssignmentMaps.supervisorUids(rows);
+            if (!directorySource.isEmpty()) {
+                result.removeSource(directorySource.remove(0));
+            }
+            LiveData<List<DirectoryUser>> directory = directoryDao.getByUidsLive(uids);
+            directorySource.add(directory);
+            result.addSource(directory, users ->
+                    result.setValue(AssignmentMaps.supervisorEmailsBySensor(rows, AssignmentMaps.byUid(users))));
+            resolveDirectory(uids, null);
+        });
+        return result;
+    }
+
+    /**
+     * One-shot sensor ID -> supervisor emails for an aggregator's assignments.
+     */
+    public void getSupervisorEmailsBySensor(@NonNull String aggregatorUid, boolean forceRefresh,
+                                            @NonNull EmailMapCallback callback) {
+        getAssignments(Scope.AGGREGATOR, aggregatorUid, forceRefresh, new AssignmentsCallback() {
+            @Override
+            public void onResult(@NonNull List<CachedAssignment> assignments) {
+                List<String> uids = AssignmentMaps.supervisorUids(assignments);
+                resolveDirectory(uids, () -> {
+                    Map<String, DirectoryUser> directory = AssignmentMaps.byUid(directoryDao.getByUidsSync(uids));
+                    Map<String, List<String>> map = AssignmentMaps.supervisorEmailsBySensor(assignments, directory);
+                    mainHandler.post(() -> callback.onResult(map));
+                });
+            }
+
+            @Override
+            public void onError(String error) {
+                callback.onError(error);
+            }
+        });
+    }
+
+    /**
+     * Fetch the directory entries that are missing or stale, then run {@code onDone} on the executor.
+     */
+    private void resolveDirectory(List<String> uids, @Nullable Runnable onDone) {
+        executor.execute(() -> {
+            long now = System.currentTimeMillis();
+            Map<String, DirectoryUser> known = AssignmentMaps.byUid(uids.isEmpty()
+                    ? null : directoryDao.getByUidsSync(uids));
+            List<String> toFetch = new ArrayList<>();
+            for (String uid : AssignmentMaps.uidsToFetch(uids, known, now, Constants.DIRECTORY_CACHE_TTL_MS)) {
+                // Another resolve already fetches it; its result lands in Room (and the LiveData)
+                if (directoryInFlight.add(uid)) {
+                    toFetch.add(uid);
+                }
+            }
+            if (toFetch.isEmpty()) {
+                if (onDone != null) {
+                    onDone.run();
+                }
+                return;
+            }
+
+            Metrics.CACHE_DIRECTORY_FETCHES.add(toFetch.size());
+            List<Task<DocumentSnapshot>> fetches = new ArrayList<>();
+            for (String uid : toFetch) {
+                fetches.add(firestore.collection(Constants.FIRESTORE_COLLECTION_USERS).document(uid).get());
+            }
+            Tasks.whenAllComplete(fetches).addOnCompleteListener(done -> executor.execute(() -> {
+                long fetchedAt = System.currentTimeMillis();
+                List<DirectoryUser> users = new ArrayList<>();
+                for (Task<DocumentSnapshot> fetch : fetches) {
+                    if (!fetch.isSuccessful() || fetch.getResult() == null) {
+                        continue; // Retried on the next resolve
+                    }
+                    DocumentSnapshot doc = fetch.getResult();
+                    // A missing profile is cached too, so it is not read again until the TTL
+                    users.add(new DirectoryUser(doc.getId(), doc.getString("email"), doc.getString("displayName"),
+                            fetchedAt, doc.exists() && SupervisorDirectory.isSupervisor(doc)));
+                }
+                directoryDao.upsertAll(users);
+                directoryInFlight.removeAll(toFetch);
+                Log.d(TAG, "Resolved " + users.size() + "/" + toFetch.size() + " directory entries");
+                if (onDone != null) {
+                    onDone.run();
+                }
+            }));
+        });
+    }
+
+    // ========== Lifecycle ==========
+
+    /**
+     * Drop the listener and every cached row (sign-out / account switch).
+     */
+    public void clear() {
+        stopListening();
+        freshness.clear();
+        executor.execute(() -> {
+            database.runInTransaction(() -> {
+                assignmentDao.clearAll();
+                directoryDao.clearAll();
+            });
+            Log.d(TAG, "Assignment cache cleared");
+        });
+    }
+
+    @Nullable
+    private static CachedAssignment toCached(DocumentSnapshot doc) {
+        Assignment assignment = Assignment.fromDocument(doc);
+        if (assignment == null || assignment.getSupervisorUid() == null || assignment.getSensorId() == null) {
+            return null;
+        }
+        return new CachedAssignment(doc.getId(), assignment.getSupervisorUid(), assignment.getSensorId(),
+                assignment.getAssignedBy(), assignment.getAssignedAt());
+    }
+
+    private static List<CachedAssignment> toCached(List<DocumentSnapshot> docs) {
+        List<CachedAssignment> rows = new ArrayList<>();
+        for (DocumentSnapshot doc : docs) {
+            CachedAssignment row = toCached(doc);
+            if (row != null) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
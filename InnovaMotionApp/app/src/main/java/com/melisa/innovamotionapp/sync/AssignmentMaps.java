@@ -0,0 +1,105 @@
+package com.melisa.innovamotionapp.sync;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.melisa.innovamotionapp.data.database.CachedAssignment;
+import com.melisa.innovamotionapp.data.database.DirectoryUser;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Views of cached assignments for the screens and the session: sensor IDs of a supervisor,
+ * supervisor emails per sensor, and which directory entries still need a fetch.
+ *
+ * Static functions over rows already read from Room; nothing here does I/O.
+ */
+public final class AssignmentMaps {
+
+    private AssignmentMaps() {
+    }
+
+    /**
+     * @return Distinct sensor IDs, in assignment order
+     */
+    @NonNull
+    public static List<String> sensorIds(@NonNull List<CachedAssignment> assignments) {
+        Set<String> ids = new LinkedHashSet<>();
+        for (CachedAssignment assignment : assignments) {
+            ids.add(assignment.getSensorId());
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * @return Distinct supervisor UIDs, in assignment order
+     */
+    @NonNull
+    public static List<String> supervisorUids(@NonNull List<CachedAssignment> assignments) {
+        Set<String> uids = new LinkedHashSet<>();
+        for (CachedAssignment assignment : assignments) {
+            uids.add(assignment.getSupervisorUid());
+        }
+        return new ArrayList<>(uids);
+    }
+
+    @NonNull
+    public static Map<String, DirectoryUser> byUid(@Nullable List<DirectoryUser> users) {
+        Map<String, DirectoryUser> map = new HashMap<>();
+        if (users != null) {
+            for (DirectoryUser user : users) {
+                map.put(user.getUid(), user);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Sensor ID -> emails of its supervisors; a supervisor not in the directory (or without an
+     * email) is listed by UID until it is resolved.
+     */
+    @NonNull
+    public static Map<String, List<String>> supervisorEmailsBySensor(@NonNull List<CachedAssignment> assignments,
+                                                                     @NonNull Map<String, DirectoryUser> directory) {
+        Map<String, List<String>> map = new LinkedHashMap<>();
+        for (CachedAssignment assignment : assignments) {
+            String uid = assignment.getSupervisorUid();
+            DirectoryUser user = directory.get(uid);
+            String label = user != null && user.getEmail() != null ? user.getEmail() : uid;
+            List<String> labels = map.get(assignment.getSensorId());
+            if (labels == null) {
+                labels = new ArrayList<>();
+                map.put(assignment.getSensorId(), labels);
+            }
+            if (!labels.contains(label)) {
+                labels.add(label);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * @return UIDs missing from the directory or fetched more than {@code ttlMs} ago
+     */
+    @NonNull
+    public static List<String> uidsToFetch(@NonNull Collection<String> uids, @NonNull Map<String, DirectoryUser> directory,
+                                           long nowMs, long ttlMs) {
+        List<String> stale = new ArrayList<>();
+        for (String uid : uids) {
+            DirectoryUser user = directory.get(uid);
+            if (user == null || nowMs - user.getFetchedAt() >= ttlMs || nowMs < user.getFetchedAt()) {
+                if (!stale.contains(uid)) {
+                    stale.add(uid);
+                }
+            }
+        }
+        return stale;
+    }
+}
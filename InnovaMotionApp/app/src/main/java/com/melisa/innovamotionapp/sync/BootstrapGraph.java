@@ -0,0 +1,356 @@
+package com.melisa.innovamotionapp.sync;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Post-auth bootstrap as a dependency graph of asynchronous steps (Firestore fetches, Room
+ * writes, mirror start-up). A step starts as soon as all the steps it depends on succeeded, so
+ * independent steps run concurrently instead of being chained callback after callback.
+ *
+ * - A step that fails (or throws from {@link Step#run}) skips every step that depends on it,
+ *   directly or not; independent branches keep going.
+ * - {@link #cancel()} (sign-out, role switch) starts no further step and ignores completions of
+ *   the running ones; a step's own callback should check {@link Completion#isCancelled()} before
+ *   publishing anything to the session.
+ * - Each step's start offset and duration are reported to the {@link Listener}.
+ *
+ * Dependencies must be added before the steps that use them, so the graph cannot have cycles.
+ * Steps complete through their callback on any thread, so tests can finish them synchronously.
+ */
+public final class BootstrapGraph {
+
+    /**
+     * One asynchronous step. Must call {@link Completion#succeeded()} or
+     * {@link Completion#failed(String)} exactly once, from any thread.
+     */
+    public interface Step {
+        void run(@NonNull Completion completion);
+    }
+
+    /**
+     * Step progress, called on the thread that completed the step.
+     */
+    public interface Listener {
+        /**
+         * A step succeeded, failed or was skipped.
+         */
+        void onStepFinished(@NonNull StepResult result);
+
+        /**
+         * Every step finished (not called for a cancelled graph).
+         */
+        void onFinished(@NonNull List<StepResult> results);
+    }
+
+    /**
+     * Monotonic clock in nanoseconds (System.nanoTime outside tests).
+     */
+    interface Clock {
+        long nanoTime();
+    }
+
+    public enum State {
+        PENDING, RUNNING, SUCCEEDED, FAILED, SKIPPED
+    }
+
+    /**
+     * Outcome and timing of one step.
+     */
+    public static final class StepResult {
+        private final String name;
+        private final State state;
+        private final long startOffsetNanos;
+        private final long durationNanos;
+        private final String error;
+
+        StepResult(String name, State state, long startOffsetNanos, long durationNanos, String error) {
+            this.name = name;
+            this.state = state;
+            this.startOffsetNanos = startOffsetNanos;
+            this.durationNanos = durationNanos;
+            this.error = error;
+        }
+
+        @NonNull
+        public String getName() {
+            return name;
+        }
+
+        @NonNull
+        public State getState() {
+            return state;
+        }
+
+        /**
+         * @return Start of the step from the start of the graph, -1 if it never started
+         */
+        public long getStartOffsetNanos() {
+            return startOffsetNanos;
+        }
+
+        /**
+         * @return Run time of a finished step, 0 if it never started
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * @return Failure reason, or the failed dependency of a skipped step
+         */
+        @Nullable
+        public String getError() {
+            return error;
+        }
+    }
+
+    /**
+     * Handed to a running step to report its outcome.
+     */
+    public final class Completion {
+        private final Node node;
+
+        Completion(Node node) {
+            this.node = node;
+        }
+
+        public void succeeded() {
+            finish(node, State.SUCCEEDED, null);
+        }
+
+        public void failed(@NonNull String error) {
+            finish(node, State.FAILED, error);
+        }
+
+        /**
+         * @return true if the graph was cancelled; the step's result will be ignored
+         */
+        public boolean isCancelled() {
+            return BootstrapGraph.this.isCancelled();
+        }
+    }
+
+    private static final class Node {
+        final String name;
+        final Step step;
+        final List<Node> dependencies;
+        State state = State.PENDING;
+        long startNanos = -1;
+        long durationNanos;
+        String error;
+
+        Node(String name, Step step, List<Node> dependencies) {
+            this.name = name;
+            this.step = step;
+            this.dependencies = dependencies;
+        }
+
+        StepResult result(long originNanos) {
+            return new StepResult(name, state, startNanos >= 0 ? startNanos - originNanos : -1, durationNanos, error);
+        }
+    }
+
+    private final Clock clock;
+    private final Listener listener;
+    private final Map<String, Node> nodes = new LinkedHashMap<>();
+    private long originNanos;
+    private boolean started;
+    private boolean finished;
+    private volatile boolean cancelled;
+
+    public BootstrapGraph(@NonNull Listener listener) {
+        this(System::nanoTime, listener);
+    }
+
+    BootstrapGraph(@NonNull Clock clock, @NonNull Listener listener) {
+        this.clock = clock;
+        this.listener = listener;
+    }
+
+    /**
+     * Add a step.
+     *
+     * @param dependsOn Names of steps added earlier that must succeed before this one starts
+     * @throws IllegalArgumentException for a duplicate name or an unknown dependency
+     * @throws IllegalStateException    once the graph has started
+     */
+    @NonNull
+    public synchronized BootstrapGraph addStep(@NonNull String name, @NonNull Step step, @NonNull String... dependsOn) {
+        if (started) {
+            throw new IllegalStateException("Graph already started");
+        }
+        if (nodes.containsKey(name)) {
+            throw new IllegalArgumentException("Duplicate step: " + name);
+        }
+        List<Node> dependencies = new ArrayList<>();
+        for (String dependency : dependsOn) {
+            Node node = nodes.get(dependency);
+            if (node == null) {
+                throw new IllegalArgumentException("Unknown dependency of " + name + ": " + dependency
+                        + " (add dependencies first)");
+            }
+            dependencies.add(node);
+        }
+        nodes.put(name, new Node(name, step, dependencies));
+        return this;
+    }
+
+    /**
+     * Start every step without dependencies.
+     */
+    public void start() {
+        List<Node> ready = new ArrayList<>();
+        boolean empty;
+        synchronized (this) {
+            if (started) {
+                throw new IllegalStateException("Graph already started");
+            }
+            started = true;
+            originNanos = clock.nanoTime();
+            for (Node node : nodes.values()) {
+                if (node.dependencies.isEmpty()) {
+                    node.state = State.RUNNING;
+                    node.startNanos = originNanos;
+                    ready.add(node);
+                }
+            }
+            empty = nodes.isEmpty();
+            finished = empty;
+        }
+        if (empty) {
+            listener.onFinished(new ArrayList<>());
+            return;
+        }
+        for (Node node : ready) {
+            run(node);
+        }
+    }
+
+    /**
+     * Start no further step and ignore the completion of running ones. Idempotent.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * @return Every step in the order added, with its current state
+     */
+    @NonNull
+    public synchronized List<StepResult> getResults() {
+        List<StepResult> results = new ArrayList<>();
+        for (Node node : nodes.values()) {
+            results.add(node.result(originNanos));
+        }
+        return results;
+    }
+
+    private void run(Node node) {
+        try {
+            node.step.run(new Completion(node));
+        } catch (RuntimeException e) {
+            finish(node, State.FAILED, e.toString());
+        }
+    }
+
+    private void finish(Node node, State state, String error) {
+        List<StepResult> finishedSteps = new ArrayList<>();
+        List<Node> ready = new ArrayList<>();
+        List<StepResult> allResults = null;
+        synchronized (this) {
+            if (cancelled || node.state != State.RUNNING) {
+                return;
+            }
+            long now = clock.nanoTime();
+            node.state = state;
+            node.durationNanos = now - node.startNanos;
+            node.error = error;
+            finishedSteps.add(node.result(originNanos));
+
+            // Insertion order puts dependencies first, so one pass settles skips transitively
+            boolean allDone = true;
+            for (Node pending : nodes.values()) {
+                if (pending.state == State.PENDING) {
+                    Node failedDependency = failedDependency(pending);
+                    if (failedDependency != null) {
+                        pending.state = State.SKIPPED;
+                        pending.error = failedDependency.name + " " + failedDependency.state.name().toLowerCase(Locale.US);
+                        finishedSteps.add(pending.result(originNanos));
+                    } else if (dependenciesSucceeded(pending)) {
+                        pending.state = State.RUNNING;
+                        pending.startNanos = now;
+                        ready.add(pending);
+                    }
+                }
+                if (pending.state == State.PENDING || pending.state == State.RUNNING) {
+                    allDone = false;
+                }
+            }
+            if (allDone && !finished) {
+                finished = true;
+                allResults = getResults();
+            }
+        }
+        for (StepResult result : finishedSteps) {
+            listener.onStepFinished(result);
+        }
+        for (Node next : ready) {
+            if (!cancelled) {
+                run(next);
+            }
+        }
+        if (allResults != null) {
+            listener.onFinished(allResults);
+        }
+    }
+
+    @Nullable
+    private static Node failedDependency(Node node) {
+        for (Node dependency : node.dependencies) {
+            if (dependency.state == State.FAILED || dependency.state == State.SKIPPED) {
+                return dependency;
+            }
+        }
+        return null;
+    }
+
+    private static boolean dependenciesSucceeded(Node node) {
+        for (Node dependency : node.dependencies) {
+            if (dependency.state != State.SUCCEEDED) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * One line per step: "name state +start ms duration ms (error)".
+     */
+    @NonNull
+    public static String format(@NonNull List<StepResult> results) {
+        StringBuilder sb = new StringBuilder();
+        for (StepResult result : results) {
+            sb.append(String.format(Locale.US, "%s %s", result.getName(), result.getState().name().toLowerCase(Locale.US)));
+            if (result.getStartOffsetNanos() >= 0) {
+                sb.append(String.format(Locale.US, " +%.0f ms %.0f ms",
+                        result.getStartOffsetNanos() / 1e6, result.getDurationNanos() / 1e6));
+            }
+            if (result.getError() != null) {
+                sb.append(" (").append(result.getError()).append(')');
+            }
+            sb.append('\n');
+        }
+        return sb.toString();
+    }
+}
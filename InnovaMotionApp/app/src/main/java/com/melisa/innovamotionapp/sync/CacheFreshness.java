@@ -0,0 +1,117 @@
+package com.melisa.innovamotionapp.sync;
+
+import androidx.annotation.NonNull;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Freshness of locally cached query scopes (e.g. "the assignments of supervisor X").
+ *
+ * A scope is fresh while a snapshot listener keeps it live, or for the TTL after its last full
+ * sync from the server. Sync times are persisted through the {@link Store}, so a cold start
+ * within the TTL still reads from the cache.
+ *
+ * Callers pass the current time, so TTL expiry is tested without waiting.
+ */
+public final class CacheFreshness {
+
+    /**
+     * Persistent sync times (SharedPreferences outside tests).
+     */
+    public interface Store {
+        /**
+         * @return Last sync time of the scope (epoch ms), 0 if never synced
+         */
+        long load(@NonNull String key);
+
+        void save(@NonNull String key, long syncedAtMs);
+
+        void clear();
+    }
+
+    /**
+     * What a listener does with a snapshot of its scope (see {@link #onSnapshot}).
+     */
+    public enum SnapshotAction {
+        /** Cached snapshot before the scope is live: Room already holds the last known state */
+        WAIT,
+        /** First server snapshot: refill the scope, then mark it synced and live */
+        REFILL,
+        /** The scope is live: apply only the changed documents */
+        APPLY_CHANGES
+    }
+
+    private final Store store;
+    private final long ttlMs;
+    private final Map<String, Long> syncedAt = new ConcurrentHashMap<>();
+    private final Set<String> live = ConcurrentHashMap.newKeySet();
+
+    public CacheFreshness(@NonNull Store store, long ttlMs) {
+        this.store = store;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * The scope was just refilled from the server.
+     */
+    public void markSynced(@NonNull String key, long nowMs) {
+        syncedAt.put(key, nowMs);
+        store.save(key, nowMs);
+    }
+
+    /**
+     * A listener started (after its first server snapshot) or stopped keeping the scope current.
+     */
+    public void setLive(@NonNull String key, boolean isLive) {
+        if (isLive) {
+            live.add(key);
+        } else {
+            live.remove(key);
+        }
+    }
+
+    /**
+     * Decide how a listener applies a snapshot. The first snapshot confirmed by the server refills
+     * the scope even if nothing changed since the cached one; Firestore only delivers that
+     * metadata-only snapshot to listeners registered with MetadataChanges.INCLUDE.
+     */
+    @NonNull
+    public SnapshotAction onSnapshot(@NonNull String key, boolean fromCache) {
+        if (live.contains(key)) {
+            return SnapshotAction.APPLY_CHANGES;
+        }
+        return fromCache ? SnapshotAction.WAIT : SnapshotAction.REFILL;
+    }
+
+    public boolean isLive(@NonNull String key) {
+        return live.contains(key);
+    }
+
+    /**
+     * @return true if the cached scope can be served without asking the server
+     */
+    public boolean isFresh(@NonNull String key, long nowMs) {
+        if (live.contains(key)) {
+            return true;
+        }
+        Long synced = syncedAt.get(key);
+        if (synced == null) {
+            synced = store.load(key);
+            syncedAt.put(key, synced);
+        }
+        // A clock set backwards makes the age negative: treat as stale
+        long age = nowMs - synced;
+        return synced > 0 && age >= 0 && age < ttlMs;
+    }
+
+    /**
+     * Forget every scope (sign-out; the cached rows are deleted too).
+     */
+    public void clear() {
+        syncedAt.clear();
+        live.clear();
+        store.clear();
+    }
+}
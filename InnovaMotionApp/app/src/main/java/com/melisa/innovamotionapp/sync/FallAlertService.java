@@ -0,0 +1,239 @@
+package com.melisa.innovamotionapp.sync;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseUser;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.SetOptions;
+import com.melisa.innovamotionapp.R;
+import com.melisa.innovamotionapp.data.database.AlertDao;
+import com.melisa.innovamotionapp.data.database.AlertEntity;
+import com.melisa.innovamotionapp.data.database.InnovaDatabase;
+import com.melisa.innovamotionapp.data.models.Alert;
+import com.melisa.innovamotionapp.metrics.Metrics;
+import com.melisa.innovamotionapp.utils.AlertNotifications;
+import com.melisa.innovamotionapp.utils.Constants;
+import com.melisa.innovamotionapp.utils.FeatureFlags;
+import com.melisa.innovamotionapp.utils.PersonNameManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Dedicated fall alerts channel, independent of the reading stream.
+ *
+ * Aggregator: every ingested reading is offered to a {@link FallEpisodeDetector}; the first fall
+ * reading of an episode becomes an 'alerts/{sensorId}_{timestamp}' document and a local row.
+ * The Firestore write is not part of the reading upload, so it is neither delayed by the batch
+ * writer nor dropped with the offline queue (the SDK sends it once connectivity returns).
+ *
+ * Supervisor: a listener on the alerts of the assigned sensors (chunked by the whereIn limit)
+ * upserts them into the local alerts table and notifies new, recent, unacknowledged ones.
+ * Aggregators always write alerts; supervisors only listen with
+ * {@link FeatureFlags#ALERTS_CHANNEL_ENABLED} (otherwise falls come from the mirrored readings).
+ * Acknowledging updates the local row and the document, so other supervisors see it too.
+ *
+ * Thread-safe singleton - database work runs on a background executor.
+ */
+public class FallAlertService {
+    private static final String TAG = "FallAlertService";
+
+    private static volatile FallAlertService instance;
+
+    private final Context context;
+    private final AlertDao dao;
+    private final FirebaseFirestore firestore;
+    private final FirebaseAuth auth;
+    private final ExecutorService executor;
+    private final FallEpisodeDetector detector = new FallEpisodeDetector();
+    private final List<ListenerRegistration> listeners = new ArrayList<>();
+
+    private FallAlertService(Context context) {
+        this.context = context;
+        this.dao = InnovaDatabase.getInstance(context).alertDao();
+        this.firestore = FirebaseFirestore.getInstance();
+        this.auth = FirebaseAuth.getInstance();
+        this.executor = Executors.newSingleThreadExecutor();
+    }
+
+    public static FallAlertService getInstance(Context context) {
+        if (instance == null) {
+            synchronized (FallAlertService.class) {
+                if (instance == null) {
+                    instance = new FallAlertService(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    // ========== Aggregator ==========
+
+    /**
+     * Offer an ingested reading; raises an alert if it starts a fall episode.
+     *
+     * @return true if an alert was raised
+     */
+    public boolean onReading(@NonNull String sensorId, @NonNull String deviceAddress, @NonNull String ownerUid,
+                             @NonNull String receivedMsg, long timestamp, boolean fall) {
+        if (!detector.offer(sensorId, timestamp, fall)) {
+            return false;
+        }
+        Alert alert = new Alert(sensorId, ownerUid, deviceAddress, receivedMsg, timestamp);
+        executor.execute(() -> dao.insertIfAbsent(alert.toEntity()));
+
+        // Merge: a retried write must not clear an acknowledgement made meanwhile
+        firestore.collection(Constants.FIRESTORE_COLLECTION_ALERTS)
+                .document(alert.getDocumentId())
+                .set(alert.toFirestoreDocument(), SetOptions.merge())
+                .addOnSuccessListener(aVoid -> Log.d(TAG, "Alert written: " + alert.getDocumentId()))
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to write alert " + alert.getDocumentId(), e));
+        Metrics.ALERTS_RAISED.increment();
+        Log.i(TAG, "Fall alert raised for sensor " + sensorId);
+        return true;
+    }
+
+    // ========== Supervisor ==========
+
+    /**
+     * Listen to the alerts of these sensors (replaces any previous listeners).
+     * Requires the composite index alerts: sensorId ASC, timestamp ASC.
+     */
+    public synchronized void listen(@NonNull List<String> sensorIds) {
+        stopListening();
+        if (!FeatureFlags.ALERTS_CHANNEL_ENABLED || sensorIds.isEmpty()) {
+            return;
+        }
+        long since = System.currentTimeMillis() - Constants.ALERT_HISTORY_WINDOW_MS;
+        executor.execute(() -> dao.deleteOlderThan(since));
+
+        for (int i = 0; i < sensorIds.size(); i += Constants.FIRESTORE_WHERE_IN_LIMIT) {
+            List<String> chunk = new ArrayList<>(sensorIds.subList(i,
+                    Math.min(i + Constants.FIRESTORE_WHERE_IN_LIMIT, sensorIds.size())));
+            ListenerRegistration listener = firestore.collection(Constants.FIRESTORE_COLLECTION_ALERTS)
+                    .whereIn("sensorId", chunk)
+                    .whereGreaterThanOrEqualTo("timestamp", since)
+                    .addSnapshotListener((snapshot, e) -> {
+                        if (e != null) {
+                            Log.e(TAG, "Alerts listener error: " + e.getMessage());
+                            return;
+                        }
+                        if (snapshot != null) {
+                            executor.execute(() -> applyChanges(snapshot.getDocumentChanges()));
+                        }
+                    });
+            listeners.add(listener);
+        }
+        Log.i(TAG, "Listening to alerts of " + sensorIds.size() + " sensors (" + listeners.size() + " listeners)");
+    }
+
+    public synchronized void stopListening() {
+        for (ListenerRegistration listener : listeners) {
+            listener.remove();
+        }
+        listeners.clear();
+    }
+
+    /**
+     * Store changed alerts and notify the ones this device has not seen yet.
+     */
+    private void applyChanges(List<DocumentChange> changes) {
+        List<Alert> alerts = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        for (DocumentChange change : changes) {
+            if (change.getType() == DocumentChange.Type.REMOVED) {
+                continue;
+            }
+            Alert alert = Alert.fromDocument(change.getDocument());
+            if (alert == null || alert.getSensorId() == null) {
+                continue;
+            }
+            alerts.add(alert);
+            ids.add(alert.getDocumentId());
+        }
+        if (alerts.isEmpty()) {
+            return;
+        }
+
+        Set<String> known = new HashSet<>(dao.getExistingIds(ids));
+        List<AlertEntity> rows = new ArrayList<>(alerts.size());
+        for (Alert alert : alerts) {
+            rows.add(alert.toEntity());
+        }
+        dao.upsertAll(rows);
+
+        long now = System.currentTimeMillis();
+        for (Alert alert : alerts) {
+            if (known.contains(alert.getDocumentId()) || alert.isAcknowledged()) {
+                continue;
+            }
+            Metrics.ALERTS_RECEIVED.increment();
+            if (alert.getCreatedAt() > 0) {
+                Metrics.ALERTS_DELIVERY_LATENCY.record(Math.max(0, now - alert.getCreatedAt()) * 1_000_000L);
+            }
+            if (FeatureFlags.SUPERVISOR_FALL_ALERTS_ENABLED && now - alert.getTimestamp() <= Constants.FALL_ALERT_RECENT_WINDOW_MS) {
+                notifyFall(alert);
+            }
+        }
+    }
+
+    private void notifyFall(Alert alert) {
+        String alertId = alert.getDocumentId();
+        PersonNameManager.getInstance(context).getDisplayNameAsync(alert.getSensorId(), displayName -> {
+            String body = displayName + " " + context.getString(R.string.notif_fall_text_generic);
+            AlertNotifications.notifyFall(context, displayName, body, alertId);
+        });
+    }
+
+    // ========== Acknowledgement ==========
+
+    /**
+     * Acknowledge an alert on this device and in Firestore.
+     */
+    public void acknowledge(@NonNull String alertId) {
+        FirebaseUser user = auth.getCurrentUser();
+        String uid = user != null ? user.getUid() : "unknown";
+        long now = System.currentTimeMillis();
+
+        executor.execute(() -> dao.markAcknowledged(alertId, uid, now));
+        firestore.collection(Constants.FIRESTORE_COLLECTION_ALERTS)
+                .document(alertId)
+                .update(Alert.toAcknowledgement(uid, now))
+                .addOnFailureListener(e -> Log.e(TAG, "Failed to acknowledge alert " + alertId, e));
+        Log.i(TAG, "Alert acknowledged: " + alertId);
+    }
+
+    // ========== Queries ==========
+
+    /**
+     * Alerts of the history window, newest first.
+     */
+    public LiveData<List<AlertEntity>> getRecentAlertsLive() {
+        return dao.getSinceLive(System.currentTimeMillis() - Constants.ALERT_HISTORY_WINDOW_MS);
+    }
+
+    public LiveData<Integer> getUnacknowledgedCountLive() {
+        return dao.getUnacknowledgedCountLive();
+    }
+
+    // ========== Lifecycle ==========
+
+    /**
+     * Stop listening and forget fall episodes (sign-out; the table is cleared with the local data).
+     */
+    public void clear() {
+        stopListening();
+        detector.clear();
+    }
+}
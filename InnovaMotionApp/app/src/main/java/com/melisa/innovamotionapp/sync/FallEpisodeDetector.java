@@ -0,0 +1,51 @@
+package com.melisa.innovamotionapp.sync;
+
+import androidx.annotation.NonNull;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns a sensor's reading stream into fall episodes: one alert when a sensor starts reporting a
+ * fall, none for the fall readings that follow while it stays down.
+ *
+ * A fall reading starts an episode when the sensor's previous reading was not a fall (or it has
+ * no previous reading). Readings older than the sensor's latest one are ignored.
+ *
+ * Thread-safe; keeps only the latest reading's time and fall flag per sensor.
+ */
+public final class FallEpisodeDetector {
+
+    private static final class Last {
+        final long timestamp;
+        final boolean fall;
+
+        Last(long timestamp, boolean fall) {
+            this.timestamp = timestamp;
+            this.fall = fall;
+        }
+    }
+
+    private final Map<String, Last> lastBySensor = new HashMap<>();
+
+    /**
+     * Offer one reading.
+     *
+     * @return true if this reading starts a new fall episode (raise an alert)
+     */
+    public synchronized boolean offer(@NonNull String sensorId, long timestamp, boolean fall) {
+        Last last = lastBySensor.get(sensorId);
+        if (last != null && timestamp < last.timestamp) {
+            return false;
+        }
+        lastBySensor.put(sensorId, new Last(timestamp, fall));
+        return fall && (last == null || !last.fall);
+    }
+
+    /**
+     * Forget all sensors (sign-out).
+     */
+    public synchronized void clear() {
+        lastBySensor.clear();
+    }
+}
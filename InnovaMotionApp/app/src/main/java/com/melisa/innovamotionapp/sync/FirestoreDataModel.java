@@ -1,5 +1,7 @@
 package com.melisa.innovamotionapp.sync;
 
+import com.melisa.innovamotionapp.metrics.ReadingTrace;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -12,6 +14,9 @@ import java.util.Map;
  * 
  * Document ID format: {deviceAddress}_{sensorId}_{timestamp}
  * This format is aggregator-agnostic, allowing data to be queried by sensorId only.
+ * 
+ * Plain Java (no Firebase types), so it can be benchmarked on the JVM; the trace's server
+ * timestamp is added and read by FirestoreSyncService.
  */
 public class FirestoreDataModel {
     private String deviceAddress;
@@ -21,6 +26,7 @@ public class FirestoreDataModel {
     private String sensorId; // The monitored person's ID from hardware
     private long syncTimestamp; // When this was synced to Firestore
     private String documentId; // Unique document ID: deviceAddress_sensorId_timestamp
+    private ReadingTrace trace; // Latency stamps, written by the aggregator when traced
 
     // Default constructor required for Firestore
     public FirestoreDataModel() {}
@@ -79,6 +85,9 @@ public class FirestoreDataModel {
         doc.put("sensorId", sensorId);
         doc.put("syncTimestamp", syncTimestamp);
         doc.put("documentId", documentId);
+        if (trace != null) {
+            doc.put(ReadingTrace.FIELD_TRACE, trace.toFirestoreMap());
+        }
         return doc;
     }
 
@@ -108,6 +117,9 @@ public class FirestoreDataModel {
         model.syncTimestamp = syncTsObj instanceof Long ? (Long) syncTsObj : 0L;
         
         model.documentId = (String) doc.get("documentId");
+
+        // Latency stamps - absent on untraced and older documents
+        model.trace = ReadingTrace.fromFirestoreMap(doc.get(ReadingTrace.FIELD_TRACE));
         return model;
     }
 
@@ -184,4 +196,12 @@ public class FirestoreDataModel {
     public void setDocumentId(String documentId) {
         this.documentId = documentId;
     }
+
+    public ReadingTrace getTrace() {
+        return trace;
+    }
+
+    public void setTrace(ReadingTrace trace) {
+        this.trace = trace;
+    }
 }
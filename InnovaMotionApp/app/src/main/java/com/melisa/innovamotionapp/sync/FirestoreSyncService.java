@@ -10,21 +10,39 @@ import com.google.android.gms.tasks.OnCompleteListener;
 import com.google.android.gms.tasks.OnFailureListener;
 import com.google.android.gms.tasks.OnSuccessListener;
 import com.google.android.gms.tasks.Task;
+import com.google.firebase.Timestamp;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.DocumentChange;
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.SetOptions;
 import com.google.firebase.firestore.WriteBatch;
 import com.melisa.innovamotionapp.data.database.InnovaDatabase;
 import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
 import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.data.maintenance.PurgeReport;
+import com.melisa.innovamotionapp.data.maintenance.PurgeRunner;
+import com.melisa.innovamotionapp.data.maintenance.RetentionRunner;
+import com.melisa.innovamotionapp.data.maintenance.RoomPurgeStores;
+import com.melisa.innovamotionapp.data.models.SensorState;
 import com.melisa.innovamotionapp.data.posture.Posture;
+import com.melisa.innovamotionapp.data.posture.PostureFactory;
+import com.melisa.innovamotionapp.data.posture.types.FallingPosture;
+import com.melisa.innovamotionapp.metrics.LatencyTracer;
+import com.melisa.innovamotionapp.metrics.Metrics;
+import com.melisa.innovamotionapp.metrics.ReadingTrace;
+import com.melisa.innovamotionapp.metrics.StartupTracer;
 import com.melisa.innovamotionapp.utils.Constants;
+import com.melisa.innovamotionapp.utils.FeatureFlags;
+import com.melisa.innovamotionapp.utils.LiveSensorStateStore;
+import com.melisa.innovamotionapp.utils.SensorRegistry;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -34,6 +52,7 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -72,6 +91,12 @@ public class FirestoreSyncService {
     // Offline queue for batch sync when connectivity is lost
     private final Queue<QueuedPacket> offlineQueue = new ConcurrentLinkedQueue<>();
     
+    // Chunked purges in progress (supervisor re-scope, clear), for cancelPurge()
+    private final Set<PurgeRunner> activePurges = ConcurrentHashMap.newKeySet();
+    
+    // Which 'sensor_state/{sensorId}' documents the next upload rewrites (aggregator)
+    private final SensorStateThrottle sensorStateThrottle = new SensorStateThrottle(Constants.SENSOR_STATE_MIN_INTERVAL_MS);
+    
     /**
      * Wrapper class for queued packets with retry count tracking
      */
@@ -96,7 +121,9 @@ public class FirestoreSyncService {
 
     public static synchronized FirestoreSyncService getInstance(Context context) {
         if (instance == null) {
+            long start = StartupTracer.getInstance().begin();
             instance = new FirestoreSyncService(context);
+            StartupTracer.getInstance().endInit("FirestoreSyncService", start);
         }
         return instance;
     }
@@ -182,9 +209,6 @@ public class FirestoreSyncService {
             userSession.fetchAssignedSensorIds(new UserSession.AssignedSensorsCallback() {
                 @Override
                 public void onSensorsLoaded(List<String> sensorIds) {
-                    // #region agent log
-                    android.util.Log.w("DBG_H2", "Supervisor sync: fetched sensorIds=" + sensorIds + ", isEmpty=" + sensorIds.isEmpty());
-                    // #endregion
                     if (!sensorIds.isEmpty()) {
                         startSupervisorMirrors(sensorIds);
                     } else {
@@ -255,7 +279,7 @@ public class FirestoreSyncService {
         String documentId = firestoreModel.getDocumentId();
         firestore.collection(COLLECTION_BT_DATA)
                 .document(documentId)
-                .set(firestoreModel.toFirestoreDocument())
+                .set(toUploadDocument(firestoreModel))
                 .addOnSuccessListener(aVoid -> {
                     Log.d(TAG, "Message synced to Firestore: " + documentId);
                     callback.onSuccess("Message synced successfully");
@@ -266,6 +290,29 @@ public class FirestoreSyncService {
                 });
     }
 
+    /**
+     * Reading document to write; traced readings also get the server commit time.
+     */
+    private static Map<String, Object> toUploadDocument(FirestoreDataModel model) {
+        Map<String, Object> doc = model.toFirestoreDocument();
+        if (model.getTrace() != null) {
+            doc.put(ReadingTrace.FIELD_TRACE_SERVER, FieldValue.serverTimestamp());
+        }
+        return doc;
+    }
+
+    /**
+     * Parse a downloaded reading document, including the trace's server commit time.
+     */
+    private static FirestoreDataModel fromDownloadedDocument(Map<String, Object> doc) {
+        FirestoreDataModel model = FirestoreDataModel.fromFirestoreDocument(doc);
+        Object serverTsObj = doc.get(ReadingTrace.FIELD_TRACE_SERVER);
+        if (model.getTrace() != null && serverTsObj instanceof Timestamp) {
+            model.getTrace().setServerAt(((Timestamp) serverTsObj).toDate().getTime());
+        }
+        return model;
+    }
+
     // ========== BATCH SYNC METHODS ==========
 
     /**
@@ -325,11 +372,13 @@ public class FirestoreSyncService {
         }
 
         String userId = user.getUid();
+        List<SensorStateThrottle.State> states = sensorStateThrottle.offer(toStateReadings(packet), System.currentTimeMillis());
 
         // If packet is larger than batch limit, split it
-        if (packet.size() > BATCH_SIZE) {
+        if (packet.size() + states.size() > BATCH_SIZE) {
             Log.i(TAG, "Large packet (" + packet.size() + " docs), splitting into batches");
             syncLargePacketInBatches(userId, packet, callback);
+            commitSensorStates(userId, states);
             return;
         }
 
@@ -344,20 +393,28 @@ public class FirestoreSyncService {
                 userId,
                 entity.getSensorId()
             );
+            firestoreModel.setTrace(entity.getTrace());
 
             String documentId = firestoreModel.getDocumentId();
             batch.set(
                 firestore.collection(COLLECTION_BT_DATA).document(documentId),
-                firestoreModel.toFirestoreDocument()
+                toUploadDocument(firestoreModel)
             );
         }
+        addSensorStates(batch, userId, states);
 
+        long commitStart = System.nanoTime();
         batch.commit()
             .addOnSuccessListener(aVoid -> {
+                Metrics.FIRESTORE_COMMIT_LATENCY.recordSince(commitStart);
+                Metrics.FIRESTORE_DOCS_COMMITTED.add(packet.size());
+                LatencyTracer.onFirestoreCommitted(packet, System.currentTimeMillis());
                 Log.d(TAG, "Batch synced successfully: " + packet.size() + " documents");
                 callback.onSuccess("Batch synced: " + packet.size() + " documents");
             })
             .addOnFailureListener(e -> {
+                Metrics.FIRESTORE_COMMIT_FAILURES.increment();
+                sensorStateThrottle.invalidate(states);
                 Log.e(TAG, "Failed to sync batch to Firestore", e);
                 callback.onError("Failed to sync batch: " + e.getMessage());
             });
@@ -385,17 +442,23 @@ public class FirestoreSyncService {
                     userId,
                     entity.getSensorId()
                 );
+                firestoreModel.setTrace(entity.getTrace());
 
                 String documentId = firestoreModel.getDocumentId();
                 batch.set(
                     firestore.collection(COLLECTION_BT_DATA).document(documentId),
-                    firestoreModel.toFirestoreDocument()
+                    toUploadDocument(firestoreModel)
                 );
             }
 
             final int batchNumber = (i / BATCH_SIZE) + 1;
+            final int sliceSize = batchSlice.size();
+            long commitStart = System.nanoTime();
             batch.commit()
                 .addOnSuccessListener(aVoid -> {
+                    Metrics.FIRESTORE_COMMIT_LATENCY.recordSince(commitStart);
+                    Metrics.FIRESTORE_DOCS_COMMITTED.add(sliceSize);
+                    LatencyTracer.onFirestoreCommitted(batchSlice, System.currentTimeMillis());
                     int completed = completedBatches.incrementAndGet();
                     Log.d(TAG, "Batch " + batchNumber + "/" + totalBatches + " synced");
                     callback.onProgress(completed, totalBatches);
@@ -409,6 +472,7 @@ public class FirestoreSyncService {
                     }
                 })
                 .addOnFailureListener(e -> {
+                    Metrics.FIRESTORE_COMMIT_FAILURES.increment();
                     int failed = failedBatches.incrementAndGet();
                     Log.e(TAG, "Batch " + batchNumber + "/" + totalBatches + " failed", e);
 
@@ -419,6 +483,54 @@ public class FirestoreSyncService {
         }
     }
 
+    /**
+     * The packet's readings as seen by the sensor state throttle (readings without a sensor are skipped).
+     */
+    private static List<SensorStateThrottle.Reading> toStateReadings(List<ReceivedBtDataEntity> packet) {
+        List<SensorStateThrottle.Reading> readings = new ArrayList<>(packet.size());
+        for (ReceivedBtDataEntity entity : packet) {
+            String sensorId = entity.getSensorId();
+            String msg = entity.getReceivedMsg();
+            if (sensorId == null || sensorId.isEmpty() || msg == null) {
+                continue;
+            }
+            boolean fall = PostureFactory.createPosture(msg) instanceof FallingPosture;
+            readings.add(new SensorStateThrottle.Reading(sensorId, entity.getDeviceAddress(), msg, entity.getTimestamp(), fall));
+        }
+        return readings;
+    }
+
+    /**
+     * Add 'sensor_state/{sensorId}' writes to a batch. Merged, so a state without a fall keeps lastFallAt.
+     */
+    private void addSensorStates(WriteBatch batch, String userId, List<SensorStateThrottle.State> states) {
+        for (SensorStateThrottle.State state : states) {
+            SensorState doc = new SensorState(state.getSensorId(), state.getDeviceAddress(), userId,
+                    state.getReceivedMsg(), state.getTimestamp(), state.isAlert(), state.getLastFallAt());
+            batch.set(
+                firestore.collection(Constants.FIRESTORE_COLLECTION_SENSOR_STATE).document(state.getSensorId()),
+                doc.toFirestoreDocument(),
+                SetOptions.merge()
+            );
+        }
+    }
+
+    /**
+     * Commit sensor states in their own batch (large packets, whose slices are already full).
+     */
+    private void commitSensorStates(String userId, List<SensorStateThrottle.State> states) {
+        if (states.isEmpty()) {
+            return;
+        }
+        WriteBatch batch = firestore.batch();
+        addSensorStates(batch, userId, states);
+        batch.commit()
+            .addOnFailureListener(e -> {
+                Log.w(TAG, "Failed to write " + states.size() + " sensor states", e);
+                sensorStateThrottle.invalidate(states);
+            });
+    }
+
     // ========== OFFLINE QUEUE MANAGEMENT ==========
 
     /**
@@ -429,9 +541,11 @@ public class FirestoreSyncService {
         if (offlineQueue.size() >= MAX_OFFLINE_QUEUE_SIZE) {
             Log.w(TAG, "Offline queue full (" + MAX_OFFLINE_QUEUE_SIZE + "), dropping oldest packet");
             offlineQueue.poll(); // Remove oldest packet to make room
+            Metrics.FIRESTORE_QUEUE_DROPS.increment();
         }
 
         offlineQueue.add(new QueuedPacket(packet));
+        Metrics.FIRESTORE_OFFLINE_QUEUE.set(offlineQueue.size());
         Log.d(TAG, "Queued packet for later sync. Queue size: " + offlineQueue.size());
     }
 
@@ -450,6 +564,7 @@ public class FirestoreSyncService {
         executorService.execute(() -> {
             while (!offlineQueue.isEmpty()) {
                 QueuedPacket queuedPacket = offlineQueue.poll();
+                Metrics.FIRESTORE_OFFLINE_QUEUE.set(offlineQueue.size());
                 if (queuedPacket == null) continue;
 
                 // Check connectivity before each packet (might lose connection mid-processing)
@@ -457,6 +572,7 @@ public class FirestoreSyncService {
                     Log.w(TAG, "Lost connectivity while processing queue, re-queueing remaining packets");
                     // Re-queue this packet at the front
                     offlineQueue.add(queuedPacket);
+                    Metrics.FIRESTORE_OFFLINE_QUEUE.set(offlineQueue.size());
                     break;
                 }
 
@@ -474,7 +590,9 @@ public class FirestoreSyncService {
                         if (queuedPacket.retryCount < MAX_RETRY_ATTEMPTS) {
                             Log.d(TAG, "Re-queueing failed packet (attempt " + queuedPacket.retryCount + "/" + MAX_RETRY_ATTEMPTS + ")");
                             offlineQueue.add(queuedPacket);
+                            Metrics.FIRESTORE_OFFLINE_QUEUE.set(offlineQueue.size());
                         } else {
+                            Metrics.FIRESTORE_QUEUE_DROPS.increment();
                             Log.e(TAG, "Dropping packet after " + MAX_RETRY_ATTEMPTS + " failed attempts");
                         }
                     }
@@ -502,6 +620,7 @@ public class FirestoreSyncService {
      */
     public void clearOfflineQueue() {
         offlineQueue.clear();
+        Metrics.FIRESTORE_OFFLINE_QUEUE.set(0);
         Log.d(TAG, "Offline queue cleared");
     }
 
@@ -619,7 +738,7 @@ public class FirestoreSyncService {
                 
                 String documentId = firestoreModel.getDocumentId();
                 writeBatch.set(firestore.collection(COLLECTION_BT_DATA).document(documentId),
-                              firestoreModel.toFirestoreDocument());
+                              toUploadDocument(firestoreModel));
             }
 
             final int batchNumber = (i / BATCH_SIZE) + 1;
@@ -695,8 +814,8 @@ public class FirestoreSyncService {
             return;
         }
 
-        // Dynamically fetch assigned sensor IDs from the 'assignments' collection
-        userSession.fetchAssignedSensorIds(new UserSession.AssignedSensorsCallback() {
+        // Manual sync re-reads the assignments instead of trusting the cached set
+        userSession.fetchAssignedSensorIds(true, new UserSession.AssignedSensorsCallback() {
             @Override
             public void onSensorsLoaded(List<String> sensorIds) {
                 if (sensorIds.isEmpty()) {
@@ -729,14 +848,7 @@ public class FirestoreSyncService {
      * @param callback Callback for sync result
      */
     public void syncFromSupervisedSensors(List<String> sensorIds, SyncCallback callback) {
-        // #region agent log
-        android.util.Log.w("DBG_SUP", "syncFromSupervisedSensors: ENTRY, sensorIds=" + sensorIds);
-        // #endregion
-        
         if (sensorIds.isEmpty()) {
-            // #region agent log
-            android.util.Log.w("DBG_SUP", "syncFromSupervisedSensors: EMPTY sensorIds, returning early");
-            // #endregion
             callback.onSuccess("No sensors to sync");
             return;
         }
@@ -751,10 +863,6 @@ public class FirestoreSyncService {
         List<Task<QuerySnapshot>> tasks = new ArrayList<>();
 
         for (List<String> batch : batches) {
-            // #region agent log
-            // H3: Log the sensorIds being queried
-            android.util.Log.w("DBG_H3", "Querying Firestore whereIn: batchSensorIds=" + batch + ", collection=" + COLLECTION_BT_DATA);
-            // #endregion
             Task<QuerySnapshot> task = firestore.collection(COLLECTION_BT_DATA)
                     .whereIn("sensorId", batch)
                     .orderBy("timestamp", Query.Direction.ASCENDING)
@@ -774,7 +882,7 @@ public class FirestoreSyncService {
                     if (snapshot != null) {
                         for (QueryDocumentSnapshot document : snapshot) {
                             try {
-                                FirestoreDataModel firestoreModel = FirestoreDataModel.fromFirestoreDocument(document.getData());
+                                FirestoreDataModel firestoreModel = fromDownloadedDocument(document.getData());
                                 String sensorId = firestoreModel.getSensorId();
                                 String ownerUid = firestoreModel.getUserId(); // aggregator's UID
                                 
@@ -814,28 +922,14 @@ public class FirestoreSyncService {
             long duration = System.currentTimeMillis() - startTime;
             Log.i(TAG, "Sensor sync completed in " + duration + "ms, " + batches.size() + " queries, " + allEntities.size() + " new entities");
             
-            // #region agent log
-            // H3: Log Firestore query results
-            android.util.Log.w("DBG_H3", "Firestore query results: newEntitiesCount=" + allEntities.size() + ", batchCount=" + batches.size() + ", durationMs=" + duration);
-            // #endregion
-
             if (allEntities.isEmpty()) {
-                // #region agent log
-                android.util.Log.w("DBG_SUP", "syncFromSupervisedSensors: SUCCESS, no new entities (already up to date)");
-                // #endregion
                 callback.onSuccess("Local database is up to date");
             } else {
                 dao.insertAll(allEntities);
-                // #region agent log
-                android.util.Log.w("DBG_SUP", "syncFromSupervisedSensors: SUCCESS, inserted " + allEntities.size() + " entities");
-                // #endregion
                 callback.onSuccess("Added " + allEntities.size() + " missing messages to local database");
             }
         }).addOnFailureListener(e -> {
             Log.e(TAG, "Failed to sync from supervised sensors", e);
-            // #region agent log
-            android.util.Log.e("DBG_SUP", "syncFromSupervisedSensors: FAILURE - " + e.getMessage());
-            // #endregion
             callback.onError("Failed to sync from supervised sensors: " + e.getMessage());
         });
     }
@@ -905,16 +999,12 @@ public class FirestoreSyncService {
                 FirebaseUser user = auth.getCurrentUser();
                 String userId = user.getUid();
                 
-                // Get the maximum timestamp from local database
+                // Get the maximum timestamp from local database, past readings already rolled up
                 // If DB is empty (after reinstall), this returns 0 to fetch all data
-                long localMaxTimestamp = dao.getMaxTimestampSync();
+                long localMaxTimestamp = RetentionRunner.backfillStartAfter(dao.getMaxTimestampSync(),
+                        localDatabase.postureRollupDao().getMaxRolledUpTimestampSync());
                 Log.d(TAG, "Local max timestamp: " + localMaxTimestamp);
                 
-                // #region agent log
-                // H3: Log backfill start parameters
-                android.util.Log.w("DBG_H3", "Backfill start: userId=" + userId + ", localMaxTimestamp=" + localMaxTimestamp);
-                // #endregion
-                
                 // Query Firestore for messages newer than local max timestamp
                 firestore.collection(COLLECTION_BT_DATA)
                         .whereEqualTo("uploadedBy", userId)
@@ -922,16 +1012,11 @@ public class FirestoreSyncService {
                         .whereGreaterThan("timestamp", localMaxTimestamp)
                         .get()
                         .addOnSuccessListener(queryDocumentSnapshots -> {
-                            // #region agent log
-                            // H3: Log backfill query result
-                            android.util.Log.w("DBG_H3", "Backfill query result: count=" + queryDocumentSnapshots.size());
-                            // #endregion
-                            
                             List<ReceivedBtDataEntity> entitiesToInsert = new ArrayList<>();
                             
                             for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
                                 try {
-                                    FirestoreDataModel firestoreModel = FirestoreDataModel.fromFirestoreDocument(document.getData());
+                                    FirestoreDataModel firestoreModel = fromDownloadedDocument(document.getData());
                                     Long ts = firestoreModel.getTimestamp();
                                     String msg = firestoreModel.getReceivedMsg();
                                     String sensorId = firestoreModel.getSensorId() != null ? firestoreModel.getSensorId() : "unknown";
@@ -1018,8 +1103,9 @@ public class FirestoreSyncService {
                 FirebaseUser user = auth.getCurrentUser();
                 String userId = user.getUid();
                 
-                // Get the maximum timestamp from local database
-                long localMaxTimestamp = dao.getMaxTimestampSync();
+                // Get the maximum timestamp from local database, past readings already rolled up
+                long localMaxTimestamp = RetentionRunner.backfillStartAfter(dao.getMaxTimestampSync(),
+                        localDatabase.postureRollupDao().getMaxRolledUpTimestampSync());
                 Log.d(TAG, "Local max timestamp for paged backfill: " + localMaxTimestamp);
                 
                 // Start paged backfill
@@ -1058,7 +1144,7 @@ public class FirestoreSyncService {
                     
                     for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
                         try {
-                            FirestoreDataModel firestoreModel = FirestoreDataModel.fromFirestoreDocument(document.getData());
+                            FirestoreDataModel firestoreModel = fromDownloadedDocument(document.getData());
                             String sensorId = firestoreModel.getSensorId() != null ? firestoreModel.getSensorId() : "unknown";
                             String ownerUid = firestoreModel.getUserId() != null ? firestoreModel.getUserId() : "unknown";
                             
@@ -1206,8 +1292,13 @@ public class FirestoreSyncService {
         executorService.execute(() -> {
             try {
                 // First, purge old data that doesn't belong to current supervised users
-                int deletedRows = dao.deleteWhereOwnerNotIn(supervisedUserIds);
-                Log.i(TAG, "Purged " + deletedRows + " old data rows");
+                PurgeReport purge = runPurge(RoomPurgeStores.ownersNotIn(dao, supervisedUserIds), null);
+                localDatabase.postureRollupDao().deleteWhereOwnerNotIn(supervisedUserIds);
+                Log.i(TAG, "Purged old data rows: " + purge.toSummary());
+                if (purge.isCancelled()) {
+                    callback.onError("Purge cancelled");
+                    return;
+                }
                 
                 // Then backfill for each supervised user
                 backfillForSupervisedUsers(supervisedUserIds, callback);
@@ -1283,8 +1374,11 @@ public class FirestoreSyncService {
 
         executorService.execute(() -> {
             try {
-                // Get the maximum timestamp from local database for this supervised user
-                long localMaxTimestamp = dao.getMaxTimestampForOwner(supervisedUserId);
+                // Get the maximum timestamp from local database for this supervised user,
+                // past readings already rolled up
+                long localMaxTimestamp = RetentionRunner.backfillStartAfter(
+                        dao.getMaxTimestampForOwner(supervisedUserId),
+                        localDatabase.postureRollupDao().getMaxRolledUpTimestampForOwner(supervisedUserId));
                 Log.i("SYNC/Backfill", "Start backfill for childUid=" + supervisedUserId + " sinceTs=" + localMaxTimestamp);
                 
                 // Query Firestore for messages newer than local max timestamp
@@ -1301,7 +1395,7 @@ public class FirestoreSyncService {
                             long minTs = Long.MAX_VALUE, maxTs = Long.MIN_VALUE;
                             for (QueryDocumentSnapshot document : queryDocumentSnapshots) {
                                 try {
-                                    FirestoreDataModel firestoreModel = FirestoreDataModel.fromFirestoreDocument(document.getData());
+                                    FirestoreDataModel firestoreModel = fromDownloadedDocument(document.getData());
                                     
                                     Long ts = firestoreModel.getTimestamp();
                                     String msg = firestoreModel.getReceivedMsg();
@@ -1393,6 +1487,12 @@ public class FirestoreSyncService {
     // Compound listener for multiple sensors (when <= WHEREIN_LIMIT)
     private ListenerRegistration compoundSensorMirror;
     
+    // 'sensor_state' listeners, one per WHEREIN_LIMIT sensors (FeatureFlags.SENSOR_STATE_DASHBOARD_ENABLED)
+    private final List<ListenerRegistration> sensorStateMirrors = new ArrayList<>();
+    
+    // Latest lastFallAt already notified per sensor, so a re-delivered state doesn't alert twice
+    private final Map<String, Long> notifiedFallBySensor = new ConcurrentHashMap<>();
+    
     /**
      * Start supervisor mirrors for all supervised sensors.
      * 
@@ -1408,26 +1508,25 @@ public class FirestoreSyncService {
      * - More granular error handling
      * - Can continue if one sensor fails
      * 
+     * With FeatureFlags.SENSOR_STATE_DASHBOARD_ENABLED only the per-sensor state documents are
+     * mirrored (see {@link #startSensorStateMirrors(List)}).
+     * 
      * @param sensorIds List of sensor IDs to monitor
      */
     public void startSupervisorMirrors(List<String> sensorIds) {
         Log.i(TAG, "Starting sensor mirrors for " + sensorIds.size() + " sensors");
-        // #region agent log
-        android.util.Log.w("DBG_SUP", "startSupervisorMirrors: ENTRY, sensorIds=" + sensorIds + ", count=" + sensorIds.size());
-        // #endregion
         
-        if (sensorIds.size() <= WHEREIN_LIMIT) {
+        // Fall notifications come from the alerts collection, whichever readings are mirrored
+        FallAlertService.getInstance(context).listen(sensorIds);
+        
+        if (FeatureFlags.SENSOR_STATE_DASHBOARD_ENABLED) {
+            startSensorStateMirrors(sensorIds);
+        } else if (sensorIds.size() <= WHEREIN_LIMIT) {
             // Use single compound listener for efficiency
-            // #region agent log
-            android.util.Log.w("DBG_SUP", "startSupervisorMirrors: using COMPOUND listener (<=10 sensors)");
-            // #endregion
             startCompoundSensorMirror(sensorIds);
         } else {
             // Fall back to per-sensor listeners (Firestore whereIn limit)
             Log.i(TAG, "Using per-sensor listeners (>10 sensors)");
-            // #region agent log
-            android.util.Log.w("DBG_SUP", "startSupervisorMirrors: using PER-SENSOR listeners (>10 sensors)");
-            // #endregion
             for (String sensorId : sensorIds) {
                 startSensorMirror(sensorId);
             }
@@ -1485,6 +1584,100 @@ public class FirestoreSyncService {
         Log.i(TAG, "Compound sensor mirror started for " + sensorIds.size() + " sensors");
     }
     
+    /**
+     * Mirror 'sensor_state/{sensorId}' instead of every reading: one small document per sensor,
+     * rewritten by the aggregator on change or at most every SENSOR_STATE_MIN_INTERVAL_MS.
+     * Each state is stored as a reading, so the dashboard and LiveSensorStateStore work unchanged;
+     * the full history only arrives with the initial/manual sync.
+     * 
+     * @param sensorIds List of sensor IDs to monitor (any number, chunked by WHEREIN_LIMIT)
+     */
+    public void startSensorStateMirrors(List<String> sensorIds) {
+        stopSensorStateMirrors();
+        if (sensorIds.isEmpty()) {
+            Log.w(TAG, "No sensor IDs provided for sensor state mirror");
+            return;
+        }
+        
+        for (int i = 0; i < sensorIds.size(); i += WHEREIN_LIMIT) {
+            List<String> chunk = new ArrayList<>(sensorIds.subList(i, Math.min(i + WHEREIN_LIMIT, sensorIds.size())));
+            ListenerRegistration listener = firestore.collection(Constants.FIRESTORE_COLLECTION_SENSOR_STATE)
+                    .whereIn(FieldPath.documentId(), chunk)
+                    .addSnapshotListener((queryDocumentSnapshots, e) -> {
+                        if (e != null) {
+                            Log.e("SYNC/Mirror", "Sensor state mirror error: " + e.getMessage());
+                            return;
+                        }
+                        if (queryDocumentSnapshots == null) {
+                            return;
+                        }
+                        executorService.execute(() -> handleSensorStateChanges(queryDocumentSnapshots.getDocumentChanges()));
+                    });
+            sensorStateMirrors.add(listener);
+        }
+        
+        Log.i(TAG, "Sensor state mirror started for " + sensorIds.size() + " sensors (" + sensorStateMirrors.size() + " listeners)");
+    }
+    
+    private void stopSensorStateMirrors() {
+        for (ListenerRegistration listener : sensorStateMirrors) {
+            listener.remove();
+        }
+        sensorStateMirrors.clear();
+    }
+    
+    /**
+     * Store each changed sensor state as its latest reading and notify new, recent falls
+     * (only without the alerts channel, which otherwise notifies them).
+     */
+    private void handleSensorStateChanges(List<DocumentChange> documentChanges) {
+        List<ReceivedBtDataEntity> latest = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        
+        for (DocumentChange change : documentChanges) {
+            if (change.getType() == DocumentChange.Type.REMOVED) {
+                continue;
+            }
+            SensorState state = SensorState.fromDocument(change.getDocument());
+            if (state == null || state.getReceivedMsg() == null) {
+                continue;
+            }
+            String sensorId = state.getSensorId();
+            latest.add(new ReceivedBtDataEntity(
+                state.getDeviceAddress() != null ? state.getDeviceAddress() : "",
+                state.getTimestamp(),
+                state.getReceivedMsg(),
+                state.getOwnerUserId() != null ? state.getOwnerUserId() : "unknown",
+                sensorId
+            ));
+            
+            long fallAt = state.getLastFallAt();
+            Long notified = notifiedFallBySensor.get(sensorId);
+            if (fallAt > 0 && (notified == null || fallAt > notified)) {
+                notifiedFallBySensor.put(sensorId, fallAt);
+                if (!FeatureFlags.ALERTS_CHANNEL_ENABLED && FeatureFlags.SUPERVISOR_FALL_ALERTS_ENABLED
+                        && now - fallAt <= Constants.FALL_ALERT_RECENT_WINDOW_MS) {
+                    notifyFall(sensorId);
+                }
+            }
+        }
+        
+        if (!latest.isEmpty()) {
+            dao.insertAll(latest);
+            LiveSensorStateStore.getInstance().updateFromEntities(latest);
+            Log.d(TAG, "Applied " + latest.size() + " sensor states");
+        }
+    }
+    
+    private void notifyFall(String sensorId) {
+        com.melisa.innovamotionapp.utils.PersonNameManager.getInstance(context)
+            .getDisplayNameAsync(sensorId, displayName -> {
+                String body = displayName + " "
+                        + context.getString(com.melisa.innovamotionapp.R.string.notif_fall_text_generic);
+                com.melisa.innovamotionapp.utils.AlertNotifications.notifyFall(context, displayName, body);
+            });
+    }
+    
     /**
      * Start a single sensor mirror for a specific sensor ID.
      * Used when there are more than 10 sensors (exceeds whereIn limit).
@@ -1562,10 +1755,13 @@ public class FirestoreSyncService {
     }
     
     /**
-     * Stop all sensor mirrors (both compound and per-sensor)
+     * Stop all sensor mirrors (compound, per-sensor and sensor state)
      */
     public void stopAllMirrors() {
         Log.i(TAG, "Stopping all sensor mirrors");
+        FallAlertService.getInstance(context).stopListening();
+        stopSensorStateMirrors();
+        notifiedFallBySensor.clear();
         
         // Stop compound mirror if active
         if (compoundSensorMirror != null) {
@@ -1596,9 +1792,35 @@ public class FirestoreSyncService {
      * Use this version when you need to wait for the clear operation to complete
      * before proceeding (e.g., user switch scenarios).
      * 
-     * @param onComplete Callback invoked on main thread after data is cleared (nullable)
+     * @param onComplete Callback invoked on main thread after data is cleared, not if the purge is cancelled (nullable)
      */
     public void clearLocalData(@Nullable Runnable onComplete) {
+        clearLocalData(null, onComplete);
+    }
+    
+    /**
+     * Clear all local data, reporting progress. Readings are deleted in chunks
+     * (see {@link PurgeRunner}) so large databases don't block ingest and observers.
+     * 
+     * @param progress Called on the sync thread as the purge advances (nullable)
+     * @param onComplete Callback invoked on main thread after data is cleared, not if the purge is cancelled (nullable)
+     */
+    public void clearLocalData(@Nullable PurgeRunner.ProgressListener progress, @Nullable Runnable onComplete) {
+        clearLocalData(progress, onComplete, null);
+    }
+    
+    /**
+     * Clear all local data, reporting progress and cancellation.
+     * 
+     * If {@link #cancelPurge()} stops the readings purge, the other tables are left as they are
+     * (the next clear finishes the job) and onCancelled is posted instead of onComplete.
+     * 
+     * @param progress Called on the sync thread as the purge advances (nullable)
+     * @param onComplete Callback invoked on main thread after data is cleared (nullable)
+     * @param onCancelled Callback invoked on main thread if the purge was cancelled (nullable)
+     */
+    public void clearLocalData(@Nullable PurgeRunner.ProgressListener progress, @Nullable Runnable onComplete,
+                               @Nullable Runnable onCancelled) {
         Log.i(TAG, "Clearing all local data" + (onComplete != null ? " (with callback)" : ""));
         
         // Guard against shutdown executor (race condition during sign-out)
@@ -1611,10 +1833,24 @@ public class FirestoreSyncService {
         }
         
         executorService.execute(() -> {
-            int deletedRows = dao.clearAllData();
+            PurgeReport purge = runPurge(RoomPurgeStores.all(dao), progress);
+            if (purge.isCancelled()) {
+                Log.w(TAG, "Clearing local data cancelled (" + purge.toSummary() + ")");
+                if (onCancelled != null) {
+                    new android.os.Handler(android.os.Looper.getMainLooper()).post(onCancelled);
+                }
+                return;
+            }
+            localDatabase.postureRollupDao().clearAll();
+            localDatabase.alertDao().clearAll();
+            FallAlertService.getInstance(context).clear();
             // Also clear monitored persons to prevent stale names on user switch
             int deletedPersons = localDatabase.monitoredPersonDao().clearAll();
-            Log.i(TAG, "Cleared " + deletedRows + " data rows and " + deletedPersons + " monitored persons");
+            SensorRegistry.getInstance().clear();
+            sensorStateThrottle.clear();
+            AssignmentCache.getInstance(context).clear();
+            SupervisorDirectory.getInstance(context).clear();
+            Log.i(TAG, "Cleared data rows (" + purge.toSummary() + ") and " + deletedPersons + " monitored persons");
             
             // Notify caller on main thread
             if (onComplete != null) {
@@ -1623,6 +1859,33 @@ public class FirestoreSyncService {
         });
     }
     
+    /**
+     * Stop purges in progress after their current chunk.
+     */
+    public void cancelPurge() {
+        for (PurgeRunner purge : activePurges) {
+            purge.cancel();
+        }
+    }
+    
+    /**
+     * Run a chunked purge on the calling (sync) thread, registered so it can be cancelled.
+     */
+    private PurgeReport runPurge(PurgeRunner.Store store, @Nullable PurgeRunner.ProgressListener progress) {
+        PurgeRunner purge = new PurgeRunner(store);
+        activePurges.add(purge);
+        try {
+            return purge.run((rowsDeleted, percent) -> {
+                Log.d(TAG, "Purge progress: " + percent + "% (" + rowsDeleted + " rows)");
+                if (progress != null) {
+                    progress.onProgress(rowsDeleted, percent);
+                }
+            });
+        } finally {
+            activePurges.remove(purge);
+        }
+    }
+    
     /**
      * Handle document changes from sensor-based listeners.
      * Used by both compound and per-sensor mirrors.
@@ -1638,7 +1901,7 @@ public class FirestoreSyncService {
         for (DocumentChange change : documentChanges) {
             if (change.getType() == DocumentChange.Type.ADDED || change.getType() == DocumentChange.Type.MODIFIED) {
                 try {
-                    FirestoreDataModel firestoreModel = FirestoreDataModel.fromFirestoreDocument(change.getDocument().getData());
+                    FirestoreDataModel firestoreModel = fromDownloadedDocument(change.getDocument().getData());
                     
                     String sensorId = firestoreModel.getSensorId();
                     String ownerUid = firestoreModel.getUserId(); // aggregator's UID
@@ -1667,11 +1930,19 @@ public class FirestoreSyncService {
                             ownerUid != null ? ownerUid : "unknown",
                             sensorId
                         );
+
+                        // Live delivery only: cached documents were not just committed
+                        ReadingTrace trace = firestoreModel.getTrace();
+                        if (trace != null && !change.getDocument().getMetadata().isFromCache()) {
+                            LatencyTracer.onSnapshotReceived(trace, System.currentTimeMillis());
+                            entity.setTrace(trace);
+                        }
                         entitiesToInsert.add(entity);
                         Log.d(TAG, "New message from sensor " + sensorId + ": " + entity.getReceivedMsg());
 
                         // If this looks like a fall AND it's recent, notify on supervisor phone
-                        if (msg != null && ts != null && (now - ts) <= RECENT_MS) {
+                        // (with the alerts channel, FallAlertService notifies instead)
+                        if (!FeatureFlags.ALERTS_CHANNEL_ENABLED && msg != null && ts != null && (now - ts) <= RECENT_MS) {
                             Posture p = com.melisa.innovamotionapp.data.posture.PostureFactory.createPosture(msg);
                             if (p instanceof com.melisa.innovamotionapp.data.posture.types.FallingPosture) {
                                 // Use PersonNameManager to get display name for notification
@@ -1699,6 +1970,7 @@ public class FirestoreSyncService {
         // Insert new messages into local Room database
         if (!entitiesToInsert.isEmpty()) {
             dao.insertAll(entitiesToInsert);
+            LiveSensorStateStore.getInstance().updateFromEntities(entitiesToInsert);
             Log.i(TAG, "Inserted " + entitiesToInsert.size() + " new messages from sensor mirror");
         }
     }
@@ -1717,7 +1989,7 @@ public class FirestoreSyncService {
         for (DocumentChange change : documentChanges) {
             if (change.getType() == DocumentChange.Type.ADDED || change.getType() == DocumentChange.Type.MODIFIED) {
                 try {
-                    FirestoreDataModel firestoreModel = FirestoreDataModel.fromFirestoreDocument(change.getDocument().getData());
+                    FirestoreDataModel firestoreModel = fromDownloadedDocument(change.getDocument().getData());
                     
                     // Check if message already exists locally
                     int exists = dao.messageExistsOwned(
@@ -1791,6 +2063,7 @@ public class FirestoreSyncService {
         // Insert new messages into local Room database
         if (!entitiesToInsert.isEmpty()) {
             dao.insertAll(entitiesToInsert);
+            LiveSensorStateStore.getInstance().updateFromEntities(entitiesToInsert);
             
             // MIRROR VERIFICATION
             executorService.execute(() -> {
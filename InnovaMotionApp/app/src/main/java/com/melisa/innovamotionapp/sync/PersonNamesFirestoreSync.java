@@ -14,6 +14,7 @@ import com.google.firebase.firestore.WriteBatch;
 import com.melisa.innovamotionapp.data.database.InnovaDatabase;
 import com.melisa.innovamotionapp.data.database.MonitoredPerson;
 import com.melisa.innovamotionapp.data.database.MonitoredPersonDao;
+import com.melisa.innovamotionapp.utils.SensorRegistry;
 
 import java.util.HashMap;
 import java.util.List;
@@ -187,6 +188,7 @@ public class PersonNamesFirestoreSync {
                                 
                                 if (sensorId != null && displayName != null) {
                                     dao.upsertByName(sensorId, displayName, System.currentTimeMillis());
+                                    SensorRegistry.getInstance().put(sensorId, displayName);
                                     count++;
                                 }
                             } catch (Exception e) {
@@ -0,0 +1,32 @@
+package com.melisa.innovamotionapp.sync;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import androidx.annotation.NonNull;
+
+/**
+ * {@link CacheFreshness.Store} backed by a SharedPreferences file (one per cache).
+ */
+class PrefsFreshnessStore implements CacheFreshness.Store {
+    private final SharedPreferences prefs;
+
+    PrefsFreshnessStore(Context context, String prefsName) {
+        this.prefs = context.getSharedPreferences(prefsName, Context.MODE_PRIVATE);
+    }
+
+    @Override
+    public long load(@NonNull String key) {
+        return prefs.getLong(key, 0L);
+    }
+
+    @Override
+    public void save(@NonNull String key, long syncedAtMs) {
+        prefs.edit().putLong(key, syncedAtMs).apply();
+    }
+
+    @Override
+    public void clear() {
+        prefs.edit().clear().apply();
+    }
+}
@@ -5,19 +5,18 @@ import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
 
-import com.google.android.gms.tasks.Task;
-import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.melisa.innovamotionapp.data.database.CachedAssignment;
 import com.melisa.innovamotionapp.data.models.Assignment;
 import com.melisa.innovamotionapp.utils.Constants;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -38,6 +37,8 @@ public class SensorAssignmentService {
     private final Context context;
     private final FirebaseFirestore firestore;
     private final FirebaseAuth auth;
+    private final AssignmentCache cache;
+    private final SupervisorDirectory supervisorDirectory;
     
     private static SensorAssignmentService instance;
     
@@ -108,6 +109,8 @@ public class SensorAssignmentService {
         this.context = context;
         this.firestore = FirebaseFirestore.getInstance();
         this.auth = FirebaseAuth.getInstance();
+        this.cache = AssignmentCache.getInstance(context);
+        this.supervisorDirectory = SupervisorDirectory.getInstance(context);
     }
     
     /**
@@ -182,7 +185,8 @@ public class SensorAssignmentService {
                 .set(assignment.toFirestoreDocument())
                 .addOnSuccessListener(aVoid -> {
                     Log.i(TAG, "Successfully assigned supervisor " + supervisorUid + " to " + sensorId);
-                                callback.onSuccess();
+                    cache.onAssigned(assignment);
+                    callback.onSuccess();
                 })
                 .addOnFailureListener(e -> {
                     Log.e(TAG, "Failed to create assignment", e);
@@ -207,6 +211,7 @@ public class SensorAssignmentService {
                 .delete()
                 .addOnSuccessListener(aVoid -> {
                     Log.i(TAG, "Successfully unassigned supervisor from " + sensorId);
+                    cache.onUnassigned(supervisorUid, sensorId);
                     callback.onSuccess();
                 })
                 .addOnFailureListener(e -> {
@@ -259,6 +264,7 @@ public class SensorAssignmentService {
                 .get()
                 .addOnSuccessListener(querySnapshot -> {
                     if (querySnapshot.isEmpty()) {
+                        cache.onUnassignedAllFromSensor(sensorId);
                         callback.onSuccess();
                     return;
                 }
@@ -272,6 +278,7 @@ public class SensorAssignmentService {
                     batch.commit()
                         .addOnSuccessListener(aVoid -> {
                                 Log.i(TAG, "Unassigned all supervisors from " + sensorId);
+                                cache.onUnassignedAllFromSensor(sensorId);
                                         callback.onSuccess();
                                     })
                                     .addOnFailureListener(e -> {
@@ -314,33 +321,29 @@ public class SensorAssignmentService {
     
     /**
      * Get all sensors assigned to a supervisor.
+     * Served from the local assignment cache while it is fresh.
      * 
      * @param supervisorUid The supervisor's UID
      * @param callback      Result callback with list of assignments
      */
     public void getSensorsForSupervisor(@NonNull String supervisorUid, @NonNull AssignmentListCallback callback) {
-        firestore.collection(COLLECTION_ASSIGNMENTS)
-                .whereEqualTo("supervisorUid", supervisorUid)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    List<Assignment> assignments = new ArrayList<>();
-                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                        Assignment assignment = Assignment.fromDocument(doc);
-                        if (assignment != null) {
-                            assignments.add(assignment);
+        cache.getAssignments(AssignmentCache.Scope.SUPERVISOR, supervisorUid, false, new AssignmentCache.AssignmentsCallback() {
+            @Override
+            public void onResult(@NonNull List<CachedAssignment> assignments) {
+                Log.d(TAG, "Found " + assignments.size() + " sensors for supervisor " + supervisorUid);
+                callback.onResult(toAssignments(assignments));
+            }
+            
+            @Override
+            public void onError(String error) {
+                callback.onError(error);
             }
-                    }
-                    Log.d(TAG, "Found " + assignments.size() + " sensors for supervisor " + supervisorUid);
-                    callback.onResult(assignments);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to get sensors for supervisor " + supervisorUid, e);
-                    callback.onError("Failed to lookup assignments: " + e.getMessage());
         });
     }
     
     /**
      * Get all assignments created by the current aggregator.
+     * Served from the local assignment cache while it is fresh.
      * 
      * @param callback Result callback with list of assignments
      */
@@ -351,25 +354,27 @@ public class SensorAssignmentService {
             return;
         }
         
-        String aggregatorUid = currentUser.getUid();
-        
-        firestore.collection(COLLECTION_ASSIGNMENTS)
-                .whereEqualTo("assignedBy", aggregatorUid)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    List<Assignment> assignments = new ArrayList<>();
-                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                        Assignment assignment = Assignment.fromDocument(doc);
-                        if (assignment != null) {
-                            assignments.add(assignment);
-                        }
-                    }
-                    callback.onResult(assignments);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to get assignments", e);
-                    callback.onError("Failed to load assignments: " + e.getMessage());
-                });
+        cache.getAssignments(AssignmentCache.Scope.AGGREGATOR, currentUser.getUid(), false, new AssignmentCache.AssignmentsCallback() {
+            @Override
+            public void onResult(@NonNull List<CachedAssignment> assignments) {
+                callback.onResult(toAssignments(assignments));
+            }
+            
+            @Override
+            public void onError(String error) {
+                callback.onError(error);
+            }
+        });
+    }
+    
+    private static List<Assignment> toAssignments(List<CachedAssignment> rows) {
+        List<Assignment> assignments = new ArrayList<>();
+        for (CachedAssignment row : rows) {
+            Assignment assignment = new Assignment(row.getSupervisorUid(), row.getSensorId(), row.getAssignedBy());
+            assignment.setAssignedAt(row.getAssignedAt());
+            assignments.add(assignment);
+        }
+        return assignments;
     }
     
     /**
@@ -398,6 +403,7 @@ public class SensorAssignmentService {
                         if (email != null && email.toLowerCase().contains(lowerQuery)) {
                             String displayName = doc.getString("displayName");
                             matches.add(new SupervisorInfo(doc.getId(), email, displayName));
+                            supervisorDirectory.remember(doc.getId(), email, displayName);
                         }
                     }
                     Log.d(TAG, "Found " + matches.size() + " supervisors matching '" + query + "'");
@@ -425,6 +431,7 @@ public class SensorAssignmentService {
                         if (email != null && email.toLowerCase().contains(lowerQuery)) {
                             String displayName = doc.getString("displayName");
                             matches.add(new SupervisorInfo(doc.getId(), email, displayName));
+                            supervisorDirectory.remember(doc.getId(), email, displayName);
                         }
                     }
                     callback.onResult(matches);
@@ -453,6 +460,7 @@ public class SensorAssignmentService {
                         DocumentSnapshot doc = querySnapshot.getDocuments().get(0);
                         String displayName = doc.getString("displayName");
                         SupervisorInfo info = new SupervisorInfo(doc.getId(), email, displayName);
+                        supervisorDirectory.remember(doc.getId(), doc.getString("email"), displayName);
                         callback.onFound(info);
                     } else {
                         // Try legacy 'role' field
@@ -479,6 +487,7 @@ public class SensorAssignmentService {
                         DocumentSnapshot doc = querySnapshot.getDocuments().get(0);
                         String displayName = doc.getString("displayName");
                         SupervisorInfo info = new SupervisorInfo(doc.getId(), email, displayName);
+                        supervisorDirectory.remember(doc.getId(), doc.getString("email"), displayName);
                         callback.onFound(info);
                     } else {
                         // Try without lowercasing
@@ -492,6 +501,7 @@ public class SensorAssignmentService {
                                         DocumentSnapshot doc = qs2.getDocuments().get(0);
                                         String displayName = doc.getString("displayName");
                                         SupervisorInfo info = new SupervisorInfo(doc.getId(), email, displayName);
+                                        supervisorDirectory.remember(doc.getId(), doc.getString("email"), displayName);
                                         callback.onFound(info);
                                     } else {
                                         callback.onNotFound();
@@ -518,87 +528,47 @@ public class SensorAssignmentService {
     }
     
     public void getAssignmentMap(@NonNull AssignmentMapCallback callback) {
+        getAssignmentMap(false, callback);
+    }
+    
+    /**
+     * Get the sensorId -> supervisor emails map from the assignment cache; emails come from the
+     * local directory and only unknown or stale supervisors are read from 'users'.
+     * 
+     * @param forceRefresh Query Firestore even if the cached assignments are fresh
+     */
+    public void getAssignmentMap(boolean forceRefresh, @NonNull AssignmentMapCallback callback) {
         FirebaseUser currentUser = auth.getCurrentUser();
         if (currentUser == null) {
             callback.onError("Not authenticated");
             return;
         }
         
-        String aggregatorUid = currentUser.getUid();
-        
-        firestore.collection(COLLECTION_ASSIGNMENTS)
-                .whereEqualTo("assignedBy", aggregatorUid)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    Map<String, List<String>> uidMap = new HashMap<>();
-                    
-                    // Collect supervisor UIDs to resolve emails
-                    List<String> supervisorUids = new ArrayList<>();
-                    
-                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                        String sensorId = doc.getString("sensorId");
-                        String supervisorUid = doc.getString("supervisorUid");
-                        if (sensorId != null && supervisorUid != null) {
-                            if (!uidMap.containsKey(sensorId)) {
-                                uidMap.put(sensorId, new ArrayList<>());
-                            }
-                            uidMap.get(sensorId).add(supervisorUid);
-                            if (!supervisorUids.contains(supervisorUid)) {
-                                supervisorUids.add(supervisorUid);
-                            }
-                        }
-                    }
-                    
-                    // If no supervisors, return empty map
-                    if (supervisorUids.isEmpty()) {
-                        callback.onResult(new HashMap<>());
-                        return;
-                    }
-                    
-                    // Batch fetch user documents to resolve UIDs to emails
-                    List<Task<DocumentSnapshot>> fetchTasks = new ArrayList<>();
-                    for (String uid : supervisorUids) {
-                        fetchTasks.add(firestore.collection(COLLECTION_USERS).document(uid).get());
-                    }
-                    
-                    Tasks.whenAllSuccess(fetchTasks)
-                            .addOnSuccessListener(results -> {
-                                // Build UID -> email mapping
-                                Map<String, String> uidToEmail = new HashMap<>();
-                                for (Object result : results) {
-                                    DocumentSnapshot doc = (DocumentSnapshot) result;
-                                    if (doc.exists()) {
-                                        String email = doc.getString("email");
-                                        if (email != null) {
-                                            uidToEmail.put(doc.getId(), email);
-                                        }
-                                    }
-                                }
-                                
-                                // Replace UIDs with emails in the result map
-                                Map<String, List<String>> emailMap = new HashMap<>();
-                                for (Map.Entry<String, List<String>> entry : uidMap.entrySet()) {
-                                    List<String> emails = new ArrayList<>();
-                                    for (String uid : entry.getValue()) {
-                                        // Use email if found, otherwise fallback to UID
-                                        String email = uidToEmail.getOrDefault(uid, uid);
-                                        emails.add(email);
-                                    }
-                                    emailMap.put(entry.getKey(), emails);
-                                }
-                                
-                                Log.d(TAG, "Resolved " + uidToEmail.size() + " UIDs to emails for assignment map");
-                                callback.onResult(emailMap);
-                            })
-                            .addOnFailureListener(e -> {
-                                Log.w(TAG, "Failed to resolve some UIDs to emails, returning UIDs as fallback", e);
-                                // Fallback: return UIDs if email resolution fails
-                                callback.onResult(uidMap);
-                            });
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to get assignment map", e);
-                    callback.onError("Failed to load assignments: " + e.getMessage());
-                });
+        cache.getSupervisorEmailsBySensor(currentUser.getUid(), forceRefresh, new AssignmentCache.EmailMapCallback() {
+            @Override
+            public void onResult(@NonNull Map<String, List<String>> sensorToSupervisorEmails) {
+                callback.onResult(sensorToSupervisorEmails);
+            }
+            
+            @Override
+            public void onError(String error) {
+                callback.onError(error);
+            }
+        });
+    }
+    
+    /**
+     * Live sensorId -> supervisor emails map for the current aggregator, updated as the
+     * assignment listener and directory lookups change the cache.
+     * 
+     * @return null if not authenticated
+     */
+    @Nullable
+    public LiveData<Map<String, List<String>>> getAssignmentMapLive() {
+        FirebaseUser currentUser = auth.getCurrentUser();
+        if (currentUser == null) {
+            return null;
+        }
+        return cache.getSupervisorEmailsBySensorLive(currentUser.getUid());
     }
 }
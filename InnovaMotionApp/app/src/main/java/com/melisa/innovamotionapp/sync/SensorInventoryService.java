@@ -16,7 +16,9 @@ import com.melisa.innovamotionapp.data.database.InnovaDatabase;
 import com.melisa.innovamotionapp.data.database.MonitoredPerson;
 import com.melisa.innovamotionapp.data.database.MonitoredPersonDao;
 import com.melisa.innovamotionapp.data.models.Sensor;
+import com.melisa.innovamotionapp.metrics.StartupTracer;
 import com.melisa.innovamotionapp.utils.Constants;
+import com.melisa.innovamotionapp.utils.SensorRegistry;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -59,7 +61,9 @@ public class SensorInventoryService {
         if (instance == null) {
             synchronized (SensorInventoryService.class) {
                 if (instance == null) {
+                    long start = StartupTracer.getInstance().begin();
                     instance = new SensorInventoryService(context.getApplicationContext());
+                    StartupTracer.getInstance().endInit("SensorInventoryService", start);
                 }
             }
         }
@@ -117,6 +121,7 @@ public class SensorInventoryService {
                     // Also update local Room database
                     executor.execute(() -> {
                         dao.upsertByName(sensorId, displayName, System.currentTimeMillis());
+                        SensorRegistry.getInstance().put(sensorId, displayName);
                     });
                     
                     callback.onSuccess("Sensor registered");
@@ -167,6 +172,7 @@ public class SensorInventoryService {
                     // Also update local Room database
                     executor.execute(() -> {
                         dao.upsertByName(sensorId, displayName, System.currentTimeMillis());
+                        SensorRegistry.getInstance().put(sensorId, displayName);
                     });
                     
                     callback.onSuccess("Name updated");
@@ -368,6 +374,7 @@ public class SensorInventoryService {
                         ? sensor.getDisplayName() 
                         : sensor.getSensorId();
                 dao.upsertByName(sensor.getSensorId(), displayName, System.currentTimeMillis());
+                SensorRegistry.getInstance().put(sensor.getSensorId(), displayName);
                 count++;
             }
         }
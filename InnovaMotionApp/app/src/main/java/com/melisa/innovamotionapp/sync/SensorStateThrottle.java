@@ -0,0 +1,176 @@
+package com.melisa.innovamotionapp.sync;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decides which 'sensor_state/{sensorId}' documents an uploaded packet should rewrite.
+ *
+ * A sensor's state is published immediately when its posture code or alert flag changes, or a
+ * new fall arrives, and otherwise at most once per {@code minIntervalMs}. Readings older than
+ * the last published one are ignored, so a late offline-queue packet never moves a sensor back.
+ *
+ * Thread-safe; {@link #offer} takes the current time from the caller.
+ */
+public final class SensorStateThrottle {
+
+    /**
+     * One reading of an uploaded packet.
+     */
+    public static final class Reading {
+        final String sensorId;
+        final String deviceAddress;
+        final String receivedMsg;
+        final long timestamp;
+        final boolean fall;
+
+        public Reading(@NonNull String sensorId, String deviceAddress, @NonNull String receivedMsg,
+                       long timestamp, boolean fall) {
+            this.sensorId = sensorId;
+            this.deviceAddress = deviceAddress;
+            this.receivedMsg = receivedMsg;
+            this.timestamp = timestamp;
+            this.fall = fall;
+        }
+    }
+
+    /**
+     * Latest state of a sensor to write.
+     */
+    public static final class State {
+        private final String sensorId;
+        private final String deviceAddress;
+        private final String receivedMsg;
+        private final long timestamp;
+        private final boolean alert;
+        private final long lastFallAt;
+
+        State(String sensorId, String deviceAddress, String receivedMsg, long timestamp, boolean alert, long lastFallAt) {
+            this.sensorId = sensorId;
+            this.deviceAddress = deviceAddress;
+            this.receivedMsg = receivedMsg;
+            this.timestamp = timestamp;
+            this.alert = alert;
+            this.lastFallAt = lastFallAt;
+        }
+
+        @NonNull
+        public String getSensorId() {
+            return sensorId;
+        }
+
+        public String getDeviceAddress() {
+            return deviceAddress;
+        }
+
+        @NonNull
+        public String getReceivedMsg() {
+            return receivedMsg;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * Whether the latest posture is a fall.
+         */
+        public boolean isAlert() {
+            return alert;
+        }
+
+        /**
+         * Timestamp of the latest fall reading, 0 if none was published yet.
+         */
+        public long getLastFallAt() {
+            return lastFallAt;
+        }
+    }
+
+    private static final class Published {
+        final State state;
+        final long publishedAt;
+
+        Published(State state, long publishedAt) {
+            this.state = state;
+            this.publishedAt = publishedAt;
+        }
+    }
+
+    private final long minIntervalMs;
+    private final Map<String, Published> published = new HashMap<>();
+
+    public SensorStateThrottle(long minIntervalMs) {
+        this.minIntervalMs = minIntervalMs;
+    }
+
+    /**
+     * Offer a packet's readings.
+     *
+     * @return States to write now, at most one per sensor
+     */
+    @NonNull
+    public synchronized List<State> offer(@NonNull Collection<Reading> readings, long nowMs) {
+        // Latest reading and latest fall of each sensor in this packet
+        Map<String, Reading> latest = new LinkedHashMap<>();
+        Map<String, Long> latestFall = new HashMap<>();
+        for (Reading reading : readings) {
+            Reading current = latest.get(reading.sensorId);
+            if (current == null || reading.timestamp >= current.timestamp) {
+                latest.put(reading.sensorId, reading);
+            }
+            if (reading.fall) {
+                latestFall.merge(reading.sensorId, reading.timestamp, Math::max);
+            }
+        }
+
+        List<State> toWrite = new ArrayList<>();
+        for (Reading reading : latest.values()) {
+            Published previous = published.get(reading.sensorId);
+            State before = previous != null ? previous.state : null;
+            if (before != null && reading.timestamp <= before.timestamp) {
+                continue; // Older than (or same as) what is already published
+            }
+
+            Long fallAt = latestFall.get(reading.sensorId);
+            long lastFallAt = Math.max(before != null ? before.lastFallAt : 0L, fallAt != null ? fallAt : 0L);
+            State next = new State(reading.sensorId, reading.deviceAddress, reading.receivedMsg, reading.timestamp, reading.fall, lastFallAt);
+
+            boolean changed = before == null
+                    || !before.receivedMsg.equals(next.receivedMsg)
+                    || before.alert != next.alert
+                    || before.lastFallAt != next.lastFallAt;
+            if (!changed && nowMs - previous.publishedAt < minIntervalMs) {
+                continue;
+            }
+            published.put(reading.sensorId, new Published(next, nowMs));
+            toWrite.add(next);
+        }
+        return toWrite;
+    }
+
+    /**
+     * The write of these states failed: publish the sensors again with their next reading.
+     */
+    public synchronized void invalidate(@NonNull Collection<State> states) {
+        for (State state : states) {
+            Published current = published.get(state.sensorId);
+            if (current != null && current.state == state) {
+                published.remove(state.sensorId);
+            }
+        }
+    }
+
+    /**
+     * Forget all published states (sign-out).
+     */
+    public synchronized void clear() {
+        published.clear();
+    }
+}
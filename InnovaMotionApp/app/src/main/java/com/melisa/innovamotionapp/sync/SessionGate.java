@@ -7,10 +7,14 @@ import androidx.annotation.NonNull;
 
 import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
+import com.melisa.innovamotionapp.metrics.MetricsRegistry;
+import com.melisa.innovamotionapp.metrics.StartupTracer;
 import com.melisa.innovamotionapp.utils.GlobalData;
+import com.melisa.innovamotionapp.utils.Logger;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * SessionGate manages the authentication and session loading flow.
@@ -32,6 +36,7 @@ public class SessionGate {
     private String currentUserUid;
     private List<String> currentUserRoles;
     private List<String> supervisedSensorIds;
+    private BootstrapGraph bootstrap; // Running or last post-auth bootstrap
     
     // Callback interface for session ready
     public interface SessionReadyCallback {
@@ -54,7 +59,9 @@ public class SessionGate {
     
     public static synchronized SessionGate getInstance(Context context) {
         if (instance == null) {
+            long start = StartupTracer.getInstance().begin();
             instance = new SessionGate(context);
+            StartupTracer.getInstance().endInit("SessionGate", start);
         }
         return instance;
     }
@@ -165,6 +172,8 @@ public class SessionGate {
                 runPostAuthBootstrap(roles);
                 hasBootstrapped = true;
                 
+                // The callback does not wait for the bootstrap: screens open on local Room data
+                // and update as its steps land
                 if (callback != null) {
                     // Callback uses legacy signature - pass primary role and empty sensor list
                     // Sensor IDs are now fetched dynamically
@@ -188,8 +197,12 @@ public class SessionGate {
     private void handleUserSignedOut() {
         Log.d(TAG, "User signed out, cleaning up session");
         
+        // Stop the bootstrap first so none of its steps restarts mirrors or publishes sensor IDs
+        cancelBootstrap();
+        
         // Stop all mirrors and clear data
         syncService.stopAllMirrors();
+        syncService.cancelPurge();
         syncService.clearLocalData();
         
         // Reset GlobalData
@@ -216,9 +229,6 @@ public class SessionGate {
         // Get the user's SELECTED role (set by RoleSelectionActivity or LoginActivity)
         String selectedRole = GlobalData.getInstance().currentUserRole;
         Log.i(TAG, "User's selected role: " + selectedRole);
-        // #region agent log
-        android.util.Log.w("DBG_SUP", "runPostAuthBootstrap: availableRoles=" + roles + ", selectedRole=" + selectedRole);
-        // #endregion
         
         // Run pipeline based on SELECTED role only (not all available roles)
         if ("aggregator".equals(selectedRole)) {
@@ -248,36 +258,80 @@ public class SessionGate {
     }
     
     /**
-     * Run aggregator user pipeline (backfill their own data from cloud)
+     * Start a bootstrap graph, cancelling the one still running from a previous login or role.
+     */
+    private void startBootstrap(String role, BootstrapGraph graph) {
+        synchronized (this) {
+            if (bootstrap != null) {
+                bootstrap.cancel();
+            }
+            bootstrap = graph;
+        }
+        Logger.i(Logger.Subsystem.SYNC, TAG, "Starting {} bootstrap", role);
+        graph.start();
+    }
+    
+    /**
+     * Cancel the running bootstrap, if any (sign-out).
+     */
+    private void cancelBootstrap() {
+        synchronized (this) {
+            if (bootstrap != null) {
+                bootstrap.cancel();
+                bootstrap = null;
+            }
+        }
+    }
+    
+    /**
+     * Records step timings in the bootstrap.* latency histograms and logs the summary.
+     */
+    private BootstrapGraph.Listener bootstrapListener(String role) {
+        return new BootstrapGraph.Listener() {
+            @Override
+            public void onStepFinished(@NonNull BootstrapGraph.StepResult result) {
+                if (result.getState() == BootstrapGraph.State.SUCCEEDED) {
+                    MetricsRegistry.getInstance().latency("bootstrap." + result.getName()).record(result.getDurationNanos());
+                }
+                Logger.d(Logger.Subsystem.SYNC, TAG, "Bootstrap step {}: {}", result.getName(), result.getState());
+            }
+            
+            @Override
+            public void onFinished(@NonNull List<BootstrapGraph.StepResult> results) {
+                Logger.i(Logger.Subsystem.SYNC, TAG, "{} bootstrap finished:\n{}", role, BootstrapGraph.format(results));
+            }
+        };
+    }
+    
+    /**
+     * Run aggregator user pipeline: backfill their own data from cloud, download their sensor
+     * names and start the assignment listener, concurrently (none needs the others).
      */
     private void runAggregatorPipeline() {
         Log.i(TAG, "Starting aggregator pipeline");
-        // #region agent log
-        android.util.Log.w("DBG_SUP", "runAggregatorPipeline: starting backfill for current user");
-        // #endregion
         
-        // Backfill current user's data from cloud
+        BootstrapGraph graph = new BootstrapGraph(bootstrapListener("aggregator"))
+                .addStep("backfill", this::backfillAggregatorData)
+                .addStep("sensor_names", this::downloadAggregatorSensorNames)
+                .addStep("assignment_listener", done -> listenToAssignments(AssignmentCache.Scope.AGGREGATOR, done));
+        startBootstrap("aggregator", graph);
+    }
+    
+    /**
+     * Backfill the current aggregator's readings from Firestore into Room.
+     */
+    private void backfillAggregatorData(BootstrapGraph.Completion done) {
         syncService.backfillLocalFromCloudForCurrentUser(new FirestoreSyncService.SyncCallback() {
             @Override
             public void onSuccess(String message) {
                 Log.i(TAG, "Aggregator backfill completed: " + message);
-                // #region agent log
-                android.util.Log.w("DBG_SUP", "runAggregatorPipeline: backfill success - " + message);
-                // #endregion
-                
-                // Also download sensor names from the sensors collection
-                downloadAggregatorSensorNames();
+                done.succeeded();
             }
             
             @Override
             public void onError(String error) {
                 Log.w(TAG, "Aggregator backfill failed: " + error);
-                // #region agent log
-                android.util.Log.w("DBG_SUP", "runAggregatorPipeline: backfill error - " + error);
-                // #endregion
-                
-                // Still try to download sensor names even if message backfill failed
-                downloadAggregatorSensorNames();
+                done.failed(error);
             }
             
             @Override
@@ -291,9 +345,10 @@ public class SessionGate {
      * Download sensor names for the current aggregator from Firestore.
      * This ensures display names are restored after account switch.
      */
-    private void downloadAggregatorSensorNames() {
+    private void downloadAggregatorSensorNames(BootstrapGraph.Completion done) {
         if (currentUserUid == null) {
             Log.w(TAG, "Cannot download sensor names: currentUserUid is null");
+            done.failed("currentUserUid is null");
             return;
         }
         
@@ -304,91 +359,129 @@ public class SessionGate {
                 Log.i(TAG, "Fetched " + sensors.size() + " sensor names from Firestore");
                 
                 // Save fetched sensors to local Room database
-                if (!sensors.isEmpty()) {
-                    sensorInventoryService.saveSensorsToLocal(sensors, new SensorInventoryService.SyncCallback() {
-                        @Override
-                        public void onSuccess(String message) {
-                            Log.i(TAG, "Aggregator sensor names saved to local: " + message);
-                        }
-                        
-                        @Override
-                        public void onError(String error) {
-                            Log.w(TAG, "Failed to save aggregator sensor names locally: " + error);
-                        }
-                    });
+                if (sensors.isEmpty() || done.isCancelled()) {
+                    done.succeeded();
+                    return;
                 }
+                sensorInventoryService.saveSensorsToLocal(sensors, new SensorInventoryService.SyncCallback() {
+                    @Override
+                    public void onSuccess(String message) {
+                        Log.i(TAG, "Aggregator sensor names saved to local: " + message);
+                        done.succeeded();
+                    }
+                    
+                    @Override
+                    public void onError(String error) {
+                        Log.w(TAG, "Failed to save aggregator sensor names locally: " + error);
+                        done.failed(error);
+                    }
+                });
             }
             
             @Override
             public void onError(String error) {
                 Log.w(TAG, "Failed to download sensor names: " + error);
+                done.failed(error);
             }
         });
     }
     
     /**
-     * Run supervisor pipeline - dynamically fetches assigned sensors and syncs data
+     * Run supervisor pipeline: fetch the assigned sensors, then start the live mirrors, the
+     * initial history sync and the sensor name download concurrently. The mirrors no longer wait
+     * for the history sync; both insert through the unique index, so overlapping rows are ignored.
+     * The assignment listener then keeps the cached assignments current.
      */
     private void runSupervisorPipeline() {
         Log.i(TAG, "Starting supervisor pipeline - fetching assigned sensors");
         
-        // Dynamically fetch assigned sensor IDs from the 'assignments' collection
+        // Filled by the assignments step before its dependents start
+        AtomicReference<List<String>> assigned = new AtomicReference<>(new ArrayList<>());
+        
+        BootstrapGraph graph = new BootstrapGraph(bootstrapListener("supervisor"))
+                .addStep("assignments", done -> fetchAssignedSensors(assigned, done))
+                .addStep("mirrors", done -> {
+                    if (!assigned.get().isEmpty()) {
+                        syncService.startSupervisorMirrors(assigned.get());
+                    }
+                    done.succeeded();
+                }, "assignments")
+                .addStep("history", done -> syncSupervisedHistory(assigned.get(), done), "assignments")
+                .addStep("sensor_names", done -> downloadSupervisorSensorNames(assigned.get(), done), "assignments")
+                .addStep("assignment_listener", done -> listenToAssignments(AssignmentCache.Scope.SUPERVISOR, done), "assignments");
+        startBootstrap("supervisor", graph);
+    }
+    
+    /**
+     * Keep the current user's cached assignments current with a snapshot listener, so later
+     * lookups read Room instead of querying Firestore.
+     */
+    private void listenToAssignments(AssignmentCache.Scope scope, BootstrapGraph.Completion done) {
+        String uid = currentUserUid;
+        if (uid == null) {
+            done.failed("currentUserUid is null");
+            return;
+        }
+        if (done.isCancelled()) {
+            done.succeeded();
+            return;
+        }
+        AssignmentCache.getInstance(context).listen(scope, uid);
+        done.succeeded();
+    }
+    
+    /**
+     * Fetch the assigned sensor IDs from the 'assignments' collection and publish them to the
+     * dashboard.
+     */
+    private void fetchAssignedSensors(AtomicReference<List<String>> assigned, BootstrapGraph.Completion done) {
         userSession.fetchAssignedSensorIds(new UserSession.AssignedSensorsCallback() {
             @Override
             public void onSensorsLoaded(List<String> sensorIds) {
-                // #region agent log
-                android.util.Log.w("DBG_SUP", "runSupervisorPipeline: fetched sensorIds=" + sensorIds);
-                // #endregion
+                if (done.isCancelled()) {
+                    return;
+                }
+                Logger.d(Logger.Subsystem.SYNC, TAG, "Fetched {} assigned sensors: {}", sensorIds.size(), sensorIds);
                 
                 // Cache for later use
                 supervisedSensorIds = new ArrayList<>(sensorIds);
                 GlobalData.getInstance().setSupervisedSensorIds(sensorIds);
+                assigned.set(new ArrayList<>(sensorIds));
                 
                 if (sensorIds.isEmpty()) {
                     Log.w(TAG, "No sensors assigned to supervisor");
-                    // #region agent log
-                    android.util.Log.e("DBG_SUP", "runSupervisorPipeline: EMPTY sensorIds!");
-                    // #endregion
-                    return;
                 }
-                
-                // First, sync existing data from Firestore for these sensors
-                syncService.syncFromSupervisedSensors(sensorIds, new FirestoreSyncService.SyncCallback() {
-                    @Override
-                    public void onSuccess(String message) {
-                        Log.i(TAG, "Supervisor initial sync completed: " + message);
-                        // #region agent log
-                        android.util.Log.w("DBG_SUP", "runSupervisorPipeline: initial sync success - " + message);
-                        // #endregion
-                        
-                        // Now start real-time mirrors for ongoing updates
-                        syncService.startSupervisorMirrors(sensorIds);
-                        
-                        // Also download sensor names for display
-                        downloadSupervisorSensorNames(sensorIds);
-                    }
-                    
-                    @Override
-                    public void onError(String error) {
-                        Log.w(TAG, "Supervisor initial sync failed: " + error);
-                        // #region agent log
-                        android.util.Log.e("DBG_SUP", "runSupervisorPipeline: initial sync error - " + error);
-                        // #endregion
-                        
-                        // Still try to start mirrors even if initial sync failed
-                        syncService.startSupervisorMirrors(sensorIds);
-                    }
-                    
-                    @Override
-                    public void onProgress(int current, int total) {
-                        Log.d(TAG, "Supervisor sync progress: " + current + "/" + total);
-                    }
-                });
+                done.succeeded();
             }
 
             @Override
             public void onError(String error) {
                 Log.e(TAG, "Failed to fetch assigned sensors: " + error);
+                done.failed(error);
+            }
+        });
+    }
+    
+    /**
+     * Sync existing readings of the assigned sensors from Firestore into Room.
+     */
+    private void syncSupervisedHistory(List<String> sensorIds, BootstrapGraph.Completion done) {
+        syncService.syncFromSupervisedSensors(sensorIds, new FirestoreSyncService.SyncCallback() {
+            @Override
+            public void onSuccess(String message) {
+                Log.i(TAG, "Supervisor initial sync completed: " + message);
+                done.succeeded();
+            }
+            
+            @Override
+            public void onError(String error) {
+                Log.w(TAG, "Supervisor initial sync failed: " + error);
+                done.failed(error);
+            }
+            
+            @Override
+            public void onProgress(int current, int total) {
+                Log.d(TAG, "Supervisor sync progress: " + current + "/" + total);
             }
         });
     }
@@ -396,17 +489,23 @@ public class SessionGate {
     /**
      * Download sensor names for supervisor from sensors collection.
      */
-    private void downloadSupervisorSensorNames(List<String> sensorIds) {
+    private void downloadSupervisorSensorNames(List<String> sensorIds, BootstrapGraph.Completion done) {
+        if (sensorIds.isEmpty()) {
+            done.succeeded();
+            return;
+        }
         Log.i(TAG, "Downloading sensor names for supervisor");
         sensorInventoryService.downloadToLocal(sensorIds, new SensorInventoryService.SyncCallback() {
             @Override
             public void onSuccess(String message) {
                 Log.i(TAG, "Supervisor sensor names downloaded: " + message);
+                done.succeeded();
             }
             
             @Override
             public void onError(String error) {
                 Log.w(TAG, "Failed to download supervisor sensor names: " + error);
+                done.failed(error);
             }
         });
     }
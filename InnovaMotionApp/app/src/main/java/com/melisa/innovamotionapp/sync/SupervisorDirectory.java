@@ -0,0 +1,260 @@
+package com.melisa.innovamotionapp.sync;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.MetadataChanges;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.melisa.innovamotionapp.data.database.DirectoryUser;
+import com.melisa.innovamotionapp.data.database.DirectoryUserDao;
+import com.melisa.innovamotionapp.data.database.InnovaDatabase;
+import com.melisa.innovamotionapp.utils.Constants;
+import com.melisa.innovamotionapp.utils.EmailPrefixIndex;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Local directory of supervisor emails for the email autocomplete.
+ *
+ * Supervisors are kept in the user_directory table (is_supervisor) and mirrored in an
+ * in-memory {@link EmailPrefixIndex}, so suggestions need no network round trip. While an
+ * autocomplete is attached, a snapshot listener on supervisor profiles keeps the set current:
+ * its first server snapshot replaces the set, later snapshots apply only the changed users.
+ * The set is warm while the listener is live or within {@link Constants#DIRECTORY_CACHE_TTL_MS}
+ * of the last full sync; when cold, callers fall back to the remote search.
+ *
+ * Thread-safe singleton - database work runs on a background executor.
+ */
+public class SupervisorDirectory {
+    private static final String TAG = "SupervisorDirectory";
+    private static final String PREFS_NAME = "supervisor_directory";
+    private static final String SCOPE_KEY = "supervisors";
+
+    private static volatile SupervisorDirectory instance;
+
+    private final InnovaDatabase database;
+    private final DirectoryUserDao dao;
+    private final FirebaseFirestore firestore;
+    private final ExecutorService executor;
+    private final CacheFreshness freshness;
+    private final EmailPrefixIndex<SensorAssignmentService.SupervisorInfo> index = new EmailPrefixIndex<>();
+    // uid -> indexed email, to re-index a supervisor whose email changed
+    private final Map<String, String> emailByUid = new ConcurrentHashMap<>();
+
+    private volatile boolean loaded = false;
+    private ListenerRegistration listener;
+    private int attachedCount = 0;
+
+    private SupervisorDirectory(Context context) {
+        this.database = InnovaDatabase.getInstance(context);
+        this.dao = database.directoryUserDao();
+        this.firestore = FirebaseFirestore.getInstance();
+        this.executor = Executors.newSingleThreadExecutor();
+        this.freshness = new CacheFreshness(new PrefsFreshnessStore(context, PREFS_NAME), Constants.DIRECTORY_CACHE_TTL_MS);
+    }
+
+    public static SupervisorDirectory getInstance(Context context) {
+        if (instance == null) {
+            synchronized (SupervisorDirectory.class) {
+                if (instance == null) {
+                    instance = new SupervisorDirectory(context.getApplicationContext());
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Whether a Firestore profile has the supervisor role (new 'roles' array or legacy 'role').
+     */
+    public static boolean isSupervisor(@NonNull DocumentSnapshot doc) {
+        Object roles = doc.get("roles");
+        if (roles instanceof List && ((List<?>) roles).contains(Constants.ROLE_SUPERVISOR)) {
+            return true;
+        }
+        return Constants.ROLE_SUPERVISOR.equals(doc.getString("role"));
+    }
+
+    // ========== Lifecycle ==========
+
+    /**
+     * An autocomplete was attached: load the persisted supervisors and keep them current.
+     */
+    public synchronized void attach() {
+        attachedCount++;
+        if (!loaded) {
+            executor.execute(this::loadFromRoom);
+        }
+        if (listener == null) {
+            startListener();
+        }
+    }
+
+    /**
+     * An autocomplete was detached; the listener stops with the last one.
+     */
+    public synchronized void detach() {
+        attachedCount = Math.max(0, attachedCount - 1);
+        if (attachedCount == 0) {
+            stopListener();
+        }
+    }
+
+    /**
+     * Drop the in-memory index and sync time (sign-out; the table is cleared with the
+     * assignment cache).
+     */
+    public synchronized void clear() {
+        stopListener();
+        freshness.clear();
+        index.clear();
+        emailByUid.clear();
+        loaded = false;
+        if (attachedCount > 0) {
+            startListener();
+        }
+    }
+
+    // ========== Lookups ==========
+
+    /**
+     * @return true if suggestions can come from the local index alone
+     */
+    public boolean isWarm() {
+        return loaded && freshness.isFresh(SCOPE_KEY, System.currentTimeMillis());
+    }
+
+    /**
+     * Supervisors with an email part starting with {@code query}, from memory.
+     */
+    @NonNull
+    public List<SensorAssignmentService.SupervisorInfo> suggest(@NonNull String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    /**
+     * Record a supervisor seen in a remote search or lookup.
+     */
+    public void remember(@NonNull String uid, @Nullable String email, @Nullable String displayName) {
+        indexSupervisor(uid, email, displayName);
+        DirectoryUser user = new DirectoryUser(uid, email, displayName, System.currentTimeMillis(), true);
+        executor.execute(() -> dao.upsertAll(Collections.singletonList(user)));
+    }
+
+    private void loadFromRoom() {
+        List<DirectoryUser> supervisors = dao.getSupervisorsSync();
+        for (DirectoryUser user : supervisors) {
+            indexSupervisor(user.getUid(), user.getEmail(), user.getDisplayName());
+        }
+        loaded = true;
+        Log.d(TAG, "Loaded " + supervisors.size() + " supervisors into the autocomplete index");
+    }
+
+    private void indexSupervisor(String uid, @Nullable String email, @Nullable String displayName) {
+        String previous = email != null ? emailByUid.put(uid, email) : emailByUid.remove(uid);
+        if (previous != null && !previous.equalsIgnoreCase(email != null ? email : "")) {
+            index.remove(previous);
+        }
+        if (email != null) {
+            index.put(email, new SensorAssignmentService.SupervisorInfo(uid, email, displayName));
+        }
+    }
+
+    private void unindexSupervisor(String uid) {
+        String previous = emailByUid.remove(uid);
+        if (previous != null) {
+            index.remove(previous);
+        }
+    }
+
+    // ========== Listener ==========
+
+    private void startListener() {
+        listener = firestore.collection(Constants.FIRESTORE_COLLECTION_USERS)
+                .whereArrayContains("roles", Constants.ROLE_SUPERVISOR)
+                // Metadata changes too, so an unchanged server result still confirms the cached one
+                .addSnapshotListener(MetadataChanges.INCLUDE, (snapshot, e) -> {
+                    if (e != null) {
+                        Log.w(TAG, "Supervisor listener failed, falling back to TTL", e);
+                        freshness.setLive(SCOPE_KEY, false);
+                        return;
+                    }
+                    if (snapshot != null) {
+                        executor.execute(() -> applySnapshot(snapshot));
+                    }
+                });
+    }
+
+    private void stopListener() {
+        if (listener != null) {
+            listener.remove();
+            listener = null;
+        }
+        freshness.setLive(SCOPE_KEY, false);
+    }
+
+    private void applySnapshot(QuerySnapshot snapshot) {
+        long now = System.currentTimeMillis();
+        CacheFreshness.SnapshotAction action = freshness.onSnapshot(SCOPE_KEY, snapshot.getMetadata().isFromCache());
+        if (action == CacheFreshness.SnapshotAction.WAIT) {
+            return; // Room already holds the last known set; wait for the server
+        }
+        if (action == CacheFreshness.SnapshotAction.REFILL) {
+            List<DirectoryUser> users = new ArrayList<>();
+            List<String> uids = new ArrayList<>();
+            for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                users.add(toDirectoryUser(doc, now, true));
+                uids.add(doc.getId());
+            }
+            database.runInTransaction(() -> {
+                dao.upsertAll(users);
+                dao.clearSupervisorFlagExcept(uids);
+            });
+            index.clear();
+            emailByUid.clear();
+            for (DirectoryUser user : users) {
+                indexSupervisor(user.getUid(), user.getEmail(), user.getDisplayName());
+            }
+            loaded = true;
+            freshness.markSynced(SCOPE_KEY, now);
+            freshness.setLive(SCOPE_KEY, true);
+            Log.d(TAG, "Supervisor directory synced: " + users.size() + " supervisors");
+            return;
+        }
+
+        List<DirectoryUser> changed = new ArrayList<>();
+        for (DocumentChange change : snapshot.getDocumentChanges()) {
+            DocumentSnapshot doc = change.getDocument();
+            // REMOVED: the user lost the supervisor role (or was deleted)
+            boolean supervisor = change.getType() != DocumentChange.Type.REMOVED;
+            DirectoryUser user = toDirectoryUser(doc, now, supervisor);
+            changed.add(user);
+            if (supervisor) {
+                indexSupervisor(user.getUid(), user.getEmail(), user.getDisplayName());
+            } else {
+                unindexSupervisor(user.getUid());
+            }
+        }
+        if (!changed.isEmpty()) {
+            dao.upsertAll(changed);
+            Log.d(TAG, "Applied " + changed.size() + " supervisor changes");
+        }
+    }
+
+    private static DirectoryUser toDirectoryUser(DocumentSnapshot doc, long fetchedAt, boolean supervisor) {
+        return new DirectoryUser(doc.getId(), doc.getString("email"), doc.getString("displayName"), fetchedAt, supervisor);
+    }
+}
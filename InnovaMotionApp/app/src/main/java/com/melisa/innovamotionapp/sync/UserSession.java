@@ -9,8 +9,9 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.melisa.innovamotionapp.data.database.CachedAssignment;
 import com.melisa.innovamotionapp.data.models.UserProfile;
+import com.melisa.innovamotionapp.metrics.StartupTracer;
 import com.melisa.innovamotionapp.utils.Constants;
 import com.melisa.innovamotionapp.utils.GlobalData;
 
@@ -72,7 +73,9 @@ public class UserSession {
     
     public static synchronized UserSession getInstance(Context context) {
         if (instance == null) {
+            long start = StartupTracer.getInstance().begin();
             instance = new UserSession(context);
+            StartupTracer.getInstance().endInit("UserSession", start);
         }
         return instance;
     }
@@ -140,31 +143,38 @@ public class UserSession {
     
     /**
      * Fetch assigned sensor IDs for the current supervisor from the 'assignments' collection.
-     * This is the new way - we query the assignments collection instead of storing on user profile.
+     * Served from the local assignment cache while it is fresh (see {@link AssignmentCache}).
      */
     public void fetchAssignedSensorIds(AssignedSensorsCallback callback) {
+        fetchAssignedSensorIds(false, callback);
+    }
+    
+    /**
+     * Fetch assigned sensor IDs for the current supervisor.
+     * 
+     * @param forceRefresh Query Firestore even if the cached assignments are fresh (manual sync)
+     */
+    public void fetchAssignedSensorIds(boolean forceRefresh, AssignedSensorsCallback callback) {
         if (currentUserId == null) {
             callback.onError("User not loaded");
             return;
         }
         
-        firestore.collection(Constants.FIRESTORE_COLLECTION_ASSIGNMENTS)
-                .whereEqualTo("supervisorUid", currentUserId)
-                .get()
-                .addOnSuccessListener(querySnapshot -> {
-                    List<String> sensorIds = new ArrayList<>();
-                    for (QueryDocumentSnapshot doc : querySnapshot) {
-                        String sensorId = doc.getString("sensorId");
-                        if (sensorId != null) {
-                            sensorIds.add(sensorId);
-                        }
+        String supervisorUid = currentUserId;
+        AssignmentCache.getInstance(context).getAssignments(AssignmentCache.Scope.SUPERVISOR, supervisorUid, forceRefresh,
+                new AssignmentCache.AssignmentsCallback() {
+                    @Override
+                    public void onResult(@NonNull List<CachedAssignment> assignments) {
+                        List<String> sensorIds = AssignmentMaps.sensorIds(assignments);
+                        Log.d(TAG, "Fetched " + sensorIds.size() + " assigned sensors for supervisor " + supervisorUid);
+                        callback.onSensorsLoaded(sensorIds);
+                    }
+                    
+                    @Override
+                    public void onError(String error) {
+                        Log.e(TAG, "Failed to fetch assigned sensors: " + error);
+                        callback.onError("Failed to fetch assigned sensors: " + error);
                     }
-                    Log.d(TAG, "Fetched " + sensorIds.size() + " assigned sensors for supervisor " + currentUserId);
-                    callback.onSensorsLoaded(sensorIds);
-                })
-                .addOnFailureListener(e -> {
-                    Log.e(TAG, "Failed to fetch assigned sensors", e);
-                    callback.onError("Failed to fetch assigned sensors: " + e.getMessage());
                 });
     }
     
@@ -6,29 +6,51 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.DiffUtil;
-import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.melisa.innovamotionapp.R;
 import com.melisa.innovamotionapp.databinding.ItemMessageLogBinding;
+import com.melisa.innovamotionapp.ui.models.ListUpdate;
 import com.melisa.innovamotionapp.ui.models.MessageLogItem;
 
 import java.text.SimpleDateFormat;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.Locale;
 
 /**
  * RecyclerView adapter for the message log list.
- * Uses ListAdapter with DiffUtil for efficient updates.
+ * Applies DiffUtil results precomputed off the main thread by MessageLogViewModel.
  * Highlights fall messages with a red background.
  */
-public class MessageLogAdapter extends ListAdapter<MessageLogItem, MessageLogAdapter.ViewHolder> {
+public class MessageLogAdapter extends RecyclerView.Adapter<MessageLogAdapter.ViewHolder> {
 
     private static final SimpleDateFormat TIME_FORMAT = new SimpleDateFormat("HH:mm:ss", Locale.getDefault());
     private static final SimpleDateFormat DATE_TIME_FORMAT = new SimpleDateFormat("MM/dd HH:mm:ss", Locale.getDefault());
 
-    public MessageLogAdapter() {
-        super(new DiffCallback());
+    private List<MessageLogItem> items = Collections.emptyList();
+
+    /**
+     * Show a new list, dispatching the precomputed diff when it applies to the current list.
+     */
+    public void submitUpdate(@NonNull ListUpdate<MessageLogItem> update) {
+        List<MessageLogItem> shown = items;
+        items = update.getItems();
+        if (update.canDispatchTo(shown)) {
+            update.getDiffResult().dispatchUpdatesTo(this);
+        } else {
+            notifyDataSetChanged();
+        }
+    }
+
+    public MessageLogItem getItem(int position) {
+        return items.get(position);
+    }
+
+    @Override
+    public int getItemCount() {
+        return items.size();
     }
 
     @NonNull
@@ -92,7 +114,10 @@ public class MessageLogAdapter extends ListAdapter<MessageLogItem, MessageLogAda
         }
     }
 
-    static class DiffCallback extends DiffUtil.ItemCallback<MessageLogItem> {
+    /**
+     * DiffUtil callback for efficient list updates (used by the ViewModel to precompute diffs).
+     */
+    public static class DiffCallback extends DiffUtil.ItemCallback<MessageLogItem> {
         @Override
         public boolean areItemsTheSame(@NonNull MessageLogItem oldItem, @NonNull MessageLogItem newItem) {
             return oldItem.getId() == newItem.getId();
@@ -8,12 +8,16 @@ import android.view.ViewGroup;
 import androidx.annotation.NonNull;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.DiffUtil;
-import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.melisa.innovamotionapp.R;
 import com.melisa.innovamotionapp.databinding.ItemPersonCardBinding;
+import com.melisa.innovamotionapp.ui.models.ListUpdate;
 import com.melisa.innovamotionapp.ui.models.PersonStatus;
+import com.melisa.innovamotionapp.utils.Constants;
+
+import java.util.Collections;
+import java.util.List;
 
 /**
  * RecyclerView adapter for displaying monitored persons in a grid.
@@ -22,12 +26,16 @@ import com.melisa.innovamotionapp.ui.models.PersonStatus;
  * - Status indicator: green (active), yellow (stale > 5min), red (alert/fall)
  * - Alert badge for falling postures
  * - Relative time display ("Just now", "5m ago", etc.)
+ * 
+ * Lists arrive as {@link ListUpdate}s whose DiffUtil result was computed off the main thread
+ * by the ViewModel, so applying an update only dispatches the changed positions.
  */
-public class PersonCardAdapter extends ListAdapter<PersonStatus, PersonCardAdapter.ViewHolder> {
+public class PersonCardAdapter extends RecyclerView.Adapter<PersonCardAdapter.ViewHolder> {
 
-    private static final long STALE_THRESHOLD_MS = 5 * 60 * 1000; // 5 minutes
+    private static final long STALE_THRESHOLD_MS = Constants.STALE_DATA_THRESHOLD_MS;
 
     private final OnPersonClickListener clickListener;
+    private List<PersonStatus> items = Collections.emptyList();
 
     /**
      * Callback interface for card click events.
@@ -37,10 +45,31 @@ public class PersonCardAdapter extends ListAdapter<PersonStatus, PersonCardAdapt
     }
 
     public PersonCardAdapter(@NonNull OnPersonClickListener listener) {
-        super(new DiffCallback());
         this.clickListener = listener;
     }
 
+    /**
+     * Show a new list, dispatching the precomputed diff when it applies to the current list.
+     */
+    public void submitUpdate(@NonNull ListUpdate<PersonStatus> update) {
+        List<PersonStatus> shown = items;
+        items = update.getItems();
+        if (update.canDispatchTo(shown)) {
+            update.getDiffResult().dispatchUpdatesTo(this);
+        } else {
+            notifyDataSetChanged();
+        }
+    }
+
+    public PersonStatus getItem(int position) {
+        return items.get(position);
+    }
+
+    @Override
+    public int getItemCount() {
+        return items.size();
+    }
+
     @NonNull
     @Override
     public ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -110,9 +139,9 @@ public class PersonCardAdapter extends ListAdapter<PersonStatus, PersonCardAdapt
     }
 
     /**
-     * DiffUtil callback for efficient list updates.
+     * DiffUtil callback for efficient list updates (used by the ViewModels to precompute diffs).
      */
-    static class DiffCallback extends DiffUtil.ItemCallback<PersonStatus> {
+    public static class DiffCallback extends DiffUtil.ItemCallback<PersonStatus> {
         @Override
         public boolean areItemsTheSame(@NonNull PersonStatus oldItem, @NonNull PersonStatus newItem) {
             return oldItem.getSensorId().equals(newItem.getSensorId());
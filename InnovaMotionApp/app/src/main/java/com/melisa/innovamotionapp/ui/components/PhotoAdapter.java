@@ -2,7 +2,7 @@ package com.melisa.innovamotionapp.ui.components;
 
 
 import android.content.Context;
-import android.graphics.BitmapFactory;
+import android.graphics.Bitmap;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -11,6 +11,7 @@ import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.melisa.innovamotionapp.R;
+import com.melisa.innovamotionapp.utils.PostureBitmapCache;
 
 import java.util.List;
 
@@ -20,6 +21,8 @@ public class PhotoAdapter extends RecyclerView.Adapter<PhotoAdapter.PhotoViewHol
     private final List<String> imageTimestamps; // Timestamps
     private final OnPhotoChangeListener listener; // Callback for timestamp updates
     private final Context context;
+    private final PostureBitmapCache bitmapCache;
+    private final int targetWidth; // Pictures are shown at most screen-wide
 
     public interface OnPhotoChangeListener {
         void onPhotoChanged(String timestamp);
@@ -30,6 +33,8 @@ public class PhotoAdapter extends RecyclerView.Adapter<PhotoAdapter.PhotoViewHol
         this.imagePaths = imagePaths;
         this.imageTimestamps = imageTimestamps;
         this.listener = listener;
+        this.bitmapCache = PostureBitmapCache.getInstance(context);
+        this.targetWidth = context.getResources().getDisplayMetrics().widthPixels;
     }
 
     @NonNull
@@ -45,8 +50,13 @@ public class PhotoAdapter extends RecyclerView.Adapter<PhotoAdapter.PhotoViewHol
         Integer imageId = imagePaths.get(position);
         String timestamp = imageTimestamps.get(position);
 
-        // Load image into the ImageView (e.g., with Glide or BitmapFactory)
-        holder.imageView.setImageBitmap(BitmapFactory.decodeResource(context.getResources(), imageId));
+        // Load image into the ImageView from the shared cache (decoded once per picture)
+        Bitmap bitmap = bitmapCache.getSampled(imageId, targetWidth, 0);
+        if (bitmap != null) {
+            holder.imageView.setImageBitmap(bitmap);
+        } else {
+            holder.imageView.setImageResource(imageId);
+        }
 
         // Notify the listener of the current timestamp
         listener.onPhotoChanged(timestamp);
@@ -1,11 +1,15 @@
 package com.melisa.innovamotionapp.ui.dialogs;
 
 import android.app.Dialog;
+import android.content.Context;
+import android.content.Intent;
+import android.os.Build;
 import android.os.Bundle;
 import android.os.Handler;
 import android.os.Looper;
 import android.view.LayoutInflater;
 import android.view.View;
+import android.widget.EditText;
 import android.widget.ProgressBar;
 import android.widget.RadioGroup;
 import android.widget.TextView;
@@ -18,17 +22,37 @@ import com.google.android.material.button.MaterialButton;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.switchmaterial.SwitchMaterial;
 import com.melisa.innovamotionapp.R;
+import com.melisa.innovamotionapp.data.database.profiling.QueryProfiler;
+import com.melisa.innovamotionapp.data.export.ExportManager;
+import com.melisa.innovamotionapp.data.export.ExportRequest;
+import com.melisa.innovamotionapp.data.export.ExportResult;
+import com.melisa.innovamotionapp.data.maintenance.PurgeRunner;
+import com.melisa.innovamotionapp.data.maintenance.RetentionManager;
+import com.melisa.innovamotionapp.data.maintenance.RetentionPolicy;
+import com.melisa.innovamotionapp.data.maintenance.RetentionReport;
+import com.melisa.innovamotionapp.metrics.MetricsDumper;
+import com.melisa.innovamotionapp.metrics.MetricsRegistry;
+import com.melisa.innovamotionapp.metrics.StartupTracer;
+import com.melisa.innovamotionapp.utils.Constants;
+import com.melisa.innovamotionapp.utils.LiveSensorStateStore;
 import com.melisa.innovamotionapp.utils.Logger;
 import com.melisa.innovamotionapp.utils.MockDataGenerator;
+import com.melisa.innovamotionapp.utils.StreamingLoadConfig;
+import com.melisa.innovamotionapp.utils.StreamingLoadReport;
 import com.melisa.innovamotionapp.utils.TestScenario;
 
+import java.io.File;
+import java.io.IOException;
+import java.util.Date;
 import java.util.concurrent.Executors;
 
 /**
  * Developer panel dialog for testing without Bluetooth hardware.
  * 
  * Allows selecting and running pre-defined test scenarios that inject
- * mock sensor data into the Room database.
+ * mock sensor data into the Room database, and starting a sustained-rate
+ * streaming load test through the real ingest pipeline, exporting the readings to a file,
+ * running the retention pass on demand and watching the pipeline metrics live.
  * 
  * Activated by shaking the device when DEV_MODE_ENABLED is true.
  */
@@ -47,6 +71,31 @@ public class DeveloperPanelDialog extends DialogFragment {
     private TextView statusText;
     private MaterialButton btnRunScenario;
     private MaterialButton btnClearData;
+    private EditText loadSensorsInput;
+    private EditText loadRateInput;
+    private EditText loadMinutesInput;
+    private MaterialButton btnStreamingLoad;
+    private TextView loadReportText;
+    private SwitchMaterial switchExportNdjson;
+    private MaterialButton btnExport;
+    private MaterialButton btnRetention;
+    private TextView metricsText;
+    private MaterialButton btnMetricsReset;
+    private MaterialButton btnMetricsDump;
+    private TextView queriesText;
+    private MaterialButton btnQueriesReset;
+    private TextView logsTitle;
+    private MaterialButton btnLogsShare;
+    private SwitchMaterial switchVerbosePipelineLogs;
+    
+    // Redraws the metrics snapshot while the dialog is visible
+    private final Runnable metricsRefresh = new Runnable() {
+        @Override
+        public void run() {
+            updateMetrics();
+            mainHandler.postDelayed(this, Constants.METRICS_REFRESH_MS);
+        }
+    };
     
     /**
      * Create a new instance of the developer panel dialog.
@@ -87,11 +136,50 @@ public class DeveloperPanelDialog extends DialogFragment {
         statusText = view.findViewById(R.id.statusText);
         btnRunScenario = view.findViewById(R.id.btnRunScenario);
         btnClearData = view.findViewById(R.id.btnClearData);
+        loadSensorsInput = view.findViewById(R.id.loadSensorsInput);
+        loadRateInput = view.findViewById(R.id.loadRateInput);
+        loadMinutesInput = view.findViewById(R.id.loadMinutesInput);
+        btnStreamingLoad = view.findViewById(R.id.btnStreamingLoad);
+        loadReportText = view.findViewById(R.id.loadReportText);
+        switchExportNdjson = view.findViewById(R.id.switchExportNdjson);
+        btnExport = view.findViewById(R.id.btnExport);
+        btnRetention = view.findViewById(R.id.btnRetention);
+        metricsText = view.findViewById(R.id.metricsText);
+        btnMetricsReset = view.findViewById(R.id.btnMetricsReset);
+        btnMetricsDump = view.findViewById(R.id.btnMetricsDump);
+        queriesText = view.findViewById(R.id.queriesText);
+        btnQueriesReset = view.findViewById(R.id.btnQueriesReset);
+        logsTitle = view.findViewById(R.id.logsTitle);
+        btnLogsShare = view.findViewById(R.id.btnLogsShare);
+        switchVerbosePipelineLogs = view.findViewById(R.id.switchVerbosePipelineLogs);
+        switchVerbosePipelineLogs.setChecked(Logger.isLoggable(Logger.Subsystem.PARSER, Logger.VERBOSE));
+        updateStreamingLoadButton();
+        updateExportButton();
+        updateRetentionButton();
     }
     
     private void setupListeners() {
         btnRunScenario.setOnClickListener(v -> runSelectedScenario());
         btnClearData.setOnClickListener(v -> clearAllData());
+        btnStreamingLoad.setOnClickListener(v -> toggleStreamingLoad());
+        btnExport.setOnClickListener(v -> toggleExport());
+        btnRetention.setOnClickListener(v -> toggleRetention());
+        btnMetricsReset.setOnClickListener(v -> {
+            MetricsRegistry.getInstance().reset();
+            updateMetrics();
+        });
+        btnMetricsDump.setOnClickListener(v -> dumpMetrics());
+        btnQueriesReset.setOnClickListener(v -> {
+            QueryProfiler.getInstance().reset();
+            updateMetrics();
+        });
+        btnLogsShare.setOnClickListener(v -> shareLogs());
+        switchVerbosePipelineLogs.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            int level = isChecked ? Logger.VERBOSE : Logger.INFO;
+            Logger.setLevel(Logger.Subsystem.BLUETOOTH, level);
+            Logger.setLevel(Logger.Subsystem.PARSER, level);
+            Logger.setLevel(Logger.Subsystem.POSTURE, level);
+        });
     }
     
     /**
@@ -176,6 +264,266 @@ public class DeveloperPanelDialog extends DialogFragment {
         });
     }
     
+    /**
+     * Start a streaming load test with the entered parameters, or stop the running one.
+     * The run continues if the dialog is closed; reopening the panel allows stopping it.
+     */
+    private void toggleStreamingLoad() {
+        if (mockDataGenerator.isStreamingLoadRunning()) {
+            mockDataGenerator.cancelStreamingLoad();
+            return;
+        }
+        
+        StreamingLoadConfig config;
+        try {
+            config = new StreamingLoadConfig.Builder()
+                    .sensorCount(Integer.parseInt(loadSensorsInput.getText().toString().trim()))
+                    .readingsPerSecond(Double.parseDouble(loadRateInput.getText().toString().trim()))
+                    .durationMs(Long.parseLong(loadMinutesInput.getText().toString().trim()) * 60 * 1000)
+                    .syncToFirestore(switchSyncToFirestore.isChecked())
+                    .build();
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException is an IllegalArgumentException
+            showStatus(getString(R.string.streaming_load_invalid));
+            return;
+        }
+        
+        Logger.i(TAG, "Starting streaming load: " + config);
+        loadReportText.setVisibility(View.GONE);
+        
+        boolean started = mockDataGenerator.runStreamingLoad(config, new MockDataGenerator.StreamingLoadCallback() {
+            @Override
+            public void onProgress(long elapsedMs, long durationMs, long readingsSent) {
+                mainHandler.post(() -> {
+                    if (!isAdded()) return;
+                    showStatus(getString(R.string.streaming_load_progress,
+                            (int) (elapsedMs / 1000), (int) (durationMs / 1000), readingsSent));
+                });
+            }
+            
+            @Override
+            public void onComplete(StreamingLoadReport report) {
+                mainHandler.post(() -> {
+                    if (!isAdded()) return;
+                    updateStreamingLoadButton();
+                    statusText.setVisibility(View.GONE);
+                    loadReportText.setText(report.toSummary());
+                    loadReportText.setVisibility(View.VISIBLE);
+                    updateStats();
+                });
+            }
+            
+            @Override
+            public void onError(Exception e) {
+                mainHandler.post(() -> {
+                    if (!isAdded()) return;
+                    updateStreamingLoadButton();
+                    showStatus(getString(R.string.scenario_error, e.getMessage()));
+                });
+            }
+        });
+        
+        if (!started) {
+            showStatus(getString(R.string.streaming_load_already_running));
+        }
+        updateStreamingLoadButton();
+    }
+    
+    /**
+     * Reflect whether a streaming load run is active on the start/stop button.
+     */
+    private void updateStreamingLoadButton() {
+        btnStreamingLoad.setText(mockDataGenerator.isStreamingLoadRunning()
+                ? R.string.streaming_load_stop : R.string.streaming_load_start);
+    }
+    
+    /**
+     * Export every reading (gzip CSV or NDJSON plus per-sensor statistics), or stop the running
+     * export. Like the load test, the export continues if the dialog is closed.
+     */
+    private void toggleExport() {
+        ExportManager exportManager = ExportManager.getInstance(requireContext());
+        if (exportManager.isRunning()) {
+            exportManager.cancel();
+            return;
+        }
+        
+        ExportRequest request = new ExportRequest.Builder()
+                .format(switchExportNdjson.isChecked() ? ExportRequest.Format.NDJSON : ExportRequest.Format.CSV)
+                .build();
+        Logger.i(TAG, "Starting export: " + request);
+        loadReportText.setVisibility(View.GONE);
+        
+        boolean started = exportManager.start(request, new ExportManager.ExportCallback() {
+            @Override
+            public void onProgress(long rowsWritten, long lastTimestamp) {
+                mainHandler.post(() -> {
+                    if (!isAdded()) return;
+                    showStatus(getString(R.string.export_progress, rowsWritten));
+                });
+            }
+            
+            @Override
+            public void onComplete(@NonNull ExportResult result, @Nullable File readingsFile, @Nullable File statisticsFile) {
+                mainHandler.post(() -> {
+                    if (!isAdded()) return;
+                    updateExportButton();
+                    if (readingsFile == null) {
+                        showStatus(getString(R.string.export_cancelled));
+                        return;
+                    }
+                    statusText.setVisibility(View.GONE);
+                    loadReportText.setText(getString(R.string.export_complete,
+                            result.toSummary(), readingsFile.getAbsolutePath()));
+                    loadReportText.setVisibility(View.VISIBLE);
+                });
+            }
+            
+            @Override
+            public void onError(@NonNull Exception e) {
+                mainHandler.post(() -> {
+                    if (!isAdded()) return;
+                    updateExportButton();
+                    showStatus(getString(R.string.scenario_error, e.getMessage()));
+                });
+            }
+        });
+        
+        if (!started) {
+            showStatus(getString(R.string.export_already_running));
+        }
+        updateExportButton();
+    }
+    
+    /**
+     * Reflect whether an export is active on the export/stop button.
+     */
+    private void updateExportButton() {
+        btnExport.setText(ExportManager.getInstance(requireContext()).isRunning()
+                ? R.string.export_stop : R.string.export_start);
+    }
+    
+    /**
+     * Run the retention pass now (same policy as the daily job), or stop the running one.
+     */
+    private void toggleRetention() {
+        RetentionManager retentionManager = RetentionManager.getInstance(requireContext());
+        if (retentionManager.isRunning()) {
+            retentionManager.cancel();
+            return;
+        }
+        
+        loadReportText.setVisibility(View.GONE);
+        boolean started = retentionManager.start(new RetentionPolicy.Builder().build(),
+                new RetentionManager.RetentionCallback() {
+                    @Override
+                    public void onComplete(@NonNull RetentionReport report) {
+                        mainHandler.post(() -> {
+                            if (!isAdded()) return;
+                            updateRetentionButton();
+                            statusText.setVisibility(View.GONE);
+                            loadReportText.setText(report.toSummary());
+                            loadReportText.setVisibility(View.VISIBLE);
+                            updateStats();
+                        });
+                    }
+                    
+                    @Override
+                    public void onError(@NonNull Exception e) {
+                        mainHandler.post(() -> {
+                            if (!isAdded()) return;
+                            updateRetentionButton();
+                            showStatus(getString(R.string.scenario_error, e.getMessage()));
+                        });
+                    }
+                });
+        
+        showStatus(getString(started ? R.string.retention_running : R.string.retention_already_running));
+        updateRetentionButton();
+    }
+    
+    /**
+     * Reflect whether a retention pass is active on the retention/stop button.
+     */
+    private void updateRetentionButton() {
+        btnRetention.setText(RetentionManager.getInstance(requireContext()).isRunning()
+                ? R.string.retention_stop : R.string.retention_start);
+    }
+    
+    @Override
+    public void onStart() {
+        super.onStart();
+        mainHandler.post(metricsRefresh);
+    }
+    
+    @Override
+    public void onStop() {
+        mainHandler.removeCallbacks(metricsRefresh);
+        super.onStop();
+    }
+    
+    private void updateMetrics() {
+        if (metricsText != null) {
+            metricsText.setText(MetricsRegistry.getInstance().toText());
+        }
+        if (queriesText != null) {
+            String profile = QueryProfiler.getInstance().toText(Constants.QUERY_PROFILE_LIMIT);
+            queriesText.setText(profile.isEmpty() ? getString(R.string.queries_empty) : profile);
+        }
+        if (logsTitle != null) {
+            logsTitle.setText(getString(R.string.logs_title, Logger.getRecentEvents().size()));
+        }
+    }
+    
+    /**
+     * Share the recent log events, a metrics snapshot and the startup timeline as text, to attach to a bug report.
+     */
+    private void shareLogs() {
+        long now = System.currentTimeMillis();
+        StringBuilder report = new StringBuilder();
+        report.append("# ").append(Build.MANUFACTURER).append(' ').append(Build.MODEL)
+                .append(", API ").append(Build.VERSION.SDK_INT).append(", ").append(new Date(now)).append("\n\n");
+        try {
+            MetricsRegistry.getInstance().writeTo(report, now);
+            report.append('\n');
+            StartupTracer.getInstance().writeTo(report);
+            report.append('\n');
+            QueryProfiler.getInstance().writeTo(report, Constants.QUERY_PROFILE_LIMIT);
+            report.append('\n');
+            Logger.getRecentEvents().writeTo(report);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+        }
+        
+        Intent send = new Intent(Intent.ACTION_SEND)
+                .setType("text/plain")
+                .putExtra(Intent.EXTRA_SUBJECT, getString(R.string.logs_share_subject))
+                .putExtra(Intent.EXTRA_TEXT, report.toString());
+        startActivity(Intent.createChooser(send, getString(R.string.logs_share_chooser)));
+    }
+    
+    /**
+     * Write the current metrics snapshot to a file (off the main thread).
+     */
+    private void dumpMetrics() {
+        Context appContext = requireContext().getApplicationContext();
+        Executors.newSingleThreadExecutor().execute(() -> {
+            try {
+                File file = MetricsDumper.dump(appContext);
+                mainHandler.post(() -> {
+                    if (!isAdded()) return;
+                    showStatus(getString(R.string.metrics_dumped, file.getAbsolutePath()));
+                });
+            } catch (IOException e) {
+                Logger.e(TAG, "Metrics dump failed: " + e.getMessage(), e);
+                mainHandler.post(() -> {
+                    if (!isAdded()) return;
+                    showStatus(getString(R.string.scenario_error, e.getMessage()));
+                });
+            }
+        });
+    }
+    
     /**
      * Clear all data from the database.
      */
@@ -185,7 +533,9 @@ public class DeveloperPanelDialog extends DialogFragment {
         setLoading(true);
         showStatus(getString(R.string.scenario_running));
         
-        mockDataGenerator.clearAllData(() -> {
+        PurgeRunner.ProgressListener progress = (rowsDeleted, percent) -> mainHandler.post(() ->
+                showStatus(getString(R.string.data_clearing_progress, percent)));
+        mockDataGenerator.clearAllData(progress, () -> {
             mainHandler.post(() -> {
                 setLoading(false);
                 showStatus(getString(R.string.data_cleared));
@@ -202,7 +552,9 @@ public class DeveloperPanelDialog extends DialogFragment {
             int[] stats = mockDataGenerator.getStatistics();
             mainHandler.post(() -> {
                 if (dbStatsText != null) {
-                    dbStatsText.setText(getString(R.string.db_stats, stats[0], stats[1]));
+                    dbStatsText.setText(getString(R.string.db_stats, stats[0], stats[1])
+                            + "\n" + getString(R.string.ui_update_stats,
+                                    LiveSensorStateStore.getInstance().getStatsSummary()));
                 }
             });
         });
@@ -20,6 +20,8 @@ import com.melisa.innovamotionapp.ui.models.PersonStatus;
 import com.melisa.innovamotionapp.ui.viewmodels.LivePostureViewModel;
 import com.melisa.innovamotionapp.utils.Logger;
 
+import java.util.List;
+
 /**
  * Fragment for viewing live posture of all monitored persons.
  * 
@@ -88,8 +90,9 @@ public class LivePostureFragment extends Fragment {
      * Observe ViewModel data and update UI accordingly.
      */
     private void observeData() {
-        viewModel.getPersonStatuses().observe(getViewLifecycleOwner(), statuses -> {
-            adapter.submitList(statuses);
+        viewModel.getPersonStatusUpdates().observe(getViewLifecycleOwner(), update -> {
+            List<PersonStatus> statuses = update.getItems();
+            adapter.submitUpdate(update);
             binding.swipeRefresh.setRefreshing(false);
 
             // Show empty state
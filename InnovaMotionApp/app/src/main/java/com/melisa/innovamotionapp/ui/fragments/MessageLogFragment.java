@@ -33,6 +33,9 @@ import java.util.Map;
  */
 public class MessageLogFragment extends Fragment {
 
+    /** Load the next page when the user is this many items away from either end of the list */
+    private static final int PAGE_PREFETCH_DISTANCE = 20;
+
     private FragmentMessageLogBinding binding;
     private MessageLogViewModel viewModel;
     private MessageLogAdapter adapter;
@@ -62,19 +65,37 @@ public class MessageLogFragment extends Fragment {
 
     private void setupRecyclerView() {
         adapter = new MessageLogAdapter();
-        binding.recyclerView.setLayoutManager(new LinearLayoutManager(requireContext()));
+        LinearLayoutManager layoutManager = new LinearLayoutManager(requireContext());
+        binding.recyclerView.setLayoutManager(layoutManager);
         binding.recyclerView.setAdapter(adapter);
         
-        // Auto-scroll to bottom when new messages arrive
+        // Auto-scroll to the top when new messages arrive at the head of the list
         adapter.registerAdapterDataObserver(new RecyclerView.AdapterDataObserver() {
             @Override
             public void onItemRangeInserted(int positionStart, int itemCount) {
-                if (binding.autoScrollSwitch.isChecked() && adapter.getItemCount() > 0) {
+                if (positionStart == 0 && viewModel.isAtHead()
+                        && binding.autoScrollSwitch.isChecked() && adapter.getItemCount() > 0) {
                     // Scroll to top since messages are ordered DESC (newest first)
                     binding.recyclerView.smoothScrollToPosition(0);
                 }
             }
         });
+        
+        // Load pages on demand as the user scrolls
+        binding.recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(@NonNull RecyclerView recyclerView, int dx, int dy) {
+                int itemCount = adapter.getItemCount();
+                if (itemCount == 0) {
+                    return;
+                }
+                if (dy > 0 && layoutManager.findLastVisibleItemPosition() >= itemCount - PAGE_PREFETCH_DISTANCE) {
+                    viewModel.loadOlder();
+                } else if (dy < 0 && layoutManager.findFirstVisibleItemPosition() <= PAGE_PREFETCH_DISTANCE) {
+                    viewModel.loadNewer();
+                }
+            }
+        });
     }
 
     private void setupFilters() {
@@ -125,8 +146,9 @@ public class MessageLogFragment extends Fragment {
 
     private void observeData() {
         // Observe messages
-        viewModel.getMessages().observe(getViewLifecycleOwner(), messages -> {
-            adapter.submitList(messages);
+        viewModel.getMessageUpdates().observe(getViewLifecycleOwner(), update -> {
+            List<MessageLogItem> messages = update.getItems();
+            adapter.submitUpdate(update);
             
             // Show/hide empty state
             boolean isEmpty = messages == null || messages.isEmpty();
@@ -18,7 +18,9 @@ import androidx.core.content.ContextCompat;
 
 import com.google.android.material.textfield.TextInputEditText;
 import com.google.android.material.textfield.TextInputLayout;
+import com.melisa.innovamotionapp.metrics.Metrics;
 import com.melisa.innovamotionapp.sync.SensorAssignmentService;
+import com.melisa.innovamotionapp.sync.SupervisorDirectory;
 import com.melisa.innovamotionapp.utils.Constants;
 
 import java.util.ArrayList;
@@ -30,6 +32,9 @@ import java.util.List;
  * Attaches to a TextInputEditText and shows a dropdown popup with matching
  * supervisor emails as the user types.
  * 
+ * Suggestions come from the local {@link SupervisorDirectory} prefix index without a debounce
+ * once it is warm; while it is cold, the debounced remote search is used instead.
+ * 
  * Usage:
  * <pre>
  *     SupervisorEmailAutocomplete autocomplete = new SupervisorEmailAutocomplete(context);
@@ -45,6 +50,7 @@ public class SupervisorEmailAutocomplete {
     
     private final Context context;
     private final SensorAssignmentService assignmentService;
+    private final SupervisorDirectory supervisorDirectory;
     private final Handler searchHandler;
     private final List<String> emailList;
     private final ArrayAdapter<String> emailAdapter;
@@ -68,6 +74,7 @@ public class SupervisorEmailAutocomplete {
     public SupervisorEmailAutocomplete(@NonNull Context context) {
         this.context = context;
         this.assignmentService = SensorAssignmentService.getInstance(context);
+        this.supervisorDirectory = SupervisorDirectory.getInstance(context);
         this.searchHandler = new Handler(Looper.getMainLooper());
         this.emailList = new ArrayList<>();
         this.emailAdapter = new ArrayAdapter<>(context, android.R.layout.simple_list_item_1, emailList);
@@ -90,6 +97,7 @@ public class SupervisorEmailAutocomplete {
         createSuggestionPopup();
         setupTextWatcher();
         setupFocusListener();
+        supervisorDirectory.attach();
         
         Log.d(TAG, "Attached to input field");
     }
@@ -147,8 +155,10 @@ public class SupervisorEmailAutocomplete {
                 // Cancel previous search
                 cancelPendingSearch();
                 
-                // Schedule new search with debounce
-                if (s.length() >= MIN_QUERY_LENGTH) {
+                // Local suggestions are instant; remote searches are debounced
+                if (s.length() >= MIN_QUERY_LENGTH && supervisorDirectory.isWarm()) {
+                    suggestLocally(s.toString());
+                } else if (s.length() >= MIN_QUERY_LENGTH) {
                     searchRunnable = () -> searchSupervisors(s.toString());
                     searchHandler.postDelayed(searchRunnable, DEBOUNCE_DELAY_MS);
                 } else {
@@ -173,25 +183,24 @@ public class SupervisorEmailAutocomplete {
     }
     
     /**
-     * Search for supervisors matching the query.
+     * Suggest supervisors from the local prefix index.
+     */
+    private void suggestLocally(String query) {
+        Metrics.CACHE_AUTOCOMPLETE_LOCAL.increment();
+        showSuggestions(supervisorDirectory.suggest(query, Constants.AUTOCOMPLETE_MAX_SUGGESTIONS));
+    }
+    
+    /**
+     * Search Firestore for supervisors matching the query (local index still cold).
      */
     private void searchSupervisors(String query) {
         Log.d(TAG, "Searching for supervisors: " + query);
+        Metrics.CACHE_AUTOCOMPLETE_REMOTE.increment();
         
         assignmentService.searchSupervisorsByEmail(query, new SensorAssignmentService.SearchCallback() {
             @Override
             public void onResult(List<SensorAssignmentService.SupervisorInfo> supervisors) {
-                emailList.clear();
-                for (SensorAssignmentService.SupervisorInfo info : supervisors) {
-                    emailList.add(info.email);
-                }
-                emailAdapter.notifyDataSetChanged();
-                
-                if (!emailList.isEmpty() && inputField.hasFocus()) {
-                    showPopup();
-                } else {
-                    hidePopup();
-                }
+                showSuggestions(supervisors);
             }
             
             @Override
@@ -203,6 +212,26 @@ public class SupervisorEmailAutocomplete {
         });
     }
     
+    /**
+     * Show the given supervisors in the dropdown (hidden if none or the field lost focus).
+     */
+    private void showSuggestions(List<SensorAssignmentService.SupervisorInfo> supervisors) {
+        if (inputField == null) {
+            return; // Detached while a remote search was in flight
+        }
+        emailList.clear();
+        for (SensorAssignmentService.SupervisorInfo info : supervisors) {
+            emailList.add(info.email);
+        }
+        emailAdapter.notifyDataSetChanged();
+        
+        if (!emailList.isEmpty() && inputField.hasFocus()) {
+            showPopup();
+        } else {
+            hidePopup();
+        }
+    }
+    
     /**
      * Select an email and notify listener.
      */
@@ -301,6 +330,9 @@ public class SupervisorEmailAutocomplete {
     public void detach() {
         cancelPendingSearch();
         hidePopup();
+        if (inputField != null) {
+            supervisorDirectory.detach();
+        }
         inputField = null;
         inputLayout = null;
         selectionListener = null;
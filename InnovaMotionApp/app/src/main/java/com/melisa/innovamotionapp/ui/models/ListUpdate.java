@@ -0,0 +1,94 @@
+package com.melisa.innovamotionapp.ui.models;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+import androidx.recyclerview.widget.DiffUtil;
+
+import java.util.List;
+
+/**
+ * A new list for a RecyclerView adapter plus the DiffUtil result against the list it replaces,
+ * computed on a background thread by the ViewModel.
+ *
+ * The adapter only dispatches the precomputed diff if it is still showing exactly
+ * {@link #getPreviousItems()} (same instance); otherwise, e.g. a freshly created adapter after a
+ * configuration change or an update dropped by LiveData.postValue(), it falls back to a full refresh.
+ */
+public final class ListUpdate<T> {
+
+    @Nullable
+    private final List<T> previousItems;
+    @NonNull
+    private final List<T> items;
+    @Nullable
+    private final DiffUtil.DiffResult diffResult;
+
+    private ListUpdate(@Nullable List<T> previousItems, @NonNull List<T> items,
+                       @Nullable DiffUtil.DiffResult diffResult) {
+        this.previousItems = previousItems;
+        this.items = items;
+        this.diffResult = diffResult;
+    }
+
+    /**
+     * Diff {@code items} against {@code previousItems}.
+     *
+     * @param previousItems Last list posted to the adapter, or null for the first update
+     * @param itemCallback  The adapter's item identity / content comparison
+     * @param detectMoves   true if items can change position (e.g. a re-sorted dashboard)
+     */
+    @WorkerThread
+    @NonNull
+    public static <T> ListUpdate<T> compute(@Nullable List<T> previousItems, @NonNull List<T> items,
+                                            @NonNull DiffUtil.ItemCallback<T> itemCallback,
+                                            boolean detectMoves) {
+        if (previousItems == null) {
+            return new ListUpdate<>(null, items, null);
+        }
+        DiffUtil.DiffResult diffResult = DiffUtil.calculateDiff(new DiffUtil.Callback() {
+            @Override
+            public int getOldListSize() {
+                return previousItems.size();
+            }
+
+            @Override
+            public int getNewListSize() {
+                return items.size();
+            }
+
+            @Override
+            public boolean areItemsTheSame(int oldItemPosition, int newItemPosition) {
+                return itemCallback.areItemsTheSame(previousItems.get(oldItemPosition), items.get(newItemPosition));
+            }
+
+            @Override
+            public boolean areContentsTheSame(int oldItemPosition, int newItemPosition) {
+                return itemCallback.areContentsTheSame(previousItems.get(oldItemPosition), items.get(newItemPosition));
+            }
+        }, detectMoves);
+        return new ListUpdate<>(previousItems, items, diffResult);
+    }
+
+    @Nullable
+    public List<T> getPreviousItems() {
+        return previousItems;
+    }
+
+    @NonNull
+    public List<T> getItems() {
+        return items;
+    }
+
+    @Nullable
+    public DiffUtil.DiffResult getDiffResult() {
+        return diffResult;
+    }
+
+    /**
+     * @return true if the precomputed diff applies to an adapter currently showing {@code shownItems}
+     */
+    public boolean canDispatchTo(@Nullable List<T> shownItems) {
+        return diffResult != null && shownItems == previousItems;
+    }
+}
@@ -0,0 +1,177 @@
+package com.melisa.innovamotionapp.ui.viewmodels;
+
+import android.app.Application;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.AndroidViewModel;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+
+import com.melisa.innovamotionapp.data.analytics.AnalyticsQuery;
+import com.melisa.innovamotionapp.data.analytics.AnalyticsRepository;
+import com.melisa.innovamotionapp.data.analytics.AnalyticsSnapshot;
+import com.melisa.innovamotionapp.data.analytics.PostureDistribution;
+
+/**
+ * Common base of StatisticsViewModel, EnergyConsumptionViewModel and TimeLapseViewModel.
+ * 
+ * Supports two modes:
+ * 1. User-based filtering: Shows data for a specific user (targetUserId)
+ * 2. Sensor-based filtering: Shows data for a specific sensor (sensorId)
+ * 
+ * Sensor-based filtering takes precedence when sensorId is set.
+ * Data comes from the shared {@link AnalyticsRepository}, so the three screens reuse one
+ * loaded and decoded history per person instead of each querying Room.
+ */
+public abstract class AnalyticsViewModel extends AndroidViewModel {
+    private final String tag;
+
+    private final AnalyticsRepository repository;
+    private final MutableLiveData<String> targetUserId = new MutableLiveData<>();
+    private final MutableLiveData<String> sensorId = new MutableLiveData<>();
+    private final MutableLiveData<long[]> range = new MutableLiveData<>();
+    private final MediatorLiveData<AnalyticsQuery> subject = new MediatorLiveData<>();
+    private final MediatorLiveData<AnalyticsQuery> rangeSubject = new MediatorLiveData<>();
+    private final LiveData<AnalyticsQuery> query;
+    private final LiveData<AnalyticsSnapshot> history;
+    private final LiveData<AnalyticsSnapshot> rangeHistory;
+    private final LiveData<PostureDistribution> distribution;
+    private final LiveData<PostureDistribution> rangeDistribution;
+
+    protected AnalyticsViewModel(@NonNull Application app, @NonNull String tag) {
+        super(app);
+        this.tag = tag;
+        repository = AnalyticsRepository.getInstance(app);
+        // Default: keep null until Activity sets it when session is ready
+        targetUserId.setValue(null);
+        sensorId.setValue(null);
+
+        subject.addSource(sensorId, sid -> subject.setValue(currentQuery()));
+        subject.addSource(targetUserId, uid -> subject.setValue(currentQuery()));
+        rangeSubject.addSource(subject, query -> rangeSubject.setValue(currentRangeQuery()));
+        rangeSubject.addSource(range, r -> rangeSubject.setValue(currentRangeQuery()));
+
+        query = Transformations.distinctUntilChanged(subject);
+        history = Transformations.switchMap(query, this::load);
+        rangeHistory = Transformations.switchMap(Transformations.distinctUntilChanged(rangeSubject), this::load);
+        distribution = Transformations.switchMap(query, this::loadDistribution);
+        rangeDistribution = Transformations.switchMap(Transformations.distinctUntilChanged(rangeSubject),
+                this::loadDistribution);
+    }
+
+    public void setTargetUserId(String userId) { 
+        targetUserId.setValue(userId); 
+    }
+
+    /**
+     * Set sensor ID for sensor-specific filtering.
+     * When set, data will be filtered to this specific sensor.
+     */
+    public void setSensorId(@Nullable String sensorId) {
+        this.sensorId.setValue(sensorId);
+    }
+
+    /**
+     * Set the date range observed by {@link #getRangeHistory()} (inclusive, epoch ms).
+     */
+    public void setRange(long start, long end) {
+        range.setValue(new long[]{start, end});
+    }
+
+    /**
+     * Check if sensor-based filtering is active.
+     */
+    public boolean isSensorMode() {
+        String id = sensorId.getValue();
+        return id != null && !id.isEmpty();
+    }
+
+    /**
+     * Whole history for the user OR sensor, depending on which mode is active.
+     * The same LiveData instance is returned on every call.
+     */
+    @NonNull
+    public LiveData<AnalyticsSnapshot> getHistory() {
+        return history;
+    }
+
+    /**
+     * History within the range set by {@link #setRange}, for the user OR sensor.
+     * Emits nothing until a range is set. The same LiveData instance is returned on every call.
+     */
+    @NonNull
+    public LiveData<AnalyticsSnapshot> getRangeHistory() {
+        return rangeHistory;
+    }
+
+    /**
+     * Time per posture over the whole history (no rows are loaded into memory).
+     * The same LiveData instance is returned on every call.
+     */
+    @NonNull
+    public LiveData<PostureDistribution> getDistribution() {
+        return distribution;
+    }
+
+    /**
+     * Time per posture within the range set by {@link #setRange}.
+     * Emits nothing until a range is set. The same LiveData instance is returned on every call.
+     */
+    @NonNull
+    public LiveData<PostureDistribution> getRangeDistribution() {
+        return rangeDistribution;
+    }
+
+    /**
+     * Whole-history query for the active mode (null until a user or sensor is set), for
+     * subclasses that read the history their own way.
+     */
+    @NonNull
+    protected LiveData<AnalyticsQuery> getQuery() {
+        return query;
+    }
+
+    @Nullable
+    private AnalyticsQuery currentQuery() {
+        String sid = sensorId.getValue();
+        if (sid != null && !sid.isEmpty()) {
+            return AnalyticsQuery.forSensor(sid);
+        }
+        String uid = targetUserId.getValue();
+        return uid != null ? AnalyticsQuery.forUser(uid) : null;
+    }
+
+    @Nullable
+    private AnalyticsQuery currentRangeQuery() {
+        long[] r = range.getValue();
+        if (r == null) {
+            return null;
+        }
+        String sid = sensorId.getValue();
+        if (sid != null && !sid.isEmpty()) {
+            return AnalyticsQuery.forSensor(sid, r[0], r[1]);
+        }
+        String uid = targetUserId.getValue();
+        return uid != null ? AnalyticsQuery.forUser(uid, r[0], r[1]) : null;
+    }
+
+    private LiveData<AnalyticsSnapshot> load(@Nullable AnalyticsQuery query) {
+        Log.i(tag, "subscribe " + query);
+        if (query == null) {
+            return new MutableLiveData<>();
+        }
+        return repository.get(query);
+    }
+
+    private LiveData<PostureDistribution> loadDistribution(@Nullable AnalyticsQuery query) {
+        Log.i(tag, "subscribe distribution " + query);
+        if (query == null) {
+            return new MutableLiveData<>();
+        }
+        return repository.getDistribution(query);
+    }
+}
@@ -160,7 +160,7 @@ public class BtSettingsViewModel extends ViewModel {
         // Cancel discovery because it otherwise slows down the connection.
         this.mBluetoothAdapter.cancelDiscovery();
 
-        deviceCommunicationManager = globalData.deviceCommunicationManager;
+        deviceCommunicationManager = globalData.getDeviceCommunicationManager();
         deviceCommunicationManager.connectDevice(device);
     }
 
@@ -170,7 +170,7 @@ public class BtSettingsViewModel extends ViewModel {
      */
     public void disconnectDevice() {
         Log.d(TAG, "Disconnecting device...");
-        deviceCommunicationManager = globalData.deviceCommunicationManager;
+        deviceCommunicationManager = globalData.getDeviceCommunicationManager();
         if (deviceCommunicationManager != null) {
             deviceCommunicationManager.disconnectDevice();
         }
@@ -199,7 +199,7 @@ public class BtSettingsViewModel extends ViewModel {
      */
     @SuppressLint("MissingPermission")
     public String getConnectedDeviceName() {
-        deviceCommunicationManager = globalData.deviceCommunicationManager;
+        deviceCommunicationManager = globalData.getDeviceCommunicationManager();
         if (deviceCommunicationManager != null) {
             BluetoothDevice device = deviceCommunicationManager.getDeviceToConnect();
             if (device != null) {
@@ -0,0 +1,136 @@
+package com.melisa.innovamotionapp.ui.viewmodels;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.ui.models.PersonStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Stateful variant of {@link PersonStatusTransformer} for the dashboards.
+ *
+ * Remembers the previous snapshot per sensor and only rebuilds a PersonStatus (PostureFactory
+ * lookup included) when that sensor's latest reading or display name changed. If nothing changed
+ * the previous list instance is returned, so callers can skip diffing and posting entirely. When
+ * the changed items keep their sort key (alert flag and name) the previous order is reused
+ * without re-sorting.
+ *
+ * Not thread-safe: each ViewModel confines its instance to one background thread.
+ */
+public final class IncrementalPersonStatusTransformer {
+
+    private static final class Entry {
+        final long timestamp;
+        final String receivedMsg;
+        final PersonStatus status;
+
+        Entry(long timestamp, String receivedMsg, PersonStatus status) {
+            this.timestamp = timestamp;
+            this.receivedMsg = receivedMsg;
+            this.status = status;
+        }
+    }
+
+    private Map<String, Entry> entries = new HashMap<>();
+    private List<PersonStatus> current = Collections.emptyList();
+    private int lastRebuiltCount = 0;
+
+    /**
+     * Transform the latest reading per sensor into a sorted PersonStatus list, reusing unchanged items.
+     *
+     * @param entities  Latest reading per sensor (null is treated as empty)
+     * @param nameCache sensorId -> display name; sensors missing from the cache fall back to their ID
+     * @return Sorted list of person statuses; the previous instance if nothing changed
+     */
+    @WorkerThread
+    @NonNull
+    public List<PersonStatus> transform(@Nullable List<ReceivedBtDataEntity> entities,
+                                        @NonNull Map<String, String> nameCache) {
+        if (entities == null || entities.isEmpty()) {
+            lastRebuiltCount = 0;
+            if (!current.isEmpty()) {
+                entries = new HashMap<>();
+                current = Collections.emptyList();
+            }
+            return current;
+        }
+
+        Map<String, Entry> next = new HashMap<>(entities.size() * 2);
+        int rebuilt = 0;
+        boolean orderKept = true;
+        for (ReceivedBtDataEntity entity : entities) {
+            String sensorId = entity.getSensorId();
+            if (sensorId == null || sensorId.isEmpty()) {
+                continue;
+            }
+
+            Entry previous = entries.get(sensorId);
+            if (previous != null
+                    && previous.timestamp == entity.getTimestamp()
+                    && Objects.equals(previous.receivedMsg, entity.getReceivedMsg())
+                    && Objects.equals(previous.status.getDisplayName(), nameCache.getOrDefault(sensorId, sensorId))) {
+                next.put(sensorId, previous);
+                continue;
+            }
+
+            PersonStatus status = PersonStatusTransformer.toPersonStatus(entity, nameCache);
+            if (status != null) {
+                next.put(sensorId, new Entry(entity.getTimestamp(), entity.getReceivedMsg(), status));
+                rebuilt++;
+                if (previous == null || !sameSortKey(previous.status, status)) {
+                    orderKept = false;
+                }
+            }
+        }
+        lastRebuiltCount = rebuilt;
+
+        if (rebuilt == 0 && next.size() == entries.size()) {
+            return current;
+        }
+
+        List<PersonStatus> statuses = new ArrayList<>(next.size());
+        if (orderKept && next.size() == entries.size()) {
+            // Same sensors, same sort keys: replace changed items in place
+            for (PersonStatus status : current) {
+                statuses.add(next.get(status.getSensorId()).status);
+            }
+        } else {
+            for (Entry entry : next.values()) {
+                statuses.add(entry.status);
+            }
+            Collections.sort(statuses, PersonStatusTransformer.ALERTS_FIRST_THEN_NAME);
+        }
+
+        entries = next;
+        current = statuses;
+        return current;
+    }
+
+    private static boolean sameSortKey(PersonStatus a, PersonStatus b) {
+        return a.isAlert() == b.isAlert() && Objects.equals(a.getDisplayName(), b.getDisplayName());
+    }
+
+    /**
+     * @return Number of PersonStatus items rebuilt by the last {@link #transform} call
+     */
+    public int getLastRebuiltCount() {
+        return lastRebuiltCount;
+    }
+
+    /**
+     * Forget the previous snapshot (e.g. when the data source changes).
+     */
+    public void reset() {
+        entries = new HashMap<>();
+        current = Collections.emptyList();
+        lastRebuiltCount = 0;
+    }
+}
@@ -0,0 +1,267 @@
+package com.melisa.innovamotionapp.ui.viewmodels;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.WorkerThread;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.ui.models.MessageLogItem;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset-paginated window over received_bt_data for the message log, newest first.
+ *
+ * Pages are fetched with a (timestamp, id) cursor, so loading page N costs the same as page 1.
+ * The window holds at most {@code maxRetained} items: scrolling down past it drops the newest
+ * items (and {@link #loadNewer()} fetches them back when scrolling up), new rows only push old
+ * ones out of the tail. Rows inserted while the window is at the head are merged in with a
+ * primary-key range query instead of reloading the whole list.
+ *
+ * Not thread-safe: MessageLogViewModel confines it to one background thread.
+ */
+public class MessageLogPager {
+
+    /**
+     * Keyset queries (ReceivedBtDataDao, optionally filtered by sensor).
+     */
+    public interface PageSource {
+        /** Newest rows, newest first */
+        List<ReceivedBtDataEntity> loadLatest(int limit);
+
+        /** Rows strictly older than the cursor, newest first */
+        List<ReceivedBtDataEntity> loadBefore(long timestamp, long id, int limit);
+
+        /** Rows strictly newer than the cursor, oldest first */
+        List<ReceivedBtDataEntity> loadAfter(long timestamp, long id, int limit);
+
+        /** Rows with a primary key above {@code id}, newest first */
+        List<ReceivedBtDataEntity> loadInsertedAfter(long id, int limit);
+    }
+
+    /**
+     * Converts a row to its UI model (display name, icon).
+     */
+    public interface ItemMapper {
+        @NonNull
+        MessageLogItem map(@NonNull ReceivedBtDataEntity entity);
+    }
+
+    /**
+     * Rebuilds an already loaded item.
+     */
+    public interface ItemRemapper {
+        @NonNull
+        MessageLogItem remap(@NonNull MessageLogItem item);
+    }
+
+    private final PageSource source;
+    private final ItemMapper mapper;
+    private final int pageSize;
+    private final int maxRetained;
+
+    private final ArrayList<MessageLogItem> items = new ArrayList<>();
+    private boolean atHead = true;
+    private boolean reachedEnd = false;
+    private long maxSeenId = 0;
+
+    /**
+     * @param pageSize    Rows per page
+     * @param maxRetained Maximum items kept in memory (at least one page)
+     */
+    public MessageLogPager(@NonNull PageSource source, @NonNull ItemMapper mapper,
+                           int pageSize, int maxRetained) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be > 0");
+        }
+        this.source = source;
+        this.mapper = mapper;
+        this.pageSize = pageSize;
+        this.maxRetained = Math.max(pageSize, maxRetained);
+    }
+
+    /**
+     * Drop the window and load the newest page.
+     */
+    @WorkerThread
+    public void refresh() {
+        items.clear();
+        List<ReceivedBtDataEntity> page = source.loadLatest(pageSize);
+        for (ReceivedBtDataEntity entity : page) {
+            items.add(mapper.map(entity));
+            maxSeenId = Math.max(maxSeenId, entity.getId());
+        }
+        atHead = true;
+        reachedEnd = page.size() < pageSize;
+    }
+
+    /**
+     * Append the page after the last loaded item (user scrolled towards older messages).
+     *
+     * @return true if items were added
+     */
+    @WorkerThread
+    public boolean loadOlder() {
+        if (reachedEnd || items.isEmpty()) {
+            return false;
+        }
+        MessageLogItem tail = items.get(items.size() - 1);
+        List<ReceivedBtDataEntity> page = source.loadBefore(tail.getTimestamp(), tail.getId(), pageSize);
+        for (ReceivedBtDataEntity entity : page) {
+            items.add(mapper.map(entity));
+            maxSeenId = Math.max(maxSeenId, entity.getId());
+        }
+        reachedEnd = page.size() < pageSize;
+
+        int excess = items.size() - maxRetained;
+        if (excess > 0) {
+            items.subList(0, excess).clear();
+            atHead = false;
+        }
+        return !page.isEmpty();
+    }
+
+    /**
+     * Prepend the page before the first loaded item (user scrolled back up after the newest
+     * items were dropped from the window).
+     *
+     * @return true if items were added
+     */
+    @WorkerThread
+    public boolean loadNewer() {
+        if (atHead || items.isEmpty()) {
+            return false;
+        }
+        MessageLogItem head = items.get(0);
+        List<ReceivedBtDataEntity> page = source.loadAfter(head.getTimestamp(), head.getId(), pageSize);
+        List<MessageLogItem> newer = new ArrayList<>(page.size());
+        for (int i = page.size() - 1; i >= 0; i--) {
+            ReceivedBtDataEntity entity = page.get(i);
+            newer.add(mapper.map(entity));
+            maxSeenId = Math.max(maxSeenId, entity.getId());
+        }
+        items.addAll(0, newer);
+        atHead = page.size() < pageSize;
+        trimTail();
+        return !page.isEmpty();
+    }
+
+    /**
+     * Merge rows inserted since the last load (the table was invalidated).
+     *
+     * Ignored while the head of the window is not loaded; those rows are fetched by
+     * {@link #loadNewer()} instead. A burst larger than the window resets to the newest page.
+     *
+     * @return true if the window changed
+     */
+    @WorkerThread
+    public boolean onNewData() {
+        if (!atHead) {
+            return false;
+        }
+        List<ReceivedBtDataEntity> inserted = source.loadInsertedAfter(maxSeenId, maxRetained);
+        if (inserted.isEmpty()) {
+            return false;
+        }
+        if (inserted.size() >= maxRetained) {
+            refresh();
+            return true;
+        }
+
+        boolean changed = false;
+        for (ReceivedBtDataEntity entity : inserted) {
+            maxSeenId = Math.max(maxSeenId, entity.getId());
+            int position = insertionPoint(entity.getTimestamp(), entity.getId());
+            if (position < 0) {
+                continue; // already loaded (e.g. by loadNewer)
+            }
+            if (position == items.size() && !reachedEnd) {
+                continue; // older than the window; loadOlder() will reach it
+            }
+            items.add(position, mapper.map(entity));
+            changed = true;
+        }
+        trimTail();
+        return changed;
+    }
+
+    /**
+     * Re-map every loaded item in place (e.g. after a display name changed).
+     */
+    @WorkerThread
+    public void remap(@NonNull ItemRemapper remapper) {
+        for (int i = 0; i < items.size(); i++) {
+            items.set(i, remapper.remap(items.get(i)));
+        }
+    }
+
+    /**
+     * @return Copy of the window, newest first (a new list, as ListAdapter expects)
+     */
+    @NonNull
+    public List<MessageLogItem> snapshot() {
+        return new ArrayList<>(items);
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * @return true if the newest rows are loaded (new rows are merged in live)
+     */
+    public boolean isAtHead() {
+        return atHead;
+    }
+
+    /**
+     * @return true if older rows may exist beyond the window
+     */
+    public boolean hasOlder() {
+        return !reachedEnd;
+    }
+
+    private void trimTail() {
+        if (items.size() > maxRetained) {
+            items.subList(maxRetained, items.size()).clear();
+            reachedEnd = false;
+        }
+    }
+
+    /**
+     * Binary search on (timestamp DESC, id DESC).
+     *
+     * @return Insertion index, or -1 if an item with this key is already loaded
+     */
+    private int insertionPoint(long timestamp, long id) {
+        int low = 0;
+        int high = items.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            MessageLogItem item = items.get(mid);
+            int cmp = compareDescending(item.getTimestamp(), item.getId(), timestamp, id);
+            if (cmp == 0) {
+                return -1;
+            }
+            if (cmp < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return negative if (ts1, id1) sorts before (ts2, id2) in newest-first order
+     */
+    private static int compareDescending(long ts1, long id1, long ts2, long id2) {
+        if (ts1 != ts2) {
+            return ts1 > ts2 ? -1 : 1;
+        }
+        if (id1 != id2) {
+            return id1 > id2 ? -1 : 1;
+        }
+        return 0;
+    }
+}
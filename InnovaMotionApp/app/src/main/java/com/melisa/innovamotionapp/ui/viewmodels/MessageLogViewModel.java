@@ -5,35 +5,45 @@ import android.app.Application;
 import androidx.annotation.NonNull;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
 import androidx.lifecycle.Transformations;
+import androidx.room.InvalidationTracker;
 
 import com.melisa.innovamotionapp.R;
 import com.melisa.innovamotionapp.data.database.InnovaDatabase;
 import com.melisa.innovamotionapp.data.database.MonitoredPerson;
 import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
 import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.ui.adapters.MessageLogAdapter;
+import com.melisa.innovamotionapp.ui.models.ListUpdate;
 import com.melisa.innovamotionapp.ui.models.MessageLogItem;
 import com.melisa.innovamotionapp.utils.Constants;
 import com.melisa.innovamotionapp.utils.PersonNameManager;
 
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * ViewModel for the Message Log UI.
  * 
  * Transforms raw database entities into UI-ready MessageLogItem objects,
  * resolving sensor IDs to display names and determining posture icons.
+ * 
+ * Messages come from a keyset-paginated {@link MessageLogPager} driven on a background thread:
+ * pages are loaded on demand as the user scrolls, rows inserted later are merged in when Room
+ * invalidates received_bt_data, and at most {@link Constants#MESSAGE_LOG_MAX_ITEMS} items are
+ * held in memory whatever the history size. Each published window carries its DiffUtil result
+ * against the previous one, computed on the same thread, for MessageLogAdapter.
  */
 public class MessageLogViewModel extends AndroidViewModel {
 
-    private static final int DEFAULT_MESSAGE_LIMIT = Constants.MESSAGE_LOG_MAX_ITEMS;
-    
     // Posture hex codes (lowercase for comparison)
     private static final String HEX_STANDING = "0xab3311";
     private static final String HEX_SITTING = "0xac4312";
@@ -41,6 +51,7 @@ public class MessageLogViewModel extends AndroidViewModel {
     private static final String HEX_FALLING = "0xef0112";
     private static final String HEX_UNUSED = "0x793248";
 
+    private final InnovaDatabase database;
     private final ReceivedBtDataDao dao;
     private final PersonNameManager personNameManager;
     
@@ -50,38 +61,34 @@ public class MessageLogViewModel extends AndroidViewModel {
     // In-memory name cache, updated reactively from LiveData to avoid main-thread DB access
     private volatile Map<String, String> nameCache = Collections.emptyMap();
     
+    // Paging state, confined to pagingExecutor
+    private final ExecutorService pagingExecutor = Executors.newSingleThreadExecutor();
+    private MessageLogPager pager;
+    private final AtomicBoolean newDataPending = new AtomicBoolean(false);
+    private final AtomicBoolean loadOlderPending = new AtomicBoolean(false);
+    private final AtomicBoolean loadNewerPending = new AtomicBoolean(false);
+    private volatile boolean atHead = true;
+    private List<MessageLogItem> lastPublished = null;
+    private final MessageLogAdapter.DiffCallback diffCallback = new MessageLogAdapter.DiffCallback();
+    private final InvalidationTracker.Observer invalidationObserver;
+    private final Observer<List<MonitoredPerson>> personsObserver;
+    private final LiveData<List<MonitoredPerson>> allPersons;
+    
     // Transformed data
-    private final LiveData<List<MessageLogItem>> messages;
+    private final MutableLiveData<ListUpdate<MessageLogItem>> messageUpdates = new MutableLiveData<>();
+    private final LiveData<List<MessageLogItem>> messages = Transformations.map(messageUpdates, ListUpdate::getItems);
     private final LiveData<List<String>> availableSensors;
-    private final LiveData<Map<String, Integer>> messageCountsPerSensor;
+    private final MutableLiveData<Map<String, Integer>> messageCountsPerSensor = new MutableLiveData<>();
 
     public MessageLogViewModel(@NonNull Application application) {
         super(application);
-        dao = InnovaDatabase.getInstance(application).receivedBtDataDao();
+        database = InnovaDatabase.getInstance(application);
+        dao = database.receivedBtDataDao();
         personNameManager = PersonNameManager.getInstance(application);
         
         // Observe all persons to keep nameCache updated (async, off main thread)
-        LiveData<List<MonitoredPerson>> allPersons = personNameManager.getAllPersonsLive();
-        
-        // Get recent messages (limit to last 500)
-        LiveData<List<ReceivedBtDataEntity>> rawMessages = dao.getRecentMessages(DEFAULT_MESSAGE_LIMIT);
-        
-        // #region agent log
-        // H5: Log ViewModel initialization and observe message count
-        rawMessages.observeForever(entities -> {
-            int count = entities != null ? entities.size() : 0;
-            android.util.Log.w("DBG_H5", "rawMessages LiveData update: messageCount=" + count);
-        });
-        // #endregion
-
-        // Use MediatorLiveData to combine rawMessages + allPersons
-        // so that transformation only runs when we have data, and uses cached names safely
-        MediatorLiveData<List<MessageLogItem>> combinedMessages = new MediatorLiveData<>();
-        
-        // Track latest data
-        final List<ReceivedBtDataEntity>[] latestEntities = new List[]{null};
-        
-        combinedMessages.addSource(allPersons, persons -> {
+        allPersons = personNameManager.getAllPersonsLive();
+        personsObserver = persons -> {
             // Update name cache from persons list (this runs on main thread but no DB access)
             Map<String, String> newCache = new HashMap<>();
             if (persons != null) {
@@ -92,72 +99,158 @@ public class MessageLogViewModel extends AndroidViewModel {
             }
             nameCache = newCache;
             
-            // Re-transform if we have entities
-            if (latestEntities[0] != null) {
-                combinedMessages.setValue(transformToMessageLogItems(latestEntities[0]));
-            }
-        });
+            // Relabel the loaded window (no DB access)
+            pagingExecutor.execute(() -> {
+                if (pager != null) {
+                    pager.remap(this::withCurrentName);
+                    publish();
+                }
+            });
+        };
+        allPersons.observeForever(personsObserver);
         
-        // Wrap messages transformation with filter support
-        LiveData<List<ReceivedBtDataEntity>> filteredMessages = Transformations.switchMap(filterSensor, sensor -> {
-            if (sensor == null || sensor.isEmpty()) {
-                return rawMessages;
-            } else {
-                return dao.getMessagesForSensor(sensor, DEFAULT_MESSAGE_LIMIT);
+        // Merge new rows whenever received_bt_data changes; invalidations that arrive while
+        // a merge is queued are coalesced into it
+        invalidationObserver = new InvalidationTracker.Observer("received_bt_data") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                if (newDataPending.compareAndSet(false, true)) {
+                    pagingExecutor.execute(() -> {
+                        newDataPending.set(false);
+                        if (pager != null && pager.onNewData()) {
+                            publish();
+                        }
+                    });
+                }
             }
-        });
-        
-        combinedMessages.addSource(filteredMessages, entities -> {
-            latestEntities[0] = entities;
-            // Only transform if we have attempted to load persons (cache may be empty but that's ok)
-            combinedMessages.setValue(transformToMessageLogItems(entities));
-        });
+        };
+        database.getInvalidationTracker().addObserver(invalidationObserver);
         
-        messages = combinedMessages;
+        resetPager(null);
         
         // Available sensors for filter dropdown
         availableSensors = dao.getDistinctSensorIds();
-        
-        // Message counts per sensor (for summary header)
-        messageCountsPerSensor = Transformations.map(rawMessages, entities -> {
-            Map<String, Integer> counts = new HashMap<>();
-            if (entities != null) {
-                for (ReceivedBtDataEntity entity : entities) {
-                    String sensor = entity.getSensorId();
-                    counts.put(sensor, counts.getOrDefault(sensor, 0) + 1);
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        database.getInvalidationTracker().removeObserver(invalidationObserver);
+        allPersons.removeObserver(personsObserver);
+        pagingExecutor.shutdownNow();
+    }
+
+    /**
+     * Replace the pager (new filter) and load its first page.
+     */
+    private void resetPager(String sensor) {
+        pagingExecutor.execute(() -> {
+            pager = new MessageLogPager(createPageSource(sensor), this::toMessageLogItem,
+                    Constants.MESSAGE_LOG_PAGE_SIZE, Constants.MESSAGE_LOG_MAX_ITEMS);
+            pager.refresh();
+            publish();
+        });
+    }
+
+    /**
+     * Keyset queries for all sensors or, with a filter, the (sensor_id, timestamp) index variants.
+     */
+    private MessageLogPager.PageSource createPageSource(String sensor) {
+        if (sensor == null || sensor.isEmpty()) {
+            return new MessageLogPager.PageSource() {
+                @Override
+                public List<ReceivedBtDataEntity> loadLatest(int limit) {
+                    return dao.getMessagesPageLatest(limit);
+                }
+
+                @Override
+                public List<ReceivedBtDataEntity> loadBefore(long timestamp, long id, int limit) {
+                    return dao.getMessagesPageBefore(timestamp, id, limit);
                 }
+
+                @Override
+                public List<ReceivedBtDataEntity> loadAfter(long timestamp, long id, int limit) {
+                    return dao.getMessagesPageAfter(timestamp, id, limit);
+                }
+
+                @Override
+                public List<ReceivedBtDataEntity> loadInsertedAfter(long id, int limit) {
+                    return dao.getMessagesInsertedAfter(id, limit);
+                }
+            };
+        }
+        return new MessageLogPager.PageSource() {
+            @Override
+            public List<ReceivedBtDataEntity> loadLatest(int limit) {
+                return dao.getSensorMessagesPageLatest(sensor, limit);
             }
-            return counts;
-        });
+
+            @Override
+            public List<ReceivedBtDataEntity> loadBefore(long timestamp, long id, int limit) {
+                return dao.getSensorMessagesPageBefore(sensor, timestamp, id, limit);
+            }
+
+            @Override
+            public List<ReceivedBtDataEntity> loadAfter(long timestamp, long id, int limit) {
+                return dao.getSensorMessagesPageAfter(sensor, timestamp, id, limit);
+            }
+
+            @Override
+            public List<ReceivedBtDataEntity> loadInsertedAfter(long id, int limit) {
+                return dao.getSensorMessagesInsertedAfter(sensor, id, limit);
+            }
+        };
+    }
+
+    /**
+     * Post the current window (with its diff against the last one) and the per-sensor counts over it.
+     * Runs on pagingExecutor.
+     */
+    private void publish() {
+        List<MessageLogItem> snapshot = pager.snapshot();
+        atHead = pager.isAtHead();
+        
+        Map<String, Integer> counts = new HashMap<>();
+        for (MessageLogItem item : snapshot) {
+            String sensor = item.getSensorId();
+            counts.put(sensor, counts.getOrDefault(sensor, 0) + 1);
+        }
+        
+        messageUpdates.postValue(ListUpdate.compute(lastPublished, snapshot, diffCallback, false));
+        lastPublished = snapshot;
+        messageCountsPerSensor.postValue(counts);
     }
 
     /**
-     * Transform database entities to UI items.
+     * Transform a database entity to a UI item.
      * Uses the in-memory nameCache instead of DB lookups.
      */
-    private List<MessageLogItem> transformToMessageLogItems(List<ReceivedBtDataEntity> entities) {
-        List<MessageLogItem> items = new ArrayList<>();
-        if (entities == null) return items;
+    private MessageLogItem toMessageLogItem(ReceivedBtDataEntity entity) {
+        String sensorId = entity.getSensorId();
+        // Use cached name instead of blocking DB lookup
+        String displayName = nameCache.getOrDefault(sensorId, sensorId);
         
-        for (ReceivedBtDataEntity entity : entities) {
-            String sensorId = entity.getSensorId();
-            // Use cached name instead of blocking DB lookup
-            String displayName = nameCache.getOrDefault(sensorId, sensorId);
-            
-            int iconRes = getPostureIcon(entity.getReceivedMsg());
-            boolean isFall = isFallPosture(entity.getReceivedMsg());
-            
-            items.add(new MessageLogItem(
-                    entity.getId(),
-                    entity.getTimestamp(),
-                    sensorId,
-                    displayName,
-                    entity.getReceivedMsg(),
-                    iconRes,
-                    isFall
-            ));
+        return new MessageLogItem(
+                entity.getId(),
+                entity.getTimestamp(),
+                sensorId,
+                displayName,
+                entity.getReceivedMsg(),
+                getPostureIcon(entity.getReceivedMsg()),
+                isFallPosture(entity.getReceivedMsg())
+        );
+    }
+
+    /**
+     * Same item with the sensor's current display name (unchanged instance if the name is the same).
+     */
+    private MessageLogItem withCurrentName(MessageLogItem item) {
+        String displayName = nameCache.getOrDefault(item.getSensorId(), item.getSensorId());
+        if (displayName.equals(item.getDisplayName())) {
+            return item;
         }
-        return items;
+        return new MessageLogItem(item.getId(), item.getTimestamp(), item.getSensorId(), displayName,
+                item.getHexCode(), item.getPostureIconRes(), item.isFall());
     }
 
     /**
@@ -205,7 +298,12 @@ public class MessageLogViewModel extends AndroidViewModel {
      * Set the sensor filter. Pass null or empty string to show all.
      */
     public void setFilterSensor(String sensor) {
+        String current = filterSensor.getValue();
+        if (current == null ? sensor == null : current.equals(sensor)) {
+            return;
+        }
         filterSensor.setValue(sensor);
+        resetPager(sensor);
     }
 
     /**
@@ -215,6 +313,46 @@ public class MessageLogViewModel extends AndroidViewModel {
         return filterSensor.getValue();
     }
 
+    /**
+     * Load the next page of older messages (the user scrolled near the end of the list).
+     * Requests made while a load is queued are ignored.
+     */
+    public void loadOlder() {
+        if (loadOlderPending.compareAndSet(false, true)) {
+            pagingExecutor.execute(() -> {
+                loadOlderPending.set(false);
+                if (pager != null && pager.loadOlder()) {
+                    publish();
+                }
+            });
+        }
+    }
+
+    /**
+     * Load the next page of newer messages (the user scrolled back up after the newest
+     * messages were dropped from the window). No-op while the newest messages are loaded.
+     */
+    public void loadNewer() {
+        if (atHead) {
+            return;
+        }
+        if (loadNewerPending.compareAndSet(false, true)) {
+            pagingExecutor.execute(() -> {
+                loadNewerPending.set(false);
+                if (pager != null && pager.loadNewer()) {
+                    publish();
+                }
+            });
+        }
+    }
+
+    /**
+     * @return true if the newest messages are loaded (new messages appear at the top)
+     */
+    public boolean isAtHead() {
+        return atHead;
+    }
+
     /**
      * Get transformed messages for UI display.
      */
@@ -222,6 +360,13 @@ public class MessageLogViewModel extends AndroidViewModel {
         return messages;
     }
 
+    /**
+     * Get message updates with their precomputed DiffUtil result, for MessageLogAdapter.
+     */
+    public LiveData<ListUpdate<MessageLogItem>> getMessageUpdates() {
+        return messageUpdates;
+    }
+
     /**
      * Get list of available sensor IDs for filter dropdown.
      */
@@ -230,7 +375,7 @@ public class MessageLogViewModel extends AndroidViewModel {
     }
 
     /**
-     * Get message counts per sensor for summary header.
+     * Get message counts per sensor over the loaded messages, for the summary header.
      */
     public LiveData<Map<String, Integer>> getMessageCountsPerSensor() {
         return messageCountsPerSensor;
@@ -6,7 +6,7 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.MediatorLiveData;
 
 import com.melisa.innovamotionapp.data.database.MonitoredPerson;
 import com.melisa.innovamotionapp.sync.SensorAssignmentService;
@@ -30,8 +30,9 @@ public class PersonNamesViewModel extends AndroidViewModel {
     private final SensorAssignmentService assignmentService;
     private final LiveData<List<MonitoredPerson>> allPersons;
     
-    // Map of sensorId -> list of supervisor emails for UI binding (new schema: multiple supervisors per sensor)
-    private final MutableLiveData<Map<String, List<String>>> sensorSupervisorMap;
+    // Map of sensorId -> list of supervisor emails for UI binding (new schema: multiple supervisors per sensor).
+    // Follows the local assignment cache, so assign/unassign and remote changes show up without reloading.
+    private final MediatorLiveData<Map<String, List<String>>> sensorSupervisorMap;
 
     /**
      * Callback interface for assignment operations.
@@ -46,10 +47,15 @@ public class PersonNamesViewModel extends AndroidViewModel {
         personNameManager = PersonNameManager.getInstance(application);
         assignmentService = SensorAssignmentService.getInstance(application);
         allPersons = personNameManager.getAllPersonsLive();
-        sensorSupervisorMap = new MutableLiveData<>(new HashMap<>());
+        sensorSupervisorMap = new MediatorLiveData<>(new HashMap<>());
         
-        // Load initial assignment map
-        loadAssignmentMap();
+        LiveData<Map<String, List<String>>> cachedMap = assignmentService.getAssignmentMapLive();
+        if (cachedMap != null) {
+            sensorSupervisorMap.addSource(cachedMap, sensorSupervisorMap::setValue);
+        }
+        
+        // Fills the cache if it is cold or expired; otherwise answered locally
+        loadAssignmentMap(false);
     }
 
     /**
@@ -91,8 +97,6 @@ public class PersonNamesViewModel extends AndroidViewModel {
                 new SensorAssignmentService.AssignmentCallback() {
             @Override
             public void onSuccess() {
-                // Update local map
-                updateMapEntry(sensorId, supervisorEmail);
                 callback.onSuccess();
             }
 
@@ -113,8 +117,6 @@ public class PersonNamesViewModel extends AndroidViewModel {
         assignmentService.unassignAllFromSensor(sensorId, new SensorAssignmentService.AssignmentCallback() {
             @Override
             public void onSuccess() {
-                // Remove from local map
-                removeMapEntry(sensorId);
                 callback.onSuccess();
             }
 
@@ -137,8 +139,6 @@ public class PersonNamesViewModel extends AndroidViewModel {
         assignmentService.unassignSupervisor(sensorId, supervisorUid, new SensorAssignmentService.AssignmentCallback() {
             @Override
             public void onSuccess() {
-                // Refresh the map to update supervisor list for this sensor
-                loadAssignmentMap();
                 callback.onSuccess();
             }
 
@@ -161,8 +161,6 @@ public class PersonNamesViewModel extends AndroidViewModel {
         assignmentService.unassignSupervisorByEmail(sensorId, supervisorEmail, new SensorAssignmentService.AssignmentCallback() {
             @Override
             public void onSuccess() {
-                // Refresh the map to update supervisor list for this sensor
-                loadAssignmentMap();
                 callback.onSuccess();
             }
 
@@ -201,17 +199,17 @@ public class PersonNamesViewModel extends AndroidViewModel {
     }
 
     /**
-     * Refresh the assignment map from Firestore.
+     * Refresh the assignment map from Firestore, bypassing the cache freshness.
      */
     public void refreshAssignments() {
-        loadAssignmentMap();
+        loadAssignmentMap(true);
     }
 
     /**
      * Load all assignments for the current aggregator.
      */
-    private void loadAssignmentMap() {
-        assignmentService.getAssignmentMap(new SensorAssignmentService.AssignmentMapCallback() {
+    private void loadAssignmentMap(boolean forceRefresh) {
+        assignmentService.getAssignmentMap(forceRefresh, new SensorAssignmentService.AssignmentMapCallback() {
             @Override
             public void onResult(Map<String, List<String>> map) {
                 sensorSupervisorMap.postValue(map);
@@ -224,43 +222,6 @@ public class PersonNamesViewModel extends AndroidViewModel {
         });
     }
 
-    /**
-     * Update a single entry in the map by adding a supervisor.
-     */
-    private void updateMapEntry(String sensorId, String supervisorEmail) {
-        Map<String, List<String>> currentMap = sensorSupervisorMap.getValue();
-        if (currentMap == null) {
-            currentMap = new HashMap<>();
-        } else {
-            currentMap = new HashMap<>(currentMap); // Create mutable copy
-        }
-        
-        List<String> supervisors = currentMap.get(sensorId);
-        if (supervisors == null) {
-            supervisors = new java.util.ArrayList<>();
-        } else {
-            supervisors = new java.util.ArrayList<>(supervisors); // Create mutable copy
-        }
-        
-        if (!supervisors.contains(supervisorEmail)) {
-            supervisors.add(supervisorEmail);
-        }
-        currentMap.put(sensorId, supervisors);
-        sensorSupervisorMap.postValue(currentMap);
-    }
-
-    /**
-     * Remove a sensor entry from the map.
-     */
-    private void removeMapEntry(String sensorId) {
-        Map<String, List<String>> currentMap = sensorSupervisorMap.getValue();
-        if (currentMap != null && currentMap.containsKey(sensorId)) {
-            currentMap = new HashMap<>(currentMap); // Create mutable copy
-            currentMap.remove(sensorId);
-            sensorSupervisorMap.postValue(currentMap);
-        }
-    }
-
     /**
      * Check if there are any monitored persons.
      * 
@@ -0,0 +1,151 @@
+package com.melisa.innovamotionapp.ui.viewmodels;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.MutableLiveData;
+
+import com.melisa.innovamotionapp.data.database.MonitoredPerson;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.ui.adapters.PersonCardAdapter;
+import com.melisa.innovamotionapp.ui.models.ListUpdate;
+import com.melisa.innovamotionapp.ui.models.PersonStatus;
+import com.melisa.innovamotionapp.utils.Constants;
+import com.melisa.innovamotionapp.utils.Logger;
+import com.melisa.innovamotionapp.utils.UpdateCoalescer;
+import com.melisa.innovamotionapp.utils.UpdateSchedulers;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Background computation stage shared by LivePostureViewModel and SupervisorDashboardViewModel.
+ *
+ * The MediatorLiveData callbacks (main thread) only hand over the latest Room rows / names.
+ * Transformation ({@link IncrementalPersonStatusTransformer}), sorting and the DiffUtil pass run
+ * on a single background thread; the result is posted as a {@link ListUpdate} that
+ * PersonCardAdapter applies without diffing on the main thread.
+ *
+ * Inputs that arrive while a computation is queued are coalesced into it. Results are then
+ * throttled to {@link Constants#UI_UPDATE_MAX_FPS}; a sensor newly entering the alert state
+ * skips the throttle so falls reach the dashboard immediately.
+ */
+public final class PersonStatusComputation {
+
+    private static final String TAG = "PersonStatusComputation";
+    private static final String KEY = "statuses";
+
+    private final MutableLiveData<ListUpdate<PersonStatus>> target;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final PersonCardAdapter.DiffCallback diffCallback = new PersonCardAdapter.DiffCallback();
+
+    private volatile List<ReceivedBtDataEntity> latestEntities = null;
+    private volatile Map<String, String> nameCache = Collections.emptyMap();
+
+    // Confined to executor
+    private final IncrementalPersonStatusTransformer transformer = new IncrementalPersonStatusTransformer();
+    private List<PersonStatus> lastComputed = null;
+    private List<PersonStatus> lastPosted = null;
+    private Set<String> lastAlertIds = Collections.emptySet();
+
+    private final UpdateCoalescer<String, List<PersonStatus>> coalescer;
+
+    /**
+     * @param target LiveData the updates are posted to
+     */
+    public PersonStatusComputation(@NonNull MutableLiveData<ListUpdate<PersonStatus>> target) {
+        this.target = target;
+        this.coalescer = new UpdateCoalescer<>(
+                UpdateCoalescer.intervalForFps(Constants.UI_UPDATE_MAX_FPS),
+                UpdateSchedulers.onExecutor(executor),
+                UpdateSchedulers.UPTIME_CLOCK,
+                latest -> post(latest.get(KEY)));
+    }
+
+    /**
+     * New latest-reading-per-sensor rows from Room.
+     */
+    public void setEntities(@Nullable List<ReceivedBtDataEntity> entities) {
+        latestEntities = entities;
+        schedule();
+    }
+
+    /**
+     * New display names (sensors missing from the list fall back to their ID).
+     */
+    public void setPersons(@Nullable List<MonitoredPerson> persons) {
+        Map<String, String> names = new HashMap<>();
+        if (persons != null) {
+            for (MonitoredPerson person : persons) {
+                names.put(person.getSensorId(), person.getDisplayName());
+            }
+        }
+        nameCache = names;
+        schedule();
+    }
+
+    /**
+     * Stop the background thread (ViewModel.onCleared).
+     */
+    public void shutdown() {
+        Logger.d(TAG, "Dashboard updates: " + coalescer.getStatsSummary());
+        executor.shutdownNow();
+    }
+
+    /**
+     * Offered / delivered / coalesced counters of the throttled post stage.
+     */
+    @NonNull
+    public String getStatsSummary() {
+        return coalescer.getStatsSummary();
+    }
+
+    private void schedule() {
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::compute);
+        }
+    }
+
+    private void compute() {
+        scheduled.set(false);
+        long startNanos = System.nanoTime();
+
+        List<PersonStatus> statuses = transformer.transform(latestEntities, nameCache);
+        if (statuses == lastComputed) {
+            return; // nothing changed
+        }
+        lastComputed = statuses;
+
+        // Alerts sort first, so new alerts are found without scanning the whole list
+        Set<String> alertIds = new HashSet<>();
+        boolean newAlert = false;
+        for (PersonStatus status : statuses) {
+            if (!status.isAlert()) {
+                break;
+            }
+            alertIds.add(status.getSensorId());
+            newAlert |= !lastAlertIds.contains(status.getSensorId());
+        }
+        lastAlertIds = alertIds;
+        coalescer.offer(KEY, statuses, newAlert);
+
+        Logger.d(TAG, "Computed " + statuses.size() + " statuses (" + transformer.getLastRebuiltCount()
+                + " rebuilt) in " + (System.nanoTime() - startNanos) / 1000 + "us");
+    }
+
+    private void post(@Nullable List<PersonStatus> statuses) {
+        if (statuses == null || statuses == lastPosted) {
+            return;
+        }
+        ListUpdate<PersonStatus> update = ListUpdate.compute(lastPosted, statuses, diffCallback, true);
+        lastPosted = statuses;
+        target.postValue(update);
+    }
+}
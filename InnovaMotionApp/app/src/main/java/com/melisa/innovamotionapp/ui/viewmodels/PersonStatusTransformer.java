@@ -0,0 +1,93 @@
+package com.melisa.innovamotionapp.ui.viewmodels;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.data.posture.Posture;
+import com.melisa.innovamotionapp.data.posture.PostureFactory;
+import com.melisa.innovamotionapp.data.posture.types.FallingPosture;
+import com.melisa.innovamotionapp.ui.models.PersonStatus;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Shared dashboard transformation used by LivePostureViewModel and SupervisorDashboardViewModel.
+ *
+ * Turns the "latest reading per sensor" rows into PersonStatus items, resolving display names
+ * from an in-memory cache and sorting alerts first, then alphabetically by name.
+ *
+ * Pure Java (no LiveData / Context) so it can be unit tested and benchmarked on the JVM.
+ */
+public final class PersonStatusTransformer {
+
+    /**
+     * Dashboard ordering: alerts first, then by display name (case-insensitive).
+     */
+    public static final Comparator<PersonStatus> ALERTS_FIRST_THEN_NAME = (a, b) -> {
+        if (a.isAlert() != b.isAlert()) {
+            return a.isAlert() ? -1 : 1;
+        }
+        return a.getDisplayName().compareToIgnoreCase(b.getDisplayName());
+    };
+
+    private PersonStatusTransformer() {
+        throw new UnsupportedOperationException("PersonStatusTransformer cannot be instantiated");
+    }
+
+    /**
+     * Transform raw entities into a sorted PersonStatus list.
+     *
+     * @param entities  Latest reading per sensor (null is treated as empty)
+     * @param nameCache sensorId -> display name; sensors missing from the cache fall back to their ID
+     * @return Sorted list of person statuses (never null)
+     */
+    @NonNull
+    public static List<PersonStatus> transform(@Nullable List<ReceivedBtDataEntity> entities,
+                                               @NonNull Map<String, String> nameCache) {
+        if (entities == null || entities.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<PersonStatus> statuses = new ArrayList<>(entities.size());
+        for (ReceivedBtDataEntity entity : entities) {
+            PersonStatus status = toPersonStatus(entity, nameCache);
+            if (status != null) {
+                statuses.add(status);
+            }
+        }
+
+        Collections.sort(statuses, ALERTS_FIRST_THEN_NAME);
+        return statuses;
+    }
+
+    /**
+     * Build a single PersonStatus from a reading.
+     *
+     * @return PersonStatus, or null if the row has no sensor ID
+     */
+    @Nullable
+    public static PersonStatus toPersonStatus(@NonNull ReceivedBtDataEntity entity,
+                                              @NonNull Map<String, String> nameCache) {
+        String sensorId = entity.getSensorId();
+        if (sensorId == null || sensorId.isEmpty()) {
+            return null;
+        }
+
+        String displayName = nameCache.getOrDefault(sensorId, sensorId);
+        Posture posture = PostureFactory.createPosture(entity.getReceivedMsg());
+        boolean isAlert = posture instanceof FallingPosture;
+
+        return new PersonStatus(
+                sensorId,
+                displayName,
+                posture,
+                entity.getTimestamp(),
+                isAlert
+        );
+    }
+}
@@ -8,23 +8,19 @@ import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
 
 import com.melisa.innovamotionapp.data.database.InnovaDatabase;
 import com.melisa.innovamotionapp.data.database.MonitoredPerson;
 import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
 import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
-import com.melisa.innovamotionapp.data.posture.Posture;
-import com.melisa.innovamotionapp.data.posture.PostureFactory;
-import com.melisa.innovamotionapp.data.posture.types.FallingPosture;
+import com.melisa.innovamotionapp.ui.models.ListUpdate;
 import com.melisa.innovamotionapp.ui.models.PersonStatus;
 import com.melisa.innovamotionapp.utils.GlobalData;
 import com.melisa.innovamotionapp.utils.PersonNameManager;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * ViewModel for the Supervisor Dashboard.
@@ -44,6 +40,7 @@ import java.util.Map;
  * - Alerts sorted to top
  * - Alphabetical sorting by display name
  * - Uses in-memory name cache to avoid main-thread DB access
+ * - Incremental transformation and DiffUtil off the main thread ({@link PersonStatusComputation})
  */
 public class SupervisorDashboardViewModel extends AndroidViewModel {
 
@@ -52,13 +49,11 @@ public class SupervisorDashboardViewModel extends AndroidViewModel {
     private final ReceivedBtDataDao dao;
     private final PersonNameManager personNameManager;
     private final MutableLiveData<Boolean> isLoading = new MutableLiveData<>(false);
-    private final MediatorLiveData<List<PersonStatus>> personStatuses;
+    private final MediatorLiveData<ListUpdate<PersonStatus>> personStatusUpdates;
+    private final LiveData<List<PersonStatus>> personStatuses;
     
-    // In-memory cache for name lookups (avoids main-thread DB access)
-    private final Map<String, String> nameCache = new HashMap<>();
-    
-    // Raw data source cache
-    private List<ReceivedBtDataEntity> latestEntities = null;
+    // Transformation + diffing off the main thread
+    private final PersonStatusComputation computation;
     
     // Track current data source to allow cleanup when swapping
     private LiveData<List<ReceivedBtDataEntity>> currentDataSource = null;
@@ -68,18 +63,17 @@ public class SupervisorDashboardViewModel extends AndroidViewModel {
 
         dao = InnovaDatabase.getInstance(application).receivedBtDataDao();
         personNameManager = PersonNameManager.getInstance(application);
-        personStatuses = new MediatorLiveData<>();
+        personStatusUpdates = new MediatorLiveData<>();
+        personStatuses = Transformations.map(personStatusUpdates, ListUpdate::getItems);
+        computation = new PersonStatusComputation(personStatusUpdates);
 
         // Observe person names to update the cache
         LiveData<List<MonitoredPerson>> allPersons = personNameManager.getAllPersonsLive();
-        personStatuses.addSource(allPersons, persons -> {
-            updateNameCache(persons);
-            transformToPersonStatuses();
-        });
+        personStatusUpdates.addSource(allPersons, computation::setPersons);
 
         // Observe supervised sensor IDs LiveData (reactive - updates when async fetch completes)
         LiveData<List<String>> sensorIdsLive = GlobalData.getInstance().getSupervisedSensorIdsLive();
-        personStatuses.addSource(sensorIdsLive, sensorIds -> {
+        personStatusUpdates.addSource(sensorIdsLive, sensorIds -> {
             Log.d(TAG, "Sensor IDs updated: " + sensorIds);
             updateDataSource(sensorIds);
         });
@@ -92,7 +86,7 @@ public class SupervisorDashboardViewModel extends AndroidViewModel {
     private void updateDataSource(List<String> sensorIds) {
         // Remove old data source if exists
         if (currentDataSource != null) {
-            personStatuses.removeSource(currentDataSource);
+            personStatusUpdates.removeSource(currentDataSource);
         }
         
         // Create new data source based on sensor IDs
@@ -105,67 +99,13 @@ public class SupervisorDashboardViewModel extends AndroidViewModel {
         }
         
         // Add new data source
-        personStatuses.addSource(currentDataSource, entities -> {
-            latestEntities = entities;
-            transformToPersonStatuses();
-        });
+        personStatusUpdates.addSource(currentDataSource, computation::setEntities);
     }
 
-    /**
-     * Update the in-memory name cache from the person list.
-     */
-    private void updateNameCache(List<MonitoredPerson> persons) {
-        nameCache.clear();
-        if (persons != null) {
-            for (MonitoredPerson person : persons) {
-                nameCache.put(person.getSensorId(), person.getDisplayName());
-            }
-        }
-    }
-
-    /**
-     * Get display name from cache, falling back to sensorId if not found.
-     */
-    private String getDisplayNameFromCache(String sensorId) {
-        return nameCache.getOrDefault(sensorId, sensorId);
-    }
-
-    /**
-     * Transform raw entities into PersonStatus list using cached names.
-     */
-    private void transformToPersonStatuses() {
-        if (latestEntities == null) {
-            personStatuses.setValue(Collections.emptyList());
-            return;
-        }
-        
-        List<PersonStatus> statuses = new ArrayList<>();
-        for (ReceivedBtDataEntity entity : latestEntities) {
-            String sensorId = entity.getSensorId();
-            if (sensorId == null || sensorId.isEmpty()) continue;
-
-            String displayName = getDisplayNameFromCache(sensorId);
-            Posture posture = PostureFactory.createPosture(entity.getReceivedMsg());
-            boolean isAlert = posture instanceof FallingPosture;
-
-            statuses.add(new PersonStatus(
-                    sensorId,
-                    displayName,
-                    posture,
-                    entity.getTimestamp(),
-                    isAlert
-            ));
-        }
-
-        // Sort: alerts first, then by name alphabetically
-        Collections.sort(statuses, (a, b) -> {
-            if (a.isAlert() != b.isAlert()) {
-                return a.isAlert() ? -1 : 1;
-            }
-            return a.getDisplayName().compareToIgnoreCase(b.getDisplayName());
-        });
-
-        personStatuses.setValue(statuses);
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        computation.shutdown();
     }
 
     /**
@@ -176,6 +116,13 @@ public class SupervisorDashboardViewModel extends AndroidViewModel {
         return personStatuses;
     }
 
+    /**
+     * Get person status updates with their precomputed DiffUtil result, for PersonCardAdapter.
+     */
+    public LiveData<ListUpdate<PersonStatus>> getPersonStatusUpdates() {
+        return personStatusUpdates;
+    }
+
     /**
      * Get loading state for UI progress indicator.
      */
@@ -13,15 +13,20 @@ import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
 import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
 import com.melisa.innovamotionapp.data.posture.Posture;
 import com.melisa.innovamotionapp.data.posture.PostureFactory;
+import com.melisa.innovamotionapp.data.posture.types.FallingPosture;
 import com.melisa.innovamotionapp.data.posture.types.UnknownPosture;
+import com.melisa.innovamotionapp.utils.Constants;
 import com.melisa.innovamotionapp.utils.GlobalData;
+import com.melisa.innovamotionapp.utils.ThrottledLiveData;
 
 import java.util.List;
 
 /**
  * ViewModel for supervisor feed functionality.
- * Converts the latest database row to Posture and pushes it into GlobalData
- * so that PersonDetailActivity can observe it without changes.
+ * Converts the latest database row to Posture for screens that are not bound to one sensor.
+ *
+ * Per-sensor screens observe LiveSensorStateStore instead; this ViewModel no longer writes
+ * into any shared posture state.
  */
 public class SupervisorFeedViewModel extends AndroidViewModel {
     private final ReceivedBtDataDao dao;
@@ -34,7 +39,8 @@ public class SupervisorFeedViewModel extends AndroidViewModel {
 
     /**
      * Live posture derived from the latest DB row for supervised users.
-     * Also updates GlobalData so PersonDetailActivity stays unchanged.
+     * Throttled to UI_UPDATE_MAX_FPS since the query is invalidated on every insert; falls
+     * are emitted immediately.
      * 
      * @return LiveData<Posture> that emits the latest posture from Room database
      */
@@ -42,43 +48,17 @@ public class SupervisorFeedViewModel extends AndroidViewModel {
         // Get supervised sensor IDs from GlobalData
         List<String> supervisedSensorIds = global.supervisedSensorIds;
         
+        LiveData<ReceivedBtDataEntity> latest;
         if (supervisedSensorIds == null || supervisedSensorIds.isEmpty()) {
             // Fallback to all data if no supervised sensors configured
             Log.i("UI/Stats", "Subscribing for owner=all (no supervised sensors configured)");
-            LiveData<ReceivedBtDataEntity> latest = dao.getLatestMessage();
-            return Transformations.map(latest, entity -> {
-                if (entity == null) {
-                    return new UnknownPosture();
-                }
-                
-                // Convert the latest database entity to a Posture
-                Posture posture = PostureFactory.createPosture(entity.getReceivedMsg());
-                
-                // Update GlobalData so existing observers (like PersonDetailActivity) 
-                // continue to work without any changes
-                global.setReceivedPosture(posture);
-                
-                return posture;
-            });
+            latest = dao.getLatestMessage();
+        } else {
+            // Filter by supervised sensor IDs
+            Log.i("UI/Stats", "Subscribing for owner=" + supervisedSensorIds);
+            latest = dao.getLatestForOwners(supervisedSensorIds);
         }
-        
-        // Filter by supervised sensor IDs
-        Log.i("UI/Stats", "Subscribing for owner=" + supervisedSensorIds);
-        LiveData<ReceivedBtDataEntity> latest = dao.getLatestForOwners(supervisedSensorIds);
-        return Transformations.map(latest, entity -> {
-            if (entity == null) {
-                return new UnknownPosture();
-            }
-            
-            // Convert the latest database entity to a Posture
-            Posture posture = PostureFactory.createPosture(entity.getReceivedMsg());
-            
-            // Update GlobalData so existing observers (like PersonDetailActivity) 
-            // continue to work without any changes
-            global.setReceivedPosture(posture);
-            
-            return posture;
-        });
+        return Transformations.map(throttled(latest), SupervisorFeedViewModel::toPosture);
     }
     
     /**
@@ -89,19 +69,20 @@ public class SupervisorFeedViewModel extends AndroidViewModel {
      * @return LiveData<Posture> that emits the latest posture from the specified device
      */
     public LiveData<Posture> getLatestPostureForDevice(String deviceAddress) {
-        LiveData<ReceivedBtDataEntity> latestForDevice = dao.getLatestForDevice(deviceAddress);
-        return Transformations.map(latestForDevice, entity -> {
-            if (entity == null) {
-                return new UnknownPosture();
-            }
-            
-            // Convert the device-specific database entity to a Posture
-            Posture posture = PostureFactory.createPosture(entity.getReceivedMsg());
-            
-            // Update GlobalData so existing observers continue to work
-            global.setReceivedPosture(posture);
-            
-            return posture;
-        });
+        return Transformations.map(throttled(dao.getLatestForDevice(deviceAddress)),
+                SupervisorFeedViewModel::toPosture);
+    }
+
+    private static LiveData<ReceivedBtDataEntity> throttled(LiveData<ReceivedBtDataEntity> source) {
+        return new ThrottledLiveData<>(source, Constants.UI_UPDATE_MAX_FPS,
+                entity -> entity != null
+                        && PostureFactory.createPosture(entity.getReceivedMsg()) instanceof FallingPosture);
+    }
+
+    private static Posture toPosture(ReceivedBtDataEntity entity) {
+        if (entity == null) {
+            return new UnknownPosture();
+        }
+        return PostureFactory.createPosture(entity.getReceivedMsg());
     }
 }
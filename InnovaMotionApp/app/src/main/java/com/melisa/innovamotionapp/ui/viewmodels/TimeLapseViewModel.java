@@ -5,96 +5,184 @@ import android.util.Log;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
-import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MutableLiveData;
-import androidx.lifecycle.Transformations;
+import androidx.lifecycle.MediatorLiveData;
 
+import com.melisa.innovamotionapp.data.analytics.AnalyticsQuery;
+import com.melisa.innovamotionapp.data.analytics.TimelineCursor;
 import com.melisa.innovamotionapp.data.database.InnovaDatabase;
 import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
 import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
-import com.melisa.innovamotionapp.utils.GlobalData;
-import com.melisa.innovamotionapp.utils.OwnerSource;
+import com.melisa.innovamotionapp.data.posture.PostureFactory;
+import com.melisa.innovamotionapp.utils.Constants;
 
-import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * ViewModel for TimeLapse Activity.
- * 
- * Supports two modes:
- * 1. User-based filtering: Shows data for a specific user (targetUserId)
- * 2. Sensor-based filtering: Shows data for a specific sensor (sensorId)
- * 
- * Sensor-based filtering takes precedence when sensorId is set.
+ *
+ * Frames are paged from Room by a {@link TimelineCursor} on a background thread instead of
+ * loading the whole history: opening a long history shows the first frame after one page, seeking
+ * is an index lookup by time, and memory stays at one page whatever the history length.
+ * Mode (user or sensor) is shared with the other analytics screens, see {@link AnalyticsViewModel}.
  */
-public class TimeLapseViewModel extends AndroidViewModel {
+public class TimeLapseViewModel extends AnalyticsViewModel {
     private static final String TAG = "UI/TimeLapseVM";
-    
+
     private final ReceivedBtDataDao dao;
-    private final GlobalData global = GlobalData.getInstance();
-    private final MutableLiveData<String> targetUserId = new MutableLiveData<>();
-    private final MutableLiveData<String> sensorId = new MutableLiveData<>();
-    private final MutableLiveData<List<ReceivedBtDataEntity>> latestDevicePostureData = new MutableLiveData<>();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final MediatorLiveData<Frame> frame = new MediatorLiveData<>();
+
+    // Only touched on the executor
+    private TimelineCursor cursor;
 
     public TimeLapseViewModel(@NonNull Application app) {
-        super(app);
+        super(app, TAG);
         dao = InnovaDatabase.getInstance(app).receivedBtDataDao();
-        // Default: keep null until Activity sets it
-        targetUserId.setValue(null);
-        sensorId.setValue(null);
-    }
-
-    public void setTargetUserId(String userId) { 
-        targetUserId.setValue(userId); 
+        frame.addSource(getQuery(), this::open);
     }
 
     /**
-     * Set sensor ID for sensor-specific filtering.
-     * When set, data will be filtered to this specific sensor.
+     * Current frame; emits after the history is opened and after every {@link #seekTo} /
+     * {@link #step}. Null value means there is no data.
      */
-    public void setSensorId(@Nullable String sensorId) {
-        this.sensorId.setValue(sensorId);
+    @NonNull
+    public LiveData<Frame> getFrame() {
+        return frame;
     }
 
     /**
-     * Check if sensor-based filtering is active.
+     * Move to the first reading at or after {@code timestamp}.
      */
-    public boolean isSensorMode() {
-        String id = sensorId.getValue();
-        return id != null && !id.isEmpty();
+    public void seekTo(long timestamp) {
+        executor.execute(() -> {
+            if (cursor != null) {
+                publish(cursor.seek(timestamp), false);
+            }
+        });
     }
 
     /**
-     * Get all data for user OR sensor, depending on which mode is active.
+     * Move to the next reading, or to the next posture change when {@code changesOnly}.
+     * At the end the last frame is re-emitted with {@link Frame#isAtEnd()} set.
      */
-    public LiveData<List<ReceivedBtDataEntity>> getAllForUser() {
-        // If sensorId is set, use sensor-based filtering
-        return Transformations.switchMap(sensorId, sid -> {
-            if (sid != null && !sid.isEmpty()) {
-                Log.i(TAG, "subscribe sensorId=" + sid);
-                return dao.getAllForSensor(sid);
+    public void step(boolean changesOnly) {
+        executor.execute(() -> {
+            if (cursor == null) {
+                return;
             }
-            // Otherwise, use user-based filtering
-            return Transformations.switchMap(targetUserId, uid -> {
-                Log.i(TAG, "subscribe targetUser=" + uid);
-                if (uid == null) return new MutableLiveData<>(Collections.emptyList());
-                return dao.getAllForUserLive(uid);
-            });
+            ReceivedBtDataEntity next = cursor.next(changesOnly);
+            publish(next != null ? next : cursor.current(), next == null);
         });
     }
 
-    /**
-     * Get all data for a specific sensor.
-     * Use this when you explicitly want sensor-based data.
-     */
-    public LiveData<List<ReceivedBtDataEntity>> getAllForSensor() {
-        return Transformations.switchMap(sensorId, sid -> {
-            Log.i(TAG, "getAllForSensor sensorId=" + sid);
-            if (sid == null || sid.isEmpty()) {
-                return new MutableLiveData<>(Collections.emptyList());
+    private void open(@Nullable AnalyticsQuery query) {
+        Log.i(TAG, "open timeline " + query);
+        executor.execute(() -> {
+            if (query == null) {
+                cursor = null;
+                return;
             }
-            return dao.getAllForSensor(sid);
+            cursor = new TimelineCursor(sourceFor(query), Constants.TIMELAPSE_PAGE_SIZE);
+            long startNanos = System.nanoTime();
+            ReceivedBtDataEntity first = cursor.open();
+            Log.d(TAG, "First frame of " + query + " in " + (System.nanoTime() - startNanos) / 1_000_000 + "ms");
+            publish(first, false);
         });
     }
+
+    private TimelineCursor.FrameSource sourceFor(@NonNull AnalyticsQuery query) {
+        if (query.isSensorScope()) {
+            return new TimelineCursor.FrameSource() {
+                @NonNull
+                @Override
+                public List<ReceivedBtDataEntity> pageAfter(long timestamp, long id, int limit) {
+                    return dao.getSensorMessagesPageAfter(query.getId(), timestamp, id, limit);
+                }
+
+                @Nullable
+                @Override
+                public ReceivedBtDataEntity latest() {
+                    return dao.getLatestForSensorSync(query.getId());
+                }
+            };
+        }
+        return new TimelineCursor.FrameSource() {
+            @NonNull
+            @Override
+            public List<ReceivedBtDataEntity> pageAfter(long timestamp, long id, int limit) {
+                return dao.getUserMessagesPageAfter(query.getId(), timestamp, id, limit);
+            }
+
+            @Nullable
+            @Override
+            public ReceivedBtDataEntity latest() {
+                List<ReceivedBtDataEntity> rows = dao.latestForOwner(query.getId(), 1);
+                return rows.isEmpty() ? null : rows.get(0);
+            }
+        };
+    }
+
+    private void publish(@Nullable ReceivedBtDataEntity entity, boolean atEnd) {
+        if (entity == null) {
+            frame.postValue(null);
+            return;
+        }
+        int pictureCode = PostureFactory.createPosture(entity.getReceivedMsg()).getPictureCode();
+        frame.postValue(new Frame(entity.getTimestamp(), pictureCode,
+                cursor.getFirstTimestamp(), cursor.getLastTimestamp(), atEnd));
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        executor.shutdownNow();
+    }
+
+    /**
+     * One time-lapse frame with the bounds of its history (for the seek bar).
+     */
+    public static final class Frame {
+        private final long timestamp;
+        private final int pictureCode;
+        private final long firstTimestamp;
+        private final long lastTimestamp;
+        private final boolean atEnd;
+
+        Frame(long timestamp, int pictureCode, long firstTimestamp, long lastTimestamp, boolean atEnd) {
+            this.timestamp = timestamp;
+            this.pictureCode = pictureCode;
+            this.firstTimestamp = firstTimestamp;
+            this.lastTimestamp = lastTimestamp;
+            this.atEnd = atEnd;
+        }
+
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /**
+         * @return Picture resource of the frame's posture
+         */
+        public int getPictureCode() {
+            return pictureCode;
+        }
+
+        public long getFirstTimestamp() {
+            return firstTimestamp;
+        }
+
+        public long getLastTimestamp() {
+            return lastTimestamp;
+        }
+
+        /**
+         * @return true if playback reached the last reading
+         */
+        public boolean isAtEnd() {
+            return atEnd;
+        }
+    }
 }
@@ -7,10 +7,12 @@ import android.content.Context;
 import android.content.Intent;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.app.NotificationCompat;
 
 import com.melisa.innovamotionapp.R;
 import com.melisa.innovamotionapp.activities.SupervisorDashboardActivity;
+import com.melisa.innovamotionapp.receivers.AlertAckReceiver;
 
 /**
  * Utility class for creating and showing alert notifications.
@@ -29,6 +31,16 @@ public final class AlertNotifications {
      * @param msg         Optional message body (uses default if null)
      */
     public static void notifyFall(@NonNull Context ctx, @NonNull String personName, String msg) {
+        notifyFall(ctx, personName, msg, null);
+    }
+
+    /**
+     * Show a fall detection alert notification for an alert of the alerts collection.
+     * 
+     * @param alertId     Alert document ID; adds an "Acknowledge" action (nullable)
+     */
+    public static void notifyFall(@NonNull Context ctx, @NonNull String personName, String msg,
+                                  @Nullable String alertId) {
         NotificationManager nm = (NotificationManager) ctx.getSystemService(Context.NOTIFICATION_SERVICE);
 
         Intent openIntent = new Intent(ctx, SupervisorDashboardActivity.class)
@@ -62,6 +74,20 @@ public final class AlertNotifications {
 
         // Use unique notification ID per person to avoid overwriting
         int notificationId = NotificationConfig.NOTIF_ID_FALL_BASE + personName.hashCode();
+
+        if (alertId != null) {
+            Intent ackIntent = new Intent(ctx, AlertAckReceiver.class)
+                    .setAction(NotificationConfig.ACTION_ACK_FALL)
+                    .putExtra(NotificationConfig.EXTRA_ALERT_ID, alertId)
+                    .putExtra(NotificationConfig.EXTRA_NOTIFICATION_ID, notificationId);
+            PendingIntent ackPI = PendingIntent.getBroadcast(
+                    ctx,
+                    NotificationConfig.RC_ACK_FALL_BASE + notificationId,
+                    ackIntent,
+                    PendingIntent.FLAG_UPDATE_CURRENT | PendingIntent.FLAG_IMMUTABLE
+            );
+            b.addAction(0, ctx.getString(R.string.notif_fall_action_ack), ackPI);
+        }
         nm.notify(notificationId, b.build());
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.melisa.innovamotionapp.utils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Access-ordered map that evicts the least recently used entry once it holds more than
+ * {@code maxEntries}. Not thread-safe; callers synchronize.
+ *
+ * Plain Java (unlike android.util.LruCache) so caches built on it can be unit tested on the JVM.
+ */
+public class BoundedLruMap<K, V> extends LinkedHashMap<K, V> {
+
+    private final int maxEntries;
+    private long evictionCount = 0;
+
+    public BoundedLruMap(int maxEntries) {
+        super(16, 0.75f, true);
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be >= 1");
+        }
+        this.maxEntries = maxEntries;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+        if (size() > maxEntries) {
+            evictionCount++;
+            return true;
+        }
+        return false;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return Number of entries dropped to stay within {@link #getMaxEntries()}
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+}
@@ -24,6 +24,9 @@ public final class Constants {
     /** Countdown timer in milliseconds before saving messages (debounce) */
     public static final int COUNTDOWN_TIMER_IN_MILLISECONDS_FOR_MESSAGE_SAVE = 500;
     
+    /** Readings the batch writer keeps for retry while inserts fail (about 2 minutes at 200 sensors x 2 Hz); older ones are dropped */
+    public static final int BATCH_WRITER_MAX_PENDING_READINGS = 50_000;
+    
     // ========== MULTI-USER PROTOCOL ==========
     
     /** Terminator line that marks the end of a packet */
@@ -58,6 +61,12 @@ public final class Constants {
     /** Collection name for supervisor-sensor assignments in Firestore */
     public static final String FIRESTORE_COLLECTION_ASSIGNMENTS = "assignments";
     
+    /** Latest state per sensor, one document per sensor ID (see SensorState) */
+    public static final String FIRESTORE_COLLECTION_SENSOR_STATE = "sensor_state";
+    
+    /** Fall alerts, one document per fall episode (see Alert) */
+    public static final String FIRESTORE_COLLECTION_ALERTS = "alerts";
+    
     /** @deprecated Use FIRESTORE_COLLECTION_SENSORS instead */
     @Deprecated
     public static final String FIRESTORE_COLLECTION_PERSON_NAMES = "person_names";
@@ -66,11 +75,111 @@ public final class Constants {
     @Deprecated
     public static final String FIRESTORE_COLLECTION_SENSOR_ASSIGNMENTS = "sensor_assignments";
     
+    // ========== ASSIGNMENT CACHE CONFIGURATION ==========
+    
+    /** Cached assignments are served without a query for this long (ms) after their last sync, when no listener keeps them live */
+    public static final long ASSIGNMENT_CACHE_TTL_MS = 15 * 60 * 1000;
+    
+    /** Cached uid -> email entries are fetched again after this long (ms) */
+    public static final long DIRECTORY_CACHE_TTL_MS = 24 * 60 * 60 * 1000;
+    
+    /** Most supervisor emails suggested by the autocomplete */
+    public static final int AUTOCOMPLETE_MAX_SUGGESTIONS = 8;
+    
+    // ========== SENSOR STATE CONFIGURATION ==========
+    
+    /** An unchanged sensor state document is rewritten at most this often (ms); changes and falls are written at once */
+    public static final long SENSOR_STATE_MIN_INTERVAL_MS = 30 * 1000;
+    
+    // ========== EXPORT CONFIGURATION ==========
+    
+    /** Readings read from Room per query while exporting (memory stays at one chunk) */
+    public static final int EXPORT_CHUNK_SIZE = 1000;
+    
+    /** Directory (under the app's external files dir) that exports are written to */
+    public static final String EXPORT_DIRECTORY = "exports";
+    
+    // ========== RETENTION CONFIGURATION ==========
+    
+    /** How long raw readings are kept on the phone before being rolled up (30 days) */
+    public static final long RETENTION_RAW_WINDOW_MS = 30L * 24 * 60 * 60 * 1000;
+    
+    /** Time bucket of rolled-up posture history (1 hour) */
+    public static final long RETENTION_ROLLUP_BUCKET_MS = 60 * 60 * 1000;
+    
+    /** Readings rolled up and deleted per transaction (short lock against the ingest writer) */
+    public static final int RETENTION_CHUNK_SIZE = 500;
+    
+    /** Largest allowed retention chunk (ids are bound parameters; SQLite allows 999) */
+    public static final int RETENTION_CHUNK_SIZE_MAX = 900;
+    
+    /** Pause (ms) between retention chunks so ingest can take the write lock */
+    public static final long RETENTION_CHUNK_PAUSE_MS = 20;
+    
+    /** Free pages returned to the file system per incremental vacuum step */
+    public static final int RETENTION_VACUUM_PAGES_PER_STEP = 256;
+    
+    /** Largest database (64 MB) the idle retention job may switch to incremental vacuum with one full VACUUM */
+    public static final long RETENTION_FULL_VACUUM_MAX_BYTES = 64L * 1024 * 1024;
+    
+    /** How often the retention job runs (daily, when idle and charging) */
+    public static final long RETENTION_JOB_INTERVAL_MS = 24 * 60 * 60 * 1000;
+    
+    // ========== PURGE CONFIGURATION ==========
+    
+    /** Width of the id range deleted per purge statement (sign-out, account switch) */
+    public static final int PURGE_CHUNK_SIZE = 1000;
+    
+    /** Pause (ms) between purge chunks so ingest and Room observers get the lock */
+    public static final long PURGE_CHUNK_PAUSE_MS = 10;
+    
+    // ========== METRICS CONFIGURATION ==========
+    
+    /** Directory (under the app's external files dir) that metrics dumps are written to */
+    public static final String METRICS_DIRECTORY = "metrics";
+    
+    /** Refresh interval (ms) of the live metrics view in the developer panel */
+    public static final long METRICS_REFRESH_MS = 1000;
+    
+    /** Longest stage (ms) recorded as live latency; longer gaps are catch-up (backfill, offline queue) */
+    public static final long TRACE_MAX_STAGE_MS = 2 * 60 * 1000;
+    
+    /** Room statements at least this slow (ms) are counted as slow and get their EXPLAIN QUERY PLAN captured */
+    public static final long SLOW_QUERY_THRESHOLD_MS = 50;
+    
+    /** Statements listed in the developer panel's query profile, most total time first */
+    public static final int QUERY_PROFILE_LIMIT = 15;
+    
+    // ========== LOGGING CONFIGURATION ==========
+    
+    /** Recent log events kept in memory for bug reports (Logger ring buffer) */
+    public static final int LOG_RING_CAPACITY = 500;
+    
+    // ========== STARTUP CONFIGURATION ==========
+    
+    /** Run work deferred until the first frame after this long (ms) if no activity draws (job or service start) */
+    public static final long STARTUP_DEFERRED_TIMEOUT_MS = 5000;
+    
     // ========== UI CONFIGURATION ==========
     
-    /** Maximum messages to display in the message log */
+    /** Maximum messages the message log keeps in memory (its paging window) */
     public static final int MESSAGE_LOG_MAX_ITEMS = 500;
     
+    /** Messages loaded per page by the message log */
+    public static final int MESSAGE_LOG_PAGE_SIZE = 100;
+    
+    /** Maximum rate (updates per second) at which live posture streams are delivered to the UI; falls bypass it */
+    public static final int UI_UPDATE_MAX_FPS = 4;
+    
+    /** Decoded history results kept by AnalyticsRepository (least recently used evicted first) */
+    public static final int ANALYTICS_CACHE_MAX_ENTRIES = 6;
+    
+    /** Readings held in memory per page by the time-lapse timeline */
+    public static final int TIMELAPSE_PAGE_SIZE = 200;
+    
+    /** Memory (bytes) for decoded posture pictures shared by TimeLapse, Statistics and PhotoAdapter */
+    public static final long POSTURE_BITMAP_CACHE_MAX_BYTES = 16 * 1024 * 1024;
+    
     /** Maximum length for log string truncation */
     public static final int LOG_TRUNCATE_LENGTH = 50;
     
@@ -96,12 +205,21 @@ public final class Constants {
     /** Time window for fall alerts to be considered recent (24 hours) */
     public static final long FALL_ALERT_RECENT_WINDOW_MS = 24 * 60 * 60 * 1000;
     
+    /** Alerts the supervisor listener loads and keeps locally (7 days); older rows are purged on start */
+    public static final long ALERT_HISTORY_WINDOW_MS = 7L * 24 * 60 * 60 * 1000;
+    
     /** Offline queue retry interval (milliseconds) */
     public static final long OFFLINE_QUEUE_RETRY_INTERVAL_MS = 30 * 1000;
     
     /** Maximum retry attempts for offline queue items */
     public static final int OFFLINE_QUEUE_MAX_RETRIES = 5;
     
+    /** Longest gap (ms) between two readings of a sensor still counted as time in the earlier posture; longer gaps (sensor off, reconnect) are cut to this */
+    public static final long POSTURE_SEGMENT_MAX_GAP_MS = STALE_DATA_THRESHOLD_MS;
+    
+    /** Time (ms) that Posture.getCalories() refers to: calories spent per minute in that posture */
+    public static final long CALORIE_RATE_PERIOD_MS = 60 * 1000;
+    
     // ========== ROLE CONSTANTS ==========
     
     /** Role string for aggregator (data collector) users */
@@ -0,0 +1,152 @@
+package com.melisa.innovamotionapp.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * In-memory prefix trie over email addresses, for suggestions as the user types.
+ *
+ * Each email is indexed under the whole address and under every part that starts after a
+ * separator ('.', '_', '-', '+', '@'), so "ion" finds "maria.ion@example.com" and "exa" finds
+ * it too. Matching is case-insensitive; results come in alphabetical order of the email.
+ *
+ * Thread-safe (all methods synchronized).
+ *
+ * @param <V> Value returned for a matching email (e.g. the user's profile)
+ */
+public final class EmailPrefixIndex<V> {
+
+    private static final class Node {
+        final TreeMap<Character, Node> children = new TreeMap<>();
+        // Emails with a token ending exactly here
+        final Set<String> emails = new TreeSet<>();
+    }
+
+    private final Node root = new Node();
+    private final Map<String, V> values = new HashMap<>();
+
+    /**
+     * Index (or re-index) an email.
+     */
+    public synchronized void put(@NonNull String email, @NonNull V value) {
+        String key = normalize(email);
+        if (key.isEmpty()) {
+            return;
+        }
+        if (values.put(key, value) != null) {
+            return; // Tokens are already indexed; only the value changed
+        }
+        for (String token : tokens(key)) {
+            Node node = root;
+            for (int i = 0; i < token.length(); i++) {
+                node = node.children.computeIfAbsent(token.charAt(i), c -> new Node());
+            }
+            node.emails.add(key);
+        }
+    }
+
+    public synchronized void remove(@NonNull String email) {
+        String key = normalize(email);
+        if (values.remove(key) == null) {
+            return;
+        }
+        for (String token : tokens(key)) {
+            remove(root, token, 0, key);
+        }
+    }
+
+    /**
+     * @return Values of the first {@code limit} emails, alphabetically, with a token starting with {@code query}
+     */
+    @NonNull
+    public synchronized List<V> search(@NonNull String query, int limit) {
+        List<V> result = new ArrayList<>();
+        String prefix = normalize(query);
+        if (prefix.isEmpty() || limit <= 0) {
+            return result;
+        }
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        if (node == null) {
+            return result;
+        }
+        // Trie order is token order, not email order: sort every match before applying the limit
+        Set<String> matches = new TreeSet<>();
+        collect(node, matches);
+        for (String email : matches) {
+            if (result.size() >= limit) {
+                break;
+            }
+            result.add(values.get(email));
+        }
+        return result;
+    }
+
+    @Nullable
+    public synchronized V get(@NonNull String email) {
+        return values.get(normalize(email));
+    }
+
+    public synchronized int size() {
+        return values.size();
+    }
+
+    public synchronized void clear() {
+        root.children.clear();
+        root.emails.clear();
+        values.clear();
+    }
+
+    // Depth-first over the whole subtree
+    private static void collect(Node node, Set<String> matches) {
+        matches.addAll(node.emails);
+        for (Node child : node.children.values()) {
+            collect(child, matches);
+        }
+    }
+
+    // Returns true if the node is now empty and can be dropped by its parent
+    private static boolean remove(Node node, String token, int depth, String email) {
+        if (depth == token.length()) {
+            node.emails.remove(email);
+        } else {
+            char c = token.charAt(depth);
+            Node child = node.children.get(c);
+            if (child != null && remove(child, token, depth + 1, email)) {
+                node.children.remove(c);
+            }
+        }
+        return node.emails.isEmpty() && node.children.isEmpty();
+    }
+
+    static List<String> tokens(String email) {
+        Set<String> tokens = new LinkedHashSet<>();
+        tokens.add(email);
+        for (int i = 0; i < email.length() - 1; i++) {
+            if (isSeparator(email.charAt(i))) {
+                tokens.add(email.substring(i + 1));
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == '_' || c == '-' || c == '+' || c == '@';
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
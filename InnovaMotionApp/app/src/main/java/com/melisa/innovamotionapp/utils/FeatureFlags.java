@@ -85,6 +85,17 @@ public final class FeatureFlags {
      */
     public static final boolean OFFLINE_QUEUE_ENABLED = true;
     
+    /**
+     * Supervisor dashboard from per-sensor state documents.
+     * 
+     * When true: Listen to 'sensor_state/{sensorId}' (one document per sensor) instead of the
+     *            raw bluetooth_messages stream; history still comes from the initial sync
+     * When false: Mirror every reading of the assigned sensors
+     * 
+     * Aggregators always publish the state documents; enable once they all run a version that does.
+     */
+    public static final boolean SENSOR_STATE_DASHBOARD_ENABLED = false;
+    
     // ========== NOTIFICATION FLAGS ==========
     
     /**
@@ -103,6 +114,19 @@ public final class FeatureFlags {
      */
     public static final boolean SUPERVISOR_FALL_ALERTS_ENABLED = true;
     
+    /**
+     * Fall alerts through the dedicated alerts collection.
+     * 
+     * When true: Aggregators write one 'alerts' document per fall episode and supervisors
+     *            are notified by a listener on that collection only
+     * When false: Supervisors detect falls by decoding every mirrored reading
+     * 
+     * Aggregators always write the alerts documents; enable once they all run a version that does.
+     * The supervisor listener (whereIn sensorId + timestamp range) needs the composite index
+     * alerts: sensorId ASC, timestamp ASC deployed first, or the query fails.
+     */
+    public static final boolean ALERTS_CHANNEL_ENABLED = false;
+    
     // ========== DEBUG FLAGS ==========
     
     /**
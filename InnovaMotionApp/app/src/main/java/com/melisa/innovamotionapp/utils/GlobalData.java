@@ -1,14 +1,22 @@
 package com.melisa.innovamotionapp.utils;
 
 import android.app.Application;
+import android.content.pm.ApplicationInfo;
 import android.bluetooth.BluetoothDevice;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.Process;
+import android.os.SystemClock;
 
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
+import com.google.firebase.auth.FirebaseAuth;
 import com.melisa.innovamotionapp.bluetooth.DeviceCommunicationManager;
-import com.melisa.innovamotionapp.data.posture.Posture;
-import com.melisa.innovamotionapp.data.posture.types.UnknownPosture;
+import com.melisa.innovamotionapp.data.analytics.AnalyticsRepository;
+import com.melisa.innovamotionapp.data.maintenance.RetentionJobService;
+import com.melisa.innovamotionapp.metrics.FirstFrameWatcher;
+import com.melisa.innovamotionapp.metrics.StartupTracer;
 import com.melisa.innovamotionapp.sync.FirestoreSyncService;
 import com.melisa.innovamotionapp.sync.SessionGate;
 import com.melisa.innovamotionapp.sync.UserSession;
@@ -22,25 +30,75 @@ public class GlobalData extends Application {
     public void onCreate() {
         super.onCreate();
         instance = this;
+        StartupTracer tracer = StartupTracer.getInstance();
+        tracer.onProcessStart(SystemClock.uptimeMillis() - Process.getStartUptimeMillis());
+        long start = tracer.begin();
+        registerActivityLifecycleCallbacks(new FirstFrameWatcher(this, tracer));
+        // Debug logs only in debuggable builds; levels can still be lowered from the developer panel
+        if ((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) == 0) {
+            Logger.setMinimumLevel(Logger.INFO);
+        }
         userDeviceSettingsStorage = new UserDeviceSettingsStorage(this);
-        
-        // Seed a safe default so observers never see null
-        receivedPosture.setValue(new UnknownPosture());
 
         // Single source of truth: init all channels here (both BT + Fall)
         NotificationConfig.initAllChannels(this);
+        tracer.endInit("GlobalData", start);
+
+        // Everything else waits for the first frame; processes started for a job or service draw none
+        tracer.runAfterFirstFrame(this::initAfterFirstFrame);
+        new Handler(Looper.getMainLooper()).postDelayed(tracer::releaseDeferred, Constants.STARTUP_DEFERRED_TIMEOUT_MS);
+    }
+    
+    /**
+     * Non-essential initialization, on a background thread once the first screen is drawn.
+     * Warming the session singletons here means the first screen that needs them finds them
+     * built instead of constructing them (Firestore, thread pools, connectivity monitor) on
+     * the main thread.
+     */
+    private void initAfterFirstFrame() {
+        Thread warmUp = new Thread(() -> {
+            // Daily roll-up and cleanup of old readings (idle and charging only)
+            RetentionJobService.scheduleIfNeeded(this);
+            
+            if (FirebaseAuth.getInstance().getCurrentUser() != null) {
+                SessionGate.getInstance(this); // also UserSession, FirestoreSyncService, SensorInventoryService
+                PersonNameManager.getInstance(this);
+            }
+        }, "startup-warmup");
+        warmUp.setPriority(Thread.NORM_PRIORITY - 1);
+        warmUp.start();
+    }
+    
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        // Decoded posture pictures are cheap to redo; give the memory back when the UI is hidden
+        if (level >= TRIM_MEMORY_UI_HIDDEN) {
+            PostureBitmapCache.getInstance(this).clear();
+        }
     }
     
     public static GlobalData getInstance() {
         return instance;
     }
 
-    public final DeviceCommunicationManager deviceCommunicationManager = new DeviceCommunicationManager(this);
+    private DeviceCommunicationManager deviceCommunicationManager;
+    
+    /**
+     * Get the Bluetooth connection manager, created on first use.
+     */
+    public synchronized DeviceCommunicationManager getDeviceCommunicationManager() {
+        if (deviceCommunicationManager == null) {
+            long start = StartupTracer.getInstance().begin();
+            deviceCommunicationManager = new DeviceCommunicationManager(this);
+            StartupTracer.getInstance().endInit("DeviceCommunicationManager", start);
+        }
+        return deviceCommunicationManager;
+    }
 
     public LinkedHashSet<BluetoothDevice> nearbyBtDevices = new LinkedHashSet<>();
 
     public UserDeviceSettingsStorage userDeviceSettingsStorage;
-    private final MutableLiveData<Posture> receivedPosture = new MutableLiveData<>();
     private final MutableLiveData<Boolean> isConnectedDevice = new MutableLiveData<>();
     public String currentUserRole = null; // "aggregator" or "supervisor"
     public String currentUserUid = null;
@@ -53,13 +111,6 @@ public class GlobalData extends Application {
     public MutableLiveData<Boolean> getIsConnectedDevice() {
         return isConnectedDevice;
     }
-    public LiveData<Posture> getReceivedPosture() {
-        return receivedPosture;
-    }
-
-    public void setReceivedPosture(Posture receivedPosture) {
-        this.receivedPosture.postValue(receivedPosture);
-    }
     public void setIsConnectedDevice(boolean connectionEstablished) {
         isConnectedDevice.postValue(connectionEstablished);
     }
@@ -110,8 +161,9 @@ public class GlobalData extends Application {
         currentUserRole = null;
         supervisedSensorIds.clear();
         
-        // Reset LiveData to neutral state
-        receivedPosture.postValue(null);
+        // Reset live sensor state, cached analytics and LiveData to neutral state
+        LiveSensorStateStore.getInstance().clear();
+        AnalyticsRepository.getInstance(this).clear();
         isConnectedDevice.postValue(false);
         
         // Reset session LiveData (triggers ViewModel updates)
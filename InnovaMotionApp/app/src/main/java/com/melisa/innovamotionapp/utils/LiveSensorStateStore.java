@@ -0,0 +1,286 @@
+package com.melisa.innovamotionapp.utils;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.data.posture.Posture;
+import com.melisa.innovamotionapp.data.posture.PostureFactory;
+import com.melisa.innovamotionapp.metrics.LatencyTracer;
+import com.melisa.innovamotionapp.metrics.ReadingTrace;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * In-memory latest state per sensor (posture, timestamp, alert flag), keyed by sensor ID.
+ *
+ * Replaces the single GlobalData posture LiveData that every sensor overwrote. Writers are the
+ * ingest pipeline (PacketIngestor, one reading at a time) and the Firestore sensor mirrors
+ * (latest row per sensor of each snapshot). Readings older than the stored state are ignored, so
+ * late mirror events never move a sensor back in time.
+ *
+ * Subscriptions are per key: {@link #observe(String)} only wakes up for its own sensor.
+ * Notifications go through an {@link UpdateCoalescer}, so each subscriber sees at most
+ * {@link Constants#UI_UPDATE_MAX_FPS} updates per second; falls are delivered immediately.
+ * Reads ({@link #get}) are lock-free from any thread.
+ */
+public final class LiveSensorStateStore {
+
+    private static final String TAG = "LiveSensorStateStore";
+
+    /**
+     * Receives state changes on the main thread.
+     */
+    public interface Listener {
+        void onStateChanged(@NonNull SensorLiveState state);
+    }
+
+    private static volatile LiveSensorStateStore instance;
+
+    private final ConcurrentHashMap<String, SensorLiveState> states = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Set<Listener>> listenersBySensor = new ConcurrentHashMap<>();
+    private final Set<Listener> anySensorListeners = new CopyOnWriteArraySet<>();
+    private final UpdateCoalescer<String, SensorLiveState> coalescer;
+
+    /**
+     * Visible for tests; production code uses {@link #getInstance()}.
+     */
+    LiveSensorStateStore(@NonNull UpdateCoalescer.Scheduler scheduler, @NonNull UpdateCoalescer.Clock clock) {
+        coalescer = new UpdateCoalescer<>(
+                UpdateCoalescer.intervalForFps(Constants.UI_UPDATE_MAX_FPS),
+                scheduler, clock, this::dispatch);
+    }
+
+    @NonNull
+    public static LiveSensorStateStore getInstance() {
+        if (instance == null) {
+            synchronized (LiveSensorStateStore.class) {
+                if (instance == null) {
+                    instance = new LiveSensorStateStore(UpdateSchedulers.mainThread(), UpdateSchedulers.UPTIME_CLOCK);
+                }
+            }
+        }
+        return instance;
+    }
+
+    // ========== Writes ==========
+
+    /**
+     * Record a sensor's posture.
+     *
+     * @return true if the state changed, false if the reading was older than the stored one
+     */
+    public boolean update(@NonNull String sensorId, @NonNull Posture posture, long timestamp) {
+        return update(sensorId, posture, timestamp, 0L);
+    }
+
+    /**
+     * Record a sensor's posture, with the time the reading reached this device for latency tracing.
+     *
+     * @return true if the state changed, false if the reading was older than the stored one
+     */
+    public boolean update(@NonNull String sensorId, @NonNull Posture posture, long timestamp, long arrivedAt) {
+        SensorLiveState next = new SensorLiveState(sensorId, posture, timestamp, arrivedAt);
+        SensorLiveState stored = states.merge(sensorId, next,
+                (current, candidate) -> candidate.getTimestamp() >= current.getTimestamp() ? candidate : current);
+        if (stored != next) {
+            return false;
+        }
+        // Offer whatever is stored now, so a concurrent newer write is never overtaken
+        SensorLiveState current = states.get(sensorId);
+        coalescer.offer(sensorId, current != null ? current : next, next.isAlert());
+        return true;
+    }
+
+    /**
+     * Record the latest row per sensor of a batch (e.g. one Firestore mirror snapshot).
+     *
+     * @return Number of sensors whose state changed
+     */
+    public int updateFromEntities(@Nullable List<ReceivedBtDataEntity> entities) {
+        if (entities == null || entities.isEmpty()) {
+            return 0;
+        }
+        Map<String, ReceivedBtDataEntity> latest = new HashMap<>();
+        for (ReceivedBtDataEntity entity : entities) {
+            String sensorId = entity.getSensorId();
+            if (sensorId == null || sensorId.isEmpty()) {
+                continue;
+            }
+            ReceivedBtDataEntity current = latest.get(sensorId);
+            if (current == null || entity.getTimestamp() >= current.getTimestamp()) {
+                latest.put(sensorId, entity);
+            }
+        }
+
+        int changed = 0;
+        for (ReceivedBtDataEntity entity : latest.values()) {
+            ReadingTrace trace = entity.getTrace();
+            if (update(entity.getSensorId(), PostureFactory.createPosture(entity.getReceivedMsg()),
+                    entity.getTimestamp(), trace != null ? trace.getArrivedAt() : 0L)) {
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Forget all sensors and pending notifications (on sign-out).
+     */
+    public void clear() {
+        coalescer.clear();
+        states.clear();
+        Logger.d(TAG, "Live sensor state cleared");
+    }
+
+    // ========== Reads ==========
+
+    /**
+     * @return Latest state of a sensor, or null if nothing was received for it yet
+     */
+    @Nullable
+    public SensorLiveState get(@NonNull String sensorId) {
+        return states.get(sensorId);
+    }
+
+    /**
+     * @return Copy of all sensor states
+     */
+    @NonNull
+    public Map<String, SensorLiveState> snapshot() {
+        return new HashMap<>(states);
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    /**
+     * Offered / delivered / coalesced notification counters.
+     */
+    @NonNull
+    public String getStatsSummary() {
+        return coalescer.getStatsSummary();
+    }
+
+    // ========== Subscriptions ==========
+
+    /**
+     * Listen to one sensor. Call {@link #unsubscribe} when done.
+     */
+    public void subscribe(@NonNull String sensorId, @NonNull Listener listener) {
+        listenersBySensor.computeIfAbsent(sensorId, id -> new CopyOnWriteArraySet<>()).add(listener);
+    }
+
+    public void unsubscribe(@NonNull String sensorId, @NonNull Listener listener) {
+        listenersBySensor.computeIfPresent(sensorId, (id, listeners) -> {
+            listeners.remove(listener);
+            return listeners.isEmpty() ? null : listeners;
+        });
+    }
+
+    /**
+     * Listen to every sensor (single-device screens that do not know their sensor ID).
+     */
+    public void subscribeAll(@NonNull Listener listener) {
+        anySensorListeners.add(listener);
+    }
+
+    public void unsubscribeAll(@NonNull Listener listener) {
+        anySensorListeners.remove(listener);
+    }
+
+    /**
+     * LiveData of one sensor's state; subscribed to the store only while it has active observers.
+     */
+    @NonNull
+    public LiveData<SensorLiveState> observe(@NonNull String sensorId) {
+        return new SensorStateLiveData(this, sensorId);
+    }
+
+    /**
+     * LiveData of the most relevant state across all sensors: a fall if one was just delivered,
+     * otherwise the most recently delivered sensor.
+     */
+    @NonNull
+    public LiveData<SensorLiveState> observeAny() {
+        return new SensorStateLiveData(this, null);
+    }
+
+    // ========== Dispatch ==========
+
+    private void dispatch(@NonNull Map<String, SensorLiveState> latest) {
+        long now = System.currentTimeMillis();
+        SensorLiveState displayed = null;
+        for (SensorLiveState state : latest.values()) {
+            Set<Listener> listeners = listenersBySensor.get(state.getSensorId());
+            if (listeners != null) {
+                for (Listener listener : listeners) {
+                    listener.onStateChanged(state);
+                }
+            }
+            if (listeners != null || !anySensorListeners.isEmpty()) {
+                LatencyTracer.onUiBound(state, now);
+            }
+            if (displayed == null || !displayed.isAlert()) {
+                displayed = state;
+            }
+        }
+        if (displayed != null) {
+            for (Listener listener : anySensorListeners) {
+                listener.onStateChanged(displayed);
+            }
+        }
+    }
+
+    /**
+     * Per-key LiveData adapter: subscribes in onActive, unsubscribes in onInactive.
+     */
+    private static final class SensorStateLiveData extends LiveData<SensorLiveState> implements Listener {
+        private final LiveSensorStateStore store;
+        @Nullable
+        private final String sensorId;
+
+        SensorStateLiveData(@NonNull LiveSensorStateStore store, @Nullable String sensorId) {
+            this.store = store;
+            this.sensorId = sensorId;
+        }
+
+        @MainThread
+        @Override
+        protected void onActive() {
+            if (sensorId == null) {
+                store.subscribeAll(this);
+                return;
+            }
+            store.subscribe(sensorId, this);
+            SensorLiveState current = store.get(sensorId);
+            if (current != null && current != getValue()) {
+                setValue(current);
+            }
+        }
+
+        @MainThread
+        @Override
+        protected void onInactive() {
+            if (sensorId == null) {
+                store.unsubscribeAll(this);
+            } else {
+                store.unsubscribe(sensorId, this);
+            }
+        }
+
+        @MainThread
+        @Override
+        public void onStateChanged(@NonNull SensorLiveState state) {
+            setValue(state);
+        }
+    }
+}
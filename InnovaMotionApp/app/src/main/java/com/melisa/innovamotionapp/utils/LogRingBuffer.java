@@ -0,0 +1,136 @@
+package com.melisa.innovamotionapp.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Fixed-size, in-memory buffer of the most recent log events, so they can be attached to a
+ * bug report from the developer panel (logcat is gone by the time a tester reports a problem).
+ *
+ * Slots are preallocated parallel arrays: recording an event stores references and never
+ * allocates. When full, the oldest event is overwritten.
+ */
+public final class LogRingBuffer {
+
+    private final long[] times;
+    private final int[] levels;
+    private final String[] threads;
+    private final String[] tags;
+    private final String[] messages;
+    private final Throwable[] throwables;
+
+    private int next;
+    private int size;
+    private long dropped;
+
+    public LogRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be > 0");
+        }
+        times = new long[capacity];
+        levels = new int[capacity];
+        threads = new String[capacity];
+        tags = new String[capacity];
+        messages = new String[capacity];
+        throwables = new Throwable[capacity];
+    }
+
+    /**
+     * Record one event, overwriting the oldest if full.
+     */
+    public synchronized void add(long timeMs, int level, @NonNull String thread, @NonNull String tag,
+                                 @NonNull String message, @Nullable Throwable throwable) {
+        times[next] = timeMs;
+        levels[next] = level;
+        threads[next] = thread;
+        tags[next] = tag;
+        messages[next] = message;
+        throwables[next] = throwable;
+        next = (next + 1) % times.length;
+        if (size < times.length) {
+            size++;
+        } else {
+            dropped++;
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return times.length;
+    }
+
+    /**
+     * @return Events overwritten since the last {@link #clear()}
+     */
+    public synchronized long getDropped() {
+        return dropped;
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(threads, null);
+        Arrays.fill(tags, null);
+        Arrays.fill(messages, null);
+        Arrays.fill(throwables, null);
+        next = 0;
+        size = 0;
+        dropped = 0;
+    }
+
+    /**
+     * Write the buffered events, oldest first, one per line:
+     * {@code MM-dd HH:mm:ss.SSS D/Tag [thread] message}.
+     */
+    public synchronized void writeTo(@NonNull Appendable out) throws IOException {
+        SimpleDateFormat format = new SimpleDateFormat("MM-dd HH:mm:ss.SSS", Locale.US);
+        Date date = new Date();
+        if (dropped > 0) {
+            out.append("(").append(String.valueOf(dropped)).append(" older events dropped)\n");
+        }
+        int start = (next - size + times.length) % times.length;
+        for (int i = 0; i < size; i++) {
+            int slot = (start + i) % times.length;
+            date.setTime(times[slot]);
+            out.append(format.format(date)).append(' ')
+                    .append(levelLetter(levels[slot])).append('/').append(tags[slot])
+                    .append(" [").append(threads[slot]).append("] ")
+                    .append(messages[slot]).append('\n');
+            Throwable throwable = throwables[slot];
+            if (throwable != null) {
+                out.append("    ").append(throwable.toString()).append('\n');
+                for (StackTraceElement element : throwable.getStackTrace()) {
+                    out.append("        at ").append(element.toString()).append('\n');
+                }
+            }
+        }
+    }
+
+    @NonNull
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        try {
+            writeTo(sb);
+        } catch (IOException e) {
+            // StringBuilder does not throw
+        }
+        return sb.toString();
+    }
+
+    private static char levelLetter(int level) {
+        switch (level) {
+            case Logger.VERBOSE: return 'V';
+            case Logger.DEBUG: return 'D';
+            case Logger.INFO: return 'I';
+            case Logger.WARN: return 'W';
+            default: return 'E';
+        }
+    }
+}
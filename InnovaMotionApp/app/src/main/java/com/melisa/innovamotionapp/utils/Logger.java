@@ -8,29 +8,116 @@ import androidx.annotation.Nullable;
  * Centralized logging utility for InnovaMotionApp.
  * Provides consistent logging across the application with different log levels,
  * automatic tag generation, and production-safe logging.
- * 
+ *
  * Usage:
  * Logger.d("MainActivity", "User logged in successfully");
  * Logger.e("BluetoothService", "Connection failed", exception);
  * Logger.i("StatisticsActivity", "Chart data updated");
+ *
+ * Hot paths log per {@link Subsystem}, whose level can be changed at runtime, with
+ * lazily formatted "{}" arguments:
+ * Logger.d(Subsystem.PARSER, TAG, "Buffered reading: {} -> {}", sensorId, hexCode);
+ * When the level is disabled the call returns before formatting and allocates nothing
+ * (primitive arguments are boxed by the caller; guard those with {@link #isLoggable}).
+ *
+ * Every event that is logged is also kept in a {@link LogRingBuffer} of the most recent
+ * {@link Constants#LOG_RING_CAPACITY} events, for bug reports.
  */
 public class Logger {
-    
+
+    // Same values as android.util.Log
+    public static final int VERBOSE = 2;
+    public static final int DEBUG = 3;
+    public static final int INFO = 4;
+    public static final int WARN = 5;
+    public static final int ERROR = 6;
+    /** Level that disables a subsystem entirely */
+    public static final int NONE = Integer.MAX_VALUE;
+
+    /**
+     * Log subsystems with their own runtime level.
+     * The per-reading paths (BLUETOOTH, PARSER, POSTURE) default to INFO so per-line
+     * debug logs are off unless turned on from the developer panel.
+     */
+    public enum Subsystem {
+        APP(DEBUG),
+        BLUETOOTH(INFO),
+        PARSER(INFO),
+        POSTURE(INFO),
+        SYNC(DEBUG),
+        DATABASE(DEBUG),
+        UI(DEBUG);
+
+        final int defaultLevel;
+        volatile int level;
+
+        Subsystem(int defaultLevel) {
+            this.defaultLevel = defaultLevel;
+            this.level = defaultLevel;
+        }
+    }
+
     private static final String APP_TAG = "InnovaMotion";
-    private static final boolean ENABLE_DEBUG_LOGS = true; // Set to false in production
-    private static final boolean ENABLE_VERBOSE_LOGS = false; // Usually false in production
-    
+    private static final LogRingBuffer RECENT = new LogRingBuffer(Constants.LOG_RING_CAPACITY);
+
+    // ========== Levels ==========
+
+    /**
+     * @return true if an event of this level would be logged for the subsystem
+     */
+    public static boolean isLoggable(@NonNull Subsystem subsystem, int level) {
+        return level >= subsystem.level;
+    }
+
+    /**
+     * Change a subsystem's level at runtime
+     * @param level One of VERBOSE..ERROR, or NONE
+     */
+    public static void setLevel(@NonNull Subsystem subsystem, int level) {
+        subsystem.level = level;
+    }
+
+    public static int getLevel(@NonNull Subsystem subsystem) {
+        return subsystem.level;
+    }
+
+    /**
+     * Raise every subsystem to at least this level (e.g. INFO in non-debuggable builds)
+     */
+    public static void setMinimumLevel(int level) {
+        for (Subsystem subsystem : Subsystem.values()) {
+            subsystem.level = Math.max(subsystem.defaultLevel, level);
+        }
+    }
+
+    /**
+     * Restore every subsystem's default level
+     */
+    public static void resetLevels() {
+        setMinimumLevel(VERBOSE);
+    }
+
+    // ========== Recent events ==========
+
+    /**
+     * @return The ring buffer of recently logged events (for bug reports)
+     */
+    @NonNull
+    public static LogRingBuffer getRecentEvents() {
+        return RECENT;
+    }
+
+    // ========== Tag-only logging (APP subsystem) ==========
+
     /**
      * Debug log - for detailed debugging information
      * @param tag The tag to identify the source (usually class name)
      * @param message The message to log
      */
     public static void d(@NonNull String tag, @NonNull String message) {
-        if (ENABLE_DEBUG_LOGS) {
-            Log.d(formatTag(tag), message);
-        }
+        log(Subsystem.APP, DEBUG, tag, message, null);
     }
-    
+
     /**
      * Debug log with exception
      * @param tag The tag to identify the source
@@ -38,20 +125,18 @@ public class Logger {
      * @param throwable The exception to log
      */
     public static void d(@NonNull String tag, @NonNull String message, @Nullable Throwable throwable) {
-        if (ENABLE_DEBUG_LOGS) {
-            Log.d(formatTag(tag), message, throwable);
-        }
+        log(Subsystem.APP, DEBUG, tag, message, throwable);
     }
-    
+
     /**
      * Info log - for general information
      * @param tag The tag to identify the source
      * @param message The message to log
      */
     public static void i(@NonNull String tag, @NonNull String message) {
-        Log.i(formatTag(tag), message);
+        log(Subsystem.APP, INFO, tag, message, null);
     }
-    
+
     /**
      * Info log with exception
      * @param tag The tag to identify the source
@@ -59,18 +144,18 @@ public class Logger {
      * @param throwable The exception to log
      */
     public static void i(@NonNull String tag, @NonNull String message, @Nullable Throwable throwable) {
-        Log.i(formatTag(tag), message, throwable);
+        log(Subsystem.APP, INFO, tag, message, throwable);
     }
-    
+
     /**
      * Warning log - for potential issues
      * @param tag The tag to identify the source
      * @param message The message to log
      */
     public static void w(@NonNull String tag, @NonNull String message) {
-        Log.w(formatTag(tag), message);
+        log(Subsystem.APP, WARN, tag, message, null);
     }
-    
+
     /**
      * Warning log with exception
      * @param tag The tag to identify the source
@@ -78,18 +163,18 @@ public class Logger {
      * @param throwable The exception to log
      */
     public static void w(@NonNull String tag, @NonNull String message, @Nullable Throwable throwable) {
-        Log.w(formatTag(tag), message, throwable);
+        log(Subsystem.APP, WARN, tag, message, throwable);
     }
-    
+
     /**
      * Error log - for errors and exceptions
      * @param tag The tag to identify the source
      * @param message The message to log
      */
     public static void e(@NonNull String tag, @NonNull String message) {
-        Log.e(formatTag(tag), message);
+        log(Subsystem.APP, ERROR, tag, message, null);
     }
-    
+
     /**
      * Error log with exception
      * @param tag The tag to identify the source
@@ -97,20 +182,18 @@ public class Logger {
      * @param throwable The exception to log
      */
     public static void e(@NonNull String tag, @NonNull String message, @Nullable Throwable throwable) {
-        Log.e(formatTag(tag), message, throwable);
+        log(Subsystem.APP, ERROR, tag, message, throwable);
     }
-    
+
     /**
-     * Verbose log - for very detailed debugging (usually disabled in production)
+     * Verbose log - for very detailed debugging (off unless the APP level is lowered)
      * @param tag The tag to identify the source
      * @param message The message to log
      */
     public static void v(@NonNull String tag, @NonNull String message) {
-        if (ENABLE_VERBOSE_LOGS) {
-            Log.v(formatTag(tag), message);
-        }
+        log(Subsystem.APP, VERBOSE, tag, message, null);
     }
-    
+
     /**
      * Verbose log with exception
      * @param tag The tag to identify the source
@@ -118,11 +201,79 @@ public class Logger {
      * @param throwable The exception to log
      */
     public static void v(@NonNull String tag, @NonNull String message, @Nullable Throwable throwable) {
-        if (ENABLE_VERBOSE_LOGS) {
-            Log.v(formatTag(tag), message, throwable);
+        log(Subsystem.APP, VERBOSE, tag, message, throwable);
+    }
+
+    // ========== Subsystem logging with lazy arguments ==========
+
+    public static void v(@NonNull Subsystem subsystem, @NonNull String tag, @NonNull String message) {
+        log(subsystem, VERBOSE, tag, message, null);
+    }
+
+    public static void v(@NonNull Subsystem subsystem, @NonNull String tag, @NonNull String template, @Nullable Object arg) {
+        if (VERBOSE >= subsystem.level) {
+            emit(VERBOSE, tag, format(template, 1, arg, null, null), null);
+        }
+    }
+
+    public static void v(@NonNull Subsystem subsystem, @NonNull String tag, @NonNull String template,
+                         @Nullable Object arg1, @Nullable Object arg2) {
+        if (VERBOSE >= subsystem.level) {
+            emit(VERBOSE, tag, format(template, 2, arg1, arg2, null), null);
+        }
+    }
+
+    public static void d(@NonNull Subsystem subsystem, @NonNull String tag, @NonNull String message) {
+        log(subsystem, DEBUG, tag, message, null);
+    }
+
+    public static void d(@NonNull Subsystem subsystem, @NonNull String tag, @NonNull String template, @Nullable Object arg) {
+        if (DEBUG >= subsystem.level) {
+            emit(DEBUG, tag, format(template, 1, arg, null, null), null);
+        }
+    }
+
+    public static void d(@NonNull Subsystem subsystem, @NonNull String tag, @NonNull String template,
+                         @Nullable Object arg1, @Nullable Object arg2) {
+        if (DEBUG >= subsystem.level) {
+            emit(DEBUG, tag, format(template, 2, arg1, arg2, null), null);
+        }
+    }
+
+    public static void d(@NonNull Subsystem subsystem, @NonNull String tag, @NonNull String template,
+                         @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3) {
+        if (DEBUG >= subsystem.level) {
+            emit(DEBUG, tag, format(template, 3, arg1, arg2, arg3), null);
+        }
+    }
+
+    public static void i(@NonNull Subsystem subsystem, @NonNull String tag, @NonNull String message) {
+        log(subsystem, INFO, tag, message, null);
+    }
+
+    public static void i(@NonNull Subsystem subsystem, @NonNull String tag, @NonNull String template, @Nullable Object arg) {
+        if (INFO >= subsystem.level) {
+            emit(INFO, tag, format(template, 1, arg, null, null), null);
+        }
+    }
+
+    public static void i(@NonNull Subsystem subsystem, @NonNull String tag, @NonNull String template,
+                         @Nullable Object arg1, @Nullable Object arg2) {
+        if (INFO >= subsystem.level) {
+            emit(INFO, tag, format(template, 2, arg1, arg2, null), null);
         }
     }
-    
+
+    public static void w(@NonNull Subsystem subsystem, @NonNull String tag, @NonNull String message) {
+        log(subsystem, WARN, tag, message, null);
+    }
+
+    public static void e(@NonNull Subsystem subsystem, @NonNull String tag, @NonNull String message, @Nullable Throwable throwable) {
+        log(subsystem, ERROR, tag, message, throwable);
+    }
+
+    // ========== Formatted helpers ==========
+
     /**
      * Logs Bluetooth-specific events with consistent formatting
      * @param tag The source tag
@@ -130,18 +281,18 @@ public class Logger {
      * @param event The event description
      */
     public static void bluetooth(@NonNull String tag, @NonNull String deviceAddress, @NonNull String event) {
-        i(tag, String.format("BT[%s]: %s", deviceAddress, event));
+        i(Subsystem.BLUETOOTH, tag, "BT[{}]: {}", deviceAddress, event);
     }
-    
+
     /**
      * Logs user interaction events
      * @param tag The source tag
      * @param action The user action performed
      */
     public static void userAction(@NonNull String tag, @NonNull String action) {
-        i(tag, String.format("USER_ACTION: %s", action));
+        i(Subsystem.UI, tag, "USER_ACTION: {}", action);
     }
-    
+
     /**
      * Logs performance-related information
      * @param tag The source tag
@@ -149,9 +300,65 @@ public class Logger {
      * @param durationMs The duration in milliseconds
      */
     public static void performance(@NonNull String tag, @NonNull String operation, long durationMs) {
-        d(tag, String.format("PERF: %s took %dms", operation, durationMs));
+        if (isLoggable(Subsystem.APP, DEBUG)) {
+            emit(DEBUG, tag, format("PERF: {} took {}ms", 2, operation, durationMs, null), null);
+        }
+    }
+
+    // ========== Internals ==========
+
+    private static void log(@NonNull Subsystem subsystem, int level, @NonNull String tag,
+                            @NonNull String message, @Nullable Throwable throwable) {
+        if (level >= subsystem.level) {
+            emit(level, tag, message, throwable);
+        }
     }
-    
+
+    /**
+     * Write an enabled event to logcat and the ring buffer
+     */
+    private static void emit(int level, @NonNull String tag, @NonNull String message, @Nullable Throwable throwable) {
+        RECENT.add(System.currentTimeMillis(), level, Thread.currentThread().getName(), tag, message, throwable);
+        String fullTag = formatTag(tag);
+        switch (level) {
+            case VERBOSE:
+                Log.v(fullTag, message, throwable);
+                break;
+            case DEBUG:
+                Log.d(fullTag, message, throwable);
+                break;
+            case INFO:
+                Log.i(fullTag, message, throwable);
+                break;
+            case WARN:
+                Log.w(fullTag, message, throwable);
+                break;
+            default:
+                Log.e(fullTag, message, throwable);
+                break;
+        }
+    }
+
+    /**
+     * Replace the first {@code argCount} "{}" placeholders of the template with the arguments;
+     * surplus placeholders are left as they are.
+     */
+    @NonNull
+    static String format(@NonNull String template, int argCount,
+                         @Nullable Object arg1, @Nullable Object arg2, @Nullable Object arg3) {
+        StringBuilder sb = new StringBuilder(template.length() + 32);
+        int from = 0;
+        for (int i = 0; i < argCount; i++) {
+            int at = template.indexOf("{}", from);
+            if (at < 0) {
+                break;
+            }
+            sb.append(template, from, at).append(i == 0 ? arg1 : i == 1 ? arg2 : arg3);
+            from = at + 2;
+        }
+        return sb.append(template, from, template.length()).toString();
+    }
+
     /**
      * Formats the tag with app prefix for easier filtering in logs
      * @param tag The original tag
@@ -160,7 +367,7 @@ public class Logger {
     private static String formatTag(@NonNull String tag) {
         return APP_TAG + "_" + tag;
     }
-    
+
     /**
      * Utility method to get the calling class name automatically
      * Useful when you don't want to specify the tag manually
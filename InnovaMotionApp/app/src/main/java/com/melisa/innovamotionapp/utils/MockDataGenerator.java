@@ -2,12 +2,19 @@ package com.melisa.innovamotionapp.utils;
 
 import android.content.Context;
 
+import com.melisa.innovamotionapp.bluetooth.PacketIngestor;
+import com.melisa.innovamotionapp.bluetooth.ReadingBatchWriter;
 import com.melisa.innovamotionapp.data.database.InnovaDatabase;
 import com.melisa.innovamotionapp.data.database.MonitoredPersonDao;
 import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
 import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.data.maintenance.PurgeRunner;
+import com.melisa.innovamotionapp.data.maintenance.RoomPurgeStores;
+import com.melisa.innovamotionapp.metrics.LatencyTracer;
+import com.melisa.innovamotionapp.metrics.Metrics;
 import com.melisa.innovamotionapp.sync.FirestoreSyncService;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -51,8 +58,12 @@ public class MockDataGenerator {
     private final ReceivedBtDataDao btDataDao;
     private final MonitoredPersonDao personDao;
     private final ExecutorService executor;
+    private final ExecutorService loadExecutor;
     private final Random random;
     
+    // Active streaming load run (null when idle); one per process so a reopened panel can stop it
+    private static volatile StreamingLoadRunner activeLoadRunner;
+    
     // Owner ID for mock data (uses current user or mock owner)
     private String ownerUserId = "mock_aggregator";
     
@@ -79,6 +90,15 @@ public class MockDataGenerator {
         default void onFirestoreSyncError(Exception e) {}
     }
     
+    /**
+     * Callback for streaming load runs. All methods are called on the load thread.
+     */
+    public interface StreamingLoadCallback {
+        void onProgress(long elapsedMs, long durationMs, long readingsSent);
+        void onComplete(StreamingLoadReport report);
+        void onError(Exception e);
+    }
+    
     /**
      * Create a new MockDataGenerator.
      * 
@@ -90,6 +110,7 @@ public class MockDataGenerator {
         this.btDataDao = db.receivedBtDataDao();
         this.personDao = db.monitoredPersonDao();
         this.executor = Executors.newSingleThreadExecutor();
+        this.loadExecutor = Executors.newSingleThreadExecutor();
         this.random = new Random();
         
         // Try to get actual user ID
@@ -187,12 +208,6 @@ public class MockDataGenerator {
                 // Insert all readings into database
                 btDataDao.insertAll(allReadings);
                 
-                // #region agent log
-                // H5: Verify data was inserted into Room
-                int dbCount = btDataDao.dbgCountAll();
-                android.util.Log.w("DBG_H5", "After insertAll: insertedCount=" + allReadings.size() + ", dbCountAfter=" + dbCount + ", ownerUserId=" + ownerUserId + ", sensorIds=" + sensorIds);
-                // #endregion
-                
                 int totalReadings = allReadings.size();
                 Logger.i(TAG, "Scenario complete: " + totalReadings + " readings for " + sensorCount + " sensors");
                 
@@ -214,6 +229,134 @@ public class MockDataGenerator {
         });
     }
     
+    /**
+     * Run a sustained-rate streaming load through the real ingest pipeline.
+     * 
+     * Packets are parsed by PacketParser, ingested by PacketIngestor (sensor registration,
+     * live posture, batching) and written by a ReadingBatchWriter into Room (and Firestore if
+     * enabled in the config), exactly like Bluetooth data. Fall notifications are suppressed.
+     * 
+     * Runs on its own thread so a long run does not block the other scenarios.
+     * 
+     * @param config   Sensor count, rate, duration, falls and dropouts
+     * @param callback Progress and report (called on the load thread)
+     * @return false if a load run is already active
+     */
+    public boolean runStreamingLoad(StreamingLoadConfig config, StreamingLoadCallback callback) {
+        if (activeLoadRunner != null) {
+            Logger.w(TAG, "Streaming load already running");
+            return false;
+        }
+        
+        final String owner = ownerUserId;
+        FirestoreSyncService syncService = config.isSyncToFirestore()
+                ? FirestoreSyncService.getInstance(context) : null;
+        
+        ReadingBatchWriter batchWriter = new ReadingBatchWriter(batch -> {
+            long insertStart = System.nanoTime();
+            btDataDao.insertAll(batch);
+            Metrics.ROOM_INSERT_LATENCY.recordSince(insertStart);
+            LatencyTracer.onRoomCommitted(batch, System.currentTimeMillis());
+            if (syncService != null) {
+                syncService.syncPacketBatch(batch, new FirestoreSyncService.SyncCallback() {
+                    @Override
+                    public void onSuccess(String message) {
+                        Logger.v(TAG, "Load batch synced: " + message);
+                    }
+                    
+                    @Override
+                    public void onError(String error) {
+                        Logger.w(TAG, "Load batch sync error: " + error);
+                    }
+                    
+                    @Override
+                    public void onProgress(int current, int total) {
+                    }
+                });
+            }
+        }, Constants.COUNTDOWN_TIMER_IN_MILLISECONDS_FOR_MESSAGE_SAVE);
+        
+        PacketIngestor ingestor = new PacketIngestor(context, batchWriter);
+        ingestor.setFallNotificationsEnabled(false);
+        ingestor.setFallAlertsEnabled(false);
+        
+        StreamingLoadRunner runner = new StreamingLoadRunner(
+                config,
+                batchWriter,
+                readings -> ingestor.ingest(MOCK_DEVICE_ADDRESS, owner, readings),
+                new StreamingLoadRunner.DatabaseProbe() {
+                    @Override
+                    public long rowCount() {
+                        return btDataDao.dbgCountAll();
+                    }
+                    
+                    @Override
+                    public long sizeBytes() {
+                        return getDatabaseSizeBytes();
+                    }
+                });
+        if (callback != null) {
+            runner.setProgressListener(callback::onProgress);
+        }
+        synchronized (MockDataGenerator.class) {
+            if (activeLoadRunner != null) {
+                Logger.w(TAG, "Streaming load already running");
+                return false;
+            }
+            activeLoadRunner = runner;
+        }
+        
+        loadExecutor.execute(() -> {
+            batchWriter.start();
+            StreamingLoadReport report = null;
+            Exception error = null;
+            try {
+                report = runner.run();
+            } catch (Exception e) {
+                Logger.e(TAG, "Error running streaming load: " + e.getMessage(), e);
+                error = e;
+            } finally {
+                batchWriter.stop();
+                activeLoadRunner = null;
+            }
+            
+            if (callback != null) {
+                if (report != null) {
+                    callback.onComplete(report);
+                } else {
+                    callback.onError(error);
+                }
+            }
+        });
+        return true;
+    }
+    
+    /**
+     * Stop the active streaming load run (its report is still delivered, marked as cancelled).
+     */
+    public void cancelStreamingLoad() {
+        StreamingLoadRunner runner = activeLoadRunner;
+        if (runner != null) {
+            runner.cancel();
+        }
+    }
+    
+    /**
+     * Check if a streaming load run is active.
+     */
+    public boolean isStreamingLoadRunning() {
+        return activeLoadRunner != null;
+    }
+    
+    /**
+     * Size of the Room database on disk, including the WAL file.
+     */
+    private long getDatabaseSizeBytes() {
+        File dbFile = context.getDatabasePath(InnovaDatabase.DATABASE_NAME);
+        File walFile = new File(dbFile.getPath() + "-wal");
+        return dbFile.length() + walFile.length();
+    }
+    
     /**
      * Generate a list of mock sensor IDs.
      */
@@ -280,10 +423,22 @@ public class MockDataGenerator {
      * @param callback Completion callback
      */
     public void clearAllData(Runnable callback) {
+        clearAllData(null, callback);
+    }
+    
+    /**
+     * Clear all data from the database, deleting readings in chunks.
+     * 
+     * @param progress Purge progress, called on the generator thread (nullable)
+     * @param callback Completion callback
+     */
+    public void clearAllData(PurgeRunner.ProgressListener progress, Runnable callback) {
         executor.execute(() -> {
             try {
-                btDataDao.clearAllData();
+                new PurgeRunner(RoomPurgeStores.all(btDataDao)).run(progress);
+                InnovaDatabase.getInstance(context).postureRollupDao().clearAll();
                 personDao.clearAll();
+                SensorRegistry.getInstance().clear();
                 Logger.i(TAG, "All data cleared");
                 if (callback != null) {
                     callback.run();
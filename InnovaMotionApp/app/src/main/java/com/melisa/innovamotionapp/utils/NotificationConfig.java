@@ -21,10 +21,16 @@ public final class NotificationConfig {
     // PendingIntent request codes
     public static final int RC_OPEN_FROM_SERVICE = 2001;
     public static final int RC_OPEN_FROM_FALL    = 1001;
+    public static final int RC_ACK_FALL_BASE     = 3000;  // + notification ID
 
     // Intent actions
     public static final String ACTION_OPEN_FROM_SERVICE = "com.melisa.ACTION_OPEN_FROM_SERVICE";
     public static final String ACTION_VIEW_FALL        = "com.melisa.ACTION_VIEW_FALL";
+    public static final String ACTION_ACK_FALL         = "com.melisa.ACTION_ACK_FALL";
+
+    // Intent extras
+    public static final String EXTRA_ALERT_ID        = "alert_id";
+    public static final String EXTRA_NOTIFICATION_ID = "notification_id";
 
     /** Call once at app startup (e.g., in Application.onCreate). */
     public static void initAllChannels(Context ctx) {
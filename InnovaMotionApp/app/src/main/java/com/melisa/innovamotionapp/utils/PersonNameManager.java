@@ -10,6 +10,7 @@ import androidx.lifecycle.LiveData;
 import com.melisa.innovamotionapp.data.database.InnovaDatabase;
 import com.melisa.innovamotionapp.data.database.MonitoredPerson;
 import com.melisa.innovamotionapp.data.database.MonitoredPersonDao;
+import com.melisa.innovamotionapp.metrics.StartupTracer;
 import com.melisa.innovamotionapp.sync.SensorInventoryService;
 
 import java.util.List;
@@ -23,6 +24,8 @@ import java.util.concurrent.Executors;
  * Provides a simple API for name lookup with fallback to sensorId if no name is set.
  * 
  * Thread-safe singleton - all database operations run on a background executor.
+ * Known sensors and names are mirrored in {@link SensorRegistry}, so per-reading
+ * {@link #ensureSensorExists} calls are a hash lookup for sensors already seen.
  */
 public class PersonNameManager {
     private static final String TAG = "PersonNameManager";
@@ -31,12 +34,26 @@ public class PersonNameManager {
     private final MonitoredPersonDao dao;
     private final ExecutorService executor;
     private final SensorInventoryService sensorInventoryService;
+    private final SensorRegistry registry;
 
     private PersonNameManager(Context context) {
         Context appContext = context.getApplicationContext();
         this.dao = InnovaDatabase.getInstance(appContext).monitoredPersonDao();
         this.executor = Executors.newSingleThreadExecutor();
         this.sensorInventoryService = SensorInventoryService.getInstance(appContext);
+        this.registry = SensorRegistry.getInstance();
+        
+        // Warm the registry first; tasks queued after this see the persisted sensors
+        executor.execute(this::warmUpRegistry);
+    }
+    
+    /**
+     * Load all monitored persons into the in-memory registry.
+     */
+    private void warmUpRegistry() {
+        List<MonitoredPerson> persons = dao.getAllMonitoredPersonsSync();
+        registry.warmUp(persons);
+        Log.d(TAG, "Sensor registry warmed with " + persons.size() + " sensors");
     }
 
     /**
@@ -46,7 +63,9 @@ public class PersonNameManager {
         if (instance == null) {
             synchronized (PersonNameManager.class) {
                 if (instance == null) {
+                    long start = StartupTracer.getInstance().begin();
                     instance = new PersonNameManager(context.getApplicationContext());
+                    StartupTracer.getInstance().endInit("PersonNameManager", start);
                 }
             }
         }
@@ -61,6 +80,10 @@ public class PersonNameManager {
      */
     @NonNull
     public String getDisplayName(@NonNull String sensorId) {
+        String cached = registry.getDisplayName(sensorId);
+        if (cached != null && registry.isWarmedUp()) {
+            return cached;
+        }
         String name = dao.getDisplayNameForSensor(sensorId);
         return (name != null && !name.isEmpty()) ? name : sensorId;
     }
@@ -83,6 +106,7 @@ public class PersonNameManager {
      * Safe to call from any thread.
      */
     public void setDisplayName(@NonNull String sensorId, @NonNull String displayName) {
+        registry.put(sensorId, displayName);
         executor.execute(() -> {
             dao.upsertByName(sensorId, displayName, System.currentTimeMillis());
             Log.d(TAG, "Set display name for " + sensorId + " -> " + displayName);
@@ -117,9 +141,16 @@ public class PersonNameManager {
      * If not, creates an entry with sensorId as the default display name.
      * Also registers new entries to Firestore 'sensors' collection.
      * Call this when a new sensor is first seen.
+     * 
+     * Called for every reading: sensors already in the {@link SensorRegistry} return
+     * immediately without touching the executor or the database.
      * Safe to call from any thread.
      */
     public void ensureSensorExists(@NonNull String sensorId) {
+        if (!registry.registerIfAbsent(sensorId)) {
+            return; // Known sensor - hash lookup only
+        }
+        
         executor.execute(() -> {
             // #region agent log
             try { java.io.FileWriter fw = new java.io.FileWriter("/mnt/d/Proiecte/INNOVA/InnovaMotionApp/.cursor/debug.log", true); fw.write("{\"hypothesisId\":\"H1\",\"location\":\"PersonNameManager.java:ensureSensorExists\",\"message\":\"ensureSensorExists called\",\"data\":{\"sensorId\":\"" + sensorId + "\"},\"timestamp\":" + System.currentTimeMillis() + "}\n"); fw.close(); } catch (Exception e) {}
@@ -152,6 +183,9 @@ public class PersonNameManager {
                     }
                 });
             } else {
+                // Persisted before the registry was warm: pick up its real name
+                registry.put(sensorId, dao.getDisplayNameForSensor(sensorId));
+                
                 // #region agent log
                 try { java.io.FileWriter fw = new java.io.FileWriter("/mnt/d/Proiecte/INNOVA/InnovaMotionApp/.cursor/debug.log", true); fw.write("{\"hypothesisId\":\"H1\",\"location\":\"PersonNameManager.java:ensureSensorExists:EXISTS\",\"message\":\"Sensor already exists locally\",\"data\":{\"sensorId\":\"" + sensorId + "\"},\"timestamp\":" + System.currentTimeMillis() + "}\n"); fw.close(); } catch (Exception e) {}
                 // #endregion
@@ -198,6 +232,7 @@ public class PersonNameManager {
      * Safe to call from any thread.
      */
     public void deleteBySensorId(@NonNull String sensorId) {
+        registry.remove(sensorId);
         executor.execute(() -> {
             dao.deleteBySensorId(sensorId);
             Log.d(TAG, "Deleted sensor: " + sensorId);
@@ -0,0 +1,222 @@
+package com.melisa.innovamotionapp.utils;
+
+import android.content.Context;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Shared cache of decoded posture pictures for TimeLapse, Statistics and PhotoAdapter.
+ *
+ * There are only a handful of posture pictures, but TimeLapse playback shows one per frame and
+ * the Statistics chart rebuilds its icons on every update, each previously decoding the resource
+ * again on the main thread. Bitmaps are keyed by (resource id, target size, mode), decoded with
+ * inSampleSize so a large picture is not fully decoded just to be shown small, and kept in a
+ * {@link SizedLruCache} bounded by {@link Constants#POSTURE_BITMAP_CACHE_MAX_BYTES}.
+ * {@link #prefetchSampled} / {@link #prefetchScaled} decode on a background thread, so a warmed-up
+ * playback only does cache lookups.
+ *
+ * Cached bitmaps are shared: callers must not recycle or modify them.
+ */
+public final class PostureBitmapCache {
+    private static final String TAG = "PostureBitmapCache";
+
+    private static volatile PostureBitmapCache instance;
+
+    private final Resources resources;
+    private final SizedLruCache<Key, Bitmap> cache =
+            new SizedLruCache<>(Constants.POSTURE_BITMAP_CACHE_MAX_BYTES, Bitmap::getAllocationByteCount);
+    private final ExecutorService decoder = Executors.newSingleThreadExecutor();
+
+    private PostureBitmapCache(Context context) {
+        this.resources = context.getApplicationContext().getResources();
+    }
+
+    /**
+     * Get the singleton instance.
+     */
+    public static PostureBitmapCache getInstance(Context context) {
+        if (instance == null) {
+            synchronized (PostureBitmapCache.class) {
+                if (instance == null) {
+                    instance = new PostureBitmapCache(context);
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Picture at least reqWidth x reqHeight, downsampled by a power of two and keeping its aspect
+     * ratio (for views that scale it themselves, e.g. fitCenter). 0 means no limit on that side.
+     * Decodes on the calling thread on a cache miss.
+     *
+     * @return The bitmap, or null if the resource cannot be decoded as a bitmap
+     */
+    @Nullable
+    public Bitmap getSampled(int resId, int reqWidth, int reqHeight) {
+        return get(new Key(resId, Math.max(reqWidth, 0), Math.max(reqHeight, 0), false));
+    }
+
+    /**
+     * Picture scaled to exactly width x height (e.g. chart icons drawn at bitmap size).
+     * Decodes on the calling thread on a cache miss.
+     *
+     * @return The bitmap, or null if the resource cannot be decoded as a bitmap
+     */
+    @Nullable
+    public Bitmap getScaled(int resId, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("width and height must be > 0");
+        }
+        return get(new Key(resId, width, height, true));
+    }
+
+    /**
+     * Decode {@link #getSampled} results in the background.
+     */
+    public void prefetchSampled(@NonNull Collection<Integer> resIds, int reqWidth, int reqHeight) {
+        for (Integer resId : new LinkedHashSet<>(resIds)) {
+            prefetch(new Key(resId, Math.max(reqWidth, 0), Math.max(reqHeight, 0), false));
+        }
+    }
+
+    /**
+     * Decode {@link #getScaled} results in the background.
+     */
+    public void prefetchScaled(@NonNull Collection<Integer> resIds, int width, int height) {
+        if (width <= 0 || height <= 0) {
+            return;
+        }
+        for (Integer resId : new LinkedHashSet<>(resIds)) {
+            prefetch(new Key(resId, width, height, true));
+        }
+    }
+
+    /**
+     * Drop every cached bitmap (memory pressure, sign-out).
+     */
+    public void clear() {
+        cache.evictAll();
+    }
+
+    /**
+     * Size / hit / miss / eviction counters for logs and the developer panel.
+     */
+    @NonNull
+    public String getStatsSummary() {
+        return cache.getStatsSummary();
+    }
+
+    private void prefetch(Key key) {
+        if (cache.contains(key)) {
+            return;
+        }
+        decoder.execute(() -> {
+            if (!cache.contains(key)) {
+                decodeAndCache(key);
+            }
+        });
+    }
+
+    @Nullable
+    private Bitmap get(Key key) {
+        Bitmap bitmap = cache.get(key);
+        return bitmap != null ? bitmap : decodeAndCache(key);
+    }
+
+    @Nullable
+    private Bitmap decodeAndCache(Key key) {
+        long startNanos = System.nanoTime();
+        BitmapFactory.Options bounds = new BitmapFactory.Options();
+        bounds.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(resources, key.resId, bounds);
+
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inSampleSize = calculateInSampleSize(bounds.outWidth, bounds.outHeight, key.width, key.height);
+        Bitmap bitmap = BitmapFactory.decodeResource(resources, key.resId, options);
+        if (bitmap == null) {
+            Log.w(TAG, "Cannot decode resource " + key.resId + " as a bitmap");
+            return null;
+        }
+        if (key.exact && (bitmap.getWidth() != key.width || bitmap.getHeight() != key.height)) {
+            Bitmap scaled = Bitmap.createScaledBitmap(bitmap, key.width, key.height, false);
+            if (scaled != bitmap) {
+                bitmap.recycle();
+            }
+            bitmap = scaled;
+        }
+        cache.put(key, bitmap);
+        Log.d(TAG, "Decoded " + key + " (sample " + options.inSampleSize + ") in "
+                + (System.nanoTime() - startNanos) / 1_000_000 + "ms");
+        return bitmap;
+    }
+
+    /**
+     * Largest power-of-two sample size that keeps the decoded picture at least reqWidth x
+     * reqHeight. A requested side of 0 (or unknown source size) does not limit sampling on that
+     * side; both 0 means no downsampling.
+     */
+    public static int calculateInSampleSize(int srcWidth, int srcHeight, int reqWidth, int reqHeight) {
+        if (srcWidth <= 0 || srcHeight <= 0 || (reqWidth <= 0 && reqHeight <= 0)) {
+            return 1;
+        }
+        int sample = 1;
+        while (fits(srcWidth / (sample * 2), reqWidth) && fits(srcHeight / (sample * 2), reqHeight)) {
+            sample *= 2;
+        }
+        return sample;
+    }
+
+    private static boolean fits(int sampledSide, int requiredSide) {
+        return sampledSide >= Math.max(requiredSide, 1);
+    }
+
+    /**
+     * Cache key: resource, target size and whether the size is exact (scaled) or a minimum (sampled).
+     */
+    private static final class Key {
+        final int resId;
+        final int width;
+        final int height;
+        final boolean exact;
+
+        Key(int resId, int width, int height, boolean exact) {
+            this.resId = resId;
+            this.width = width;
+            this.height = height;
+            this.exact = exact;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key that = (Key) o;
+            return resId == that.resId && width == that.width && height == that.height && exact == that.exact;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = resId;
+            result = 31 * result + width;
+            result = 31 * result + height;
+            return 31 * result + (exact ? 1 : 0);
+        }
+
+        @NonNull
+        @Override
+        public String toString() {
+            return "res=" + resId + " " + width + "x" + height + (exact ? " scaled" : " sampled");
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.melisa.innovamotionapp.utils;
+
+import androidx.annotation.NonNull;
+
+import com.melisa.innovamotionapp.data.posture.Posture;
+import com.melisa.innovamotionapp.data.posture.types.FallingPosture;
+
+/**
+ * Immutable snapshot of one sensor's live state, held by {@link LiveSensorStateStore}.
+ */
+public final class SensorLiveState {
+
+    private final String sensorId;
+    private final Posture posture;
+    private final long timestamp;
+    private final long arrivedAt;
+    private final boolean alert;
+
+    public SensorLiveState(@NonNull String sensorId, @NonNull Posture posture, long timestamp) {
+        this(sensorId, posture, timestamp, 0L);
+    }
+
+    /**
+     * @param arrivedAt When the reading reached this device (epoch ms, 0 if unknown), for latency tracing
+     */
+    public SensorLiveState(@NonNull String sensorId, @NonNull Posture posture, long timestamp, long arrivedAt) {
+        this.sensorId = sensorId;
+        this.posture = posture;
+        this.timestamp = timestamp;
+        this.arrivedAt = arrivedAt;
+        this.alert = posture instanceof FallingPosture;
+    }
+
+    @NonNull
+    public String getSensorId() {
+        return sensorId;
+    }
+
+    @NonNull
+    public Posture getPosture() {
+        return posture;
+    }
+
+    /**
+     * @return Timestamp of the reading this state was built from (epoch ms)
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return When the reading reached this device (epoch ms), 0 if unknown
+     */
+    public long getArrivedAt() {
+        return arrivedAt;
+    }
+
+    /**
+     * @return true if the latest posture is a fall
+     */
+    public boolean isAlert() {
+        return alert;
+    }
+
+    /**
+     * Staleness depends on the clock, so it is evaluated on read rather than stored.
+     *
+     * @return true if no reading arrived within {@link Constants#STALE_DATA_THRESHOLD_MS}
+     */
+    public boolean isStale(long nowMs) {
+        return nowMs - timestamp > Constants.STALE_DATA_THRESHOLD_MS;
+    }
+
+    public boolean isStale() {
+        return isStale(System.currentTimeMillis());
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return "SensorLiveState{" + sensorId + ", " + posture.getClass().getSimpleName()
+                + ", ts=" + timestamp + (alert ? ", ALERT" : "") + "}";
+    }
+}
@@ -0,0 +1,112 @@
+package com.melisa.innovamotionapp.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.melisa.innovamotionapp.data.database.MonitoredPerson;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory registry of known sensor IDs and their display names (mirror of monitored_persons).
+ *
+ * Lets the ingest loop check "have we seen this sensor?" with a hash lookup instead of a
+ * SQLite query per reading. Only genuinely new sensors go to the database and SensorInventoryService.
+ *
+ * Coherence: warmed from monitored_persons by PersonNameManager at startup; every code path that
+ * writes monitored_persons (PersonNameManager, SensorInventoryService, PersonNamesFirestoreSync,
+ * clearLocalData) also updates the registry. Lock-free reads, safe from any thread.
+ */
+public final class SensorRegistry {
+
+    private static final SensorRegistry INSTANCE = new SensorRegistry();
+
+    private final ConcurrentHashMap<String, String> displayNames = new ConcurrentHashMap<>();
+    private volatile boolean warmedUp = false;
+
+    /**
+     * Visible for tests; production code uses {@link #getInstance()}.
+     */
+    SensorRegistry() {
+    }
+
+    @NonNull
+    public static SensorRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Claim a sensor ID the first time it is seen.
+     *
+     * @return true if the sensor was unknown (caller must persist/register it),
+     *         false if it is already known (fast path, no I/O)
+     */
+    public boolean registerIfAbsent(@NonNull String sensorId) {
+        return displayNames.putIfAbsent(sensorId, sensorId) == null;
+    }
+
+    /**
+     * @return true if the sensor is known
+     */
+    public boolean contains(@NonNull String sensorId) {
+        return displayNames.containsKey(sensorId);
+    }
+
+    /**
+     * @return Cached display name, or null if the sensor is unknown
+     */
+    @Nullable
+    public String getDisplayName(@NonNull String sensorId) {
+        return displayNames.get(sensorId);
+    }
+
+    /**
+     * Record a sensor and its display name (after a monitored_persons write).
+     */
+    public void put(@NonNull String sensorId, @Nullable String displayName) {
+        displayNames.put(sensorId, displayName != null && !displayName.isEmpty() ? displayName : sensorId);
+    }
+
+    /**
+     * Forget a sensor (after it was deleted from monitored_persons).
+     */
+    public void remove(@NonNull String sensorId) {
+        displayNames.remove(sensorId);
+    }
+
+    /**
+     * Forget all sensors (after monitored_persons was cleared, e.g. on account switch).
+     */
+    public void clear() {
+        displayNames.clear();
+    }
+
+    /**
+     * Load the persisted sensors.
+     *
+     * Uses putIfAbsent so a write that raced ahead of the warm-up query is not overwritten
+     * by the older snapshot.
+     *
+     * @param persons All rows of monitored_persons
+     */
+    public void warmUp(@NonNull List<MonitoredPerson> persons) {
+        for (MonitoredPerson person : persons) {
+            String sensorId = person.getSensorId();
+            String name = person.getDisplayName();
+            displayNames.putIfAbsent(sensorId, name != null && !name.isEmpty() ? name : sensorId);
+        }
+        warmedUp = true;
+    }
+
+    /**
+     * @return true once {@link #warmUp} has run
+     */
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    public int size() {
+        return displayNames.size();
+    }
+}
@@ -0,0 +1,134 @@
+package com.melisa.innovamotionapp.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Least-recently-used cache bounded by the total size of its values (e.g. bitmap bytes) rather
+ * than by entry count. Thread-safe.
+ *
+ * Plain Java (like {@link BoundedLruMap}, unlike android.util.LruCache) so it can be unit tested
+ * on the JVM.
+ */
+public class SizedLruCache<K, V> {
+
+    /**
+     * Size of one value, in the same unit as the cache's maximum size.
+     */
+    public interface Sizer<V> {
+        long sizeOf(@NonNull V value);
+    }
+
+    private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+    private final Sizer<V> sizer;
+    private final long maxSize;
+    private long size = 0;
+
+    private long hitCount = 0;
+    private long missCount = 0;
+    private long evictionCount = 0;
+
+    public SizedLruCache(long maxSize, @NonNull Sizer<V> sizer) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("maxSize must be >= 1");
+        }
+        this.maxSize = maxSize;
+        this.sizer = sizer;
+    }
+
+    @Nullable
+    public synchronized V get(@NonNull K key) {
+        V value = map.get(key);
+        if (value != null) {
+            hitCount++;
+        } else {
+            missCount++;
+        }
+        return value;
+    }
+
+    /**
+     * @return true if the key is cached (does not count as a hit or change the LRU order)
+     */
+    public synchronized boolean contains(@NonNull K key) {
+        return map.containsKey(key);
+    }
+
+    /**
+     * Add or replace a value, then evict least recently used entries until the cache fits.
+     * A value larger than the whole cache is not kept.
+     */
+    public synchronized void put(@NonNull K key, @NonNull V value) {
+        V previous = map.put(key, value);
+        size += sizer.sizeOf(value);
+        if (previous != null) {
+            size -= sizer.sizeOf(previous);
+        }
+        trimTo(maxSize);
+    }
+
+    @Nullable
+    public synchronized V remove(@NonNull K key) {
+        V previous = map.remove(key);
+        if (previous != null) {
+            size -= sizer.sizeOf(previous);
+        }
+        return previous;
+    }
+
+    public synchronized void evictAll() {
+        map.clear();
+        size = 0;
+    }
+
+    private void trimTo(long limit) {
+        Iterator<Map.Entry<K, V>> it = map.entrySet().iterator();
+        while (size > limit && it.hasNext()) {
+            Map.Entry<K, V> eldest = it.next();
+            size -= sizer.sizeOf(eldest.getValue());
+            it.remove();
+            evictionCount++;
+        }
+    }
+
+    public synchronized int count() {
+        return map.size();
+    }
+
+    /**
+     * @return Total size of the cached values
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    public long maxSize() {
+        return maxSize;
+    }
+
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Size / hit / miss / eviction counters for logs and the developer panel.
+     */
+    @NonNull
+    public synchronized String getStatsSummary() {
+        return String.format(Locale.US, "entries %d, size %d/%d, hits %d, misses %d, evictions %d",
+                map.size(), size, maxSize, hitCount, missCount, evictionCount);
+    }
+}
@@ -0,0 +1,215 @@
+package com.melisa.innovamotionapp.utils;
+
+import androidx.annotation.NonNull;
+
+import java.util.Locale;
+
+/**
+ * Parameters of a sustained-rate streaming load run (see {@link StreamingLoadRunner}).
+ *
+ * Unlike {@link TestScenario}, which inserts a fixed number of readings in one shot, a streaming
+ * run emits one packet per tick (every 1/rate seconds) containing a reading for each active sensor,
+ * for the whole duration, through the same parser / ingest / batch-writer path as Bluetooth data.
+ *
+ * Example: 200 sensors at 2 Hz for 1 hour with occasional falls and dropouts:
+ * <pre>
+ * StreamingLoadConfig config = new StreamingLoadConfig.Builder()
+ *         .sensorCount(200)
+ *         .readingsPerSecond(2)
+ *         .durationMs(60 * 60 * 1000)
+ *         .build();
+ * </pre>
+ */
+public final class StreamingLoadConfig {
+
+    /** Default number of simulated sensors */
+    public static final int DEFAULT_SENSOR_COUNT = 200;
+
+    /** Default per-sensor reading rate (Hz) */
+    public static final double DEFAULT_READINGS_PER_SECOND = 2.0;
+
+    /** Default run duration (1 hour) */
+    public static final long DEFAULT_DURATION_MS = 60 * 60 * 1000;
+
+    /** Default probability that a single reading is a fall */
+    public static final double DEFAULT_FALL_PROBABILITY = 0.0005;
+
+    /** Default probability, per sensor and second, that a sensor drops out */
+    public static final double DEFAULT_DROPOUT_PROBABILITY_PER_SECOND = 0.002;
+
+    /** Default probability, per reading, that a sensor changes posture */
+    public static final double DEFAULT_POSTURE_CHANGE_PROBABILITY = 0.05;
+
+    private final int sensorCount;
+    private final double readingsPerSecond;
+    private final long durationMs;
+    private final double fallProbability;
+    private final double dropoutProbabilityPerSecond;
+    private final long dropoutMinMs;
+    private final long dropoutMaxMs;
+    private final double postureChangeProbability;
+    private final long seed;
+    private final boolean syncToFirestore;
+
+    private StreamingLoadConfig(Builder builder) {
+        this.sensorCount = builder.sensorCount;
+        this.readingsPerSecond = builder.readingsPerSecond;
+        this.durationMs = builder.durationMs;
+        this.fallProbability = builder.fallProbability;
+        this.dropoutProbabilityPerSecond = builder.dropoutProbabilityPerSecond;
+        this.dropoutMinMs = builder.dropoutMinMs;
+        this.dropoutMaxMs = builder.dropoutMaxMs;
+        this.postureChangeProbability = builder.postureChangeProbability;
+        this.seed = builder.seed;
+        this.syncToFirestore = builder.syncToFirestore;
+    }
+
+    public int getSensorCount() {
+        return sensorCount;
+    }
+
+    public double getReadingsPerSecond() {
+        return readingsPerSecond;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public double getFallProbability() {
+        return fallProbability;
+    }
+
+    public double getDropoutProbabilityPerSecond() {
+        return dropoutProbabilityPerSecond;
+    }
+
+    public long getDropoutMinMs() {
+        return dropoutMinMs;
+    }
+
+    public long getDropoutMaxMs() {
+        return dropoutMaxMs;
+    }
+
+    public double getPostureChangeProbability() {
+        return postureChangeProbability;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public boolean isSyncToFirestore() {
+        return syncToFirestore;
+    }
+
+    /**
+     * Interval between packets in nanoseconds.
+     */
+    public long getTickIntervalNanos() {
+        return (long) (1_000_000_000L / readingsPerSecond);
+    }
+
+    /**
+     * Readings per second the run should produce if no sensor drops out.
+     */
+    public double getTargetReadingsPerSecond() {
+        return sensorCount * readingsPerSecond;
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "%d sensors @ %.1f Hz for %ds (falls=%.4f, dropouts=%.4f/s)",
+                sensorCount, readingsPerSecond, durationMs / 1000,
+                fallProbability, dropoutProbabilityPerSecond);
+    }
+
+    /**
+     * Builder with production-like defaults (200 sensors, 2 Hz, 1 hour).
+     */
+    public static final class Builder {
+        private int sensorCount = DEFAULT_SENSOR_COUNT;
+        private double readingsPerSecond = DEFAULT_READINGS_PER_SECOND;
+        private long durationMs = DEFAULT_DURATION_MS;
+        private double fallProbability = DEFAULT_FALL_PROBABILITY;
+        private double dropoutProbabilityPerSecond = DEFAULT_DROPOUT_PROBABILITY_PER_SECOND;
+        private long dropoutMinMs = 5_000;
+        private long dropoutMaxMs = 60_000;
+        private double postureChangeProbability = DEFAULT_POSTURE_CHANGE_PROBABILITY;
+        private long seed = 42L;
+        private boolean syncToFirestore = false;
+
+        public Builder sensorCount(int sensorCount) {
+            this.sensorCount = sensorCount;
+            return this;
+        }
+
+        public Builder readingsPerSecond(double readingsPerSecond) {
+            this.readingsPerSecond = readingsPerSecond;
+            return this;
+        }
+
+        public Builder durationMs(long durationMs) {
+            this.durationMs = durationMs;
+            return this;
+        }
+
+        public Builder fallProbability(double fallProbability) {
+            this.fallProbability = fallProbability;
+            return this;
+        }
+
+        public Builder dropoutProbabilityPerSecond(double dropoutProbabilityPerSecond) {
+            this.dropoutProbabilityPerSecond = dropoutProbabilityPerSecond;
+            return this;
+        }
+
+        /**
+         * How long a dropped-out sensor stays silent (uniformly chosen in [minMs, maxMs]).
+         */
+        public Builder dropoutDurationMs(long minMs, long maxMs) {
+            this.dropoutMinMs = minMs;
+            this.dropoutMaxMs = maxMs;
+            return this;
+        }
+
+        public Builder postureChangeProbability(double postureChangeProbability) {
+            this.postureChangeProbability = postureChangeProbability;
+            return this;
+        }
+
+        /**
+         * Random seed, so two runs with the same config emit the same readings.
+         */
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder syncToFirestore(boolean syncToFirestore) {
+            this.syncToFirestore = syncToFirestore;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException if a parameter is out of range
+         */
+        public StreamingLoadConfig build() {
+            if (sensorCount <= 0) {
+                throw new IllegalArgumentException("sensorCount must be > 0");
+            }
+            if (readingsPerSecond <= 0) {
+                throw new IllegalArgumentException("readingsPerSecond must be > 0");
+            }
+            if (durationMs <= 0) {
+                throw new IllegalArgumentException("durationMs must be > 0");
+            }
+            if (dropoutMinMs < 0 || dropoutMaxMs < dropoutMinMs) {
+                throw new IllegalArgumentException("invalid dropout duration range");
+            }
+            return new StreamingLoadConfig(this);
+        }
+    }
+}
@@ -0,0 +1,221 @@
+package com.melisa.innovamotionapp.utils;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Result of a {@link StreamingLoadRunner} run.
+ *
+ * Throughput, batch insert latency percentiles, commit lag (reading timestamp to Room commit),
+ * database growth and heap usage. {@link #toSummary()} is shown in the developer panel and logged.
+ */
+public final class StreamingLoadReport {
+
+    private final StreamingLoadConfig config;
+    private final boolean cancelled;
+    private final long elapsedMs;
+    private final long packetsSent;
+    private final long readingsSent;
+    private final long readingsCommitted;
+    private final long fallsInjected;
+    private final long dropoutsInjected;
+    private final long lateTicks;
+    private final int maxQueueDepth;
+    private final long[] insertLatencyNanos;
+    private final long[] commitLagMs;
+    private final long dbRowsBefore;
+    private final long dbRowsAfter;
+    private final long dbBytesBefore;
+    private final long dbBytesAfter;
+    private final long heapUsedStart;
+    private final long heapUsedPeak;
+    private final long heapUsedEnd;
+
+    StreamingLoadReport(StreamingLoadConfig config, boolean cancelled, long elapsedMs,
+                        long packetsSent, long readingsSent, long readingsCommitted,
+                        long fallsInjected, long dropoutsInjected, long lateTicks, int maxQueueDepth,
+                        long[] insertLatencyNanos, long[] commitLagMs,
+                        long dbRowsBefore, long dbRowsAfter, long dbBytesBefore, long dbBytesAfter,
+                        long heapUsedStart, long heapUsedPeak, long heapUsedEnd) {
+        this.config = config;
+        this.cancelled = cancelled;
+        this.elapsedMs = elapsedMs;
+        this.packetsSent = packetsSent;
+        this.readingsSent = readingsSent;
+        this.readingsCommitted = readingsCommitted;
+        this.fallsInjected = fallsInjected;
+        this.dropoutsInjected = dropoutsInjected;
+        this.lateTicks = lateTicks;
+        this.maxQueueDepth = maxQueueDepth;
+        this.insertLatencyNanos = insertLatencyNanos;
+        this.commitLagMs = commitLagMs;
+        this.dbRowsBefore = dbRowsBefore;
+        this.dbRowsAfter = dbRowsAfter;
+        this.dbBytesBefore = dbBytesBefore;
+        this.dbBytesAfter = dbBytesAfter;
+        this.heapUsedStart = heapUsedStart;
+        this.heapUsedPeak = heapUsedPeak;
+        this.heapUsedEnd = heapUsedEnd;
+        Arrays.sort(this.insertLatencyNanos);
+        Arrays.sort(this.commitLagMs);
+    }
+
+    @NonNull
+    public StreamingLoadConfig getConfig() {
+        return config;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public long getPacketsSent() {
+        return packetsSent;
+    }
+
+    public long getReadingsSent() {
+        return readingsSent;
+    }
+
+    public long getReadingsCommitted() {
+        return readingsCommitted;
+    }
+
+    public long getFallsInjected() {
+        return fallsInjected;
+    }
+
+    public long getDropoutsInjected() {
+        return dropoutsInjected;
+    }
+
+    /**
+     * Ticks that started after their scheduled time (generator or ingest could not keep up).
+     */
+    public long getLateTicks() {
+        return lateTicks;
+    }
+
+    public int getMaxQueueDepth() {
+        return maxQueueDepth;
+    }
+
+    public int getBatchCount() {
+        return insertLatencyNanos.length;
+    }
+
+    /**
+     * Readings committed per second of wall-clock time.
+     */
+    public double getAchievedReadingsPerSecond() {
+        return elapsedMs > 0 ? readingsCommitted * 1000.0 / elapsedMs : 0;
+    }
+
+    /**
+     * Batch insert latency percentile in milliseconds.
+     *
+     * @param percentile 0-100
+     */
+    public double getInsertLatencyMs(double percentile) {
+        return percentileOf(insertLatencyNanos, percentile) / 1_000_000.0;
+    }
+
+    /**
+     * Commit lag percentile: time from the oldest reading in a batch to its Room commit.
+     *
+     * @param percentile 0-100
+     */
+    public long getCommitLagMs(double percentile) {
+        return percentileOf(commitLagMs, percentile);
+    }
+
+    public long getDbRowsAdded() {
+        return dbRowsAfter - dbRowsBefore;
+    }
+
+    public long getDbBytesBefore() {
+        return dbBytesBefore;
+    }
+
+    public long getDbBytesAfter() {
+        return dbBytesAfter;
+    }
+
+    /**
+     * Bytes of database file growth per committed reading (0 if unknown).
+     */
+    public double getDbBytesPerReading() {
+        long added = getDbRowsAdded();
+        return added > 0 ? (dbBytesAfter - dbBytesBefore) / (double) added : 0;
+    }
+
+    public long getHeapUsedStart() {
+        return heapUsedStart;
+    }
+
+    public long getHeapUsedPeak() {
+        return heapUsedPeak;
+    }
+
+    public long getHeapUsedEnd() {
+        return heapUsedEnd;
+    }
+
+    /**
+     * Nearest-rank percentile over a sorted array.
+     */
+    static long percentileOf(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    /**
+     * Human readable multi-line summary.
+     */
+    @NonNull
+    public String toSummary() {
+        return String.format(Locale.US,
+                "%s%s\n"
+                        + "Elapsed: %.1fs, packets: %d, late ticks: %d\n"
+                        + "Readings: sent %d, committed %d, falls %d, dropouts %d\n"
+                        + "Throughput: %.1f/s (target %.1f/s)\n"
+                        + "Insert (%d batches): p50 %.1fms, p90 %.1fms, p99 %.1fms, max %.1fms\n"
+                        + "Commit lag: p50 %dms, p99 %dms, max %dms, max queue %d\n"
+                        + "DB: +%d rows, %s -> %s (%.0f B/reading)\n"
+                        + "Heap: start %s, peak %s, end %s",
+                cancelled ? "[CANCELLED] " : "", config,
+                elapsedMs / 1000.0, packetsSent, lateTicks,
+                readingsSent, readingsCommitted, fallsInjected, dropoutsInjected,
+                getAchievedReadingsPerSecond(), config.getTargetReadingsPerSecond(),
+                getBatchCount(), getInsertLatencyMs(50), getInsertLatencyMs(90),
+                getInsertLatencyMs(99), getInsertLatencyMs(100),
+                getCommitLagMs(50), getCommitLagMs(99), getCommitLagMs(100), maxQueueDepth,
+                getDbRowsAdded(), formatBytes(dbBytesBefore), formatBytes(dbBytesAfter), getDbBytesPerReading(),
+                formatBytes(heapUsedStart), formatBytes(heapUsedPeak), formatBytes(heapUsedEnd));
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.US, "%.1f KB", bytes / 1024.0);
+        }
+        return String.format(Locale.US, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    @NonNull
+    @Override
+    public String toString() {
+        return toSummary();
+    }
+}
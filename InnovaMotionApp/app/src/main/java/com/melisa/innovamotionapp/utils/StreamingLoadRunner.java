@@ -0,0 +1,269 @@
+package com.melisa.innovamotionapp.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import com.melisa.innovamotionapp.bluetooth.PacketParser;
+import com.melisa.innovamotionapp.bluetooth.ParsedReading;
+import com.melisa.innovamotionapp.bluetooth.ReadingBatchWriter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Sustained-rate streaming load engine.
+ *
+ * Emits the Bluetooth wire format ("sensorId;hexCode" lines + END_PACKET) at the configured rate,
+ * feeds it through a real {@link PacketParser}, hands completed packets to a {@link PacketTarget}
+ * (PacketIngestor on device) and measures the {@link ReadingBatchWriter} flushes.
+ *
+ * The target and the writer's sink are passed in, so MockDataGenerator (developer panel) drives
+ * the real pipeline and headless tests an in-memory one.
+ */
+public class StreamingLoadRunner {
+
+    private static final String TAG = "StreamingLoadRunner";
+
+    /** Sensor IDs share the mock prefix so MockDataGenerator.clearAllData() cleans them up too */
+    public static final String SENSOR_ID_PREFIX = "mock_sensor_";
+
+    private static final String[] NORMAL_POSTURES = {
+            MockDataGenerator.HEX_STANDING, MockDataGenerator.HEX_SITTING, MockDataGenerator.HEX_WALKING
+    };
+
+    private static final long STATS_INTERVAL_NANOS = 1_000_000_000L;
+
+    /**
+     * Receives every completed packet (the ingest step).
+     */
+    public interface PacketTarget {
+        void onPacket(@NonNull List<ParsedReading> readings);
+    }
+
+    /**
+     * Reports database size before and after the run. Optional.
+     */
+    public interface DatabaseProbe {
+        long rowCount();
+        long sizeBytes();
+    }
+
+    /**
+     * Progress updates, about once per second. Called on the runner thread.
+     */
+    public interface ProgressListener {
+        void onProgress(long elapsedMs, long durationMs, long readingsSent);
+    }
+
+    private final StreamingLoadConfig config;
+    private final ReadingBatchWriter batchWriter;
+    private final PacketTarget target;
+    @Nullable
+    private final DatabaseProbe databaseProbe;
+    private final PacketParser parser = new PacketParser();
+    private final Random random;
+
+    @Nullable
+    private volatile ProgressListener progressListener;
+    private volatile boolean cancelled = false;
+
+    // Flush statistics (written by the batch writer thread)
+    private final Object statsLock = new Object();
+    private final LongSamples insertLatencyNanos = new LongSamples();
+    private final LongSamples commitLagMs = new LongSamples();
+    private long readingsCommitted = 0;
+
+    public StreamingLoadRunner(@NonNull StreamingLoadConfig config,
+                               @NonNull ReadingBatchWriter batchWriter,
+                               @NonNull PacketTarget target,
+                               @Nullable DatabaseProbe databaseProbe) {
+        this.config = config;
+        this.batchWriter = batchWriter;
+        this.target = target;
+        this.databaseProbe = databaseProbe;
+        this.random = new Random(config.getSeed());
+    }
+
+    public void setProgressListener(@Nullable ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    /**
+     * Stop the run early; {@link #run()} returns a report marked as cancelled.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Sensor ID for index i (0-based), e.g. "mock_sensor_001".
+     */
+    @NonNull
+    public static String sensorId(int index) {
+        return SENSOR_ID_PREFIX + String.format(Locale.US, "%03d", index + 1);
+    }
+
+    /**
+     * Run the load for the configured duration, blocking the calling thread.
+     * The batch writer is flushed before the report is built so every sent reading is accounted for.
+     */
+    @WorkerThread
+    @NonNull
+    public StreamingLoadReport run() {
+        Logger.i(TAG, "Starting streaming load: " + config);
+
+        batchWriter.setFlushListener((batchSize, writeDurationNanos, oldestReadingTimestamp, committedAt) -> {
+            synchronized (statsLock) {
+                insertLatencyNanos.add(writeDurationNanos);
+                commitLagMs.add(Math.max(0, committedAt - oldestReadingTimestamp));
+                readingsCommitted += batchSize;
+            }
+        });
+
+        long dbRowsBefore = databaseProbe != null ? databaseProbe.rowCount() : 0;
+        long dbBytesBefore = databaseProbe != null ? databaseProbe.sizeBytes() : 0;
+        long heapUsedStart = usedHeap();
+        long heapUsedPeak = heapUsedStart;
+
+        int sensorCount = config.getSensorCount();
+        String[] sensorIds = new String[sensorCount];
+        String[] currentPosture = new String[sensorCount];
+        long[] silentUntilMs = new long[sensorCount];
+        for (int i = 0; i < sensorCount; i++) {
+            sensorIds[i] = sensorId(i);
+            currentPosture[i] = NORMAL_POSTURES[random.nextInt(NORMAL_POSTURES.length)];
+        }
+
+        long tickNanos = config.getTickIntervalNanos();
+        double dropoutPerTick = config.getDropoutProbabilityPerSecond() / config.getReadingsPerSecond();
+        long durationNanos = config.getDurationMs() * 1_000_000L;
+
+        long packetsSent = 0;
+        long readingsSent = 0;
+        long fallsInjected = 0;
+        long dropoutsInjected = 0;
+        long lateTicks = 0;
+        int maxQueueDepth = 0;
+
+        long startNanos = System.nanoTime();
+        long nextStatsNanos = startNanos + STATS_INTERVAL_NANOS;
+
+        for (long tick = 0; !cancelled; tick++) {
+            long scheduledNanos = startNanos + tick * tickNanos;
+            if (scheduledNanos - startNanos >= durationNanos) {
+                break;
+            }
+
+            long waitNanos = scheduledNanos - System.nanoTime();
+            if (waitNanos > 0) {
+                try {
+                    Thread.sleep(waitNanos / 1_000_000L, (int) (waitNanos % 1_000_000L));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    cancelled = true;
+                    break;
+                }
+            } else if (tick > 0) {
+                lateTicks++;
+            }
+
+            // Build and feed one packet with every active sensor
+            long nowMs = System.currentTimeMillis();
+            for (int i = 0; i < sensorCount; i++) {
+                if (silentUntilMs[i] > nowMs) {
+                    continue;
+                }
+                if (random.nextDouble() < dropoutPerTick) {
+                    silentUntilMs[i] = nowMs + config.getDropoutMinMs()
+                            + (long) (random.nextDouble() * (config.getDropoutMaxMs() - config.getDropoutMinMs()));
+                    dropoutsInjected++;
+                    continue;
+                }
+
+                String hexCode;
+                if (random.nextDouble() < config.getFallProbability()) {
+                    hexCode = MockDataGenerator.HEX_FALLING;
+                    fallsInjected++;
+                } else {
+                    if (random.nextDouble() < config.getPostureChangeProbability()) {
+                        currentPosture[i] = NORMAL_POSTURES[random.nextInt(NORMAL_POSTURES.length)];
+                    }
+                    hexCode = currentPosture[i];
+                }
+                parser.feedLine(sensorIds[i] + Constants.SENSOR_ID_DELIMITER + hexCode);
+            }
+            List<ParsedReading> readings = parser.feedLine(Constants.PACKET_TERMINATOR);
+
+            if (readings != null && !readings.isEmpty()) {
+                target.onPacket(readings);
+                readingsSent += readings.size();
+            }
+            packetsSent++;
+            maxQueueDepth = Math.max(maxQueueDepth, batchWriter.getQueueDepth());
+
+            long now = System.nanoTime();
+            if (now >= nextStatsNanos) {
+                nextStatsNanos = now + STATS_INTERVAL_NANOS;
+                heapUsedPeak = Math.max(heapUsedPeak, usedHeap());
+                ProgressListener listener = progressListener;
+                if (listener != null) {
+                    listener.onProgress((now - startNanos) / 1_000_000L, config.getDurationMs(), readingsSent);
+                }
+            }
+        }
+
+        // Drain what is still queued so committed == sent (modulo IGNORE'd duplicates)
+        batchWriter.flush();
+        long elapsedMs = (System.nanoTime() - startNanos) / 1_000_000L;
+        batchWriter.setFlushListener(null);
+
+        long heapUsedEnd = usedHeap();
+        heapUsedPeak = Math.max(heapUsedPeak, heapUsedEnd);
+        long dbRowsAfter = databaseProbe != null ? databaseProbe.rowCount() : 0;
+        long dbBytesAfter = databaseProbe != null ? databaseProbe.sizeBytes() : 0;
+
+        StreamingLoadReport report;
+        synchronized (statsLock) {
+            report = new StreamingLoadReport(config, cancelled, elapsedMs,
+                    packetsSent, readingsSent, readingsCommitted,
+                    fallsInjected, dropoutsInjected, lateTicks, maxQueueDepth,
+                    insertLatencyNanos.toArray(), commitLagMs.toArray(),
+                    dbRowsBefore, dbRowsAfter, dbBytesBefore, dbBytesAfter,
+                    heapUsedStart, heapUsedPeak, heapUsedEnd);
+        }
+
+        Logger.i(TAG, "Streaming load finished:\n" + report.toSummary());
+        return report;
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    /**
+     * Growable primitive array; one sample per batch flush (7200 for 1 hour at 500ms).
+     */
+    private static final class LongSamples {
+        private long[] values = new long[256];
+        private int size = 0;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
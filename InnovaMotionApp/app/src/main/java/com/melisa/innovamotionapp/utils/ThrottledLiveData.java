@@ -0,0 +1,44 @@
+package com.melisa.innovamotionapp.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+/**
+ * LiveData that re-emits a source at most {@code maxFps} times per second (latest value wins).
+ *
+ * Used for Room queries that are invalidated on every batch flush but only drive a display,
+ * e.g. the latest supervised reading in SupervisorFeedViewModel. Values matching the urgent
+ * predicate (falls) are emitted immediately.
+ */
+public class ThrottledLiveData<T> extends MediatorLiveData<T> {
+
+    private static final String KEY = "value";
+
+    /**
+     * Decides which values skip the throttle.
+     */
+    public interface UrgentPredicate<T> {
+        boolean isUrgent(T value);
+    }
+
+    private final UpdateCoalescer<String, T> coalescer;
+
+    public ThrottledLiveData(@NonNull LiveData<T> source, int maxFps, @Nullable UrgentPredicate<T> urgent) {
+        coalescer = new UpdateCoalescer<>(
+                UpdateCoalescer.intervalForFps(maxFps),
+                UpdateSchedulers.mainThread(),
+                UpdateSchedulers.UPTIME_CLOCK,
+                latest -> setValue(latest.get(KEY)));
+        addSource(source, value -> coalescer.offer(KEY, value, urgent != null && urgent.isUrgent(value)));
+    }
+
+    /**
+     * Offered / delivered / coalesced counters.
+     */
+    @NonNull
+    public String getStatsSummary() {
+        return coalescer.getStatsSummary();
+    }
+}
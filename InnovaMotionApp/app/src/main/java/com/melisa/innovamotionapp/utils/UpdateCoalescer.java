@@ -0,0 +1,185 @@
+package com.melisa.innovamotionapp.utils;
+
+import androidx.annotation.NonNull;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Coalesces a high-rate stream of keyed updates into at most one delivery per interval.
+ *
+ * Producers {@link #offer} values from any thread (e.g. one per reading in the packet loop);
+ * only the latest value per key is kept, and the {@link Sink} receives a latest-per-key snapshot
+ * no more often than {@code minIntervalMs} (250 ms = 4 fps). Urgent values (falls) flush
+ * immediately instead of waiting for the next slot.
+ *
+ * Counters report how much work the UI was spared: values offered, delivered, coalesced
+ * (overwritten before delivery) and urgent flushes.
+ */
+public final class UpdateCoalescer<K, V> {
+
+    /**
+     * Receives a latest-per-key snapshot. Called on the {@link Scheduler}'s thread.
+     */
+    public interface Sink<K, V> {
+        void onUpdates(@NonNull Map<K, V> latest);
+    }
+
+    /**
+     * Runs the flush task after a delay (main-thread Handler or background executor, see
+     * {@link UpdateSchedulers}).
+     */
+    public interface Scheduler {
+        void schedule(@NonNull Runnable task, long delayMs);
+
+        void cancel(@NonNull Runnable task);
+    }
+
+    /**
+     * Time source in milliseconds (SystemClock.uptimeMillis on device).
+     */
+    public interface Clock {
+        long nowMs();
+    }
+
+    private final long minIntervalMs;
+    private final Scheduler scheduler;
+    private final Clock clock;
+    private final Sink<K, V> sink;
+    private final Runnable flushTask = this::flush;
+
+    private final Object lock = new Object();
+    private Map<K, V> pending = new LinkedHashMap<>();
+    private boolean flushScheduled = false;
+    private boolean urgentScheduled = false;
+    private long lastFlushMs = Long.MIN_VALUE / 2;
+
+    private long offeredCount = 0;
+    private long deliveredCount = 0;
+    private long coalescedCount = 0;
+    private long urgentCount = 0;
+    private long flushCount = 0;
+
+    /**
+     * @param minIntervalMs Minimum time between deliveries (1000 / fps)
+     */
+    public UpdateCoalescer(long minIntervalMs, @NonNull Scheduler scheduler, @NonNull Clock clock,
+                           @NonNull Sink<K, V> sink) {
+        this.minIntervalMs = minIntervalMs;
+        this.scheduler = scheduler;
+        this.clock = clock;
+        this.sink = sink;
+    }
+
+    /**
+     * Interval for a maximum delivery rate.
+     */
+    public static long intervalForFps(int fps) {
+        return fps > 0 ? 1000L / fps : 0;
+    }
+
+    /**
+     * Queue the latest value for a key.
+     *
+     * @param urgent true to deliver without waiting for the next slot (e.g. a fall)
+     */
+    public void offer(@NonNull K key, V value, boolean urgent) {
+        synchronized (lock) {
+            offeredCount++;
+            if (pending.put(key, value) != null) {
+                coalescedCount++;
+            }
+
+            if (urgent) {
+                urgentCount++;
+                if (!urgentScheduled) {
+                    urgentScheduled = true;
+                    flushScheduled = true;
+                    scheduler.cancel(flushTask);
+                    scheduler.schedule(flushTask, 0);
+                }
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                long delay = Math.max(0, lastFlushMs + minIntervalMs - clock.nowMs());
+                scheduler.schedule(flushTask, delay);
+            }
+        }
+    }
+
+    /**
+     * Deliver whatever is pending now (normally run by the scheduler).
+     */
+    public void flush() {
+        Map<K, V> snapshot;
+        synchronized (lock) {
+            flushScheduled = false;
+            urgentScheduled = false;
+            if (pending.isEmpty()) {
+                return;
+            }
+            snapshot = pending;
+            pending = new LinkedHashMap<>();
+            lastFlushMs = clock.nowMs();
+            deliveredCount += snapshot.size();
+            flushCount++;
+        }
+        sink.onUpdates(snapshot);
+    }
+
+    /**
+     * Drop pending values without delivering them (e.g. on logout).
+     */
+    public void clear() {
+        synchronized (lock) {
+            scheduler.cancel(flushTask);
+            pending = new LinkedHashMap<>();
+            flushScheduled = false;
+            urgentScheduled = false;
+        }
+    }
+
+    public long getOfferedCount() {
+        synchronized (lock) {
+            return offeredCount;
+        }
+    }
+
+    public long getDeliveredCount() {
+        synchronized (lock) {
+            return deliveredCount;
+        }
+    }
+
+    /**
+     * Values overwritten by a newer value for the same key before they were delivered.
+     */
+    public long getCoalescedCount() {
+        synchronized (lock) {
+            return coalescedCount;
+        }
+    }
+
+    public long getUrgentCount() {
+        synchronized (lock) {
+            return urgentCount;
+        }
+    }
+
+    public long getFlushCount() {
+        synchronized (lock) {
+            return flushCount;
+        }
+    }
+
+    /**
+     * One-line counter summary for logs and the developer panel.
+     */
+    @NonNull
+    public String getStatsSummary() {
+        synchronized (lock) {
+            return String.format(Locale.US, "offered %d, delivered %d, coalesced %d, urgent %d, flushes %d",
+                    offeredCount, deliveredCount, coalescedCount, urgentCount, flushCount);
+        }
+    }
+}
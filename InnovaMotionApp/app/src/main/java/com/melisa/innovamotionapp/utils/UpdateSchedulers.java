@@ -0,0 +1,68 @@
+package com.melisa.innovamotionapp.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Android {@link UpdateCoalescer.Scheduler} / {@link UpdateCoalescer.Clock} implementations.
+ */
+public final class UpdateSchedulers {
+
+    /** Uptime clock (does not jump with wall-clock changes) */
+    public static final UpdateCoalescer.Clock UPTIME_CLOCK = SystemClock::uptimeMillis;
+
+    private UpdateSchedulers() {
+        throw new UnsupportedOperationException("UpdateSchedulers cannot be instantiated");
+    }
+
+    /**
+     * Flushes on the main thread, so the sink can call LiveData.setValue() directly.
+     */
+    @NonNull
+    public static UpdateCoalescer.Scheduler mainThread() {
+        Handler handler = new Handler(Looper.getMainLooper());
+        return new UpdateCoalescer.Scheduler() {
+            @Override
+            public void schedule(@NonNull Runnable task, long delayMs) {
+                handler.postDelayed(task, delayMs);
+            }
+
+            @Override
+            public void cancel(@NonNull Runnable task) {
+                handler.removeCallbacks(task);
+            }
+        };
+    }
+
+    /**
+     * Flushes on a background executor (one flush task per coalescer).
+     */
+    @NonNull
+    public static UpdateCoalescer.Scheduler onExecutor(@NonNull ScheduledExecutorService executor) {
+        return new UpdateCoalescer.Scheduler() {
+            private ScheduledFuture<?> future;
+
+            @Override
+            public synchronized void schedule(@NonNull Runnable task, long delayMs) {
+                if (!executor.isShutdown()) {
+                    future = executor.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            @Override
+            public synchronized void cancel(@NonNull Runnable task) {
+                if (future != null) {
+                    future.cancel(false);
+                    future = null;
+                }
+            }
+        };
+    }
+}
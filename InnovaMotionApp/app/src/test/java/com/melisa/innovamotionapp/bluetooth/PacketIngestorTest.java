@@ -0,0 +1,157 @@
+package com.melisa.innovamotionapp.bluetooth;
+
+import static org.junit.Assert.*;
+
+import androidx.annotation.NonNull;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.data.posture.Posture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for PacketIngestor with an injected ReadingBatchWriter and recording effects.
+ *
+ * Tests cover:
+ * - Entities built from a parsed packet reach the batch sink
+ * - Side effects per reading (sensor registration, live posture, alerts, notifications)
+ * - Alert and notification switches
+ * - Readings of a failed write are committed by the next flush
+ */
+public class PacketIngestorTest {
+
+    private static final String DEVICE = "AA:BB:CC:DD:EE:FF";
+    private static final String OWNER = "owner1";
+    private static final String HEX_STANDING = "0xAB3311";
+    private static final String HEX_FALLING = "0xEF0112";
+
+    /**
+     * Records every side effect call.
+     */
+    private static final class RecordingEffects implements PacketIngestor.ReadingEffects {
+        final List<String> sensorsSeen = new ArrayList<>();
+        final List<String> postures = new ArrayList<>();
+        final List<Boolean> alertOffers = new ArrayList<>();
+        final List<String> fallNotifications = new ArrayList<>();
+
+        @Override
+        public void ensureSensorExists(@NonNull String sensorId) {
+            sensorsSeen.add(sensorId);
+        }
+
+        @Override
+        public void publishPosture(@NonNull String sensorId, @NonNull Posture posture, long timestamp, long packetAt) {
+            postures.add(sensorId);
+        }
+
+        @Override
+        public void offerAlert(@NonNull String sensorId, @NonNull String deviceAddress, @NonNull String ownerUid,
+                               @NonNull String hexCode, long timestamp, boolean fall) {
+            alertOffers.add(fall);
+        }
+
+        @Override
+        public void notifyFall(@NonNull String sensorId) {
+            fallNotifications.add(sensorId);
+        }
+    }
+
+    private List<ReceivedBtDataEntity> written;
+    private ReadingBatchWriter writer;
+    private RecordingEffects effects;
+    private PacketIngestor ingestor;
+
+    @Before
+    public void setUp() {
+        written = new ArrayList<>();
+        writer = new ReadingBatchWriter(written::addAll, 1000);
+        effects = new RecordingEffects();
+        ingestor = new PacketIngestor(writer, effects);
+    }
+
+    private static List<ParsedReading> packet(String... lines) {
+        PacketParser parser = new PacketParser();
+        for (String line : lines) {
+            parser.feedLine(line);
+        }
+        return parser.feedLine("END_PACKET");
+    }
+
+    // ========== Persistence Tests ==========
+
+    @Test
+    public void ingest_enqueuesOneEntityPerReading() {
+        ingestor.ingest(DEVICE, OWNER, packet("s1;" + HEX_STANDING, "s2;" + HEX_STANDING));
+
+        assertEquals(2, writer.getQueueDepth());
+        assertEquals(2, writer.flush());
+
+        ReceivedBtDataEntity first = written.get(0);
+        assertEquals("s1", first.getSensorId());
+        assertEquals(DEVICE, first.getDeviceAddress());
+        assertEquals(OWNER, first.getOwnerUserId());
+        assertEquals(HEX_STANDING, first.getReceivedMsg());
+        assertNotNull(first.getTrace());
+    }
+
+    @Test
+    public void ingest_failedWrite_readingsCommittedByNextFlush() {
+        boolean[] failing = {true};
+        List<ReceivedBtDataEntity> committed = new ArrayList<>();
+        ReadingBatchWriter flakyWriter = new ReadingBatchWriter(batch -> {
+            if (failing[0]) {
+                throw new IllegalStateException("database locked");
+            }
+            committed.addAll(batch);
+        }, 1000);
+        PacketIngestor flakyIngestor = new PacketIngestor(flakyWriter, effects);
+
+        flakyIngestor.ingest(DEVICE, OWNER, packet("s1;" + HEX_STANDING, "s2;" + HEX_FALLING));
+        assertEquals(0, flakyWriter.flush());
+
+        flakyIngestor.ingest(DEVICE, OWNER, packet("s3;" + HEX_STANDING));
+        failing[0] = false;
+
+        assertEquals(3, flakyWriter.flush());
+        assertEquals("s1", committed.get(0).getSensorId());
+        assertEquals("s3", committed.get(2).getSensorId());
+    }
+
+    // ========== Effects Tests ==========
+
+    @Test
+    public void ingest_registersAndPublishesEverySensor() {
+        ingestor.ingest(DEVICE, OWNER, packet("s1;" + HEX_STANDING, "s2;" + HEX_STANDING));
+
+        assertEquals(2, effects.sensorsSeen.size());
+        assertEquals(effects.sensorsSeen, effects.postures);
+        assertTrue(effects.fallNotifications.isEmpty());
+    }
+
+    @Test
+    public void ingest_fallReading_offersAlertAndNotifies() {
+        ingestor.ingest(DEVICE, OWNER, packet("s1;" + HEX_STANDING, "s2;" + HEX_FALLING));
+
+        assertEquals(2, effects.alertOffers.size());
+        assertFalse(effects.alertOffers.get(0));
+        assertTrue(effects.alertOffers.get(1));
+        assertEquals(1, effects.fallNotifications.size());
+        assertEquals("s2", effects.fallNotifications.get(0));
+    }
+
+    @Test
+    public void ingest_alertsAndNotificationsDisabled_skipsThem() {
+        ingestor.setFallAlertsEnabled(false);
+        ingestor.setFallNotificationsEnabled(false);
+
+        ingestor.ingest(DEVICE, OWNER, packet("s1;" + HEX_FALLING));
+
+        assertTrue(effects.alertOffers.isEmpty());
+        assertTrue(effects.fallNotifications.isEmpty());
+        assertEquals(1, writer.getQueueDepth());
+    }
+}
@@ -0,0 +1,147 @@
+package com.melisa.innovamotionapp.bluetooth;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for ReadingBatchWriter.
+ *
+ * Tests cover:
+ * - Manual flush writes and clears pending readings
+ * - Flush listener statistics
+ * - Stop performs a final flush
+ * - Sink failures re-queue the batch, capped at maxPendingReadings
+ */
+public class ReadingBatchWriterTest {
+
+    private static ReceivedBtDataEntity entity(String sensorId, long ts) {
+        return new ReceivedBtDataEntity("AA:BB:CC:DD:EE:FF", ts, "0xAB3311", "owner1", sensorId);
+    }
+
+    // ========== Flush Tests ==========
+
+    @Test
+    public void flush_writesPendingAndClearsQueue() {
+        List<List<ReceivedBtDataEntity>> batches = new ArrayList<>();
+        ReadingBatchWriter writer = new ReadingBatchWriter(batches::add, 1000);
+
+        writer.enqueue(entity("s1", 1000L));
+        writer.enqueue(entity("s2", 1001L));
+        assertEquals(2, writer.getQueueDepth());
+
+        assertEquals(2, writer.flush());
+        assertEquals(0, writer.getQueueDepth());
+        assertEquals(1, batches.size());
+        assertEquals(2, batches.get(0).size());
+    }
+
+    @Test
+    public void flush_emptyQueue_doesNotCallSink() {
+        AtomicInteger writes = new AtomicInteger();
+        ReadingBatchWriter writer = new ReadingBatchWriter(batch -> writes.incrementAndGet(), 1000);
+
+        assertEquals(0, writer.flush());
+        assertEquals(0, writes.get());
+    }
+
+    @Test
+    public void flush_reportsOldestTimestampToListener() {
+        ReadingBatchWriter writer = new ReadingBatchWriter(batch -> { }, 1000);
+        long[] observed = new long[2];
+        writer.setFlushListener((size, nanos, oldest, committedAt) -> {
+            observed[0] = size;
+            observed[1] = oldest;
+        });
+
+        writer.enqueue(entity("s1", 5000L));
+        writer.enqueue(entity("s2", 3000L));
+        writer.flush();
+
+        assertEquals(2, observed[0]);
+        assertEquals(3000L, observed[1]);
+    }
+
+    // ========== Failure Tests ==========
+
+    @Test
+    public void flush_sinkThrows_requeuesBatchAheadOfNewReadings() {
+        boolean[] failing = {true};
+        List<ReceivedBtDataEntity> written = new ArrayList<>();
+        ReadingBatchWriter writer = new ReadingBatchWriter(batch -> {
+            if (failing[0]) {
+                throw new IllegalStateException("disk full");
+            }
+            written.addAll(batch);
+        }, 1000);
+
+        writer.enqueue(entity("s1", 1000L));
+        assertEquals(0, writer.flush());
+        assertEquals(1, writer.getQueueDepth());
+
+        writer.enqueue(entity("s2", 1001L));
+        failing[0] = false;
+
+        assertEquals(2, writer.flush());
+        assertEquals(0, writer.getQueueDepth());
+        assertEquals("s1", written.get(0).getSensorId());
+        assertEquals("s2", written.get(1).getSensorId());
+    }
+
+    @Test
+    public void flush_sinkKeepsFailing_dropsOldestBeyondLimit() {
+        boolean[] failing = {true};
+        List<ReceivedBtDataEntity> written = new ArrayList<>();
+        ReadingBatchWriter writer = new ReadingBatchWriter(batch -> {
+            if (failing[0]) {
+                throw new IllegalStateException("disk full");
+            }
+            written.addAll(batch);
+        }, 1000, 3);
+
+        writer.enqueue(entity("s1", 1000L));
+        writer.enqueue(entity("s2", 1001L));
+        writer.flush();
+        writer.enqueue(entity("s3", 1002L));
+        writer.enqueue(entity("s4", 1003L));
+        writer.flush();
+
+        assertEquals(3, writer.getQueueDepth());
+
+        failing[0] = false;
+        assertEquals(3, writer.flush());
+        assertEquals("s2", written.get(0).getSensorId());
+        assertEquals("s4", written.get(2).getSensorId());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_nonPositiveLimit_throws() {
+        new ReadingBatchWriter(batch -> { }, 1000, 0);
+    }
+
+    // ========== Lifecycle Tests ==========
+
+    @Test
+    public void stop_performsFinalFlush() throws InterruptedException {
+        List<ReceivedBtDataEntity> written = new ArrayList<>();
+        ReadingBatchWriter writer = new ReadingBatchWriter(batch -> {
+            synchronized (written) {
+                written.addAll(batch);
+            }
+        }, 60_000);
+
+        writer.start();
+        writer.enqueue(entity("s1", 1000L));
+        writer.stopAndAwait(5000);
+
+        synchronized (written) {
+            assertEquals(1, written.size());
+        }
+    }
+}
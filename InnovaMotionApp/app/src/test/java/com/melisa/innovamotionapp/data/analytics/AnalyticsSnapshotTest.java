@@ -0,0 +1,84 @@
+package com.melisa.innovamotionapp.data.analytics;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.data.posture.types.FallingPosture;
+import com.melisa.innovamotionapp.data.posture.types.SittingPosture;
+import com.melisa.innovamotionapp.data.posture.types.StandingPosture;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for AnalyticsQuery cache keys and AnalyticsSnapshot decoding.
+ */
+public class AnalyticsSnapshotTest {
+
+    private static final String DEVICE = "AA:BB:CC:DD:EE:FF";
+    private static final String OWNER = "owner1";
+
+    // ========== Query Key Tests ==========
+
+    @Test
+    public void query_sameSensorAndRange_areEqual() {
+        assertEquals(AnalyticsQuery.forSensor("s1", 100L, 200L), AnalyticsQuery.forSensor("s1", 100L, 200L));
+        assertEquals(AnalyticsQuery.forSensor("s1", 100L, 200L).hashCode(),
+                AnalyticsQuery.forSensor("s1", 100L, 200L).hashCode());
+    }
+
+    @Test
+    public void query_differentRange_notEqual() {
+        assertNotEquals(AnalyticsQuery.forSensor("s1", 100L, 200L), AnalyticsQuery.forSensor("s1", 100L, 300L));
+        assertNotEquals(AnalyticsQuery.forSensor("s1"), AnalyticsQuery.forSensor("s1", 100L, 200L));
+    }
+
+    @Test
+    public void query_sensorAndUserWithSameId_notEqual() {
+        assertNotEquals(AnalyticsQuery.forSensor("x"), AnalyticsQuery.forUser("x"));
+    }
+
+    @Test
+    public void query_allTime_flag() {
+        assertTrue(AnalyticsQuery.forUser("u1").isAllTime());
+        assertFalse(AnalyticsQuery.forUser("u1", 0L, 10L).isAllTime());
+    }
+
+    // ========== Decode Tests ==========
+
+    @Test
+    public void decode_posturesAlignedWithRows() {
+        List<ReceivedBtDataEntity> rows = Arrays.asList(
+                new ReceivedBtDataEntity(DEVICE, 1000L, "0xAB3311", OWNER, "s1"),
+                new ReceivedBtDataEntity(DEVICE, 2000L, "0xEF0112", OWNER, "s1"));
+
+        AnalyticsSnapshot snapshot = AnalyticsSnapshot.decode(AnalyticsQuery.forSensor("s1"), rows);
+
+        assertEquals(2, snapshot.size());
+        assertTrue(snapshot.getPostures().get(0) instanceof StandingPosture);
+        assertTrue(snapshot.getPostures().get(1) instanceof FallingPosture);
+        assertEquals(1000L, snapshot.getFirstTimestamp());
+        assertEquals(2000L, snapshot.getLastTimestamp());
+    }
+
+    @Test
+    public void decode_copiesRows() {
+        List<ReceivedBtDataEntity> rows = new ArrayList<>();
+        rows.add(new ReceivedBtDataEntity(DEVICE, 1000L, "0xAB3311", OWNER, "s1"));
+
+        AnalyticsSnapshot snapshot = AnalyticsSnapshot.decode(AnalyticsQuery.forSensor("s1"), rows);
+        rows.clear();
+
+        assertEquals(1, snapshot.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void decode_resultIsImmutable() {
+        AnalyticsSnapshot snapshot = AnalyticsSnapshot.decode(AnalyticsQuery.forUser("u1"), new ArrayList<>());
+
+        snapshot.getPostures().add(new SittingPosture());
+    }
+}
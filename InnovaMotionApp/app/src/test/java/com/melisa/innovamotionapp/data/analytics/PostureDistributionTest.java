@@ -0,0 +1,125 @@
+package com.melisa.innovamotionapp.data.analytics;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
+import com.melisa.innovamotionapp.data.posture.types.FallingPosture;
+import com.melisa.innovamotionapp.data.posture.types.StandingPosture;
+import com.melisa.innovamotionapp.data.posture.types.UnknownPosture;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for PostureDistribution built from posture bucket rows.
+ */
+public class PostureDistributionTest {
+
+    private static final AnalyticsQuery QUERY = AnalyticsQuery.forSensor("s1");
+
+    private static ReceivedBtDataDao.PostureBucket bucket(String code, int count, long durationMs,
+                                                          long first, long last) {
+        ReceivedBtDataDao.PostureBucket bucket = new ReceivedBtDataDao.PostureBucket();
+        bucket.code = code;
+        bucket.count = count;
+        bucket.durationMs = durationMs;
+        bucket.firstTimestamp = first;
+        bucket.lastTimestamp = last;
+        return bucket;
+    }
+
+    // ========== Empty Tests ==========
+
+    @Test
+    public void fromBuckets_empty_isEmpty() {
+        PostureDistribution distribution = PostureDistribution.fromBuckets(QUERY, new ArrayList<>());
+
+        assertTrue(distribution.isEmpty());
+        assertTrue(distribution.getShares().isEmpty());
+        assertEquals(0, distribution.getFirstTimestamp());
+        assertEquals(0, distribution.getLastTimestamp());
+    }
+
+    // ========== Merge Tests ==========
+
+    @Test
+    public void fromBuckets_totalsAndBounds() {
+        PostureDistribution distribution = PostureDistribution.fromBuckets(QUERY, Arrays.asList(
+                bucket("0xAB3311", 3, 3000, 200, 900),
+                bucket("0xEF0112", 1, 1000, 100, 100)));
+
+        assertEquals(4, distribution.getTotalCount());
+        assertEquals(4000, distribution.getTotalDurationMs());
+        assertEquals(100, distribution.getFirstTimestamp());
+        assertEquals(900, distribution.getLastTimestamp());
+        assertEquals(2, distribution.getShares().size());
+    }
+
+    @Test
+    public void fromBuckets_unknownCodes_mergeIntoOneShare() {
+        PostureDistribution distribution = PostureDistribution.fromBuckets(QUERY, Arrays.asList(
+                bucket("0x000001", 2, 200, 0, 10),
+                bucket("garbage", 1, 100, 20, 20)));
+
+        List<PostureDistribution.Share> shares = distribution.getShares();
+        assertEquals(1, shares.size());
+        assertTrue(shares.get(0).getPosture() instanceof UnknownPosture);
+        assertEquals(3, shares.get(0).getCount());
+        assertEquals(300, shares.get(0).getDurationMs());
+    }
+
+    @Test
+    public void fromBuckets_labelIsPostureClassName() {
+        PostureDistribution distribution = PostureDistribution.fromBuckets(QUERY,
+                Arrays.asList(bucket("0xab3311", 1, 0, 0, 0)));
+
+        PostureDistribution.Share share = distribution.getShares().get(0);
+        assertTrue(share.getPosture() instanceof StandingPosture);
+        assertEquals("StandingPosture", share.getLabel());
+    }
+
+    @Test
+    public void fromBuckets_emptyBucketsSkipped() {
+        PostureDistribution distribution = PostureDistribution.fromBuckets(QUERY,
+                Arrays.asList(bucket("0xEF0112", 0, 0, 0, 0)));
+
+        assertTrue(distribution.isEmpty());
+        assertTrue(distribution.getShares().isEmpty());
+    }
+
+    // ========== Fraction Tests ==========
+
+    @Test
+    public void fraction_weightedByDuration() {
+        PostureDistribution distribution = PostureDistribution.fromBuckets(QUERY, Arrays.asList(
+                bucket("0xAB3311", 9, 1000, 0, 10),   // many short readings
+                bucket("0xEF0112", 1, 3000, 20, 20)));
+
+        for (PostureDistribution.Share share : distribution.getShares()) {
+            if (share.getPosture() instanceof FallingPosture) {
+                assertEquals(0.75, share.getFraction(), 1e-9);
+            } else {
+                assertEquals(0.25, share.getFraction(), 1e-9);
+            }
+        }
+    }
+
+    @Test
+    public void fraction_noDurations_fallsBackToCount() {
+        PostureDistribution distribution = PostureDistribution.fromBuckets(QUERY, Arrays.asList(
+                bucket("0xAB3311", 3, 0, 0, 0),
+                bucket("0xEF0112", 1, 0, 0, 0)));
+
+        double sum = 0;
+        for (PostureDistribution.Share share : distribution.getShares()) {
+            sum += share.getFraction();
+            if (share.getPosture() instanceof StandingPosture) {
+                assertEquals(0.75, share.getFraction(), 1e-9);
+            }
+        }
+        assertEquals(1.0, sum, 1e-9);
+    }
+}
@@ -0,0 +1,142 @@
+package com.melisa.innovamotionapp.data.analytics;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataDao;
+import com.melisa.innovamotionapp.data.posture.types.SittingPosture;
+import com.melisa.innovamotionapp.data.posture.types.StandingPosture;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for PostureDurationEngine segment rules.
+ */
+public class PostureDurationEngineTest {
+
+    private static final long MAX_GAP = 60_000L;
+    private static final String STANDING = "0xAB3311";
+    private static final String SITTING = "0xAC4312";
+    private static final String FALLING = "0xEF0112";
+
+    private static Map<String, ReceivedBtDataDao.PostureBucket> byCode(PostureDurationEngine engine) {
+        Map<String, ReceivedBtDataDao.PostureBucket> map = new HashMap<>();
+        for (ReceivedBtDataDao.PostureBucket bucket : engine.getBuckets()) {
+            map.put(bucket.code.toLowerCase(), bucket);
+        }
+        return map;
+    }
+
+    private static ReceivedBtDataDao.PostureBucket bucket(PostureDurationEngine engine, String code) {
+        return byCode(engine).get(code.toLowerCase());
+    }
+
+    // ========== Segment Tests ==========
+
+    @Test
+    public void duration_untilNextReading_lastCountsZero() {
+        PostureDurationEngine engine = new PostureDurationEngine(MAX_GAP);
+        engine.accept("s1", 1_000, STANDING);
+        engine.accept("s1", 11_000, SITTING);
+        engine.accept("s1", 41_000, STANDING);
+        engine.accept("s1", 43_000, FALLING);
+
+        assertEquals(12_000, bucket(engine, STANDING).durationMs);
+        assertEquals(30_000, bucket(engine, SITTING).durationMs);
+        assertEquals(0, bucket(engine, FALLING).durationMs);
+        assertEquals(2, bucket(engine, STANDING).count);
+        assertEquals(4, engine.getReadingCount());
+    }
+
+    @Test
+    public void duration_gapCappedAtMaxGap() {
+        PostureDurationEngine engine = new PostureDurationEngine(MAX_GAP);
+        engine.accept("s1", 0, STANDING);
+        engine.accept("s1", 10 * MAX_GAP, SITTING);
+
+        assertEquals(MAX_GAP, bucket(engine, STANDING).durationMs);
+    }
+
+    @Test
+    public void duration_fasterReportingDoesNotInflateTime() {
+        // Same 60s of standing reported once per 10s and once per 1s
+        PostureDurationEngine slow = new PostureDurationEngine(MAX_GAP);
+        PostureDurationEngine fast = new PostureDurationEngine(MAX_GAP);
+        for (long ts = 0; ts <= 60_000; ts += 10_000) {
+            slow.accept("s1", ts, STANDING);
+        }
+        for (long ts = 0; ts <= 60_000; ts += 1_000) {
+            fast.accept("s1", ts, STANDING);
+        }
+
+        assertEquals(bucket(slow, STANDING).durationMs, bucket(fast, STANDING).durationMs);
+        assertNotEquals(bucket(slow, STANDING).count, bucket(fast, STANDING).count);
+    }
+
+    @Test
+    public void duration_interleavedSensorsFollowOwnSensor() {
+        PostureDurationEngine engine = new PostureDurationEngine(MAX_GAP);
+        engine.accept("s1", 1_000, STANDING);
+        engine.accept("s2", 2_000, SITTING);
+        engine.accept("s1", 3_000, STANDING);
+        engine.accept("s2", 7_000, SITTING);
+
+        assertEquals(2_000, bucket(engine, STANDING).durationMs);
+        assertEquals(5_000, bucket(engine, SITTING).durationMs);
+    }
+
+    @Test
+    public void duration_outOfOrderReadingAddsNoTime() {
+        PostureDurationEngine engine = new PostureDurationEngine(MAX_GAP);
+        engine.accept("s1", 5_000, STANDING);
+        engine.accept("s1", 4_000, SITTING);
+
+        assertEquals(0, bucket(engine, STANDING).durationMs);
+    }
+
+    @Test
+    public void buckets_caseVariantsShareBucket() {
+        PostureDurationEngine engine = new PostureDurationEngine(MAX_GAP);
+        engine.accept("s1", 0, "0xab3311");
+        engine.accept("s1", 1_000, "0xAB3311");
+
+        assertEquals(1, engine.getBuckets().size());
+        assertEquals(2, engine.getBuckets().get(0).count);
+        assertEquals(0, engine.getBuckets().get(0).firstTimestamp);
+        assertEquals(1_000, engine.getBuckets().get(0).lastTimestamp);
+    }
+
+    @Test
+    public void nullSensorAndCode_handled() {
+        PostureDurationEngine engine = new PostureDurationEngine(MAX_GAP);
+        engine.accept(null, 0, null);
+        engine.accept(null, 1_000, null);
+
+        assertEquals(1, engine.getBuckets().size());
+        assertEquals(1_000, engine.getBuckets().get(0).durationMs);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeMaxGap_throws() {
+        new PostureDurationEngine(-1);
+    }
+
+    // ========== Distribution Tests ==========
+
+    @Test
+    public void toDistribution_caloriesFollowTime() {
+        PostureDurationEngine engine = new PostureDurationEngine(MAX_GAP);
+        engine.accept("s1", 0, SITTING);
+        engine.accept("s1", 60_000, STANDING);  // one minute sitting
+        engine.accept("s1", 90_000, STANDING);  // half a minute standing
+
+        PostureDistribution distribution = engine.toDistribution(AnalyticsQuery.forSensor("s1"));
+
+        double expected = new SittingPosture().getCalories() + new StandingPosture().getCalories() / 2.0;
+        assertEquals(expected, distribution.getTotalCalories(), 1e-9);
+        assertEquals(90_000, distribution.getTotalDurationMs());
+        assertEquals(3, distribution.getTotalCount());
+    }
+}
@@ -0,0 +1,169 @@
+package com.melisa.innovamotionapp.data.analytics;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for TimelineCursor paging, seeking and changes-only stepping.
+ */
+public class TimelineCursorTest {
+
+    private static final String STANDING = "0xAB3311";
+    private static final String SITTING = "0xAC4312";
+
+    /**
+     * In-memory readings ordered by (timestamp, id), paged like the Room keyset queries.
+     */
+    private static final class FakeSource implements TimelineCursor.FrameSource {
+        final List<ReceivedBtDataEntity> rows = new ArrayList<>();
+
+        void add(long timestamp, String code) {
+            ReceivedBtDataEntity entity = new ReceivedBtDataEntity("AA:BB", timestamp, code, "owner", "s1");
+            entity.setId(rows.size() + 1);
+            rows.add(entity);
+        }
+
+        @Override
+        public List<ReceivedBtDataEntity> pageAfter(long timestamp, long id, int limit) {
+            List<ReceivedBtDataEntity> page = new ArrayList<>();
+            for (ReceivedBtDataEntity row : rows) {
+                boolean after = row.getTimestamp() > timestamp
+                        || (row.getTimestamp() == timestamp && row.getId() > id);
+                if (after && page.size() < limit) {
+                    page.add(row);
+                }
+            }
+            return page;
+        }
+
+        @Override
+        public ReceivedBtDataEntity latest() {
+            return rows.isEmpty() ? null : rows.get(rows.size() - 1);
+        }
+    }
+
+    private static FakeSource source(int count, String code) {
+        FakeSource source = new FakeSource();
+        for (int i = 0; i < count; i++) {
+            source.add(1_000L * (i + 1), code);
+        }
+        return source;
+    }
+
+    // ========== Open / Seek Tests ==========
+
+    @Test
+    public void open_emptyHistory() {
+        TimelineCursor cursor = new TimelineCursor(new FakeSource(), 3);
+
+        assertNull(cursor.open());
+        assertTrue(cursor.isEmpty());
+        assertNull(cursor.current());
+        assertNull(cursor.next(false));
+    }
+
+    @Test
+    public void open_readsBoundsAndFirstReading() {
+        TimelineCursor cursor = new TimelineCursor(source(10, STANDING), 3);
+
+        ReceivedBtDataEntity first = cursor.open();
+
+        assertNotNull(first);
+        assertEquals(1_000L, first.getTimestamp());
+        assertEquals(1_000L, cursor.getFirstTimestamp());
+        assertEquals(10_000L, cursor.getLastTimestamp());
+        assertFalse(cursor.isEmpty());
+    }
+
+    @Test
+    public void seek_landsOnFirstReadingAtOrAfterTime() {
+        TimelineCursor cursor = new TimelineCursor(source(10, STANDING), 3);
+        cursor.open();
+
+        assertEquals(5_000L, cursor.seek(5_000L).getTimestamp());
+        assertEquals(6_000L, cursor.seek(5_500L).getTimestamp());
+        assertEquals(1_000L, cursor.seek(0L).getTimestamp());
+    }
+
+    @Test
+    public void seek_pastEnd_landsOnLastReading() {
+        TimelineCursor cursor = new TimelineCursor(source(10, STANDING), 3);
+        cursor.open();
+
+        assertEquals(10_000L, cursor.seek(50_000L).getTimestamp());
+        assertNull(cursor.next(false));
+        assertEquals(10_000L, cursor.current().getTimestamp());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsEmptyPage() {
+        new TimelineCursor(new FakeSource(), 0);
+    }
+
+    // ========== Stepping Tests ==========
+
+    @Test
+    public void next_walksAllReadingsAcrossPages() {
+        TimelineCursor cursor = new TimelineCursor(source(10, STANDING), 3);
+        cursor.open();
+
+        List<Long> seen = new ArrayList<>();
+        seen.add(cursor.current().getTimestamp());
+        ReceivedBtDataEntity next;
+        while ((next = cursor.next(false)) != null) {
+            seen.add(next.getTimestamp());
+        }
+
+        assertEquals(10, seen.size());
+        assertEquals(Long.valueOf(10_000L), seen.get(9));
+        assertEquals(10_000L, cursor.current().getTimestamp()); // stays on the last reading
+        // open (latest + first page) + three more pages of 3 + the short last page
+        assertTrue("pages loaded: " + cursor.getPageLoads(), cursor.getPageLoads() <= 5);
+    }
+
+    @Test
+    public void next_keepsOrderForEqualTimestamps() {
+        FakeSource source = new FakeSource();
+        source.add(1_000L, STANDING);
+        source.add(1_000L, SITTING);
+        source.add(1_000L, STANDING);
+        TimelineCursor cursor = new TimelineCursor(source, 1);
+        cursor.open();
+
+        assertEquals(SITTING, cursor.next(false).getReceivedMsg());
+        assertEquals(3L, cursor.next(false).getId());
+        assertNull(cursor.next(false));
+    }
+
+    @Test
+    public void nextChangesOnly_skipsRepeatsAcrossPages() {
+        FakeSource source = new FakeSource();
+        for (int i = 0; i < 7; i++) {
+            source.add(1_000L * (i + 1), STANDING);
+        }
+        source.add(8_000L, "0xac4312"); // lower-case code of the same posture as SITTING
+        source.add(9_000L, SITTING);
+        source.add(10_000L, STANDING);
+        TimelineCursor cursor = new TimelineCursor(source, 2);
+        cursor.open();
+
+        assertEquals(8_000L, cursor.next(true).getTimestamp());
+        assertEquals(10_000L, cursor.next(true).getTimestamp());
+        assertNull(cursor.next(true));
+    }
+
+    @Test
+    public void nextChangesOnly_noChangeLeft_staysOnLastReading() {
+        TimelineCursor cursor = new TimelineCursor(source(5, STANDING), 2);
+        cursor.open();
+
+        assertNull(cursor.next(true));
+        assertEquals(5_000L, cursor.current().getTimestamp());
+    }
+}
@@ -0,0 +1,185 @@
+package com.melisa.innovamotionapp.data.database.profiling;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for QueryProfiler and QueryPlanChecker.
+ */
+public class QueryProfilerTest {
+
+    private static final long MS = 1_000_000L;
+    private static final String SELECT_LATEST =
+            "SELECT * FROM received_bt_data WHERE sensor_id = ? ORDER BY timestamp DESC LIMIT 1";
+
+    private QueryProfiler profiler;
+    private AtomicInteger explainCalls;
+    private QueryProfiler.PlanSource planSource;
+
+    @Before
+    public void setUp() {
+        profiler = new QueryProfiler(50);
+        explainCalls = new AtomicInteger();
+        planSource = sql -> {
+            explainCalls.incrementAndGet();
+            return Collections.singletonList("SEARCH received_bt_data USING INDEX index_sensor_id_timestamp (sensor_id=?)");
+        };
+    }
+
+    // ========== Recording Tests ==========
+
+    @Test
+    public void record_aggregatesPerStatement() {
+        profiler.record(SELECT_LATEST, 2 * MS, 1, planSource);
+        profiler.record(SELECT_LATEST, 4 * MS, 1, planSource);
+        profiler.record("SELECT COUNT(*) FROM received_bt_data", 1 * MS, 1, planSource);
+
+        List<QueryStats> stats = profiler.getStats();
+
+        assertEquals(2, stats.size());
+        QueryStats latest = stats.get(0);
+        assertEquals(SELECT_LATEST, latest.getSql());
+        assertEquals(2, latest.getCount());
+        assertEquals(6 * MS, latest.getTotalNanos());
+        assertEquals(2, latest.getRows());
+        assertEquals(4 * MS, latest.getP99Nanos(), 4 * MS / 16.0);
+    }
+
+    @Test
+    public void fastStatements_planNotCaptured() {
+        profiler.record(SELECT_LATEST, 2 * MS, 1, planSource);
+
+        assertNull(profiler.getStats().get(0).getPlan());
+        assertEquals(0, explainCalls.get());
+    }
+
+    @Test
+    public void slowStatement_planCapturedOnce() {
+        profiler.record(SELECT_LATEST, 80 * MS, 1, planSource);
+        profiler.record(SELECT_LATEST, 90 * MS, 1, planSource);
+
+        QueryStats stats = profiler.getStats().get(0);
+        assertEquals(2, stats.getSlowCount());
+        assertNotNull(stats.getPlan());
+        assertEquals(1, explainCalls.get());
+        assertTrue(profiler.toText(10).contains("plan: SEARCH received_bt_data"));
+    }
+
+    @Test
+    public void captureAllPlans_explainsFastStatements() {
+        profiler.setCaptureAllPlans(true);
+
+        profiler.record(SELECT_LATEST, 1 * MS, 1, planSource);
+
+        assertNotNull(profiler.getStats().get(0).getPlan());
+    }
+
+    @Test
+    public void nonExplainableStatements_skipped() {
+        profiler.setCaptureAllPlans(true);
+
+        profiler.record("BEGIN EXCLUSIVE", 1 * MS, -1, planSource);
+        profiler.record("PRAGMA user_version", 1 * MS, 1, planSource);
+
+        assertEquals(0, explainCalls.get());
+    }
+
+    @Test
+    public void failingExplain_recordedAsPlan() {
+        QueryProfiler.PlanSource failing = sql -> {
+            throw new IllegalStateException("no such table");
+        };
+
+        profiler.record(SELECT_LATEST, 80 * MS, 1, failing);
+
+        assertEquals(Collections.singletonList("EXPLAIN failed: no such table"), profiler.getStats().get(0).getPlan());
+    }
+
+    @Test
+    public void reset_clearsStatements() {
+        profiler.record(SELECT_LATEST, 1 * MS, 1, planSource);
+
+        profiler.reset();
+
+        assertTrue(profiler.getStats().isEmpty());
+    }
+
+    // ========== Normalize Tests ==========
+
+    @Test
+    public void normalize_collapsesWhitespace() {
+        assertEquals("SELECT * FROM t WHERE a = ?", QueryProfiler.normalize("  SELECT *\n   FROM t\tWHERE a = ?  "));
+    }
+
+    @Test
+    public void normalize_sharesInListsOfAnyLength() {
+        String one = QueryProfiler.normalize("SELECT * FROM t WHERE sensor_id IN (?)");
+        String three = QueryProfiler.normalize("SELECT * FROM t WHERE sensor_id IN (?, ?,?)");
+
+        assertEquals(one, three);
+        assertEquals("SELECT * FROM t WHERE sensor_id IN (?...)", three);
+    }
+
+    @Test
+    public void inListVariants_countedTogether() {
+        profiler.record("SELECT * FROM t WHERE id IN (?,?)", 1 * MS, 2, planSource);
+        profiler.record("SELECT * FROM t WHERE id IN (?,?,?,?)", 1 * MS, 4, planSource);
+
+        assertEquals(1, profiler.getStats().size());
+        assertEquals(2, profiler.getStats().get(0).getCount());
+        assertEquals(4, profiler.getStats().get(0).getMaxRows());
+    }
+
+    // ========== Plan Checker Tests ==========
+
+    @Test
+    public void fullScanTable_bothPlanFormats() {
+        assertEquals("monitored_persons", QueryPlanChecker.fullScanTable("SCAN TABLE monitored_persons"));
+        assertEquals("monitored_persons", QueryPlanChecker.fullScanTable("SCAN monitored_persons"));
+        assertEquals("received_bt_data", QueryPlanChecker.fullScanTable("SCAN received_bt_data AS r"));
+    }
+
+    @Test
+    public void fullScanTable_indexAccessIsNotAScan() {
+        assertNull(QueryPlanChecker.fullScanTable("SEARCH received_bt_data USING INDEX i (sensor_id=?)"));
+        assertNull(QueryPlanChecker.fullScanTable("SCAN received_bt_data USING COVERING INDEX i"));
+        assertNull(QueryPlanChecker.fullScanTable("SCAN TABLE received_bt_data USING INDEX i"));
+        assertNull(QueryPlanChecker.fullScanTable("SCAN SUBQUERY 1"));
+        assertNull(QueryPlanChecker.fullScanTable("SCAN CONSTANT ROW"));
+        assertNull(QueryPlanChecker.fullScanTable("USE TEMP B-TREE FOR ORDER BY"));
+    }
+
+    @Test
+    public void findFullScans_skipsMaterializedAndAllowedTables() {
+        List<String> plan = Arrays.asList(
+                "MATERIALIZE latest",
+                "SCAN received_bt_data USING COVERING INDEX i",
+                "SCAN latest",
+                "SCAN monitored_persons",
+                "SCAN posture_rollups");
+
+        List<String> scans = QueryPlanChecker.findFullScans(plan, Collections.singleton("MONITORED_PERSONS"));
+
+        assertEquals(Collections.singletonList("posture_rollups"), scans);
+    }
+
+    @Test
+    public void getFullScans_listsOffendingStatements() {
+        profiler.setCaptureAllPlans(true);
+        profiler.record(SELECT_LATEST, 1 * MS, 1, planSource);
+        profiler.record("SELECT * FROM posture_rollups", 1 * MS, 10,
+                sql -> Collections.singletonList("SCAN posture_rollups"));
+
+        List<QueryStats> scans = profiler.getFullScans(Collections.emptySet());
+
+        assertEquals(1, scans.size());
+        assertEquals("SELECT * FROM posture_rollups", scans.get(0).getSql());
+    }
+}
@@ -0,0 +1,235 @@
+package com.melisa.innovamotionapp.data.export;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Unit tests for ReadingsExporter chunking, formats and statistics.
+ */
+public class ReadingsExporterTest {
+
+    private static final String STANDING = "0xAB3311";
+    private static final String SITTING = "0xAC4312";
+
+    /**
+     * In-memory readings ordered by (timestamp, id), chunked like the Room keyset queries.
+     */
+    private static final class FakeSource implements ReadingsExporter.ChunkSource {
+        final List<ReceivedBtDataEntity> rows = new ArrayList<>();
+        int maxChunkRequested = 0;
+
+        void add(long timestamp, String sensorId, String code) {
+            ReceivedBtDataEntity entity = new ReceivedBtDataEntity("AA:BB", timestamp, code, "owner", sensorId);
+            entity.setId(rows.size() + 1);
+            rows.add(entity);
+        }
+
+        @Override
+        public List<ReceivedBtDataEntity> chunkAfter(long timestamp, long id, int limit) {
+            maxChunkRequested = Math.max(maxChunkRequested, limit);
+            List<ReceivedBtDataEntity> chunk = new ArrayList<>();
+            for (ReceivedBtDataEntity row : rows) {
+                boolean after = row.getTimestamp() > timestamp
+                        || (row.getTimestamp() == timestamp && row.getId() > id);
+                if (after && chunk.size() < limit) {
+                    chunk.add(row);
+                }
+            }
+            return chunk;
+        }
+    }
+
+    private static List<String> lines(byte[] data, boolean gzip) throws IOException {
+        InputStream in = new ByteArrayInputStream(data);
+        if (gzip) {
+            in = new GZIPInputStream(in);
+        }
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+
+    private static FakeSource source(int count) {
+        FakeSource source = new FakeSource();
+        for (int i = 0; i < count; i++) {
+            source.add(1_000L * (i + 1), "s" + (i % 2), i % 3 == 0 ? SITTING : STANDING);
+        }
+        return source;
+    }
+
+    // ========== Chunking Tests ==========
+
+    @Test
+    public void export_readsInChunks_writesEveryRow() throws IOException {
+        FakeSource source = source(25);
+        ExportRequest request = new ExportRequest.Builder().chunkSize(10).build();
+        ReadingsExporter exporter = new ReadingsExporter(source, request);
+        List<Long> progress = new ArrayList<>();
+        exporter.setProgressListener((rows, lastTimestamp) -> progress.add(rows));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportResult result = exporter.exportReadings(out);
+
+        assertEquals(25, result.getRowsWritten());
+        assertEquals(3, result.getChunksRead());
+        assertEquals(2, result.getSensorCount());
+        assertEquals(1_000L, result.getFirstTimestamp());
+        assertEquals(25_000L, result.getLastTimestamp());
+        assertEquals(10, source.maxChunkRequested);
+        assertEquals(26, lines(out.toByteArray(), true).size()); // header + rows
+        assertEquals(3, progress.size());
+        assertEquals(Long.valueOf(25), progress.get(2));
+    }
+
+    @Test
+    public void export_appliesTimeRange() throws IOException {
+        ExportRequest request = new ExportRequest.Builder().range(5_000L, 7_000L).chunkSize(2).gzip(false).build();
+        ReadingsExporter exporter = new ReadingsExporter(source(20), request);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportResult result = exporter.exportReadings(out);
+
+        assertEquals(3, result.getRowsWritten());
+        assertEquals(5_000L, result.getFirstTimestamp());
+        assertEquals(7_000L, result.getLastTimestamp());
+        assertTrue("stops after the range end: " + result.getChunksRead(), result.getChunksRead() <= 2);
+    }
+
+    @Test
+    public void export_emptySource_writesHeaderOnly() throws IOException {
+        ReadingsExporter exporter = new ReadingsExporter(new FakeSource(), new ExportRequest.Builder().gzip(false).build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ExportResult result = exporter.exportReadings(out);
+
+        assertEquals(0, result.getRowsWritten());
+        List<String> lines = lines(out.toByteArray(), false);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).startsWith("id,timestamp,time_utc,"));
+    }
+
+    @Test
+    public void export_cancelled_stopsAndReportsIt() throws IOException {
+        ReadingsExporter exporter = new ReadingsExporter(source(100), new ExportRequest.Builder().chunkSize(10).build());
+        exporter.setProgressListener((rows, lastTimestamp) -> exporter.cancel());
+
+        ExportResult result = exporter.exportReadings(new ByteArrayOutputStream());
+
+        assertTrue(result.isCancelled());
+        assertEquals(10, result.getRowsWritten());
+    }
+
+    // ========== Format Tests ==========
+
+    @Test
+    public void csv_rowHasTimeAndPostureLabel() throws IOException {
+        FakeSource source = new FakeSource();
+        source.add(0L, "s1", STANDING);
+        ReadingsExporter exporter = new ReadingsExporter(source, new ExportRequest.Builder().gzip(false).build());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.exportReadings(out);
+
+        assertEquals("1,0,1970-01-01T00:00:00.000Z,owner,s1,AA:BB,0xAB3311,StandingPosture",
+                lines(out.toByteArray(), false).get(1));
+    }
+
+    @Test
+    public void csv_quotesSpecialCharacters() throws IOException {
+        StringWriter writer = new StringWriter();
+        ReadingsExporter.writeCsvField(writer, "a,\"b\"");
+        assertEquals("\"a,\"\"b\"\"\"", writer.toString());
+
+        writer = new StringWriter();
+        ReadingsExporter.writeCsvField(writer, "plain");
+        assertEquals("plain", writer.toString());
+    }
+
+    @Test
+    public void ndjson_oneEscapedObjectPerLine() throws IOException {
+        FakeSource source = new FakeSource();
+        source.add(5L, "bed \"3\"", SITTING);
+        source.add(6L, "s2", STANDING);
+        ExportRequest request = new ExportRequest.Builder().format(ExportRequest.Format.NDJSON).build();
+        ReadingsExporter exporter = new ReadingsExporter(source, request);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.exportReadings(out);
+
+        List<String> lines = lines(out.toByteArray(), true);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0), lines.get(0).startsWith("{\"id\":1,\"timestamp\":5,"));
+        assertTrue(lines.get(0), lines.get(0).contains("\"sensor_id\":\"bed \\\"3\\\"\""));
+        assertTrue(lines.get(0), lines.get(0).endsWith("\"posture\":\"SittingPosture\"}"));
+    }
+
+    @Test
+    public void jsonString_escapesControlCharacters() throws IOException {
+        StringWriter writer = new StringWriter();
+        ReadingsExporter.writeJsonString(writer, "a\\b\n\u0001");
+        assertEquals("\"a\\\\b\\n\\u0001\"", writer.toString());
+    }
+
+    // ========== Statistics Tests ==========
+
+    @Test
+    public void statistics_perSensorTimeWeighted() throws IOException {
+        FakeSource source = new FakeSource();
+        source.add(0L, "s1", STANDING);
+        source.add(10_000L, "s1", SITTING);
+        source.add(40_000L, "s1", STANDING);
+        source.add(0L, "s2", SITTING);
+        ExportRequest request = new ExportRequest.Builder().gzip(false).build();
+        ReadingsExporter exporter = new ReadingsExporter(source, request);
+        exporter.exportReadings(new ByteArrayOutputStream());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.writeStatistics(out);
+
+        List<String> lines = lines(out.toByteArray(), false);
+        assertEquals("sensor_id,posture,readings,duration_ms,share,calories,first_timestamp,last_timestamp",
+                lines.get(0));
+        assertTrue(lines.contains("s1,StandingPosture,2,10000,0.2500,1.17,0,40000"));
+        assertTrue(lines.contains("s1,SittingPosture,1,30000,0.7500,1.00,0,40000"));
+        assertEquals(4, lines.size()); // header + two shares for s1 + one for s2
+    }
+
+    // ========== Request Tests ==========
+
+    @Test
+    public void request_defaultsAndExtension() {
+        ExportRequest request = new ExportRequest.Builder().build();
+
+        assertEquals(ExportRequest.Format.CSV, request.getFormat());
+        assertTrue(request.isGzip());
+        assertTrue(request.isIncludeStatistics());
+        assertEquals("csv.gz", request.getFileExtension());
+        assertEquals("ndjson", new ExportRequest.Builder()
+                .format(ExportRequest.Format.NDJSON).gzip(false).build().getFileExtension());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void request_rejectsInvertedRange() {
+        new ExportRequest.Builder().range(10L, 5L).build();
+    }
+}
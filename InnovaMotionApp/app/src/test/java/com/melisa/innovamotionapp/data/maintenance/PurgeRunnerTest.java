@@ -0,0 +1,156 @@
+package com.melisa.innovamotionapp.data.maintenance;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+
+/**
+ * Unit tests for PurgeRunner id-range chunking.
+ */
+public class PurgeRunnerTest {
+
+    /**
+     * Rows keyed by id with an owner; deletes rows whose owner is not kept.
+     */
+    private static class FakeStore implements PurgeRunner.Store {
+        final TreeMap<Long, String> rows = new TreeMap<>();
+        final List<long[]> ranges = new ArrayList<>();
+        String keepOwner = null;
+
+        @Override
+        public Long minId() {
+            return rows.isEmpty() ? null : rows.firstKey();
+        }
+
+        @Override
+        public Long maxId() {
+            return rows.isEmpty() ? null : rows.lastKey();
+        }
+
+        @Override
+        public int deleteRange(long fromId, long toId) {
+            ranges.add(new long[]{fromId, toId});
+            int deleted = 0;
+            for (Long id : new ArrayList<>(rows.subMap(fromId, toId).keySet())) {
+                if (!rows.get(id).equals(keepOwner)) {
+                    rows.remove(id);
+                    deleted++;
+                }
+            }
+            return deleted;
+        }
+    }
+
+    // ========== Chunking Tests ==========
+
+    @Test
+    public void run_deletesEverythingInBoundedRanges() {
+        FakeStore store = new FakeStore();
+        for (long id = 5; id <= 29; id++) {
+            store.rows.put(id, "a");
+        }
+
+        PurgeReport report = new PurgeRunner(store, 10, 0).run(null);
+
+        assertEquals(25, report.getRowsDeleted());
+        assertEquals(3, report.getChunks());
+        assertTrue(store.rows.isEmpty());
+        for (long[] range : store.ranges) {
+            assertTrue(range[1] - range[0] <= 10);
+        }
+        assertEquals(5, store.ranges.get(0)[0]);
+        assertEquals(30, store.ranges.get(2)[1]);
+    }
+
+    @Test
+    public void run_emptyTable_noChunks() {
+        PurgeReport report = new PurgeRunner(new FakeStore(), 10, 0).run(null);
+
+        assertEquals(0, report.getRowsDeleted());
+        assertEquals(0, report.getChunks());
+        assertFalse(report.isCancelled());
+    }
+
+    @Test
+    public void run_filteredStore_keepsMatchingRows() {
+        FakeStore store = new FakeStore();
+        for (long id = 1; id <= 20; id++) {
+            store.rows.put(id, id % 2 == 0 ? "keep" : "drop");
+        }
+        store.keepOwner = "keep";
+
+        PurgeReport report = new PurgeRunner(store, 7, 0).run(null);
+
+        assertEquals(10, report.getRowsDeleted());
+        assertEquals(10, store.rows.size());
+        assertFalse(store.rows.containsValue("drop"));
+    }
+
+    @Test
+    public void run_rowsInsertedDuringPurge_notDeleted() {
+        FakeStore store = new FakeStore() {
+            @Override
+            public int deleteRange(long fromId, long toId) {
+                int deleted = super.deleteRange(fromId, toId);
+                rows.put(1000L + ranges.size(), "new");
+                return deleted;
+            }
+        };
+        for (long id = 1; id <= 10; id++) {
+            store.rows.put(id, "old");
+        }
+
+        new PurgeRunner(store, 5, 0).run(null);
+
+        assertEquals(2, store.rows.size());
+        assertFalse(store.rows.containsValue("old"));
+    }
+
+    // ========== Progress / Cancel Tests ==========
+
+    @Test
+    public void progress_reportedPerPercentUpTo100() {
+        FakeStore store = new FakeStore();
+        for (long id = 1; id <= 1000; id++) {
+            store.rows.put(id, "a");
+        }
+        List<Integer> percents = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+
+        new PurgeRunner(store, 3, 0).run((rowsDeleted, percent) -> {
+            percents.add(percent);
+            deleted.add(rowsDeleted);
+        });
+
+        assertEquals(100, (int) percents.get(percents.size() - 1));
+        assertEquals(1000L, (long) deleted.get(deleted.size() - 1));
+        for (int i = 1; i < percents.size(); i++) {
+            assertTrue(percents.get(i) > percents.get(i - 1));
+        }
+    }
+
+    @Test
+    public void cancel_stopsAfterCurrentChunk() {
+        FakeStore store = new FakeStore();
+        for (long id = 1; id <= 100; id++) {
+            store.rows.put(id, "a");
+        }
+        PurgeRunner[] runner = new PurgeRunner[1];
+        runner[0] = new PurgeRunner(store, 10, 0);
+
+        PurgeReport report = runner[0].run((rowsDeleted, percent) -> runner[0].cancel());
+
+        assertTrue(report.isCancelled());
+        assertEquals(10, report.getRowsDeleted());
+        assertEquals(90, store.rows.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_rejectsNonPositiveChunk() {
+        new PurgeRunner(new FakeStore(), 0, 0);
+    }
+}
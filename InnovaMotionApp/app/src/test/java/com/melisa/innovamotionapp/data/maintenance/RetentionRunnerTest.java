@@ -0,0 +1,427 @@
+package com.melisa.innovamotionapp.data.maintenance;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.PostureRollup;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Unit tests for RetentionRunner chunking and the rollups it produces.
+ */
+public class RetentionRunnerTest {
+
+    private static final long HOUR = 60 * 60 * 1000L;
+    private static final long MAX_GAP = 5 * 60 * 1000L;
+    private static final String STANDING = "0xAB3311";
+    private static final String SITTING = "0xAC4312";
+
+    /** Lets a store callback cancel the runner that is calling it */
+    private final RetentionRunner[] runnerRef = new RetentionRunner[1];
+
+    /**
+     * In-memory readings and rollups; records each chunk transaction.
+     */
+    private static class FakeStore implements RetentionRunner.Store {
+        final List<ReceivedBtDataEntity> rows = new ArrayList<>();
+        final Map<String, PostureRollup> rollups = new LinkedHashMap<>();
+        final List<Integer> deletedPerChunk = new ArrayList<>();
+        long freePages = 0;
+        long size = 1_000_000;
+        boolean incrementalVacuum = true;
+        int fullVacuums = 0;
+
+        void add(String owner, String sensorId, long timestamp, String code) {
+            ReceivedBtDataEntity entity = new ReceivedBtDataEntity("AA:BB", timestamp, code, owner, sensorId);
+            entity.setId(rows.size() + 1);
+            rows.add(entity);
+        }
+
+        PostureRollup rollup(String owner, String sensorId, long bucketStart, String code) {
+            return rollups.get(owner + "|" + sensorId + "|" + bucketStart + "|" + code.toLowerCase());
+        }
+
+        long maxTimestamp() {
+            long max = 0;
+            for (ReceivedBtDataEntity row : rows) {
+                max = Math.max(max, row.getTimestamp());
+            }
+            return max;
+        }
+
+        long maxRolledUpTimestamp() {
+            long max = 0;
+            for (PostureRollup rollup : rollups.values()) {
+                max = Math.max(max, rollup.getLastTimestamp());
+            }
+            return max;
+        }
+
+        int rolledUpReadings() {
+            int count = 0;
+            for (PostureRollup rollup : rollups.values()) {
+                count += rollup.getReadingCount();
+            }
+            return count;
+        }
+
+        @Override
+        public List<ReceivedBtDataEntity> chunkBefore(long cutoff, long timestamp, long id, int limit) {
+            List<ReceivedBtDataEntity> sorted = new ArrayList<>(rows);
+            sorted.sort((a, b) -> a.getTimestamp() != b.getTimestamp()
+                    ? Long.compare(a.getTimestamp(), b.getTimestamp()) : Long.compare(a.getId(), b.getId()));
+            List<ReceivedBtDataEntity> chunk = new ArrayList<>();
+            for (ReceivedBtDataEntity row : sorted) {
+                boolean after = row.getTimestamp() > timestamp
+                        || (row.getTimestamp() == timestamp && row.getId() > id);
+                if (row.getTimestamp() < cutoff && after && chunk.size() < limit) {
+                    chunk.add(row);
+                }
+            }
+            return chunk;
+        }
+
+        @Override
+        public int applyChunk(List<PostureRollup> deltas, List<Long> readingIds) {
+            for (PostureRollup delta : deltas) {
+                String key = delta.getOwnerUserId() + "|" + delta.getSensorId() + "|"
+                        + delta.getBucketStart() + "|" + delta.getReceivedMsg();
+                PostureRollup existing = rollups.get(key);
+                if (existing == null) {
+                    rollups.put(key, delta);
+                } else {
+                    existing.merge(delta);
+                }
+            }
+            Set<Long> ids = new HashSet<>(readingIds);
+            int deleted = 0;
+            for (Iterator<ReceivedBtDataEntity> it = rows.iterator(); it.hasNext(); ) {
+                if (ids.contains(it.next().getId())) {
+                    it.remove();
+                    deleted++;
+                }
+            }
+            if (!readingIds.isEmpty()) {
+                deletedPerChunk.add(deleted);
+                freePages += deleted;
+            }
+            return deleted;
+        }
+
+        @Override
+        public Long nextReadingTimestamp(String ownerUserId, String sensorId, long after) {
+            Long next = null;
+            for (ReceivedBtDataEntity row : rows) {
+                if (row.getOwnerUserId().equals(ownerUserId) && row.getSensorId().equals(sensorId)
+                        && row.getTimestamp() > after && (next == null || row.getTimestamp() < next)) {
+                    next = row.getTimestamp();
+                }
+            }
+            return next;
+        }
+
+        @Override
+        public boolean isIncrementalVacuumEnabled() {
+            return incrementalVacuum;
+        }
+
+        @Override
+        public void enableIncrementalVacuum() {
+            incrementalVacuum = true;
+            fullVacuums++;
+            size -= freePages * 10;
+            freePages = 0;
+        }
+
+        @Override
+        public long reclaimSpace(int maxPages) {
+            long freed = Math.min(maxPages, freePages);
+            freePages -= freed;
+            size -= freed * 10;
+            return freePages;
+        }
+
+        @Override
+        public long sizeBytes() {
+            return size;
+        }
+    }
+
+    private static RetentionPolicy policy(int chunkSize) {
+        return new RetentionPolicy.Builder()
+                .rawWindowMs(24 * HOUR)
+                .bucketMs(HOUR)
+                .maxGapMs(MAX_GAP)
+                .chunkSize(chunkSize)
+                .chunkPauseMs(0)
+                .vacuumPagesPerStep(4)
+                .build();
+    }
+
+    // ========== Chunking Tests ==========
+
+    @Test
+    public void run_deletesOnlyOldReadings_inChunks() {
+        FakeStore store = new FakeStore();
+        long now = 100 * HOUR;
+        for (int i = 0; i < 25; i++) {
+            store.add("owner", "s1", i * 60_000L, STANDING); // old
+        }
+        store.add("owner", "s1", now - HOUR, SITTING); // recent, kept
+
+        RetentionReport report = new RetentionRunner(store, policy(10)).run(now);
+
+        assertEquals(25, report.getRowsDeleted());
+        assertEquals(3, report.getChunks());
+        assertEquals(10, (int) store.deletedPerChunk.get(0));
+        assertEquals(1, store.rows.size());
+        assertEquals(now - HOUR, store.rows.get(0).getTimestamp());
+        assertFalse(report.isCancelled());
+    }
+
+    @Test
+    public void run_nothingOld_noChunksNoVacuum() {
+        FakeStore store = new FakeStore();
+        long now = 100 * HOUR;
+        store.add("owner", "s1", now - HOUR, STANDING);
+
+        RetentionReport report = new RetentionRunner(store, policy(10)).run(now);
+
+        assertEquals(0, report.getRowsDeleted());
+        assertEquals(0, report.getChunks());
+        assertEquals(0, report.getVacuumSteps());
+        assertEquals(1, store.rows.size());
+    }
+
+    @Test
+    public void run_reclaimsSpaceAndReportsBytes() {
+        FakeStore store = new FakeStore();
+        for (int i = 0; i < 10; i++) {
+            store.add("owner", "s1", i * 1_000L, STANDING);
+        }
+
+        RetentionReport report = new RetentionRunner(store, policy(100)).run(100 * HOUR);
+
+        assertEquals(0, store.freePages);
+        assertEquals(100, report.getBytesReclaimed());
+        assertEquals(3, report.getVacuumSteps()); // 10 free pages, 4 per step
+    }
+
+    @Test
+    public void run_autoVacuumOff_noFullVacuumWithoutLimit() {
+        FakeStore store = new FakeStore();
+        store.incrementalVacuum = false;
+        for (int i = 0; i < 10; i++) {
+            store.add("owner", "s1", i * 1_000L, STANDING);
+        }
+
+        RetentionReport report = new RetentionRunner(store, policy(100)).run(100 * HOUR);
+
+        assertEquals(0, store.fullVacuums);
+        assertEquals(0, report.getVacuumSteps());
+        assertEquals(10, store.freePages); // left for reuse
+    }
+
+    @Test
+    public void run_autoVacuumOff_fullVacuumOnlyUnderSizeLimit() {
+        FakeStore small = new FakeStore();
+        FakeStore large = new FakeStore();
+        for (FakeStore store : new FakeStore[]{small, large}) {
+            store.incrementalVacuum = false;
+            store.add("owner", "s1", 0L, STANDING);
+        }
+        large.size = 3_000_000;
+        RetentionPolicy idlePolicy = new RetentionPolicy.Builder()
+                .rawWindowMs(24 * HOUR)
+                .chunkPauseMs(0)
+                .fullVacuumMaxBytes(2_000_000)
+                .build();
+
+        new RetentionRunner(small, idlePolicy).run(100 * HOUR);
+        new RetentionRunner(large, idlePolicy).run(100 * HOUR);
+
+        assertEquals(1, small.fullVacuums);
+        assertTrue(small.incrementalVacuum);
+        assertEquals(0, large.fullVacuums);
+        assertFalse(large.incrementalVacuum);
+    }
+
+    @Test
+    public void cutoff_alignedToBucket() {
+        RetentionPolicy policy = policy(10);
+        long now = 100 * HOUR + 25 * 60_000L;
+
+        assertEquals(76 * HOUR, policy.cutoffFor(now));
+    }
+
+    // ========== Rollup Tests ==========
+
+    @Test
+    public void rollup_countsAndDurationsPerBucketAndCode() {
+        FakeStore store = new FakeStore();
+        store.add("owner", "s1", 0L, STANDING);
+        store.add("owner", "s1", 60_000L, STANDING);
+        store.add("owner", "s1", 120_000L, SITTING);
+        store.add("owner", "s1", HOUR + 30_000L, SITTING); // next bucket, gap capped at MAX_GAP before it
+
+        new RetentionRunner(store, policy(2)).run(100 * HOUR);
+
+        PostureRollup standing = store.rollup("owner", "s1", 0L, STANDING);
+        assertEquals(2, standing.getReadingCount());
+        assertEquals(120_000L, standing.getDurationMs());
+        assertEquals(0L, standing.getFirstTimestamp());
+        assertEquals(60_000L, standing.getLastTimestamp());
+
+        PostureRollup sitting = store.rollup("owner", "s1", 0L, SITTING);
+        assertEquals(1, sitting.getReadingCount());
+        assertEquals(MAX_GAP, sitting.getDurationMs());
+
+        PostureRollup nextBucket = store.rollup("owner", "s1", HOUR, SITTING);
+        assertEquals(1, nextBucket.getReadingCount());
+        assertEquals(0L, nextBucket.getDurationMs()); // no later reading
+    }
+
+    @Test
+    public void rollup_lastOldReadingLastsUntilFirstKeptReading() {
+        FakeStore store = new FakeStore();
+        long now = 100 * HOUR;
+        long cutoff = policy(10).cutoffFor(now);
+        store.add("owner", "s1", cutoff - 60_000L, STANDING);
+        store.add("owner", "s1", cutoff + 30_000L, SITTING); // kept
+
+        new RetentionRunner(store, policy(10)).run(now);
+
+        assertEquals(90_000L, store.rollup("owner", "s1", cutoff - HOUR, STANDING).getDurationMs());
+        assertEquals(1, store.rows.size());
+    }
+
+    @Test
+    public void rollup_sensorsAndOwnersKeptApart() {
+        FakeStore store = new FakeStore();
+        store.add("owner", "s1", 0L, STANDING);
+        store.add("owner", "s2", 10_000L, STANDING);
+        store.add("other", "s1", 20_000L, STANDING);
+        store.add("owner", "s1", 30_000L, STANDING);
+
+        new RetentionRunner(store, policy(10)).run(100 * HOUR);
+
+        assertEquals(2, store.rollup("owner", "s1", 0L, STANDING).getReadingCount());
+        assertEquals(30_000L, store.rollup("owner", "s1", 0L, STANDING).getDurationMs());
+        assertEquals(1, store.rollup("owner", "s2", 0L, STANDING).getReadingCount());
+        assertEquals(1, store.rollup("other", "s1", 0L, STANDING).getReadingCount());
+    }
+
+    @Test
+    public void rollup_mergesIntoExistingRowsAcrossRuns() {
+        FakeStore store = new FakeStore();
+        store.add("owner", "s1", 0L, STANDING);
+        store.add("owner", "s1", 60_000L, "0xab3311");
+        RetentionRunner runner = new RetentionRunner(store, policy(10));
+        runner.run(100 * HOUR);
+
+        store.add("owner", "s1", 120_000L, STANDING); // late backfill into the same bucket
+        new RetentionRunner(store, policy(10)).run(100 * HOUR);
+
+        assertEquals(1, store.rollups.size());
+        assertEquals(3, store.rollup("owner", "s1", 0L, STANDING).getReadingCount());
+        assertEquals(120_000L, store.rollup("owner", "s1", 0L, STANDING).getLastTimestamp());
+    }
+
+    @Test
+    public void rollup_mergeKeepsEarliestFirstAndLatestLast() {
+        PostureRollup base = new PostureRollup("o", "s", 0L, "0xab3311");
+        PostureRollup a = new PostureRollup("o", "s", 0L, "0xab3311");
+        a.setReadingCount(1);
+        a.setFirstTimestamp(50L);
+        a.setLastTimestamp(50L);
+        PostureRollup b = new PostureRollup("o", "s", 0L, "0xab3311");
+        b.setReadingCount(2);
+        b.setFirstTimestamp(10L);
+        b.setLastTimestamp(40L);
+        PostureRollup durationOnly = new PostureRollup("o", "s", 0L, "0xab3311");
+        durationOnly.setDurationMs(5L);
+
+        base.merge(a);
+        base.merge(b);
+        base.merge(durationOnly);
+
+        assertEquals(3, base.getReadingCount());
+        assertEquals(10L, base.getFirstTimestamp());
+        assertEquals(50L, base.getLastTimestamp());
+        assertEquals(5L, base.getDurationMs());
+    }
+
+    // ========== Backfill Tests ==========
+
+    @Test
+    public void backfill_afterEverythingAgedOut_doesNotRollUpReadingsTwice() {
+        List<Long> server = new ArrayList<>(); // timestamps of the uploaded readings
+        for (int i = 0; i < 10; i++) {
+            server.add(i * 60_000L);
+        }
+        FakeStore store = new FakeStore();
+        for (long timestamp : server) {
+            store.add("owner", "s1", timestamp, STANDING);
+        }
+        new RetentionRunner(store, policy(4)).run(100 * HOUR);
+        assertTrue(store.rows.isEmpty());
+
+        server.add(20 * 60_000L); // uploaded after the pass
+        long since = RetentionRunner.backfillStartAfter(store.maxTimestamp(), store.maxRolledUpTimestamp());
+        for (long timestamp : server) {
+            if (timestamp > since) {
+                store.add("owner", "s1", timestamp, STANDING);
+            }
+        }
+        new RetentionRunner(store, policy(4)).run(100 * HOUR);
+
+        assertEquals(9 * 60_000L, since);
+        assertEquals(server.size(), store.rolledUpReadings());
+    }
+
+    @Test
+    public void backfillStartAfter_keptReadingsNewerThanRollups() {
+        assertEquals(5_000L, RetentionRunner.backfillStartAfter(5_000L, 1_000L));
+        assertEquals(1_000L, RetentionRunner.backfillStartAfter(0L, 1_000L));
+        assertEquals(0L, RetentionRunner.backfillStartAfter(0L, 0L));
+    }
+
+    // ========== Cancel / Policy Tests ==========
+
+    @Test
+    public void cancel_stopsAfterCurrentChunk() {
+        FakeStore store = new FakeStore() {
+            @Override
+            public int applyChunk(List<PostureRollup> deltas, List<Long> readingIds) {
+                int deleted = super.applyChunk(deltas, readingIds);
+                runnerRef[0].cancel();
+                return deleted;
+            }
+        };
+        for (int i = 0; i < 30; i++) {
+            store.add("owner", "s1", i * 1_000L, STANDING);
+        }
+        RetentionRunner runner = new RetentionRunner(store, policy(10));
+        runnerRef[0] = runner;
+
+        RetentionReport report = runner.run(100 * HOUR);
+
+        assertTrue(report.isCancelled());
+        assertEquals(10, report.getRowsDeleted());
+        assertEquals(20, store.rows.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void policy_rejectsChunkAboveParameterLimit() {
+        new RetentionPolicy.Builder().chunkSize(5000).build();
+    }
+}
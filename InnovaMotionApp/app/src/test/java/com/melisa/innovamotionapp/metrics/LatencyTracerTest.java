@@ -0,0 +1,156 @@
+package com.melisa.innovamotionapp.metrics;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.utils.Constants;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for ReadingTrace and the LatencyTracer stage recording.
+ */
+public class LatencyTracerTest {
+
+    @Before
+    public void setUp() {
+        MetricsRegistry.getInstance().reset();
+    }
+
+    // ========== ReadingTrace Tests ==========
+
+    @Test
+    public void firestoreMap_roundTripsAggregatorStamps() {
+        ReadingTrace trace = new ReadingTrace(1_000L);
+        trace.setPacketAt(1_005L);
+        trace.setRoomAt(1_030L);
+        trace.setServerAt(1_200L);
+
+        ReadingTrace parsed = ReadingTrace.fromFirestoreMap(trace.toFirestoreMap());
+
+        assertNotNull(parsed);
+        assertEquals(1_000L, parsed.getReadAt());
+        assertEquals(1_005L, parsed.getPacketAt());
+        assertEquals(1_030L, parsed.getRoomAt());
+        assertEquals("server time is not part of the map", 0L, parsed.getServerAt());
+    }
+
+    @Test
+    public void fromFirestoreMap_absentOrInvalidIsNull() {
+        assertNull(ReadingTrace.fromFirestoreMap(null));
+        assertNull(ReadingTrace.fromFirestoreMap("trace"));
+        assertNull(ReadingTrace.fromFirestoreMap(new HashMap<String, Object>()));
+    }
+
+    @Test
+    public void fromFirestoreMap_acceptsAnyNumberType() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("read", 1_000);
+        map.put("packet", 1_005.0);
+
+        ReadingTrace parsed = ReadingTrace.fromFirestoreMap(map);
+
+        assertNotNull(parsed);
+        assertEquals(1_000L, parsed.getReadAt());
+        assertEquals(1_005L, parsed.getPacketAt());
+        assertEquals(0L, parsed.getRoomAt());
+    }
+
+    @Test
+    public void arrivedAt_prefersSnapshotOverPacket() {
+        ReadingTrace trace = new ReadingTrace(1_000L);
+        assertEquals(0L, trace.getArrivedAt());
+
+        trace.setPacketAt(1_005L);
+        assertEquals(1_005L, trace.getArrivedAt());
+
+        trace.setSnapshotAt(2_000L);
+        assertEquals(2_000L, trace.getArrivedAt());
+    }
+
+    // ========== Stage Tests ==========
+
+    @Test
+    public void stage_recordsDeltaInNanos() {
+        Histogram histogram = new Histogram("h", true);
+
+        LatencyTracer.stage(histogram, 1_000L, 1_250L);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(250_000_000L, histogram.getMax());
+    }
+
+    @Test
+    public void stage_unstampedIsIgnored() {
+        Histogram histogram = new Histogram("h", true);
+
+        LatencyTracer.stage(histogram, 0L, 1_250L);
+        LatencyTracer.stage(histogram, 1_000L, 0L);
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, Metrics.TRACE_SKIPPED.get());
+    }
+
+    @Test
+    public void stage_negativeClockOffsetClampsToZero() {
+        Histogram histogram = new Histogram("h", true);
+
+        LatencyTracer.stage(histogram, 2_000L, 1_900L);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+    }
+
+    @Test
+    public void stage_catchUpGapCountedNotRecorded() {
+        Histogram histogram = new Histogram("h", true);
+
+        LatencyTracer.stage(histogram, 1_000L, 1_000L + Constants.TRACE_MAX_STAGE_MS + 1);
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(1, Metrics.TRACE_SKIPPED.get());
+    }
+
+    // ========== Pipeline Tests ==========
+
+    @Test
+    public void aggregatorPipeline_recordsEachStage() {
+        ReadingTrace trace = LatencyTracer.onPacketComplete(1_000L, 1_010L);
+        ReceivedBtDataEntity entity = new ReceivedBtDataEntity("AA:BB", 1_000L, "0xAB3311", "owner", "sensor001");
+        entity.setTrace(trace);
+
+        LatencyTracer.onRoomCommitted(Collections.singletonList(entity), 1_060L);
+        LatencyTracer.onFirestoreCommitted(Collections.singletonList(entity), 1_260L);
+
+        assertEquals(1_060L, trace.getRoomAt());
+        assertEquals(10_000_000L, Metrics.TRACE_READ_TO_PACKET.getMax());
+        assertEquals(50_000_000L, Metrics.TRACE_PACKET_TO_ROOM.getMax());
+        assertEquals(200_000_000L, Metrics.TRACE_ROOM_TO_FIRESTORE.getMax());
+    }
+
+    @Test
+    public void untracedEntities_areSkipped() {
+        ReceivedBtDataEntity entity = new ReceivedBtDataEntity("AA:BB", 1_000L, "0xAB3311", "owner", "sensor001");
+
+        LatencyTracer.onRoomCommitted(Collections.singletonList(entity), 1_060L);
+
+        assertEquals(0, Metrics.TRACE_PACKET_TO_ROOM.getCount());
+    }
+
+    @Test
+    public void snapshotReceived_recordsServerAndEndToEnd() {
+        ReadingTrace trace = new ReadingTrace(1_000L);
+        trace.setServerAt(1_300L);
+
+        LatencyTracer.onSnapshotReceived(trace, 1_400L);
+
+        assertEquals(1_400L, trace.getSnapshotAt());
+        assertEquals(100_000_000L, Metrics.TRACE_SERVER_TO_SNAPSHOT.getMax());
+        assertEquals(400_000_000L, Metrics.TRACE_READ_TO_SNAPSHOT.getMax());
+    }
+}
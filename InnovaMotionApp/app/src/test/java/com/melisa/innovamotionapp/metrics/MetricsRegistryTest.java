@@ -0,0 +1,170 @@
+package com.melisa.innovamotionapp.metrics;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for MetricsRegistry and the histogram bucket layout.
+ */
+public class MetricsRegistryTest {
+
+    // ========== Histogram Bucket Tests ==========
+
+    @Test
+    public void bucketIndex_smallValuesExact() {
+        for (int v = 0; v < Histogram.SUB_BUCKETS; v++) {
+            assertEquals(v, Histogram.bucketIndex(v));
+            assertEquals(v, Histogram.bucketLowerBound(v));
+        }
+    }
+
+    @Test
+    public void bucketIndex_boundsContainValue() {
+        long[] values = {16, 17, 31, 32, 33, 1000, 123_456_789L, 1L << 40, Long.MAX_VALUE};
+        for (long v : values) {
+            int index = Histogram.bucketIndex(v);
+            assertTrue(index < Histogram.BUCKET_COUNT);
+            assertTrue(v + " >= lower", v >= Histogram.bucketLowerBound(index));
+            assertTrue(v + " <= upper", v <= Histogram.bucketUpperBound(index));
+        }
+    }
+
+    @Test
+    public void bucketIndex_contiguousAndMonotonic() {
+        for (int i = 1; i < Histogram.BUCKET_COUNT; i++) {
+            assertEquals(Histogram.bucketUpperBound(i - 1) + 1, Histogram.bucketLowerBound(i));
+        }
+    }
+
+    @Test
+    public void bucketWidth_withinOneSixteenth() {
+        for (int i = Histogram.SUB_BUCKETS; i < Histogram.BUCKET_COUNT - 1; i++) {
+            long lower = Histogram.bucketLowerBound(i);
+            long width = Histogram.bucketUpperBound(i) - lower + 1;
+            assertTrue(width * Histogram.SUB_BUCKETS <= lower);
+        }
+    }
+
+    // ========== Histogram Tests ==========
+
+    @Test
+    public void percentiles_withinBucketPrecision() {
+        Histogram histogram = new Histogram("h", false);
+        for (long v = 1; v <= 1000; v++) {
+            histogram.record(v);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1000, histogram.getMax());
+        assertEquals(500.5, histogram.getMean(), 0.001);
+        assertEquals(500, histogram.getPercentile(50), 500 / 16.0);
+        assertEquals(990, histogram.getPercentile(99), 990 / 16.0);
+        assertEquals(1000, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void percentile_neverAboveMax() {
+        Histogram histogram = new Histogram("h", false);
+        histogram.record(17);
+
+        assertEquals(17, histogram.getPercentile(50));
+    }
+
+    @Test
+    public void record_negativeCountsAsZero() {
+        Histogram histogram = new Histogram("h", true);
+        histogram.record(-5);
+
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getMax());
+        assertEquals(0, histogram.getPercentile(99));
+    }
+
+    @Test
+    public void empty_reportsZero() {
+        Histogram histogram = new Histogram("h", false);
+
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0.0, histogram.getMean(), 0.0);
+    }
+
+    // ========== Registry Tests ==========
+
+    @Test
+    public void sameNameReturnsSameMetric() {
+        MetricsRegistry registry = new MetricsRegistry();
+
+        assertSame(registry.counter("a"), registry.counter("a"));
+        assertSame(registry.gauge("g"), registry.gauge("g"));
+        assertSame(registry.latency("l"), registry.latency("l"));
+    }
+
+    @Test
+    public void gauge_tracksMaxUntilReset() {
+        MetricsRegistry registry = new MetricsRegistry();
+        Gauge gauge = registry.gauge("queue");
+        gauge.set(5);
+        gauge.set(40);
+        gauge.set(3);
+
+        assertEquals(3, gauge.get());
+        assertEquals(40, gauge.getMax());
+
+        registry.reset();
+        assertEquals(3, gauge.getMax());
+    }
+
+    @Test
+    public void reset_zeroesCountersAndHistograms() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("c").add(7);
+        registry.histogram("h").record(12);
+
+        registry.reset();
+
+        assertEquals(0, registry.counter("c").get());
+        assertEquals(0, registry.histogram("h").getCount());
+    }
+
+    @Test
+    public void toText_listsMetricsSortedByName() {
+        MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("b.count").add(3);
+        registry.counter("a.count").increment();
+        registry.latency("x.latency").record(2_000_000);
+        registry.histogram("y.size").record(50);
+
+        String text = registry.toText();
+
+        assertTrue(text.indexOf("a.count 1") < text.indexOf("b.count 3"));
+        assertTrue(text.contains("x.latency n=1"));
+        assertTrue(text.contains("max=2.00 ms"));
+        assertTrue(text.contains("y.size n=1"));
+        assertTrue(text.contains("max=50"));
+    }
+
+    @Test
+    public void concurrentRecording_countsEverything() throws InterruptedException {
+        MetricsRegistry registry = new MetricsRegistry();
+        Counter counter = registry.counter("c");
+        Histogram histogram = registry.histogram("h");
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    counter.increment();
+                    histogram.record(i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(40_000, counter.get());
+        assertEquals(40_000, histogram.getCount());
+        assertEquals(9_999, histogram.getMax());
+    }
+}
@@ -0,0 +1,166 @@
+package com.melisa.innovamotionapp.metrics;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Unit tests for StartupTracer: init timing, time to first frame and deferred work.
+ */
+public class StartupTracerTest {
+
+    private static final long MS = 1_000_000L;
+
+    private long now;
+    private MetricsRegistry registry;
+    private StartupTracer tracer;
+
+    @Before
+    public void setUp() {
+        now = 1_000 * MS;
+        registry = new MetricsRegistry();
+        tracer = new StartupTracer(() -> now, registry);
+        Metrics.STARTUP_TIME_TO_FIRST_FRAME.reset();
+    }
+
+    // ========== Init Timing Tests ==========
+
+    @Test
+    public void endInit_recordsHistogramAndTimeline() {
+        tracer.onProcessStart(100);
+        long start = tracer.begin();
+        now += 12 * MS;
+        tracer.endInit("FirestoreSyncService", start);
+
+        Histogram histogram = registry.latency("startup.init.FirestoreSyncService");
+        assertEquals(1, histogram.getCount());
+        assertEquals(12 * MS, histogram.getMax(), 12 * MS / 16.0);
+
+        List<StartupTracer.InitEvent> events = tracer.getEvents();
+        assertEquals(1, events.size());
+        assertEquals("FirestoreSyncService", events.get(0).getName());
+        assertEquals(100 * MS, events.get(0).getOffsetNanos());
+        assertEquals(12 * MS, events.get(0).getDurationNanos());
+        assertEquals(Thread.currentThread().getName(), events.get(0).getThread());
+        assertTrue(events.get(0).isBeforeFirstFrame());
+    }
+
+    @Test
+    public void nestedInits_listedInOrderTheyFinish() {
+        long outer = tracer.begin();
+        now += 2 * MS;
+        long inner = tracer.begin();
+        now += 5 * MS;
+        tracer.endInit("FirestoreSyncService", inner);
+        now += 1 * MS;
+        tracer.endInit("SessionGate", outer);
+
+        List<StartupTracer.InitEvent> events = tracer.getEvents();
+        assertEquals("FirestoreSyncService", events.get(0).getName());
+        assertEquals("SessionGate", events.get(1).getName());
+        assertEquals("inclusive of the nested init", 8 * MS, events.get(1).getDurationNanos());
+    }
+
+    // ========== First Frame Tests ==========
+
+    @Test
+    public void onFirstFrame_recordsTimeFromProcessStart() {
+        tracer.onProcessStart(150);
+        now += 250 * MS;
+
+        tracer.onFirstFrame("LoginActivity");
+
+        assertTrue(tracer.isFirstFrameDrawn());
+        assertEquals(400 * MS, tracer.getTimeToFirstFrameNanos());
+        assertEquals("LoginActivity", tracer.getFirstActivity());
+        assertEquals(1, Metrics.STARTUP_TIME_TO_FIRST_FRAME.getCount());
+    }
+
+    @Test
+    public void onFirstFrame_laterCallsIgnored() {
+        tracer.onFirstFrame("LoginActivity");
+        now += 500 * MS;
+        tracer.onFirstFrame("MainActivity");
+
+        assertEquals("LoginActivity", tracer.getFirstActivity());
+        assertEquals(1, Metrics.STARTUP_TIME_TO_FIRST_FRAME.getCount());
+    }
+
+    @Test
+    public void initAfterFirstFrame_notMarkedBeforeFirstFrame() {
+        tracer.onFirstFrame("LoginActivity");
+        long start = tracer.begin();
+        tracer.endInit("PersonNameManager", start);
+
+        assertFalse(tracer.getEvents().get(0).isBeforeFirstFrame());
+    }
+
+    @Test
+    public void noFirstFrame_timeIsUnknown() {
+        assertFalse(tracer.isFirstFrameDrawn());
+        assertEquals(-1, tracer.getTimeToFirstFrameNanos());
+        assertTrue(tracer.toText().startsWith("first frame: not drawn"));
+    }
+
+    // ========== Deferred Work Tests ==========
+
+    @Test
+    public void runAfterFirstFrame_queuedUntilFirstFrame() {
+        List<String> ran = new ArrayList<>();
+        tracer.runAfterFirstFrame(() -> ran.add("retention"));
+        tracer.runAfterFirstFrame(() -> ran.add("warm-up"));
+
+        assertTrue(ran.isEmpty());
+
+        tracer.onFirstFrame("LoginActivity");
+
+        assertEquals(2, ran.size());
+        assertEquals("retention", ran.get(0));
+    }
+
+    @Test
+    public void runAfterFirstFrame_afterFirstFrameRunsImmediately() {
+        List<String> ran = new ArrayList<>();
+        tracer.onFirstFrame("LoginActivity");
+
+        tracer.runAfterFirstFrame(() -> ran.add("late"));
+
+        assertEquals(1, ran.size());
+    }
+
+    @Test
+    public void releaseDeferred_withoutFrame_runsOnce() {
+        List<String> ran = new ArrayList<>();
+        tracer.runAfterFirstFrame(() -> ran.add("retention"));
+
+        tracer.releaseDeferred();
+        tracer.releaseDeferred();
+        tracer.onFirstFrame("LoginActivity");
+
+        assertEquals(1, ran.size());
+        assertTrue("a later first frame is still recorded", tracer.isFirstFrameDrawn());
+    }
+
+    // ========== Timeline Text Tests ==========
+
+    @Test
+    public void toText_marksMainThreadInitsBeforeFirstFrame() throws Exception {
+        Thread main = new Thread(() -> {
+            long start = tracer.begin();
+            now += 30 * MS;
+            tracer.endInit("SessionGate", start);
+        }, "main");
+        main.start();
+        main.join();
+        tracer.onFirstFrame("LoginActivity");
+
+        String text = tracer.toText();
+
+        assertTrue(text.startsWith("first frame 30.0 ms (LoginActivity)"));
+        assertTrue(text.contains("SessionGate 30.00 ms [main] BLOCKED FIRST FRAME"));
+    }
+}
@@ -0,0 +1,113 @@
+package com.melisa.innovamotionapp.sync;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.CachedAssignment;
+import com.melisa.innovamotionapp.data.database.DirectoryUser;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for AssignmentMaps: sensor and supervisor lists, email resolution with UID
+ * fallback, and which directory entries need a fetch.
+ */
+public class AssignmentMapsTest {
+
+    private static final long TTL = 24 * 60 * 60 * 1000L;
+
+    private static CachedAssignment assignment(String supervisorUid, String sensorId) {
+        return new CachedAssignment(supervisorUid + "_" + sensorId, supervisorUid, sensorId, "agg1", 1_000L);
+    }
+
+    // ========== List Tests ==========
+
+    @Test
+    public void sensorIds_areDistinctInOrder() {
+        List<CachedAssignment> rows = Arrays.asList(
+                assignment("sup1", "sensor002"),
+                assignment("sup2", "sensor001"),
+                assignment("sup3", "sensor002"));
+
+        assertEquals(Arrays.asList("sensor002", "sensor001"), AssignmentMaps.sensorIds(rows));
+    }
+
+    @Test
+    public void supervisorUids_areDistinct() {
+        List<CachedAssignment> rows = Arrays.asList(
+                assignment("sup1", "sensor001"),
+                assignment("sup1", "sensor002"),
+                assignment("sup2", "sensor001"));
+
+        assertEquals(Arrays.asList("sup1", "sup2"), AssignmentMaps.supervisorUids(rows));
+    }
+
+    @Test
+    public void byUid_handlesNull() {
+        assertTrue(AssignmentMaps.byUid(null).isEmpty());
+    }
+
+    // ========== Email Map Tests ==========
+
+    @Test
+    public void emailMap_usesDirectoryEmails() {
+        List<CachedAssignment> rows = Arrays.asList(
+                assignment("sup1", "sensor001"),
+                assignment("sup2", "sensor001"),
+                assignment("sup1", "sensor002"));
+        Map<String, DirectoryUser> directory = AssignmentMaps.byUid(Arrays.asList(
+                new DirectoryUser("sup1", "ana@example.com", "Ana", 1_000L, true),
+                new DirectoryUser("sup2", "ion@example.com", null, 1_000L, true)));
+
+        Map<String, List<String>> map = AssignmentMaps.supervisorEmailsBySensor(rows, directory);
+
+        assertEquals(Arrays.asList("ana@example.com", "ion@example.com"), map.get("sensor001"));
+        assertEquals(Collections.singletonList("ana@example.com"), map.get("sensor002"));
+    }
+
+    @Test
+    public void emailMap_fallsBackToUid() {
+        List<CachedAssignment> rows = Arrays.asList(
+                assignment("sup1", "sensor001"),
+                assignment("sup2", "sensor001"));
+        Map<String, DirectoryUser> directory = AssignmentMaps.byUid(Collections.singletonList(
+                new DirectoryUser("sup2", null, null, 1_000L, true)));
+
+        Map<String, List<String>> map = AssignmentMaps.supervisorEmailsBySensor(rows, directory);
+
+        assertEquals(Arrays.asList("sup1", "sup2"), map.get("sensor001"));
+    }
+
+    @Test
+    public void emailMap_emptyAssignments() {
+        assertTrue(AssignmentMaps.supervisorEmailsBySensor(Collections.emptyList(), Collections.emptyMap()).isEmpty());
+    }
+
+    // ========== Directory Fetch Tests ==========
+
+    @Test
+    public void uidsToFetch_missingAndStaleOnly() {
+        long now = 10 * TTL;
+        Map<String, DirectoryUser> directory = AssignmentMaps.byUid(Arrays.asList(
+                new DirectoryUser("fresh", "a@example.com", null, now - 1_000L, true),
+                new DirectoryUser("stale", "b@example.com", null, now - TTL, true)));
+
+        List<String> toFetch = AssignmentMaps.uidsToFetch(
+                Arrays.asList("fresh", "stale", "missing", "missing"), directory, now, TTL);
+
+        assertEquals(Arrays.asList("stale", "missing"), toFetch);
+    }
+
+    @Test
+    public void uidsToFetch_futureEntry_isRefetched() {
+        Map<String, DirectoryUser> directory = AssignmentMaps.byUid(Collections.singletonList(
+                new DirectoryUser("sup1", "a@example.com", null, 5_000L, true)));
+
+        assertEquals(Collections.singletonList("sup1"),
+                AssignmentMaps.uidsToFetch(Collections.singletonList("sup1"), directory, 1_000L, TTL));
+    }
+}
@@ -0,0 +1,243 @@
+package com.melisa.innovamotionapp.sync;
+
+import static org.junit.Assert.*;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for BootstrapGraph: dependency ordering, concurrency of independent steps,
+ * failure propagation, cancellation and step timings.
+ */
+public class BootstrapGraphTest {
+
+    private static final long MS = 1_000_000L;
+
+    private long now;
+    private RecordingListener listener;
+    private BootstrapGraph graph;
+    // Running steps by name, completed by the test like a network callback would
+    private Map<String, BootstrapGraph.Completion> running;
+    private List<String> started;
+
+    @Before
+    public void setUp() {
+        now = 0;
+        listener = new RecordingListener();
+        graph = new BootstrapGraph(() -> now, listener);
+        running = new HashMap<>();
+        started = new ArrayList<>();
+    }
+
+    private BootstrapGraph.Step async(String name) {
+        return completion -> {
+            started.add(name);
+            running.put(name, completion);
+        };
+    }
+
+    private BootstrapGraph.StepResult result(String name) {
+        for (BootstrapGraph.StepResult result : graph.getResults()) {
+            if (result.getName().equals(name)) {
+                return result;
+            }
+        }
+        throw new AssertionError("no step " + name);
+    }
+
+    // ========== Ordering Tests ==========
+
+    @Test
+    public void independentSteps_startTogether() {
+        graph.addStep("backfill", async("backfill"))
+                .addStep("sensor_names", async("sensor_names"));
+
+        graph.start();
+
+        assertEquals(2, started.size());
+        assertTrue(started.contains("backfill"));
+        assertTrue(started.contains("sensor_names"));
+    }
+
+    @Test
+    public void dependents_waitForDependency_thenStartConcurrently() {
+        graph.addStep("assignments", async("assignments"))
+                .addStep("mirrors", async("mirrors"), "assignments")
+                .addStep("history", async("history"), "assignments")
+                .addStep("sensor_names", async("sensor_names"), "assignments");
+
+        graph.start();
+        assertEquals(1, started.size());
+
+        running.get("assignments").succeeded();
+
+        assertEquals(4, started.size());
+        assertEquals(BootstrapGraph.State.RUNNING, result("mirrors").getState());
+        assertEquals(BootstrapGraph.State.RUNNING, result("history").getState());
+    }
+
+    @Test
+    public void stepWithTwoDependencies_waitsForBoth() {
+        graph.addStep("a", async("a"))
+                .addStep("b", async("b"))
+                .addStep("c", async("c"), "a", "b");
+
+        graph.start();
+        running.get("a").succeeded();
+        assertFalse(started.contains("c"));
+
+        running.get("b").succeeded();
+        assertTrue(started.contains("c"));
+    }
+
+    @Test
+    public void synchronousSteps_runWholeGraph() {
+        graph.addStep("a", BootstrapGraph.Completion::succeeded)
+                .addStep("b", BootstrapGraph.Completion::succeeded, "a");
+
+        graph.start();
+
+        assertEquals(1, listener.finishedCalls);
+        assertEquals(BootstrapGraph.State.SUCCEEDED, result("b").getState());
+    }
+
+    @Test
+    public void emptyGraph_finishesImmediately() {
+        graph.start();
+
+        assertEquals(1, listener.finishedCalls);
+    }
+
+    // ========== Failure Tests ==========
+
+    @Test
+    public void failedStep_skipsDependentsTransitively_otherBranchContinues() {
+        graph.addStep("assignments", async("assignments"))
+                .addStep("history", async("history"), "assignments")
+                .addStep("rollups", async("rollups"), "history")
+                .addStep("profile", async("profile"));
+
+        graph.start();
+        running.get("assignments").failed("offline");
+
+        assertEquals(BootstrapGraph.State.SKIPPED, result("history").getState());
+        assertEquals(BootstrapGraph.State.SKIPPED, result("rollups").getState());
+        assertEquals("assignments failed", result("history").getError());
+        assertEquals(BootstrapGraph.State.RUNNING, result("profile").getState());
+        assertEquals(0, listener.finishedCalls);
+
+        running.get("profile").succeeded();
+
+        assertEquals(1, listener.finishedCalls);
+        assertFalse(started.contains("history"));
+    }
+
+    @Test
+    public void throwingStep_countsAsFailed() {
+        graph.addStep("a", completion -> {
+            throw new IllegalStateException("boom");
+        });
+
+        graph.start();
+
+        assertEquals(BootstrapGraph.State.FAILED, result("a").getState());
+        assertTrue(result("a").getError().contains("boom"));
+        assertEquals(1, listener.finishedCalls);
+    }
+
+    @Test
+    public void secondCompletion_ignored() {
+        graph.addStep("a", async("a"));
+        graph.start();
+
+        running.get("a").succeeded();
+        running.get("a").failed("late");
+
+        assertEquals(BootstrapGraph.State.SUCCEEDED, result("a").getState());
+        assertEquals(1, listener.stepCalls.size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownDependency_rejected() {
+        graph.addStep("mirrors", async("mirrors"), "assignments");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void duplicateStep_rejected() {
+        graph.addStep("a", async("a")).addStep("a", async("a"));
+    }
+
+    // ========== Cancellation Tests ==========
+
+    @Test
+    public void cancel_startsNoFurtherSteps_andIgnoresCompletions() {
+        graph.addStep("assignments", async("assignments"))
+                .addStep("mirrors", async("mirrors"), "assignments");
+        graph.start();
+
+        graph.cancel();
+        BootstrapGraph.Completion assignments = running.get("assignments");
+        assertTrue(assignments.isCancelled());
+        assignments.succeeded();
+
+        assertFalse(started.contains("mirrors"));
+        assertEquals(BootstrapGraph.State.RUNNING, result("assignments").getState());
+        assertEquals(0, listener.finishedCalls);
+        assertTrue(listener.stepCalls.isEmpty());
+    }
+
+    // ========== Timing Tests ==========
+
+    @Test
+    public void results_reportStartOffsetAndDuration() {
+        graph.addStep("assignments", async("assignments"))
+                .addStep("history", async("history"), "assignments");
+        graph.start();
+
+        now += 120 * MS;
+        running.get("assignments").succeeded();
+        now += 300 * MS;
+        running.get("history").succeeded();
+
+        assertEquals(0, result("assignments").getStartOffsetNanos());
+        assertEquals(120 * MS, result("assignments").getDurationNanos());
+        assertEquals(120 * MS, result("history").getStartOffsetNanos());
+        assertEquals(300 * MS, result("history").getDurationNanos());
+        assertEquals("assignments succeeded +0 ms 120 ms\nhistory succeeded +120 ms 300 ms\n",
+                BootstrapGraph.format(listener.finalResults));
+    }
+
+    @Test
+    public void format_skippedStepHasNoTiming() {
+        graph.addStep("a", completion -> completion.failed("offline"))
+                .addStep("b", async("b"), "a");
+        graph.start();
+
+        assertEquals("a failed +0 ms 0 ms (offline)\nb skipped (a failed)\n",
+                BootstrapGraph.format(graph.getResults()));
+    }
+
+    private static class RecordingListener implements BootstrapGraph.Listener {
+        final List<BootstrapGraph.StepResult> stepCalls = new ArrayList<>();
+        List<BootstrapGraph.StepResult> finalResults;
+        int finishedCalls;
+
+        @Override
+        public void onStepFinished(@NonNull BootstrapGraph.StepResult result) {
+            stepCalls.add(result);
+        }
+
+        @Override
+        public void onFinished(@NonNull List<BootstrapGraph.StepResult> results) {
+            finishedCalls++;
+            finalResults = results;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.melisa.innovamotionapp.sync;
+
+import static org.junit.Assert.*;
+
+import androidx.annotation.NonNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Unit tests for CacheFreshness: TTL expiry, live scopes, listener snapshots, persistence across
+ * instances and clearing.
+ */
+public class CacheFreshnessTest {
+
+    private static final long TTL = 15 * 60 * 1000L;
+    private static final String KEY = "SUPERVISOR:sup1";
+
+    private MapStore store;
+    private CacheFreshness freshness;
+
+    @Before
+    public void setUp() {
+        store = new MapStore();
+        freshness = new CacheFreshness(store, TTL);
+    }
+
+    // ========== TTL Tests ==========
+
+    @Test
+    public void neverSynced_isStale() {
+        assertFalse(freshness.isFresh(KEY, 1_000L));
+    }
+
+    @Test
+    public void synced_isFreshUntilTtl() {
+        freshness.markSynced(KEY, 1_000L);
+
+        assertTrue(freshness.isFresh(KEY, 1_000L));
+        assertTrue(freshness.isFresh(KEY, 1_000L + TTL - 1));
+        assertFalse(freshness.isFresh(KEY, 1_000L + TTL));
+    }
+
+    @Test
+    public void clockBeforeSync_isStale() {
+        freshness.markSynced(KEY, 10_000L);
+
+        assertFalse(freshness.isFresh(KEY, 5_000L));
+    }
+
+    @Test
+    public void scopes_areIndependent() {
+        freshness.markSynced(KEY, 1_000L);
+
+        assertFalse(freshness.isFresh("AGGREGATOR:agg1", 1_000L));
+    }
+
+    // ========== Live Tests ==========
+
+    @Test
+    public void liveScope_isFreshPastTtl() {
+        freshness.markSynced(KEY, 1_000L);
+        freshness.setLive(KEY, true);
+
+        assertTrue(freshness.isFresh(KEY, 1_000L + 10 * TTL));
+    }
+
+    @Test
+    public void stoppedListener_fallsBackToTtl() {
+        freshness.markSynced(KEY, 1_000L);
+        freshness.setLive(KEY, true);
+        freshness.setLive(KEY, false);
+
+        assertFalse(freshness.isLive(KEY));
+        assertTrue(freshness.isFresh(KEY, 2_000L));
+        assertFalse(freshness.isFresh(KEY, 1_000L + TTL));
+    }
+
+    // ========== Snapshot Tests ==========
+
+    @Test
+    public void cachedThenUnchangedServerSnapshot_refillsOnce() {
+        // Listener start: the cached result, then the server confirming it unchanged (metadata only)
+        assertEquals(CacheFreshness.SnapshotAction.WAIT, freshness.onSnapshot(KEY, true));
+        assertEquals(CacheFreshness.SnapshotAction.REFILL, freshness.onSnapshot(KEY, false));
+        freshness.markSynced(KEY, 1_000L);
+        freshness.setLive(KEY, true);
+
+        assertEquals(CacheFreshness.SnapshotAction.APPLY_CHANGES, freshness.onSnapshot(KEY, false));
+        assertTrue(freshness.isFresh(KEY, 1_000L + 10 * TTL));
+    }
+
+    @Test
+    public void restartedListener_waitsForUnchangedServerSnapshotAgain() {
+        String directory = "supervisors";
+        freshness.markSynced(directory, 1_000L);
+        freshness.setLive(directory, true);
+        freshness.setLive(directory, false); // last screen detached, listener stopped
+
+        assertEquals(CacheFreshness.SnapshotAction.WAIT, freshness.onSnapshot(directory, true));
+        assertEquals(CacheFreshness.SnapshotAction.REFILL, freshness.onSnapshot(directory, false));
+    }
+
+    @Test
+    public void liveScope_offlineSnapshotStillAppliesChanges() {
+        freshness.setLive(KEY, true);
+
+        assertEquals(CacheFreshness.SnapshotAction.APPLY_CHANGES, freshness.onSnapshot(KEY, true));
+    }
+
+    // ========== Persistence Tests ==========
+
+    @Test
+    public void syncTime_survivesRestart() {
+        freshness.markSynced(KEY, 1_000L);
+
+        CacheFreshness restarted = new CacheFreshness(store, TTL);
+        assertTrue(restarted.isFresh(KEY, 2_000L));
+        assertFalse("live state is not persisted", restarted.isLive(KEY));
+    }
+
+    @Test
+    public void clear_forgetsEverything() {
+        freshness.markSynced(KEY, 1_000L);
+        freshness.setLive(KEY, true);
+
+        freshness.clear();
+
+        assertFalse(freshness.isFresh(KEY, 2_000L));
+        assertTrue(store.values.isEmpty());
+    }
+
+    private static class MapStore implements CacheFreshness.Store {
+        final Map<String, Long> values = new HashMap<>();
+
+        @Override
+        public long load(@NonNull String key) {
+            Long value = values.get(key);
+            return value != null ? value : 0L;
+        }
+
+        @Override
+        public void save(@NonNull String key, long syncedAtMs) {
+            values.put(key, syncedAtMs);
+        }
+
+        @Override
+        public void clear() {
+            values.clear();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.melisa.innovamotionapp.sync;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for FallEpisodeDetector: one alert per fall episode, per sensor, in timestamp order.
+ */
+public class FallEpisodeDetectorTest {
+
+    private FallEpisodeDetector detector;
+
+    @Before
+    public void setUp() {
+        detector = new FallEpisodeDetector();
+    }
+
+    // ========== Episode Tests ==========
+
+    @Test
+    public void firstReading_fall_startsEpisode() {
+        assertTrue(detector.offer("s1", 100, true));
+    }
+
+    @Test
+    public void nonFall_neverAlerts() {
+        assertFalse(detector.offer("s1", 100, false));
+        assertFalse(detector.offer("s1", 200, false));
+    }
+
+    @Test
+    public void repeatedFallReadings_alertOnce() {
+        assertTrue(detector.offer("s1", 100, true));
+        assertFalse(detector.offer("s1", 200, true));
+        assertFalse(detector.offer("s1", 300, true));
+    }
+
+    @Test
+    public void fallAfterRecovery_startsNewEpisode() {
+        assertTrue(detector.offer("s1", 100, true));
+        assertFalse(detector.offer("s1", 200, false));
+
+        assertTrue(detector.offer("s1", 300, true));
+    }
+
+    @Test
+    public void sensors_areIndependent() {
+        assertTrue(detector.offer("s1", 100, true));
+
+        assertTrue(detector.offer("s2", 100, true));
+        assertFalse(detector.offer("s1", 150, true));
+    }
+
+    // ========== Ordering Tests ==========
+
+    @Test
+    public void olderReading_isIgnored() {
+        assertFalse(detector.offer("s1", 200, false));
+
+        assertFalse("late fall must not raise or reset the episode", detector.offer("s1", 100, true));
+        assertTrue(detector.offer("s1", 300, true));
+    }
+
+    @Test
+    public void clear_forgetsSensors() {
+        assertTrue(detector.offer("s1", 100, true));
+
+        detector.clear();
+
+        assertTrue(detector.offer("s1", 50, true));
+    }
+}
@@ -0,0 +1,167 @@
+package com.melisa.innovamotionapp.sync;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for SensorStateThrottle: immediate publishing of changes, the minimum interval for
+ * unchanged states, fall tracking, out-of-order packets and failed writes.
+ */
+public class SensorStateThrottleTest {
+
+    private static final long INTERVAL = 30_000L;
+
+    private SensorStateThrottle throttle;
+
+    @Before
+    public void setUp() {
+        throttle = new SensorStateThrottle(INTERVAL);
+    }
+
+    private static SensorStateThrottle.Reading reading(String sensorId, String msg, long ts) {
+        return new SensorStateThrottle.Reading(sensorId, "AA:BB", msg, ts, false);
+    }
+
+    private static SensorStateThrottle.Reading fall(String sensorId, long ts) {
+        return new SensorStateThrottle.Reading(sensorId, "AA:BB", "0xFALL", ts, true);
+    }
+
+    // ========== Publishing Tests ==========
+
+    @Test
+    public void firstReading_isPublished() {
+        List<SensorStateThrottle.State> states = throttle.offer(
+                Collections.singletonList(reading("s1", "0xAB", 100)), 1_000);
+
+        assertEquals(1, states.size());
+        assertEquals("s1", states.get(0).getSensorId());
+        assertEquals("0xAB", states.get(0).getReceivedMsg());
+        assertEquals(100, states.get(0).getTimestamp());
+        assertFalse(states.get(0).isAlert());
+        assertEquals(0, states.get(0).getLastFallAt());
+    }
+
+    @Test
+    public void packet_publishesLatestReadingPerSensor() {
+        List<SensorStateThrottle.State> states = throttle.offer(Arrays.asList(
+                reading("s1", "0xAA", 100),
+                reading("s2", "0xBB", 150),
+                reading("s1", "0xCC", 200),
+                reading("s1", "0xDD", 120)), 1_000);
+
+        assertEquals(2, states.size());
+        assertEquals("s1", states.get(0).getSensorId());
+        assertEquals("0xCC", states.get(0).getReceivedMsg());
+        assertEquals("s2", states.get(1).getSensorId());
+    }
+
+    @Test
+    public void unchangedCode_waitsForInterval() {
+        throttle.offer(Collections.singletonList(reading("s1", "0xAB", 100)), 1_000);
+
+        assertTrue(throttle.offer(Collections.singletonList(reading("s1", "0xAB", 200)), 1_000 + INTERVAL - 1).isEmpty());
+
+        List<SensorStateThrottle.State> states = throttle.offer(
+                Collections.singletonList(reading("s1", "0xAB", 300)), 1_000 + INTERVAL);
+        assertEquals(1, states.size());
+        assertEquals(300, states.get(0).getTimestamp());
+    }
+
+    @Test
+    public void changedCode_isPublishedImmediately() {
+        throttle.offer(Collections.singletonList(reading("s1", "0xAB", 100)), 1_000);
+
+        List<SensorStateThrottle.State> states = throttle.offer(
+                Collections.singletonList(reading("s1", "0xCD", 200)), 1_001);
+
+        assertEquals(1, states.size());
+        assertEquals("0xCD", states.get(0).getReceivedMsg());
+    }
+
+    @Test
+    public void olderReading_isIgnored() {
+        throttle.offer(Collections.singletonList(reading("s1", "0xAB", 200)), 1_000);
+
+        assertTrue("late packet must not move the state back",
+                throttle.offer(Collections.singletonList(reading("s1", "0xCD", 100)), 1_000 + INTERVAL).isEmpty());
+    }
+
+    // ========== Fall Tests ==========
+
+    @Test
+    public void fall_setsAlertAndLastFallAt() {
+        throttle.offer(Collections.singletonList(reading("s1", "0xAB", 100)), 1_000);
+
+        List<SensorStateThrottle.State> states = throttle.offer(
+                Collections.singletonList(fall("s1", 200)), 1_001);
+
+        assertEquals(1, states.size());
+        assertTrue(states.get(0).isAlert());
+        assertEquals(200, states.get(0).getLastFallAt());
+    }
+
+    @Test
+    public void fallInsidePacket_isKeptAfterRecovery() {
+        List<SensorStateThrottle.State> states = throttle.offer(Arrays.asList(
+                reading("s1", "0xAB", 100),
+                fall("s1", 200),
+                reading("s1", "0xAB", 300)), 1_000);
+
+        assertEquals(1, states.size());
+        assertFalse(states.get(0).isAlert());
+        assertEquals(200, states.get(0).getLastFallAt());
+
+        // Later states carry the last fall forward
+        states = throttle.offer(Collections.singletonList(reading("s1", "0xCD", 400)), 1_001);
+        assertEquals(200, states.get(0).getLastFallAt());
+    }
+
+    @Test
+    public void newFall_isPublishedEvenWithSameCode() {
+        throttle.offer(Collections.singletonList(fall("s1", 100)), 1_000);
+
+        List<SensorStateThrottle.State> states = throttle.offer(
+                Collections.singletonList(fall("s1", 200)), 1_001);
+
+        assertEquals(1, states.size());
+        assertEquals(200, states.get(0).getLastFallAt());
+    }
+
+    // ========== Reset Tests ==========
+
+    @Test
+    public void invalidate_republishesWithNextReading() {
+        List<SensorStateThrottle.State> states = throttle.offer(
+                Collections.singletonList(reading("s1", "0xAB", 100)), 1_000);
+
+        throttle.invalidate(states);
+
+        assertEquals(1, throttle.offer(Collections.singletonList(reading("s1", "0xAB", 200)), 1_001).size());
+    }
+
+    @Test
+    public void invalidate_staleState_keepsNewerOne() {
+        List<SensorStateThrottle.State> first = throttle.offer(
+                Collections.singletonList(reading("s1", "0xAB", 100)), 1_000);
+        throttle.offer(Collections.singletonList(reading("s1", "0xCD", 200)), 1_001);
+
+        throttle.invalidate(first);
+
+        assertTrue(throttle.offer(Collections.singletonList(reading("s1", "0xCD", 300)), 1_002).isEmpty());
+    }
+
+    @Test
+    public void clear_forgetsPublishedStates() {
+        throttle.offer(Collections.singletonList(reading("s1", "0xAB", 100)), 1_000);
+
+        throttle.clear();
+
+        assertEquals(1, throttle.offer(Collections.singletonList(reading("s1", "0xAB", 50)), 1_001).size());
+    }
+}
@@ -0,0 +1,177 @@
+package com.melisa.innovamotionapp.ui.viewmodels;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.ui.models.PersonStatus;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for IncrementalPersonStatusTransformer (dashboard snapshot reuse).
+ */
+public class IncrementalPersonStatusTransformerTest {
+
+    private static final String OWNER = "owner1";
+    private static final String DEVICE = "AA:BB:CC:DD:EE:FF";
+
+    private IncrementalPersonStatusTransformer transformer;
+    private Map<String, String> names;
+
+    private static ReceivedBtDataEntity entity(String sensorId, String hex, long ts) {
+        return new ReceivedBtDataEntity(DEVICE, ts, hex, OWNER, sensorId);
+    }
+
+    private static List<ReceivedBtDataEntity> threeSensors(long ts) {
+        List<ReceivedBtDataEntity> entities = new ArrayList<>();
+        entities.add(entity("s1", "0xAB3311", ts));
+        entities.add(entity("s2", "0xAC4312", ts));
+        entities.add(entity("s3", "0xBA3311", ts));
+        return entities;
+    }
+
+    private static PersonStatus find(List<PersonStatus> statuses, String sensorId) {
+        for (PersonStatus status : statuses) {
+            if (status.getSensorId().equals(sensorId)) {
+                return status;
+            }
+        }
+        return null;
+    }
+
+    @Before
+    public void setUp() {
+        transformer = new IncrementalPersonStatusTransformer();
+        names = new HashMap<>();
+        names.put("s1", "Ana");
+        names.put("s2", "Bogdan");
+        names.put("s3", "Cristina");
+    }
+
+    // ========== Equivalence Tests ==========
+
+    @Test
+    public void transform_firstCall_matchesFullTransform() {
+        List<ReceivedBtDataEntity> entities = threeSensors(1000L);
+
+        List<PersonStatus> result = transformer.transform(entities, names);
+
+        assertEquals(PersonStatusTransformer.transform(entities, names), result);
+        assertEquals(3, transformer.getLastRebuiltCount());
+    }
+
+    @Test
+    public void transform_nullEntities_returnsEmptyList() {
+        List<PersonStatus> result = transformer.transform(null, names);
+
+        assertNotNull(result);
+        assertTrue(result.isEmpty());
+    }
+
+    // ========== Reuse Tests ==========
+
+    @Test
+    public void transform_unchangedInput_returnsSameInstance() {
+        List<PersonStatus> first = transformer.transform(threeSensors(1000L), names);
+
+        List<PersonStatus> second = transformer.transform(threeSensors(1000L), names);
+
+        assertSame(first, second);
+        assertEquals(0, transformer.getLastRebuiltCount());
+    }
+
+    @Test
+    public void transform_oneSensorChanged_rebuildsOnlyThatItem() {
+        List<PersonStatus> first = transformer.transform(threeSensors(1000L), names);
+        List<ReceivedBtDataEntity> updated = threeSensors(1000L);
+        updated.set(1, entity("s2", "0xEF0112", 2000L));
+
+        List<PersonStatus> second = transformer.transform(updated, names);
+
+        assertNotSame(first, second);
+        assertEquals(1, transformer.getLastRebuiltCount());
+        assertSame(find(first, "s1"), find(second, "s1"));
+        assertSame(find(first, "s3"), find(second, "s3"));
+        assertNotSame(find(first, "s2"), find(second, "s2"));
+    }
+
+    @Test
+    public void transform_sortKeyUnchanged_keepsOrder() {
+        List<PersonStatus> first = transformer.transform(threeSensors(1000L), names);
+        List<ReceivedBtDataEntity> updated = threeSensors(1000L);
+        updated.set(0, entity("s1", "0xBA3311", 2000L));
+
+        List<PersonStatus> second = transformer.transform(updated, names);
+
+        assertEquals(PersonStatusTransformer.transform(updated, names), second);
+        for (int i = 0; i < first.size(); i++) {
+            assertEquals(first.get(i).getSensorId(), second.get(i).getSensorId());
+        }
+    }
+
+    @Test
+    public void transform_newFall_sortedFirst() {
+        transformer.transform(threeSensors(1000L), names);
+        List<ReceivedBtDataEntity> updated = threeSensors(1000L);
+        updated.set(2, entity("s3", "0xEF0112", 2000L));
+
+        List<PersonStatus> result = transformer.transform(updated, names);
+
+        assertEquals("s3", result.get(0).getSensorId());
+        assertTrue(result.get(0).isAlert());
+    }
+
+    @Test
+    public void transform_nameChanged_rebuildsThatItem() {
+        transformer.transform(threeSensors(1000L), names);
+        Map<String, String> renamed = new HashMap<>(names);
+        renamed.put("s1", "Zoe");
+
+        List<PersonStatus> result = transformer.transform(threeSensors(1000L), renamed);
+
+        assertEquals(1, transformer.getLastRebuiltCount());
+        assertEquals("Zoe", find(result, "s1").getDisplayName());
+    }
+
+    @Test
+    public void transform_sensorRemoved_returnsNewList() {
+        List<PersonStatus> first = transformer.transform(threeSensors(1000L), names);
+        List<ReceivedBtDataEntity> fewer = threeSensors(1000L);
+        fewer.remove(2);
+
+        List<PersonStatus> result = transformer.transform(fewer, names);
+
+        assertNotSame(first, result);
+        assertEquals(2, result.size());
+        assertEquals(0, transformer.getLastRebuiltCount());
+        assertNull(find(result, "s3"));
+    }
+
+    @Test
+    public void transform_becomesEmpty_thenStaysSameInstance() {
+        transformer.transform(threeSensors(1000L), names);
+
+        List<PersonStatus> empty = transformer.transform(Collections.emptyList(), names);
+        List<PersonStatus> again = transformer.transform(null, names);
+
+        assertTrue(empty.isEmpty());
+        assertSame(empty, again);
+    }
+
+    @Test
+    public void reset_forcesFullRebuild() {
+        transformer.transform(threeSensors(1000L), names);
+
+        transformer.reset();
+        transformer.transform(threeSensors(1000L), names);
+
+        assertEquals(3, transformer.getLastRebuiltCount());
+    }
+}
@@ -0,0 +1,302 @@
+package com.melisa.innovamotionapp.ui.viewmodels;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.ui.models.MessageLogItem;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Unit tests for MessageLogPager against an in-memory keyset source.
+ */
+public class MessageLogPagerTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int MAX_RETAINED = 30;
+
+    private FakeSource source;
+    private MessageLogPager pager;
+
+    @Before
+    public void setUp() {
+        source = new FakeSource();
+        pager = new MessageLogPager(source, entity -> new MessageLogItem(entity.getId(), entity.getTimestamp(),
+                entity.getSensorId(), entity.getSensorId(), entity.getReceivedMsg(), 0, false),
+                PAGE_SIZE, MAX_RETAINED);
+    }
+
+    // ========== Initial Page Tests ==========
+
+    @Test
+    public void refresh_emptyTable_noItemsAndNoOlder() {
+        pager.refresh();
+
+        assertEquals(0, pager.size());
+        assertTrue(pager.isAtHead());
+        assertFalse(pager.hasOlder());
+    }
+
+    @Test
+    public void refresh_loadsNewestPageNewestFirst() {
+        source.insertRange(1, 50);
+
+        pager.refresh();
+
+        List<MessageLogItem> items = pager.snapshot();
+        assertEquals(PAGE_SIZE, items.size());
+        assertEquals(50, items.get(0).getTimestamp());
+        assertEquals(41, items.get(PAGE_SIZE - 1).getTimestamp());
+        assertTrue(pager.hasOlder());
+    }
+
+    // ========== Scrolling Tests ==========
+
+    @Test
+    public void loadOlder_appendsNextPageWithoutGapsOrDuplicates() {
+        source.insertRange(1, 25);
+        pager.refresh();
+
+        assertTrue(pager.loadOlder());
+        assertTrue(pager.loadOlder());
+
+        assertContiguousDescending(pager.snapshot(), 25, 1);
+        assertFalse(pager.hasOlder());
+        assertFalse(pager.loadOlder());
+    }
+
+    @Test
+    public void loadOlder_sameTimestamp_usesIdAsTieBreaker() {
+        for (int i = 0; i < 15; i++) {
+            source.insert(1000);
+        }
+        pager.refresh();
+        pager.loadOlder();
+
+        List<MessageLogItem> items = pager.snapshot();
+        assertEquals(15, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(15 - i, items.get(i).getId());
+        }
+    }
+
+    @Test
+    public void loadOlder_pastWindow_dropsNewestAndLeavesHead() {
+        source.insertRange(1, 100);
+        pager.refresh();
+
+        for (int i = 0; i < 4; i++) {
+            pager.loadOlder();
+        }
+
+        assertEquals(MAX_RETAINED, pager.size());
+        assertFalse(pager.isAtHead());
+        assertContiguousDescending(pager.snapshot(), 80, 51);
+    }
+
+    @Test
+    public void loadNewer_afterHeadDropped_restoresNewestItems() {
+        source.insertRange(1, 100);
+        pager.refresh();
+        for (int i = 0; i < 4; i++) {
+            pager.loadOlder();
+        }
+
+        assertTrue(pager.loadNewer());
+        assertTrue(pager.loadNewer());
+
+        assertEquals(MAX_RETAINED, pager.size());
+        assertContiguousDescending(pager.snapshot(), 100, 71);
+        assertTrue(pager.hasOlder());
+    }
+
+    @Test
+    public void loadNewer_atHead_doesNothing() {
+        source.insertRange(1, 20);
+        pager.refresh();
+
+        assertFalse(pager.loadNewer());
+        assertEquals(0, source.afterQueries);
+    }
+
+    // ========== New Data Tests ==========
+
+    @Test
+    public void onNewData_prependsOnlyInsertedRows() {
+        source.insertRange(1, 20);
+        pager.refresh();
+        source.insertRange(21, 23);
+
+        assertTrue(pager.onNewData());
+
+        List<MessageLogItem> items = pager.snapshot();
+        assertEquals(PAGE_SIZE + 3, items.size());
+        assertContiguousDescending(items, 23, 11);
+        assertEquals(1, source.latestQueries);
+    }
+
+    @Test
+    public void onNewData_nothingInserted_returnsFalse() {
+        source.insertRange(1, 20);
+        pager.refresh();
+
+        assertFalse(pager.onNewData());
+    }
+
+    @Test
+    public void onNewData_keepsWindowBounded() {
+        source.insertRange(1, 10);
+        pager.refresh();
+
+        for (int batch = 0; batch < 20; batch++) {
+            int from = 11 + batch * 5;
+            source.insertRange(from, from + 4);
+            pager.onNewData();
+        }
+
+        assertEquals(MAX_RETAINED, pager.size());
+        assertContiguousDescending(pager.snapshot(), 110, 81);
+        assertTrue(pager.hasOlder());
+    }
+
+    @Test
+    public void onNewData_burstLargerThanWindow_resetsToNewestPage() {
+        source.insertRange(1, 10);
+        pager.refresh();
+        source.insertRange(11, 200);
+
+        assertTrue(pager.onNewData());
+
+        assertContiguousDescending(pager.snapshot(), 200, 191);
+    }
+
+    @Test
+    public void onNewData_backfilledRowInsideWindow_insertedInOrder() {
+        source.insertRange(1, 10);
+        source.insertRange(12, 20);
+        pager.refresh();
+        source.insert(11); // late arrival, older timestamp than the head
+
+        assertTrue(pager.onNewData());
+
+        assertContiguousDescending(pager.snapshot(), 20, 10);
+    }
+
+    @Test
+    public void onNewData_backfilledRowOlderThanWindow_leftForLoadOlder() {
+        source.insertRange(10, 40);
+        pager.refresh();
+        source.insert(5);
+
+        assertFalse(pager.onNewData());
+        assertEquals(PAGE_SIZE, pager.size());
+    }
+
+    @Test
+    public void onNewData_awayFromHead_ignored() {
+        source.insertRange(1, 100);
+        pager.refresh();
+        for (int i = 0; i < 4; i++) {
+            pager.loadOlder();
+        }
+        source.insertRange(101, 105);
+
+        assertFalse(pager.onNewData());
+        assertEquals(0, source.insertedAfterQueries);
+    }
+
+    // ========== Remap Tests ==========
+
+    @Test
+    public void remap_replacesEveryItem() {
+        source.insertRange(1, 5);
+        pager.refresh();
+
+        pager.remap(item -> new MessageLogItem(item.getId(), item.getTimestamp(), item.getSensorId(),
+                "Renamed", item.getHexCode(), item.getPostureIconRes(), item.isFall()));
+
+        for (MessageLogItem item : pager.snapshot()) {
+            assertEquals("Renamed", item.getDisplayName());
+        }
+    }
+
+    // ========== Helpers ==========
+
+    private static void assertContiguousDescending(List<MessageLogItem> items, long newest, long oldest) {
+        assertEquals(newest - oldest + 1, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals(newest - i, items.get(i).getTimestamp());
+        }
+    }
+
+    /**
+     * Keyset queries over a list, mirroring the ReceivedBtDataDao SQL.
+     */
+    private static final class FakeSource implements MessageLogPager.PageSource {
+        private final List<ReceivedBtDataEntity> rows = new ArrayList<>();
+        private long nextId = 1;
+        int latestQueries = 0;
+        int afterQueries = 0;
+        int insertedAfterQueries = 0;
+
+        void insert(long timestamp) {
+            ReceivedBtDataEntity entity = new ReceivedBtDataEntity(
+                    "00:11:22:33:44:55", timestamp, "0xab3311", "owner", "sensor001");
+            entity.id = nextId++;
+            rows.add(entity);
+        }
+
+        void insertRange(long fromTimestamp, long toTimestamp) {
+            for (long ts = fromTimestamp; ts <= toTimestamp; ts++) {
+                insert(ts);
+            }
+        }
+
+        private static final Comparator<ReceivedBtDataEntity> NEWEST_FIRST = (a, b) -> {
+            int cmp = Long.compare(b.getTimestamp(), a.getTimestamp());
+            return cmp != 0 ? cmp : Long.compare(b.getId(), a.getId());
+        };
+
+        private List<ReceivedBtDataEntity> query(java.util.function.Predicate<ReceivedBtDataEntity> filter,
+                                                 Comparator<ReceivedBtDataEntity> order, int limit) {
+            List<ReceivedBtDataEntity> result = new ArrayList<>();
+            for (ReceivedBtDataEntity row : rows) {
+                if (filter.test(row)) {
+                    result.add(row);
+                }
+            }
+            result.sort(order);
+            return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+        }
+
+        @Override
+        public List<ReceivedBtDataEntity> loadLatest(int limit) {
+            latestQueries++;
+            return query(row -> true, NEWEST_FIRST, limit);
+        }
+
+        @Override
+        public List<ReceivedBtDataEntity> loadBefore(long timestamp, long id, int limit) {
+            return query(row -> row.getTimestamp() < timestamp
+                    || (row.getTimestamp() == timestamp && row.getId() < id), NEWEST_FIRST, limit);
+        }
+
+        @Override
+        public List<ReceivedBtDataEntity> loadAfter(long timestamp, long id, int limit) {
+            afterQueries++;
+            return query(row -> row.getTimestamp() > timestamp
+                    || (row.getTimestamp() == timestamp && row.getId() > id), NEWEST_FIRST.reversed(), limit);
+        }
+
+        @Override
+        public List<ReceivedBtDataEntity> loadInsertedAfter(long id, int limit) {
+            insertedAfterQueries++;
+            return query(row -> row.getId() > id, NEWEST_FIRST, limit);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.melisa.innovamotionapp.ui.viewmodels;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.data.posture.types.FallingPosture;
+import com.melisa.innovamotionapp.data.posture.types.StandingPosture;
+import com.melisa.innovamotionapp.ui.models.PersonStatus;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for PersonStatusTransformer (shared dashboard transformation).
+ */
+public class PersonStatusTransformerTest {
+
+    private static final String OWNER = "owner1";
+    private static final String DEVICE = "AA:BB:CC:DD:EE:FF";
+
+    private static ReceivedBtDataEntity entity(String sensorId, String hex, long ts) {
+        return new ReceivedBtDataEntity(DEVICE, ts, hex, OWNER, sensorId);
+    }
+
+    @Test
+    public void transform_nullEntities_returnsEmptyList() {
+        List<PersonStatus> result = PersonStatusTransformer.transform(null, Collections.emptyMap());
+        assertNotNull(result);
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void transform_resolvesNamesFromCache() {
+        Map<String, String> names = new HashMap<>();
+        names.put("s1", "Ion Popescu");
+
+        List<ReceivedBtDataEntity> entities = new ArrayList<>();
+        entities.add(entity("s1", "0xAB3311", 1000L));
+
+        List<PersonStatus> result = PersonStatusTransformer.transform(entities, names);
+
+        assertEquals(1, result.size());
+        assertEquals("Ion Popescu", result.get(0).getDisplayName());
+        assertTrue(result.get(0).getCurrentPosture() instanceof StandingPosture);
+        assertEquals(1000L, result.get(0).getLastUpdateTime());
+    }
+
+    @Test
+    public void transform_missingName_fallsBackToSensorId() {
+        List<ReceivedBtDataEntity> entities = new ArrayList<>();
+        entities.add(entity("sensor042", "0xAB3311", 1000L));
+
+        List<PersonStatus> result = PersonStatusTransformer.transform(entities, Collections.emptyMap());
+
+        assertEquals("sensor042", result.get(0).getDisplayName());
+    }
+
+    @Test
+    public void transform_fallingPosture_isAlert() {
+        List<ReceivedBtDataEntity> entities = new ArrayList<>();
+        entities.add(entity("s1", "0xEF0112", 1000L));
+
+        PersonStatus status = PersonStatusTransformer.transform(entities, Collections.emptyMap()).get(0);
+
+        assertTrue(status.isAlert());
+        assertTrue(status.getCurrentPosture() instanceof FallingPosture);
+    }
+
+    @Test
+    public void transform_sortsAlertsFirstThenByName() {
+        Map<String, String> names = new HashMap<>();
+        names.put("s1", "Zeno");
+        names.put("s2", "ana");
+        names.put("s3", "Maria");
+        names.put("s4", "Bogdan");
+
+        List<ReceivedBtDataEntity> entities = new ArrayList<>();
+        entities.add(entity("s1", "0xAB3311", 1000L));
+        entities.add(entity("s2", "0xAC4312", 1000L));
+        entities.add(entity("s3", "0xEF0112", 1000L));
+        entities.add(entity("s4", "0xEF0112", 1000L));
+
+        List<PersonStatus> result = PersonStatusTransformer.transform(entities, names);
+
+        assertEquals("Bogdan", result.get(0).getDisplayName());
+        assertEquals("Maria", result.get(1).getDisplayName());
+        assertEquals("ana", result.get(2).getDisplayName());
+        assertEquals("Zeno", result.get(3).getDisplayName());
+    }
+
+    @Test
+    public void toPersonStatus_emptySensorId_returnsNull() {
+        assertNull(PersonStatusTransformer.toPersonStatus(entity("", "0xAB3311", 1000L), Collections.emptyMap()));
+    }
+}
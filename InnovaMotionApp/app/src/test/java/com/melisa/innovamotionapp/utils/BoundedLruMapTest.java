@@ -0,0 +1,59 @@
+package com.melisa.innovamotionapp.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for BoundedLruMap (LRU eviction used by the analytics cache).
+ */
+public class BoundedLruMapTest {
+
+    // ========== Eviction Tests ==========
+
+    @Test
+    public void put_overCapacity_evictsEldest() {
+        BoundedLruMap<String, Integer> map = new BoundedLruMap<>(2);
+        map.put("a", 1);
+        map.put("b", 2);
+
+        map.put("c", 3);
+
+        assertEquals(2, map.size());
+        assertFalse(map.containsKey("a"));
+        assertEquals(1, map.getEvictionCount());
+    }
+
+    @Test
+    public void get_refreshesRecency() {
+        BoundedLruMap<String, Integer> map = new BoundedLruMap<>(2);
+        map.put("a", 1);
+        map.put("b", 2);
+
+        map.get("a");
+        map.put("c", 3);
+
+        assertTrue(map.containsKey("a"));
+        assertFalse(map.containsKey("b"));
+    }
+
+    @Test
+    public void put_existingKey_doesNotEvict() {
+        BoundedLruMap<String, Integer> map = new BoundedLruMap<>(2);
+        map.put("a", 1);
+        map.put("b", 2);
+
+        map.put("a", 10);
+
+        assertEquals(2, map.size());
+        assertEquals(Integer.valueOf(10), map.get("a"));
+        assertEquals(0, map.getEvictionCount());
+    }
+
+    // ========== Validation Tests ==========
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_zeroCapacity_throws() {
+        new BoundedLruMap<String, Integer>(0);
+    }
+}
@@ -234,6 +234,16 @@ public class ConstantsTest {
         assertTrue(Constants.OFFLINE_QUEUE_RETRY_INTERVAL_MS <= 5 * 60 * 1000); // At most 5min
     }
 
+    @Test
+    public void postureSegmentMaxGap_isPositive() {
+        assertTrue(Constants.POSTURE_SEGMENT_MAX_GAP_MS > 0);
+    }
+
+    @Test
+    public void calorieRatePeriod_isOneMinute() {
+        assertEquals(60 * 1000, Constants.CALORIE_RATE_PERIOD_MS);
+    }
+
     @Test
     public void offlineQueueMaxRetries_isPositive() {
         assertTrue(Constants.OFFLINE_QUEUE_MAX_RETRIES > 0);
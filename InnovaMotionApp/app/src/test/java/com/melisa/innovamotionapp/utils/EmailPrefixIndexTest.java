@@ -0,0 +1,129 @@
+package com.melisa.innovamotionapp.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Unit tests for EmailPrefixIndex: prefix and token matching, ordering, limits, updates and removal.
+ */
+public class EmailPrefixIndexTest {
+
+    private EmailPrefixIndex<String> index;
+
+    @Before
+    public void setUp() {
+        index = new EmailPrefixIndex<>();
+        for (String email : Arrays.asList(
+                "supervisor@example.com",
+                "admin@example.com",
+                "gabryel.fryend@gmail.com",
+                "truegenty@gmail.com",
+                "super.visor@company.org")) {
+            index.put(email, email);
+        }
+    }
+
+    // ========== Matching Tests ==========
+
+    @Test
+    public void prefix_matchesWholeEmail() {
+        assertEquals(Arrays.asList("super.visor@company.org", "supervisor@example.com"), index.search("super", 10));
+    }
+
+    @Test
+    public void prefix_matchesPartAfterSeparator() {
+        assertEquals(Collections.singletonList("gabryel.fryend@gmail.com"), index.search("fry", 10));
+        assertEquals(Arrays.asList("gabryel.fryend@gmail.com", "truegenty@gmail.com"), index.search("gmail", 10));
+    }
+
+    @Test
+    public void search_isCaseInsensitiveAndTrimmed() {
+        assertEquals(Collections.singletonList("admin@example.com"), index.search("  ADM ", 10));
+    }
+
+    @Test
+    public void middleOfToken_doesNotMatch() {
+        assertTrue(index.search("visor@ex", 10).isEmpty());
+        assertTrue(index.search("ryel", 10).isEmpty());
+    }
+
+    @Test
+    public void emptyQuery_returnsNothing() {
+        assertTrue(index.search("", 10).isEmpty());
+        assertTrue(index.search("s", 0).isEmpty());
+    }
+
+    @Test
+    public void emailMatchingSeveralTokens_isReturnedOnce() {
+        index.put("ex.example@example.com", "ex.example@example.com");
+
+        List<String> result = index.search("ex", 10);
+
+        assertEquals(3, result.size());
+        assertEquals(1, result.stream().filter("ex.example@example.com"::equals).count());
+    }
+
+    @Test
+    public void limit_capsResults() {
+        assertEquals(2, index.search("com", 2).size());
+        assertEquals("every address has a \"com\" part", 5, index.search("com", 10).size());
+    }
+
+    @Test
+    public void limit_appliesAfterAlphabeticalOrder() {
+        index.put("ion.b@x", "ion.b@x");
+        index.put("a.ionz@x", "a.ionz@x");
+
+        // "ion" is shorter than "ionz" in the trie, but the result is ordered by email
+        assertEquals(Collections.singletonList("a.ionz@x"), index.search("ion", 1));
+        assertEquals(Arrays.asList("a.ionz@x", "ion.b@x"), index.search("ion", 10));
+    }
+
+    // ========== Update Tests ==========
+
+    @Test
+    public void put_sameEmail_replacesValue() {
+        index.put("Admin@Example.com", "updated");
+
+        assertEquals(5, index.size());
+        assertEquals(Collections.singletonList("updated"), index.search("admin", 10));
+        assertEquals("updated", index.get("admin@example.com"));
+    }
+
+    @Test
+    public void remove_dropsEveryToken() {
+        index.remove("gabryel.fryend@gmail.com");
+
+        assertTrue(index.search("fry", 10).isEmpty());
+        assertTrue(index.search("gab", 10).isEmpty());
+        assertEquals(Collections.singletonList("truegenty@gmail.com"), index.search("gmail", 10));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    public void remove_unknownEmail_isIgnored() {
+        index.remove("nobody@example.com");
+
+        assertEquals(5, index.size());
+    }
+
+    @Test
+    public void clear_emptiesIndex() {
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertTrue(index.search("super", 10).isEmpty());
+    }
+
+    @Test
+    public void tokens_splitOnSeparators() {
+        assertEquals(Arrays.asList("a.b-c@d.org", "b-c@d.org", "c@d.org", "d.org", "org"),
+                EmailPrefixIndex.tokens("a.b-c@d.org"));
+    }
+}
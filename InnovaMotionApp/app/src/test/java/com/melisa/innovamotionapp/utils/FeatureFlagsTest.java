@@ -63,6 +63,12 @@ public class FeatureFlagsTest {
         assertTrue("Offline queue should be enabled for reliability", value);
     }
 
+    @Test
+    public void sensorStateDashboard_isOffUntilAggregatorsPublish() {
+        assertFalse("Supervisors keep mirroring raw readings until every aggregator writes sensor_state",
+                FeatureFlags.SENSOR_STATE_DASHBOARD_ENABLED);
+    }
+
     // ========== Notification Flags Tests ==========
 
     @Test
@@ -77,6 +83,12 @@ public class FeatureFlagsTest {
         assertTrue("Supervisor fall alerts should be enabled", value);
     }
 
+    @Test
+    public void alertsChannel_isOffUntilAggregatorsWriteAlerts() {
+        assertFalse("Supervisors keep detecting falls from mirrored readings until every aggregator writes alerts",
+                FeatureFlags.ALERTS_CHANNEL_ENABLED);
+    }
+
     // ========== Debug Flags Tests ==========
 
     @Test
@@ -175,6 +187,7 @@ public class FeatureFlagsTest {
         // Verify notification-related flags exist
         assertNotNull(Boolean.valueOf(FeatureFlags.FALL_NOTIFICATIONS_ENABLED));
         assertNotNull(Boolean.valueOf(FeatureFlags.SUPERVISOR_FALL_ALERTS_ENABLED));
+        assertNotNull(Boolean.valueOf(FeatureFlags.ALERTS_CHANNEL_ENABLED));
     }
 
     @Test
@@ -0,0 +1,196 @@
+package com.melisa.innovamotionapp.utils;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.data.posture.types.FallingPosture;
+import com.melisa.innovamotionapp.data.posture.types.SittingPosture;
+import com.melisa.innovamotionapp.data.posture.types.StandingPosture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unit tests for LiveSensorStateStore (per-sensor live state and per-key subscriptions).
+ */
+public class LiveSensorStateStoreTest {
+
+    private static final String DEVICE = "AA:BB:CC:DD:EE:FF";
+    private static final String OWNER = "owner1";
+
+    /**
+     * Scheduler that records the pending flush; tests run it explicitly.
+     */
+    private static class FakeScheduler implements UpdateCoalescer.Scheduler {
+        Runnable task;
+        long delayMs = -1;
+
+        @Override
+        public void schedule(Runnable task, long delayMs) {
+            this.task = task;
+            this.delayMs = delayMs;
+        }
+
+        @Override
+        public void cancel(Runnable task) {
+            this.task = null;
+            this.delayMs = -1;
+        }
+
+        void run() {
+            Runnable pending = task;
+            task = null;
+            delayMs = -1;
+            if (pending != null) {
+                pending.run();
+            }
+        }
+    }
+
+    private FakeScheduler scheduler;
+    private long now;
+    private LiveSensorStateStore store;
+
+    @Before
+    public void setUp() {
+        scheduler = new FakeScheduler();
+        now = 10_000L;
+        store = new LiveSensorStateStore(scheduler, () -> now);
+    }
+
+    // ========== State Tests ==========
+
+    @Test
+    public void update_newSensor_storesState() {
+        assertTrue(store.update("s1", new SittingPosture(), 1000L));
+
+        SensorLiveState state = store.get("s1");
+        assertNotNull(state);
+        assertTrue(state.getPosture() instanceof SittingPosture);
+        assertEquals(1000L, state.getTimestamp());
+        assertFalse(state.isAlert());
+    }
+
+    @Test
+    public void update_olderReading_isIgnored() {
+        store.update("s1", new StandingPosture(), 2000L);
+
+        assertFalse(store.update("s1", new SittingPosture(), 1000L));
+
+        assertTrue(store.get("s1").getPosture() instanceof StandingPosture);
+    }
+
+    @Test
+    public void update_sensorsAreIndependent() {
+        store.update("s1", new SittingPosture(), 1000L);
+        store.update("s2", new FallingPosture(), 1000L);
+
+        assertFalse(store.get("s1").isAlert());
+        assertTrue(store.get("s2").isAlert());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    public void updateFromEntities_keepsLatestRowPerSensor() {
+        List<ReceivedBtDataEntity> batch = Arrays.asList(
+                new ReceivedBtDataEntity(DEVICE, 3000L, "0xAB3311", OWNER, "s1"),
+                new ReceivedBtDataEntity(DEVICE, 1000L, "0xEF0112", OWNER, "s1"),
+                new ReceivedBtDataEntity(DEVICE, 2000L, "0xAC4312", OWNER, "s2"));
+
+        int changed = store.updateFromEntities(batch);
+
+        assertEquals(2, changed);
+        assertEquals(3000L, store.get("s1").getTimestamp());
+        assertFalse(store.get("s1").isAlert());
+    }
+
+    @Test
+    public void isStale_afterThreshold() {
+        SensorLiveState state = new SensorLiveState("s1", new SittingPosture(), 1000L);
+
+        assertFalse(state.isStale(1000L + Constants.STALE_DATA_THRESHOLD_MS));
+        assertTrue(state.isStale(1001L + Constants.STALE_DATA_THRESHOLD_MS));
+    }
+
+    @Test
+    public void clear_forgetsAllSensors() {
+        store.update("s1", new SittingPosture(), 1000L);
+
+        store.clear();
+
+        assertNull(store.get("s1"));
+        assertEquals(0, store.size());
+    }
+
+    // ========== Subscription Tests ==========
+
+    @Test
+    public void subscribe_onlyNotifiedForOwnSensor() {
+        List<SensorLiveState> received = new ArrayList<>();
+        store.subscribe("s1", received::add);
+
+        store.update("s2", new StandingPosture(), 1000L);
+        store.update("s1", new SittingPosture(), 1000L);
+        scheduler.run();
+
+        assertEquals(1, received.size());
+        assertEquals("s1", received.get(0).getSensorId());
+    }
+
+    @Test
+    public void subscribe_burstForOneSensor_coalescedToLatest() {
+        List<SensorLiveState> received = new ArrayList<>();
+        store.subscribe("s1", received::add);
+
+        store.update("s1", new SittingPosture(), 1000L);
+        store.update("s1", new StandingPosture(), 1100L);
+        store.update("s1", new SittingPosture(), 1200L);
+        scheduler.run();
+
+        assertEquals(1, received.size());
+        assertEquals(1200L, received.get(0).getTimestamp());
+    }
+
+    @Test
+    public void update_fall_flushesImmediately() {
+        store.update("s1", new SittingPosture(), 1000L);
+        scheduler.run();
+        now += 10;
+        store.update("s1", new StandingPosture(), 1100L);
+        assertTrue(scheduler.delayMs > 0);
+
+        store.update("s1", new FallingPosture(), 1200L);
+
+        assertEquals(0, scheduler.delayMs);
+    }
+
+    @Test
+    public void unsubscribe_stopsNotifications() {
+        List<SensorLiveState> received = new ArrayList<>();
+        LiveSensorStateStore.Listener listener = received::add;
+        store.subscribe("s1", listener);
+
+        store.unsubscribe("s1", listener);
+        store.update("s1", new SittingPosture(), 1000L);
+        scheduler.run();
+
+        assertTrue(received.isEmpty());
+    }
+
+    @Test
+    public void subscribeAll_prefersFallInSameFlush() {
+        List<SensorLiveState> received = new ArrayList<>();
+        store.subscribeAll(received::add);
+
+        store.update("s1", new FallingPosture(), 1000L);
+        store.update("s2", new SittingPosture(), 1000L);
+        scheduler.run();
+
+        assertEquals(1, received.size());
+        assertEquals("s1", received.get(0).getSensorId());
+    }
+}
@@ -0,0 +1,74 @@
+package com.melisa.innovamotionapp.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for LogRingBuffer.
+ */
+public class LogRingBufferTest {
+
+    // ========== Capacity Tests ==========
+
+    @Test
+    public void keepsEventsOldestFirst() {
+        LogRingBuffer buffer = new LogRingBuffer(4);
+        buffer.add(1_000L, Logger.DEBUG, "main", "Tag", "first", null);
+        buffer.add(2_000L, Logger.WARN, "main", "Tag", "second", null);
+
+        String text = buffer.toText();
+
+        assertEquals(2, buffer.size());
+        assertTrue(text.indexOf("D/Tag [main] first") < text.indexOf("W/Tag [main] second"));
+    }
+
+    @Test
+    public void overwritesOldestWhenFull() {
+        LogRingBuffer buffer = new LogRingBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i, Logger.INFO, "bt", "Tag", "event" + i, null);
+        }
+
+        String text = buffer.toText();
+
+        assertEquals(3, buffer.size());
+        assertEquals(2, buffer.getDropped());
+        assertTrue(text.startsWith("(2 older events dropped)"));
+        assertFalse(text.contains("event2"));
+        assertTrue(text.indexOf("event3") < text.indexOf("event5"));
+    }
+
+    @Test
+    public void clear_emptiesBuffer() {
+        LogRingBuffer buffer = new LogRingBuffer(2);
+        buffer.add(1L, Logger.INFO, "main", "Tag", "a", null);
+        buffer.add(2L, Logger.INFO, "main", "Tag", "b", null);
+        buffer.add(3L, Logger.INFO, "main", "Tag", "c", null);
+
+        buffer.clear();
+
+        assertEquals(0, buffer.size());
+        assertEquals(0, buffer.getDropped());
+        assertEquals("", buffer.toText());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void zeroCapacity_throws() {
+        new LogRingBuffer(0);
+    }
+
+    // ========== Throwable Tests ==========
+
+    @Test
+    public void throwable_writtenWithStackTrace() {
+        LogRingBuffer buffer = new LogRingBuffer(2);
+        buffer.add(1L, Logger.ERROR, "main", "Tag", "failed", new IllegalStateException("boom"));
+
+        String text = buffer.toText();
+
+        assertTrue(text.contains("E/Tag [main] failed"));
+        assertTrue(text.contains("java.lang.IllegalStateException: boom"));
+        assertTrue(text.contains("        at "));
+    }
+}
@@ -0,0 +1,106 @@
+package com.melisa.innovamotionapp.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Unit tests for Logger level gating, lazy formatting and the recent-events buffer.
+ */
+public class LoggerTest {
+
+    @Before
+    public void setUp() {
+        Logger.resetLevels();
+        Logger.getRecentEvents().clear();
+    }
+
+    @After
+    public void tearDown() {
+        Logger.resetLevels();
+    }
+
+    // ========== Format Tests ==========
+
+    @Test
+    public void format_replacesPlaceholdersInOrder() {
+        assertEquals("sensor001 -> 0xAB3311",
+                Logger.format("{} -> {}", 2, "sensor001", "0xAB3311", null));
+    }
+
+    @Test
+    public void format_surplusPlaceholdersKept() {
+        assertEquals("a {} {}", Logger.format("{} {} {}", 1, "a", null, null));
+    }
+
+    @Test
+    public void format_surplusArgumentsIgnored() {
+        assertEquals("x=1", Logger.format("x={}", 3, 1, 2, 3));
+    }
+
+    @Test
+    public void format_nullArgumentPrintedAsNull() {
+        assertEquals("value null", Logger.format("value {}", 1, null, null, null));
+    }
+
+    // ========== Level Tests ==========
+
+    @Test
+    public void hotSubsystems_defaultToInfo() {
+        assertFalse(Logger.isLoggable(Logger.Subsystem.BLUETOOTH, Logger.DEBUG));
+        assertFalse(Logger.isLoggable(Logger.Subsystem.PARSER, Logger.DEBUG));
+        assertTrue(Logger.isLoggable(Logger.Subsystem.POSTURE, Logger.INFO));
+        assertTrue(Logger.isLoggable(Logger.Subsystem.APP, Logger.DEBUG));
+    }
+
+    @Test
+    public void disabledLevel_notRecorded() {
+        Logger.d(Logger.Subsystem.PARSER, "Parser", "Buffered reading: {} -> {}", "s1", "0xAB3311");
+
+        assertEquals(0, Logger.getRecentEvents().size());
+    }
+
+    @Test
+    public void enabledLevel_recordedFormatted() {
+        Logger.setLevel(Logger.Subsystem.PARSER, Logger.VERBOSE);
+
+        Logger.v(Logger.Subsystem.PARSER, "Parser", "Buffered reading: {} -> {}", "s1", "0xAB3311");
+
+        assertEquals(1, Logger.getRecentEvents().size());
+        assertTrue(Logger.getRecentEvents().toText().contains("V/Parser"));
+        assertTrue(Logger.getRecentEvents().toText().contains("Buffered reading: s1 -> 0xAB3311"));
+    }
+
+    @Test
+    public void none_disablesWarningsAndErrors() {
+        Logger.setLevel(Logger.Subsystem.SYNC, Logger.NONE);
+
+        Logger.e(Logger.Subsystem.SYNC, "Sync", "failed", null);
+
+        assertEquals(0, Logger.getRecentEvents().size());
+    }
+
+    @Test
+    public void minimumLevel_raisesButNeverLowers() {
+        Logger.setMinimumLevel(Logger.INFO);
+
+        assertFalse(Logger.isLoggable(Logger.Subsystem.APP, Logger.DEBUG));
+        assertEquals(Logger.INFO, Logger.getLevel(Logger.Subsystem.BLUETOOTH));
+
+        Logger.resetLevels();
+        assertTrue(Logger.isLoggable(Logger.Subsystem.APP, Logger.DEBUG));
+    }
+
+    @Test
+    public void tagOnlyCalls_useAppSubsystem() {
+        Logger.setLevel(Logger.Subsystem.APP, Logger.WARN);
+
+        Logger.i("Main", "hidden");
+        Logger.w("Main", "shown");
+
+        assertEquals(1, Logger.getRecentEvents().size());
+        assertTrue(Logger.getRecentEvents().toText().contains("W/Main [" + Thread.currentThread().getName() + "] shown"));
+    }
+}
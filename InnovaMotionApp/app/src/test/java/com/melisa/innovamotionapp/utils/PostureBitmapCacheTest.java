@@ -0,0 +1,44 @@
+package com.melisa.innovamotionapp.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for PostureBitmapCache sample size selection.
+ */
+public class PostureBitmapCacheTest {
+
+    // ========== inSampleSize Tests ==========
+
+    @Test
+    public void sampleSize_noTarget_isOne() {
+        assertEquals(1, PostureBitmapCache.calculateInSampleSize(2000, 1000, 0, 0));
+    }
+
+    @Test
+    public void sampleSize_targetLargerThanSource_isOne() {
+        assertEquals(1, PostureBitmapCache.calculateInSampleSize(300, 300, 600, 600));
+    }
+
+    @Test
+    public void sampleSize_keepsAtLeastTargetSize() {
+        // 2000x1600 -> 500x400 still covers 400x300; 250x200 would not
+        assertEquals(4, PostureBitmapCache.calculateInSampleSize(2000, 1600, 400, 300));
+    }
+
+    @Test
+    public void sampleSize_limitedByTighterSide() {
+        assertEquals(2, PostureBitmapCache.calculateInSampleSize(2000, 1000, 100, 400));
+    }
+
+    @Test
+    public void sampleSize_onlyWidthGiven() {
+        assertEquals(4, PostureBitmapCache.calculateInSampleSize(4000, 3000, 1000, 0));
+    }
+
+    @Test
+    public void sampleSize_unknownSource_isOne() {
+        assertEquals(1, PostureBitmapCache.calculateInSampleSize(-1, -1, 100, 100));
+    }
+}
@@ -0,0 +1,129 @@
+package com.melisa.innovamotionapp.utils;
+
+import static org.junit.Assert.*;
+
+import com.melisa.innovamotionapp.data.database.MonitoredPerson;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for SensorRegistry (in-memory mirror of monitored_persons).
+ */
+public class SensorRegistryTest {
+
+    private SensorRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new SensorRegistry();
+    }
+
+    // ========== Registration Tests ==========
+
+    @Test
+    public void registerIfAbsent_firstTime_returnsTrue() {
+        assertTrue(registry.registerIfAbsent("sensor001"));
+        assertTrue(registry.contains("sensor001"));
+        assertEquals("sensor001", registry.getDisplayName("sensor001"));
+    }
+
+    @Test
+    public void registerIfAbsent_knownSensor_returnsFalse() {
+        registry.registerIfAbsent("sensor001");
+        assertFalse(registry.registerIfAbsent("sensor001"));
+    }
+
+    @Test
+    public void registerIfAbsent_concurrentCallers_onlyOneWins() throws InterruptedException {
+        int threads = 8;
+        AtomicInteger winners = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            Thread t = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (registry.registerIfAbsent("sensor001")) {
+                    winners.incrementAndGet();
+                }
+            });
+            workers.add(t);
+            t.start();
+        }
+        start.countDown();
+        for (Thread t : workers) {
+            t.join();
+        }
+
+        assertEquals(1, winners.get());
+    }
+
+    // ========== Coherence Tests ==========
+
+    @Test
+    public void put_updatesDisplayName() {
+        registry.registerIfAbsent("sensor001");
+        registry.put("sensor001", "Ion Popescu");
+
+        assertEquals("Ion Popescu", registry.getDisplayName("sensor001"));
+    }
+
+    @Test
+    public void put_emptyName_fallsBackToSensorId() {
+        registry.put("sensor001", "");
+        assertEquals("sensor001", registry.getDisplayName("sensor001"));
+    }
+
+    @Test
+    public void remove_forgetsSensor() {
+        registry.put("sensor001", "Ion Popescu");
+        registry.remove("sensor001");
+
+        assertFalse(registry.contains("sensor001"));
+        assertTrue(registry.registerIfAbsent("sensor001"));
+    }
+
+    @Test
+    public void clear_forgetsAllSensors() {
+        registry.put("sensor001", "A");
+        registry.put("sensor002", "B");
+        registry.clear();
+
+        assertEquals(0, registry.size());
+    }
+
+    // ========== Warm-up Tests ==========
+
+    @Test
+    public void warmUp_loadsPersistedSensors() {
+        assertFalse(registry.isWarmedUp());
+
+        registry.warmUp(Arrays.asList(
+                MonitoredPerson.createNew("sensor001", "Ion Popescu"),
+                MonitoredPerson.createNew("sensor002")));
+
+        assertTrue(registry.isWarmedUp());
+        assertEquals("Ion Popescu", registry.getDisplayName("sensor001"));
+        assertEquals("sensor002", registry.getDisplayName("sensor002"));
+        assertFalse(registry.registerIfAbsent("sensor001"));
+    }
+
+    @Test
+    public void warmUp_doesNotOverwriteNewerWrite() {
+        registry.put("sensor001", "Renamed");
+
+        registry.warmUp(Arrays.asList(MonitoredPerson.createNew("sensor001", "Old Name")));
+
+        assertEquals("Renamed", registry.getDisplayName("sensor001"));
+    }
+}
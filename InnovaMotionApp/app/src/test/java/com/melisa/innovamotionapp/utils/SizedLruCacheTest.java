@@ -0,0 +1,119 @@
+package com.melisa.innovamotionapp.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Unit tests for SizedLruCache (size-bounded LRU used by the posture bitmap cache).
+ */
+public class SizedLruCacheTest {
+
+    private static SizedLruCache<String, byte[]> cache(long maxBytes) {
+        return new SizedLruCache<>(maxBytes, value -> value.length);
+    }
+
+    // ========== Size Tests ==========
+
+    @Test
+    public void put_tracksTotalSize() {
+        SizedLruCache<String, byte[]> cache = cache(100);
+        cache.put("a", new byte[10]);
+        cache.put("b", new byte[20]);
+
+        assertEquals(30, cache.size());
+        assertEquals(2, cache.count());
+    }
+
+    @Test
+    public void put_replacingValue_adjustsSize() {
+        SizedLruCache<String, byte[]> cache = cache(100);
+        cache.put("a", new byte[10]);
+        cache.put("a", new byte[40]);
+
+        assertEquals(40, cache.size());
+        assertEquals(1, cache.count());
+    }
+
+    @Test
+    public void remove_releasesSize() {
+        SizedLruCache<String, byte[]> cache = cache(100);
+        cache.put("a", new byte[10]);
+
+        assertNotNull(cache.remove("a"));
+        assertEquals(0, cache.size());
+        assertNull(cache.remove("a"));
+    }
+
+    // ========== Eviction Tests ==========
+
+    @Test
+    public void put_overMaxSize_evictsLeastRecentlyUsed() {
+        SizedLruCache<String, byte[]> cache = cache(50);
+        cache.put("a", new byte[20]);
+        cache.put("b", new byte[20]);
+        cache.get("a");
+
+        cache.put("c", new byte[20]);
+
+        assertTrue(cache.contains("a"));
+        assertFalse(cache.contains("b"));
+        assertTrue(cache.contains("c"));
+        assertEquals(40, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+    }
+
+    @Test
+    public void put_largerThanCache_notKept() {
+        SizedLruCache<String, byte[]> cache = cache(50);
+        cache.put("a", new byte[10]);
+
+        cache.put("huge", new byte[80]);
+
+        assertFalse(cache.contains("huge"));
+        assertFalse(cache.contains("a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void evictAll_empties() {
+        SizedLruCache<String, byte[]> cache = cache(50);
+        cache.put("a", new byte[10]);
+
+        cache.evictAll();
+
+        assertEquals(0, cache.count());
+        assertEquals(0, cache.size());
+    }
+
+    // ========== Stats Tests ==========
+
+    @Test
+    public void get_countsHitsAndMisses() {
+        SizedLruCache<String, byte[]> cache = cache(50);
+        cache.put("a", new byte[10]);
+
+        cache.get("a");
+        cache.get("a");
+        cache.get("b");
+
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void contains_doesNotCountAsHit() {
+        SizedLruCache<String, byte[]> cache = cache(50);
+        cache.put("a", new byte[10]);
+
+        cache.contains("a");
+
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getMissCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_zeroMaxSize_throws() {
+        cache(0);
+    }
+}
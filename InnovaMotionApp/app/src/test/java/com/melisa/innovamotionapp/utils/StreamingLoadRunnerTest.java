@@ -0,0 +1,202 @@
+package com.melisa.innovamotionapp.utils;
+
+import static org.junit.Assert.*;
+
+import androidx.annotation.NonNull;
+
+import com.melisa.innovamotionapp.bluetooth.PacketIngestor;
+import com.melisa.innovamotionapp.bluetooth.ReadingBatchWriter;
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.data.posture.Posture;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Headless tests for the streaming load engine (StreamingLoadRunner / Config / Report).
+ *
+ * Runs short loads against an in-memory sink, so no Android or Room is involved.
+ */
+public class StreamingLoadRunnerTest {
+
+    private static final String OWNER = "load_owner";
+    private static final String DEVICE = "00:00:00:00:00:00";
+
+    /**
+     * Side effects are not under test here; PacketIngestorTest covers them.
+     */
+    private static final PacketIngestor.ReadingEffects NO_EFFECTS = new PacketIngestor.ReadingEffects() {
+        @Override
+        public void ensureSensorExists(@NonNull String sensorId) {
+        }
+
+        @Override
+        public void publishPosture(@NonNull String sensorId, @NonNull Posture posture, long timestamp, long packetAt) {
+        }
+
+        @Override
+        public void offerAlert(@NonNull String sensorId, @NonNull String deviceAddress, @NonNull String ownerUid,
+                               @NonNull String hexCode, long timestamp, boolean fall) {
+        }
+
+        @Override
+        public void notifyFall(@NonNull String sensorId) {
+        }
+    };
+
+    /**
+     * Wires runner -> PacketIngestor -> batch writer -> in-memory list.
+     */
+    private static StreamingLoadReport runLoad(StreamingLoadConfig config, List<ReceivedBtDataEntity> sink) {
+        ReadingBatchWriter writer = new ReadingBatchWriter(batch -> {
+            synchronized (sink) {
+                sink.addAll(batch);
+            }
+        }, 50);
+        PacketIngestor ingestor = new PacketIngestor(writer, NO_EFFECTS);
+        StreamingLoadRunner runner = new StreamingLoadRunner(config, writer,
+                readings -> ingestor.ingest(DEVICE, OWNER, readings), null);
+
+        writer.start();
+        try {
+            return runner.run();
+        } finally {
+            writer.stop();
+        }
+    }
+
+    // ========== Config Tests ==========
+
+    @Test
+    public void config_defaults_matchProductionLikeLoad() {
+        StreamingLoadConfig config = new StreamingLoadConfig.Builder().build();
+
+        assertEquals(200, config.getSensorCount());
+        assertEquals(2.0, config.getReadingsPerSecond(), 0.0001);
+        assertEquals(60 * 60 * 1000L, config.getDurationMs());
+        assertEquals(400.0, config.getTargetReadingsPerSecond(), 0.0001);
+        assertEquals(500_000_000L, config.getTickIntervalNanos());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void config_zeroSensors_throws() {
+        new StreamingLoadConfig.Builder().sensorCount(0).build();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void config_invalidDropoutRange_throws() {
+        new StreamingLoadConfig.Builder().dropoutDurationMs(1000, 500).build();
+    }
+
+    @Test
+    public void sensorId_usesMockPrefix() {
+        assertEquals("mock_sensor_001", StreamingLoadRunner.sensorId(0));
+        assertEquals("mock_sensor_200", StreamingLoadRunner.sensorId(199));
+    }
+
+    // ========== Run Tests ==========
+
+    @Test
+    public void run_allSentReadingsAreCommitted() {
+        StreamingLoadConfig config = new StreamingLoadConfig.Builder()
+                .sensorCount(5)
+                .readingsPerSecond(20)
+                .durationMs(500)
+                .fallProbability(0)
+                .dropoutProbabilityPerSecond(0)
+                .build();
+        List<ReceivedBtDataEntity> sink = new ArrayList<>();
+
+        StreamingLoadReport report = runLoad(config, sink);
+
+        assertFalse(report.isCancelled());
+        assertEquals(10, report.getPacketsSent());
+        assertEquals(50, report.getReadingsSent());
+        assertEquals(50, report.getReadingsCommitted());
+        assertEquals(50, sink.size());
+        assertTrue(report.getBatchCount() > 0);
+        assertTrue(report.getAchievedReadingsPerSecond() > 0);
+
+        Set<String> sensors = new HashSet<>();
+        for (ReceivedBtDataEntity entity : sink) {
+            sensors.add(entity.getSensorId());
+            assertEquals(OWNER, entity.getOwnerUserId());
+        }
+        assertEquals(5, sensors.size());
+    }
+
+    @Test
+    public void run_fallProbabilityOne_everyReadingIsFall() {
+        StreamingLoadConfig config = new StreamingLoadConfig.Builder()
+                .sensorCount(3)
+                .readingsPerSecond(50)
+                .durationMs(100)
+                .fallProbability(1.0)
+                .dropoutProbabilityPerSecond(0)
+                .build();
+        List<ReceivedBtDataEntity> sink = new ArrayList<>();
+
+        StreamingLoadReport report = runLoad(config, sink);
+
+        assertEquals(report.getReadingsSent(), report.getFallsInjected());
+        for (ReceivedBtDataEntity entity : sink) {
+            assertEquals(MockDataGenerator.HEX_FALLING, entity.getReceivedMsg());
+        }
+    }
+
+    @Test
+    public void run_dropouts_silenceSensors() {
+        StreamingLoadConfig config = new StreamingLoadConfig.Builder()
+                .sensorCount(10)
+                .readingsPerSecond(50)
+                .durationMs(200)
+                .fallProbability(0)
+                .dropoutProbabilityPerSecond(50) // every sensor drops out on its first tick
+                .dropoutDurationMs(60_000, 60_000)
+                .build();
+
+        StreamingLoadReport report = runLoad(config, new ArrayList<>());
+
+        assertEquals(10, report.getDropoutsInjected());
+        assertEquals(0, report.getReadingsSent());
+    }
+
+    @Test
+    public void run_cancel_stopsEarlyAndMarksReport() throws InterruptedException {
+        StreamingLoadConfig config = new StreamingLoadConfig.Builder()
+                .sensorCount(2)
+                .readingsPerSecond(10)
+                .durationMs(60_000)
+                .build();
+        ReadingBatchWriter writer = new ReadingBatchWriter(batch -> { }, 50);
+        StreamingLoadRunner runner = new StreamingLoadRunner(config, writer, readings -> { }, null);
+
+        StreamingLoadReport[] result = new StreamingLoadReport[1];
+        Thread thread = new Thread(() -> result[0] = runner.run());
+        thread.start();
+        Thread.sleep(200);
+        runner.cancel();
+        thread.join(5000);
+
+        assertNotNull(result[0]);
+        assertTrue(result[0].isCancelled());
+        assertTrue(result[0].getElapsedMs() < 60_000);
+    }
+
+    // ========== Report Tests ==========
+
+    @Test
+    public void percentileOf_nearestRank() {
+        long[] sorted = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+        assertEquals(5, StreamingLoadReport.percentileOf(sorted, 50));
+        assertEquals(9, StreamingLoadReport.percentileOf(sorted, 90));
+        assertEquals(10, StreamingLoadReport.percentileOf(sorted, 99));
+        assertEquals(10, StreamingLoadReport.percentileOf(sorted, 100));
+        assertEquals(0, StreamingLoadReport.percentileOf(new long[0], 50));
+    }
+}
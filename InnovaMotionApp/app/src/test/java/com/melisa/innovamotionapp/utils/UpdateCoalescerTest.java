@@ -0,0 +1,191 @@
+package com.melisa.innovamotionapp.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Unit tests for UpdateCoalescer (latest-per-key UI update throttling).
+ */
+public class UpdateCoalescerTest {
+
+    private static final long INTERVAL_MS = 250L;
+
+    /**
+     * Scheduler that records the pending task; tests run it explicitly.
+     */
+    private static class FakeScheduler implements UpdateCoalescer.Scheduler {
+        Runnable task;
+        long delayMs = -1;
+        int scheduleCount = 0;
+
+        @Override
+        public void schedule(Runnable task, long delayMs) {
+            this.task = task;
+            this.delayMs = delayMs;
+            scheduleCount++;
+        }
+
+        @Override
+        public void cancel(Runnable task) {
+            this.task = null;
+            this.delayMs = -1;
+        }
+
+        void run() {
+            Runnable pending = task;
+            task = null;
+            delayMs = -1;
+            if (pending != null) {
+                pending.run();
+            }
+        }
+    }
+
+    private FakeScheduler scheduler;
+    private long now;
+    private List<Map<String, Integer>> deliveries;
+    private UpdateCoalescer<String, Integer> coalescer;
+
+    @Before
+    public void setUp() {
+        scheduler = new FakeScheduler();
+        now = 10_000L;
+        deliveries = new ArrayList<>();
+        coalescer = new UpdateCoalescer<>(INTERVAL_MS, scheduler, () -> now, deliveries::add);
+    }
+
+    // ========== Coalescing Tests ==========
+
+    @Test
+    public void offer_sameKeyRepeatedly_deliversLatestOnly() {
+        coalescer.offer("s1", 1, false);
+        coalescer.offer("s1", 2, false);
+        coalescer.offer("s1", 3, false);
+
+        scheduler.run();
+
+        assertEquals(1, deliveries.size());
+        assertEquals(Integer.valueOf(3), deliveries.get(0).get("s1"));
+        assertEquals(3, coalescer.getOfferedCount());
+        assertEquals(1, coalescer.getDeliveredCount());
+        assertEquals(2, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void offer_differentKeys_deliversOnePerKeyInOneFlush() {
+        coalescer.offer("s1", 1, false);
+        coalescer.offer("s2", 2, false);
+        coalescer.offer("s1", 3, false);
+
+        scheduler.run();
+
+        assertEquals(1, deliveries.size());
+        assertEquals(2, deliveries.get(0).size());
+        assertEquals(Integer.valueOf(3), deliveries.get(0).get("s1"));
+        assertEquals(Integer.valueOf(2), deliveries.get(0).get("s2"));
+        assertEquals(1, coalescer.getFlushCount());
+    }
+
+    @Test
+    public void offer_whileFlushPending_schedulesOnce() {
+        coalescer.offer("s1", 1, false);
+        coalescer.offer("s2", 2, false);
+        coalescer.offer("s3", 3, false);
+
+        assertEquals(1, scheduler.scheduleCount);
+    }
+
+    // ========== Rate Limiting Tests ==========
+
+    @Test
+    public void offer_firstValue_flushesWithoutDelay() {
+        coalescer.offer("s1", 1, false);
+
+        assertEquals(0, scheduler.delayMs);
+    }
+
+    @Test
+    public void offer_rightAfterFlush_waitsForNextSlot() {
+        coalescer.offer("s1", 1, false);
+        scheduler.run();
+
+        now += 100;
+        coalescer.offer("s1", 2, false);
+
+        assertEquals(INTERVAL_MS - 100, scheduler.delayMs);
+    }
+
+    @Test
+    public void offer_afterIntervalElapsed_flushesWithoutDelay() {
+        coalescer.offer("s1", 1, false);
+        scheduler.run();
+
+        now += INTERVAL_MS + 50;
+        coalescer.offer("s1", 2, false);
+
+        assertEquals(0, scheduler.delayMs);
+    }
+
+    @Test
+    public void intervalForFps_convertsRate() {
+        assertEquals(250L, UpdateCoalescer.intervalForFps(4));
+        assertEquals(0L, UpdateCoalescer.intervalForFps(0));
+    }
+
+    // ========== Urgent Tests ==========
+
+    @Test
+    public void offer_urgent_replacesDelayedFlushWithImmediateOne() {
+        coalescer.offer("s1", 1, false);
+        scheduler.run();
+        now += 10;
+        coalescer.offer("s1", 2, false);
+        assertEquals(INTERVAL_MS - 10, scheduler.delayMs);
+
+        coalescer.offer("s2", 99, true);
+
+        assertEquals(0, scheduler.delayMs);
+        scheduler.run();
+        assertEquals(2, deliveries.size());
+        assertEquals(Integer.valueOf(2), deliveries.get(1).get("s1"));
+        assertEquals(Integer.valueOf(99), deliveries.get(1).get("s2"));
+        assertEquals(1, coalescer.getUrgentCount());
+    }
+
+    // ========== Clear Tests ==========
+
+    @Test
+    public void clear_dropsPendingValues() {
+        coalescer.offer("s1", 1, false);
+
+        coalescer.clear();
+        coalescer.flush();
+
+        assertTrue(deliveries.isEmpty());
+        assertNull(scheduler.task);
+    }
+
+    @Test
+    public void flush_nothingPending_doesNotCallSink() {
+        coalescer.flush();
+
+        assertTrue(deliveries.isEmpty());
+        assertEquals(0, coalescer.getFlushCount());
+    }
+
+    @Test
+    public void getStatsSummary_reportsCounters() {
+        coalescer.offer("s1", 1, false);
+        coalescer.offer("s1", 2, false);
+        scheduler.run();
+
+        assertEquals("offered 2, delivered 1, coalesced 1, urgent 0, flushes 1",
+                coalescer.getStatsSummary());
+    }
+}
@@ -0,0 +1,140 @@
+import groovy.json.JsonSlurper
+
+// JVM micro-benchmarks for the ingest / posture / sync hot paths.
+// The measured classes are plain Java, so they are compiled straight from :app's sources
+// (with tiny shims for android.util.Log and R in src/jmh/java) instead of depending on the Android module.
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+val appJavaDir = rootProject.file("app/src/main/java")
+val appSourcesDir = layout.buildDirectory.dir("generated/appSources/java")
+
+// Only the Android-free classes under test; keep in sync when benchmarking new code.
+val syncAppSources by tasks.registering(Sync::class) {
+    from(appJavaDir) {
+        include("com/melisa/innovamotionapp/bluetooth/PacketParser.java")
+        include("com/melisa/innovamotionapp/bluetooth/ParsedReading.java")
+        include("com/melisa/innovamotionapp/utils/Constants.java")
+        include("com/melisa/innovamotionapp/utils/Logger.java")
+        include("com/melisa/innovamotionapp/utils/LogRingBuffer.java")
+        include("com/melisa/innovamotionapp/data/posture/Posture.java")
+        include("com/melisa/innovamotionapp/data/posture/PostureFactory.java")
+        include("com/melisa/innovamotionapp/data/posture/types/*.java")
+        include("com/melisa/innovamotionapp/data/database/ReceivedBtDataEntity.java")
+        include("com/melisa/innovamotionapp/sync/FirestoreDataModel.java")
+        include("com/melisa/innovamotionapp/metrics/Metrics.java")
+        include("com/melisa/innovamotionapp/metrics/MetricsRegistry.java")
+        include("com/melisa/innovamotionapp/metrics/Counter.java")
+        include("com/melisa/innovamotionapp/metrics/Gauge.java")
+        include("com/melisa/innovamotionapp/metrics/Histogram.java")
+        include("com/melisa/innovamotionapp/metrics/ReadingTrace.java")
+        include("com/melisa/innovamotionapp/ui/models/PersonStatus.java")
+        include("com/melisa/innovamotionapp/ui/viewmodels/PersonStatusTransformer.java")
+        include("com/melisa/innovamotionapp/ui/viewmodels/IncrementalPersonStatusTransformer.java")
+    }
+    into(appSourcesDir)
+}
+
+sourceSets {
+    named("jmh") {
+        java.srcDir(appSourcesDir)
+    }
+}
+
+tasks.named("compileJmhJava") {
+    dependsOn(syncAppSources)
+}
+
+dependencies {
+    jmhImplementation(libs.annotation)
+    jmhImplementation(libs.room.common)
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    fork.set(1)
+    warmupIterations.set(3)
+    warmup.set("1s")
+    iterations.set(5)
+    timeOnIteration.set("1s")
+    // Allocation profiling: reports gc.alloc.rate.norm (bytes/op) next to every score
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    (findProperty("jmhInclude") as String?)?.let { includes.set(listOf(it)) }
+}
+
+val baselineFile = layout.projectDirectory.file("baseline/jmh-baseline.json")
+val resultsFile = layout.buildDirectory.file("results/jmh/results.json")
+
+/**
+ * Compare the latest run against the checked-in baseline.
+ *
+ * Allocation (bytes/op) is deterministic on a given JDK, so any growth beyond the threshold fails the build.
+ * Timings vary between machines, so they only warn. Threshold: -PjmhRegressionThreshold=0.15 (default 15%).
+ */
+val jmhCompareBaseline by tasks.registering {
+    group = "benchmark"
+    description = "Compares build/results/jmh/results.json against baseline/jmh-baseline.json"
+    inputs.file(baselineFile)
+    inputs.file(resultsFile)
+
+    doLast {
+        val threshold = (findProperty("jmhRegressionThreshold") as String?)?.toDouble() ?: 0.15
+
+        fun load(file: File): Map<String, Pair<Double, Double?>> {
+            @Suppress("UNCHECKED_CAST")
+            val runs = JsonSlurper().parse(file) as List<Map<String, Any?>>
+            return runs.associate { run ->
+                val params = (run["params"] as Map<*, *>?)?.entries
+                    ?.sortedBy { it.key.toString() }
+                    ?.joinToString(",") { "${it.key}=${it.value}" }
+                val key = run["benchmark"].toString() + (params?.let { "[$it]" } ?: "")
+                val primary = (run["primaryMetric"] as Map<*, *>)["score"] as Number
+                val secondary = run["secondaryMetrics"] as Map<*, *>?
+                val alloc = secondary?.get("gc.alloc.rate.norm") as Map<*, *>?
+                key to Pair(primary.toDouble(), (alloc?.get("score") as Number?)?.toDouble())
+            }
+        }
+
+        val baseline = load(baselineFile.asFile)
+        val current = load(resultsFile.get().asFile)
+        val failures = mutableListOf<String>()
+
+        for ((key, now) in current) {
+            val before = baseline[key]
+            if (before == null) {
+                logger.lifecycle("NEW   $key: %.2f".format(now.first))
+                continue
+            }
+            val timeDelta = (now.first - before.first) / before.first
+            val line = "%s: %.2f -> %.2f (%+.1f%%)".format(key, before.first, now.first, timeDelta * 100)
+            if (timeDelta > threshold) logger.warn("SLOWER $line") else logger.lifecycle("OK    $line")
+
+            val allocBefore = before.second
+            val allocNow = now.second
+            if (allocBefore != null && allocNow != null && allocNow > allocBefore * (1 + threshold) + 8) {
+                failures += "%s allocates %.0f B/op (baseline %.0f B/op)".format(key, allocNow, allocBefore)
+            }
+        }
+
+        if (failures.isNotEmpty()) {
+            throw GradleException("Allocation regressions:\n" + failures.joinToString("\n"))
+        }
+    }
+}
+
+val jmhUpdateBaseline by tasks.registering(Copy::class) {
+    group = "benchmark"
+    description = "Replaces baseline/jmh-baseline.json with the latest JMH results"
+    from(resultsFile)
+    into(baselineFile.asFile.parentFile)
+    rename { baselineFile.asFile.name }
+}
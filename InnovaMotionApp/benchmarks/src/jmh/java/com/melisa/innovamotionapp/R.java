@@ -0,0 +1,49 @@
+package com.melisa.innovamotionapp;
+
+/**
+ * Minimal R replacement for the JVM benchmark module.
+ *
+ * The app's generated R class is only produced by the Android build, so the posture types
+ * compiled into this module resolve their resource IDs against these placeholders instead.
+ * Keep the field names in sync with data/posture/types when postures are added.
+ */
+public final class R {
+
+    private R() {
+    }
+
+    public static final class string {
+        public static final int posture_standing_risk = 0x7f010001;
+        public static final int posture_standing_msg = 0x7f010002;
+        public static final int posture_sitting_risk = 0x7f010003;
+        public static final int posture_sitting_msg = 0x7f010004;
+        public static final int posture_walking_risk = 0x7f010005;
+        public static final int posture_walking_msg = 0x7f010006;
+        public static final int posture_falling_risk = 0x7f010007;
+        public static final int posture_falling_msg = 0x7f010008;
+        public static final int posture_unused_footwear_risk = 0x7f010009;
+        public static final int posture_unused_footwear_msg = 0x7f01000a;
+        public static final int posture_unknown_risk = 0x7f01000b;
+        public static final int posture_unknown_msg = 0x7f01000c;
+
+        private string() {
+        }
+    }
+
+    public static final class raw {
+        public static final int in_picioare = 0x7f020001;
+        public static final int in_picioare_movie = 0x7f020002;
+        public static final int pe_scaun = 0x7f020003;
+        public static final int pe_scaun_movie = 0x7f020004;
+        public static final int mers = 0x7f020005;
+        public static final int mers_movie = 0x7f020006;
+        public static final int cadere = 0x7f020007;
+        public static final int cadere_video = 0x7f020008;
+        public static final int neutilizat = 0x7f020009;
+        public static final int neutilizat_video = 0x7f02000a;
+        public static final int unknown = 0x7f02000b;
+
+        private raw() {
+        }
+    }
+}
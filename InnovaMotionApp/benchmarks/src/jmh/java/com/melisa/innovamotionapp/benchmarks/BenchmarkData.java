@@ -0,0 +1,85 @@
+package com.melisa.innovamotionapp.benchmarks;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.utils.Constants;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Deterministic fixtures shared by the benchmarks.
+ *
+ * Mirrors what the hardware and MockDataGenerator actually produce: "sensorNNN;0xCODE" lines
+ * with a realistic posture mix (mostly standing/sitting/walking, occasional falls and unknown codes).
+ */
+final class BenchmarkData {
+
+    static final String DEVICE_ADDRESS = "00:11:22:33:44:55";
+    static final String OWNER_UID = "bench_aggregator";
+
+    /** Hex codes weighted like a typical ward: normal postures dominate, falls are rare. */
+    static final String[] POSTURE_MIX = {
+            "0xAB3311", "0xAC4312", "0xBA3311", "0xAB3311",
+            "0xAC4312", "0xBA3311", "0xab3311", "0xEF0112",
+            "0xAC4312", "0xAB3311", "0x793248", "0xBA3311",
+            "0xAC4312", "0xAB3311", "0xFFFFFF", "0xac4312"
+    };
+
+    private static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    static String sensorId(int index) {
+        return String.format("sensor%03d", index + 1);
+    }
+
+    /**
+     * Lines for one complete packet: {@code sensors} readings followed by END_PACKET.
+     */
+    static String[] packetLines(int sensors) {
+        Random random = new Random(SEED);
+        String[] lines = new String[sensors + 1];
+        for (int i = 0; i < sensors; i++) {
+            lines[i] = sensorId(i) + Constants.SENSOR_ID_DELIMITER + POSTURE_MIX[random.nextInt(POSTURE_MIX.length)];
+        }
+        lines[sensors] = Constants.PACKET_TERMINATOR;
+        return lines;
+    }
+
+    /**
+     * Latest-reading-per-sensor rows, as returned by getLatestForEachSensorByOwner().
+     */
+    static List<ReceivedBtDataEntity> latestPerSensor(int sensors, long now) {
+        Random random = new Random(SEED);
+        List<ReceivedBtDataEntity> entities = new ArrayList<>(sensors);
+        for (int i = 0; i < sensors; i++) {
+            ReceivedBtDataEntity entity = new ReceivedBtDataEntity(
+                    DEVICE_ADDRESS,
+                    now - random.nextInt(10 * 60 * 1000),
+                    POSTURE_MIX[random.nextInt(POSTURE_MIX.length)],
+                    OWNER_UID,
+                    sensorId(i)
+            );
+            entity.setId(i + 1);
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+    /**
+     * Display names for roughly three quarters of the sensors; the rest fall back to their ID.
+     */
+    static Map<String, String> nameCache(int sensors) {
+        Map<String, String> names = new HashMap<>();
+        for (int i = 0; i < sensors; i++) {
+            if (i % 4 != 3) {
+                names.put(sensorId(i), "Person " + (sensors - i));
+            }
+        }
+        return names;
+    }
+}
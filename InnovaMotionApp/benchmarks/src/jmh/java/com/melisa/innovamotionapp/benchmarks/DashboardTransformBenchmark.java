@@ -0,0 +1,77 @@
+package com.melisa.innovamotionapp.benchmarks;
+
+import com.melisa.innovamotionapp.data.database.ReceivedBtDataEntity;
+import com.melisa.innovamotionapp.ui.models.PersonStatus;
+import com.melisa.innovamotionapp.ui.viewmodels.IncrementalPersonStatusTransformer;
+import com.melisa.innovamotionapp.ui.viewmodels.PersonStatusTransformer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dashboard rebuild (LivePostureViewModel / SupervisorDashboardViewModel): latest row per sensor
+ * to a sorted PersonStatus list. Runs on every Room invalidation of the latest-per-sensor query.
+ *
+ * {@code transformToPersonStatuses} is the full rebuild; the incremental variants measure
+ * {@link IncrementalPersonStatusTransformer} when one sensor reported since the last snapshot
+ * (the usual invalidation) and when nothing changed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DashboardTransformBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int sensorCount;
+
+    private List<ReceivedBtDataEntity> entities;
+    private List<ReceivedBtDataEntity> entitiesOneChanged;
+    private Map<String, String> nameCache;
+    private IncrementalPersonStatusTransformer incremental;
+    private boolean flip;
+
+    @Setup
+    public void setUp() {
+        entities = BenchmarkData.latestPerSensor(sensorCount, 1_700_000_000_000L);
+        nameCache = BenchmarkData.nameCache(sensorCount);
+
+        // Same rows, except the first sensor sent a newer reading of the same posture
+        entitiesOneChanged = new ArrayList<>(entities);
+        ReceivedBtDataEntity first = entities.get(0);
+        ReceivedBtDataEntity newer = new ReceivedBtDataEntity(first.getDeviceAddress(),
+                first.getTimestamp() + 500, first.getReceivedMsg(), first.getOwnerUserId(), first.getSensorId());
+        newer.setId(sensorCount + 1);
+        entitiesOneChanged.set(0, newer);
+
+        incremental = new IncrementalPersonStatusTransformer();
+        incremental.transform(entities, nameCache);
+    }
+
+    @Benchmark
+    public List<PersonStatus> transformToPersonStatuses() {
+        return PersonStatusTransformer.transform(entities, nameCache);
+    }
+
+    @Benchmark
+    public List<PersonStatus> incrementalTransform_oneSensorChanged() {
+        // Alternate between the two snapshots so every call sees exactly one changed sensor
+        flip = !flip;
+        return incremental.transform(flip ? entitiesOneChanged : entities, nameCache);
+    }
+
+    @Benchmark
+    public List<PersonStatus> incrementalTransform_unchanged() {
+        return incremental.transform(entities, nameCache);
+    }
+}
@@ -0,0 +1,58 @@
+package com.melisa.innovamotionapp.benchmarks;
+
+import com.melisa.innovamotionapp.sync.FirestoreDataModel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Firestore (de)serialization done for every uploaded reading (aggregator) and every
+ * mirrored document (supervisor).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FirestoreDataModelBenchmark {
+
+    private FirestoreDataModel model;
+    private Map<String, Object> document;
+
+    @Setup
+    public void setUp() {
+        model = newModel();
+        document = model.toFirestoreDocument();
+    }
+
+    @Benchmark
+    public FirestoreDataModel construct() {
+        return newModel();
+    }
+
+    @Benchmark
+    public Map<String, Object> toFirestoreDocument() {
+        return model.toFirestoreDocument();
+    }
+
+    @Benchmark
+    public FirestoreDataModel fromFirestoreDocument() {
+        return FirestoreDataModel.fromFirestoreDocument(document);
+    }
+
+    private static FirestoreDataModel newModel() {
+        return new FirestoreDataModel(
+                BenchmarkData.DEVICE_ADDRESS,
+                1_700_000_000_000L,
+                BenchmarkData.POSTURE_MIX[0],
+                BenchmarkData.OWNER_UID,
+                BenchmarkData.sensorId(7)
+        );
+    }
+}
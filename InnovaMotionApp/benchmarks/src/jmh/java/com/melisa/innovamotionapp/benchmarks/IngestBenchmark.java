@@ -0,0 +1,61 @@
+package com.melisa.innovamotionapp.benchmarks;
+
+import com.melisa.innovamotionapp.bluetooth.PacketParser;
+import com.melisa.innovamotionapp.bluetooth.ParsedReading;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bluetooth ingest hot path: PacketParser.feedLine() for whole packets and ParsedReading construction.
+ *
+ * One packet is fed per invocation, so the score is the cost of turning a full
+ * "sensor;hex ... END_PACKET" burst into a List&lt;ParsedReading&gt;.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class IngestBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int sensorsPerPacket;
+
+    private String[] lines;
+    private PacketParser parser;
+
+    private String sensorId;
+    private String hexCode;
+    private long timestamp;
+
+    @Setup
+    public void setUp() {
+        lines = BenchmarkData.packetLines(sensorsPerPacket);
+        parser = new PacketParser();
+        sensorId = BenchmarkData.sensorId(7);
+        hexCode = BenchmarkData.POSTURE_MIX[0];
+        timestamp = 1_700_000_000_000L;
+    }
+
+    @Benchmark
+    public List<ParsedReading> feedLine_fullPacket() {
+        List<ParsedReading> readings = null;
+        for (String line : lines) {
+            readings = parser.feedLine(line);
+        }
+        return readings;
+    }
+
+    @Benchmark
+    public ParsedReading parsedReading_construct() {
+        return new ParsedReading(sensorId, hexCode, timestamp);
+    }
+}
@@ -0,0 +1,34 @@
+package com.melisa.innovamotionapp.benchmarks;
+
+import com.melisa.innovamotionapp.data.posture.Posture;
+import com.melisa.innovamotionapp.data.posture.PostureFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PostureFactory.createPosture() over the realistic posture mix (mixed case, unknown codes included).
+ *
+ * Called once per reading on ingest, once per row by every dashboard / history screen.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PostureFactoryBenchmark {
+
+    private static final int MASK = BenchmarkData.POSTURE_MIX.length - 1;
+
+    private final String[] codes = BenchmarkData.POSTURE_MIX.clone();
+    private int index;
+
+    @Benchmark
+    public Posture createPosture() {
+        return PostureFactory.createPosture(codes[index++ & MASK]);
+    }
+}
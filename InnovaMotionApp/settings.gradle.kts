@@ -23,4 +23,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "InnovaMotionApp"
 include(":app")
+include(":benchmarks")
  
\ No newline at end of file